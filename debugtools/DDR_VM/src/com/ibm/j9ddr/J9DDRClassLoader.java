@@ -199,20 +199,24 @@ public class J9DDRClassLoader extends SecureClassLoader {
 	@Override
 	public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
 		if (name.startsWith(streamPackageDotName)) {
-			Class<?> clazz = findLoadedClass(name);
+			// Classes may be loaded by several threads walking the heap at once:
+			// only one of them may define each class.
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> clazz = findLoadedClass(name);
 
-			if (null == clazz) {
-				//We don't delegate here
-				clazz = findClass(name);
+				if (null == clazz) {
+					//We don't delegate here
+					clazz = findClass(name);
 
-				definePackage(name);
+					definePackage(name);
 
-				if (resolve) {
-					resolveClass(clazz);
+					if (resolve) {
+						resolveClass(clazz);
+					}
 				}
-			}
 
-			return clazz;
+				return clazz;
+			}
 		} else if (name.startsWith(reader.getBasePackage())) {
 			// If we're loading any other DDR versioned package, there's been a mistake (we're trying to load 2.6 classes for a 2.3 core dump for example).
 			throw new ClassNotFoundException("Cannot load " + name + ". J9DDRClassLoader is configured to load " + streamPackageDotName + " DDR classes only.");
@@ -26,6 +26,8 @@ import static java.util.logging.Level.FINE;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -57,6 +59,7 @@ import com.ibm.j9ddr.blobs.IBlobFactory;
 import com.ibm.j9ddr.blobs.IBlobFactory.Platforms;
 import com.ibm.j9ddr.corereaders.ICore;
 import com.ibm.j9ddr.corereaders.Platform;
+import com.ibm.j9ddr.corereaders.memory.Addresses;
 import com.ibm.j9ddr.corereaders.memory.IMemoryImageInputStream;
 import com.ibm.j9ddr.corereaders.memory.IModule;
 import com.ibm.j9ddr.corereaders.memory.IProcess;
@@ -68,6 +71,7 @@ import com.ibm.j9ddr.exceptions.JVMNotFoundException;
 import com.ibm.j9ddr.exceptions.MissingDDRStructuresException;
 import com.ibm.j9ddr.exceptions.UnknownArchitectureException;
 import com.ibm.j9ddr.logging.LoggerNames;
+import com.ibm.j9ddr.util.CoreIndex;
 import com.ibm.j9ddr.util.WeakValueMap;
 
 /**
@@ -88,6 +92,15 @@ public abstract class VMDataFactory {
 	private static final int MINIMUM_J9RAS_MAJOR_VERSION = 2;
 	private static long j9RASAddress;
 
+	/* name of the CoreIndex section listing the J9RAS structures found by a scan of a process */
+	private static final String RAS_INDEX_SECTION = "j9ras";
+	/* J9RAS addresses read from the index of the process being scanned, or null to search memory */
+	private static long[] indexedRASAddresses;
+	/* J9RAS addresses found by searching memory, in address order */
+	private static List<Long> foundRASAddresses;
+	/* true once a search of memory has found no more J9RAS structures */
+	private static boolean rasSearchComplete;
+
 	// a process can have more than one blob present, each blob is represented as a separate IVMData
 	private static WeakValueMap<IProcess, List<IVMData>> vmDataCache = new WeakValueMap<>();
 
@@ -127,6 +140,10 @@ public abstract class VMDataFactory {
 		List<IVMData> data = new ArrayList<>();
 		Set<Long> attemptedAddresses = new HashSet<>();
 		j9RASAddress = 0;
+		CoreIndex index = (process.getPlatform() == Platform.ZOS) ? null : CoreIndex.forProcess(process);
+		indexedRASAddresses = readRASAddresses(index);
+		foundRASAddresses = new ArrayList<>();
+		rasSearchComplete = false;
 		for (;;) {
 			long address = j9RASAddress + 1;
 			if (!attemptedAddresses.add(Long.valueOf(address))) {
@@ -173,6 +190,12 @@ public abstract class VMDataFactory {
 			}
 		}
 
+		if ((index != null) && (indexedRASAddresses == null) && rasSearchComplete) {
+			writeRASAddresses(index, foundRASAddresses);
+		}
+		indexedRASAddresses = null;
+		foundRASAddresses = null;
+
 		// For Node.JS only, if we have not found a BLOB at this point we do a more expensive scan. This extra
 		// scan is switched off for Java-only applications (specifically jdmpview) via a system property.
 		if (data.isEmpty() && (System.getProperty(NOEXTRASEARCHFORNODE_PROPERTY) == null)) {
@@ -340,18 +363,68 @@ public abstract class VMDataFactory {
 		}
 	}
 
+	private static long[] readRASAddresses(CoreIndex index) {
+		if (index != null) {
+			try (DataInputStream in = index.read(RAS_INDEX_SECTION)) {
+				if (in != null) {
+					long[] addresses = new long[in.readInt()];
+					for (int i = 0; i < addresses.length; i++) {
+						addresses[i] = in.readLong();
+					}
+					return addresses;
+				}
+			} catch (IOException e) {
+				Logger logger = Logger.getLogger(LoggerNames.LOGGER_STRUCTURE_READER);
+				logger.log(FINE, "Failed to read the J9RAS index", e);
+			}
+		}
+		return null;
+	}
+
+	private static void writeRASAddresses(CoreIndex index, final List<Long> addresses) {
+		try {
+			index.write(RAS_INDEX_SECTION, new CoreIndex.SectionWriter() {
+				@Override
+				public void write(DataOutputStream out) throws IOException {
+					out.writeInt(addresses.size());
+					for (Long address : addresses) {
+						out.writeLong(address.longValue());
+					}
+				}
+			});
+		} catch (IOException e) {
+			Logger logger = Logger.getLogger(LoggerNames.LOGGER_STRUCTURE_READER);
+			logger.log(FINE, "Failed to write the J9RAS index", e);
+		}
+	}
+
 	private static ImageInputStream getStructureDataFileFromRASEyecatcher(IProcess process, long start) throws IOException {
 		try {
+			if (indexedRASAddresses != null) {
+				// a previous search of this process found these, so don't search again
+				for (long address : indexedRASAddresses) {
+					if (Addresses.greaterThanOrEqual(address, start)) {
+						return foundRAS(process, address);
+					}
+				}
+				throw new JVMNotFoundException(process, "Could not find J9RAS structure. No Java in process?");
+			}
+
 			long address = process.findPattern(eyecatcher, 1, start);
 			while (address != -1) {
 
 				long bitPattern = process.getLongAt(address + BIT_PATTERNS_OFFSET);
 				if (bitPattern == integrityCheck) {
+					if (foundRASAddresses != null) {
+						foundRASAddresses.add(Long.valueOf(address));
+					}
 					return foundRAS(process, address);
 				}
 				address = process.findPattern(eyecatcher, 1, address + eyecatcher.length);
 			}
 
+			rasSearchComplete = true;
+
 			// Can't find RAS structure, bail out
 			throw new JVMNotFoundException(process, "Could not find J9RAS structure. No Java in process?");
 		} catch (MemoryFault e) {
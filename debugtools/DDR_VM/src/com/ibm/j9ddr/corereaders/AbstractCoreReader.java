@@ -135,6 +135,30 @@ public abstract class AbstractCoreReader implements ICore
 		_fileReader.readFully(buffer, offset, length);
 	}
 
+	/**
+	 * Reads bytes at a position in the dump without using the position of the
+	 * reader, so that memory sources backed by the dump may be read by several
+	 * threads at once.
+	 *
+	 * @param position the offset in the dump of the first byte
+	 * @param buffer the buffer to fill
+	 * @param offset the offset in the buffer of the first byte
+	 * @param length the number of bytes to read
+	 * @throws IOException
+	 */
+	public void readFully(long position, byte[] buffer, int offset, int length)
+			throws IOException
+	{
+		if (_fileReader instanceof MappedFileImageInputStream) {
+			((MappedFileImageInputStream) _fileReader).readFully(position, buffer, offset, length);
+		} else {
+			synchronized (_fileReader) {
+				_fileReader.seek(position);
+				_fileReader.readFully(buffer, offset, length);
+			}
+		}
+	}
+
 	protected boolean checkOffset(long location) throws IOException
 	{
 		boolean canRead;
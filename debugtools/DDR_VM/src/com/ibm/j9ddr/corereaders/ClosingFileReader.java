@@ -26,8 +26,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteOrder;
 
-import javax.imageio.stream.FileImageInputStream;
-
 /**
  * A wrapper around the functionality that we require from RandomAccessFiles but
  * with the added auto-closing functionality that we require. Since it is not
@@ -37,9 +35,11 @@ import javax.imageio.stream.FileImageInputStream;
  * We now also extend javax.imageio.stream.ImageInputStreamImpl as a convenient
  * common interface that we can share with the zebedee corefile reader.
  *
+ * The file is read through memory mappings, see {@link MappedFileImageInputStream}.
+ *
  * @author jmdisher
  */
-public class ClosingFileReader extends FileImageInputStream {
+public class ClosingFileReader extends MappedFileImageInputStream {
 
 	public ClosingFileReader(File file) throws FileNotFoundException, IOException {
 		super(file);
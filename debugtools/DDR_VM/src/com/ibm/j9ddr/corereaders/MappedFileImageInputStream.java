@@ -0,0 +1,385 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.corereaders;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+
+/**
+ * An ImageInputStream over a file which reads through memory mappings of the file
+ * rather than by a system call for each read.
+ *
+ * The file is mapped on demand in fixed size windows, and the most recently used
+ * windows are kept mapped. Reads of bytes and of primitive values which lie within
+ * one window are served straight from the mapping; reads which span two windows are
+ * assembled a byte array at a time. Windows which are evicted are unmapped when the
+ * garbage collector frees them.
+ *
+ * If the file cannot be mapped, for example because the address space of a 32-bit
+ * JVM is exhausted, or if mapping is disabled by setting the system property
+ * com.ibm.j9ddr.corereaders.mmap to false, the file is read with RandomAccessFile.
+ *
+ * Like other ImageInputStreams, the stream methods which use the stream position
+ * must not be called by more than one thread at a time. Positional reads through
+ * {@link #readFully(long, byte[], int, int)} may be made by any number of threads.
+ */
+public class MappedFileImageInputStream extends ImageInputStreamImpl {
+
+	private static final boolean MAPPING_ENABLED = !Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty("com.ibm.j9ddr.corereaders.mmap"));
+
+	/* a 32-bit JVM has too little address space for large windows */
+	private static final boolean SMALL_ADDRESS_SPACE = "32".equals(System.getProperty("sun.arch.data.model"));
+
+	static final int DEFAULT_WINDOW_SIZE = SMALL_ADDRESS_SPACE ? (64 << 20) : (1 << 30);
+
+	static final int DEFAULT_MAX_WINDOWS = SMALL_ADDRESS_SPACE ? 4 : 32;
+
+	private final RandomAccessFile file;
+
+	private final long length;
+
+	private final int windowShift;
+
+	private final long windowMask;
+
+	/* the mapped windows in least recently used order, or null if the file is not mapped */
+	private Map<Long, ByteBuffer> windows;
+
+	/* the window used by the previous read, which is usually used by the next read too */
+	private long lastIndex = -1;
+
+	private ByteBuffer lastWindow;
+
+	public MappedFileImageInputStream(File file) throws IOException {
+		this(file, DEFAULT_WINDOW_SIZE, DEFAULT_MAX_WINDOWS);
+	}
+
+	/**
+	 * Create a stream with the given mapping parameters.
+	 *
+	 * @param file
+	 * @param windowSize the size of each mapping, a power of 2
+	 * @param maxWindows the number of mappings to keep
+	 * @throws IOException
+	 */
+	MappedFileImageInputStream(File file, int windowSize, final int maxWindows) throws IOException {
+		if ((windowSize <= 0) || ((windowSize & (windowSize - 1)) != 0)) {
+			throw new IllegalArgumentException("Window size must be a power of 2: " + windowSize);
+		}
+		this.file = new RandomAccessFile(file, "r");
+		this.length = this.file.length();
+		this.windowShift = Integer.numberOfTrailingZeros(windowSize);
+		this.windowMask = windowSize - 1;
+		if (MAPPING_ENABLED) {
+			windows = new LinkedHashMap<Long, ByteBuffer>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+					return size() > maxWindows;
+				}
+			};
+		}
+	}
+
+	/**
+	 * Get the mapped window holding a range of the file.
+	 *
+	 * @param position the offset of the first byte
+	 * @param size the number of bytes
+	 * @return the window, or null if the range is not within one window
+	 * or the file is not mapped
+	 * @throws IOException
+	 */
+	private synchronized ByteBuffer window(long position, long size) throws IOException {
+		long index = position >>> windowShift;
+
+		if ((size <= 0) || (((position + size - 1) >>> windowShift) != index) || (position + size > length)) {
+			return null;
+		}
+
+		if (index == lastIndex) {
+			return lastWindow;
+		}
+
+		if (windows == null) {
+			return null;
+		}
+
+		Long key = Long.valueOf(index);
+		ByteBuffer window = windows.get(key);
+
+		if (window == null) {
+			long start = index << windowShift;
+			long end = Math.min(start + windowMask + 1, length);
+
+			try {
+				window = file.getChannel().map(FileChannel.MapMode.READ_ONLY, start, end - start);
+			} catch (IOException e) {
+				// Most likely out of address space: drop the other windows and try again.
+				windows.clear();
+				lastIndex = -1;
+				lastWindow = null;
+				try {
+					window = file.getChannel().map(FileChannel.MapMode.READ_ONLY, start, end - start);
+				} catch (IOException e2) {
+					// Give up on mapping this file.
+					windows = null;
+					return null;
+				}
+			}
+			window.order(getByteOrder());
+			windows.put(key, window);
+		}
+
+		lastIndex = index;
+		lastWindow = window;
+		return window;
+	}
+
+	private int offset(long position) {
+		return (int) (position & windowMask);
+	}
+
+	@Override
+	public void setByteOrder(ByteOrder byteOrder) {
+		super.setByteOrder(byteOrder);
+		if (windows != null) {
+			for (Iterator<ByteBuffer> iterator = windows.values().iterator(); iterator.hasNext();) {
+				iterator.next().order(byteOrder);
+			}
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+		if (streamPos >= length) {
+			return -1;
+		}
+		ByteBuffer window = window(streamPos, 1);
+		int value;
+		if (window != null) {
+			value = window.get(offset(streamPos)) & 0xFF;
+		} else {
+			synchronized (file) {
+				file.seek(streamPos);
+				value = file.read();
+			}
+			if (value < 0) {
+				return -1;
+			}
+		}
+		streamPos += 1;
+		return value;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		checkClosed();
+		if ((offset < 0) || (length < 0) || (offset > buffer.length - length)) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", buffer length " + buffer.length);
+		}
+		bitOffset = 0;
+		if (length == 0) {
+			return 0;
+		}
+		if (streamPos >= this.length) {
+			return -1;
+		}
+		int count = (int) Math.min(length, this.length - streamPos);
+		int done = 0;
+		while (done < count) {
+			int chunk = (int) Math.min(count - done, (windowMask + 1) - offset(streamPos));
+			ByteBuffer window = window(streamPos, chunk);
+			if (window != null) {
+				window.position(offset(streamPos));
+				window.get(buffer, offset + done, chunk);
+			} else {
+				synchronized (file) {
+					file.seek(streamPos);
+					chunk = file.read(buffer, offset + done, count - done);
+				}
+				if (chunk <= 0) {
+					break;
+				}
+			}
+			streamPos += chunk;
+			done += chunk;
+		}
+		return (done == 0) ? -1 : done;
+	}
+
+	@Override
+	public void readFully(byte[] buffer, int offset, int length) throws IOException {
+		if (read(buffer, offset, length) < length) {
+			throw new EOFException();
+		}
+	}
+
+	/**
+	 * Read bytes at a position in the file without using or changing the stream
+	 * position. This may be called concurrently by several threads.
+	 *
+	 * @param position the offset in the file of the first byte
+	 * @param buffer the buffer to fill
+	 * @param offset the offset in the buffer of the first byte
+	 * @param length the number of bytes to read
+	 * @throws EOFException if the file ends before length bytes are read
+	 * @throws IOException
+	 */
+	public void readFully(long position, byte[] buffer, int offset, int length) throws IOException {
+		checkClosed();
+		if ((offset < 0) || (length < 0) || (offset > buffer.length - length)) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", buffer length " + buffer.length);
+		}
+		if ((position < 0) || (position > this.length - length)) {
+			throw new EOFException();
+		}
+		int done = 0;
+		while (done < length) {
+			int chunk = (int) Math.min(length - done, (windowMask + 1) - offset(position));
+			ByteBuffer window = window(position, chunk);
+			if (window != null) {
+				/* other threads may be reading the same window, so don't move its position */
+				ByteBuffer view = window.duplicate();
+				view.position(offset(position));
+				view.get(buffer, offset + done, chunk);
+			} else {
+				synchronized (file) {
+					file.seek(position);
+					file.readFully(buffer, offset + done, length - done);
+				}
+				return;
+			}
+			position += chunk;
+			done += chunk;
+		}
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		checkClosed();
+		ByteBuffer window = window(streamPos, 2);
+		if (window == null) {
+			return super.readShort();
+		}
+		short value = window.getShort(offset(streamPos));
+		streamPos += 2;
+		bitOffset = 0;
+		return value;
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		checkClosed();
+		ByteBuffer window = window(streamPos, 4);
+		if (window == null) {
+			return super.readInt();
+		}
+		int value = window.getInt(offset(streamPos));
+		streamPos += 4;
+		bitOffset = 0;
+		return value;
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		checkClosed();
+		ByteBuffer window = window(streamPos, 8);
+		if (window == null) {
+			return super.readLong();
+		}
+		long value = window.getLong(offset(streamPos));
+		streamPos += 8;
+		bitOffset = 0;
+		return value;
+	}
+
+	@Override
+	public void readFully(short[] buffer, int offset, int length) throws IOException {
+		checkClosed();
+		ByteBuffer window = window(streamPos, length * 2L);
+		if (window == null) {
+			super.readFully(buffer, offset, length);
+			return;
+		}
+		window.position(offset(streamPos));
+		window.asShortBuffer().get(buffer, offset, length);
+		streamPos += length * 2L;
+		bitOffset = 0;
+	}
+
+	@Override
+	public void readFully(int[] buffer, int offset, int length) throws IOException {
+		checkClosed();
+		ByteBuffer window = window(streamPos, length * 4L);
+		if (window == null) {
+			super.readFully(buffer, offset, length);
+			return;
+		}
+		window.position(offset(streamPos));
+		window.asIntBuffer().get(buffer, offset, length);
+		streamPos += length * 4L;
+		bitOffset = 0;
+	}
+
+	@Override
+	public void readFully(long[] buffer, int offset, int length) throws IOException {
+		checkClosed();
+		ByteBuffer window = window(streamPos, length * 8L);
+		if (window == null) {
+			super.readFully(buffer, offset, length);
+			return;
+		}
+		window.position(offset(streamPos));
+		window.asLongBuffer().get(buffer, offset, length);
+		streamPos += length * 8L;
+		bitOffset = 0;
+	}
+
+	@Override
+	public long length() {
+		return length;
+	}
+
+	@Override
+	public void close() throws IOException {
+		super.close();
+		windows = null;
+		lastIndex = -1;
+		lastWindow = null;
+		file.close();
+	}
+
+}
@@ -40,7 +40,9 @@ import java.util.logging.Logger;
 import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 
+import com.ibm.j9ddr.corereaders.ClosingFileReader;
 import com.ibm.j9ddr.corereaders.InvalidDumpFormatException;
+import com.ibm.j9ddr.corereaders.MappedFileImageInputStream;
 import com.ibm.j9ddr.corereaders.memory.IMemorySource;
 import com.ibm.j9ddr.corereaders.memory.ISymbol;
 import com.ibm.j9ddr.corereaders.memory.Symbol;
@@ -147,8 +149,7 @@ public abstract class ELFFileReader {
 	// Use openELFFile to get an ELFFile instance.
 	protected ELFFileReader(File file, ByteOrder byteOrder) throws IOException, InvalidDumpFormatException {
 		try {
-			is = new FileImageInputStream(file);
-			is.setByteOrder(byteOrder);
+			is = new ClosingFileReader(file, byteOrder);
 			this._file = file;
 			sourceName = file.getAbsolutePath();
 			this.baseOffset = 0;
@@ -667,8 +668,7 @@ public abstract class ELFFileReader {
 		if (is != null) {
 			return is;
 		} else {
-			FileImageInputStream fis = new FileImageInputStream(_file);
-			return fis;
+			return new ClosingFileReader(_file);
 		}
 	}
 
@@ -721,6 +721,28 @@ public abstract class ELFFileReader {
 		is.readFully(b, off, len);
 	}
 
+	/**
+	 * Reads bytes at a position in the ELF file without using the position of
+	 * this reader, so that memory sources backed by this file may be read by
+	 * several threads at once.
+	 *
+	 * @param pos the offset of the first byte from the start of the ELF file
+	 * @param b the buffer to fill
+	 * @param off the offset in the buffer of the first byte
+	 * @param len the number of bytes to read
+	 * @throws IOException
+	 */
+	public void readFully(long pos, byte[] b, int off, int len) throws IOException {
+		if (is instanceof MappedFileImageInputStream) {
+			((MappedFileImageInputStream) is).readFully(baseOffset + pos, b, off, len);
+		} else {
+			synchronized (is) {
+				seek(pos);
+				is.readFully(b, off, len);
+			}
+		}
+	}
+
 	/**
 	 * Reads a string from the readers current position until
 	 * it is terminated by a null (0) byte.
@@ -89,8 +89,7 @@ public class ELFMemorySource extends ProtectedMemoryRange implements IMemorySour
 		long seekAddress = fileOffset + rangeOffset;
 		
 		try {
-			reader.seek(seekAddress);
-			reader.readFully(buffer,offset,length);
+			reader.readFully(seekAddress, buffer, offset, length);
 		} catch (IOException e) {
 			throw new MemoryFault(address, "IOException accessing ELF storage in " + reader,e);
 		}
@@ -53,12 +53,12 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.TreeMap;
 
-import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 
 import com.ibm.j9ddr.CorruptDataException;
 import com.ibm.j9ddr.DataUnavailableException;
 import com.ibm.j9ddr.corereaders.AbstractCoreReader;
+import com.ibm.j9ddr.corereaders.ClosingFileReader;
 import com.ibm.j9ddr.corereaders.ICore;
 import com.ibm.j9ddr.corereaders.ILibraryDependentCore;
 import com.ibm.j9ddr.corereaders.InvalidDumpFormatException;
@@ -322,7 +322,7 @@ public class MachoDumpReader extends AbstractCoreReader implements ILibraryDepen
 
 	public static ICore getReaderForFile(File f) throws IOException, InvalidDumpFormatException
 	{
-		ImageInputStream in = new FileImageInputStream(f);
+		ImageInputStream in = new ClosingFileReader(f);
 		return getReaderForFile(in);
 	}
 
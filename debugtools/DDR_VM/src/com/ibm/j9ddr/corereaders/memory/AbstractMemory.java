@@ -447,15 +447,22 @@ public abstract class AbstractMemory extends SearchableMemory implements IMemory
 					int blockSize = (int)(sizeToEndOfRange > CACHE_BLOCK_SIZE ? CACHE_BLOCK_SIZE : sizeToEndOfRange);
 					boolean cacheHit = false;
 					
-					CacheBlock block = blockMap.get(blockIndex);
+					CacheBlock block;
+
+					synchronized (blockMap) {
+						block = blockMap.get(blockIndex);
+					}
 					
 					if (RECORDING_CACHE_STATS) {
 						cacheHit = block != null;
 					}
 					
 					if (block == null) {
+						/* a block loaded by two threads at once is only read twice */
 						block = loadBlock(blockBase,address,blockSize);
-						blockMap.put(blockIndex, block);
+						synchronized (blockMap) {
+							blockMap.put(blockIndex, block);
+						}
 					}
 					
 					long offsetInBlock = address - blockBase;
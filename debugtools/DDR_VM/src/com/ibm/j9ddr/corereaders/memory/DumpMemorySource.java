@@ -107,8 +107,7 @@ public class DumpMemorySource extends ProtectedMemoryRange implements IMemorySou
 		}
 
 		try {
-			coreReader.seek(fileOffset + rangeOffset);
-			coreReader.readFully(buffer, offset, length);
+			coreReader.readFully(fileOffset + rangeOffset, buffer, offset, length);
 		} catch (IOException ex) {
 			throw new MemoryFault(address,
 					"Memory fault caused by IOException reading dump.", ex);
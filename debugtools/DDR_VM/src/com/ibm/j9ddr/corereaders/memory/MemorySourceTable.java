@@ -92,35 +92,45 @@ public class MemorySourceTable {
 		}
 	}
 
-	private IAddressResolverStrategy addressResolver;
+	/* picked lazily by the first lookup, which may be made by any of several reading threads */
+	private volatile IAddressResolverStrategy addressResolver;
 
 	private final List<IMemorySource> rawMemorySources = new ArrayList<>();
 	private List<IMemorySource> memorySources;
 
-	public final void addMemorySource(IMemorySource source) {
+	public final synchronized void addMemorySource(IMemorySource source) {
 		rawMemorySources.add(source);
 		addressResolver = null;
 	}
 
-	public void removeMemorySource(IMemorySource source) {
+	public synchronized void removeMemorySource(IMemorySource source) {
 		rawMemorySources.remove(source);
 		addressResolver = null;
 	}
 
-	public final List<IMemoryRange> getMemorySources() {
+	public final synchronized List<IMemoryRange> getMemorySources() {
 		mergeOverlappingRanges();
 		return new ArrayList<IMemoryRange>(memorySources);
 	}
 
 	public final IMemorySource getRangeForAddress(long address) {
-		if (addressResolver == null) {
-			pickAddressResolver();
+		IAddressResolverStrategy resolver = addressResolver;
+
+		if (resolver == null) {
+			resolver = pickAddressResolver();
 		}
 
-		return addressResolver.getRangeForAddress(address);
+		return resolver.getRangeForAddress(address);
 	}
 
-	private void pickAddressResolver() {
+	private synchronized IAddressResolverStrategy pickAddressResolver() {
+		IAddressResolverStrategy resolver = addressResolver;
+
+		if (resolver != null) {
+			/* another thread picked it while this one waited */
+			return resolver;
+		}
+
 		mergeOverlappingRanges();
 
 		// Need to figure out highest address and worst alignment
@@ -151,29 +161,32 @@ public class MemorySourceTable {
 		if (FORCE_BINARY_CHOP_RESOLVER) {
 			logger.logp(FINE, "MemoryRangeTable", "pickAddressResolver", "Selection overridden with {0}",
 					FORCE_BINARY_CHOP_RESOLVER_SYSTEM_PROPERTY);
-			addressResolver = new BinaryChopAddressResolver(memorySources);
+			resolver = new BinaryChopAddressResolver(memorySources);
 		} else {
 			if (worstAlignment >= 12 && smallestRange >= 4096) {
 				if (Addresses.lessThan(highestAddress, 0x100000000L)) {
-					addressResolver = new FlatPageTableAddressResolver(memorySources, highestAddress, worstAlignment);
+					resolver = new FlatPageTableAddressResolver(memorySources, highestAddress, worstAlignment);
 				} else if (ALLOW_THREE_TIER_TABLE_RESOLVER) {
 					logger.logp(FINE, "MemoryRangeTable", "pickAddressResolver",
 							"Three tier table resolver selected, allowed by {0} setting",
 							ALLOW_THREE_TIER_TABLE_RESOLVER_PROPERTY);
-					addressResolver = new ThreeTierPageTableAddressResolver(memorySources, highestAddress,
+					resolver = new ThreeTierPageTableAddressResolver(memorySources, highestAddress,
 							worstAlignment);
 				}
 			}
 
 		}
 		/* Can't use one of the clever resolvers. We will fall back to binary-chop. */
-		if (addressResolver == null) {
-			addressResolver = new BinaryChopAddressResolver(memorySources);
+		if (resolver == null) {
+			resolver = new BinaryChopAddressResolver(memorySources);
 		}
 
 		logger.logp(FINE, "MemoryRangeTable", "pickAddressResolver",
 				"Picked {0} as address resolver.",
-				addressResolver.getClass().getSimpleName());
+				resolver.getClass().getSimpleName());
+
+		addressResolver = resolver;
+		return resolver;
 	}
 
 	private void mergeOverlappingRanges() {
@@ -411,14 +424,20 @@ public class MemorySourceTable {
 		}
 
 		private IMemorySource tlbCheck(long address) {
-			if (tlbEntry1 != null && tlbEntry1.contains(address)) {
+			/*
+			 * Read each entry once: another thread may replace it between the check and the return.
+			 * Racing updates of the entries and hit counts only make the cache less effective.
+			 */
+			IMemorySource entry1 = tlbEntry1;
+			if (entry1 != null && entry1.contains(address)) {
 				entry1HitCount++;
-				return tlbEntry1;
+				return entry1;
 			}
 
-			if (tlbEntry2 != null && tlbEntry2.contains(address)) {
+			IMemorySource entry2 = tlbEntry2;
+			if (entry2 != null && entry2.contains(address)) {
 				entry2HitCount++;
-				return tlbEntry2;
+				return entry2;
 			}
 
 			return null;
@@ -333,7 +333,7 @@ public class PointerGenerator {
 				if (opts.get("-u").equals("false")) {
 					writer.println("\tprivate static final boolean CACHE_CLASS = true;");
 				}
-				writer.format("\tprivate static HashMap<Long, %s> CLASS_CACHE = new HashMap<>();%n", structure.getPointerName());
+				writer.format("\tprivate static final ConcurrentHashMap<Long, %s> CLASS_CACHE = new ConcurrentHashMap<>();%n", structure.getPointerName());
 				writer.println();
 			}
 			if (cacheFields) {
@@ -1406,7 +1406,7 @@ public class PointerGenerator {
 		writer.println(String.format("import com.ibm.j9ddr.vm%s.structure.*;", version));
 		writer.println(String.format("import com.ibm.j9ddr.vm%s.types.*;", version));
 		if (cacheClass) {
-			writer.println("import java.util.HashMap;");
+			writer.println("import java.util.concurrent.ConcurrentHashMap;");
 		}
 	}
 
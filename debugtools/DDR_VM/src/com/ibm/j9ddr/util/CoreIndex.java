@@ -0,0 +1,316 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.j9ddr.corereaders.memory.IMemoryRange;
+import com.ibm.j9ddr.corereaders.memory.IProcess;
+import com.ibm.j9ddr.corereaders.memory.MemoryFault;
+import com.ibm.j9ddr.logging.LoggerNames;
+
+/**
+ * An on-disk cache of data which DDR derives from a core file, such as the location
+ * of the J9RAS structures or an index of the heap, so that a core which is opened
+ * again, or which is examined by a script of commands, does not have to be walked
+ * again.
+ *
+ * The cache is only used if the system property com.ibm.j9ddr.index.dir names a
+ * directory. Each process in a core has a subdirectory of it, named by a SHA-256
+ * fingerprint of the memory ranges of the process and of a sample of their contents.
+ * Each piece of data is a section file of the subdirectory, written by a
+ * {@link SectionWriter} to a temporary file which is then renamed, so that readers
+ * never see a partly written section. A section written by a different version of
+ * the format is ignored.
+ */
+public final class CoreIndex
+{
+	public static final String DIRECTORY_PROPERTY = "com.ibm.j9ddr.index.dir";
+
+	private static final int MAGIC = 0x4A394958; // J9IX
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String SECTION_SUFFIX = ".idx";
+
+	/* the number of memory ranges whose contents are part of the fingerprint */
+	private static final int SAMPLED_RANGES = 256;
+
+	private static final int SAMPLE_SIZE = 512;
+
+	private static final Logger logger = Logger.getLogger(LoggerNames.LOGGER_STRUCTURE_READER);
+
+	private static final Map<IProcess, CoreIndex> indexes = new WeakHashMap<>();
+
+	private final File directory;
+
+	/**
+	 * Writes the content of a section.
+	 */
+	public interface SectionWriter
+	{
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	private CoreIndex(File directory)
+	{
+		this.directory = directory;
+	}
+
+	/**
+	 * Get the index of a process.
+	 *
+	 * @param process the process
+	 * @return the index, or null if no index directory is configured or the
+	 * directory cannot be used
+	 */
+	public static CoreIndex forProcess(IProcess process)
+	{
+		String root = System.getProperty(DIRECTORY_PROPERTY);
+
+		if ((root == null) || root.isEmpty() || (process == null)) {
+			return null;
+		}
+
+		synchronized (indexes) {
+			if (indexes.containsKey(process)) {
+				return indexes.get(process);
+			}
+
+			CoreIndex index = null;
+
+			try {
+				File directory = new File(root, fingerprint(process));
+
+				if (directory.isDirectory() || directory.mkdirs()) {
+					index = new CoreIndex(directory);
+				} else {
+					logger.log(Level.WARNING, "Cannot create index directory {0}", directory);
+				}
+			} catch (NoSuchAlgorithmException e) {
+				logger.log(Level.WARNING, "Cannot fingerprint the process", e);
+			}
+
+			indexes.put(process, index);
+			return index;
+		}
+	}
+
+	/**
+	 * Fingerprint a process by the address and size of each of its memory ranges,
+	 * and by the first bytes of up to {@value #SAMPLED_RANGES} ranges spread over the
+	 * process.
+	 */
+	private static String fingerprint(IProcess process) throws NoSuchAlgorithmException
+	{
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		List<IMemoryRange> ranges = new ArrayList<>(process.getMemoryRanges());
+		byte[] sample = new byte[SAMPLE_SIZE];
+
+		digest.update(process.getPlatform().name().getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) process.bytesPerPointer());
+
+		for (IMemoryRange range : ranges) {
+			buffer.clear();
+			buffer.putLong(range.getBaseAddress()).putLong(range.getSize());
+			digest.update(buffer.array());
+		}
+
+		int stride = Math.max(1, ranges.size() / SAMPLED_RANGES);
+
+		for (int i = 0; i < ranges.size(); i += stride) {
+			IMemoryRange range = ranges.get(i);
+
+			if (range.isBacked()) {
+				int length = (int) Math.min(SAMPLE_SIZE, range.getSize());
+
+				try {
+					process.getBytesAt(range.getBaseAddress(), sample, 0, length);
+					digest.update(sample, 0, length);
+				} catch (MemoryFault e) {
+					/* the fault is as much a property of the core as the bytes would be */
+					digest.update((byte) 0xFF);
+				}
+			}
+		}
+
+		StringBuilder name = new StringBuilder();
+
+		for (byte b : digest.digest()) {
+			name.append(String.format("%02x", b & 0xFF));
+		}
+
+		return name.toString();
+	}
+
+	/**
+	 * @return the directory holding the sections of this index
+	 */
+	public File getDirectory()
+	{
+		return directory;
+	}
+
+	private File sectionFile(String name)
+	{
+		return new File(directory, name + SECTION_SUFFIX);
+	}
+
+	/**
+	 * @param name the name of a section
+	 * @return true if the section has been written
+	 */
+	public boolean hasSection(String name)
+	{
+		return sectionFile(name).isFile();
+	}
+
+	/**
+	 * Open a section for reading.
+	 *
+	 * @param name the name of the section
+	 * @return a stream positioned at the content of the section, which the caller
+	 * must close, or null if the section has not been written by this version
+	 * @throws IOException
+	 */
+	public DataInputStream read(String name) throws IOException
+	{
+		File file = sectionFile(name);
+
+		if (!file.isFile()) {
+			return null;
+		}
+
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+
+		try {
+			if ((in.readInt() == MAGIC) && (in.readInt() == FORMAT_VERSION) && name.equals(in.readUTF())) {
+				DataInputStream result = in;
+				in = null;
+				return result;
+			}
+		} catch (IOException e) {
+			logger.log(Level.FINE, "Ignoring unreadable index section " + file, e);
+		} finally {
+			if (in != null) {
+				in.close();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Write a section, replacing any previous content.
+	 *
+	 * @param name the name of the section
+	 * @param writer writes the content of the section
+	 * @throws IOException
+	 */
+	public void write(String name, SectionWriter writer) throws IOException
+	{
+		File file = sectionFile(name);
+		File temporary = File.createTempFile(name, ".tmp", directory);
+		boolean written = false;
+
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(name);
+				writer.write(out);
+			}
+			if (file.exists() && !file.delete()) {
+				throw new IOException("Cannot replace " + file);
+			}
+			if (!temporary.renameTo(file)) {
+				throw new IOException("Cannot rename " + temporary + " to " + file);
+			}
+			written = true;
+		} finally {
+			if (!written) {
+				temporary.delete();
+			}
+		}
+	}
+
+	/**
+	 * @return the names of the sections which have been written, in order
+	 */
+	public List<String> getSectionNames()
+	{
+		List<String> names = new ArrayList<>();
+		String[] files = directory.list();
+
+		if (files != null) {
+			Arrays.sort(files);
+			for (String file : files) {
+				if (file.endsWith(SECTION_SUFFIX)) {
+					names.add(file.substring(0, file.length() - SECTION_SUFFIX.length()));
+				}
+			}
+		}
+
+		return names;
+	}
+
+	/**
+	 * @param name the name of a section
+	 * @return the size in bytes of the section file, or 0 if it has not been written
+	 */
+	public long getSectionSize(String name)
+	{
+		return sectionFile(name).length();
+	}
+
+	/**
+	 * Delete the sections of this index.
+	 *
+	 * @param names the sections to delete, or all sections if empty
+	 */
+	public void delete(Collection<String> names)
+	{
+		for (String name : names.isEmpty() ? getSectionNames() : names) {
+			sectionFile(name).delete();
+		}
+	}
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.vm29.j9.gc;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.j9ddr.CorruptDataException;
+import com.ibm.j9ddr.util.CoreIndex;
+import com.ibm.j9ddr.vm29.j9.DataType;
+import com.ibm.j9ddr.vm29.j9.walkers.ClassSegmentIterator;
+import com.ibm.j9ddr.vm29.pointer.generated.J9ClassPointer;
+import com.ibm.j9ddr.vm29.pointer.generated.J9JavaVMPointer;
+import com.ibm.j9ddr.vm29.pointer.generated.J9ObjectPointer;
+import com.ibm.j9ddr.vm29.pointer.helper.J9ClassHelper;
+import com.ibm.j9ddr.vm29.pointer.helper.J9ObjectHelper;
+
+/**
+ * An index of the objects of the heap of a VM, kept in the {@link CoreIndex} of the
+ * process so that commands run on a core which has been opened before don't have
+ * to walk the heap again.
+ *
+ * The index holds the region table of the heap, the name of each class found in
+ * the class segments, the number of instances of each class and, in a separate
+ * section, the address and class of each object in heap order, as the heap
+ * iterators answer them with both live and dead objects included. An index is only
+ * written if every region of the heap could be walked, and is only used if the
+ * region table of the heap is the one recorded in it.
+ */
+public final class GCHeapIndex
+{
+	/** The class address recorded for an object whose class could not be read. */
+	public static final long UNREADABLE_CLASS = -1;
+
+	private static final String SUMMARY_SECTION = "heap-%s-summary";
+
+	private static final String OBJECTS_SECTION = "heap-%s-objects";
+
+	/**
+	 * Visits the objects of an index.
+	 */
+	public interface ObjectVisitor
+	{
+		/**
+		 * @param objectAddress the address of the object
+		 * @param classAddress the address of its class, or {@link #UNREADABLE_CLASS}
+		 */
+		void visit(long objectAddress, long classAddress);
+	}
+
+	private final CoreIndex index;
+	private final String objectsSection;
+	/* descriptor, low address, high address and object count of each region */
+	private final long[][] regions;
+	private final long[] classAddresses;
+	private final String[] classNames;
+	/* the number of instances by class address, in order of the first instance of each class */
+	private final Map<Long, Long> instanceCounts;
+	private final long objectCount;
+
+	private GCHeapIndex(CoreIndex index, String objectsSection, long[][] regions, long[] classAddresses, String[] classNames, Map<Long, Long> instanceCounts, long objectCount)
+	{
+		this.index = index;
+		this.objectsSection = objectsSection;
+		this.regions = regions;
+		this.classAddresses = classAddresses;
+		this.classNames = classNames;
+		this.instanceCounts = instanceCounts;
+		this.objectCount = objectCount;
+	}
+
+	private static CoreIndex getCoreIndex()
+	{
+		return CoreIndex.forProcess(DataType.getProcess());
+	}
+
+	/**
+	 * @return true if indexes are kept for the current process
+	 */
+	public static boolean isEnabled()
+	{
+		return getCoreIndex() != null;
+	}
+
+	private static String sectionName(String format, J9JavaVMPointer vm)
+	{
+		return String.format(format, Long.toHexString(vm.getAddress()));
+	}
+
+	/**
+	 * Delete the index of the heap of a VM.
+	 *
+	 * @param vm the VM
+	 */
+	public static void delete(J9JavaVMPointer vm)
+	{
+		CoreIndex index = getCoreIndex();
+
+		if (index != null) {
+			index.delete(Arrays.asList(sectionName(SUMMARY_SECTION, vm), sectionName(OBJECTS_SECTION, vm)));
+		}
+	}
+
+	/**
+	 * Load the index of the heap of a VM.
+	 *
+	 * @param vm the VM
+	 * @return the index, or null if indexes are not kept, the heap has not been
+	 * indexed, or the index does not match the heap
+	 * @throws CorruptDataException if the region table of the heap cannot be read
+	 * @throws IOException
+	 */
+	public static GCHeapIndex load(J9JavaVMPointer vm) throws CorruptDataException, IOException
+	{
+		CoreIndex index = getCoreIndex();
+
+		if (index == null) {
+			return null;
+		}
+
+		String objectsSection = sectionName(OBJECTS_SECTION, vm);
+
+		if (!index.hasSection(objectsSection)) {
+			return null;
+		}
+
+		try (DataInputStream in = index.read(sectionName(SUMMARY_SECTION, vm))) {
+			if (in == null) {
+				return null;
+			}
+
+			long[][] regions = new long[in.readInt()][];
+			for (int i = 0; i < regions.length; i++) {
+				regions[i] = new long[] { in.readLong(), in.readLong(), in.readLong(), in.readLong() };
+			}
+
+			List<GCHeapRegionDescriptor> heapRegions = GCParallelHeapWalker.getRegions();
+			if (heapRegions.size() != regions.length) {
+				return null;
+			}
+			for (int i = 0; i < regions.length; i++) {
+				if (!Arrays.equals(Arrays.copyOf(regions[i], 3), describe(heapRegions.get(i)))) {
+					return null;
+				}
+			}
+
+			long[] classAddresses = new long[in.readInt()];
+			String[] classNames = new String[classAddresses.length];
+			for (int i = 0; i < classAddresses.length; i++) {
+				classAddresses[i] = in.readLong();
+				classNames[i] = in.readUTF();
+			}
+
+			int countedClasses = in.readInt();
+			Map<Long, Long> instanceCounts = new LinkedHashMap<>();
+			for (int i = 0; i < countedClasses; i++) {
+				instanceCounts.put(Long.valueOf(in.readLong()), Long.valueOf(in.readLong()));
+			}
+
+			long objectCount = in.readLong();
+
+			return new GCHeapIndex(index, objectsSection, regions, classAddresses, classNames, Collections.unmodifiableMap(instanceCounts), objectCount);
+		}
+	}
+
+	private static long[] describe(GCHeapRegionDescriptor region)
+	{
+		return new long[] {
+				region.getHeapRegionDescriptorPointer().getAddress(),
+				region.getLowAddress().getAddress(),
+				region.getHighAddress().getAddress() };
+	}
+
+	/**
+	 * Walk the heap of a VM and write its index.
+	 *
+	 * @param vm the VM
+	 * @return the index, or null if indexes are not kept for the current process
+	 * @throws CorruptDataException if a class segment or a region of the heap cannot be walked
+	 * @throws IOException if the index cannot be written
+	 */
+	public static GCHeapIndex build(J9JavaVMPointer vm) throws CorruptDataException, IOException
+	{
+		CoreIndex index = getCoreIndex();
+
+		if (index == null) {
+			return null;
+		}
+
+		final List<Long> classAddressList = new ArrayList<>();
+		final List<String> classNameList = new ArrayList<>();
+		ClassSegmentIterator classIterator = new ClassSegmentIterator(vm.classMemorySegments());
+		while (classIterator.hasNext()) {
+			J9ClassPointer clazz = (J9ClassPointer) classIterator.next();
+			classAddressList.add(Long.valueOf(clazz.getAddress()));
+			classNameList.add(J9ClassHelper.getJavaName(clazz));
+		}
+
+		final List<GCHeapRegionDescriptor> heapRegions = GCParallelHeapWalker.getRegions();
+		final List<RegionObjects> regionObjects = GCParallelHeapWalker.walk(heapRegions, new GCParallelHeapWalker.Visitor<GCHeapRegionDescriptor, RegionObjects>() {
+			@Override
+			public RegionObjects visit(GCHeapRegionDescriptor region) throws CorruptDataException {
+				return RegionObjects.walk(region);
+			}
+		});
+
+		final long[][] regions = new long[heapRegions.size()][];
+		final Map<Long, Long> instanceCounts = new LinkedHashMap<>();
+		final Map<Long, long[]> counters = new HashMap<>();
+		long objectCount = 0;
+
+		for (int i = 0; i < regions.length; i++) {
+			RegionObjects objects = regionObjects.get(i);
+			regions[i] = Arrays.copyOf(describe(heapRegions.get(i)), 4);
+			regions[i][3] = objects.count;
+			objectCount += objects.count;
+			for (int j = 0; j < objects.count; j++) {
+				Long classAddress = Long.valueOf(objects.classes[j]);
+				long[] counter = counters.get(classAddress);
+				if (counter == null) {
+					counter = new long[1];
+					counters.put(classAddress, counter);
+					instanceCounts.put(classAddress, null);
+				}
+				counter[0] += 1;
+			}
+		}
+		for (Map.Entry<Long, Long> entry : instanceCounts.entrySet()) {
+			entry.setValue(Long.valueOf(counters.get(entry.getKey())[0]));
+		}
+
+		final long totalObjects = objectCount;
+		String objectsSection = sectionName(OBJECTS_SECTION, vm);
+
+		index.write(objectsSection, new CoreIndex.SectionWriter() {
+			@Override
+			public void write(DataOutputStream out) throws IOException {
+				out.writeLong(totalObjects);
+				for (RegionObjects objects : regionObjects) {
+					for (int j = 0; j < objects.count; j++) {
+						out.writeLong(objects.objects[j]);
+						out.writeLong(objects.classes[j]);
+					}
+				}
+			}
+		});
+
+		/* the summary is written last: an index without one is not used */
+		index.write(sectionName(SUMMARY_SECTION, vm), new CoreIndex.SectionWriter() {
+			@Override
+			public void write(DataOutputStream out) throws IOException {
+				out.writeInt(regions.length);
+				for (long[] region : regions) {
+					for (long value : region) {
+						out.writeLong(value);
+					}
+				}
+				out.writeInt(classAddressList.size());
+				for (int i = 0; i < classAddressList.size(); i++) {
+					out.writeLong(classAddressList.get(i).longValue());
+					out.writeUTF(classNameList.get(i));
+				}
+				out.writeInt(instanceCounts.size());
+				for (Map.Entry<Long, Long> entry : instanceCounts.entrySet()) {
+					out.writeLong(entry.getKey().longValue());
+					out.writeLong(entry.getValue().longValue());
+				}
+				out.writeLong(totalObjects);
+			}
+		});
+
+		long[] classAddresses = new long[classAddressList.size()];
+		for (int i = 0; i < classAddresses.length; i++) {
+			classAddresses[i] = classAddressList.get(i).longValue();
+		}
+
+		return new GCHeapIndex(index, objectsSection, regions, classAddresses, classNameList.toArray(new String[classNameList.size()]),
+				Collections.unmodifiableMap(instanceCounts), objectCount);
+	}
+
+	/**
+	 * The objects of one region and the addresses of their classes.
+	 */
+	private static final class RegionObjects
+	{
+		long[] objects = new long[1024];
+		long[] classes = new long[1024];
+		int count;
+
+		static RegionObjects walk(GCHeapRegionDescriptor region) throws CorruptDataException
+		{
+			RegionObjects result = new RegionObjects();
+			GCObjectHeapIterator heapIterator = GCObjectHeapIterator.fromHeapRegionDescriptor(region, true, true);
+
+			while (heapIterator.hasNext()) {
+				J9ObjectPointer object = heapIterator.next();
+				long classAddress;
+				try {
+					classAddress = J9ObjectHelper.clazz(object).getAddress();
+				} catch (CorruptDataException e) {
+					classAddress = UNREADABLE_CLASS;
+				}
+				result.add(object.getAddress(), classAddress);
+			}
+
+			return result;
+		}
+
+		void add(long object, long clazz)
+		{
+			if (count == objects.length) {
+				objects = Arrays.copyOf(objects, count * 2);
+				classes = Arrays.copyOf(classes, count * 2);
+			}
+			objects[count] = object;
+			classes[count] = clazz;
+			count += 1;
+		}
+	}
+
+	/**
+	 * @return the number of regions of the heap
+	 */
+	public int getRegionCount()
+	{
+		return regions.length;
+	}
+
+	/**
+	 * @return the number of objects of the heap
+	 */
+	public long getObjectCount()
+	{
+		return objectCount;
+	}
+
+	/**
+	 * @return the number of classes found in the class segments
+	 */
+	public int getClassCount()
+	{
+		return classAddresses.length;
+	}
+
+	/**
+	 * Find a class by name, as the class segments are searched.
+	 *
+	 * @param javaName the Java name of the class
+	 * @return the address of the first class of that name, or 0 if there is none
+	 */
+	public long findClass(String javaName)
+	{
+		for (int i = 0; i < classNames.length; i++) {
+			if (classNames[i].equals(javaName)) {
+				return classAddresses[i];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @param classAddress the address of a class
+	 * @return the name of the class, or null if it is not in the class segments
+	 */
+	public String getClassName(long classAddress)
+	{
+		for (int i = 0; i < classAddresses.length; i++) {
+			if (classAddresses[i] == classAddress) {
+				return classNames[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the number of instances of each class address found in the heap,
+	 * including {@link #UNREADABLE_CLASS}, in order of the first instance of each class
+	 */
+	public Map<Long, Long> getInstanceCounts()
+	{
+		return instanceCounts;
+	}
+
+	/**
+	 * Visit the objects of the heap in heap order.
+	 *
+	 * @param visitor the visitor
+	 * @throws IOException if the index cannot be read
+	 */
+	public void visitObjects(ObjectVisitor visitor) throws IOException
+	{
+		try (DataInputStream in = index.read(objectsSection)) {
+			if (in == null) {
+				throw new IOException("Heap index section " + objectsSection + " is missing");
+			}
+			long count = in.readLong();
+			for (long i = 0; i < count; i++) {
+				long objectAddress = in.readLong();
+				visitor.visit(objectAddress, in.readLong());
+			}
+		}
+	}
+}
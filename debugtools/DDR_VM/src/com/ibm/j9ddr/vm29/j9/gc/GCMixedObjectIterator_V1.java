@@ -23,8 +23,8 @@ package com.ibm.j9ddr.vm29.j9.gc;
 
 import static com.ibm.j9ddr.vm29.events.EventManager.raiseCorruptDataEvent;
 
-import java.util.HashMap;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.ibm.j9ddr.CorruptDataException;
 import com.ibm.j9ddr.vm29.j9.ObjectModel;
@@ -38,7 +38,8 @@ import com.ibm.j9ddr.vm29.types.UDATA;
 
 class GCMixedObjectIterator_V1 extends GCObjectIterator
 {
-	protected final static HashMap<J9ClassPointer, boolean[]> descriptionCache = new HashMap<>();
+	/* shared by the threads of a parallel heap walk */
+	protected final static ConcurrentHashMap<J9ClassPointer, boolean[]> descriptionCache = new ConcurrentHashMap<>();
 
 	protected ObjectReferencePointer data;
 	protected boolean[] descriptionArray;
@@ -0,0 +1,205 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.vm29.j9.gc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ibm.j9ddr.CorruptDataException;
+
+/**
+ * Walks the regions of the heap, or any other list of independent items, on a
+ * ForkJoinPool so that the work of a DDR command is spread across the cores of
+ * the machine.
+ *
+ * The visitor is called once for each item, by any one of the threads of the pool,
+ * and its results are answered in the order of the items so that commands print
+ * the same output as a walk on a single thread. The visitor must only update
+ * state of its own result: the DDR memory layer and the pointer and helper classes
+ * may be used by several threads at once.
+ *
+ * The number of threads is the number of available processors unless it is set by
+ * the system property com.ibm.j9ddr.heapwalk.threads; a value of 1 walks the items
+ * on the calling thread.
+ */
+public final class GCParallelHeapWalker
+{
+	public static final String THREADS_PROPERTY = "com.ibm.j9ddr.heapwalk.threads";
+
+	/**
+	 * Visits one item of a walk.
+	 *
+	 * @param <E> the type of the items
+	 * @param <T> the type of the result of each item
+	 */
+	public interface Visitor<E, T>
+	{
+		/**
+		 * @param item the item to visit
+		 * @return the result for the item
+		 * @throws CorruptDataException
+		 */
+		T visit(E item) throws CorruptDataException;
+	}
+
+	private GCParallelHeapWalker()
+	{
+	}
+
+	/**
+	 * @return the number of threads used by a walk
+	 */
+	public static int getParallelism()
+	{
+		int threads = Runtime.getRuntime().availableProcessors();
+		String property = System.getProperty(THREADS_PROPERTY);
+
+		if (property != null) {
+			try {
+				threads = Integer.parseInt(property.trim());
+			} catch (NumberFormatException e) {
+				/* ignore the setting */
+			}
+		}
+
+		return Math.max(1, threads);
+	}
+
+	/**
+	 * @return the regions of the heap, in the order of GCHeapRegionIterator.from()
+	 * @throws CorruptDataException
+	 */
+	public static List<GCHeapRegionDescriptor> getRegions() throws CorruptDataException
+	{
+		List<GCHeapRegionDescriptor> regions = new ArrayList<GCHeapRegionDescriptor>();
+		GCHeapRegionIterator regionIterator = GCHeapRegionIterator.from();
+
+		while (regionIterator.hasNext()) {
+			regions.add(regionIterator.next());
+		}
+
+		return regions;
+	}
+
+	/**
+	 * Visit each region of the heap.
+	 *
+	 * @param visitor the visitor for each region
+	 * @return the results of the regions, in the order of GCHeapRegionIterator.from()
+	 * @throws CorruptDataException if the regions could not be found, or the first
+	 * exception thrown by the visitor, in the order of the regions
+	 */
+	public static <T> List<T> walkRegions(Visitor<? super GCHeapRegionDescriptor, T> visitor) throws CorruptDataException
+	{
+		return walk(getRegions(), visitor);
+	}
+
+	/**
+	 * Visit each of a list of items.
+	 *
+	 * When the items are visited by several threads, the exception reported is the
+	 * one of the earliest item rather than the one which happened to be thrown first,
+	 * so that a walk of a corrupt dump fails in the same way each time.
+	 *
+	 * @param items the items to visit
+	 * @param visitor the visitor for each item
+	 * @return the results of the items, in the order of the items
+	 * @throws CorruptDataException the first exception thrown by the visitor, in the
+	 * order of the items
+	 */
+	public static <E, T> List<T> walk(List<? extends E> items, Visitor<? super E, T> visitor) throws CorruptDataException
+	{
+		int count = items.size();
+		Object[] results = new Object[count];
+		CorruptDataException[] failures = new CorruptDataException[count];
+		int threads = Math.min(getParallelism(), count);
+
+		if (threads <= 1) {
+			for (int i = 0; i < count; i++) {
+				results[i] = visitor.visit(items.get(i));
+			}
+		} else {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+
+			try {
+				pool.invoke(new WalkTask<E, T>(items, visitor, results, failures, 0, count));
+			} finally {
+				pool.shutdown();
+			}
+
+			for (CorruptDataException failure : failures) {
+				if (failure != null) {
+					throw failure;
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		List<T> list = (List<T>) Collections.unmodifiableList(Arrays.asList(results));
+		return list;
+	}
+
+	/**
+	 * Visits a range of the items, splitting it in two until each task visits one item.
+	 */
+	private static final class WalkTask<E, T> extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends E> items;
+		private final Visitor<? super E, T> visitor;
+		private final Object[] results;
+		private final CorruptDataException[] failures;
+		private final int start;
+		private final int end;
+
+		WalkTask(List<? extends E> items, Visitor<? super E, T> visitor, Object[] results, CorruptDataException[] failures, int start, int end)
+		{
+			this.items = items;
+			this.visitor = visitor;
+			this.results = results;
+			this.failures = failures;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if ((end - start) == 1) {
+				try {
+					results[start] = visitor.visit(items.get(start));
+				} catch (CorruptDataException e) {
+					failures[start] = e;
+				}
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new WalkTask<E, T>(items, visitor, results, failures, start, middle),
+						new WalkTask<E, T>(items, visitor, results, failures, middle, end));
+			}
+		}
+	}
+}
@@ -45,8 +45,12 @@ import static com.ibm.j9ddr.vm29.structure.J9Consts.*;
 public class J9ObjectHelper
 {
 	private static int cacheSize = 32;
-	private static J9ObjectPointer[] keys;
-	private static J9ClassPointer[] values;
+	/*
+	 * The cache may be used by several threads walking the heap at once. Each object and its
+	 * class are held in one immutable entry so that a thread never sees the key of one entry with
+	 * the value of another; racing updates of the counts only make the cache less effective.
+	 */
+	private static ClassCacheEntry[] entries;
 	private static int[] counts;
 	private static long probes;
 	private static long hits;
@@ -430,14 +434,29 @@ public class J9ObjectHelper
 		throw new NoSuchElementException(String.format("No field named %s with signature %s in %s", name, signature, J9ObjectHelper.getClassName(objPointer)));
 	}
 
+	private static final class ClassCacheEntry
+	{
+		final J9ObjectPointer key;
+		final J9ClassPointer value;
+
+		ClassCacheEntry(J9ObjectPointer key, J9ClassPointer value)
+		{
+			this.key = key;
+			this.value = value;
+		}
+	}
+
 	private static J9ClassPointer checkClassCache(J9ObjectPointer objPointer)
 	{
+		ClassCacheEntry[] cacheEntries = entries;
+		int[] cacheCounts = counts;
 		probes++;
 		for (int i = 0; i < cacheSize; i++) {
-			if (keys[i].equals(objPointer)) {
+			ClassCacheEntry entry = cacheEntries[i];
+			if (entry.key.equals(objPointer)) {
 				hits++;
-				counts[i]++;
-				return values[i];
+				cacheCounts[i]++;
+				return entry.value;
 			}
 		}
 		return null;
@@ -445,29 +464,31 @@ public class J9ObjectHelper
 
 	private static void setClassCache(J9ObjectPointer objPointer, J9ClassPointer classPointer)
 	{
-		int min = counts[0];
+		ClassCacheEntry[] cacheEntries = entries;
+		int[] cacheCounts = counts;
+		int min = cacheCounts[0];
 		int minIndex = 0;
 		for (int i = 1; i < cacheSize; i++) {
-			if (counts[i] < min) {
-				min = counts[i];
+			if (cacheCounts[i] < min) {
+				min = cacheCounts[i];
 				minIndex = i;
 			}
 		}
-		keys[minIndex] = objPointer;
-		values[minIndex] = classPointer;
-		counts[minIndex] = 1;
+		cacheEntries[minIndex] = new ClassCacheEntry(objPointer, classPointer);
+		cacheCounts[minIndex] = 1;
 	}
 
 	private static void initializeCache()
 	{
-		keys = new J9ObjectPointer[cacheSize];
-		values = new J9ClassPointer[cacheSize];
-		counts = new int[cacheSize];
-		probes = 0;
-		hits = 0;
+		ClassCacheEntry[] cacheEntries = new ClassCacheEntry[cacheSize];
+		ClassCacheEntry empty = new ClassCacheEntry(J9ObjectPointer.NULL, null);
 		for (int i = 0; i < cacheSize; i++) {
-			keys[i] = J9ObjectPointer.NULL;
+			cacheEntries[i] = empty;
 		}
+		probes = 0;
+		hits = 0;
+		counts = new int[cacheSize];
+		entries = cacheEntries;
 	}
 
 	public static byte getByteFromArrayByIndex(Object obj, int index) {
@@ -88,6 +88,7 @@ import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.MethodForNameCommand;
 import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.MonitorsCommand;
 import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.NativeMemInfoCommand;
 import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.ObjectSizeInfo;
+import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.QueryIndexCommand;
 import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.QueryRomClassCommand;
 import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.RamClassSummaryCommand;
 import com.ibm.j9ddr.vm29.tools.ddrinteractive.commands.RomClassForNameCommand;
@@ -214,6 +215,7 @@ public class GetCommandsTask extends BaseJVMCommands implements IBootstrapRunnab
 		}
 		toPassBack.add(new VirtualThreadsCommand());
 		toPassBack.add(new FindInstances());
+		toPassBack.add(new QueryIndexCommand());
 
 		loadPlugins(toPassBack, loader);
 
@@ -22,6 +22,9 @@
 package com.ibm.j9ddr.vm29.tools.ddrinteractive.commands;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
 
 import com.ibm.j9ddr.CorruptDataException;
 import com.ibm.j9ddr.tools.ddrinteractive.Command;
@@ -30,6 +33,7 @@ import com.ibm.j9ddr.tools.ddrinteractive.DDRInteractiveCommandException;
 import com.ibm.j9ddr.vm29.j9.DataType;
 import com.ibm.j9ddr.vm29.j9.gc.GCExtensions;
 import com.ibm.j9ddr.vm29.j9.gc.GCHeapLinkedFreeHeader;
+import com.ibm.j9ddr.vm29.j9.gc.GCParallelHeapWalker;
 import com.ibm.j9ddr.vm29.pointer.StructurePointer;
 import com.ibm.j9ddr.vm29.pointer.generated.J9JavaVMPointer;
 import com.ibm.j9ddr.vm29.pointer.generated.J9VMGCSegregatedAllocationCacheEntryPointer;
@@ -154,6 +158,99 @@ public class DumpSegregatedStatsCommand extends Command
 		return freeCellCount;
 	}
 
+	/**
+	 * The statistics of one small size class, and the line of the table which reports them.
+	 */
+	private static final class SizeClassStats
+	{
+		String line;
+		long countFull;
+		long countAvailable;
+		long darkMatterBytes;
+		long allocCacheSize;
+	}
+
+	/**
+	 * Gather the statistics of one small size class.
+	 * @throws CorruptDataException 
+	 */
+	private SizeClassStats getSizeClassStats(MM_RegionPoolSegregatedPointer regionPool, long sizeClassIndex) throws CorruptDataException
+	{
+		SizeClassStats stats = new SizeClassStats();
+		StringBuilder line = new StringBuilder();
+		Formatter formatter = new Formatter(line);
+
+		/* Get the size classes */
+		J9JavaVMPointer vm = J9RASHelper.getVM(DataType.getJ9RASPointer());
+		J9VMGCSizeClassesPointer sizeClasses = vm.realtimeSizeClasses();
+
+		/* arrayOffset is the total offset into a two dimensional array.  Used to walk the 
+		 * the array linearly */
+		long arrayOffset = sizeClassIndex * MM_RegionPoolSegregated.NUM_DEFRAG_BUCKETS;
+
+		/* Print the sizeclass */
+		UDATA cellSize = sizeClasses.smallCellSizesEA().at(sizeClassIndex);
+		formatter.format("%2d: %5d | ", sizeClassIndex, cellSize.longValue());
+
+		MM_HeapRegionListPointer heapRegionQueue = MM_HeapRegionListPointer.cast(regionPool._smallFullRegionsEA().at(sizeClassIndex));
+		long countSmall = getTotalRegions(heapRegionQueue);
+		stats.countFull = countSmall;
+
+		/* Print the number of full regions of this size class */
+		formatter.format("%4d | ", countSmall);
+
+		/* The number of free cells of this sizeclass */
+		long freeCellCount = 0;
+
+		for (long i = 0; i < MM_RegionPoolSegregated.NUM_DEFRAG_BUCKETS; i++) {
+			long count = 0;
+			MM_LockingHeapRegionQueuePointer heapRegionList = MM_LockingHeapRegionQueuePointer.cast(regionPool._smallAvailableRegionsEA().add(arrayOffset).at(0));
+			for (long j = 0; j < regionPool._splitAvailableListSplitCount().longValue(); j++) {
+				count += getTotalRegions(heapRegionList);
+				freeCellCount += getFreeCellCount(heapRegionList);
+				heapRegionList = heapRegionList.add(1);
+			}
+
+			/* increment to the next list */
+			arrayOffset += 1;
+			countSmall += count;
+			stats.countAvailable += count;
+
+			/* Print the number of available regions in this defrag bucket */
+			formatter.format("%4d ", count);
+		}
+
+		/* Print the total number of regions of this size class, and the number of free cells */
+		formatter.format("| %5d | %15d |", countSmall, freeCellCount);
+
+		/* Print the percentage of darkmatter in this region */
+		long darkMatterCellCount = regionPool._darkMatterCellCountEA().at(sizeClassIndex).longValue();
+		stats.darkMatterBytes = darkMatterCellCount * cellSize.longValue();
+		formatter.format("%%%3d | ", countSmall == 0 ? 0 : darkMatterCellCount / (countSmall * cellSize.longValue()));
+
+		/* Calculate the number of bytes in allocation caches */
+		long allocCacheSize = 0;
+		J9VMThreadPointer mainThread = vm.mainThread();
+
+		if (mainThread.notNull()) {
+			J9VMThreadPointer threadCursor = vm.mainThread();
+
+			do {
+				J9VMGCSegregatedAllocationCacheEntryPointer cache = threadCursor.segregatedAllocationCache();
+				cache = cache.add(sizeClassIndex);
+				allocCacheSize += cache.top().longValue() - cache.current().longValue();
+				threadCursor = threadCursor.linkNext();
+			} while (!threadCursor.eq(mainThread));
+		}
+
+		formatter.format("%5d\n", allocCacheSize);
+		stats.allocCacheSize = allocCacheSize;
+
+		formatter.close();
+		stats.line = line.toString();
+		return stats;
+	}
+
 	public void run(String command, String[] args, Context context, PrintStream out) throws DDRInteractiveCommandException 
 	{
 		if (!GCExtensions.isSegregatedHeap()) {
@@ -165,11 +262,7 @@ public class DumpSegregatedStatsCommand extends Command
 			/* Get the region pool */
 			MM_GCExtensionsPointer extensions = GCExtensions.getGCExtensionsPointer();
 			MM_RealtimeGCPointer realtimeGC = MM_RealtimeGCPointer.cast(extensions._globalCollector());
-			MM_RegionPoolSegregatedPointer regionPool = realtimeGC._memoryPool()._regionPool();
-
-			/* Get the size classes */
-			J9JavaVMPointer vm = J9RASHelper.getVM(DataType.getJ9RASPointer());
-			J9VMGCSizeClassesPointer sizeClasses = vm.realtimeSizeClasses();
+			final MM_RegionPoolSegregatedPointer regionPool = realtimeGC._memoryPool()._regionPool();
 
 			long countTotal = 0;
 			long countAvailableSmallTotal = 0;
@@ -177,78 +270,33 @@ public class DumpSegregatedStatsCommand extends Command
 			long darkMatterBytesTotal = 0;
 			long allocCacheBytesTotal = 0;
 
-			/* arrayOffset is the total offset into a two dimensional array.  Used to walk the 
-			 * the array linearly */
-			long arrayOffset = J9Consts.J9VMGC_SIZECLASSES_MIN_SMALL * MM_RegionPoolSegregated.NUM_DEFRAG_BUCKETS;
-
 			out.append("sizeClass | full | available           | total | free cell count | dark | cache\n");
 			out.append("===============================================================================\n");
 
+			/* The size classes are independent: gather their statistics several at a time and print them in order. */
+			List<Long> sizeClassIndexes = new ArrayList<>();
 			for (long sizeClassIndex = J9Consts.J9VMGC_SIZECLASSES_MIN_SMALL;
 					sizeClassIndex <= J9Consts.J9VMGC_SIZECLASSES_MAX_SMALL;
 					sizeClassIndex++) {
+				sizeClassIndexes.add(Long.valueOf(sizeClassIndex));
+			}
 
-				/* Print the sizeclass */
-				UDATA cellSize = sizeClasses.smallCellSizesEA().at(sizeClassIndex);
-				out.format("%2d: %5d | ", sizeClassIndex, cellSize.longValue());
-				
-				MM_HeapRegionListPointer heapRegionQueue = MM_HeapRegionListPointer.cast(regionPool._smallFullRegionsEA().at(sizeClassIndex));					
-				long countSmall = getTotalRegions(heapRegionQueue);
-				countFullSmallTotal += countSmall;
-
-				/* Print the number of full regions of this size class */
-				out.format("%4d | ", countSmall);
-				
-				/* The number of free cells of this sizeclass */
-				long freeCellCount = 0;
-
-				for (long i = 0; i < MM_RegionPoolSegregated.NUM_DEFRAG_BUCKETS; i++) {
-					long count = 0;
-					MM_LockingHeapRegionQueuePointer heapRegionList = MM_LockingHeapRegionQueuePointer.cast(regionPool._smallAvailableRegionsEA().add(arrayOffset).at(0));
-					for (long j = 0; j < regionPool._splitAvailableListSplitCount().longValue(); j++) {
-						count += getTotalRegions(heapRegionList);
-						freeCellCount += getFreeCellCount(heapRegionList);
-						heapRegionList = heapRegionList.add(1);
-					}
-
-					/* increment to the next list */
-					arrayOffset += 1;
-					countSmall += count;
-					countAvailableSmallTotal += count;
-					
-					/* Print the number of available regions in this defrag bucket */
-					out.format("%4d ", count);
-				}
-
-				countTotal += countSmall;
-				
-				/* Print the total number of regions of this size class, and the number of free cells */
-				out.format("| %5d | %15d |", countSmall, freeCellCount);
-
-				/* Print the percentage of darkmatter in this region */
-				long darkMatterCellCount = regionPool._darkMatterCellCountEA().at(sizeClassIndex).longValue();
-				darkMatterBytesTotal += darkMatterCellCount * cellSize.longValue();
-				out.format("%%%3d | ", countSmall == 0 ? 0 : darkMatterCellCount / (countSmall * cellSize.longValue()));
-				
-				/* Calculate the number of bytes in allocation caches */
-				long allocCacheSize = 0;
-				J9VMThreadPointer mainThread = vm.mainThread();
-
-				if (mainThread.notNull()) {
-					J9VMThreadPointer threadCursor = vm.mainThread();
-
-					do {
-						J9VMGCSegregatedAllocationCacheEntryPointer cache = threadCursor.segregatedAllocationCache();
-						cache = cache.add(sizeClassIndex);
-						allocCacheSize += cache.top().longValue() - cache.current().longValue();
-						threadCursor = threadCursor.linkNext();
-					} while (!threadCursor.eq(mainThread));
+			List<SizeClassStats> sizeClassStats = GCParallelHeapWalker.walk(sizeClassIndexes, new GCParallelHeapWalker.Visitor<Long, SizeClassStats>() {
+				@Override
+				public SizeClassStats visit(Long sizeClassIndex) throws CorruptDataException {
+					return getSizeClassStats(regionPool, sizeClassIndex.longValue());
 				}
-				
-				out.format("%5d\n", allocCacheSize);
-				allocCacheBytesTotal += allocCacheSize;
+			});
+
+			for (SizeClassStats stats : sizeClassStats) {
+				out.append(stats.line);
+				countFullSmallTotal += stats.countFull;
+				countAvailableSmallTotal += stats.countAvailable;
+				countTotal += stats.countFull + stats.countAvailable;
+				darkMatterBytesTotal += stats.darkMatterBytes;
+				allocCacheBytesTotal += stats.allocCacheSize;
 			}
-			
+
 			long regionSize = extensions.heap()._heapRegionManager()._regionSize().longValue();
 			out.format("region size %d\n", regionSize);
 			
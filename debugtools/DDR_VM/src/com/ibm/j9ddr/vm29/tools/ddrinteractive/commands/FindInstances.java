@@ -30,9 +30,10 @@ import com.ibm.j9ddr.tools.ddrinteractive.Table;
 
 import com.ibm.j9ddr.vm29.j9.DataType;
 
+import com.ibm.j9ddr.vm29.j9.gc.GCHeapIndex;
 import com.ibm.j9ddr.vm29.j9.gc.GCHeapRegionDescriptor;
-import com.ibm.j9ddr.vm29.j9.gc.GCHeapRegionIterator;
 import com.ibm.j9ddr.vm29.j9.gc.GCObjectHeapIterator;
+import com.ibm.j9ddr.vm29.j9.gc.GCParallelHeapWalker;
 
 import com.ibm.j9ddr.vm29.j9.walkers.ClassSegmentIterator;
 
@@ -44,7 +45,12 @@ import com.ibm.j9ddr.vm29.pointer.helper.J9ClassHelper;
 import com.ibm.j9ddr.vm29.pointer.helper.J9ObjectHelper;
 import com.ibm.j9ddr.vm29.pointer.helper.J9RASHelper;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class FindInstances extends Command
 {
@@ -120,7 +126,19 @@ public class FindInstances extends Command
 		corruptCount = 0;
 		objectsFound = 0;
 
-		scanHeap();
+		GCHeapIndex index;
+		try {
+			index = GCHeapIndex.load(J9RASHelper.getVM(DataType.getJ9RASPointer()));
+		} catch (CorruptDataException | IOException e) {
+			index = null;
+		}
+
+		if (index != null) {
+			out.println("Using the heap index");
+			scanIndex(index);
+		} else {
+			scanHeap();
+		}
 
 		out.format("Objects found: %d%n", objectsFound);
 		out.format("Corruptions encountered: %d%n", corruptCount);
@@ -129,31 +147,102 @@ public class FindInstances extends Command
 	}
 
 	private void scanHeap() {
+		final J9ClassPointer searchClass = classPointer;
+		List<RegionInstances> results;
+
 		try {
-			GCHeapRegionIterator regions = GCHeapRegionIterator.from();
-			while (regions.hasNext()) {
-				GCHeapRegionDescriptor region = regions.next();
-				scanObjects(region);
-			}
+			results = GCParallelHeapWalker.walkRegions(new GCParallelHeapWalker.Visitor<GCHeapRegionDescriptor, RegionInstances>() {
+				@Override
+				public RegionInstances visit(GCHeapRegionDescriptor region) {
+					RegionInstances instances = new RegionInstances();
+					try {
+						scanObjects(region, searchClass, instances);
+					} catch (CorruptDataException e) {
+						instances.failure = e;
+					}
+					return instances;
+				}
+			});
 		} catch (CorruptDataException e) {
 			e.printStackTrace();
+			return;
+		}
+
+		/* Merge the regions in heap order, stopping where a walk on one thread would have stopped. */
+		for (RegionInstances instances : results) {
+			for (String[] row : instances.rows) {
+				data.row(row);
+			}
+			objectsFound += instances.rows.size();
+			corruptCount += instances.corruptCount;
+			if (instances.failure != null) {
+				instances.failure.printStackTrace();
+				break;
+			}
 		}
+	}
 
+	/* Scan the objects recorded in the heap index, testing each class once. */
+	private void scanIndex(GCHeapIndex index) throws DDRInteractiveCommandException {
+		final J9ClassPointer searchClass = classPointer;
+		final Map<Long, String> matches = new HashMap<>();
+		final String noMatch = new String();
+		final String corrupt = new String();
+
+		try {
+			index.visitObjects(new GCHeapIndex.ObjectVisitor() {
+				@Override
+				public void visit(long objectAddress, long classAddress) {
+					if (classAddress == GCHeapIndex.UNREADABLE_CLASS) {
+						corruptCount += 1;
+						return;
+					}
+					if (classAddress == 0) {
+						return;
+					}
+					Long key = Long.valueOf(classAddress);
+					String javaName = matches.get(key);
+					if (javaName == null) {
+						try {
+							J9ClassPointer objClass = J9ClassPointer.cast(classAddress);
+							javaName = J9ClassHelper.isSameOrSuperClassOf(searchClass, objClass) ? J9ClassHelper.getJavaName(objClass) : noMatch;
+						} catch (CorruptDataException e) {
+							javaName = corrupt;
+						}
+						matches.put(key, javaName);
+					}
+					if (javaName == corrupt) {
+						corruptCount += 1;
+					} else if (javaName != noMatch) {
+						data.row(J9ObjectPointer.cast(objectAddress).getHexAddress(), javaName);
+						objectsFound += 1;
+					}
+				}
+			});
+		} catch (IOException e) {
+			throw new DDRInteractiveCommandException(e);
+		}
 	}
 
-	private void scanObjects(GCHeapRegionDescriptor region) throws CorruptDataException	{
+	private static void scanObjects(GCHeapRegionDescriptor region, J9ClassPointer searchClass, RegionInstances instances) throws CorruptDataException	{
 		GCObjectHeapIterator heapIterator = GCObjectHeapIterator.fromHeapRegionDescriptor(region, true, true);
 		while (heapIterator.hasNext()) {
 			J9ObjectPointer object = heapIterator.next();
 			try {
 				J9ClassPointer objClass = J9ObjectHelper.clazz(object);
-				if (objClass.notNull() && J9ClassHelper.isSameOrSuperClassOf(classPointer, objClass)) {
-					data.row(object.getHexAddress(), J9ClassHelper.getJavaName(objClass));
-					objectsFound += 1;
+				if (objClass.notNull() && J9ClassHelper.isSameOrSuperClassOf(searchClass, objClass)) {
+					instances.rows.add(new String[] { object.getHexAddress(), J9ClassHelper.getJavaName(objClass) });
 				}
 			} catch (CorruptDataException e) {
-				corruptCount += 1;
+				instances.corruptCount += 1;
 			}
 		}
 	}
+
+	/* The instances found in one region of the heap. */
+	private static final class RegionInstances {
+		final List<String[]> rows = new ArrayList<>();
+		long corruptCount;
+		CorruptDataException failure;
+	}
 }
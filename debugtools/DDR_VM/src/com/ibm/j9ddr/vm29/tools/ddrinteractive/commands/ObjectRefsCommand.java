@@ -22,6 +22,8 @@
 package com.ibm.j9ddr.vm29.tools.ddrinteractive.commands;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.ibm.j9ddr.CorruptDataException;
 import com.ibm.j9ddr.tools.ddrinteractive.Command;
@@ -33,10 +35,10 @@ import com.ibm.j9ddr.vm29.j9.LiveSetWalker;
 import com.ibm.j9ddr.vm29.j9.LiveSetWalker.ObjectVisitor;
 import com.ibm.j9ddr.vm29.j9.gc.GCExtensions;
 import com.ibm.j9ddr.vm29.j9.gc.GCHeapRegionDescriptor;
-import com.ibm.j9ddr.vm29.j9.gc.GCHeapRegionIterator;
 import com.ibm.j9ddr.vm29.j9.gc.GCHeapRegionManager;
 import com.ibm.j9ddr.vm29.j9.gc.GCObjectHeapIterator;
 import com.ibm.j9ddr.vm29.j9.gc.GCObjectIterator;
+import com.ibm.j9ddr.vm29.j9.gc.GCParallelHeapWalker;
 import com.ibm.j9ddr.vm29.pointer.VoidPointer;
 import com.ibm.j9ddr.vm29.pointer.generated.J9ClassPointer;
 import com.ibm.j9ddr.vm29.pointer.generated.J9JavaVMPointer;
@@ -112,7 +114,7 @@ public class ObjectRefsCommand extends Command {
 	 * @param out
 	 * @throws CorruptDataException
 	 */
-	private void dumpHeapReferences(J9JavaVMPointer vm, J9ObjectPointer targetObject, PrintStream out) throws CorruptDataException
+	private void dumpHeapReferences(J9JavaVMPointer vm, final J9ObjectPointer targetObject, PrintStream out) throws CorruptDataException
 	{
 		if (GCExtensions.isVLHGC()) {
 			Table table = new Table("On Heap References");
@@ -121,35 +123,17 @@ public class ObjectRefsCommand extends Command {
 			table.row("object (!j9object)", "field (!j9object)"
 					, "!mm_heapregiondescriptorvlhgc" ,"AC (type)");
 
-			/* iterate over all heap regions */
-			GCHeapRegionIterator regionIterator = GCHeapRegionIterator.from();
-			while (regionIterator.hasNext()) {
-				GCHeapRegionDescriptor region = regionIterator.next();
-				if (region.containsObjects()) {
-					MM_HeapRegionDescriptorVLHGCPointer vlhgcRegion = MM_HeapRegionDescriptorVLHGCPointer.cast(region.getHeapRegionDescriptorPointer());
-					MM_AllocationContextTarokPointer currentAllocationContextTarok = vlhgcRegion._allocateData()._owningContext();
-
-					/* iterate over all objects in region */
-					GCObjectHeapIterator heapObjectIterator = region.objectIterator(true, false);
-					while (heapObjectIterator.hasNext()) {
-						J9ObjectPointer currentObject = heapObjectIterator.next();
-
-						/* Iterate over the object's fields and list any that point at @ref targetObject */
-						GCObjectIterator fieldIterator = GCObjectIterator.fromJ9Object(currentObject, false);
-						while (fieldIterator.hasNext()) {
-							J9ObjectPointer currentTargetObject = fieldIterator.next();
-							if (currentTargetObject.eq(targetObject)) {
-								/* found a reference to our targetObject, add it to the table */
-								J9ClassPointer objectClass = J9ObjectHelper.clazz(currentObject);
-								String objectClassString = J9ClassHelper.getJavaName(objectClass);
-
-								table.row(currentObject.getHexAddress() + " //" + objectClassString
-										, currentTargetObject.getHexAddress()
-										, vlhgcRegion.getHexAddress()
-										, currentAllocationContextTarok.getHexAddress() + " (" + currentAllocationContextTarok._allocationContextType() + ")");	
-							}
-						}
-					}					
+			/* iterate over all heap regions, several at a time, and list the references in heap order */
+			List<List<String[]>> regionRows = GCParallelHeapWalker.walkRegions(new GCParallelHeapWalker.Visitor<GCHeapRegionDescriptor, List<String[]>>() {
+				@Override
+				public List<String[]> visit(GCHeapRegionDescriptor region) throws CorruptDataException {
+					return findHeapReferences(region, targetObject);
+				}
+			});
+
+			for (List<String[]> rows : regionRows) {
+				for (String[] row : rows) {
+					table.row(row);
 				}
 			}
 
@@ -157,6 +141,45 @@ public class ObjectRefsCommand extends Command {
 		}
 	}
 	
+	/**
+	 * List the references to an object from the objects of one region.
+	 *
+	 * @return the table rows of the references
+	 */
+	private static List<String[]> findHeapReferences(GCHeapRegionDescriptor region, J9ObjectPointer targetObject) throws CorruptDataException
+	{
+		List<String[]> rows = new ArrayList<>();
+
+		if (region.containsObjects()) {
+			MM_HeapRegionDescriptorVLHGCPointer vlhgcRegion = MM_HeapRegionDescriptorVLHGCPointer.cast(region.getHeapRegionDescriptorPointer());
+			MM_AllocationContextTarokPointer currentAllocationContextTarok = vlhgcRegion._allocateData()._owningContext();
+
+			/* iterate over all objects in region */
+			GCObjectHeapIterator heapObjectIterator = region.objectIterator(true, false);
+			while (heapObjectIterator.hasNext()) {
+				J9ObjectPointer currentObject = heapObjectIterator.next();
+
+				/* Iterate over the object's fields and list any that point at @ref targetObject */
+				GCObjectIterator fieldIterator = GCObjectIterator.fromJ9Object(currentObject, false);
+				while (fieldIterator.hasNext()) {
+					J9ObjectPointer currentTargetObject = fieldIterator.next();
+					if (currentTargetObject.eq(targetObject)) {
+						/* found a reference to our targetObject, add it to the table */
+						J9ClassPointer objectClass = J9ObjectHelper.clazz(currentObject);
+						String objectClassString = J9ClassHelper.getJavaName(objectClass);
+
+						rows.add(new String[] { currentObject.getHexAddress() + " //" + objectClassString
+								, currentTargetObject.getHexAddress()
+								, vlhgcRegion.getHexAddress()
+								, currentAllocationContextTarok.getHexAddress() + " (" + currentAllocationContextTarok._allocationContextType() + ")" });
+					}
+				}
+			}
+		}
+
+		return rows;
+	}
+
 	class LiveReferenceVisitor implements ObjectVisitor {
 		GCHeapRegionManager heapRegionManager;
 		J9ObjectPointer mainObject;
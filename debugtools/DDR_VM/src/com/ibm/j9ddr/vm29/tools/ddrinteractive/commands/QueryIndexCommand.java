@@ -0,0 +1,163 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.vm29.tools.ddrinteractive.commands;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.j9ddr.CorruptDataException;
+import com.ibm.j9ddr.tools.ddrinteractive.Command;
+import com.ibm.j9ddr.tools.ddrinteractive.Context;
+import com.ibm.j9ddr.tools.ddrinteractive.DDRInteractiveCommandException;
+import com.ibm.j9ddr.util.CoreIndex;
+import com.ibm.j9ddr.vm29.j9.DataType;
+import com.ibm.j9ddr.vm29.j9.gc.GCHeapIndex;
+import com.ibm.j9ddr.vm29.pointer.generated.J9JavaVMPointer;
+import com.ibm.j9ddr.vm29.pointer.helper.J9RASHelper;
+
+/**
+ * Manages the on-disk index kept for a core file when the
+ * com.ibm.j9ddr.index.dir system property names a directory.
+ */
+public class QueryIndexCommand extends Command
+{
+	private static final int DEFAULT_HISTOGRAM_SIZE = 20;
+
+	public QueryIndexCommand()
+	{
+		addCommand("queryindex", "[status|build|histogram [count]|clear [all]]", "manage the on-disk index of this core");
+	}
+
+	private static void printUsage(PrintStream out)
+	{
+		out.println("queryindex [status]        - show the index kept for this core");
+		out.println("queryindex build           - walk the heap and index its objects");
+		out.println("queryindex histogram [n]   - show the n classes with the most instances (default " + DEFAULT_HISTOGRAM_SIZE + ")");
+		out.println("queryindex clear [all]     - delete the heap index of this VM, or every section of the index");
+		out.println("The index is kept in the directory named by -D" + CoreIndex.DIRECTORY_PROPERTY);
+	}
+
+	@Override
+	public void run(String command, String[] args, Context context, PrintStream out) throws DDRInteractiveCommandException
+	{
+		String action = (args.length == 0) ? "status" : args[0];
+
+		if ("help".equals(action)) {
+			printUsage(out);
+			return;
+		}
+
+		CoreIndex index = CoreIndex.forProcess(DataType.getProcess());
+		if (index == null) {
+			out.println("No index is kept for this core: set -D" + CoreIndex.DIRECTORY_PROPERTY + " to a writable directory");
+			return;
+		}
+
+		try {
+			J9JavaVMPointer vm = J9RASHelper.getVM(DataType.getJ9RASPointer());
+
+			if ("status".equals(action)) {
+				printStatus(index, vm, out);
+			} else if ("build".equals(action)) {
+				long start = System.nanoTime();
+				GCHeapIndex heapIndex = GCHeapIndex.build(vm);
+				out.format("Indexed %d objects in %d regions in %d ms%n",
+						heapIndex.getObjectCount(), heapIndex.getRegionCount(), (System.nanoTime() - start) / 1000000);
+			} else if ("histogram".equals(action)) {
+				int size = DEFAULT_HISTOGRAM_SIZE;
+				if (args.length > 1) {
+					try {
+						size = Integer.parseInt(args[1]);
+					} catch (NumberFormatException e) {
+						out.println("Invalid count: " + args[1]);
+						return;
+					}
+				}
+				printHistogram(vm, size, out);
+			} else if ("clear".equals(action)) {
+				if ((args.length > 1) && "all".equals(args[1])) {
+					index.delete(Collections.<String>emptyList());
+				} else {
+					GCHeapIndex.delete(vm);
+				}
+				out.println("Index cleared");
+			} else {
+				printUsage(out);
+			}
+		} catch (CorruptDataException | IOException e) {
+			throw new DDRInteractiveCommandException(e);
+		}
+	}
+
+	private static void printStatus(CoreIndex index, J9JavaVMPointer vm, PrintStream out) throws CorruptDataException, IOException
+	{
+		out.println("Index directory: " + index.getDirectory());
+		for (String name : index.getSectionNames()) {
+			out.format("  %-40s %12d bytes%n", name, index.getSectionSize(name));
+		}
+
+		GCHeapIndex heapIndex = GCHeapIndex.load(vm);
+		if (heapIndex == null) {
+			out.format("The heap of VM=%s is not indexed%n", Long.toHexString(vm.getAddress()));
+		} else {
+			out.format("The heap of VM=%s is indexed: %d objects in %d regions, %d classes%n",
+					Long.toHexString(vm.getAddress()), heapIndex.getObjectCount(), heapIndex.getRegionCount(), heapIndex.getClassCount());
+		}
+	}
+
+	private static void printHistogram(J9JavaVMPointer vm, int size, PrintStream out) throws CorruptDataException, IOException
+	{
+		GCHeapIndex heapIndex = GCHeapIndex.load(vm);
+		if (heapIndex == null) {
+			out.println("The heap is not indexed: run !queryindex build");
+			return;
+		}
+
+		List<Map.Entry<Long, Long>> counts = new ArrayList<>(heapIndex.getInstanceCounts().entrySet());
+		Collections.sort(counts, new Comparator<Map.Entry<Long, Long>>() {
+			@Override
+			public int compare(Map.Entry<Long, Long> left, Map.Entry<Long, Long> right) {
+				return right.getValue().compareTo(left.getValue());
+			}
+		});
+
+		out.format("%12s  %-18s  %s%n", "Instances", "Class", "Name");
+		for (Map.Entry<Long, Long> entry : counts.subList(0, Math.min(size, counts.size()))) {
+			long classAddress = entry.getKey().longValue();
+			String name;
+			if (classAddress == GCHeapIndex.UNREADABLE_CLASS) {
+				name = "<unreadable class>";
+			} else {
+				name = heapIndex.getClassName(classAddress);
+				if (name == null) {
+					name = "<unknown class>";
+				}
+			}
+			out.format("%12d  0x%016x  %s%n", entry.getValue().longValue(), classAddress, name);
+		}
+	}
+}
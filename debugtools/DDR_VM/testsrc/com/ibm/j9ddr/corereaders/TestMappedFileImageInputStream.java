@@ -0,0 +1,217 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.corereaders;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that MappedFileImageInputStream reads the same data as FileImageInputStream,
+ * using small windows so that reads span windows and windows are evicted.
+ */
+public class TestMappedFileImageInputStream
+{
+	private static final int WINDOW_SIZE = 4096;
+	private static final int MAX_WINDOWS = 3;
+	private static final int FILE_SIZE = (WINDOW_SIZE * 10) + 123;
+
+	private static File file;
+
+	private static byte[] data;
+
+	@BeforeClass
+	public static void createFile() throws IOException
+	{
+		file = File.createTempFile("mapped", ".dat");
+		data = new byte[FILE_SIZE];
+		new Random(42).nextBytes(data);
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(data);
+		}
+	}
+
+	@AfterClass
+	public static void deleteFile()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testRandomReads() throws IOException
+	{
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+			try (ImageInputStream expected = new FileImageInputStream(file);
+					ImageInputStream actual = new MappedFileImageInputStream(file, WINDOW_SIZE, MAX_WINDOWS)) {
+				expected.setByteOrder(order);
+				actual.setByteOrder(order);
+				assertEquals(expected.length(), actual.length());
+				Random random = new Random(7);
+				for (int i = 0; i < 20000; i++) {
+					long position = random.nextInt(FILE_SIZE - 64);
+					expected.seek(position);
+					actual.seek(position);
+					switch (random.nextInt(8)) {
+					case 0:
+						assertEquals(expected.read(), actual.read());
+						break;
+					case 1:
+						assertEquals(expected.readShort(), actual.readShort());
+						break;
+					case 2:
+						assertEquals(expected.readInt(), actual.readInt());
+						break;
+					case 3:
+						assertEquals(expected.readLong(), actual.readLong());
+						break;
+					case 4: {
+						byte[] a = new byte[random.nextInt(64)];
+						byte[] b = new byte[a.length];
+						expected.readFully(a);
+						actual.readFully(b);
+						assertArrayEquals(a, b);
+						break;
+					}
+					case 5: {
+						short[] a = new short[random.nextInt(32)];
+						short[] b = new short[a.length];
+						expected.readFully(a, 0, a.length);
+						actual.readFully(b, 0, b.length);
+						assertArrayEquals(a, b);
+						break;
+					}
+					case 6: {
+						int[] a = new int[random.nextInt(16)];
+						int[] b = new int[a.length];
+						expected.readFully(a, 0, a.length);
+						actual.readFully(b, 0, b.length);
+						assertArrayEquals(a, b);
+						break;
+					}
+					default: {
+						long[] a = new long[random.nextInt(8)];
+						long[] b = new long[a.length];
+						expected.readFully(a, 0, a.length);
+						actual.readFully(b, 0, b.length);
+						assertArrayEquals(a, b);
+						break;
+					}
+					}
+					assertEquals(expected.getStreamPosition(), actual.getStreamPosition());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testLargeRead() throws IOException
+	{
+		try (ImageInputStream expected = new FileImageInputStream(file);
+				ImageInputStream actual = new MappedFileImageInputStream(file, WINDOW_SIZE, MAX_WINDOWS)) {
+			byte[] a = new byte[FILE_SIZE - 5];
+			byte[] b = new byte[a.length];
+			expected.seek(5);
+			actual.seek(5);
+			expected.readFully(a);
+			actual.readFully(b);
+			assertArrayEquals(a, b);
+		}
+	}
+
+	@Test
+	public void testEndOfFile() throws IOException
+	{
+		try (ImageInputStream actual = new MappedFileImageInputStream(file, WINDOW_SIZE, MAX_WINDOWS)) {
+			actual.seek(FILE_SIZE - 2);
+			byte[] buffer = new byte[4];
+			assertEquals(2, actual.read(buffer, 0, 4));
+			assertEquals(-1, actual.read());
+			assertEquals(-1, actual.read(buffer, 0, 4));
+			actual.seek(FILE_SIZE - 3);
+			try {
+				actual.readInt();
+				fail("Expected EOFException");
+			} catch (EOFException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentPositionalReads() throws Exception
+	{
+		try (final MappedFileImageInputStream actual = new MappedFileImageInputStream(file, WINDOW_SIZE, MAX_WINDOWS)) {
+			final AtomicReference<Throwable> failure = new AtomicReference<>();
+			Thread[] threads = new Thread[4];
+			for (int t = 0; t < threads.length; t++) {
+				final long seed = t;
+				threads[t] = new Thread() {
+					@Override
+					public void run() {
+						try {
+							Random random = new Random(seed);
+							for (int i = 0; i < 20000; i++) {
+								/* a quarter of the reads span two windows */
+								int length = random.nextInt(((i & 3) == 0) ? (WINDOW_SIZE * 2) : 64);
+								int position = random.nextInt(FILE_SIZE - length);
+								byte[] buffer = new byte[length];
+								actual.readFully(position, buffer, 0, length);
+								assertArrayEquals(Arrays.copyOfRange(data, position, position + length), buffer);
+							}
+						} catch (Throwable e) {
+							failure.compareAndSet(null, e);
+						}
+					}
+				};
+				threads[t].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			if (failure.get() != null) {
+				throw new AssertionError(failure.get());
+			}
+			try {
+				actual.readFully(FILE_SIZE - 3, new byte[4], 0, 4);
+				fail("Expected EOFException");
+			} catch (EOFException e) {
+				// expected
+			}
+		}
+	}
+}
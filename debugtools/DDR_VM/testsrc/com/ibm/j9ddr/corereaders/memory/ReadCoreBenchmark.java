@@ -0,0 +1,119 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.corereaders.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.ibm.j9ddr.corereaders.CoreReader;
+import com.ibm.j9ddr.corereaders.ICore;
+
+/**
+ * Measures the speed of reading memory from a dump, in the patterns used by the
+ * heap walking DDR commands such as !gccheck and !findinstances: a sequential
+ * scan of every range a pointer at a time, and pointer reads at random addresses.
+ *
+ * Run with the path of a core file, and optionally the number of random reads:
+ *
+ *	java com.ibm.j9ddr.corereaders.memory.ReadCoreBenchmark core.dmp 10000000
+ *
+ * To compare with reading the file without memory mappings, run again with
+ * -Dcom.ibm.j9ddr.corereaders.mmap=false.
+ */
+public class ReadCoreBenchmark
+{
+
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length < 1) {
+			System.err.println("Usage: ReadCoreBenchmark <core file> [random reads]");
+			return;
+		}
+
+		int randomReads = (args.length > 1) ? Integer.parseInt(args[1]) : 1000000;
+		long start = System.nanoTime();
+		ICore core = CoreReader.readCoreFile(args[0]);
+		System.out.println("Opened " + args[0] + " in " + ((System.nanoTime() - start) / 1000000) + " ms");
+
+		for (IAddressSpace as : core.getAddressSpaces()) {
+			if (as.getProcesses().isEmpty()) {
+				continue;
+			}
+
+			IProcess process = as.getProcesses().iterator().next();
+			int pointerSize = process.bytesPerPointer();
+			List<IMemoryRange> ranges = new ArrayList<IMemoryRange>();
+			long totalSize = 0;
+
+			for (IMemoryRange range : process.getMemoryRanges()) {
+				if (range.isBacked() && (range.getSize() >= pointerSize)) {
+					ranges.add(range);
+					totalSize += range.getSize();
+				}
+			}
+
+			if (ranges.isEmpty()) {
+				continue;
+			}
+
+			long checksum = 0;
+			long reads = 0;
+			long faults = 0;
+
+			start = System.nanoTime();
+			for (IMemoryRange range : ranges) {
+				long top = range.getBaseAddress() + range.getSize() - pointerSize;
+
+				for (long address = range.getBaseAddress(); address <= top; address += pointerSize) {
+					try {
+						checksum += process.getPointerAt(address);
+					} catch (MemoryFault e) {
+						faults += 1;
+					}
+					reads += 1;
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+			System.out.println("Address space " + as.getAddressSpaceId() + ": sequential scan of " + (totalSize >> 20) + " MB in "
+					+ (elapsed / 1000000) + " ms, " + ((reads == 0) ? 0 : (elapsed / reads)) + " ns per pointer, " + faults + " faults");
+
+			Random random = new Random(1);
+			faults = 0;
+			start = System.nanoTime();
+			for (int i = 0; i < randomReads; i++) {
+				IMemoryRange range = ranges.get(random.nextInt(ranges.size()));
+				long offset = (long) (random.nextDouble() * (range.getSize() - pointerSize)) & ~(pointerSize - 1);
+				try {
+					checksum += process.getPointerAt(range.getBaseAddress() + offset);
+				} catch (MemoryFault e) {
+					faults += 1;
+				}
+			}
+			elapsed = System.nanoTime() - start;
+			System.out.println("Address space " + as.getAddressSpaceId() + ": " + randomReads + " random pointer reads in "
+					+ (elapsed / 1000000) + " ms, " + ((randomReads == 0) ? 0 : (elapsed / randomReads)) + " ns per pointer, "
+					+ faults + " faults (checksum " + Long.toHexString(checksum) + ")");
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.j9ddr.vm29.j9.gc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.j9ddr.CorruptDataException;
+
+/**
+ * Checks that a walk on several threads answers the same results, and fails in the
+ * same way, as a walk on the calling thread.
+ */
+public class TestGCParallelHeapWalker
+{
+	private static final int[] THREADS = { 1, 2, 3, 8 };
+
+	private String savedThreads;
+
+	@Before
+	public void saveThreads()
+	{
+		savedThreads = System.getProperty(GCParallelHeapWalker.THREADS_PROPERTY);
+	}
+
+	@After
+	public void restoreThreads()
+	{
+		if (savedThreads == null) {
+			System.clearProperty(GCParallelHeapWalker.THREADS_PROPERTY);
+		} else {
+			System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, savedThreads);
+		}
+	}
+
+	private static void setThreads(int threads)
+	{
+		System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, Integer.toString(threads));
+	}
+
+	private static List<Integer> items(int count)
+	{
+		List<Integer> items = new ArrayList<Integer>(count);
+		for (int i = 0; i < count; i++) {
+			items.add(Integer.valueOf(i));
+		}
+		return items;
+	}
+
+	@Test
+	public void testParallelism()
+	{
+		setThreads(3);
+		assertEquals(3, GCParallelHeapWalker.getParallelism());
+		setThreads(0);
+		assertEquals(1, GCParallelHeapWalker.getParallelism());
+		System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, " 5 ");
+		assertEquals(5, GCParallelHeapWalker.getParallelism());
+		System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, "many");
+		assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors()), GCParallelHeapWalker.getParallelism());
+		System.clearProperty(GCParallelHeapWalker.THREADS_PROPERTY);
+		assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors()), GCParallelHeapWalker.getParallelism());
+	}
+
+	@Test
+	public void testResultsInItemOrder() throws CorruptDataException
+	{
+		List<Integer> items = items(1000);
+		List<String> expected = new ArrayList<String>();
+		for (Integer item : items) {
+			expected.add("item " + item);
+		}
+		for (int threads : THREADS) {
+			setThreads(threads);
+			List<String> results = GCParallelHeapWalker.walk(items, new GCParallelHeapWalker.Visitor<Integer, String>() {
+				@Override
+				public String visit(Integer item)
+				{
+					/* uneven work, so that later items often finish first */
+					if ((item.intValue() % 7) == 0) {
+						Thread.yield();
+					}
+					return "item " + item;
+				}
+			});
+			assertEquals("threads=" + threads, expected, results);
+		}
+	}
+
+	@Test
+	public void testEmptyAndSingleItem() throws CorruptDataException
+	{
+		GCParallelHeapWalker.Visitor<Integer, Integer> twice = new GCParallelHeapWalker.Visitor<Integer, Integer>() {
+			@Override
+			public Integer visit(Integer item)
+			{
+				return Integer.valueOf(item.intValue() * 2);
+			}
+		};
+		setThreads(8);
+		assertEquals(Collections.emptyList(), GCParallelHeapWalker.walk(items(0), twice));
+		assertEquals(Collections.singletonList(Integer.valueOf(0)), GCParallelHeapWalker.walk(items(1), twice));
+	}
+
+	@Test
+	public void testSerialWalkOnCallingThread() throws CorruptDataException
+	{
+		final Thread caller = Thread.currentThread();
+		final Set<Thread> visitors = Collections.synchronizedSet(new HashSet<Thread>());
+		setThreads(1);
+		GCParallelHeapWalker.walk(items(50), new GCParallelHeapWalker.Visitor<Integer, Integer>() {
+			@Override
+			public Integer visit(Integer item)
+			{
+				visitors.add(Thread.currentThread());
+				return item;
+			}
+		});
+		assertEquals(Collections.singleton(caller), visitors);
+	}
+
+	@Test
+	public void testParallelWalkUsesThreads() throws CorruptDataException
+	{
+		/* each visit waits for the others, so the walk only completes if all four run at once */
+		final CountDownLatch running = new CountDownLatch(4);
+		setThreads(4);
+		List<Boolean> results = GCParallelHeapWalker.walk(items(4), new GCParallelHeapWalker.Visitor<Integer, Boolean>() {
+			@Override
+			public Boolean visit(Integer item)
+			{
+				running.countDown();
+				try {
+					return Boolean.valueOf(running.await(60, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return Boolean.FALSE;
+				}
+			}
+		});
+		for (Boolean result : results) {
+			assertTrue("the items were not visited at the same time", result.booleanValue());
+		}
+	}
+
+	@Test
+	public void testEarliestFailureReported()
+	{
+		for (int threads : THREADS) {
+			setThreads(threads);
+			final CountDownLatch laterFailed = new CountDownLatch(1);
+			try {
+				GCParallelHeapWalker.walk(items(100), new GCParallelHeapWalker.Visitor<Integer, Integer>() {
+					@Override
+					public Integer visit(Integer item) throws CorruptDataException
+					{
+						int value = item.intValue();
+						if (value == 70) {
+							laterFailed.countDown();
+							throw new CorruptDataException("item 70");
+						}
+						if (value == 30) {
+							/* on several threads, let the later item fail first */
+							try {
+								laterFailed.await(100, TimeUnit.MILLISECONDS);
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							throw new CorruptDataException("item 30");
+						}
+						return item;
+					}
+				});
+				fail("threads=" + threads + ": no exception");
+			} catch (CorruptDataException e) {
+				assertEquals("threads=" + threads, "item 30", e.getMessage());
+			}
+		}
+	}
+}
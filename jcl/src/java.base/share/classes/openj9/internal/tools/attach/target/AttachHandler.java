@@ -31,6 +31,9 @@ import com.ibm.oti.vm.VM;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+import java.nio.channels.SocketChannel;
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
@@ -259,6 +262,9 @@ public class AttachHandler extends Thread {
 				}
 			}
 			waiter.start();
+			/*[IF JAVA_SPEC_VERSION >= 17]*/
+			AttachSocket.startListener(getVmId());
+			/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 		} catch (OutOfMemoryError e) {
 			/* avoid anything which might allocate more memory, but indicate that the attach API is not viable */
 			setAttachState(AttachStateValues.ATTACH_TERMINATED);
@@ -485,6 +491,10 @@ public class AttachHandler extends Thread {
 			fileAccessTimeUpdaterThread.interrupt();
 		}
 		currentAttachThread.interrupt();
+		/*[IF JAVA_SPEC_VERSION >= 17]*/
+		/* remove the socket before the target directory */
+		AttachSocket.shutDown();
+		/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 		if (wakeHandler) {
 			if (LOGGING_DISABLED != loggingStatus) {
 				IPC.logMessage("AttachHandler terminate removing contents of directory : ", TargetDirectory.getTargetDirectoryPath(getVmId())); //$NON-NLS-1$
@@ -818,6 +828,18 @@ public class AttachHandler extends Thread {
 		}
 	}
 
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+	/**
+	 * Start an attachment for a connection accepted on the attach socket.
+	 * @param channel connection from the attacher
+	 */
+	void attachOverSocket(SocketChannel channel) {
+		Attachment at = new Attachment(this, channel);
+		addAttachment(at);
+		at.start();
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
+
 	/**
 	 * the attachment calls this to remove itself from the list
 	 * @param attachment Attachment object to remove
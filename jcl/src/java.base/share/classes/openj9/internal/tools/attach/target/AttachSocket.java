@@ -0,0 +1,247 @@
+/*[INCLUDE-IF JAVA_SPEC_VERSION >= 17]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package openj9.internal.tools.attach.target;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Attach transport over a Unix domain socket in the target directory of each VM.
+ * <p>
+ * The target VM blocks in accept() on its socket, so an attacher reaches it directly instead of
+ * posting to the semaphore shared by all the VMs using the common directory, and without the delays
+ * the semaphore protocol needs to avoid starving other VMs. The attacher proves that it is entitled
+ * to attach by creating a key file, accessible only by the user of the target, in the target directory
+ * and sending the key over the socket. The target replies with the same CONNECTED message as on the
+ * TCP connection used by the semaphore protocol, which remains the fallback if the socket cannot be used.
+ * </p>
+ */
+public final class AttachSocket extends Thread {
+
+	static final String SOCKET_FILENAME = "attachSocket"; //$NON-NLS-1$
+	private static final String KEY_FILE_PREFIX = "attachKey."; //$NON-NLS-1$
+	private static final int CONNECT_MESSAGE_LENGTH_LIMIT = 4000;
+
+	private static AttachSocket listener;
+
+	private final ServerSocketChannel server;
+	private final Path socketPath;
+
+	private AttachSocket(ServerSocketChannel server, Path socketPath) {
+		super("Attach API socket listener"); //$NON-NLS-1$
+		this.server = server;
+		this.socketPath = socketPath;
+		setDaemon(true);
+	}
+
+	private static Path getSocketPath(String vmId) {
+		return Paths.get(TargetDirectory.getTargetDirectoryPath(vmId), SOCKET_FILENAME);
+	}
+
+	private static File getKeyFile(String vmId, String key) {
+		return new File(TargetDirectory.getTargetDirectoryPath(vmId), KEY_FILE_PREFIX + key);
+	}
+
+	/**
+	 * Start accepting attach requests on the socket of this VM. If the socket cannot be created,
+	 * attachers use the semaphore protocol.
+	 *
+	 * @param vmId ID of this VM
+	 */
+	static void startListener(String vmId) {
+		Path socketPath = getSocketPath(vmId);
+		ServerSocketChannel server = null;
+		try {
+			/* a stale socket may have been left by a VM which had the same ID */
+			Files.deleteIfExists(socketPath);
+			server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			server.bind(UnixDomainSocketAddress.of(socketPath));
+			IPC.chmod(socketPath.toString(), TargetDirectory.ADVERTISEMENT_FILE_PERMISSIONS);
+			AttachSocket newListener = new AttachSocket(server, socketPath);
+			synchronized (AttachHandler.stateSync) {
+				if (AttachHandler.isAttachApiTerminated()) {
+					newListener.close();
+					return;
+				}
+				listener = newListener;
+			}
+			newListener.start();
+			IPC.logMessage("AttachSocket listening on ", socketPath.toString()); //$NON-NLS-1$
+		} catch (IOException | UnsupportedOperationException e) {
+			IPC.logMessage("AttachSocket cannot listen on " + socketPath + ": ", e.toString()); //$NON-NLS-1$ //$NON-NLS-2$
+			if (null != server) {
+				try {
+					server.close();
+					Files.deleteIfExists(socketPath);
+				} catch (IOException e1) {
+					/* ignore */
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stop accepting attach requests and remove the socket.
+	 */
+	static void shutDown() {
+		AttachSocket oldListener;
+		synchronized (AttachHandler.stateSync) {
+			oldListener = listener;
+			listener = null;
+		}
+		if (null != oldListener) {
+			oldListener.close();
+		}
+	}
+
+	private void close() {
+		try {
+			server.close(); /* wakes up the listener thread */
+			Files.deleteIfExists(socketPath);
+		} catch (IOException e) {
+			IPC.logMessage("AttachSocket close: ", e.toString()); //$NON-NLS-1$
+		}
+	}
+
+	@Override
+	public void run() {
+		com.ibm.oti.vm.VM.markCurrentThreadAsSystem();
+
+		while (!AttachHandler.isAttachApiTerminated()) {
+			SocketChannel channel;
+			try {
+				channel = server.accept();
+			} catch (ClosedChannelException e) {
+				break;
+			} catch (IOException e) {
+				IPC.logMessage("AttachSocket accept: ", e.toString()); //$NON-NLS-1$
+				break;
+			}
+			/* the connection is authenticated on the attachment thread so that a silent peer cannot block this one */
+			AttachHandler.mainHandler.attachOverSocket(channel);
+		}
+		IPC.logMessage("AttachSocket listener exiting"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Read the connect request sent by the attacher and check its key. This is called by the target.
+	 *
+	 * @param channel input stream of the connection
+	 * @return the key, or null if the attacher is not entitled to attach
+	 * @throws IOException if the request cannot be read or the key file has the wrong ownership or permissions
+	 */
+	static String receiveKey(InputStream channel) throws IOException {
+		String request = AttachmentConnection.streamReceiveString(channel, CONNECT_MESSAGE_LENGTH_LIMIT);
+		if ((null == request) || !request.startsWith(Command.CONNECT + ' ')) {
+			IPC.logMessage("AttachSocket invalid connect request ", request); //$NON-NLS-1$
+			return null;
+		}
+		String key = request.substring(Command.CONNECT.length() + 1).trim();
+		/* keys are created by IPC.getRandomString() */
+		if (key.isEmpty() || !key.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+			IPC.logMessage("AttachSocket invalid key ", key); //$NON-NLS-1$
+			return null;
+		}
+		File keyFile = getKeyFile(AttachHandler.getVmId(), key);
+		if (!keyFile.isFile()) {
+			IPC.logMessage("AttachSocket no key file ", keyFile.getAbsolutePath()); //$NON-NLS-1$
+			return null;
+		}
+		IPC.checkOwnerAccessOnly(keyFile.getAbsolutePath());
+		return key;
+	}
+
+	/**
+	 * Answer whether a target VM accepts attach requests on a socket.
+	 *
+	 * @param targetVmId ID of the target VM
+	 * @return true if the socket of the target exists
+	 */
+	public static boolean isListening(String targetVmId) {
+		return Files.exists(getSocketPath(targetVmId));
+	}
+
+	/**
+	 * Connect to a target VM and wait for its reply. This is called by the attacher, which must call
+	 * {@link #deleteKeyFile(String, String)} once it has received the reply.
+	 *
+	 * @param targetVmId ID of the target VM
+	 * @param targetUid user identity of the target. The key file is chowned to this UID if this process is running as root.
+	 * @param key security key to validate the transaction
+	 * @param timeout maximum time in milliseconds to wait for the reply
+	 * @return the connection, with the reply of the target ready to be read
+	 * @throws IOException if the target cannot be reached or does not reply in time
+	 */
+	public static SocketChannel connect(String targetVmId, long targetUid, String key, long timeout) throws IOException {
+		File keyFile = getKeyFile(targetVmId, key);
+		IPC.createNewFileWithPermissions(keyFile, TargetDirectory.ADVERTISEMENT_FILE_PERMISSIONS);
+		if ((Reply.ROOT_UID == IPC.getUid()) && (Reply.ROOT_UID != targetUid)) {
+			IPC.chownFileToTargetUid(keyFile.getAbsolutePath(), targetUid);
+		}
+		SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(getSocketPath(targetVmId)));
+		try {
+			AttachmentConnection.streamSend(Channels.newOutputStream(channel), Command.CONNECT + ' ' + key + ' ');
+			channel.configureBlocking(false);
+			int ready;
+			try (Selector selector = Selector.open()) {
+				channel.register(selector, SelectionKey.OP_READ);
+				ready = selector.select(timeout);
+			}
+			/* closing the selector deregistered the channel */
+			channel.configureBlocking(true);
+			if (0 == ready) {
+				/*[MSG "K080B", "No reply from {0} on socket {1}"]*/
+				throw new IOException(com.ibm.oti.util.Msg.getString("K080B", targetVmId, SOCKET_FILENAME)); //$NON-NLS-1$
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		return channel;
+	}
+
+	/**
+	 * Remove the key file created by {@link #connect(String, long, String, long)}.
+	 *
+	 * @param targetVmId ID of the target VM
+	 * @param key security key of the transaction
+	 */
+	public static void deleteKeyFile(String targetVmId, String key) {
+		File keyFile = getKeyFile(targetVmId, key);
+		if (keyFile.exists() && !keyFile.delete()) {
+			IPC.logMessage("AttachSocket could not delete ", keyFile.getAbsolutePath()); //$NON-NLS-1$
+		}
+	}
+}
@@ -33,6 +33,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.Socket;
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 /*[IF JAVA_SPEC_VERSION < 24]*/
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -64,6 +68,9 @@ final class Attachment extends Thread implements Response {
 	private Exception lastError;
 	private OutputStream responseStream;
 	private Socket attacherSocket;
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+	private SocketChannel attacherChannel;
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 	private final int portNumber;
 	private InputStream commandStream;
 	private String attachError;
@@ -143,6 +150,50 @@ final class Attachment extends Thread implements Response {
 		setDaemon(true);
 	}
 
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+	/**
+	 * @param attachHandler main handler object for this VM
+	 * @param channel       connection accepted on the attach socket of this VM
+	 */
+	Attachment(AttachHandler attachHandler, SocketChannel channel) {
+		super("Attachment socket"); //$NON-NLS-1$
+		this.portNumber = -1;
+		this.key = null;
+		this.handler = attachHandler;
+		this.attacherChannel = channel;
+		setDaemon(true);
+	}
+
+	/**
+	 * Validate the connect request received on the attach socket and acknowledge it.
+	 *
+	 * @param channel
+	 *            connection accepted from the attacher
+	 * @return true if the attacher is entitled to attach
+	 */
+	boolean connectToAttacher(SocketChannel channel) {
+		try {
+			commandStream = Channels.newInputStream(channel);
+			responseStream = Channels.newOutputStream(channel);
+			String attacherKey = AttachSocket.receiveKey(commandStream);
+			if (null != attacherKey) {
+				AttachmentConnection.streamSend(responseStream, Response.CONNECTED + ' ' + attacherKey + ' ');
+				return true;
+			}
+		} catch (IOException e) {
+			IPC.logMessage("connectToAttacher exception " + e.getMessage() + " " + e.toString()); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (Exception otherException) {
+			IPC.logMessage("connectToAttacher exception ", otherException.toString()); //$NON-NLS-1$
+		}
+		closeQuietly(responseStream);
+		closeQuietly(commandStream);
+		closeQuietly(channel);
+		responseStream = null;
+		commandStream = null;
+		return false;
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
+
 	/**
 	 * Create an attachment with a socket connection to the attacher
 	 *
@@ -184,7 +235,14 @@ final class Attachment extends Thread implements Response {
 	public void run() {
 		boolean terminate = false;
 		IPC.logMessage("Attachment run"); //$NON-NLS-1$
-		connectToAttacher(getPortNumber());
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+		if (null != attacherChannel) {
+			connectToAttacher(attacherChannel);
+		} else
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
+		{
+			connectToAttacher(getPortNumber());
+		}
 		while (!terminate && !isInterrupted()) {
 			terminate = doCommand(commandStream, responseStream);
 		}
@@ -322,6 +380,11 @@ final class Attachment extends Thread implements Response {
 			if (null != attacherSocket) {
 				attacherSocket.close();
 			}
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+			if (null != attacherChannel) {
+				attacherChannel.close();
+			}
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 			if (null != commandStream) {
 				commandStream.close();
 			}
@@ -50,6 +50,11 @@ public interface Command {
 	 */
 	static final String DETACH = "ATTACH_DETACH"; //$NON-NLS-1$
 
+	/**
+	 * Request a connection over the attach socket. - parameters are: the security key
+	 */
+	static final String CONNECT = "ATTACH_CONNECT"; //$NON-NLS-1$
+
 	static final String GET_SYSTEM_PROPERTIES = "ATTACH_GETSYSTEMPROPERTIES"; //$NON-NLS-1$
 	static final String GET_AGENT_PROPERTIES = "ATTACH_GETAGENTPROPERTIES"; //$NON-NLS-1$
 	static final String START_MANAGEMENT_AGENT = "ATTACH_START_MANAGEMENT_AGENT"; //$NON-NLS-1$
@@ -178,6 +178,12 @@ public class DiagnosticUtils {
 	// load JVMTI agent
 	private static final String DIAGNOSTICS_LOAD_JVMTI_AGENT = "JVMTI.agent_load";
 
+	/**
+	 * Write the interpreter profiling data of the JIT to a profile file
+	 */
+	private static final String DIAGNOSTICS_COMPILER_PROFILE_STORE = "Compiler.profile_store";
+	private static final String JIT_COMMAND_STORE_PROFILE = "storeProfile";
+
 	/**
 	 * Key for the command sent to executeDiagnosticCommand()
 	 */
@@ -272,6 +278,7 @@ public class DiagnosticUtils {
 
 	private static native String getHeapClassStatisticsImpl();
 	private static native String triggerDumpsImpl(String dumpOptions, String event) throws InvalidDumpOptionExceptionBase;
+	private static native int jitCommandImpl(String command);
 
 	/**
 	 * Run a diagnostic command and return the result in a properties file
@@ -630,6 +637,25 @@ public class DiagnosticUtils {
 		return result;
 	}
 
+	private static DiagnosticProperties storeCompilerProfile(String diagnosticCommand) {
+		DiagnosticProperties result;
+		String[] parts = diagnosticCommand.split(DIAGNOSTICS_OPTION_SEPARATOR);
+		// parts[0] is already verified as DIAGNOSTICS_COMPILER_PROFILE_STORE since we are here
+		if (parts.length > 2) {
+			result = DiagnosticProperties.makeErrorProperties("Command not recognized due to more than 2 arguments: " + diagnosticCommand);
+		} else {
+			String command = (parts.length == 2)
+					? JIT_COMMAND_STORE_PROFILE + DIAGNOSTICS_PROPERTY_SEPARATOR + parts[1]
+					: JIT_COMMAND_STORE_PROFILE;
+			if (0 == jitCommandImpl(command)) {
+				result = DiagnosticProperties.makeStringResult(DIAGNOSTICS_COMPILER_PROFILE_STORE + " succeeded");
+			} else {
+				result = DiagnosticProperties.makeStatusProperties(true, DIAGNOSTICS_COMPILER_PROFILE_STORE + " failed");
+			}
+		}
+		return result;
+	}
+
 	private static DiagnosticProperties doHelp(String diagnosticCommand) {
 		String[] parts = diagnosticCommand.split(DIAGNOSTICS_OPTION_SEPARATOR);
 		/* print a list of the available commands */
@@ -774,6 +800,11 @@ public class DiagnosticUtils {
 			+ "          agentLibrary: the absolute path of the agent%n"
 			+ "          agent option: (Optional) the agent option string%n";
 
+	private static final String DIAGNOSTICS_COMPILER_PROFILE_STORE_HELP = "Write the interpreter profiling data of the JIT to a profile file.%n"
+			+ FORMAT_PREFIX + DIAGNOSTICS_COMPILER_PROFILE_STORE + " [<file>]%n"
+			+ "          file: (Optional) the profile file, by default the file given by -Xjit:iprofilerProfileStoreFile=<file>%n"
+			+ "NOTE: this utility might significantly affect the performance of the target VM.%n";
+
 /*[IF CRAC_SUPPORT]*/
 	private static final String DIAGNOSTICS_JDK_CHECKPOINT_HELP = "Produce a JVM checkpoint via CRIUSupport.%n"
 			+ FORMAT_PREFIX + DIAGNOSTICS_JDK_CHECKPOINT + "%n"
@@ -840,6 +871,9 @@ public class DiagnosticUtils {
 		commandTable.put(DIAGNOSTICS_LOAD_JVMTI_AGENT, DiagnosticUtils::loadJVMTIAgent);
 		helpTable.put(DIAGNOSTICS_LOAD_JVMTI_AGENT, DIAGNOSTICS_LOAD_JVMTI_AGENT_HELP);
 
+		commandTable.put(DIAGNOSTICS_COMPILER_PROFILE_STORE, DiagnosticUtils::storeCompilerProfile);
+		helpTable.put(DIAGNOSTICS_COMPILER_PROFILE_STORE, DIAGNOSTICS_COMPILER_PROFILE_STORE_HELP);
+
 /*[IF CRAC_SUPPORT]*/
 		if (InternalCRIUSupport.isCRaCSupportEnabled()) {
 			commandTable.put(DIAGNOSTICS_JDK_CHECKPOINT, DiagnosticUtils::doCRaCCheckpointJVM);
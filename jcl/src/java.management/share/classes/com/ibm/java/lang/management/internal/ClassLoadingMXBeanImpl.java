@@ -67,6 +67,10 @@ public final class ClassLoadingMXBeanImpl implements ClassLoadingMXBean {
 	 */
 	@Override
 	public int getLoadedClassCount() {
+		long[] sample = ManagementSampler.getLatest();
+		if (sample != null) {
+			return (int)(sample[ManagementSampler.RECORD_CLASS_LOADS] - sample[ManagementSampler.RECORD_CLASS_UNLOADS]);
+		}
 		return (int)ClassLoaderInfoBaseImpl.getLoadedClassCountImpl();
 	}
 
@@ -81,6 +85,10 @@ public final class ClassLoadingMXBeanImpl implements ClassLoadingMXBean {
 	 */
 	@Override
 	public long getTotalLoadedClassCount() {
+		long loads = ManagementSampler.getLatest(ManagementSampler.RECORD_CLASS_LOADS);
+		if (loads >= 0) {
+			return loads;
+		}
 		return this.getTotalLoadedClassCountImpl();
 	}
 
@@ -89,6 +97,10 @@ public final class ClassLoadingMXBeanImpl implements ClassLoadingMXBean {
 	 */
 	@Override
 	public long getUnloadedClassCount() {
+		long unloads = ManagementSampler.getLatest(ManagementSampler.RECORD_CLASS_UNLOADS);
+		if (unloads >= 0) {
+			return unloads;
+		}
 		return ClassLoaderInfoBaseImpl.getUnloadedClassCountImpl();
 	}
 
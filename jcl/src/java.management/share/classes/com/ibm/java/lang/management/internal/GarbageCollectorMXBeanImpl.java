@@ -56,6 +56,11 @@ public class GarbageCollectorMXBeanImpl
 	 */
 	private final LazyDelegatingNotifier notifier;
 
+	/**
+	 * The record slot of this collector in the metrics sampler, or -1 if it is not sampled.
+	 */
+	private final int sampleSlot;
+
 	/**
 	 * @param domainName The domain name of this bean
 	 * @param name The name of this collector
@@ -66,6 +71,7 @@ public class GarbageCollectorMXBeanImpl
 		super(domainName, name, id);
 		memoryBean = memBean;
 		notifier = new LazyDelegatingNotifier();
+		sampleSlot = ManagementSampler.getCollectorSlot(name);
 	}
 
 	/**
@@ -80,6 +86,12 @@ public class GarbageCollectorMXBeanImpl
 	 */
 	@Override
 	public final long getCollectionCount() {
+		if (sampleSlot >= 0) {
+			long count = ManagementSampler.getLatest(sampleSlot);
+			if (count >= 0) {
+				return count;
+			}
+		}
 		return this.getCollectionCountImpl(id);
 	}
 
@@ -95,6 +107,12 @@ public class GarbageCollectorMXBeanImpl
 	 */
 	@Override
 	public final long getCollectionTime() {
+		if (sampleSlot >= 0) {
+			long time = ManagementSampler.getLatest(sampleSlot + 1);
+			if (time >= 0) {
+				return time;
+			}
+		}
 		return this.getCollectionTimeImpl(id);
 	}
 
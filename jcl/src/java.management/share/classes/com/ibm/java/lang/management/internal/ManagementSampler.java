@@ -0,0 +1,335 @@
+/*[INCLUDE-IF Sidecar17]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.java.lang.management.internal;
+
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/*[IF JAVA_SPEC_VERSION < 9]*/
+import sun.misc.Unsafe;
+/*[ENDIF] JAVA_SPEC_VERSION < 9 */
+
+/**
+ * Reader for the ring buffer filled by the VM's management metrics sampler thread.
+ * <p>
+ * The sampler is disabled by default. It is started when this class is initialized if
+ * the system property <code>com.ibm.lang.management.sampler.interval</code> is set to
+ * a positive number of milliseconds; <code>com.ibm.lang.management.sampler.capacity</code>
+ * sets the number of samples retained (default 600). While the sampler is running, the
+ * cumulative class, thread and collector counters answered by the MXBeans come from the
+ * latest sample, so they may lag the live values by up to one interval.
+ * </p>
+ * <p>
+ * The buffer is a direct ByteBuffer over native memory owned by the VM; all slots are
+ * native-order longs. The layout constants have to match mgmtinit.h.
+ * </p>
+ */
+public final class ManagementSampler {
+
+	/* header slots */
+	private static final int HEADER_WRITE_COUNT = 0;
+	private static final int HEADER_RECORD_LONGS = 1;
+	private static final int HEADER_CAPACITY = 2;
+	private static final int HEADER_COLLECTOR_COUNT = 3;
+	private static final int HEADER_POOL_COUNT = 4;
+	private static final int HEADER_LONGS = 8;
+
+	/* record slots */
+	private static final int RECORD_SEQUENCE = 0;
+	public static final int RECORD_TIMESTAMP = 1;
+	public static final int RECORD_CLASS_LOADS = 2;
+	public static final int RECORD_CLASS_UNLOADS = 3;
+	public static final int RECORD_LIVE_THREADS = 4;
+	public static final int RECORD_DAEMON_THREADS = 5;
+	public static final int RECORD_PEAK_THREADS = 6;
+	public static final int RECORD_STARTED_THREADS = 7;
+	public static final int RECORD_CPU_APPLICATION = 8;
+	public static final int RECORD_CPU_RESOURCE_MONITOR = 9;
+	public static final int RECORD_CPU_SYSTEM_JVM = 10;
+	public static final int RECORD_CPU_GC = 11;
+	public static final int RECORD_CPU_JIT = 12;
+	public static final int RECORD_FIXED_LONGS = 13;
+	public static final int COLLECTOR_LONGS = 2;
+	public static final int POOL_LONGS = 3;
+
+	private static final int MAX_READ_ATTEMPTS = 4;
+
+	private static final ByteBuffer ring;
+	private static final int recordLongs;
+	private static final int capacity;
+	private static final String[] collectorNames;
+	private static final String[] poolNames;
+
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+	private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+/*[ELSE] JAVA_SPEC_VERSION >= 9
+	private static final Unsafe unsafe = Unsafe.getUnsafe();
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+
+	static {
+		Properties properties = com.ibm.oti.vm.VM.internalGetProperties();
+		long interval = parseLong(properties.getProperty("com.ibm.lang.management.sampler.interval"), 0); //$NON-NLS-1$
+		int requestedCapacity = (int) parseLong(properties.getProperty("com.ibm.lang.management.sampler.capacity"), 600); //$NON-NLS-1$
+		ByteBuffer buffer = null;
+		String[] names = null;
+
+		if ((interval > 0) && (requestedCapacity > 0)) {
+			buffer = startImpl(interval, requestedCapacity);
+			if (buffer != null) {
+				names = getNamesImpl();
+				if (names == null) {
+					buffer = null;
+				}
+			}
+		}
+
+		if (buffer != null) {
+			ring = buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+			recordLongs = (int) ring.getLong(HEADER_RECORD_LONGS * 8);
+			capacity = (int) ring.getLong(HEADER_CAPACITY * 8);
+			int collectors = (int) ring.getLong(HEADER_COLLECTOR_COUNT * 8);
+			int pools = (int) ring.getLong(HEADER_POOL_COUNT * 8);
+			collectorNames = Arrays.copyOfRange(names, 0, collectors);
+			poolNames = Arrays.copyOfRange(names, collectors, collectors + pools);
+		} else {
+			ring = null;
+			recordLongs = 0;
+			capacity = 0;
+			collectorNames = new String[0];
+			poolNames = new String[0];
+		}
+	}
+
+	private ManagementSampler() {
+		super();
+	}
+
+	private static long parseLong(String value, long defaultValue) {
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				if (ManagementUtils.VERBOSE_MODE) {
+					e.printStackTrace();
+				}
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Read a slot with acquire semantics, so that later reads are not reordered before it.
+	 */
+	private static long getLong(int slot) {
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+		return (long) LONG_VIEW.getAcquire(ring, slot * 8);
+/*[ELSE] JAVA_SPEC_VERSION >= 9
+		long value = ring.getLong(slot * 8);
+		unsafe.loadFence();
+		return value;
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+	}
+
+	/**
+	 * Keep the reads of a record from being reordered after the following re-read of its sequence number.
+	 */
+	private static void loadLoadFence() {
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+		VarHandle.loadLoadFence();
+/*[ELSE] JAVA_SPEC_VERSION >= 9
+		unsafe.loadFence();
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+	}
+
+	/**
+	 * Copy one record out of the ring buffer.
+	 *
+	 * @param sequence the 1-based number of the sample to copy
+	 * @param record the destination, recordLongs in length
+	 * @return true if the record was copied and was not overwritten while it was being read
+	 */
+	private static boolean readRecord(long sequence, long[] record) {
+		int base = HEADER_LONGS + (int) ((sequence - 1) % capacity) * recordLongs;
+		if (getLong(base + RECORD_SEQUENCE) != sequence) {
+			return false;
+		}
+		for (int i = 0; i < recordLongs; ++i) {
+			record[i] = getLong(base + i);
+		}
+		loadLoadFence();
+		return getLong(base + RECORD_SEQUENCE) == sequence;
+	}
+
+	/**
+	 * @return true if the sampler thread is running
+	 */
+	public static boolean isEnabled() {
+		return ring != null;
+	}
+
+	/**
+	 * @return the names of the sampled garbage collectors, in record order
+	 */
+	public static String[] getCollectorNames() {
+		return collectorNames.clone();
+	}
+
+	/**
+	 * @return the names of the sampled heap memory pools, in record order
+	 */
+	public static String[] getPoolNames() {
+		return poolNames.clone();
+	}
+
+	/**
+	 * @param name the name of a garbage collector
+	 * @return the record slot of the collection count of the collector;
+	 *         the collection time is in the following slot. Answers -1 if the collector is not sampled.
+	 */
+	public static int getCollectorSlot(String name) {
+		for (int i = 0; i < collectorNames.length; ++i) {
+			if (collectorNames[i].equals(name)) {
+				return RECORD_FIXED_LONGS + (i * COLLECTOR_LONGS);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param name the name of a heap memory pool
+	 * @return the record slot of the used size of the pool; the committed and
+	 *         maximum sizes are in the following slots. Answers -1 if the pool is not sampled.
+	 */
+	public static int getPoolSlot(String name) {
+		for (int i = 0; i < poolNames.length; ++i) {
+			if (poolNames[i].equals(name)) {
+				return RECORD_FIXED_LONGS + (collectorNames.length * COLLECTOR_LONGS) + (i * POOL_LONGS);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return a copy of the most recent complete sample, or null if the sampler is not running or
+	 *         has not completed a sample yet
+	 */
+	public static long[] getLatest() {
+		if (ring != null) {
+			long[] record = new long[recordLongs];
+			for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; ++attempt) {
+				long written = getLong(HEADER_WRITE_COUNT);
+				if (written == 0) {
+					break;
+				}
+				if (readRecord(written, record)) {
+					return record;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Answer a single value from the most recent sample.
+	 *
+	 * @param slot the record slot to read
+	 * @return the value, or -1 if the sampler is not running or has not completed a sample yet
+	 */
+	public static long getLatest(int slot) {
+		if (ring != null) {
+			for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; ++attempt) {
+				long written = getLong(HEADER_WRITE_COUNT);
+				if (written == 0) {
+					break;
+				}
+				int base = HEADER_LONGS + (int) ((written - 1) % capacity) * recordLongs;
+				if (getLong(base + RECORD_SEQUENCE) == written) {
+					long value = getLong(base + slot);
+					loadLoadFence();
+					if (getLong(base + RECORD_SEQUENCE) == written) {
+						return value;
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Answer the samples taken within the given window, oldest first. Samples which were
+	 * overwritten while being copied are skipped.
+	 *
+	 * @param windowMillis the length of the window, ending at the most recent sample
+	 * @return copies of the samples; empty if the sampler is not running
+	 */
+	public static List<long[]> getSamples(long windowMillis) {
+		List<long[]> samples = new ArrayList<>();
+		if (ring != null) {
+			long written = getLong(HEADER_WRITE_COUNT);
+			long oldest = Math.max(1, written - capacity + 1);
+			long cutoff = Long.MIN_VALUE;
+			for (long sequence = written; sequence >= oldest; --sequence) {
+				long[] record = new long[recordLongs];
+				if (!readRecord(sequence, record)) {
+					/* the writer has wrapped around to this slot; everything older is gone too */
+					break;
+				}
+				if (cutoff == Long.MIN_VALUE) {
+					cutoff = record[RECORD_TIMESTAMP] - windowMillis;
+				}
+				if (record[RECORD_TIMESTAMP] < cutoff) {
+					break;
+				}
+				samples.add(record);
+			}
+		}
+		List<long[]> oldestFirst = new ArrayList<>(samples.size());
+		for (int i = samples.size() - 1; i >= 0; --i) {
+			oldestFirst.add(samples.get(i));
+		}
+		return oldestFirst;
+	}
+
+	/**
+	 * Start the sampler thread unless it is already running.
+	 *
+	 * @param intervalMillis the sampling interval
+	 * @param capacity the number of samples to retain
+	 * @return a direct buffer over the ring buffer, or null if the sampler could not be started
+	 */
+	private static native ByteBuffer startImpl(long intervalMillis, int capacity);
+
+	/**
+	 * @return the collector names followed by the heap pool names, or null on failure
+	 */
+	private static native String[] getNamesImpl();
+
+}
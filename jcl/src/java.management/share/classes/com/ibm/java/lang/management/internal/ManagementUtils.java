@@ -657,6 +657,10 @@ public final class ManagementUtils {
 	 */
 	private static final class Component<T extends PlatformManagedObject> {
 
+		private static final String CODE_CACHE_MXBEAN_NAME = "com.ibm.lang.management:type=CodeCache"; //$NON-NLS-1$
+
+		private static final String COMPILATION_QUEUE_MXBEAN_NAME = "com.ibm.lang.management:type=CompilationQueue"; //$NON-NLS-1$
+
 		private static final String GUEST_OPERATING_SYSTEM_MXBEAN_NAME = "com.ibm.virtualization.management:type=GuestOS"; //$NON-NLS-1$
 
 		private static final String HYPERVISOR_MXBEAN_NAME = "com.ibm.virtualization.management:type=Hypervisor"; //$NON-NLS-1$
@@ -699,6 +703,14 @@ public final class ManagementUtils {
 				.validateAndRegister();
 
 			// Register OpenJ9-specific singleton beans for JDK8.
+			create(CODE_CACHE_MXBEAN_NAME, com.ibm.lang.management.internal.CodeCacheMXBeanImpl.getInstance())
+				.addInterface(com.ibm.lang.management.CodeCacheMXBean.class)
+				.validateAndRegister();
+
+			create(COMPILATION_QUEUE_MXBEAN_NAME, com.ibm.lang.management.internal.CompilationQueueMXBeanImpl.getInstance())
+				.addInterface(com.ibm.lang.management.CompilationQueueMXBean.class)
+				.validateAndRegister();
+
 			create(GUEST_OPERATING_SYSTEM_MXBEAN_NAME, com.ibm.virtualization.management.internal.GuestOS.getInstance())
 				.addInterface(com.ibm.virtualization.management.GuestOSMXBean.class)
 				.validateAndRegister();
@@ -176,6 +176,10 @@ public class ThreadMXBeanImpl implements ThreadMXBean {
 	 */
 	@Override
 	public int getDaemonThreadCount() {
+		long count = ManagementSampler.getLatest(ManagementSampler.RECORD_DAEMON_THREADS);
+		if (count >= 0) {
+			return (int) count;
+		}
 		return this.getDaemonThreadCountImpl();
 	}
 
@@ -204,6 +208,10 @@ public class ThreadMXBeanImpl implements ThreadMXBean {
 	 */
 	@Override
 	public int getThreadCount() {
+		long count = ManagementSampler.getLatest(ManagementSampler.RECORD_LIVE_THREADS);
+		if (count >= 0) {
+			return (int) count;
+		}
 		return this.getThreadCountImpl();
 	}
 
@@ -483,6 +491,10 @@ public class ThreadMXBeanImpl implements ThreadMXBean {
 	 */
 	@Override
 	public long getTotalStartedThreadCount() {
+		long count = ManagementSampler.getLatest(ManagementSampler.RECORD_STARTED_THREADS);
+		if (count >= 0) {
+			return count;
+		}
 		return this.getTotalStartedThreadCountImpl();
 	}
 
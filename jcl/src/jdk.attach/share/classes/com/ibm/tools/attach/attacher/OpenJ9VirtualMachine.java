@@ -32,6 +32,10 @@ import java.io.OutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 import java.nio.charset.StandardCharsets;
 /*[IF JAVA_SPEC_VERSION < 24]*/
 import java.security.AccessController;
@@ -45,6 +49,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import openj9.internal.tools.attach.target.AttachHandler;
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+import openj9.internal.tools.attach.target.AttachSocket;
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 import openj9.internal.tools.attach.target.AttachmentConnection;
 import openj9.internal.tools.attach.target.Command;
 import openj9.internal.tools.attach.target.CommonDirectory;
@@ -96,6 +103,9 @@ public final class OpenJ9VirtualMachine extends VirtualMachine implements Respon
 	private FileLock[] targetLocks;
 	private ServerSocket targetServer;
 	private Socket targetSocket;
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+	private SocketChannel targetChannel;
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 
 	static {
 		/*[IF JAVA_SPEC_VERSION >= 24]*/
@@ -164,6 +174,21 @@ public final class OpenJ9VirtualMachine extends VirtualMachine implements Respon
 			/*[MSG "K0531", "target {0} not found"]*/
 			throw new AttachNotSupportedException(getString("K0531", targetId)); //$NON-NLS-1$
 		}
+		/*[IF JAVA_SPEC_VERSION >= 17]*/
+		/*
+		 * The socket streams do not support a read timeout, so use the semaphore protocol
+		 * if a command timeout is set. Self-attach does not use the semaphore in any case.
+		 */
+		if ((0 == COMMAND_TIMEOUT)
+				&& !descriptor.id().equals(AttachHandler.getVmId())
+				&& Boolean.parseBoolean(System.getProperty("com.ibm.tools.attach.socket", "true")) //$NON-NLS-1$ //$NON-NLS-2$
+				&& AttachSocket.isListening(descriptor.id())
+				&& tryAttachTargetSocket()
+		) {
+			IPC.logMessage("OpenJ9VirtualMachine.attachTargetImpl() finished on socket"); //$NON-NLS-1$
+			return;
+		}
+		/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 		AttachNotSupportedException lastException = null;
 		/*[PR CMVC 182802 ]*/
 		int timeout = 100; /* start small in case there is a rogue process which is eating semaphores, grow big in case of system load. */
@@ -232,6 +257,12 @@ public final class OpenJ9VirtualMachine extends VirtualMachine implements Respon
 				targetSocket.close();
 				targetSocket = null;
 			}
+			/*[IF JAVA_SPEC_VERSION >= 17]*/
+			if (null != targetChannel) {
+				targetChannel.close();
+				targetChannel = null;
+			}
+			/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
 			if (null != targetServer) {
 				targetServer.close();
 				targetServer = null;
@@ -555,6 +586,51 @@ public final class OpenJ9VirtualMachine extends VirtualMachine implements Respon
 		}
 	}
 
+/*[IF JAVA_SPEC_VERSION >= 17]*/
+	/**
+	 * Connect to the attach socket of the target. This neither takes the attach lock
+	 * nor posts to the semaphore, so other VMs are not woken up.
+	 *
+	 * @return true if the target accepted the connection, false if the semaphore protocol should be used
+	 */
+	private boolean tryAttachTargetSocket() {
+		String key = IPC.getRandomString();
+		SocketChannel channel = null;
+		try {
+			IPC.logMessage("attachTarget " + targetId + " on socket"); //$NON-NLS-1$ //$NON-NLS-2$
+			channel = AttachSocket.connect(descriptor.id(), descriptor.getUid(), key, MAXIMUM_ATTACH_TIMEOUT);
+			InputStream channelResponseStream = Channels.newInputStream(channel);
+			/*
+			 * Limit data until the target is verified.
+			 */
+			String response = AttachmentConnection.streamReceiveString(channelResponseStream, ATTACH_CONNECTED_MESSAGE_LENGTH_LIMIT);
+			if ((null == response) || !response.contains(' ' + key + ' ')) {
+				IPC.logMessage("attachTarget key error on socket: ", response); //$NON-NLS-1$
+				channel.close();
+				return false;
+			}
+			responseStream = channelResponseStream;
+			commandStream = Channels.newOutputStream(channel);
+			targetChannel = channel;
+			IPC.logMessage("attachTarget connected on socket"); //$NON-NLS-1$
+			targetAttached = true;
+			return true;
+		} catch (IOException | RuntimeException e) {
+			IPC.logMessage("attachTarget socket connection failed: ", e.toString()); //$NON-NLS-1$
+			if (null != channel) {
+				try {
+					channel.close();
+				} catch (IOException e1) {
+					// ignore
+				}
+			}
+			return false;
+		} finally {
+			AttachSocket.deleteKeyFile(descriptor.id(), key);
+		}
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 17 */
+
 	private void unlockAllAttachNotificationSyncFiles() {
 
 		if (null != targetLocks) {
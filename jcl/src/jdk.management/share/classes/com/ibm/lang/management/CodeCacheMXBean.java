@@ -0,0 +1,79 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.lang.management;
+
+import java.lang.management.PlatformManagedObject;
+
+/**
+ * This interface provides the free space of the JIT code caches and the space that
+ * code cache reclamation has returned to them.
+ * <p>
+ * When the bodies of compiled methods are reclaimed, for instance because their classes
+ * are unloaded or redefined, their space is added to the free blocks of the code cache
+ * which holds them. A free block can only be reused by a body that fits in it, so a large
+ * number of free block bytes with a small largest free block indicates that the code
+ * caches are fragmented. Live bodies are never moved, so this fragmentation is only
+ * reduced when adjacent bodies are reclaimed as well.
+ * </p>
+ * <p>
+ * The values are collected one code cache at a time, without stopping the application
+ * or the compilation threads, so they are not an atomic snapshot of all code caches.
+ * </p>
+ * <p>
+ * The bean is only registered when a JIT compiler is enabled; its object name is
+ * <code>com.ibm.lang.management:type=CodeCache</code>.
+ * </p>
+ */
+public interface CodeCacheMXBean extends PlatformManagedObject {
+
+	/**
+	 * @return the number of bytes between the warm and cold allocation pointers of all code caches
+	 */
+	public long getContiguousFreeBytes();
+
+	/**
+	 * @return the number of bytes in the free blocks of all code caches
+	 */
+	public long getFreeBlockBytes();
+
+	/**
+	 * @return the size, in bytes, of the largest free block of any code cache
+	 */
+	public long getLargestFreeBlockBytes();
+
+	/**
+	 * @return the number of free blocks of all code caches
+	 */
+	public long getFreeBlockCount();
+
+	/**
+	 * @return the number of bytes code cache reclamation has returned to the free blocks since the code caches were created
+	 */
+	public long getReclaimedBytes();
+
+	/**
+	 * @return the number of blocks code cache reclamation has returned to the free blocks since the code caches were created
+	 */
+	public long getReclaimedBlockCount();
+
+}
@@ -0,0 +1,71 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.lang.management;
+
+import java.lang.management.PlatformManagedObject;
+
+/**
+ * This interface provides the time that JIT compilation requests wait in the compilation
+ * queues before a compilation thread starts working on them, broken down by the priority
+ * class of the requests.
+ * <p>
+ * The priority classes are, in the order of the values returned by the other methods:
+ * <ol>
+ *     <li>"sync": requests of threads waiting for the compilation to complete.
+ *     <li>"asyncHigh": loads of AOT compiled methods, very hot and scorching recompilations, and promoted requests.
+ *     <li>"asyncNormal": most first time compilations and recompilations.
+ *     <li>"asyncLow": requests of lower priority in the main queue.
+ *     <li>"lowPriorityQueue": requests taken from the low priority queue.
+ *     <li>"jprofilingQueue": requests taken from the JProfiling queue.
+ * </ol>
+ * Times are in microseconds and increase monotonically. A request that is queued again, for instance
+ * after a failed compilation, is counted each time it is taken from a queue.
+ * </p>
+ * <p>
+ * The bean is only registered when a JIT compiler is enabled; its object name is
+ * <code>com.ibm.lang.management:type=CompilationQueue</code>.
+ * </p>
+ */
+public interface CompilationQueueMXBean extends PlatformManagedObject {
+
+	/**
+	 * @return the names of the priority classes
+	 */
+	public String[] getPriorityClasses();
+
+	/**
+	 * @return the total time, in microseconds, the requests of each priority class have waited in the queues
+	 */
+	public long[] getQueueWaitTimes();
+
+	/**
+	 * @return the longest time, in microseconds, a request of each priority class has waited in the queues
+	 */
+	public long[] getMaxQueueWaitTimes();
+
+	/**
+	 * @return the number of requests of each priority class taken from the queues by compilation threads
+	 */
+	public long[] getDequeuedRequestCounts();
+
+}
@@ -0,0 +1,242 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.lang.management;
+
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ibm.java.lang.management.internal.ManagementSampler;
+
+/**
+ * <code>ManagementSample</code> is one sample of the management counters taken by
+ * the VM's metrics sampler thread.
+ * <p>
+ * The sampler is disabled by default. It is enabled by setting the system property
+ * <code>com.ibm.lang.management.sampler.interval</code> to the sampling interval in
+ * milliseconds; <code>com.ibm.lang.management.sampler.capacity</code> sets the number
+ * of samples retained (default 600). Samples are kept in native memory by the VM, so
+ * taking them does not allocate on the Java heap, and reading them does not call into
+ * native code.
+ * </p>
+ * <p>
+ * CPU times are in nanoseconds and are broken down by the thread categories described by
+ * {@link JvmCpuMonitorMXBean}; they are zero where that information is not available.
+ * </p>
+ */
+public final class ManagementSample {
+
+	private final long[] record;
+
+	private ManagementSample(long[] record) {
+		super();
+		this.record = record;
+	}
+
+	/**
+	 * Answers whether the metrics sampler is running.
+	 *
+	 * @return true if the metrics sampler is running
+	 */
+	public static boolean isSamplingEnabled() {
+		return ManagementSampler.isEnabled();
+	}
+
+	/**
+	 * Answers the most recent sample.
+	 *
+	 * @return the most recent sample, or null if the sampler is not running
+	 *         or has not completed a sample yet
+	 */
+	public static ManagementSample getLatest() {
+		long[] record = ManagementSampler.getLatest();
+		return (record != null) ? new ManagementSample(record) : null;
+	}
+
+	/**
+	 * Answers the retained samples taken within the given window, which ends
+	 * at the most recent sample.
+	 *
+	 * @param windowMillis the length of the window in milliseconds
+	 * @return the samples, oldest first; empty if the sampler is not running
+	 * @throws IllegalArgumentException if windowMillis is negative
+	 */
+	public static List<ManagementSample> getSamples(long windowMillis) {
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException();
+		}
+		List<long[]> records = ManagementSampler.getSamples(windowMillis);
+		List<ManagementSample> samples = new ArrayList<>(records.size());
+		for (long[] record : records) {
+			samples.add(new ManagementSample(record));
+		}
+		return Collections.unmodifiableList(samples);
+	}
+
+	/**
+	 * @return the time the sample was taken, in milliseconds since the epoch
+	 */
+	public long getTimestamp() {
+		return record[ManagementSampler.RECORD_TIMESTAMP];
+	}
+
+	/**
+	 * @return the number of classes loaded when the sample was taken
+	 * @see java.lang.management.ClassLoadingMXBean#getLoadedClassCount()
+	 */
+	public long getLoadedClassCount() {
+		return record[ManagementSampler.RECORD_CLASS_LOADS] - record[ManagementSampler.RECORD_CLASS_UNLOADS];
+	}
+
+	/**
+	 * @return the total number of classes loaded since the VM started
+	 * @see java.lang.management.ClassLoadingMXBean#getTotalLoadedClassCount()
+	 */
+	public long getTotalLoadedClassCount() {
+		return record[ManagementSampler.RECORD_CLASS_LOADS];
+	}
+
+	/**
+	 * @return the total number of classes unloaded since the VM started
+	 * @see java.lang.management.ClassLoadingMXBean#getUnloadedClassCount()
+	 */
+	public long getUnloadedClassCount() {
+		return record[ManagementSampler.RECORD_CLASS_UNLOADS];
+	}
+
+	/**
+	 * @return the number of live threads
+	 * @see java.lang.management.ThreadMXBean#getThreadCount()
+	 */
+	public int getThreadCount() {
+		return (int) record[ManagementSampler.RECORD_LIVE_THREADS];
+	}
+
+	/**
+	 * @return the number of live daemon threads
+	 * @see java.lang.management.ThreadMXBean#getDaemonThreadCount()
+	 */
+	public int getDaemonThreadCount() {
+		return (int) record[ManagementSampler.RECORD_DAEMON_THREADS];
+	}
+
+	/**
+	 * @return the peak number of live threads
+	 * @see java.lang.management.ThreadMXBean#getPeakThreadCount()
+	 */
+	public int getPeakThreadCount() {
+		return (int) record[ManagementSampler.RECORD_PEAK_THREADS];
+	}
+
+	/**
+	 * @return the total number of threads started since the VM started
+	 * @see java.lang.management.ThreadMXBean#getTotalStartedThreadCount()
+	 */
+	public long getTotalStartedThreadCount() {
+		return record[ManagementSampler.RECORD_STARTED_THREADS];
+	}
+
+	/**
+	 * @return the CPU time used by application threads
+	 * @see JvmCpuMonitorInfo#getApplicationCpuTime()
+	 */
+	public long getApplicationCpuTime() {
+		return record[ManagementSampler.RECORD_CPU_APPLICATION];
+	}
+
+	/**
+	 * @return the CPU time used by resource monitor threads
+	 * @see JvmCpuMonitorInfo#getResourceMonitorCpuTime()
+	 */
+	public long getResourceMonitorCpuTime() {
+		return record[ManagementSampler.RECORD_CPU_RESOURCE_MONITOR];
+	}
+
+	/**
+	 * @return the CPU time used by JVM system threads
+	 * @see JvmCpuMonitorInfo#getSystemJvmCpuTime()
+	 */
+	public long getSystemJvmCpuTime() {
+		return record[ManagementSampler.RECORD_CPU_SYSTEM_JVM];
+	}
+
+	/**
+	 * @return the CPU time used by garbage collection threads
+	 * @see JvmCpuMonitorInfo#getGcCpuTime()
+	 */
+	public long getGcCpuTime() {
+		return record[ManagementSampler.RECORD_CPU_GC];
+	}
+
+	/**
+	 * @return the CPU time used by JIT compilation threads
+	 * @see JvmCpuMonitorInfo#getJitCpuTime()
+	 */
+	public long getJitCpuTime() {
+		return record[ManagementSampler.RECORD_CPU_JIT];
+	}
+
+	/**
+	 * @return the collection count of each garbage collector, keyed by collector name
+	 * @see java.lang.management.GarbageCollectorMXBean#getCollectionCount()
+	 */
+	public Map<String, Long> getCollectionCounts() {
+		return collectorValues(0);
+	}
+
+	/**
+	 * @return the accumulated collection time in milliseconds of each garbage collector, keyed by collector name
+	 * @see java.lang.management.GarbageCollectorMXBean#getCollectionTime()
+	 */
+	public Map<String, Long> getCollectionTimes() {
+		return collectorValues(1);
+	}
+
+	/**
+	 * Answers the usage of each heap memory pool. The initial size of the pools is
+	 * not sampled and is reported as -1.
+	 *
+	 * @return the usage of each heap memory pool, keyed by pool name
+	 * @see java.lang.management.MemoryPoolMXBean#getUsage()
+	 */
+	public Map<String, MemoryUsage> getHeapPoolUsage() {
+		Map<String, MemoryUsage> usage = new LinkedHashMap<>();
+		for (String name : ManagementSampler.getPoolNames()) {
+			int slot = ManagementSampler.getPoolSlot(name);
+			usage.put(name, new MemoryUsage(-1, record[slot], record[slot + 1], record[slot + 2]));
+		}
+		return Collections.unmodifiableMap(usage);
+	}
+
+	private Map<String, Long> collectorValues(int offset) {
+		Map<String, Long> values = new LinkedHashMap<>();
+		for (String name : ManagementSampler.getCollectorNames()) {
+			values.put(name, Long.valueOf(record[ManagementSampler.getCollectorSlot(name) + offset]));
+		}
+		return Collections.unmodifiableMap(values);
+	}
+
+}
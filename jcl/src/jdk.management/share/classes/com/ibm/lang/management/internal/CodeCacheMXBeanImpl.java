@@ -0,0 +1,142 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.lang.management.internal;
+
+import javax.management.ObjectName;
+
+import com.ibm.java.lang.management.internal.ManagementUtils;
+import com.ibm.lang.management.CodeCacheMXBean;
+
+/**
+ * Runtime type for {@link CodeCacheMXBean}.
+ */
+public final class CodeCacheMXBeanImpl implements CodeCacheMXBean {
+
+	/*
+	 * The indices of the values copied by getFragmentationStatsImpl, in the order used by the JIT.
+	 */
+	private static final int CONTIGUOUS_FREE_BYTES = 0;
+	private static final int FREE_BLOCK_BYTES = 1;
+	private static final int LARGEST_FREE_BLOCK_BYTES = 2;
+	private static final int FREE_BLOCK_COUNT = 3;
+	private static final int RECLAIMED_BYTES = 4;
+	private static final int RECLAIMED_BLOCK_COUNT = 5;
+	private static final int NUM_STATS = 6;
+
+	private static final CodeCacheMXBeanImpl instance = createInstance();
+
+	private ObjectName objectName;
+
+	private static CodeCacheMXBeanImpl createInstance() {
+		return (getFragmentationStatsImpl(new long[0]) >= 0) ? new CodeCacheMXBeanImpl() : null;
+	}
+
+	/**
+	 * Singleton accessor method.
+	 *
+	 * @return the <code>CodeCacheMXBeanImpl</code> singleton, or null if there is no JIT compiler
+	 */
+	public static CodeCacheMXBeanImpl getInstance() {
+		return instance;
+	}
+
+	private CodeCacheMXBeanImpl() {
+		super();
+	}
+
+	/**
+	 * Copies the code cache fragmentation statistics of the JIT. The number of values
+	 * copied is the smallest of the length of the array and of the number of values.
+	 *
+	 * @param stats the statistics, in the order of the indices above
+	 * @return the number of values copied, or -1 if there is no JIT compiler
+	 */
+	private static native int getFragmentationStatsImpl(long[] stats);
+
+	private static long getFragmentationStat(int index) {
+		long[] stats = new long[NUM_STATS];
+
+		getFragmentationStatsImpl(stats);
+		return stats[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getContiguousFreeBytes() {
+		return getFragmentationStat(CONTIGUOUS_FREE_BYTES);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getFreeBlockBytes() {
+		return getFragmentationStat(FREE_BLOCK_BYTES);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getLargestFreeBlockBytes() {
+		return getFragmentationStat(LARGEST_FREE_BLOCK_BYTES);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getFreeBlockCount() {
+		return getFragmentationStat(FREE_BLOCK_COUNT);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getReclaimedBytes() {
+		return getFragmentationStat(RECLAIMED_BYTES);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getReclaimedBlockCount() {
+		return getFragmentationStat(RECLAIMED_BLOCK_COUNT);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ObjectName getObjectName() {
+		if (objectName == null) {
+			objectName = ManagementUtils.createObjectName("com.ibm.lang.management:type=CodeCache"); //$NON-NLS-1$
+		}
+		return objectName;
+	}
+
+}
@@ -0,0 +1,132 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.lang.management.internal;
+
+import javax.management.ObjectName;
+
+import com.ibm.java.lang.management.internal.ManagementUtils;
+import com.ibm.lang.management.CompilationQueueMXBean;
+
+/**
+ * Runtime type for {@link CompilationQueueMXBean}.
+ */
+public final class CompilationQueueMXBeanImpl implements CompilationQueueMXBean {
+
+	/**
+	 * The priority classes, in the order used by the JIT.
+	 */
+	private static final String[] PRIORITY_CLASSES = {
+			"sync", //$NON-NLS-1$
+			"asyncHigh", //$NON-NLS-1$
+			"asyncNormal", //$NON-NLS-1$
+			"asyncLow", //$NON-NLS-1$
+			"lowPriorityQueue", //$NON-NLS-1$
+			"jprofilingQueue" //$NON-NLS-1$
+	};
+
+	private static final CompilationQueueMXBeanImpl instance = createInstance();
+
+	private ObjectName objectName;
+
+	private static CompilationQueueMXBeanImpl createInstance() {
+		long[] none = new long[0];
+
+		return (getQueueWaitStatsImpl(none, none, none) >= 0) ? new CompilationQueueMXBeanImpl() : null;
+	}
+
+	/**
+	 * Singleton accessor method.
+	 *
+	 * @return the <code>CompilationQueueMXBeanImpl</code> singleton, or null if there is no JIT compiler
+	 */
+	public static CompilationQueueMXBeanImpl getInstance() {
+		return instance;
+	}
+
+	private CompilationQueueMXBeanImpl() {
+		super();
+	}
+
+	/**
+	 * Copies the queue wait statistics of the JIT. The number of priority classes
+	 * copied is the smallest of the lengths of the arrays and of the number of classes.
+	 *
+	 * @param waitTimes the total wait times, in microseconds
+	 * @param maxWaitTimes the longest wait times, in microseconds
+	 * @param numRequests the number of requests
+	 * @return the number of priority classes copied, or -1 if there is no JIT compiler
+	 */
+	private static native int getQueueWaitStatsImpl(long[] waitTimes, long[] maxWaitTimes, long[] numRequests);
+
+	private static long[][] getQueueWaitStats() {
+		int numClasses = PRIORITY_CLASSES.length;
+		long[][] stats = new long[3][numClasses];
+
+		getQueueWaitStatsImpl(stats[0], stats[1], stats[2]);
+		return stats;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String[] getPriorityClasses() {
+		return PRIORITY_CLASSES.clone();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long[] getQueueWaitTimes() {
+		return getQueueWaitStats()[0];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long[] getMaxQueueWaitTimes() {
+		return getQueueWaitStats()[1];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long[] getDequeuedRequestCounts() {
+		return getQueueWaitStats()[2];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ObjectName getObjectName() {
+		if (objectName == null) {
+			objectName = ManagementUtils.createObjectName("com.ibm.lang.management:type=CompilationQueue"); //$NON-NLS-1$
+		}
+		return objectName;
+	}
+
+}
@@ -23,6 +23,7 @@
 package com.ibm.lang.management.internal;
 
 import java.lang.management.ThreadInfo;
+import java.util.Arrays;
 
 import com.ibm.java.lang.management.internal.ThreadMXBeanImpl;
 import com.ibm.lang.management.ExtendedThreadInfo;
@@ -69,6 +70,10 @@ public final class ExtendedThreadMXBeanImpl extends ThreadMXBeanImpl implements
 
 	private native static long getThreadAllocatedBytesImpl(long threadID);
 
+	private native static void getThreadsAllocatedBytesImpl(long[] threadIDs, long[] allocatedBytes);
+
+	private native static long getTotalThreadAllocatedBytesImpl();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -90,11 +95,16 @@ public final class ExtendedThreadMXBeanImpl extends ThreadMXBeanImpl implements
 	 */
 	@Override
 	public long[] getThreadAllocatedBytes(long[] threadIds) {
-		int length = threadIds.length;
-		long[] allocatedBytes = new long[length];
+		if (!isThreadAllocatedMemorySupported()) {
+			throw new UnsupportedOperationException();
+		}
+		long[] allocatedBytes = new long[threadIds.length];
 
-		for (int i = 0; i < length; i++) {
-			allocatedBytes[i] = getThreadAllocatedBytes(threadIds[i]);
+		if (isThreadAllocatedMemoryEnabled()) {
+			/* A single native call walks the threads once for all the requested IDs. */
+			getThreadsAllocatedBytesImpl(threadIds, allocatedBytes);
+		} else {
+			Arrays.fill(allocatedBytes, -1);
 		}
 
 		return allocatedBytes;
@@ -113,14 +123,8 @@ public final class ExtendedThreadMXBeanImpl extends ThreadMXBeanImpl implements
 		if (!isThreadAllocatedMemoryEnabled()) {
 			return -1;
 		}
-		long total = 0;
-		long[] allocatedBytes = getThreadAllocatedBytes(getAllThreadIds());
-		for (long threadAllocated : allocatedBytes) {
-			if (threadAllocated != -1) {
-				total += threadAllocated;
-			}
-		}
-		return total;
+		/* Includes threads which have terminated, so the total never decreases. */
+		return getTotalThreadAllocatedBytesImpl();
 	}
 
 	/**
@@ -29,6 +29,8 @@ import java.util.List;
 
 import com.ibm.java.lang.management.internal.ComponentBuilder;
 import com.ibm.java.lang.management.internal.ManagementUtils;
+import com.ibm.lang.management.CodeCacheMXBean;
+import com.ibm.lang.management.CompilationQueueMXBean;
 import com.ibm.lang.management.JvmCpuMonitorMXBean;
 import com.ibm.virtualization.management.internal.GuestOS;
 import com.ibm.virtualization.management.internal.HypervisorMXBeanImpl;
@@ -102,6 +104,14 @@ public final class PlatformMBeanProvider extends sun.management.spi.PlatformMBea
 			.addInterface(JvmCpuMonitorMXBean.class)
 			.register(allComponents);
 
+		ComponentBuilder.create("com.ibm.lang.management:type=CompilationQueue", CompilationQueueMXBeanImpl.getInstance()) //$NON-NLS-1$
+			.addInterface(CompilationQueueMXBean.class)
+			.register(allComponents);
+
+		ComponentBuilder.create("com.ibm.lang.management:type=CodeCache", CodeCacheMXBeanImpl.getInstance()) //$NON-NLS-1$
+			.addInterface(CodeCacheMXBean.class)
+			.register(allComponents);
+
 		/* OpenJ9DiagnosticsMXBeanImpl depends on openj9.jvm. If openj9.jvm is not
 		 * available exclude this component.
 		 */
@@ -0,0 +1,173 @@
+/*[INCLUDE-IF DAA]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dataaccess;
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+
+import sun.nio.ch.DirectBuffer;
+
+/**
+ * Access to decimal data held in a ByteBuffer or a MemorySegment.
+ * <p>
+ * Fields in a buffer backed by an accessible array are handed to the byte array implementations
+ * in place. The Java implementations copy a field of a direct buffer to a byte array of the size of
+ * the field; where the JIT accelerates a conversion it operates on the memory of the direct buffer,
+ * whose address is passed to the recognized method. A MemorySegment is accessed through a buffer
+ * over the field, so that fields of segments larger than 2GB can be addressed.
+ * </p>
+ *
+ * @author IBM
+ * @version $Revision$ on $Date$
+ */
+final class BufferAccess {
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	static final ValueLayout.OfShort SHORT_BIG_ENDIAN = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+	static final ValueLayout.OfShort SHORT_LITTLE_ENDIAN = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	static final ValueLayout.OfInt INT_BIG_ENDIAN = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+	static final ValueLayout.OfInt INT_LITTLE_ENDIAN = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	static final ValueLayout.OfLong LONG_BIG_ENDIAN = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+	static final ValueLayout.OfLong LONG_LITTLE_ENDIAN = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+
+	private BufferAccess() {
+		super();
+	}
+
+	/**
+	 * Checks that a field lies within the limit of a buffer.
+	 *
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            index of the first byte of the field
+	 * @param length
+	 *            number of bytes in the field
+	 * @param method
+	 *            name of the API method, for the exception message
+	 * @throws IndexOutOfBoundsException
+	 *             if a byte of the field is outside the buffer
+	 */
+	static void checkBounds(ByteBuffer buffer, int offset, int length, String method) {
+		if ((offset < 0) || (length < 0) || (offset > (buffer.limit() - length)))
+			throw new IndexOutOfBoundsException("Buffer access index out of bounds. " +
+					method + " is trying to access buffer[" + offset + "] to buffer[" + (offset + length - 1) + "], " +
+					" but valid indices are from 0 to " + (buffer.limit() - 1) + ".");
+	}
+
+	/**
+	 * Checks that a field lies within the limit of a buffer which is to be written.
+	 *
+	 * @throws ReadOnlyBufferException
+	 *             if the buffer is read-only
+	 * @throws IndexOutOfBoundsException
+	 *             if a byte of the field is outside the buffer
+	 * @see #checkBounds(ByteBuffer, int, int, String)
+	 */
+	static void checkWritableBounds(ByteBuffer buffer, int offset, int length, String method) {
+		if (buffer.isReadOnly())
+			throw new ReadOnlyBufferException();
+		checkBounds(buffer, offset, length, method);
+	}
+
+	/**
+	 * @param buffer
+	 *            a buffer
+	 * @return the address of the memory of a direct buffer, or 0 if the buffer is not direct
+	 */
+	static long address(ByteBuffer buffer) {
+		return buffer.isDirect() ? ((DirectBuffer) buffer).address() : 0;
+	}
+
+	/**
+	 * Copies a field out of a buffer. The position of the buffer is not changed.
+	 *
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            index of the first byte of the field
+	 * @param length
+	 *            number of bytes in the field
+	 * @return a new array holding the field
+	 */
+	static byte[] get(ByteBuffer buffer, int offset, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; ++i) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Copies a field into a buffer. The position of the buffer is not changed.
+	 *
+	 * @param buffer
+	 *            the buffer to hold the field
+	 * @param offset
+	 *            index of the first byte of the field
+	 * @param bytes
+	 *            the field
+	 */
+	static void put(ByteBuffer buffer, int offset, byte[] bytes) {
+		for (int i = 0; i < bytes.length; ++i) {
+			buffer.put(offset + i, bytes[i]);
+		}
+	}
+
+	/**
+	 * @param buffer
+	 *            a buffer
+	 * @param bigEndian
+	 *            the byte order of the data
+	 * @return true if values read from the buffer must be byte reversed to be in the order of the data
+	 */
+	static boolean isReversed(ByteBuffer buffer, boolean bigEndian) {
+		return (buffer.order() == ByteOrder.BIG_ENDIAN) != bigEndian;
+	}
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Answers a buffer over a field of a segment, so that the field can be accessed through the
+	 * ByteBuffer methods at index 0.
+	 *
+	 * @param segment
+	 *            the segment holding the field
+	 * @param offset
+	 *            offset of the first byte of the field in the segment
+	 * @param length
+	 *            number of bytes in the field
+	 * @return a buffer of <code>length</code> bytes over the field
+	 * @throws IndexOutOfBoundsException
+	 *             if a byte of the field is outside the segment
+	 */
+	static ByteBuffer slice(MemorySegment segment, long offset, int length) {
+		return segment.asSlice(offset, length).asByteBuffer();
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+}
@@ -23,6 +23,12 @@
 
 package com.ibm.dataaccess;
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
 /**
  * Conversion routines to marshall Java binary types (short, int, long, float,
  * double) to byte arrays.
@@ -579,4 +585,256 @@ public class ByteArrayMarshaller {
 		writeLong(Double.doubleToLongBits(value), byteArray, offset, bigEndian);
 	}
 
+
+	/**
+	 * Copies the short value into two consecutive bytes of the buffer
+	 * starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param value
+	 *            the short value
+	 * @param byteBuffer
+	 *            destination
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 * @throws ReadOnlyBufferException
+	 *             if the buffer is read-only
+	 */
+	public static void writeShort(short value, ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		byteBuffer.putShort(offset, BufferAccess.isReversed(byteBuffer, bigEndian) ? Short.reverseBytes(value) : value);
+	}
+
+	/**
+	 * Copies the int value into four consecutive bytes of the buffer
+	 * starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param value
+	 *            the int value
+	 * @param byteBuffer
+	 *            destination
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 * @throws ReadOnlyBufferException
+	 *             if the buffer is read-only
+	 */
+	public static void writeInt(int value, ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		byteBuffer.putInt(offset, BufferAccess.isReversed(byteBuffer, bigEndian) ? Integer.reverseBytes(value) : value);
+	}
+
+	/**
+	 * Copies the long value into eight consecutive bytes of the buffer
+	 * starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param value
+	 *            the long value
+	 * @param byteBuffer
+	 *            destination
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 * @throws ReadOnlyBufferException
+	 *             if the buffer is read-only
+	 */
+	public static void writeLong(long value, ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		byteBuffer.putLong(offset, BufferAccess.isReversed(byteBuffer, bigEndian) ? Long.reverseBytes(value) : value);
+	}
+
+	/**
+	 * Copies the float value into four consecutive bytes of the buffer
+	 * starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param value
+	 *            the float value
+	 * @param byteBuffer
+	 *            destination
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 * @throws ReadOnlyBufferException
+	 *             if the buffer is read-only
+	 */
+	public static void writeFloat(float value, ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		writeInt(Float.floatToIntBits(value), byteBuffer, offset, bigEndian);
+	}
+
+	/**
+	 * Copies the double value into eight consecutive bytes of the buffer
+	 * starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param value
+	 *            the double value
+	 * @param byteBuffer
+	 *            destination
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 * @throws ReadOnlyBufferException
+	 *             if the buffer is read-only
+	 */
+	public static void writeDouble(double value, ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		writeLong(Double.doubleToLongBits(value), byteBuffer, offset, bigEndian);
+	}
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Copies the short value into two consecutive bytes of the segment
+	 * starting at the offset.
+	 *
+	 * @param value
+	 *            the short value
+	 * @param segment
+	 *            destination
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 * @throws UnsupportedOperationException
+	 *             if the segment is read-only
+	 */
+	public static void writeShort(short value, MemorySegment segment, long offset,
+			boolean bigEndian) {
+		segment.set(bigEndian ? BufferAccess.SHORT_BIG_ENDIAN : BufferAccess.SHORT_LITTLE_ENDIAN, offset, value);
+	}
+
+	/**
+	 * Copies the int value into four consecutive bytes of the segment
+	 * starting at the offset.
+	 *
+	 * @param value
+	 *            the int value
+	 * @param segment
+	 *            destination
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 * @throws UnsupportedOperationException
+	 *             if the segment is read-only
+	 */
+	public static void writeInt(int value, MemorySegment segment, long offset,
+			boolean bigEndian) {
+		segment.set(bigEndian ? BufferAccess.INT_BIG_ENDIAN : BufferAccess.INT_LITTLE_ENDIAN, offset, value);
+	}
+
+	/**
+	 * Copies the long value into eight consecutive bytes of the segment
+	 * starting at the offset.
+	 *
+	 * @param value
+	 *            the long value
+	 * @param segment
+	 *            destination
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 * @throws UnsupportedOperationException
+	 *             if the segment is read-only
+	 */
+	public static void writeLong(long value, MemorySegment segment, long offset,
+			boolean bigEndian) {
+		segment.set(bigEndian ? BufferAccess.LONG_BIG_ENDIAN : BufferAccess.LONG_LITTLE_ENDIAN, offset, value);
+	}
+
+	/**
+	 * Copies the float value into four consecutive bytes of the segment
+	 * starting at the offset.
+	 *
+	 * @param value
+	 *            the float value
+	 * @param segment
+	 *            destination
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 * @throws UnsupportedOperationException
+	 *             if the segment is read-only
+	 */
+	public static void writeFloat(float value, MemorySegment segment, long offset,
+			boolean bigEndian) {
+		writeInt(Float.floatToIntBits(value), segment, offset, bigEndian);
+	}
+
+	/**
+	 * Copies the double value into eight consecutive bytes of the segment
+	 * starting at the offset.
+	 *
+	 * @param value
+	 *            the double value
+	 * @param segment
+	 *            destination
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 * @throws UnsupportedOperationException
+	 *             if the segment is read-only
+	 */
+	public static void writeDouble(double value, MemorySegment segment, long offset,
+			boolean bigEndian) {
+		writeLong(Double.doubleToLongBits(value), segment, offset, bigEndian);
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
 }
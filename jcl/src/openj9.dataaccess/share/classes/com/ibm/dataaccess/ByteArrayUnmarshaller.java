@@ -22,6 +22,11 @@
  */
 package com.ibm.dataaccess;
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+import java.nio.ByteBuffer;
+
 /**
  * Conversion routines to unmarshall Java binary types (short, int, long, float,
  * double) from byte arrays.
@@ -648,4 +653,239 @@ public final class ByteArrayUnmarshaller {
 			boolean bigEndian) {
 		return Double.longBitsToDouble(readLong(byteArray, offset, bigEndian));
 	}
+
+	/**
+	 * Returns a short value copied from two consecutive bytes of the
+	 * buffer starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param byteBuffer
+	 *            source
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @return short
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 */
+	public static short readShort(ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		short value = byteBuffer.getShort(offset);
+		return BufferAccess.isReversed(byteBuffer, bigEndian) ? Short.reverseBytes(value) : value;
+	}
+
+	/**
+	 * Returns an int value copied from four consecutive bytes of the
+	 * buffer starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param byteBuffer
+	 *            source
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @return int
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 */
+	public static int readInt(ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		int value = byteBuffer.getInt(offset);
+		return BufferAccess.isReversed(byteBuffer, bigEndian) ? Integer.reverseBytes(value) : value;
+	}
+
+	/**
+	 * Returns a long value copied from eight consecutive bytes of the
+	 * buffer starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param byteBuffer
+	 *            source
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @return long
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 */
+	public static long readLong(ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		long value = byteBuffer.getLong(offset);
+		return BufferAccess.isReversed(byteBuffer, bigEndian) ? Long.reverseBytes(value) : value;
+	}
+
+	/**
+	 * Returns a float value copied from four consecutive bytes of the
+	 * buffer starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param byteBuffer
+	 *            source
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @return float
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 */
+	public static float readFloat(ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		return Float.intBitsToFloat(readInt(byteBuffer, offset, bigEndian));
+	}
+
+	/**
+	 * Returns a double value copied from eight consecutive bytes of the
+	 * buffer starting at the offset. The position of the buffer is not changed.
+	 *
+	 * @param byteBuffer
+	 *            source
+	 * @param offset
+	 *            index in the buffer
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order, regardless of the order of the buffer
+	 *
+	 * @return double
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie below the limit of the buffer
+	 */
+	public static double readDouble(ByteBuffer byteBuffer, int offset,
+			boolean bigEndian) {
+		return Double.longBitsToDouble(readLong(byteBuffer, offset, bigEndian));
+	}
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Returns a short value copied from two consecutive bytes of the
+	 * segment starting at the offset.
+	 *
+	 * @param segment
+	 *            source
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @return short
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 */
+	public static short readShort(MemorySegment segment, long offset,
+			boolean bigEndian) {
+		return segment.get(bigEndian ? BufferAccess.SHORT_BIG_ENDIAN : BufferAccess.SHORT_LITTLE_ENDIAN, offset);
+	}
+
+	/**
+	 * Returns an int value copied from four consecutive bytes of the
+	 * segment starting at the offset.
+	 *
+	 * @param segment
+	 *            source
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @return int
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 */
+	public static int readInt(MemorySegment segment, long offset,
+			boolean bigEndian) {
+		return segment.get(bigEndian ? BufferAccess.INT_BIG_ENDIAN : BufferAccess.INT_LITTLE_ENDIAN, offset);
+	}
+
+	/**
+	 * Returns a long value copied from eight consecutive bytes of the
+	 * segment starting at the offset.
+	 *
+	 * @param segment
+	 *            source
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @return long
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 */
+	public static long readLong(MemorySegment segment, long offset,
+			boolean bigEndian) {
+		return segment.get(bigEndian ? BufferAccess.LONG_BIG_ENDIAN : BufferAccess.LONG_LITTLE_ENDIAN, offset);
+	}
+
+	/**
+	 * Returns a float value copied from four consecutive bytes of the
+	 * segment starting at the offset.
+	 *
+	 * @param segment
+	 *            source
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @return float
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 */
+	public static float readFloat(MemorySegment segment, long offset,
+			boolean bigEndian) {
+		return Float.intBitsToFloat(readInt(segment, offset, bigEndian));
+	}
+
+	/**
+	 * Returns a double value copied from eight consecutive bytes of the
+	 * segment starting at the offset.
+	 *
+	 * @param segment
+	 *            source
+	 * @param offset
+	 *            offset in the segment
+	 * @param bigEndian
+	 *            if false the bytes will be copied in reverse (little endian)
+	 *            order
+	 *
+	 * @return double
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not lie within the segment
+	 */
+	public static double readDouble(MemorySegment segment, long offset,
+			boolean bigEndian) {
+		return Double.longBitsToDouble(readLong(segment, offset, bigEndian));
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
 }
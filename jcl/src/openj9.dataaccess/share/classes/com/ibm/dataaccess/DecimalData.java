@@ -22,8 +22,13 @@
  */
 package com.ibm.dataaccess;
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 
 import com.ibm.dataaccess.ByteArrayMarshaller;
@@ -45,6 +50,12 @@ import com.ibm.dataaccess.PackedDecimal;
  * </p>
  *
  * <p>
+ * Packed Decimal and External Decimal values can also be converted in place in a ByteBuffer or, from Java 22, a
+ * MemorySegment, for example in a memory-mapped file of records. These conversions do not change the position or
+ * limit of the buffer.
+ * </p>
+ *
+ * <p>
  * For embedded sign nibbles (4 bit integers representing values between <code>0x0</code> and <code>0xF</code>
  * inclusive) in External Decimal or Packed Decimal data, <code>0xB</code> and <code>0xD</code> represent a negative
  * sign. All other sign nibble values represent a positive sign. For operations that produce an External Decimal or
@@ -282,7 +293,7 @@ public final class DecimalData
 		convertIntegerToPackedDecimal_(integerValue, packedDecimal, offset, precision, checkOverflow);
 	}
 
-	private static void convertIntegerToPackedDecimal_(int integerValue,
+	static void convertIntegerToPackedDecimal_(int integerValue,
 			byte[] packedDecimal, int offset, int precision,
 			boolean checkOverflow) {
 		int value;
@@ -581,7 +592,7 @@ public final class DecimalData
 		convertLongToPackedDecimal_(longValue, packedDecimal, offset,  precision, checkOverflow);
 	}
 
-	private static void convertLongToPackedDecimal_(long longValue,
+	static void convertLongToPackedDecimal_(long longValue,
 			byte[] packedDecimal, int offset, int precision,
 			boolean checkOverflow) {
 		long value;
@@ -880,7 +891,7 @@ public final class DecimalData
 		return convertPackedDecimalToInteger_(packedDecimal, offset, precision, checkOverflow);
 	}
 
-	private static int convertPackedDecimalToInteger_(byte[] packedDecimal,
+	static int convertPackedDecimalToInteger_(byte[] packedDecimal,
 			int offset, int precision, boolean checkOverflow) {
 		int bytes = CommonData.getPackedByteCount(precision);
 		int end = offset + bytes - 1;
@@ -915,13 +926,10 @@ public final class DecimalData
 						"Decimal overflow - Packed Decimal too large for an int");
 		}
 
-		// For checkOverflow == true at this point we are guaranteed that precision <= 10. The following loop
+		// For checkOverflow == true at this point we are guaranteed that precision <= 10. The following conversion
 		// will never overflow because the long value can always contain an integer of precision 10.
 
-		for (int pos = offset; pos <= end - 1; ++pos)
-		{
-			value = value * 100 + CommonData.getPackedToBinaryValues(packedDecimal[pos]);
-		}
+		value = PackedDigits.toBinary(packedDecimal, offset, end);
 
 		value = value * 10 + ((packedDecimal[end] & CommonData.HIGHER_NIBBLE_MASK) >> 4);
 
@@ -975,7 +983,7 @@ public final class DecimalData
 		return convertPackedDecimalToLong_(packedDecimal, offset, precision, checkOverflow);
 	}
 
-	private static long convertPackedDecimalToLong_(byte[] packedDecimal,
+	static long convertPackedDecimalToLong_(byte[] packedDecimal,
 			int offset, int precision, boolean checkOverflow) {
 		long value = 0;
 		int bytes = CommonData.getPackedByteCount(precision);
@@ -1010,16 +1018,13 @@ public final class DecimalData
 						"Decimal overflow - Packed Decimal too large for a long");
 		}
 
-		// For checkOverflow == true at this point we are guaranteed that precision <= 19. The following loop
+		// For checkOverflow == true at this point we are guaranteed that precision <= 19. The following conversion
 		// may cause the signed long value to overflow. Because the first digit of Long.MAX_VALUE is a 9 the
 		// overflowed signed long value cannot overflow an unsigned long. This guarantees that if an overflow
 		// occurs, value will be negative. We will use this fact along with the sign code calculated earlier
 		// to determine whether overflow occurred.
 
-		for (int pos = offset; pos <= end - 1; ++pos)
-		{
-			value = value * 100 + CommonData.getPackedToBinaryValues(packedDecimal[pos]);
-		}
+		value = PackedDigits.toBinary(packedDecimal, offset, end);
 
 		value = value * 10 + ((last & CommonData.HIGHER_NIBBLE_MASK) >> 4);
 
@@ -1081,7 +1086,7 @@ public final class DecimalData
 				externalOffset, precision, decimalType);
 	}
 
-	private static void convertPackedDecimalToExternalDecimal_(
+	static void convertPackedDecimalToExternalDecimal_(
 			byte[] packedDecimal, int packedOffset, byte[] externalDecimal,
 			int externalOffset, int precision, int decimalType) {
 
@@ -1105,8 +1110,13 @@ public final class DecimalData
 			externalDecimal[externalOffset++] = (byte) (zoneVal | (packedDecimal[packedOffset++] & CommonData.LOWER_NIBBLE_MASK));
 		}
 
-		// compute all the intermediate digits
-		for (int i = packedOffset; i < end; i++) {
+		// compute all the intermediate digits, eight at a time while there are enough of them
+		int i = packedOffset;
+		for (; i + 4 <= end; i += 4) {
+			PackedDigits.writeLong(PackedDigits.toZoned(PackedDigits.readInt(packedDecimal, i)), externalDecimal, externalOffset);
+			externalOffset += 8;
+		}
+		for (; i < end; i++) {
 			externalDecimal[externalOffset++] = (byte) (zoneVal | (((packedDecimal[i] & CommonData.HIGHER_NIBBLE_MASK) >> 4) & CommonData.LOWER_NIBBLE_MASK));
 			externalDecimal[externalOffset++] = (byte) (zoneVal | (packedDecimal[i] & CommonData.LOWER_NIBBLE_MASK));
 		}
@@ -1640,7 +1650,7 @@ public final class DecimalData
 											   packedOffset, precision, decimalType);
 	}
 
-	private static void convertExternalDecimalToPackedDecimal_(
+	static void convertExternalDecimalToPackedDecimal_(
 			byte[] externalDecimal, int externalOffset, byte[] packedDecimal,
 			int packedOffset, int precision, int decimalType) {
 
@@ -1664,7 +1674,13 @@ public final class DecimalData
 			packedDecimal[packedOffset++] = (byte) (externalDecimal[externalOffset++] & CommonData.LOWER_NIBBLE_MASK);
 		}
 
-		for (int i = packedOffset; i < end; i++) {
+		// eight digits at a time while there are enough of them
+		int i = packedOffset;
+		for (; i + 4 <= end; i += 4) {
+			PackedDigits.writeInt(PackedDigits.fromZoned(PackedDigits.readLong(externalDecimal, externalOffset)), packedDecimal, i);
+			externalOffset += 8;
+		}
+		for (; i < end; i++) {
 			byte top = (byte) ((externalDecimal[externalOffset++] & CommonData.LOWER_NIBBLE_MASK) << 4);
 			byte bottom = (byte) (externalDecimal[externalOffset++] & CommonData.LOWER_NIBBLE_MASK);
 			packedDecimal[i] = (byte) (top | bottom);
@@ -2501,85 +2517,1026 @@ public final class DecimalData
 				offset, precision, decimalType);
 	}
 
-	// below is code taken from BigDecimalConverters
-	// these are special functions recognized by the jit
-	private static boolean DFPFacilityAvailable() {
-		return false;
-	}
+	/**
+	 * Converts a binary integer value into a signed Packed Decimal in a ByteBuffer, as
+	 * {@link #convertIntegerToPackedDecimal(int, byte[], int, int, boolean)} does for a byte array. The position and
+	 * limit of the buffer are not changed.
+	 *
+	 * @param integerValue
+	 *            the binary integer value to convert
+	 * @param byteBuffer
+	 *            buffer that will store the resulting Packed Decimal value
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of Packed Decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>byteBuffer</code> is read-only
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 */
+	public static void convertIntegerToPackedDecimal(int integerValue,
+			ByteBuffer byteBuffer, int offset, int precision,
+			boolean checkOverflow) {
+		BufferAccess.checkWritableBounds(byteBuffer, offset, CommonData.getPackedByteCount(precision), "convertIntegerToPackedDecimal");
 
-	private static boolean DFPUseDFP() {
-		return false;
+		if (byteBuffer.hasArray()) {
+			convertIntegerToPackedDecimal_(integerValue, byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision, checkOverflow);
+		} else {
+			convertIntegerToPackedDecimal_(integerValue, byteBuffer, offset, precision, checkOverflow,
+					BufferAccess.address(byteBuffer), byteBuffer.capacity(), 0);
+		}
 	}
 
-	private static BigDecimal createZeroBigDecimal() {
-		return new BigDecimal(0); // don't use BigDecimal.ZERO, need a new
-								  // object every time
+	// recognized by the JIT, which stores the Packed Decimal at address + position + offset if the address is not 0
+	private static void convertIntegerToPackedDecimal_(int integerValue,
+			ByteBuffer byteBuffer, int offset, int precision,
+			boolean checkOverflow, long address, int capacity, int position) {
+		byte[] packedDecimal = new byte[CommonData.getPackedByteCount(precision)];
+		convertIntegerToPackedDecimal_(integerValue, packedDecimal, 0, precision, checkOverflow);
+		BufferAccess.put(byteBuffer, position + offset, packedDecimal);
 	}
 
-	private static boolean DFPConvertPackedToDFP(BigDecimal bd, long pack,
-			int scale, boolean signed) {
-		return false;
+	/**
+	 * Converts a binary long value into a signed Packed Decimal in a ByteBuffer, as
+	 * {@link #convertLongToPackedDecimal(long, byte[], int, int, boolean)} does for a byte array. The position and
+	 * limit of the buffer are not changed.
+	 *
+	 * @param longValue
+	 *            the binary long value to convert
+	 * @param byteBuffer
+	 *            buffer that will store the resulting Packed Decimal value
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of Packed Decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow), otherwise a truncated value is returned
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>byteBuffer</code> is read-only
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws ArithmeticException
+	 *             the <code>checkOverflow</code> parameter is true and overflow occurs
+	 */
+	public static void convertLongToPackedDecimal(long longValue,
+			ByteBuffer byteBuffer, int offset, int precision,
+			boolean checkOverflow) {
+		BufferAccess.checkWritableBounds(byteBuffer, offset, CommonData.getPackedByteCount(precision), "convertLongToPackedDecimal");
+
+		if (byteBuffer.hasArray()) {
+			convertLongToPackedDecimal_(longValue, byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision, checkOverflow);
+		} else {
+			convertLongToPackedDecimal_(longValue, byteBuffer, offset, precision, checkOverflow,
+					BufferAccess.address(byteBuffer), byteBuffer.capacity(), 0);
+		}
 	}
 
-	private static long DFPConvertDFPToPacked(long dfpValue, boolean signed) {
-		return Long.MAX_VALUE;
+	// recognized by the JIT, which stores the Packed Decimal at address + position + offset if the address is not 0
+	private static void convertLongToPackedDecimal_(long longValue,
+			ByteBuffer byteBuffer, int offset, int precision,
+			boolean checkOverflow, long address, int capacity, int position) {
+		byte[] packedDecimal = new byte[CommonData.getPackedByteCount(precision)];
+		convertLongToPackedDecimal_(longValue, packedDecimal, 0, precision, checkOverflow);
+		BufferAccess.put(byteBuffer, position + offset, packedDecimal);
 	}
 
-	private final static int getflags() {
-		return 0x3;
+	/**
+	 * Converts a Packed Decimal value in a ByteBuffer into a binary integer, as
+	 * {@link #convertPackedDecimalToInteger(byte[], int, int, boolean)} does for a byte array. The position and limit
+	 * of the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            buffer which contains the Packed Decimal value
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of Packed Decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> may be thrown
+	 *
+	 * @return int the resulting binary integer value
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into an int (overflow)
+	 */
+	public static int convertPackedDecimalToInteger(ByteBuffer byteBuffer,
+			int offset, int precision, boolean checkOverflow) {
+		BufferAccess.checkBounds(byteBuffer, offset, CommonData.getPackedByteCount(precision), "convertPackedDecimalToInteger");
+
+		if (byteBuffer.hasArray()) {
+			return convertPackedDecimalToInteger_(byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision, checkOverflow);
+		}
+		return convertPackedDecimalToInteger_(byteBuffer, offset, precision, checkOverflow,
+				BufferAccess.address(byteBuffer), byteBuffer.capacity(), 0);
 	}
 
-	private final static long getlaside(BigDecimal bd) {
-		return Long.MIN_VALUE;
+	// recognized by the JIT, which loads the Packed Decimal from address + position + offset if the address is not 0
+	private static int convertPackedDecimalToInteger_(ByteBuffer byteBuffer,
+			int offset, int precision, boolean checkOverflow,
+			long address, int capacity, int position) {
+		byte[] packedDecimal = BufferAccess.get(byteBuffer, position + offset, CommonData.getPackedByteCount(precision));
+		return convertPackedDecimalToInteger_(packedDecimal, 0, precision, checkOverflow);
 	}
 
-	private static BigDecimal slowSignedPackedToBigDecimal(byte[] byteArray,
-			int offset, int precision, int scale, boolean exceptions) {
+	/**
+	 * Converts a Packed Decimal value in a ByteBuffer into a binary long, as
+	 * {@link #convertPackedDecimalToLong(byte[], int, int, boolean)} does for a byte array. The position and limit of
+	 * the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            buffer which contains the Packed Decimal value
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> may be thrown
+	 *
+	 * @return long the resulting binary long value
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into a long (overflow)
+	 */
+	public static long convertPackedDecimalToLong(ByteBuffer byteBuffer,
+			int offset, int precision, boolean checkOverflow) {
+		BufferAccess.checkBounds(byteBuffer, offset, CommonData.getPackedByteCount(precision), "convertPackedDecimalToLong");
 
-		int length = (precision + 2) / 2;
+		if (byteBuffer.hasArray()) {
+			return convertPackedDecimalToLong_(byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision, checkOverflow);
+		}
+		return convertPackedDecimalToLong_(byteBuffer, offset, precision, checkOverflow,
+				BufferAccess.address(byteBuffer), byteBuffer.capacity(), 0);
+	}
 
-		int sn = byteArray[offset + length - 1] & CommonData.LOWER_NIBBLE_MASK;
+	// recognized by the JIT, which loads the Packed Decimal from address + position + offset if the address is not 0
+	private static long convertPackedDecimalToLong_(ByteBuffer byteBuffer,
+			int offset, int precision, boolean checkOverflow,
+			long address, int capacity, int position) {
+		byte[] packedDecimal = BufferAccess.get(byteBuffer, position + offset, CommonData.getPackedByteCount(precision));
+		return convertPackedDecimalToLong_(packedDecimal, 0, precision, checkOverflow);
+	}
 
-		char[] temp = new char[length * 2];
-		temp[0] = (sn == 0x0D || sn == 0x0B) ? '-' : '0';
-		for (int i = 0; i < length - 1; i++) {
-			temp[2 * i + 1] = (char) ('0' + (byteArray[i + offset] >>> 4 & CommonData.LOWER_NIBBLE_MASK));
-			temp[2 * i + 2] = (char) ('0' + (byteArray[i + offset] & CommonData.LOWER_NIBBLE_MASK));
+	/**
+	 * Converts a Packed Decimal in a ByteBuffer to a BigDecimal, as
+	 * {@link #convertPackedDecimalToBigDecimal(byte[], int, int, int, boolean)} does for a byte array. The position
+	 * and limit of the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            buffer that holds the Packed Decimal to be converted
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param scale
+	 *            scale of the BigDecimal to be returned
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @return BigDecimal the resulting BigDecimal
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 */
+	public static BigDecimal convertPackedDecimalToBigDecimal(
+			ByteBuffer byteBuffer, int offset, int precision, int scale,
+			boolean checkOverflow) {
+
+		if (precision <= 9) {
+			return BigDecimal.valueOf(
+					convertPackedDecimalToInteger(byteBuffer, offset, precision,
+							checkOverflow), scale);
+		} else if (precision <= 18) {
+			return BigDecimal.valueOf(
+					convertPackedDecimalToLong(byteBuffer, offset, precision,
+							checkOverflow), scale);
 		}
-		temp[length * 2 - 1] = (char) ('0' + (byteArray[offset + length - 1] >>> 4 & CommonData.LOWER_NIBBLE_MASK));
 
-		return new BigDecimal(new BigInteger(new String(temp)), scale);
+		int bytes = CommonData.getPackedByteCount(precision);
+		BufferAccess.checkBounds(byteBuffer, offset, bytes, "convertPackedDecimalToBigDecimal");
+
+		if (byteBuffer.hasArray()) {
+			return slowSignedPackedToBigDecimal(byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision,
+					scale, checkOverflow);
+		}
+		return slowSignedPackedToBigDecimal(BufferAccess.get(byteBuffer, offset, bytes), 0, precision,
+				scale, checkOverflow);
 	}
 
-	private static void slowBigDecimalToSignedPacked(BigDecimal bd,
-			byte[] byteArray, int offset, int precision, boolean checkOverflow) {
+	/**
+	 * Converts a BigDecimal value to a Packed Decimal in a ByteBuffer, as
+	 * {@link #convertBigDecimalToPackedDecimal(BigDecimal, byte[], int, int, boolean)} does for a byte array. The
+	 * position and limit of the buffer are not changed.
+	 *
+	 * @param bigDecimalValue
+	 *            the BigDecimal value to be converted
+	 * @param byteBuffer
+	 *            buffer which will hold the Packed Decimal on a successful return
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>byteBuffer</code> is read-only
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result overflows
+	 */
+	public static void convertBigDecimalToPackedDecimal(
+			BigDecimal bigDecimalValue, ByteBuffer byteBuffer, int offset,
+			int precision, boolean checkOverflow) {
 
-		// digits are right justified in the return byte array
-		if (checkOverflow && precision < bd.precision())
-			throw new ArithmeticException(
-					"Decimal overflow - precision of result Packed Decimal lesser than BigDecimal precision");
+		int bdprec = bigDecimalValue.precision();
+		if (bdprec <= 9)
+		{
+			convertIntegerToPackedDecimal((int) bigDecimalValue.unscaledValue().longValue(),
+					byteBuffer, offset, precision, checkOverflow);
+			return;
+		}
+		if (bdprec <= 18)
+		{
+			convertLongToPackedDecimal(bigDecimalValue.unscaledValue().longValue(),
+					byteBuffer, offset, precision, checkOverflow);
+			return;
+		}
 
-		BigInteger value = bd.unscaledValue();
-		char[] buffer = value.abs().toString().toCharArray();
-		int numDigitsLeft = buffer.length - 1;
-		int endPosition = numDigitsLeft % 2;
-		int length = (precision + 2) / 2;
-		int index = length - 2;
+		int bytes = CommonData.getPackedByteCount(precision);
+		BufferAccess.checkWritableBounds(byteBuffer, offset, bytes, "convertBigDecimalToPackedDecimal");
 
-		// take care of the sign nibble and the right most digit
-		byteArray[offset + length - 1] = (byte) ((buffer[numDigitsLeft] - '0') << 4);
-		byteArray[offset + length - 1] |= (byte) ((value.signum() == -1) ? 0x0D : 0x0C);
+		if (byteBuffer.hasArray()) {
+			slowBigDecimalToSignedPacked(bigDecimalValue, byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, checkOverflow);
+		} else {
+			byte[] packedDecimal = new byte[bytes];
+			slowBigDecimalToSignedPacked(bigDecimalValue, packedDecimal, 0, precision, checkOverflow);
+			BufferAccess.put(byteBuffer, offset, packedDecimal);
+		}
+	}
 
-		// compact 2 digits into each byte
-		for (int i = numDigitsLeft - 1; i >= endPosition
-			&& (offset + index >= 0); i -= 2, --index) {
-			byteArray[offset + index] = (byte) (buffer[i] - '0');
-			byteArray[offset + index] |= (byte) ((buffer[i - 1] - '0') << 4);
+	/**
+	 * Converts an External Decimal value in a ByteBuffer into a binary integer, as
+	 * {@link #convertExternalDecimalToInteger(byte[], int, int, boolean, int)} does for a byte array. The position
+	 * and limit of the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            buffer which contains the External Decimal value
+	 * @param offset
+	 *            index of the first byte of the External Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> or <code>IllegalArgumentException</code> may be thrown. If
+	 *            false and there is an overflow, the result is undefined.
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @return int the resulting binary integer
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into a int (overflow)
+	 * @throws IllegalArgumentException
+	 *             if <code>precision</code> or <code>decimalType</code> is invalid
+	 */
+	public static int convertExternalDecimalToInteger(ByteBuffer byteBuffer,
+			int offset, int precision, boolean checkOverflow, int decimalType) {
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkBounds(byteBuffer, offset, bytes, "convertExternalDecimalToInteger");
+
+		if (byteBuffer.hasArray()) {
+			return convertExternalDecimalToInteger(byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, checkOverflow, decimalType);
 		}
+		return convertExternalDecimalToInteger(BufferAccess.get(byteBuffer, offset, bytes), 0,
+				precision, checkOverflow, decimalType);
+	}
 
-		// if there's a left over digit, put it in the last byte
-		if (endPosition > 0 && (offset + index >= 0)) {
-			byteArray[offset + index] = (byte) (buffer[0] - '0');
+	/**
+	 * Converts an External Decimal value in a ByteBuffer into a binary long, as
+	 * {@link #convertExternalDecimalToLong(byte[], int, int, boolean, int)} does for a byte array. The position and
+	 * limit of the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            buffer which contains the External Decimal value
+	 * @param offset
+	 *            index of the first byte of the External Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> or <code>IllegalArgumentException</code> may be thrown. If
+	 *            false and there is an overflow, the result is undefined.
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @return long the resulting binary long value
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into a long (overflow)
+	 * @throws IllegalArgumentException
+	 *             if <code>precision</code> or <code>decimalType</code> is invalid
+	 */
+	public static long convertExternalDecimalToLong(ByteBuffer byteBuffer,
+			int offset, int precision, boolean checkOverflow, int decimalType) {
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkBounds(byteBuffer, offset, bytes, "convertExternalDecimalToLong");
+
+		if (byteBuffer.hasArray()) {
+			return convertExternalDecimalToLong(byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, checkOverflow, decimalType);
+		}
+		return convertExternalDecimalToLong(BufferAccess.get(byteBuffer, offset, bytes), 0,
+				precision, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts an External Decimal in a ByteBuffer to a BigDecimal, as
+	 * {@link #convertExternalDecimalToBigDecimal(byte[], int, int, int, boolean, int)} does for a byte array. The
+	 * position and limit of the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            buffer holding the External Decimal to be converted
+	 * @param offset
+	 *            index of the first byte of the External Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param scale
+	 *            scale of the BigDecimal
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value that indicates the type of External Decimal
+	 *
+	 * @return BigDecimal the resulting BigDecimal
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result overflows
+	 * @throws IllegalArgumentException
+	 *             if <code>decimalType</code> is invalid, or <code>checkOverflow</code> is true and the External
+	 *             Decimal is not valid
+	 */
+	public static BigDecimal convertExternalDecimalToBigDecimal(
+			ByteBuffer byteBuffer, int offset, int precision, int scale,
+			boolean checkOverflow, int decimalType) {
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkBounds(byteBuffer, offset, bytes, "convertExternalDecimalToBigDecimal");
+
+		if (byteBuffer.hasArray()) {
+			return convertExternalDecimalToBigDecimal(byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, scale, checkOverflow, decimalType);
+		}
+		return convertExternalDecimalToBigDecimal(BufferAccess.get(byteBuffer, offset, bytes), 0,
+				precision, scale, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts a binary integer value into an External Decimal in a ByteBuffer, as
+	 * {@link #convertIntegerToExternalDecimal(int, byte[], int, int, boolean, int)} does for a byte array. The
+	 * position and limit of the buffer are not changed.
+	 *
+	 * @param integerValue
+	 *            the value to convert
+	 * @param byteBuffer
+	 *            the buffer which will hold the External Decimal on a successful return
+	 * @param offset
+	 *            index of the first byte of the External Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            the number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>byteBuffer</code> is read-only
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 * @throws IllegalArgumentException
+	 *             if <code>decimalType</code> or <code>precision</code> is invalid
+	 */
+	public static void convertIntegerToExternalDecimal(int integerValue,
+			ByteBuffer byteBuffer, int offset, int precision,
+			boolean checkOverflow, int decimalType) {
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkWritableBounds(byteBuffer, offset, bytes, "convertIntegerToExternalDecimal");
+
+		if (byteBuffer.hasArray()) {
+			convertIntegerToExternalDecimal(integerValue, byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, checkOverflow, decimalType);
+		} else {
+			byte[] externalDecimal = new byte[bytes];
+			convertIntegerToExternalDecimal(integerValue, externalDecimal, 0, precision, checkOverflow, decimalType);
+			BufferAccess.put(byteBuffer, offset, externalDecimal);
+		}
+	}
+
+	/**
+	 * Converts a binary long value into an External Decimal in a ByteBuffer, as
+	 * {@link #convertLongToExternalDecimal(long, byte[], int, int, boolean, int)} does for a byte array. The
+	 * position and limit of the buffer are not changed.
+	 *
+	 * @param longValue
+	 *            the value to convert
+	 * @param byteBuffer
+	 *            the buffer which will hold the External Decimal on a successful return
+	 * @param offset
+	 *            index of the first byte of the External Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            the number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>byteBuffer</code> is read-only
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 * @throws IllegalArgumentException
+	 *             if <code>decimalType</code> or <code>precision</code> is invalid
+	 */
+	public static void convertLongToExternalDecimal(long longValue,
+			ByteBuffer byteBuffer, int offset, int precision,
+			boolean checkOverflow, int decimalType) {
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkWritableBounds(byteBuffer, offset, bytes, "convertLongToExternalDecimal");
+
+		if (byteBuffer.hasArray()) {
+			convertLongToExternalDecimal(longValue, byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, checkOverflow, decimalType);
+		} else {
+			byte[] externalDecimal = new byte[bytes];
+			convertLongToExternalDecimal(longValue, externalDecimal, 0, precision, checkOverflow, decimalType);
+			BufferAccess.put(byteBuffer, offset, externalDecimal);
+		}
+	}
+
+	/**
+	 * Converts a BigDecimal value to an External Decimal in a ByteBuffer, as
+	 * {@link #convertBigDecimalToExternalDecimal(BigDecimal, byte[], int, int, boolean, int)} does for a byte array.
+	 * The position and limit of the buffer are not changed.
+	 *
+	 * @param bigDecimalValue
+	 *            BigDecimal value to be converted
+	 * @param byteBuffer
+	 *            buffer that will hold the External Decimal on a successful return
+	 * @param offset
+	 *            index of the first byte of the External Decimal in <code>byteBuffer</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value indicating the External Decimal type
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>byteBuffer</code> is read-only
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result overflows
+	 * @throws IllegalArgumentException
+	 *             if <code>precision</code> or <code>decimalType</code> is invalid
+	 */
+	public static void convertBigDecimalToExternalDecimal(
+			BigDecimal bigDecimalValue, ByteBuffer byteBuffer, int offset,
+			int precision, boolean checkOverflow, int decimalType) {
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkWritableBounds(byteBuffer, offset, bytes, "convertBigDecimalToExternalDecimal");
+
+		if (byteBuffer.hasArray()) {
+			convertBigDecimalToExternalDecimal(bigDecimalValue, byteBuffer.array(), byteBuffer.arrayOffset() + offset,
+					precision, checkOverflow, decimalType);
+		} else {
+			byte[] externalDecimal = new byte[bytes];
+			convertBigDecimalToExternalDecimal(bigDecimalValue, externalDecimal, 0, precision, checkOverflow, decimalType);
+			BufferAccess.put(byteBuffer, offset, externalDecimal);
+		}
+	}
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Converts a binary integer value into a signed Packed Decimal in a MemorySegment, as
+	 * {@link #convertIntegerToPackedDecimal(int, ByteBuffer, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param integerValue
+	 *            the binary integer value to convert
+	 * @param segment
+	 *            segment that will store the resulting Packed Decimal value
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of Packed Decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>segment</code> is read-only
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 */
+	public static void convertIntegerToPackedDecimal(int integerValue,
+			MemorySegment segment, long offset, int precision,
+			boolean checkOverflow) {
+		convertIntegerToPackedDecimal(integerValue,
+				BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, checkOverflow);
+	}
+
+	/**
+	 * Converts a binary long value into a signed Packed Decimal in a MemorySegment, as
+	 * {@link #convertLongToPackedDecimal(long, ByteBuffer, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param longValue
+	 *            the binary long value to convert
+	 * @param segment
+	 *            segment that will store the resulting Packed Decimal value
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of Packed Decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>segment</code> is read-only
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 */
+	public static void convertLongToPackedDecimal(long longValue,
+			MemorySegment segment, long offset, int precision,
+			boolean checkOverflow) {
+		convertLongToPackedDecimal(longValue,
+				BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, checkOverflow);
+	}
+
+	/**
+	 * Converts a Packed Decimal value in a MemorySegment into a binary integer, as
+	 * {@link #convertPackedDecimalToInteger(ByteBuffer, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            segment which contains the Packed Decimal value
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of Packed Decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> may be thrown
+	 *
+	 * @return int the resulting binary integer value
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into an int (overflow)
+	 */
+	public static int convertPackedDecimalToInteger(MemorySegment segment,
+			long offset, int precision, boolean checkOverflow) {
+		return convertPackedDecimalToInteger(
+				BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, checkOverflow);
+	}
+
+	/**
+	 * Converts a Packed Decimal value in a MemorySegment into a binary long, as
+	 * {@link #convertPackedDecimalToLong(ByteBuffer, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            segment which contains the Packed Decimal value
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> may be thrown
+	 *
+	 * @return long the resulting binary long value
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into a long (overflow)
+	 */
+	public static long convertPackedDecimalToLong(MemorySegment segment,
+			long offset, int precision, boolean checkOverflow) {
+		return convertPackedDecimalToLong(
+				BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, checkOverflow);
+	}
+
+	/**
+	 * Converts a Packed Decimal in a MemorySegment to a BigDecimal, as
+	 * {@link #convertPackedDecimalToBigDecimal(ByteBuffer, int, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            segment that holds the Packed Decimal to be converted
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param scale
+	 *            scale of the BigDecimal to be returned
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @return BigDecimal the resulting BigDecimal
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 */
+	public static BigDecimal convertPackedDecimalToBigDecimal(
+			MemorySegment segment, long offset, int precision, int scale,
+			boolean checkOverflow) {
+		return convertPackedDecimalToBigDecimal(
+				BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, scale, checkOverflow);
+	}
+
+	/**
+	 * Converts a BigDecimal value to a Packed Decimal in a MemorySegment, as
+	 * {@link #convertBigDecimalToPackedDecimal(BigDecimal, ByteBuffer, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param bigDecimalValue
+	 *            the BigDecimal value to be converted
+	 * @param segment
+	 *            segment which will hold the Packed Decimal on a successful return
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>segment</code> is read-only
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result overflows
+	 */
+	public static void convertBigDecimalToPackedDecimal(
+			BigDecimal bigDecimalValue, MemorySegment segment, long offset,
+			int precision, boolean checkOverflow) {
+		convertBigDecimalToPackedDecimal(bigDecimalValue,
+				BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, checkOverflow);
+	}
+
+	/**
+	 * Converts an External Decimal value in a MemorySegment into a binary integer, as
+	 * {@link #convertExternalDecimalToInteger(ByteBuffer, int, int, boolean, int)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            segment which contains the External Decimal value
+	 * @param offset
+	 *            offset of the first byte of the External Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> or <code>IllegalArgumentException</code> may be thrown. If
+	 *            false and there is an overflow, the result is undefined.
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @return int the resulting binary integer
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into a int (overflow)
+	 * @throws IllegalArgumentException
+	 *             if <code>precision</code> or <code>decimalType</code> is invalid
+	 */
+	public static int convertExternalDecimalToInteger(MemorySegment segment,
+			long offset, int precision, boolean checkOverflow, int decimalType) {
+		return convertExternalDecimalToInteger(
+				BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts an External Decimal value in a MemorySegment into a binary long, as
+	 * {@link #convertExternalDecimalToLong(ByteBuffer, int, int, boolean, int)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            segment which contains the External Decimal value
+	 * @param offset
+	 *            offset of the first byte of the External Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> or <code>IllegalArgumentException</code> may be thrown. If
+	 *            false and there is an overflow, the result is undefined.
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @return long the resulting binary long value
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result does not fit into a long (overflow)
+	 * @throws IllegalArgumentException
+	 *             if <code>precision</code> or <code>decimalType</code> is invalid
+	 */
+	public static long convertExternalDecimalToLong(MemorySegment segment,
+			long offset, int precision, boolean checkOverflow, int decimalType) {
+		return convertExternalDecimalToLong(
+				BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts an External Decimal in a MemorySegment to a BigDecimal, as
+	 * {@link #convertExternalDecimalToBigDecimal(ByteBuffer, int, int, int, boolean, int)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            segment holding the External Decimal to be converted
+	 * @param offset
+	 *            offset of the first byte of the External Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param scale
+	 *            scale of the BigDecimal
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value that indicates the type of External Decimal
+	 *
+	 * @return BigDecimal the resulting BigDecimal
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result overflows
+	 * @throws IllegalArgumentException
+	 *             if <code>decimalType</code> is invalid, or <code>checkOverflow</code> is true and the External
+	 *             Decimal is not valid
+	 */
+	public static BigDecimal convertExternalDecimalToBigDecimal(
+			MemorySegment segment, long offset, int precision, int scale,
+			boolean checkOverflow, int decimalType) {
+		return convertExternalDecimalToBigDecimal(
+				BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, scale, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts a binary integer value into an External Decimal in a MemorySegment, as
+	 * {@link #convertIntegerToExternalDecimal(int, ByteBuffer, int, int, boolean, int)} does for a ByteBuffer.
+	 *
+	 * @param integerValue
+	 *            the value to convert
+	 * @param segment
+	 *            the segment which will hold the External Decimal on a successful return
+	 * @param offset
+	 *            offset of the first byte of the External Decimal in <code>segment</code>
+	 * @param precision
+	 *            the number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>segment</code> is read-only
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 * @throws IllegalArgumentException
+	 *             if <code>decimalType</code> or <code>precision</code> is invalid
+	 */
+	public static void convertIntegerToExternalDecimal(int integerValue,
+			MemorySegment segment, long offset, int precision,
+			boolean checkOverflow, int decimalType) {
+		convertIntegerToExternalDecimal(integerValue,
+				BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts a binary long value into an External Decimal in a MemorySegment, as
+	 * {@link #convertLongToExternalDecimal(long, ByteBuffer, int, int, boolean, int)} does for a ByteBuffer.
+	 *
+	 * @param longValue
+	 *            the value to convert
+	 * @param segment
+	 *            the segment which will hold the External Decimal on a successful return
+	 * @param offset
+	 *            offset of the first byte of the External Decimal in <code>segment</code>
+	 * @param precision
+	 *            the number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value indicating the type of External Decimal
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>segment</code> is read-only
+	 * @throws ArithmeticException
+	 *             if the <code>checkOverflow</code> parameter is true and overflow occurs
+	 * @throws IllegalArgumentException
+	 *             if <code>decimalType</code> or <code>precision</code> is invalid
+	 */
+	public static void convertLongToExternalDecimal(long longValue,
+			MemorySegment segment, long offset, int precision,
+			boolean checkOverflow, int decimalType) {
+		convertLongToExternalDecimal(longValue,
+				BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, checkOverflow, decimalType);
+	}
+
+	/**
+	 * Converts a BigDecimal value to an External Decimal in a MemorySegment, as
+	 * {@link #convertBigDecimalToExternalDecimal(BigDecimal, ByteBuffer, int, int, boolean, int)} does for a
+	 * ByteBuffer.
+	 *
+	 * @param bigDecimalValue
+	 *            BigDecimal value to be converted
+	 * @param segment
+	 *            segment that will hold the External Decimal on a successful return
+	 * @param offset
+	 *            offset of the first byte of the External Decimal in <code>segment</code>
+	 * @param precision
+	 *            number of decimal digits. Maximum valid precision is 253
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if the decimal value does not fit in the
+	 *            specified precision (overflow)
+	 * @param decimalType
+	 *            constant value indicating the External Decimal type
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>
+	 * @throws ReadOnlyBufferException
+	 *             if <code>segment</code> is read-only
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and the result overflows
+	 * @throws IllegalArgumentException
+	 *             if <code>precision</code> or <code>decimalType</code> is invalid
+	 */
+	public static void convertBigDecimalToExternalDecimal(
+			BigDecimal bigDecimalValue, MemorySegment segment, long offset,
+			int precision, boolean checkOverflow, int decimalType) {
+		convertBigDecimalToExternalDecimal(bigDecimalValue,
+				BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, checkOverflow, decimalType);
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+
+	// below is code taken from BigDecimalConverters
+	// these are special functions recognized by the jit
+	private static boolean DFPFacilityAvailable() {
+		return false;
+	}
+
+	private static boolean DFPUseDFP() {
+		return false;
+	}
+
+	private static BigDecimal createZeroBigDecimal() {
+		return new BigDecimal(0); // don't use BigDecimal.ZERO, need a new
+								  // object every time
+	}
+
+	private static boolean DFPConvertPackedToDFP(BigDecimal bd, long pack,
+			int scale, boolean signed) {
+		return false;
+	}
+
+	private static long DFPConvertDFPToPacked(long dfpValue, boolean signed) {
+		return Long.MAX_VALUE;
+	}
+
+	private final static int getflags() {
+		return 0x3;
+	}
+
+	private final static long getlaside(BigDecimal bd) {
+		return Long.MIN_VALUE;
+	}
+
+	private static BigDecimal slowSignedPackedToBigDecimal(byte[] byteArray,
+			int offset, int precision, int scale, boolean exceptions) {
+
+		int length = (precision + 2) / 2;
+
+		int sn = byteArray[offset + length - 1] & CommonData.LOWER_NIBBLE_MASK;
+
+		char[] temp = new char[length * 2];
+		temp[0] = (sn == 0x0D || sn == 0x0B) ? '-' : '0';
+		for (int i = 0; i < length - 1; i++) {
+			temp[2 * i + 1] = (char) ('0' + (byteArray[i + offset] >>> 4 & CommonData.LOWER_NIBBLE_MASK));
+			temp[2 * i + 2] = (char) ('0' + (byteArray[i + offset] & CommonData.LOWER_NIBBLE_MASK));
+		}
+		temp[length * 2 - 1] = (char) ('0' + (byteArray[offset + length - 1] >>> 4 & CommonData.LOWER_NIBBLE_MASK));
+
+		return new BigDecimal(new BigInteger(new String(temp)), scale);
+	}
+
+	private static void slowBigDecimalToSignedPacked(BigDecimal bd,
+			byte[] byteArray, int offset, int precision, boolean checkOverflow) {
+
+		// digits are right justified in the return byte array
+		if (checkOverflow && precision < bd.precision())
+			throw new ArithmeticException(
+					"Decimal overflow - precision of result Packed Decimal lesser than BigDecimal precision");
+
+		BigInteger value = bd.unscaledValue();
+		char[] buffer = value.abs().toString().toCharArray();
+		int numDigitsLeft = buffer.length - 1;
+		int endPosition = numDigitsLeft % 2;
+		int length = (precision + 2) / 2;
+		int index = length - 2;
+
+		// take care of the sign nibble and the right most digit
+		byteArray[offset + length - 1] = (byte) ((buffer[numDigitsLeft] - '0') << 4);
+		byteArray[offset + length - 1] |= (byte) ((value.signum() == -1) ? 0x0D : 0x0C);
+
+		// compact 2 digits into each byte, truncating the digits which do not fit
+		for (int i = numDigitsLeft - 1; i >= endPosition
+			&& index >= 0; i -= 2, --index) {
+			byteArray[offset + index] = (byte) (buffer[i] - '0');
+			byteArray[offset + index] |= (byte) ((buffer[i - 1] - '0') << 4);
+		}
+
+		// if there's a left over digit, put it in the last byte
+		if (endPosition > 0 && index >= 0) {
+			byteArray[offset + index] = (byte) (buffer[0] - '0');
+			--index;
+		}
+
+		// pad with zeros on the left
+		for (; index >= 0; --index) {
+			byteArray[offset + index] = CommonData.PACKED_ZERO;
 		}
 	}
 
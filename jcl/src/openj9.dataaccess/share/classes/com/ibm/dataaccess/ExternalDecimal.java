@@ -22,6 +22,11 @@
  */
 package com.ibm.dataaccess;
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+import java.nio.ByteBuffer;
+
 public class ExternalDecimal {
 	/**
 	 * Private constructor, class contains only static methods.
@@ -90,6 +95,97 @@ public class ExternalDecimal {
 		return checkExternalDecimal_(byteArray, offset, precision, decimalType, bytesWithSpaces);
 	}
 
+	/**
+	 * Checks the validity of an External Decimal in a ByteBuffer, as
+	 * {@link #checkExternalDecimal(byte[], int, int, int, int)} does for a byte array. The position and limit of the
+	 * buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            source buffer.
+	 * @param offset
+	 *            index of the first byte of the External Decimal.
+	 * @param precision
+	 *            number of digits to be verified.
+	 * @param decimalType
+	 *            constant indicating the type of the decimal. Supported values are
+	 *            DecimalData.EBCDIC_SIGN_EMBEDDED_TRAILING, DecimalData.EBCDIC_SIGN_EMBEDDED_LEADING,
+	 *            DecimalData.EBCDIC_SIGN_SEPARATE_TRAILING, DecimalData.EBCDIC_SIGN_SEPARATE_LEADING.
+	 * @param bytesWithSpaces
+	 *            represents number of left most bytes containing EBCDIC space character if sign is
+	 *            embedded, ignored otherwise.
+	 *
+	 * @return the condition code:
+	 *          0 if all digit codes and the sign are valid,
+	 *          1 if the sign is invalid,
+	 *          2 if at least one digit code is invalid,
+	 *          3 if sign and at least one digit code is invalid.
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null.
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie below the limit of <code>byteBuffer</code>.
+	 * @throws IllegalArgumentException
+	 *             if the precision is less than 1, the offset is less than 0 or <code>decimalType</code> is invalid.
+	 */
+	public static int checkExternalDecimal(ByteBuffer byteBuffer, int offset,
+		int precision, int decimalType, int bytesWithSpaces) {
+		if (precision < 1)
+			throw new IllegalArgumentException("Precision must be greater than 0.");
+
+		if (offset < 0)
+			throw new IllegalArgumentException("Offset must be non-negative integer.");
+
+		if (decimalType < DecimalData.EXTERNAL_DECIMAL_MIN || decimalType > DecimalData.EXTERNAL_DECIMAL_MAX)
+			throw new IllegalArgumentException("Invalid decimalType.");
+
+		int bytes = CommonData.getExternalByteCounts(precision, decimalType);
+		BufferAccess.checkBounds(byteBuffer, offset, bytes, "checkExternalDecimal");
+
+		if (byteBuffer.hasArray()) {
+			return checkExternalDecimal_(byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision,
+					decimalType, bytesWithSpaces);
+		}
+		return checkExternalDecimal_(BufferAccess.get(byteBuffer, offset, bytes), 0, precision,
+				decimalType, bytesWithSpaces);
+	}
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Checks the validity of an External Decimal in a MemorySegment, as
+	 * {@link #checkExternalDecimal(ByteBuffer, int, int, int, int)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            source segment.
+	 * @param offset
+	 *            offset of the first byte of the External Decimal.
+	 * @param precision
+	 *            number of digits to be verified.
+	 * @param decimalType
+	 *            constant indicating the type of the decimal.
+	 * @param bytesWithSpaces
+	 *            represents number of left most bytes containing EBCDIC space character if sign is
+	 *            embedded, ignored otherwise.
+	 *
+	 * @return the condition code, as for {@link #checkExternalDecimal(byte[], int, int, int, int)}.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the External Decimal does not lie within <code>segment</code>.
+	 * @throws IllegalArgumentException
+	 *             if the precision is less than 1 or <code>decimalType</code> is invalid.
+	 */
+	public static int checkExternalDecimal(MemorySegment segment, long offset,
+		int precision, int decimalType, int bytesWithSpaces) {
+		if (precision < 1)
+			throw new IllegalArgumentException("Precision must be greater than 0.");
+
+		if (decimalType < DecimalData.EXTERNAL_DECIMAL_MIN || decimalType > DecimalData.EXTERNAL_DECIMAL_MAX)
+			throw new IllegalArgumentException("Invalid decimalType.");
+
+		return checkExternalDecimal(BufferAccess.slice(segment, offset, CommonData.getExternalByteCounts(precision, decimalType)), 0,
+				precision, decimalType, bytesWithSpaces);
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+
 	private static int checkExternalDecimal_(byte[] byteArray, int offset,
 		int precision, int decimalType, int bytesWithSpaces) {
 
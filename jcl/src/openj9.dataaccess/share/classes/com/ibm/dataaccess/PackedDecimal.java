@@ -22,7 +22,11 @@
  */
 package com.ibm.dataaccess;
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.ibm.dataaccess.CommonData;
@@ -197,6 +201,89 @@ public final class PackedDecimal {
 		return checkPackedDecimal(byteArray, offset, precision, false, false);
 	}
 
+	/**
+	 * Checks the validity of a Packed Decimal in a ByteBuffer, as
+	 * {@link #checkPackedDecimal(byte[], int, int, boolean)} does for a byte array. The position and limit of the
+	 * buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            the source buffer
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal
+	 * @param precision
+	 *            precision of the Packed Decimal
+	 * @param ignoreHighNibbleForEvenPrecision
+	 *            if true, ignore the high nibble in the case of even precision
+	 * @return the condition code: 0 All digit codes and the sign valid 1 Sign invalid 2 At least one digit code invalid
+	 *         3 Sign invalid and at least one digit code invalid
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 */
+	public static int checkPackedDecimal(ByteBuffer byteBuffer, int offset,
+			int precision, boolean ignoreHighNibbleForEvenPrecision) {
+		int bytes = CommonData.getPackedByteCount(precision);
+		BufferAccess.checkBounds(byteBuffer, offset, bytes, "checkPackedDecimal");
+
+		if (byteBuffer.hasArray()) {
+			return checkPackedDecimal_(byteBuffer.array(), byteBuffer.arrayOffset() + offset, precision,
+					ignoreHighNibbleForEvenPrecision, false);
+		}
+		return checkPackedDecimal_(BufferAccess.get(byteBuffer, offset, bytes), 0, precision,
+				ignoreHighNibbleForEvenPrecision, false);
+	}
+
+	/**
+	 * Checks the validity of a Packed Decimal in a ByteBuffer, as {@link #checkPackedDecimal(byte[], int, int)} does
+	 * for a byte array. The position and limit of the buffer are not changed.
+	 *
+	 * @param byteBuffer
+	 *            the source buffer
+	 * @param offset
+	 *            index of the first byte of the Packed Decimal
+	 * @param precision
+	 *            precision of the Packed Decimal
+	 * @return the condition code: 0 All digit codes and the sign valid 1 Sign invalid 2 At least one digit code invalid
+	 *         3 Sign invalid and at least one digit code invalid
+	 *
+	 * @throws NullPointerException
+	 *             if <code>byteBuffer</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie below the limit of <code>byteBuffer</code>
+	 */
+	public static int checkPackedDecimal(ByteBuffer byteBuffer, int offset,
+			int precision) {
+		return checkPackedDecimal(byteBuffer, offset, precision, false);
+	}
+
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Checks the validity of a Packed Decimal in a MemorySegment, as
+	 * {@link #checkPackedDecimal(ByteBuffer, int, int, boolean)} does for a ByteBuffer.
+	 *
+	 * @param segment
+	 *            the source segment
+	 * @param offset
+	 *            offset of the first byte of the Packed Decimal
+	 * @param precision
+	 *            precision of the Packed Decimal
+	 * @param ignoreHighNibbleForEvenPrecision
+	 *            if true, ignore the high nibble in the case of even precision
+	 * @return the condition code: 0 All digit codes and the sign valid 1 Sign invalid 2 At least one digit code invalid
+	 *         3 Sign invalid and at least one digit code invalid
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the Packed Decimal does not lie within <code>segment</code>
+	 */
+	public static int checkPackedDecimal(MemorySegment segment, long offset,
+			int precision, boolean ignoreHighNibbleForEvenPrecision) {
+		return checkPackedDecimal(BufferAccess.slice(segment, offset, CommonData.getPackedByteCount(precision)), 0,
+				precision, ignoreHighNibbleForEvenPrecision);
+	}
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+
 	private static void copyRemainingDigits(PackedDecimalOperand op1,
 			PackedDecimalOperand op2, boolean checkOverflow)
 			throws ArithmeticException {
@@ -302,6 +389,10 @@ public final class PackedDecimal {
 			int resultPrecision, byte[] op1Decimal, int op1Offset,
 			int op1Precision, byte[] op2Decimal, int op2Offset,
 			int op2Precision, boolean checkOverflow) throws ArithmeticException {
+		if (addLanes(result, resultOffset, resultPrecision, op1Decimal, op1Offset,
+				op1Precision, op2Decimal, op2Offset, op2Precision, false, checkOverflow)) {
+			return;
+		}
 		// capture result type information
 		sum_threadLocal.get().setSumOperand(result, resultOffset,
 				resultPrecision);
@@ -372,6 +463,10 @@ public final class PackedDecimal {
 			int resultPrecision, byte[] op1Decimal, int op1Offset,
 			int op1Precision, byte[] op2Decimal, int op2Offset,
 			int op2Precision, boolean checkOverflow) throws ArithmeticException {
+		if (addLanes(result, resultOffset, resultPrecision, op1Decimal, op1Offset,
+				op1Precision, op2Decimal, op2Offset, op2Precision, true, checkOverflow)) {
+			return;
+		}
 
 		PackedDecimalOperand sum = sum_threadLocal.get();
 		PackedDecimalOperand op1 = op1_threadLocal.get();
@@ -414,6 +509,132 @@ public final class PackedDecimal {
 		byteArray[offset + byteLen - 1] = CommonData.PACKED_PLUS;
 	}
 
+	/*
+	 * Operands of up to PackedDigits.MAX_LANE_PRECISION digits are added and subtracted as two binary words:
+	 * the high order digits and the low order 15 digits, each converted eight bytes at a time. Operands with
+	 * invalid digits are left to the byte-wise implementation so that their results do not change.
+	 */
+
+	private static boolean isLanePrecision(int precision) {
+		return (precision >= 1) && (precision <= PackedDigits.MAX_LANE_PRECISION);
+	}
+
+	private static int lowWordOffset(int offset, int precision) {
+		return Math.max(offset, offset + (precision / 2) - 7);
+	}
+
+	/**
+	 * @return the binary value of the digits above the low order 15, or -1 if one of them is invalid
+	 */
+	private static long highWord(byte[] decimal, int offset, int precision) {
+		long digits = PackedDigits.read(decimal, offset, lowWordOffset(offset, precision) - offset);
+		return PackedDigits.isValid(digits) ? PackedDigits.toBinary(digits) : -1;
+	}
+
+	/**
+	 * @return the binary value of the low order 15 digits, or -1 if one of them is invalid
+	 */
+	private static long lowWord(byte[] decimal, int offset, int precision) {
+		int lowOffset = lowWordOffset(offset, precision);
+		long digits = PackedDigits.read(decimal, lowOffset, offset + (precision / 2) + 1 - lowOffset) >>> 4;
+		return PackedDigits.isValid(digits) ? PackedDigits.toBinary(digits) : -1;
+	}
+
+	private static boolean isMinus(byte[] decimal, int offset, int precision) {
+		return CommonData.getSign(decimal[offset + (precision / 2)] & CommonData.LOWER_NIBBLE_MASK) == CommonData.PACKED_MINUS;
+	}
+
+	private static int compareMagnitudes(long op1High, long op1Low, long op2High, long op2Low) {
+		if (op1High != op2High) {
+			return (op1High > op2High) ? 1 : -1;
+		}
+		return Long.compare(op1Low, op2Low);
+	}
+
+	/**
+	 * Adds or subtracts two Packed Decimals as binary words.
+	 *
+	 * @return false if the operands or the result are not eligible, in which case nothing has been stored
+	 */
+	private static boolean addLanes(byte[] result, int resultOffset, int resultPrecision,
+			byte[] op1Decimal, int op1Offset, int op1Precision,
+			byte[] op2Decimal, int op2Offset, int op2Precision,
+			boolean subtract, boolean checkOverflow) throws ArithmeticException {
+		if (!isLanePrecision(resultPrecision) || !isLanePrecision(op1Precision) || !isLanePrecision(op2Precision)) {
+			return false;
+		}
+		long op1High = highWord(op1Decimal, op1Offset, op1Precision);
+		long op1Low = lowWord(op1Decimal, op1Offset, op1Precision);
+		long op2High = highWord(op2Decimal, op2Offset, op2Precision);
+		long op2Low = lowWord(op2Decimal, op2Offset, op2Precision);
+		if ((op1High | op1Low | op2High | op2Low) < 0) {
+			return false;
+		}
+		boolean op1Minus = isMinus(op1Decimal, op1Offset, op1Precision);
+		boolean op2Minus = isMinus(op2Decimal, op2Offset, op2Precision) != subtract;
+
+		long high;
+		long low;
+		boolean minus;
+		if (op1Minus == op2Minus) {
+			high = op1High + op2High;
+			low = op1Low + op2Low;
+			if (low >= PackedDigits.LOW_WORD_RADIX) {
+				low -= PackedDigits.LOW_WORD_RADIX;
+				high += 1;
+			}
+			minus = op1Minus;
+		} else {
+			int comparison = compareMagnitudes(op1High, op1Low, op2High, op2Low);
+			if (comparison == 0) {
+				setPackedZero(result, resultOffset, resultPrecision);
+				return true;
+			} else if (comparison > 0) {
+				high = op1High - op2High;
+				low = op1Low - op2Low;
+				minus = op1Minus;
+			} else {
+				high = op2High - op1High;
+				low = op2Low - op1Low;
+				minus = op2Minus;
+			}
+			if (low < 0) {
+				low += PackedDigits.LOW_WORD_RADIX;
+				high -= 1;
+			}
+		}
+
+		// drop the digits which do not fit in the result
+		if (resultPrecision > 15) {
+			long limit = PackedDigits.POWERS_OF_TEN[resultPrecision - 15];
+			if (high >= limit) {
+				if (checkOverflow) {
+					throw new ArithmeticException(subtract
+							? "Decimal overflow in subtractPackedDecimal"
+							: "Decimal overflow in addPackedDecimal.");
+				}
+				high %= limit;
+			}
+		} else {
+			long limit = PackedDigits.POWERS_OF_TEN[resultPrecision];
+			if ((high != 0) || (low >= limit)) {
+				if (checkOverflow) {
+					throw new ArithmeticException(subtract
+							? "Decimal overflow in subtractPackedDecimal"
+							: "Decimal overflow in addPackedDecimal.");
+				}
+				high = 0;
+				low %= limit;
+			}
+		}
+
+		int resultLowOffset = lowWordOffset(resultOffset, resultPrecision);
+		PackedDigits.write(PackedDigits.toPacked(high), result, resultOffset, resultLowOffset - resultOffset);
+		PackedDigits.write((PackedDigits.toPacked(low) << 4) | (minus ? CommonData.PACKED_MINUS : CommonData.PACKED_PLUS),
+				result, resultLowOffset, resultOffset + (resultPrecision / 2) + 1 - resultLowOffset);
+		return true;
+	}
+
 	private static void computeSum(PackedDecimalOperand op1,
 			PackedDecimalOperand op2, boolean checkOverflow)
 			throws ArithmeticException {
@@ -0,0 +1,273 @@
+/*[INCLUDE-IF DAA]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dataaccess;
+
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+
+/**
+ * Conversions of Packed Decimal digits which treat a long as a vector of sixteen nibbles,
+ * eight bytes, four shorts or two ints, so that eight bytes of a Packed Decimal are handled
+ * by a few multiplies and masks instead of one table lookup per byte. The bytes are loaded
+ * and stored as whole words through byte array views, which the JIT reduces to single
+ * (byte swapping on little endian platforms) loads and stores.
+ *
+ * @author IBM
+ * @version $Revision$ on $Date$
+ */
+final class PackedDigits {
+
+	/**
+	 * Largest precision handled by the arithmetic fast paths: the value is held as a high word of
+	 * up to 16 digits and a low word of 15 digits.
+	 */
+	static final int MAX_LANE_PRECISION = 31;
+
+	/** Radix of the low word of a value of up to {@link #MAX_LANE_PRECISION} digits */
+	static final long LOW_WORD_RADIX = 1_000_000_000_000_000L;
+
+	static final long[] POWERS_OF_TEN = {
+		1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+		1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+		10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+		10_000_000_000_000_000L
+	};
+
+	private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+	private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+	private static final long SIXES = 0x0606060606060606L;
+	private static final long LOW_BYTES = 0x00FF00FF00FF00FFL;
+	private static final long LOW_SHORTS = 0x0000FFFF0000FFFFL;
+	private static final long LOW_INT = 0x00000000FFFFFFFFL;
+
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+
+	private PackedDigits() {
+		super();
+	}
+
+	/**
+	 * Converts sixteen packed digits to binary. Invalid digits are weighted like valid ones, so the result
+	 * is the same as accumulating <code>value * 100 + CommonData.getPackedToBinaryValues(byte)</code>.
+	 *
+	 * @param packed
+	 *            eight bytes of a Packed Decimal in big endian order
+	 * @return the binary value
+	 */
+	static long toBinary(long packed) {
+		packed = (packed & LOW_NIBBLES) + (((packed >>> 4) & LOW_NIBBLES) * 10);
+		packed = (packed & LOW_BYTES) + (((packed >>> 8) & LOW_BYTES) * 100);
+		packed = (packed & LOW_SHORTS) + (((packed >>> 16) & LOW_SHORTS) * 10_000);
+		return (packed & LOW_INT) + ((packed >>> 32) * 100_000_000);
+	}
+
+	/**
+	 * Converts the digits of a range of Packed Decimal bytes which holds no sign to binary, eight bytes at a time.
+	 * The result wraps like the byte by byte accumulation does if there are more than 18 digits.
+	 *
+	 * @param bytes
+	 *            byte array holding the digits
+	 * @param from
+	 *            offset of the first byte
+	 * @param to
+	 *            offset following the last byte
+	 * @return the binary value
+	 */
+	static long toBinary(byte[] bytes, int from, int to) {
+		if (from >= to) {
+			return 0;
+		}
+		int head = (to - from) & 7;
+		long value = toBinary(read(bytes, from, head));
+		for (int i = from + head; i < to; i += 8) {
+			value = (value * 10_000_000_000_000_000L) + toBinary(readLong(bytes, i));
+		}
+		return value;
+	}
+
+	/**
+	 * @param packed
+	 *            eight bytes of a Packed Decimal in big endian order
+	 * @return true if none of the sixteen nibbles is greater than 9
+	 */
+	static boolean isValid(long packed) {
+		long low = (packed & LOW_NIBBLES) + SIXES;
+		long high = ((packed >>> 4) & LOW_NIBBLES) + SIXES;
+		return ((low | high) & HIGH_NIBBLES) == 0;
+	}
+
+	/**
+	 * Converts a binary value to sixteen packed digits.
+	 *
+	 * @param value
+	 *            value between 0 and 10<sup>16</sup> - 1
+	 * @return eight bytes of a Packed Decimal in big endian order
+	 */
+	static long toPacked(long value) {
+		if (value < 100_000_000) {
+			return toPacked((int) value) & LOW_INT;
+		}
+		return ((long) toPacked((int) (value / 100_000_000)) << 32)
+				| (toPacked((int) (value % 100_000_000)) & LOW_INT);
+	}
+
+	/**
+	 * Converts a binary value to eight packed digits. The divisions by 100 and 10 are done by
+	 * multiplying each lane by a reciprocal, which is exact over the range of the lane.
+	 *
+	 * @param value
+	 *            value between 0 and 10<sup>8</sup> - 1
+	 * @return four bytes of a Packed Decimal in big endian order
+	 */
+	private static int toPacked(int value) {
+		// two groups of four digits in 32 bit lanes
+		long lanes = ((long) (value / 10_000) << 32) | (value % 10_000);
+		// four groups of two digits in 16 bit lanes: lane / 100 == (lane * 10486) >>> 20 for lane < 10^4
+		long quotients = ((lanes * 10486) >>> 20) & 0x0000007F0000007FL;
+		lanes = (quotients << 16) | (lanes - (quotients * 100));
+		// eight digits in 8 bit lanes: lane / 10 == (lane * 103) >>> 10 for lane < 100
+		quotients = ((lanes * 103) >>> 10) & 0x000F000F000F000FL;
+		lanes = (quotients << 8) | (lanes - (quotients * 10));
+		// pack each pair of digits into a byte and gather the bytes
+		lanes = (lanes | (lanes >>> 4)) & LOW_BYTES;
+		lanes = (lanes | (lanes >>> 8)) & LOW_SHORTS;
+		return (int) (lanes | (lanes >>> 16));
+	}
+
+	/**
+	 * Converts eight packed digits to External Decimal digits with the zone nibble set to 0xF.
+	 *
+	 * @param packed
+	 *            four bytes of a Packed Decimal in big endian order
+	 * @return eight bytes of an External Decimal in big endian order
+	 */
+	static long toZoned(int packed) {
+		long digits = packed & LOW_INT;
+		digits = (digits | (digits << 16)) & LOW_SHORTS;
+		digits = (digits | (digits << 8)) & LOW_BYTES;
+		return ((digits | (digits << 4)) & LOW_NIBBLES) | HIGH_NIBBLES;
+	}
+
+	/**
+	 * Converts eight External Decimal digits to packed digits, ignoring the zone nibbles.
+	 *
+	 * @param zoned
+	 *            eight bytes of an External Decimal in big endian order
+	 * @return four bytes of a Packed Decimal in big endian order
+	 */
+	static int fromZoned(long zoned) {
+		long digits = zoned & LOW_NIBBLES;
+		digits = (digits | (digits >>> 4)) & LOW_BYTES;
+		digits = (digits | (digits >>> 8)) & LOW_SHORTS;
+		return (int) (digits | (digits >>> 16));
+	}
+
+	/**
+	 * Loads up to eight bytes in big endian order. Fewer than eight bytes are loaded as the word
+	 * which ends with them if the array holds enough bytes before them.
+	 *
+	 * @param bytes
+	 *            byte array to read
+	 * @param offset
+	 *            offset of the first byte
+	 * @param length
+	 *            number of bytes, between 0 and 8
+	 * @return the bytes, zero extended
+	 */
+	static long read(byte[] bytes, int offset, int length) {
+		if (length == 8) {
+			return readLong(bytes, offset);
+		}
+		int end = offset + length;
+		if (end >= 8) {
+			return readLong(bytes, end - 8) & ((1L << (length << 3)) - 1);
+		}
+		long value = 0;
+		for (int i = offset; i < end; ++i) {
+			value = (value << 8) | (bytes[i] & 0xFF);
+		}
+		return value;
+	}
+
+	/**
+	 * Stores the low order bytes of a long in big endian order.
+	 *
+	 * @param value
+	 *            bytes to store
+	 * @param bytes
+	 *            byte array to write
+	 * @param offset
+	 *            offset of the first byte
+	 * @param length
+	 *            number of bytes, between 0 and 8
+	 */
+	static void write(long value, byte[] bytes, int offset, int length) {
+		if (length == 8) {
+			writeLong(value, bytes, offset);
+		} else {
+			for (int i = offset + length - 1; i >= offset; --i) {
+				bytes[i] = (byte) value;
+				value >>>= 8;
+			}
+		}
+	}
+
+	static long readLong(byte[] bytes, int offset) {
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+		return (long) LONGS.get(bytes, offset);
+/*[ELSE] JAVA_SPEC_VERSION >= 9 */
+		return ByteArrayUnmarshaller.readLong(bytes, offset, true);
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+	}
+
+	static int readInt(byte[] bytes, int offset) {
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+		return (int) INTS.get(bytes, offset);
+/*[ELSE] JAVA_SPEC_VERSION >= 9 */
+		return ByteArrayUnmarshaller.readInt(bytes, offset, true);
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+	}
+
+	static void writeLong(long value, byte[] bytes, int offset) {
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+		LONGS.set(bytes, offset, value);
+/*[ELSE] JAVA_SPEC_VERSION >= 9 */
+		ByteArrayMarshaller.writeLong(value, bytes, offset, true);
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+	}
+
+	static void writeInt(int value, byte[] bytes, int offset) {
+/*[IF JAVA_SPEC_VERSION >= 9]*/
+		INTS.set(bytes, offset, value);
+/*[ELSE] JAVA_SPEC_VERSION >= 9 */
+		ByteArrayMarshaller.writeInt(value, bytes, offset, true);
+/*[ENDIF] JAVA_SPEC_VERSION >= 9 */
+	}
+
+}
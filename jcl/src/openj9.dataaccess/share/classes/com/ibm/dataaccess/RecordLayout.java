@@ -0,0 +1,874 @@
+/*[INCLUDE-IF DAA]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dataaccess;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A compiled layout of fixed-length records, such as the records described by a COBOL copybook, which decodes and
+ * encodes the fields of whole records, or of many consecutive records, in one call.
+ *
+ * <p>
+ * A layout is described once with a {@link Builder}, giving the offset of each field in the record. Fields are
+ * numbered in the order they are added. Decoding stores each field of each record in a column, an array with one
+ * element per record, and encoding stores the elements of the columns in the records. The type of the column of a
+ * field, given by {@link #getColumnType(int)}, is:
+ * </p>
+ * <ul>
+ * <li><code>int[]</code> for Packed and External Decimal fields of up to 9 digits, holding the unscaled values, and for
+ * signed binary fields of up to 4 bytes and unsigned binary fields of up to 2 bytes</li>
+ * <li><code>long[]</code> for Packed and External Decimal fields of 10 to 18 digits, holding the unscaled values, and
+ * for the other binary fields</li>
+ * <li><code>BigDecimal[]</code> for Packed and External Decimal fields of more than 18 digits, with the scale of the
+ * field</li>
+ * <li><code>String[]</code> for text fields</li>
+ * </ul>
+ *
+ * <p>
+ * The records accessed by a call are bounds checked once, rather than once per field. Decimal digits and signs are not
+ * validated when decoding; records of unknown quality can be checked with
+ * {@link PackedDecimal#checkPackedDecimal(byte[], int, int)} and
+ * {@link ExternalDecimal#checkExternalDecimal(byte[], int, int, int, int)}. A column may be null, in which case its
+ * field is skipped.
+ * </p>
+ *
+ * <p>
+ * A layout is immutable and can be used by several threads at the same time. The parallel variants of decode and
+ * encode split large batches of records between the threads of the common fork join pool.
+ * </p>
+ *
+ * @author IBM
+ * @version $Revision$ on $Date$
+ */
+public final class RecordLayout {
+
+	/** Smallest number of records decoded or encoded by one task of the parallel variants */
+	private static final int PARALLEL_CHUNK_RECORDS = 4096;
+
+	/** Number of bytes of a direct buffer copied at a time */
+	private static final int BUFFER_CHUNK_BYTES = 64 * 1024;
+
+	private final Field[] fields;
+	private final int recordLength;
+
+	private RecordLayout(Field[] fields, int recordLength) {
+		super();
+		this.fields = fields;
+		this.recordLength = recordLength;
+	}
+
+	/**
+	 * Describes the fields of a {@link RecordLayout}.
+	 */
+	public static final class Builder {
+
+		private final List<Field> fields = new ArrayList<>();
+		private int recordLength = -1;
+
+		/**
+		 * Creates a builder of a layout with no fields.
+		 */
+		public Builder() {
+			super();
+		}
+
+		/**
+		 * Adds a Packed Decimal field.
+		 *
+		 * @param offset
+		 *            offset of the field in the record
+		 * @param precision
+		 *            number of Packed Decimal digits. Maximum valid precision is 253
+		 * @param scale
+		 *            scale of the decimal values, applied to the values of <code>BigDecimal[]</code> columns
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException
+		 *             if <code>offset</code> is negative or <code>precision</code> is invalid
+		 */
+		public Builder packedDecimal(int offset, int precision, int scale) {
+			checkPrecision(precision);
+			return add(new DecimalField(offset, precision, scale, 0));
+		}
+
+		/**
+		 * Adds an External Decimal field.
+		 *
+		 * @param offset
+		 *            offset of the field in the record
+		 * @param precision
+		 *            number of decimal digits. Maximum valid precision is 253
+		 * @param scale
+		 *            scale of the decimal values, applied to the values of <code>BigDecimal[]</code> columns
+		 * @param decimalType
+		 *            constant value indicating the type of External Decimal, one of
+		 *            {@link DecimalData#EBCDIC_SIGN_EMBEDDED_TRAILING}, {@link DecimalData#EBCDIC_SIGN_EMBEDDED_LEADING},
+		 *            {@link DecimalData#EBCDIC_SIGN_SEPARATE_TRAILING} and {@link DecimalData#EBCDIC_SIGN_SEPARATE_LEADING}
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException
+		 *             if <code>offset</code> is negative or <code>precision</code> or <code>decimalType</code> is
+		 *             invalid
+		 */
+		public Builder externalDecimal(int offset, int precision, int scale, int decimalType) {
+			checkPrecision(precision);
+			if (decimalType < DecimalData.EXTERNAL_DECIMAL_MIN || decimalType > DecimalData.EXTERNAL_DECIMAL_MAX)
+				throw new IllegalArgumentException("Invalid decimalType.");
+			return add(new DecimalField(offset, precision, scale, decimalType));
+		}
+
+		/**
+		 * Adds a binary integer field.
+		 *
+		 * @param offset
+		 *            offset of the field in the record
+		 * @param size
+		 *            number of bytes in the field: 1, 2, 4 or 8
+		 * @param bigEndian
+		 *            if false the bytes are in reverse (little endian) order
+		 * @param signed
+		 *            if true the field holds a two's complement signed integer, otherwise an unsigned integer
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException
+		 *             if <code>offset</code> is negative or <code>size</code> is invalid
+		 */
+		public Builder binary(int offset, int size, boolean bigEndian, boolean signed) {
+			if (size != 1 && size != 2 && size != 4 && size != 8)
+				throw new IllegalArgumentException("size == " + size);
+			return add(new BinaryField(offset, size, bigEndian, signed));
+		}
+
+		/**
+		 * Adds a text field. Decoded values hold all the characters of the field, including any padding. Encoded values
+		 * shorter than the field are padded on the right with spaces.
+		 *
+		 * @param offset
+		 *            offset of the field in the record
+		 * @param length
+		 *            number of bytes in the field
+		 * @param charset
+		 *            single byte charset of the text, for example <code>Charset.forName("IBM1047")</code> for EBCDIC
+		 *            text
+		 *
+		 * @return this builder
+		 *
+		 * @throws NullPointerException
+		 *             if <code>charset</code> is null
+		 * @throws IllegalArgumentException
+		 *             if <code>offset</code> is negative or <code>length</code> is less than 1
+		 */
+		public Builder text(int offset, int length, Charset charset) {
+			if (length < 1)
+				throw new IllegalArgumentException("length == " + length);
+			return add(new TextField(offset, length, charset));
+		}
+
+		/**
+		 * Sets the length of the records. By default, the records end with the last byte of the field which ends last.
+		 *
+		 * @param length
+		 *            number of bytes in a record
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException
+		 *             if <code>length</code> is less than 1
+		 */
+		public Builder recordLength(int length) {
+			if (length < 1)
+				throw new IllegalArgumentException("length == " + length);
+			recordLength = length;
+			return this;
+		}
+
+		/**
+		 * Compiles the layout.
+		 *
+		 * @return a layout of the fields added to this builder
+		 *
+		 * @throws IllegalArgumentException
+		 *             if no field has been added or a field does not lie within the record length
+		 */
+		public RecordLayout build() {
+			if (fields.isEmpty())
+				throw new IllegalArgumentException("A record layout needs at least one field.");
+
+			int end = 0;
+			for (Field field : fields) {
+				end = Math.max(end, field.offset + field.length);
+			}
+			if (recordLength < 0) {
+				return new RecordLayout(fields.toArray(new Field[fields.size()]), end);
+			}
+			if (end > recordLength)
+				throw new IllegalArgumentException("Record length " + recordLength + " is less than the end of the fields " + end + ".");
+			return new RecordLayout(fields.toArray(new Field[fields.size()]), recordLength);
+		}
+
+		private Builder add(Field field) {
+			if (field.offset < 0)
+				throw new IllegalArgumentException("Offset must be non-negative integer.");
+			if (field.length > (Integer.MAX_VALUE - field.offset))
+				throw new IllegalArgumentException("Field at offset " + field.offset + " is too long.");
+			fields.add(field);
+			return this;
+		}
+
+		private static void checkPrecision(int precision) {
+			if (precision < 1 || precision > 253)
+				throw new IllegalArgumentException("Illegal Precision.");
+		}
+	}
+
+	/**
+	 * @return the number of bytes in a record
+	 */
+	public int getRecordLength() {
+		return recordLength;
+	}
+
+	/**
+	 * @return the number of fields in a record
+	 */
+	public int getFieldCount() {
+		return fields.length;
+	}
+
+	/**
+	 * @param field
+	 *            number of the field
+	 * @return the type of the column of the field: <code>int[].class</code>, <code>long[].class</code>,
+	 *         <code>BigDecimal[].class</code> or <code>String[].class</code>
+	 *
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if there is no such field
+	 */
+	public Class<?> getColumnType(int field) {
+		return fields[field].columnType();
+	}
+
+	/**
+	 * Creates a column for each field.
+	 *
+	 * @param records
+	 *            number of elements in each column
+	 * @return an array of columns, indexed by field number
+	 *
+	 * @throws NegativeArraySizeException
+	 *             if <code>records</code> is negative
+	 */
+	public Object[] newColumns(int records) {
+		Object[] columns = new Object[fields.length];
+		for (int i = 0; i < fields.length; ++i) {
+			columns[i] = Array.newInstance(fields[i].columnType().getComponentType(), records);
+		}
+		return columns;
+	}
+
+	/**
+	 * Decodes consecutive records of a byte array into columns.
+	 *
+	 * @param data
+	 *            byte array holding the records
+	 * @param offset
+	 *            offset of the first record in <code>data</code>
+	 * @param records
+	 *            number of records to decode
+	 * @param columns
+	 *            array of columns, indexed by field number. A null column skips its field.
+	 * @param columnOffset
+	 *            index in the columns of the values of the first record
+	 *
+	 * @throws NullPointerException
+	 *             if <code>data</code> or <code>columns</code> is null
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the records do not lie within <code>data</code> or the values do not lie within the columns
+	 * @throws IllegalArgumentException
+	 *             if the number or types of the columns do not match the fields
+	 */
+	public void decode(byte[] data, int offset, int records, Object[] columns, int columnOffset) {
+		checkRecords(data.length, offset, records, "decode");
+		checkColumns(columns, columnOffset, records);
+
+		decode_(data, offset, records, columns, columnOffset);
+	}
+
+	/**
+	 * Decodes consecutive records of a byte array into columns, as {@link #decode(byte[], int, int, Object[], int)}
+	 * does, splitting large batches of records between several threads.
+	 *
+	 * @param data
+	 *            byte array holding the records
+	 * @param offset
+	 *            offset of the first record in <code>data</code>
+	 * @param records
+	 *            number of records to decode
+	 * @param columns
+	 *            array of columns, indexed by field number. A null column skips its field.
+	 * @param columnOffset
+	 *            index in the columns of the values of the first record
+	 *
+	 * @throws NullPointerException
+	 *             if <code>data</code> or <code>columns</code> is null
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the records do not lie within <code>data</code> or the values do not lie within the columns
+	 * @throws IllegalArgumentException
+	 *             if the number or types of the columns do not match the fields
+	 */
+	public void decodeParallel(byte[] data, int offset, int records, Object[] columns, int columnOffset) {
+		checkRecords(data.length, offset, records, "decodeParallel");
+		checkColumns(columns, columnOffset, records);
+
+		if (records < (2 * PARALLEL_CHUNK_RECORDS)) {
+			decode_(data, offset, records, columns, columnOffset);
+		} else {
+			IntStream.range(0, chunks(records)).parallel().forEach(chunk -> {
+				int first = chunk * PARALLEL_CHUNK_RECORDS;
+				decode_(data, offset + (first * recordLength), Math.min(PARALLEL_CHUNK_RECORDS, records - first),
+						columns, columnOffset + first);
+			});
+		}
+	}
+
+	/**
+	 * Decodes consecutive records of a ByteBuffer into columns, as {@link #decode(byte[], int, int, Object[], int)}
+	 * does for a byte array. The records of a direct buffer are copied to the heap a few at a time. The position and
+	 * limit of the buffer are not changed.
+	 *
+	 * @param data
+	 *            buffer holding the records
+	 * @param index
+	 *            index of the first record in <code>data</code>
+	 * @param records
+	 *            number of records to decode
+	 * @param columns
+	 *            array of columns, indexed by field number. A null column skips its field.
+	 * @param columnOffset
+	 *            index in the columns of the values of the first record
+	 *
+	 * @throws NullPointerException
+	 *             if <code>data</code> or <code>columns</code> is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the records do not lie below the limit of <code>data</code> or the values do not lie within the
+	 *             columns
+	 * @throws IllegalArgumentException
+	 *             if the number or types of the columns do not match the fields
+	 */
+	public void decode(ByteBuffer data, int index, int records, Object[] columns, int columnOffset) {
+		checkRecords(data.limit(), index, records, "decode");
+		checkColumns(columns, columnOffset, records);
+
+		if (data.hasArray()) {
+			decode_(data.array(), data.arrayOffset() + index, records, columns, columnOffset);
+			return;
+		}
+
+		int chunkRecords = Math.max(1, BUFFER_CHUNK_BYTES / recordLength);
+		byte[] chunk = new byte[Math.min(records, chunkRecords) * recordLength];
+		ByteBuffer view = data.duplicate();
+		view.position(index);
+		for (int done = 0; done < records; done += chunkRecords) {
+			int count = Math.min(chunkRecords, records - done);
+			view.get(chunk, 0, count * recordLength);
+			decode_(chunk, 0, count, columns, columnOffset + done);
+		}
+	}
+
+	/**
+	 * Encodes columns into consecutive records of a byte array. The bytes of the records which are not part of a field,
+	 * or whose field has a null column, are not changed.
+	 *
+	 * @param columns
+	 *            array of columns, indexed by field number. A null column skips its field.
+	 * @param columnOffset
+	 *            index in the columns of the values of the first record
+	 * @param records
+	 *            number of records to encode
+	 * @param data
+	 *            byte array that will hold the records
+	 * @param offset
+	 *            offset of the first record in <code>data</code>
+	 * @param checkOverflow
+	 *            if true an <code>ArithmeticException</code> will be thrown if a value does not fit in its field, and
+	 *            an <code>IllegalArgumentException</code> if a text value is longer than its field. If false, such
+	 *            values are truncated.
+	 *
+	 * @throws NullPointerException
+	 *             if <code>data</code>, <code>columns</code> or an element of a <code>BigDecimal[]</code> or
+	 *             <code>String[]</code> column is null
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the records do not lie within <code>data</code> or the values do not lie within the columns
+	 * @throws IllegalArgumentException
+	 *             if the number or types of the columns do not match the fields
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and a value does not fit in its field, or if a
+	 *             <code>BigDecimal</code> value cannot be represented with the scale of its field
+	 */
+	public void encode(Object[] columns, int columnOffset, int records, byte[] data, int offset, boolean checkOverflow) {
+		checkRecords(data.length, offset, records, "encode");
+		checkColumns(columns, columnOffset, records);
+
+		encode_(columns, columnOffset, records, data, offset, checkOverflow);
+	}
+
+	/**
+	 * Encodes columns into consecutive records of a byte array, as
+	 * {@link #encode(Object[], int, int, byte[], int, boolean)} does, splitting large batches of records between several
+	 * threads.
+	 *
+	 * @param columns
+	 *            array of columns, indexed by field number. A null column skips its field.
+	 * @param columnOffset
+	 *            index in the columns of the values of the first record
+	 * @param records
+	 *            number of records to encode
+	 * @param data
+	 *            byte array that will hold the records
+	 * @param offset
+	 *            offset of the first record in <code>data</code>
+	 * @param checkOverflow
+	 *            if true an exception will be thrown if a value does not fit in its field, otherwise such values are
+	 *            truncated
+	 *
+	 * @throws NullPointerException
+	 *             if <code>data</code>, <code>columns</code> or an element of a <code>BigDecimal[]</code> or
+	 *             <code>String[]</code> column is null
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the records do not lie within <code>data</code> or the values do not lie within the columns
+	 * @throws IllegalArgumentException
+	 *             if the number or types of the columns do not match the fields
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and a value does not fit in its field, or if a
+	 *             <code>BigDecimal</code> value cannot be represented with the scale of its field
+	 */
+	public void encodeParallel(Object[] columns, int columnOffset, int records, byte[] data, int offset, boolean checkOverflow) {
+		checkRecords(data.length, offset, records, "encodeParallel");
+		checkColumns(columns, columnOffset, records);
+
+		if (records < (2 * PARALLEL_CHUNK_RECORDS)) {
+			encode_(columns, columnOffset, records, data, offset, checkOverflow);
+		} else {
+			IntStream.range(0, chunks(records)).parallel().forEach(chunk -> {
+				int first = chunk * PARALLEL_CHUNK_RECORDS;
+				encode_(columns, columnOffset + first, Math.min(PARALLEL_CHUNK_RECORDS, records - first),
+						data, offset + (first * recordLength), checkOverflow);
+			});
+		}
+	}
+
+	/**
+	 * Encodes columns into consecutive records of a ByteBuffer, as
+	 * {@link #encode(Object[], int, int, byte[], int, boolean)} does for a byte array. The records of a direct buffer
+	 * are encoded on the heap a few at a time. The position and limit of the buffer are not changed.
+	 *
+	 * @param columns
+	 *            array of columns, indexed by field number. A null column skips its field.
+	 * @param columnOffset
+	 *            index in the columns of the values of the first record
+	 * @param records
+	 *            number of records to encode
+	 * @param data
+	 *            buffer that will hold the records
+	 * @param index
+	 *            index of the first record in <code>data</code>
+	 * @param checkOverflow
+	 *            if true an exception will be thrown if a value does not fit in its field, otherwise such values are
+	 *            truncated
+	 *
+	 * @throws NullPointerException
+	 *             if <code>data</code>, <code>columns</code> or an element of a <code>BigDecimal[]</code> or
+	 *             <code>String[]</code> column is null
+	 * @throws IndexOutOfBoundsException
+	 *             if the records do not lie below the limit of <code>data</code> or the values do not lie within the
+	 *             columns
+	 * @throws ReadOnlyBufferException
+	 *             if <code>data</code> is read-only
+	 * @throws IllegalArgumentException
+	 *             if the number or types of the columns do not match the fields
+	 * @throws ArithmeticException
+	 *             if <code>checkOverflow</code> is true and a value does not fit in its field, or if a
+	 *             <code>BigDecimal</code> value cannot be represented with the scale of its field
+	 */
+	public void encode(Object[] columns, int columnOffset, int records, ByteBuffer data, int index, boolean checkOverflow) {
+		if (data.isReadOnly())
+			throw new ReadOnlyBufferException();
+		checkRecords(data.limit(), index, records, "encode");
+		checkColumns(columns, columnOffset, records);
+
+		if (data.hasArray()) {
+			encode_(columns, columnOffset, records, data.array(), data.arrayOffset() + index, checkOverflow);
+			return;
+		}
+
+		int chunkRecords = Math.max(1, BUFFER_CHUNK_BYTES / recordLength);
+		byte[] chunk = new byte[Math.min(records, chunkRecords) * recordLength];
+		ByteBuffer source = data.duplicate();
+		ByteBuffer destination = data.duplicate();
+		source.position(index);
+		destination.position(index);
+		for (int done = 0; done < records; done += chunkRecords) {
+			int count = Math.min(chunkRecords, records - done);
+			// the bytes outside the fields are written back unchanged
+			source.get(chunk, 0, count * recordLength);
+			encode_(columns, columnOffset + done, count, chunk, 0, checkOverflow);
+			destination.put(chunk, 0, count * recordLength);
+		}
+	}
+
+	private void decode_(byte[] data, int offset, int records, Object[] columns, int columnOffset) {
+		for (int i = 0; i < fields.length; ++i) {
+			if (columns[i] != null) {
+				fields[i].decode(data, offset, recordLength, records, columns[i], columnOffset);
+			}
+		}
+	}
+
+	private void encode_(Object[] columns, int columnOffset, int records, byte[] data, int offset, boolean checkOverflow) {
+		for (int i = 0; i < fields.length; ++i) {
+			if (columns[i] != null) {
+				fields[i].encode(columns[i], columnOffset, records, data, offset, recordLength, checkOverflow);
+			}
+		}
+	}
+
+	private static int chunks(int records) {
+		return (records + PARALLEL_CHUNK_RECORDS - 1) / PARALLEL_CHUNK_RECORDS;
+	}
+
+	private void checkRecords(int length, int offset, int records, String method) {
+		// compare record counts rather than byte counts, which may overflow
+		if ((offset < 0) || (records < 0) || (offset > length) || (records > ((length - offset) / recordLength)))
+			throw new ArrayIndexOutOfBoundsException("Array access index out of bounds. " +
+					method + " is trying to access " + records + " records of " + recordLength + " bytes from index " + offset + ", " +
+					" but valid indices are from 0 to " + (length - 1) + ".");
+	}
+
+	private void checkColumns(Object[] columns, int columnOffset, int records) {
+		if (columns.length != fields.length)
+			throw new IllegalArgumentException("The layout has " + fields.length + " fields but there are " + columns.length + " columns.");
+
+		for (int i = 0; i < fields.length; ++i) {
+			Object column = columns[i];
+			if (column == null)
+				continue;
+			if (!fields[i].columnType().isInstance(column))
+				throw new IllegalArgumentException("The column of field " + i + " must be a " + fields[i].columnType().getSimpleName() + ".");
+			int length = Array.getLength(column);
+			if ((columnOffset < 0) || (columnOffset > (length - records)))
+				throw new ArrayIndexOutOfBoundsException("Array access index out of bounds. " +
+						"The column of field " + i + " is accessed from index " + columnOffset + " to index " + (columnOffset + records - 1) + ", " +
+						" but valid indices are from 0 to " + (length - 1) + ".");
+		}
+	}
+
+	/**
+	 * A field of a record. The bounds of the records and the types and bounds of the columns are checked by the
+	 * caller.
+	 */
+	private static abstract class Field {
+		final int offset;
+		final int length;
+
+		Field(int offset, int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+
+		abstract Class<?> columnType();
+
+		abstract void decode(byte[] data, int start, int recordLength, int records, Object column, int columnOffset);
+
+		abstract void encode(Object column, int columnOffset, int records, byte[] data, int start, int recordLength, boolean checkOverflow);
+	}
+
+	/**
+	 * A Packed Decimal field, or an External Decimal field which is converted through a Packed Decimal as the JIT
+	 * accelerated conversions of DecimalData are.
+	 */
+	private static final class DecimalField extends Field {
+		private final int precision;
+		private final int scale;
+		/** External Decimal type, or 0 for Packed Decimal */
+		private final int decimalType;
+
+		DecimalField(int offset, int precision, int scale, int decimalType) {
+			super(offset, (decimalType == 0)
+					? CommonData.getPackedByteCount(precision)
+					: CommonData.getExternalByteCounts(precision, decimalType));
+			this.precision = precision;
+			this.scale = scale;
+			this.decimalType = decimalType;
+		}
+
+		@Override
+		Class<?> columnType() {
+			if (precision <= 9)
+				return int[].class;
+			if (precision <= 18)
+				return long[].class;
+			return BigDecimal[].class;
+		}
+
+		@Override
+		void decode(byte[] data, int start, int recordLength, int records, Object column, int columnOffset) {
+			boolean external = decimalType != 0;
+			byte[] packed = external ? new byte[CommonData.getPackedByteCount(precision)] : data;
+			int position = start + offset;
+
+			if (precision <= 9) {
+				int[] values = (int[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					int packedOffset = toPacked(data, position, packed);
+					values[columnOffset + i] = DecimalData.convertPackedDecimalToInteger_(packed, packedOffset, precision, false);
+				}
+			} else if (precision <= 18) {
+				long[] values = (long[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					int packedOffset = toPacked(data, position, packed);
+					values[columnOffset + i] = DecimalData.convertPackedDecimalToLong_(packed, packedOffset, precision, false);
+				}
+			} else {
+				BigDecimal[] values = (BigDecimal[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					int packedOffset = toPacked(data, position, packed);
+					values[columnOffset + i] = DecimalData.convertPackedDecimalToBigDecimal(packed, packedOffset, precision, scale, false);
+				}
+			}
+		}
+
+		@Override
+		void encode(Object column, int columnOffset, int records, byte[] data, int start, int recordLength, boolean checkOverflow) {
+			boolean external = decimalType != 0;
+			byte[] packed = external ? new byte[CommonData.getPackedByteCount(precision)] : data;
+			int position = start + offset;
+
+			if (precision <= 9) {
+				int[] values = (int[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					DecimalData.convertIntegerToPackedDecimal_(values[columnOffset + i], packed, external ? 0 : position, precision, checkOverflow);
+					fromPacked(packed, data, position);
+				}
+			} else if (precision <= 18) {
+				long[] values = (long[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					DecimalData.convertLongToPackedDecimal_(values[columnOffset + i], packed, external ? 0 : position, precision, checkOverflow);
+					fromPacked(packed, data, position);
+				}
+			} else {
+				BigDecimal[] values = (BigDecimal[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					// the Packed Decimal holds the unscaled value, so a value of a different scale is rescaled first
+					BigDecimal value = values[columnOffset + i].setScale(scale);
+					DecimalData.convertBigDecimalToPackedDecimal(value, packed, external ? 0 : position, precision, checkOverflow);
+					fromPacked(packed, data, position);
+				}
+			}
+		}
+
+		/**
+		 * Converts an External Decimal field to Packed Decimal. Answers the offset of the Packed Decimal, which is
+		 * the field itself if it is a Packed Decimal field.
+		 */
+		private int toPacked(byte[] data, int position, byte[] packed) {
+			if (decimalType == 0) {
+				return position;
+			}
+			DecimalData.convertExternalDecimalToPackedDecimal_(data, position, packed, 0, precision, decimalType);
+			return 0;
+		}
+
+		/**
+		 * Converts the Packed Decimal of an External Decimal field, which is held at the start of
+		 * <code>packed</code>, to the field.
+		 */
+		private void fromPacked(byte[] packed, byte[] data, int position) {
+			if (decimalType != 0) {
+				DecimalData.convertPackedDecimalToExternalDecimal_(packed, 0, data, position, precision, decimalType);
+			}
+		}
+	}
+
+	/**
+	 * A binary integer field.
+	 */
+	private static final class BinaryField extends Field {
+		private final boolean bigEndian;
+		private final boolean signed;
+
+		BinaryField(int offset, int size, boolean bigEndian, boolean signed) {
+			super(offset, size);
+			this.bigEndian = bigEndian;
+			this.signed = signed;
+		}
+
+		@Override
+		Class<?> columnType() {
+			if (length == 8 || (length == 4 && !signed))
+				return long[].class;
+			return int[].class;
+		}
+
+		@Override
+		void decode(byte[] data, int start, int recordLength, int records, Object column, int columnOffset) {
+			int position = start + offset;
+
+			if (column instanceof int[]) {
+				int[] values = (int[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					values[columnOffset + i] = (int) read(data, position);
+				}
+			} else {
+				long[] values = (long[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					values[columnOffset + i] = read(data, position);
+				}
+			}
+		}
+
+		@Override
+		void encode(Object column, int columnOffset, int records, byte[] data, int start, int recordLength, boolean checkOverflow) {
+			int position = start + offset;
+
+			if (column instanceof int[]) {
+				int[] values = (int[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					write(values[columnOffset + i], data, position, checkOverflow);
+				}
+			} else {
+				long[] values = (long[]) column;
+				for (int i = 0; i < records; ++i, position += recordLength) {
+					write(values[columnOffset + i], data, position, checkOverflow);
+				}
+			}
+		}
+
+		private long read(byte[] data, int position) {
+			switch (length) {
+			case 1:
+				return signed ? data[position] : (data[position] & 0xFF);
+			case 2: {
+				int value = bigEndian
+						? (((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF))
+						: (((data[position + 1] & 0xFF) << 8) | (data[position] & 0xFF));
+				return signed ? (short) value : value;
+			}
+			case 4: {
+				int value = PackedDigits.readInt(data, position);
+				if (!bigEndian)
+					value = Integer.reverseBytes(value);
+				return signed ? value : (value & 0xFFFFFFFFL);
+			}
+			default: {
+				long value = PackedDigits.readLong(data, position);
+				return bigEndian ? value : Long.reverseBytes(value);
+			}
+			}
+		}
+
+		private void write(long value, byte[] data, int position, boolean checkOverflow) {
+			if (checkOverflow && length < 8) {
+				int bits = length * 8;
+				boolean fits = signed
+						? ((value >> (bits - 1)) == 0 || (value >> (bits - 1)) == -1)
+						: ((value >>> bits) == 0);
+				if (!fits)
+					throw new ArithmeticException("Binary overflow - value too large for a " + length + " byte field");
+			}
+			switch (length) {
+			case 1:
+				data[position] = (byte) value;
+				break;
+			case 2:
+				if (bigEndian) {
+					data[position] = (byte) (value >> 8);
+					data[position + 1] = (byte) value;
+				} else {
+					data[position] = (byte) value;
+					data[position + 1] = (byte) (value >> 8);
+				}
+				break;
+			case 4:
+				PackedDigits.writeInt(bigEndian ? (int) value : Integer.reverseBytes((int) value), data, position);
+				break;
+			default:
+				PackedDigits.writeLong(bigEndian ? value : Long.reverseBytes(value), data, position);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * A text field.
+	 */
+	private static final class TextField extends Field {
+		private final Charset charset;
+		private final byte space;
+
+		TextField(int offset, int length, Charset charset) {
+			super(offset, length);
+			this.charset = charset;
+			this.space = " ".getBytes(charset)[0];
+		}
+
+		@Override
+		Class<?> columnType() {
+			return String[].class;
+		}
+
+		@Override
+		void decode(byte[] data, int start, int recordLength, int records, Object column, int columnOffset) {
+			String[] values = (String[]) column;
+			int position = start + offset;
+			for (int i = 0; i < records; ++i, position += recordLength) {
+				values[columnOffset + i] = new String(data, position, length, charset);
+			}
+		}
+
+		@Override
+		void encode(Object column, int columnOffset, int records, byte[] data, int start, int recordLength, boolean checkOverflow) {
+			String[] values = (String[]) column;
+			int position = start + offset;
+			for (int i = 0; i < records; ++i, position += recordLength) {
+				byte[] bytes = values[columnOffset + i].getBytes(charset);
+				if (checkOverflow && bytes.length > length)
+					throw new IllegalArgumentException("Text of " + bytes.length + " bytes is too long for a " + length + " byte field.");
+				int count = Math.min(bytes.length, length);
+				System.arraycopy(bytes, 0, data, position, count);
+				for (int j = count; j < length; ++j) {
+					data[position + j] = space;
+				}
+			}
+		}
+	}
+}
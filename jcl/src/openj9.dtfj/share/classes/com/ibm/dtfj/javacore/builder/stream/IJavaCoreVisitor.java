@@ -0,0 +1,140 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.javacore.builder.stream;
+
+/**
+ * Receives the contents of a javacore as it is parsed, without a DTFJ image being built.
+ * Each event is delivered once, in the order in which the data appears in the javacore,
+ * and the parser retains nothing once an event has been delivered, so a javacore of any
+ * size is parsed in a bounded amount of memory.
+ * <br><br>
+ * Missing numeric values are passed as {@link com.ibm.dtfj.javacore.builder.IBuilderData#NOT_AVAILABLE}
+ * and missing strings as null.
+ *
+ * @see StreamingBuilderFactory
+ */
+public interface IJavaCoreVisitor {
+
+	/**
+	 * @param version the full version string of the Java runtime
+	 */
+	public void visitJavaVersion(String version);
+
+	/**
+	 * @param pid the process ID, as written in the javacore
+	 */
+	public void visitProcessID(String pid);
+
+	/**
+	 * @param creationTime the time at which the javacore was written, in milliseconds since the epoch
+	 */
+	public void visitCreationTime(long creationTime);
+
+	/**
+	 * @param cmdLine the command line of the process
+	 */
+	public void visitCommandLine(String cmdLine);
+
+	/**
+	 * A Java thread. The frames of its Java stack follow, then those of its native stack.
+	 *
+	 * @param tid the J9VMThread address
+	 * @param name
+	 * @param state the thread state, e.g. R, CW, B
+	 * @param priority
+	 * @param nativeThreadID the operating system thread ID
+	 * @param blockingObjectAddress address of the object the thread is blocked on or waiting for
+	 * @param blockingObjectClassName class of the object the thread is blocked on or waiting for
+	 */
+	public void visitThread(long tid, String name, String state, int priority, long nativeThreadID, long blockingObjectAddress, String blockingObjectClassName);
+
+	/**
+	 * A frame of the Java stack of the thread last visited.
+	 *
+	 * @param tid the J9VMThread address of the thread
+	 * @param className
+	 * @param methodName
+	 * @param fileName the source file, or "Native Method"
+	 * @param compilationLevel e.g. "Compiled", or null for interpreted and native methods
+	 * @param lineNumber
+	 */
+	public void visitJavaStackFrame(long tid, String className, String methodName, String fileName, String compilationLevel, int lineNumber);
+
+	/**
+	 * A frame of a native stack.
+	 *
+	 * @param nativeThreadID the operating system thread ID
+	 * @param name the module and routine of the frame, e.g. "libj9vm29.so::monitor_wait+0x4d"
+	 * @param address the instruction address
+	 */
+	public void visitNativeStackFrame(long nativeThreadID, String name, long address);
+
+	/**
+	 * A system or object monitor. The threads waiting on it follow.
+	 *
+	 * @param name the monitor name, or null for object monitors
+	 * @param monitorID
+	 * @param objectID the address of the object, or NOT_AVAILABLE for system monitors
+	 * @param className the class of the object
+	 * @param owningThread the thread which owns the monitor
+	 */
+	public void visitMonitor(String name, long monitorID, long objectID, String className, long owningThread);
+
+	/**
+	 * A thread waiting on the monitor last visited.
+	 *
+	 * @param monitorID
+	 * @param threadID
+	 * @param waitOnNotify true if the thread is waiting to be notified, false if it is waiting to enter the monitor
+	 */
+	public void visitMonitorWaiter(long monitorID, long threadID, boolean waitOnNotify);
+
+	/**
+	 * A native memory category. Categories are visited depth first, parents before children.
+	 *
+	 * @param name
+	 * @param parentName the name of the parent category, or null for a root category
+	 * @param deepBytes bytes allocated by the category and its children
+	 * @param deepAllocations allocations made by the category and its children
+	 */
+	public void visitMemoryCategory(String name, String parentName, long deepBytes, long deepAllocations);
+
+	/**
+	 * The memory allocated by a category which has children, excluding that of its children.
+	 * It follows the children of the category.
+	 *
+	 * @param name
+	 * @param shallowBytes
+	 * @param shallowAllocations
+	 */
+	public void visitMemoryCategoryShallow(String name, long shallowBytes, long shallowAllocations);
+
+	/**
+	 * A memory region: a segment of the memory section or a native stack.
+	 *
+	 * @param name
+	 * @param base
+	 * @param size
+	 */
+	public void visitMemorySection(String name, long base, long size);
+}
@@ -0,0 +1,213 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.javacore.builder.stream;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ibm.dtfj.javacore.parser.j9.JavaCoreReader;
+
+/**
+ * Streams many javacores on a pool of threads, printing a summary of each and the overall throughput.
+ * <pre>
+ * JavaCoreBatchParser [-threads n] file|directory ...
+ * </pre>
+ * The files of a directory whose names start with "javacore" are parsed. By default there is one
+ * thread per processor.
+ */
+public class JavaCoreBatchParser {
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		List files = new ArrayList();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-threads") && (i + 1) < args.length) {
+				try {
+					threads = Math.max(1, Integer.parseInt(args[++i]));
+				} catch (NumberFormatException e) {
+					usage();
+					return;
+				}
+			} else {
+				addFiles(new File(args[i]), files);
+			}
+		}
+		if (files.isEmpty()) {
+			usage();
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List results = new ArrayList(files.size());
+		long start = System.nanoTime();
+		for (Iterator it = files.iterator(); it.hasNext();) {
+			final File file = (File) it.next();
+			results.add(pool.submit(new Callable() {
+				public Object call() throws IOException {
+					return parse(file);
+				}
+			}));
+		}
+		pool.shutdown();
+
+		int parsed = 0;
+		long bytes = 0;
+		for (int i = 0; i < results.size(); i++) {
+			File file = (File) files.get(i);
+			try {
+				Summary summary = (Summary) ((Future) results.get(i)).get();
+				System.out.println(file + ": " + summary);
+				parsed += 1;
+				bytes += file.length();
+			} catch (ExecutionException e) {
+				System.out.println(file + ": " + e.getCause());
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		double seconds = elapsed / 1e9;
+		double megabytes = bytes / (1024.0 * 1024.0);
+		System.out.println(String.format("Parsed %d of %d javacores, %.1f MB in %.2f s on %d threads: %.1f javacores/s, %.1f MB/s",
+				Integer.valueOf(parsed), Integer.valueOf(files.size()), Double.valueOf(megabytes), Double.valueOf(seconds), Integer.valueOf(threads),
+				Double.valueOf(parsed / seconds), Double.valueOf(megabytes / seconds)));
+	}
+
+	private static void usage() {
+		System.err.println("Usage: JavaCoreBatchParser [-threads n] file|directory ...");
+	}
+
+	private static void addFiles(File file, List files) {
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children != null) {
+				Arrays.sort(children);
+				for (int i = 0; i < children.length; i++) {
+					if (children[i].isFile() && children[i].getName().startsWith("javacore")) {
+						files.add(children[i]);
+					}
+				}
+			}
+		} else {
+			files.add(file);
+		}
+	}
+
+	static Summary parse(File file) throws IOException {
+		Summary summary = new Summary();
+		InputStream input = new BufferedInputStream(new FileInputStream(file));
+		try {
+			new JavaCoreReader(new StreamingBuilderFactory(summary)).generateImage(input);
+		} finally {
+			input.close();
+		}
+		return summary;
+	}
+
+	/**
+	 * Counts the threads, monitors and memory of a javacore.
+	 */
+	static final class Summary implements IJavaCoreVisitor {
+
+		String fVersion;
+		int fThreads;
+		int fBlockedThreads;
+		int fJavaFrames;
+		int fNativeFrames;
+		int fMonitors;
+		int fOwnedMonitors;
+		int fWaiters;
+		long fNativeMemory;
+		int fMemorySections;
+
+		public void visitJavaVersion(String version) {
+			fVersion = version;
+		}
+
+		public void visitProcessID(String pid) {
+		}
+
+		public void visitCreationTime(long creationTime) {
+		}
+
+		public void visitCommandLine(String cmdLine) {
+		}
+
+		public void visitThread(long tid, String name, String state, int priority, long nativeThreadID, long blockingObjectAddress, String blockingObjectClassName) {
+			fThreads += 1;
+			if ("B".equals(state)) {
+				fBlockedThreads += 1;
+			}
+		}
+
+		public void visitJavaStackFrame(long tid, String className, String methodName, String fileName, String compilationLevel, int lineNumber) {
+			fJavaFrames += 1;
+		}
+
+		public void visitNativeStackFrame(long nativeThreadID, String name, long address) {
+			fNativeFrames += 1;
+		}
+
+		public void visitMonitor(String name, long monitorID, long objectID, String className, long owningThread) {
+			fMonitors += 1;
+			if (owningThread > 0) {
+				fOwnedMonitors += 1;
+			}
+		}
+
+		public void visitMonitorWaiter(long monitorID, long threadID, boolean waitOnNotify) {
+			fWaiters += 1;
+		}
+
+		public void visitMemoryCategory(String name, String parentName, long deepBytes, long deepAllocations) {
+			if (parentName == null) {
+				fNativeMemory += deepBytes;
+			}
+		}
+
+		public void visitMemoryCategoryShallow(String name, long shallowBytes, long shallowAllocations) {
+		}
+
+		public void visitMemorySection(String name, long base, long size) {
+			fMemorySections += 1;
+		}
+
+		public String toString() {
+			return "threads " + fThreads + " (" + fBlockedThreads + " blocked), frames " + fJavaFrames + " java " + fNativeFrames + " native"
+					+ ", monitors " + fMonitors + " (" + fOwnedMonitors + " owned, " + fWaiters + " waiters)"
+					+ ", native memory " + fNativeMemory + " bytes, memory sections " + fMemorySections
+					+ ((fVersion != null) ? ", " + fVersion.split("[\\r\\n]")[0] : "");
+		}
+	}
+}
@@ -0,0 +1,359 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.javacore.builder.stream;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+
+import com.ibm.dtfj.image.DataUnavailable;
+import com.ibm.dtfj.image.Image;
+import com.ibm.dtfj.image.ImageModule;
+import com.ibm.dtfj.image.ImagePointer;
+import com.ibm.dtfj.image.ImageSection;
+import com.ibm.dtfj.image.ImageStackFrame;
+import com.ibm.dtfj.image.ImageSymbol;
+import com.ibm.dtfj.image.ImageThread;
+import com.ibm.dtfj.java.JavaClass;
+import com.ibm.dtfj.java.JavaClassLoader;
+import com.ibm.dtfj.java.JavaMonitor;
+import com.ibm.dtfj.java.JavaObject;
+import com.ibm.dtfj.java.JavaRuntimeMemoryCategory;
+import com.ibm.dtfj.java.JavaStackFrame;
+import com.ibm.dtfj.java.JavaThread;
+import com.ibm.dtfj.java.javacore.JCJavaRuntimeMemoryCategory;
+import com.ibm.dtfj.javacore.builder.BuilderFailureException;
+import com.ibm.dtfj.javacore.builder.IBuilderData;
+import com.ibm.dtfj.javacore.builder.IImageAddressSpaceBuilder;
+import com.ibm.dtfj.javacore.builder.IImageBuilder;
+import com.ibm.dtfj.javacore.builder.IImageProcessBuilder;
+import com.ibm.dtfj.javacore.builder.IJavaRuntimeBuilder;
+
+/**
+ * Forwards the data of a javacore to a {@link IJavaCoreVisitor} instead of building a DTFJ image.
+ * <br><br>
+ * A javacore has a single address space, process and runtime, so one instance acts as the builder
+ * for all of them. The section parsers pass the objects returned by the builder back to it only for
+ * data which immediately follows, e.g. the stack frames of a thread or the waiters of a monitor, so
+ * the builder keeps the thread and monitor last added rather than returning model objects. Values the
+ * parsers do not use are returned as null.
+ */
+public class StreamingBuilder implements IImageBuilder, IImageAddressSpaceBuilder, IImageProcessBuilder, IJavaRuntimeBuilder {
+
+	private final IJavaCoreVisitor fVisitor;
+	private long fNativeThreadID = IBuilderData.NOT_AVAILABLE;
+	private long fMonitorID = IBuilderData.NOT_AVAILABLE;
+
+	public StreamingBuilder(IJavaCoreVisitor visitor) {
+		if (visitor == null) {
+			throw new IllegalArgumentException("A valid visitor must be passed");
+		}
+		fVisitor = visitor;
+	}
+
+	/*
+	 * IImageBuilder
+	 */
+
+	public IImageAddressSpaceBuilder getAddressSpaceBuilder(String builderID) {
+		return this;
+	}
+
+	public IImageAddressSpaceBuilder getCurrentAddressSpaceBuilder() {
+		return this;
+	}
+
+	/**
+	 * @return null, as no image is built
+	 */
+	public Image getImage() {
+		return null;
+	}
+
+	public IImageAddressSpaceBuilder generateAddressSpaceBuilder(String id) {
+		return this;
+	}
+
+	public void setOSType(String osType) {
+	}
+
+	public void setOSSubType(String osSubType) {
+	}
+
+	public void setcpuType(String cpuType) {
+	}
+
+	public void setcpuSubType(String cpuSubType) {
+	}
+
+	public void setcpuCount(int cpuCount) {
+	}
+
+	public void setCreationTime(long creationTime) {
+		fVisitor.visitCreationTime(creationTime);
+	}
+
+	public void setCreationTimeNanos(long nanoTime) {
+	}
+
+	public void setHostName(String hostName) {
+	}
+
+	public void addHostAddr(InetAddress addr) {
+	}
+
+	/*
+	 * IImageAddressSpaceBuilder
+	 */
+
+	public IImageProcessBuilder getCurrentImageProcessBuilder() {
+		return this;
+	}
+
+	public IImageProcessBuilder getImageProcessBuilder(String builderID) {
+		return this;
+	}
+
+	public IImageProcessBuilder generateImageProcessBuilder(String id) {
+		return this;
+	}
+
+	public ImageSection addImageSection(String name, long base, long size) {
+		fVisitor.visitMemorySection(name, base, size);
+		return null;
+	}
+
+	/*
+	 * IImageProcessBuilder
+	 */
+
+	public IJavaRuntimeBuilder getCurrentJavaRuntimeBuilder() {
+		return this;
+	}
+
+	public IJavaRuntimeBuilder getJavaRuntimeBuilder(String builderID) {
+		return this;
+	}
+
+	public ImageModule addLibrary(String name) {
+		return null;
+	}
+
+	/**
+	 * The native thread ID is remembered for the Java thread which is added next.
+	 */
+	public ImageThread addImageThread(long nativeThreadID, long systemThreadID, Properties properties) {
+		fNativeThreadID = nativeThreadID;
+		return null;
+	}
+
+	public ImageSection addImageStackSection(ImageThread thread, ImageSection section) {
+		return null;
+	}
+
+	public ImageStackFrame addImageStackFrame(long nativeThreadID, String name, long baseAddress, long procAddress) {
+		fVisitor.visitNativeStackFrame(nativeThreadID, name, procAddress);
+		return null;
+	}
+
+	public IJavaRuntimeBuilder generateJavaRuntimeBuilder(String id) {
+		return this;
+	}
+
+	public void setPointerSize(int size) {
+	}
+
+	public void setSignal(int signal) {
+	}
+
+	public void setCommandLine(String cmdLine) {
+		fVisitor.visitCommandLine(cmdLine);
+	}
+
+	public void setRegisters(Map regs) {
+	}
+
+	public void addEnvironmentVariable(String name, String value) {
+	}
+
+	public ImageSymbol addRoutine(ImageModule library, String name, long address) {
+		return null;
+	}
+
+	public void setExecutable(ImageModule execMod) {
+	}
+
+	public void setID(String pid) {
+		fVisitor.visitProcessID(pid);
+	}
+
+	public void setCurrentThreadID(long imageThreadID) {
+	}
+
+	public void addProperty(ImageModule library, String name, String value) {
+	}
+
+	/*
+	 * IJavaRuntimeBuilder
+	 */
+
+	public JavaClass addClass(JavaClassLoader jClassLoader, String name, long classID, long superClassID, String fileName) {
+		return null;
+	}
+
+	public JavaClassLoader addClassLoader(String name, long clID, long objectID) {
+		return null;
+	}
+
+	/**
+	 * @throws BuilderFailureException if the thread ID is not valid, as for the image builder,
+	 * in which case no stack frames are parsed for the thread
+	 */
+	public JavaThread addJavaThread(ImageThread imageThread, String name, long tid, long j9thread_t, long javaObjID, long jniEnv, String state, int priority, long blockingObjectAddress, String blockingObjectClassName) throws BuilderFailureException {
+		if (tid == IBuilderData.NOT_AVAILABLE) {
+			throw new BuilderFailureException("Must pass a valid thread id");
+		}
+		long nativeThreadID = fNativeThreadID;
+		fNativeThreadID = IBuilderData.NOT_AVAILABLE;
+		fVisitor.visitThread(tid, name, state, priority, nativeThreadID, blockingObjectAddress, blockingObjectClassName);
+		return new StreamedThread(tid, name, priority);
+	}
+
+	public JavaStackFrame addJavaStackFrame(JavaThread javaThread, String className, String classFileName, String methodName, String methodType, String compilationLevel, int lineNumber) {
+		fVisitor.visitJavaStackFrame(((StreamedThread) javaThread).fTid, className, methodName, classFileName, compilationLevel, lineNumber);
+		return null;
+	}
+
+	/**
+	 * @throws BuilderFailureException if the monitor ID is not valid, as for the image builder
+	 */
+	public JavaMonitor addJavaMonitor(String name, long monitorID, long objectID, String className, long owningThread) throws BuilderFailureException {
+		if (monitorID == IBuilderData.NOT_AVAILABLE) {
+			throw new BuilderFailureException("Must pass a valid monitor id");
+		}
+		fMonitorID = monitorID;
+		fVisitor.visitMonitor(name, monitorID, objectID, className, owningThread);
+		return null;
+	}
+
+	public void addWaitOnNotifyThread(JavaMonitor monitor, long threadID) {
+		fVisitor.visitMonitorWaiter(fMonitorID, threadID, true);
+	}
+
+	public void addBlockedThread(JavaMonitor monitor, long threadID) {
+		fVisitor.visitMonitorWaiter(fMonitorID, threadID, false);
+	}
+
+	public void addVMInitArgs() {
+	}
+
+	public void addVMOption(String option) {
+	}
+
+	public void addVMOption(String option, long extraInfo) {
+	}
+
+	public void setJavaVersion(String version) {
+		fVisitor.visitJavaVersion(version);
+	}
+
+	/**
+	 * The category returned is used by the parser only as the parent of the categories which follow,
+	 * and is not linked to its parent, so it is collected once its children have been parsed.
+	 */
+	public JavaRuntimeMemoryCategory addMemoryCategory(String name, long deepBytes, long deepAllocations, JavaRuntimeMemoryCategory parent) {
+		String parentName = (parent != null) ? ((JCJavaRuntimeMemoryCategory) parent).getName() : null;
+		fVisitor.visitMemoryCategory(name, parentName, deepBytes, deepAllocations);
+		return new JCJavaRuntimeMemoryCategory(name, deepBytes, deepAllocations);
+	}
+
+	public void setShallowCountersForCategory(JavaRuntimeMemoryCategory category, long shallowBytes, long shallowAllocations) {
+		fVisitor.visitMemoryCategoryShallow(((JCJavaRuntimeMemoryCategory) category).getName(), shallowBytes, shallowAllocations);
+	}
+
+	public void setJITEnabled(boolean enabled) {
+	}
+
+	public void addJITProperty(String name, String value) {
+	}
+
+	public void setStartTime(long startTime) {
+	}
+
+	public void setStartTimeNanos(long nanoTime) {
+	}
+
+	/**
+	 * The handle returned for a Java thread, through which its stack frames are attributed to it.
+	 */
+	private static final class StreamedThread implements JavaThread {
+
+		final long fTid;
+		private final String fName;
+		private final int fPriority;
+
+		StreamedThread(long tid, String name, int priority) {
+			fTid = tid;
+			fName = name;
+			fPriority = priority;
+		}
+
+		public ImagePointer getJNIEnv() {
+			return null;
+		}
+
+		public int getPriority() {
+			return fPriority;
+		}
+
+		public JavaObject getObject() {
+			return null;
+		}
+
+		public int getState() {
+			return 0;
+		}
+
+		public ImageThread getImageThread() throws DataUnavailable {
+			throw new DataUnavailable("Javacore is being streamed");
+		}
+
+		public Iterator getStackSections() {
+			return Collections.EMPTY_LIST.iterator();
+		}
+
+		public Iterator getStackFrames() {
+			return Collections.EMPTY_LIST.iterator();
+		}
+
+		public String getName() {
+			return fName;
+		}
+
+		public JavaObject getBlockingObject() {
+			return null;
+		}
+	}
+}
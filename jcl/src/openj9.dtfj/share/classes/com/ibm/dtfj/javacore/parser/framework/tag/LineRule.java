@@ -185,7 +185,7 @@ public abstract class LineRule implements ILineRule {
 	 * @return generated token if match found, or null otherwise
 	 */
 	protected IParserToken addAllCharactersAsTokenAndConsumeFirstMatch(String type, Matcher matcher) {
-		matcher.reset(fSource);
+		matcher = matcherFor(matcher);
 		IParserToken token = null;
 		if (matcher.find()) {
 			int startIndex = matcher.start();
@@ -207,7 +207,7 @@ public abstract class LineRule implements ILineRule {
 	 * @return generated token if match found, or null otherwise
 	 */
 	protected IParserToken addAllCharactersAsTokenUntilFirstMatch(String type, Matcher matcher) {
-		matcher.reset(fSource);
+		matcher = matcherFor(matcher);
 		IParserToken token = null;
 		if (matcher.find()) {
 			token = addAllCharactersAsTokenUntilIndex(type, matcher.start(), false);
@@ -259,9 +259,7 @@ public abstract class LineRule implements ILineRule {
 	 * @return generated token if hexadecimal match found, or null otherwise.
 	 */
 	protected IParserToken addNonPrefixedHexToken(String type) {
-		Matcher matcher = CommonPatternMatchers.hex;
-
-		matcher.reset(fSource);
+		Matcher matcher = matcherFor(CommonPatternMatchers.hex);
 		IParserToken token = null;
 		if (matcher.find()) {
 			fCharSubSet.delete(0, fCharSubSet.length());
@@ -327,7 +325,7 @@ public abstract class LineRule implements ILineRule {
 	 * @return string value or null
 	 */
 	protected String matchAndConsumeValue(Matcher matcher) {
-		matcher.reset(fSource);
+		matcher = matcherFor(matcher);
 		String value = null;
 		if (matcher.find()) {
 			value = matcher.group();
@@ -359,7 +357,7 @@ public abstract class LineRule implements ILineRule {
 	 * @return true if matched and consumed, false otherwise
 	 */
 	protected boolean consumeUntilFirstMatch(Matcher matcher) {
-		matcher.reset(fSource);
+		matcher = matcherFor(matcher);
 		boolean matched = false;
 		if (matched = matcher.find()) {
 			fSource.delete(0, matcher.end());
@@ -375,7 +373,7 @@ public abstract class LineRule implements ILineRule {
 	 * @return true if match found, false otherwise
 	 */
 	protected boolean findFirst(Matcher matcher) {
-		matcher.reset(fSource);
+		matcher = matcherFor(matcher);
 		return matcher.find();
 	}
 
@@ -387,10 +385,21 @@ public abstract class LineRule implements ILineRule {
 	 */
 	protected int indexOfLast(Matcher matcher) {
 		int startingIndex = -1;
-		matcher.reset(fSource);
+		matcher = matcherFor(matcher);
 		while(matcher.find()) {
 			startingIndex = matcher.start();
 		}
 		return startingIndex;
 	}
+
+	/**
+	 * The pattern matchers passed to the helper methods are typically static and shared by all
+	 * line rules, so each match is done by a new matcher for the same pattern over the source,
+	 * which allows javacores to be parsed on several threads at once.
+	 * @param matcher containing pattern to match
+	 * @return a new matcher for the pattern, reset to the source
+	 */
+	private Matcher matcherFor(Matcher matcher) {
+		return matcher.pattern().matcher(fSource);
+	}
 }
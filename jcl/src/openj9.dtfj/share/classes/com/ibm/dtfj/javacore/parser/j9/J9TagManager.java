@@ -33,16 +33,24 @@ import com.ibm.dtfj.javacore.parser.j9.section.common.ICommonTypes;
 public class J9TagManager implements ITagManager {
 	private HashMap fAllTags;
 	private HashMap fTagParsers;
-	private static J9TagManager fTagManager;
+	private static final ThreadLocal fTagManager = new ThreadLocal();
 	public static final String CHECK_ALL = "check_all";
 
 	private String fCommentType = ICommonTypes.NULL;
 
+	/**
+	 * The tag parsers and their line rules hold the state of the line being parsed, so each
+	 * thread parsing javacores has its own tag manager.
+	 *
+	 * @return the tag manager of the current thread
+	 */
 	public static J9TagManager getCurrent() {
-		if (fTagManager == null) {
-			fTagManager = new J9TagManager();
+		J9TagManager tagManager = (J9TagManager) fTagManager.get();
+		if (tagManager == null) {
+			tagManager = new J9TagManager();
+			fTagManager.set(tagManager);
 		}
-		return fTagManager;
+		return tagManager;
 	}
 
 	public J9TagManager()	 {
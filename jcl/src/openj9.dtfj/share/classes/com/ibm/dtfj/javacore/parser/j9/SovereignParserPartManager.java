@@ -28,7 +28,7 @@ import java.util.Iterator;
 
 public class SovereignParserPartManager {
 
-	private static SovereignParserPartManager fManager;
+	private static final ThreadLocal fManager = new ThreadLocal();
 	private HashMap fSovParts;
 
 	public SovereignParserPartManager() {
@@ -36,14 +36,18 @@ public class SovereignParserPartManager {
 	}
 
 	/**
+	 * The sovereign parser parts hold parsing state, so each thread parsing javacores
+	 * has its own manager.
 	 *
-	 *
+	 * @return the manager of the current thread
 	 */
 	public static SovereignParserPartManager getCurrent() {
-		if (fManager == null) {
-			fManager = new SovereignParserPartManager();
+		SovereignParserPartManager manager = (SovereignParserPartManager) fManager.get();
+		if (manager == null) {
+			manager = new SovereignParserPartManager();
+			fManager.set(manager);
 		}
-		return fManager;
+		return manager;
 	}
 
 	/**
@@ -138,7 +138,7 @@ public class ClassLoaderSectionParser extends SectionParser implements IClassLoa
 		cl_name = results.getTokenValue(CL_ATT_PARENT_NAME);
 		cl_address = results.getLongValue(CL_ATT_PARENT_ADDRESS);
 		if (cl_name != null || cl_address != IBuilderData.NOT_AVAILABLE) {
-			if (cl_address == 0 && ClassLoaderPatternMatchers.none.reset(cl_name).matches()) {
+			if (cl_address == 0 && ClassLoaderPatternMatchers.none.pattern().matcher(cl_name).matches()) {
 				// Don't register class loader of type *none* and address 0 as it is not a real class loader
 			} else {
 				try {
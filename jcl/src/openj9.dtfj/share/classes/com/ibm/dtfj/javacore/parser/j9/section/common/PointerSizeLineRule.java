@@ -41,13 +41,11 @@ public class PointerSizeLineRule extends LineRule {
 		int lastIndex = indexOfLast(CommonPatternMatchers.build_string);
 		if (lastIndex >= 0) {
 			String pattern = consumeCharacters(0, lastIndex);
-			Matcher matcher = CommonPatternMatchers.bits64;
-			matcher.reset(pattern);
+			Matcher matcher = CommonPatternMatchers.bits64.pattern().matcher(pattern);
 			if (matcher.find()) {
 				pointerSize = "64";
 			} else {
-				matcher = CommonPatternMatchers.s390;
-				matcher.reset(pattern);
+				matcher = CommonPatternMatchers.s390.pattern().matcher(pattern);
 				if (matcher.find()) {
 					pointerSize = "31";
 				}
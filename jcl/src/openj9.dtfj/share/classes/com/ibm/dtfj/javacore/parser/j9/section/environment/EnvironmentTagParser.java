@@ -65,18 +65,14 @@ public class EnvironmentTagParser extends TagParser implements
 		ILineRule lineRule3 = new LineRule() {
 			public void processLine(String source, int startingOffset) {
 				String bits = "32";
-				CommonPatternMatchers.build_string.reset(source);
-				if (CommonPatternMatchers.build_string.find()) {
-					int build = CommonPatternMatchers.build_string.start();
+				Matcher buildString = CommonPatternMatchers.build_string.pattern().matcher(source);
+				if (buildString.find()) {
+					int build = buildString.start();
 					String version = source.substring(0, build);
-					CommonPatternMatchers.bits64.reset(version);
-					if (CommonPatternMatchers.bits64.find()) {
+					if (CommonPatternMatchers.bits64.pattern().matcher(version).find()) {
 						bits = "64";
-					} else {
-						CommonPatternMatchers.s390.reset(version);
-						if (CommonPatternMatchers.s390.matches()) {
-							bits = "31";
-						}
+					} else if (CommonPatternMatchers.s390.pattern().matcher(version).matches()) {
+						bits = "31";
 					}
 				}
 				addToken(ICommonTypes.POINTER_SIZE, bits);
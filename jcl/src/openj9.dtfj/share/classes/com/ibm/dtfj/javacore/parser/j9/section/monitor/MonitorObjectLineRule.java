@@ -60,13 +60,11 @@ public abstract class MonitorObjectLineRule extends LineRule implements IMonitor
 	protected IParserToken addHexToken(String token) {
 		IParserToken ret;
 		// Be careful as the thread ID can be prefixed while the monitor object might not be
-		CommonPatternMatchers.hex_0x.reset(fSource);
-		if (CommonPatternMatchers.hex_0x.lookingAt()) {
+		if (CommonPatternMatchers.hex_0x.pattern().matcher(fSource).lookingAt()) {
 			// Immediate 0x
 			ret = addPrefixedHexToken(token);
 		} else {
-			CommonPatternMatchers.hex.reset(fSource);
-			if (CommonPatternMatchers.hex.lookingAt()) {
+			if (CommonPatternMatchers.hex.pattern().matcher(fSource).lookingAt()) {
 				// Immediate non prefixed hex
 				// Some older versions of Sovereign or J9 display the threadID/monitor object without the "0x" prefix.
 				ret = addNonPrefixedHexToken(token);
@@ -54,9 +54,9 @@ public class NativeStackTraceLineRule extends LineRule implements IThreadTypes {
 			sign.reset(val);
 			if (sign.find()) {
 				addToken(STACK_ROUTINE, val.substring(0, sign.start()));
-				CommonPatternMatchers.signed_hex_0x.reset(val);
-				if (CommonPatternMatchers.signed_hex_0x.find()) {
-					addToken(STACK_ROUTINE_OFFSET, CommonPatternMatchers.signed_hex_0x.group());
+				Matcher offset = CommonPatternMatchers.signed_hex_0x.pattern().matcher(val);
+				if (offset.find()) {
+					addToken(STACK_ROUTINE_OFFSET, offset.group());
 				}
 			}
 		}
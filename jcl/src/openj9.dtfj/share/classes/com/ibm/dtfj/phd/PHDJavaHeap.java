@@ -45,6 +45,7 @@ import com.ibm.dtfj.java.JavaClass;
 import com.ibm.dtfj.java.JavaHeap;
 import com.ibm.dtfj.java.JavaObject;
 import com.ibm.dtfj.phd.parser.HeapdumpReader;
+import com.ibm.dtfj.phd.parser.IndexedHeapdumpReader;
 import com.ibm.dtfj.phd.parser.PortableHeapDumpListener;
 import com.ibm.dtfj.phd.util.LongEnumeration;
 
@@ -69,6 +70,11 @@ class PHDJavaHeap implements JavaHeap {
 	/** Flag used to show that all the CacheHeapSegments are set up */
 	private boolean doneScan;
 	private boolean lastSegment;
+	/** Set to find objects through an index of the dump file rather than by reading the file from the start */
+	private static final boolean USE_INDEX = !Boolean.getBoolean("com.ibm.dtfj.phd.noindex");
+	/** Reader of the indexed dump file, opened the first time an object is not in the cache */
+	private IndexedHeapdumpReader indexedReader;
+	private boolean indexTried;
 
 	PHDJavaHeap(ImageInputStream stream, final PHDImage parentImage, ImageAddressSpace space, PHDJavaRuntime runtime) throws IOException {
 		this.image = parentImage;
@@ -589,6 +595,14 @@ class PHDJavaHeap implements JavaHeap {
 			// allow to fall through
 		}
 		if (jo != null) return jo;
+		IndexedHeapdumpReader indexed = getIndexedReader();
+		if (indexed != null) {
+			try {
+				return getObjectAtAddressIndexed(indexed, address, withRefs);
+			} catch (Exception e) {
+				// allow to fall through and search the dump from the start
+			}
+		}
 		if (!doneScan) {
 			try {
 				jo = getObjectAtAddress3(address, withRefs);
@@ -599,6 +613,69 @@ class PHDJavaHeap implements JavaHeap {
 		return jo;
 	}
 
+	/**
+	 * Open the dump file with its index, building the index if needed.
+	 * Compressed files and streams are not indexed.
+	 * @return the reader, or null if the dump cannot be indexed
+	 */
+	private IndexedHeapdumpReader getIndexedReader() {
+		if (!indexTried) {
+			indexTried = true;
+			if (USE_INDEX && file != null && !file.getName().endsWith(".gz")) {
+				try {
+					indexedReader = IndexedHeapdumpReader.open(file, image);
+				} catch (IOException e) {
+					// allow to fall through and search without an index
+				}
+			}
+		}
+		return indexedReader;
+	}
+
+	/**
+	 * Find an object in the heap by parsing just the part of the dump which can hold it.
+	 * @return the object, or null if there is no object at the address
+	 */
+	private JavaObject getObjectAtAddressIndexed(IndexedHeapdumpReader reader, ImagePointer address, final boolean withRefs) throws Exception {
+		final PHDJavaHeap heap = this;
+		final int adjustLen = isJ9V4 ? 1 : 0;
+		final JavaObject found[] = new JavaObject[1];
+		reader.parseObjectAt(address.getAddress(), new PortableHeapDumpListener() {
+
+			public void classDump(long address, long superAddress, String name, int size,
+					int flags, int hashCode, LongEnumeration refs) throws Exception {
+			}
+
+			public void objectArrayDump(long address, long classAddress, int flags,
+					int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+				int refsLen = refs.numberOfElements();
+				int adjustLen2 = Math.min(adjustLen, refsLen);
+				// Use adjustLen for array class so for corrupt Java 5 with 0 refs we have no array class
+				PHDJavaObject.Builder b = new PHDJavaObject.Builder(heap,address,runtime.arrayOf(classAddress, refs, adjustLen),flags,hashCode)
+				.instanceSize(instanceSize);
+				found[0] = withRefs
+					? b.refs(refs,adjustLen2).length(length-adjustLen2).build()
+					: b.length(length-adjustLen2).build();
+			}
+
+			public void objectDump(long address, long classAddress, int flags, int hashCode,
+					LongEnumeration refs, long instanceSize) throws Exception {
+				PHDJavaObject.Builder b = new PHDJavaObject.Builder(heap,address,runtime.findClass(classAddress),flags,hashCode)
+				.length(PHDJavaObject.SIMPLE_OBJECT).instanceSize(instanceSize);
+				found[0] = withRefs
+					? b.refs(refs, 0).build()
+					: b.build();
+			}
+
+			public void primitiveArrayDump(long address, int type, int length, int flags,
+					int hashCode, long instanceSize) throws Exception {
+				found[0] = new PHDJavaObject.Builder(heap,address,runtime.findArrayOfType(type),flags,hashCode)
+				.refsAsArray(NOREFS,0).length(length).instanceSize(instanceSize).build();
+			}
+		});
+		return found[0];
+	}
+
 	/**
 	 * Find an object in the heap
 	 * Populate each chunk, then search each chunk directly
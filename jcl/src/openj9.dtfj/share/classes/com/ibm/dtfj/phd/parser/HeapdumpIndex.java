@@ -0,0 +1,569 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.phd.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.ibm.dtfj.phd.PHDJavaObject;
+import com.ibm.dtfj.phd.util.LongArray;
+import com.ibm.dtfj.phd.util.LongEnumeration;
+
+/**
+ *  An index of a PHD format heapdump, built by one pass over the dump and saved in a sidecar file.
+ *  <p>
+ *  The records of a heapdump can only be decoded in sequence, as each address is held as a gap
+ *  from the previous address and short object records take their class from a cache of recently
+ *  used class addresses. The index divides the records into segments and saves, for the first record
+ *  of each segment, its offset in the file and the parse state needed to decode it. A segment holds at
+ *  most {@link #getInterval()} records, and a new segment is also started whenever an object address
+ *  is not above the previous one, so the objects in a segment are in ascending address order and the
+ *  address ranges of the segments do not normally overlap. The segments sorted by address then
+ *  find the only segment which can hold an object, which is parsed from its start.
+ *  <p>
+ *  The index also holds a histogram of the number and size of the objects of each class.
+ */
+public final class HeapdumpIndex {
+
+	/** The default maximum number of records in a segment */
+	public static final int DEFAULT_INTERVAL = 1024;
+	/** The suffix added to the name of a dump to make the name of its index file */
+	public static final String SUFFIX = ".idx";
+
+	/** Histogram kind for instances of a class */
+	public static final int OBJECT = 0;
+	/** Histogram kind for object arrays, given by the array class */
+	public static final int OBJECT_ARRAY = 1;
+	/** Histogram kind for primitive arrays, given by the PHD type code of the elements */
+	public static final int PRIMITIVE_ARRAY = 2;
+
+	/** "PHDX" */
+	private static final int MAGIC = 0x50484458;
+	private static final int FORMAT_VERSION = 1;
+
+	private final long dumpLength;
+	private final long dumpModified;
+	private final int interval;
+	private final int objectCount;
+
+	// Segments, in file order
+	private final long[] offsets;
+	private final long[] lastAddresses;
+	private final long[] classAddressCaches;
+	private final byte[] classAddressCacheIndexes;
+	private final int[] records;
+	private final int[] firstObjects;
+	private final long[] minAddresses;
+	private final long[] maxAddresses;
+
+	// Segments in order of their lowest object address
+	private final int[] byAddress;
+	private final long[] sortedMinAddresses;
+	/** The highest address of the segment and any before it in address order, to allow for overlapping segments */
+	private final long[] sortedMaxAddresses;
+
+	// Class histogram, most frequent first
+	private final byte[] kinds;
+	private final long[] classes;
+	private final long[] counts;
+	private final long[] sizes;
+
+	private HeapdumpIndex(long dumpLength, long dumpModified, int interval, int objectCount,
+			long[] offsets, long[] lastAddresses, long[] classAddressCaches, byte[] classAddressCacheIndexes,
+			int[] records, int[] firstObjects, long[] minAddresses, long[] maxAddresses, int[] byAddress,
+			byte[] kinds, long[] classes, long[] counts, long[] sizes) {
+		this.dumpLength = dumpLength;
+		this.dumpModified = dumpModified;
+		this.interval = interval;
+		this.objectCount = objectCount;
+		this.offsets = offsets;
+		this.lastAddresses = lastAddresses;
+		this.classAddressCaches = classAddressCaches;
+		this.classAddressCacheIndexes = classAddressCacheIndexes;
+		this.records = records;
+		this.firstObjects = firstObjects;
+		this.minAddresses = minAddresses;
+		this.maxAddresses = maxAddresses;
+		this.byAddress = byAddress;
+		this.kinds = kinds;
+		this.classes = classes;
+		this.counts = counts;
+		this.sizes = sizes;
+		int n = byAddress.length;
+		sortedMinAddresses = new long[n];
+		sortedMaxAddresses = new long[n];
+		long max = Long.MIN_VALUE;
+		for (int i = 0; i < n; ++i) {
+			int segment = byAddress[i];
+			sortedMinAddresses[i] = minAddresses[segment];
+			max = Math.max(max, maxAddresses[segment]);
+			sortedMaxAddresses[i] = max;
+		}
+	}
+
+	/**
+	 * Returns the maximum number of records in a segment.
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Returns the number of objects and arrays in the dump, not counting class records.
+	 */
+	public int getObjectCount() {
+		return objectCount;
+	}
+
+	/**
+	 * Returns the number of segments.
+	 */
+	public int getSegmentCount() {
+		return offsets.length;
+	}
+
+	/**
+	 * Returns the number of records, including class records, in a segment.
+	 */
+	public int getRecordCount(int segment) {
+		return records[segment];
+	}
+
+	/**
+	 * Returns the number in the dump of the first object in a segment, counting objects
+	 * and arrays but not classes from 0.
+	 */
+	public int getFirstObject(int segment) {
+		return firstObjects[segment];
+	}
+
+	/**
+	 * Returns the number of objects and arrays in a segment. These are numbered from {@link #getFirstObject(int)}
+	 * in ascending address order.
+	 */
+	public int getSegmentObjectCount(int segment) {
+		int end = segment + 1 < firstObjects.length ? firstObjects[segment + 1] : objectCount;
+		return end - firstObjects[segment];
+	}
+
+	/**
+	 * Returns the segments which might hold an object at the given address, normally at most one.
+	 * @param address
+	 * @return the segment numbers, in descending address order
+	 */
+	public int[] findSegments(long address) {
+		// Find the last segment in address order which starts at or below the address
+		int low = 0;
+		int high = sortedMinAddresses.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (sortedMinAddresses[mid] <= address) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		int[] found = new int[1];
+		int count = 0;
+		// Then step back over any earlier segments which reach the address
+		for (int i = high; i >= 0 && sortedMaxAddresses[i] >= address; --i) {
+			int segment = byAddress[i];
+			if (maxAddresses[segment] >= address) {
+				if (count == found.length) {
+					found = Arrays.copyOf(found, count * 2);
+				}
+				found[count++] = segment;
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Positions a reader at the first record of a segment.
+	 */
+	void restart(HeapdumpReader reader, int segment) {
+		long[] classAddressCache = new long[4];
+		System.arraycopy(classAddressCaches, segment * 4, classAddressCache, 0, 4);
+		reader.restart(offsets[segment], lastAddresses[segment], classAddressCache, classAddressCacheIndexes[segment]);
+	}
+
+	/**
+	 * Returns the number of entries in the class histogram.
+	 */
+	public int getHistogramLength() {
+		return classes.length;
+	}
+
+	/**
+	 * Returns the kind of a histogram entry, {@link #OBJECT}, {@link #OBJECT_ARRAY} or {@link #PRIMITIVE_ARRAY}.
+	 */
+	public int getHistogramKind(int entry) {
+		return kinds[entry];
+	}
+
+	/**
+	 * Returns the class address of a histogram entry, or the type code of the elements for a primitive array entry.
+	 */
+	public long getHistogramClass(int entry) {
+		return classes[entry];
+	}
+
+	/**
+	 * Returns the number of objects of a histogram entry.
+	 */
+	public long getHistogramCount(int entry) {
+		return counts[entry];
+	}
+
+	/**
+	 * Returns the total size of the objects of a histogram entry, for the objects whose size the dump records.
+	 */
+	public long getHistogramBytes(int entry) {
+		return sizes[entry];
+	}
+
+	/**
+	 * Is the index for the given dump file, as the dump file is now?
+	 */
+	boolean matches(File dump) {
+		return dump.length() == dumpLength && dump.lastModified() == dumpModified;
+	}
+
+	/**
+	 * Builds the index of a dump by parsing all the records.
+	 * @param reader a reader positioned at the first record
+	 * @param dump the dump file, to record its length and modification time
+	 * @param interval the maximum number of records in a segment
+	 */
+	static HeapdumpIndex build(HeapdumpReader reader, File dump, int interval) throws Exception {
+		Builder builder = new Builder(reader);
+		LongArray offsets = new LongArray();
+		LongArray lastAddresses = new LongArray();
+		LongArray classAddressCaches = new LongArray();
+		LongArray cacheIndexes = new LongArray();
+		LongArray records = new LongArray();
+		LongArray firstObjects = new LongArray();
+		LongArray minAddresses = new LongArray();
+		LongArray maxAddresses = new LongArray();
+		long offset = reader.position();
+		long lastAddress = reader.lastAddress;
+		long[] classAddressCache = reader.classAddressCache.clone();
+		int classAddressCacheIndex = reader.classAddressCacheIndex;
+		int inSegment = 0;
+		int segment = -1;
+		int objectCount = 0;
+		while (reader.parse(builder)) {
+			if (segment < 0 || inSegment == interval
+			|| builder.isObject && builder.address <= maxAddresses.get(segment)) {
+				// Start a new segment at this record, with the state from before it was parsed
+				++segment;
+				inSegment = 0;
+				offsets.add(offset);
+				lastAddresses.add(lastAddress);
+				for (int i = 0; i < classAddressCache.length; ++i) {
+					classAddressCaches.add(classAddressCache[i]);
+				}
+				cacheIndexes.add(classAddressCacheIndex);
+				records.add(0);
+				firstObjects.add(objectCount);
+				minAddresses.add(Long.MAX_VALUE);
+				maxAddresses.add(Long.MIN_VALUE);
+			}
+			++inSegment;
+			records.put(segment, inSegment);
+			if (builder.isObject) {
+				if (minAddresses.get(segment) == Long.MAX_VALUE) {
+					minAddresses.put(segment, builder.address);
+				}
+				maxAddresses.put(segment, builder.address);
+				++objectCount;
+			}
+			offset = reader.position();
+			lastAddress = reader.lastAddress;
+			System.arraycopy(reader.classAddressCache, 0, classAddressCache, 0, classAddressCache.length);
+			classAddressCacheIndex = reader.classAddressCacheIndex;
+		}
+		int segments = segment + 1;
+		long[] min = minAddresses.toArray();
+		Integer[] sorted = new Integer[segments];
+		for (int i = 0; i < segments; ++i) {
+			sorted[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(sorted, (a, b) -> Long.compare(min[a.intValue()], min[b.intValue()]));
+		int[] byAddress = new int[segments];
+		for (int i = 0; i < segments; ++i) {
+			byAddress[i] = sorted[i].intValue();
+		}
+		byte[] cacheIndexBytes = new byte[segments];
+		for (int i = 0; i < segments; ++i) {
+			cacheIndexBytes[i] = (byte)cacheIndexes.get(i);
+		}
+		return builder.histogram(dump.length(), dump.lastModified(), interval, objectCount,
+				offsets.toArray(), lastAddresses.toArray(), classAddressCaches.toArray(), cacheIndexBytes,
+				toInts(records), toInts(firstObjects), min, maxAddresses.toArray(), byAddress);
+	}
+
+	private static int[] toInts(LongArray array) {
+		int[] ints = new int[array.size()];
+		for (int i = 0; i < ints.length; ++i) {
+			ints[i] = (int)array.get(i);
+		}
+		return ints;
+	}
+
+	/**
+	 * Accumulates the class histogram, and notes the address of each record as it is parsed.
+	 * The parse is stopped after each record so that the parse state at the start of the next
+	 * record can be saved.
+	 */
+	private static final class Builder implements PortableHeapDumpListener {
+		private final HeapdumpReader reader;
+		private final boolean isJ9V4;
+		/** For each kind, maps a class to its count, size and the count of the objects without a recorded size */
+		private final Map<Long, long[]>[] histogram;
+		private final Map<Long, Integer> instanceSizes = new HashMap<Long, Integer>();
+		long address;
+		boolean isObject;
+
+		@SuppressWarnings("unchecked")
+		Builder(HeapdumpReader reader) {
+			this.reader = reader;
+			this.isJ9V4 = reader.version() == 4 && reader.isJ9();
+			histogram = new Map[] { new HashMap<Long, long[]>(), new HashMap<Long, long[]>(), new HashMap<Long, long[]>() };
+		}
+
+		private void count(int kind, long classAddress, long instanceSize) {
+			Long key = Long.valueOf(classAddress);
+			long[] entry = histogram[kind].get(key);
+			if (entry == null) {
+				entry = new long[3];
+				histogram[kind].put(key, entry);
+			}
+			entry[0]++;
+			if (instanceSize == PHDJavaObject.UNSPECIFIED_INSTANCE_SIZE) {
+				entry[2]++;
+			} else {
+				entry[1] += instanceSize;
+			}
+		}
+
+		public void classDump(long address, long superAddress, String name, int size,
+				int flags, int hashCode, LongEnumeration refs) throws Exception {
+			instanceSizes.put(Long.valueOf(address), Integer.valueOf(size));
+			this.address = address;
+			isObject = false;
+			reader.exitParse();
+		}
+
+		public void objectArrayDump(long address, long classAddress, int flags,
+				int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+			// Some versions of PHD store the array class as the first reference
+			if (isJ9V4 && refs.hasMoreElements()) {
+				classAddress = refs.nextLong();
+			}
+			count(OBJECT_ARRAY, classAddress, instanceSize);
+			this.address = address;
+			isObject = true;
+			reader.exitParse();
+		}
+
+		public void objectDump(long address, long classAddress, int flags, int hashCode,
+				LongEnumeration refs, long instanceSize) throws Exception {
+			count(OBJECT, classAddress, instanceSize);
+			this.address = address;
+			isObject = true;
+			reader.exitParse();
+		}
+
+		public void primitiveArrayDump(long address, int type, int length, int flags,
+				int hashCode, long instanceSize) throws Exception {
+			count(PRIMITIVE_ARRAY, type, instanceSize);
+			this.address = address;
+			isObject = true;
+			reader.exitParse();
+		}
+
+		HeapdumpIndex histogram(long dumpLength, long dumpModified, int interval, int objectCount,
+				long[] offsets, long[] lastAddresses, long[] classAddressCaches, byte[] classAddressCacheIndexes,
+				int[] records, int[] firstObjects, long[] minAddresses, long[] maxAddresses, int[] byAddress) {
+			int entries = 0;
+			for (Map<Long, long[]> map : histogram) {
+				entries += map.size();
+			}
+			final byte[] kinds = new byte[entries];
+			final long[] classes = new long[entries];
+			final long[] counts = new long[entries];
+			final long[] sizes = new long[entries];
+			int entry = 0;
+			for (int kind = 0; kind < histogram.length; ++kind) {
+				for (Map.Entry<Long, long[]> e : histogram[kind].entrySet()) {
+					long[] value = e.getValue();
+					long size = value[1];
+					if (kind == OBJECT) {
+						// Objects take their size from the class
+						Integer instanceSize = instanceSizes.get(e.getKey());
+						if (instanceSize != null) {
+							size += value[2] * instanceSize.intValue();
+						}
+					}
+					kinds[entry] = (byte)kind;
+					classes[entry] = e.getKey().longValue();
+					counts[entry] = value[0];
+					sizes[entry] = size;
+					++entry;
+				}
+			}
+			// Most frequent first
+			Integer[] order = new Integer[entries];
+			for (int i = 0; i < entries; ++i) {
+				order[i] = Integer.valueOf(i);
+			}
+			Arrays.sort(order, (a, b) -> Long.compare(counts[b.intValue()], counts[a.intValue()]));
+			byte[] sortedKinds = new byte[entries];
+			long[] sortedClasses = new long[entries];
+			long[] sortedCounts = new long[entries];
+			long[] sortedSizes = new long[entries];
+			for (int i = 0; i < entries; ++i) {
+				int from = order[i].intValue();
+				sortedKinds[i] = kinds[from];
+				sortedClasses[i] = classes[from];
+				sortedCounts[i] = counts[from];
+				sortedSizes[i] = sizes[from];
+			}
+			return new HeapdumpIndex(dumpLength, dumpModified, interval, objectCount,
+					offsets, lastAddresses, classAddressCaches, classAddressCacheIndexes,
+					records, firstObjects, minAddresses, maxAddresses, byAddress,
+					sortedKinds, sortedClasses, sortedCounts, sortedSizes);
+		}
+	}
+
+	/**
+	 * Saves the index to a file.
+	 */
+	public void write(File file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeLong(dumpLength);
+			out.writeLong(dumpModified);
+			out.writeInt(interval);
+			out.writeInt(objectCount);
+			int segments = offsets.length;
+			out.writeInt(segments);
+			for (int i = 0; i < segments; ++i) {
+				out.writeLong(offsets[i]);
+				out.writeLong(lastAddresses[i]);
+				for (int j = 0; j < 4; ++j) {
+					out.writeLong(classAddressCaches[i * 4 + j]);
+				}
+				out.writeByte(classAddressCacheIndexes[i]);
+				out.writeInt(records[i]);
+				out.writeInt(firstObjects[i]);
+				out.writeLong(minAddresses[i]);
+				out.writeLong(maxAddresses[i]);
+			}
+			for (int i = 0; i < segments; ++i) {
+				out.writeInt(byAddress[i]);
+			}
+			int entries = classes.length;
+			out.writeInt(entries);
+			for (int i = 0; i < entries; ++i) {
+				out.writeByte(kinds[i]);
+				out.writeLong(classes[i]);
+				out.writeLong(counts[i]);
+				out.writeLong(sizes[i]);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads an index saved by {@link #write}.
+	 * @return the index, or null if the file does not hold an index of this format
+	 */
+	public static HeapdumpIndex read(File file) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			long dumpLength = in.readLong();
+			long dumpModified = in.readLong();
+			int interval = in.readInt();
+			int objectCount = in.readInt();
+			int segments = in.readInt();
+			long[] offsets = new long[segments];
+			long[] lastAddresses = new long[segments];
+			long[] classAddressCaches = new long[segments * 4];
+			byte[] classAddressCacheIndexes = new byte[segments];
+			int[] records = new int[segments];
+			int[] firstObjects = new int[segments];
+			long[] minAddresses = new long[segments];
+			long[] maxAddresses = new long[segments];
+			for (int i = 0; i < segments; ++i) {
+				offsets[i] = in.readLong();
+				lastAddresses[i] = in.readLong();
+				for (int j = 0; j < 4; ++j) {
+					classAddressCaches[i * 4 + j] = in.readLong();
+				}
+				classAddressCacheIndexes[i] = in.readByte();
+				records[i] = in.readInt();
+				firstObjects[i] = in.readInt();
+				minAddresses[i] = in.readLong();
+				maxAddresses[i] = in.readLong();
+			}
+			int[] byAddress = new int[segments];
+			for (int i = 0; i < segments; ++i) {
+				byAddress[i] = in.readInt();
+			}
+			int entries = in.readInt();
+			byte[] kinds = new byte[entries];
+			long[] classes = new long[entries];
+			long[] counts = new long[entries];
+			long[] sizes = new long[entries];
+			for (int i = 0; i < entries; ++i) {
+				kinds[i] = in.readByte();
+				classes[i] = in.readLong();
+				counts[i] = in.readLong();
+				sizes[i] = in.readLong();
+			}
+			return new HeapdumpIndex(dumpLength, dumpModified, interval, objectCount,
+					offsets, lastAddresses, classAddressCaches, classAddressCacheIndexes,
+					records, firstObjects, minAddresses, maxAddresses, byAddress,
+					kinds, classes, counts, sizes);
+		} finally {
+			in.close();
+		}
+	}
+}
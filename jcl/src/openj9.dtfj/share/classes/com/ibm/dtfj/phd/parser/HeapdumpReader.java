@@ -23,6 +23,7 @@
 package com.ibm.dtfj.phd.parser;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.util.zip.GZIPInputStream;
 import java.util.Vector;
 
@@ -164,6 +165,55 @@ public class HeapdumpReader extends Base {
 		}
 	}
 
+	/**
+	 * Create a new HeapdumpReader object which reads a Phd format file through memory mappings of the given channel.
+	 * The channel is not closed when the reader is closed.
+	 * @throws IOException
+	 */
+	protected HeapdumpReader(FileChannel channel, String filename) throws IOException {
+		this.filename = filename;
+		dis = new DataStreamAdapter(new MappedInput(channel));
+		processData();
+	}
+
+	/**
+	 * Create a new HeapdumpReader object which reads the records of a mapped Phd format file,
+	 * using the header details already read by another reader of the same file.
+	 * The reader must be positioned with {@link #restart} before parsing.
+	 */
+	HeapdumpReader(HeapdumpReader header, MappedInput input) {
+		filename = header.filename;
+		dis = new DataStreamAdapter(input);
+		totalObjects = header.totalObjects;
+		totalRefs = header.totalRefs;
+		version = header.version;
+		random1 = header.random1;
+		random2 = header.random2;
+		dumpFlags = header.dumpFlags;
+		full_version = header.full_version;
+		pre78432 = header.pre78432;
+		gapShift = header.gapShift;
+		j9 = header.j9;
+	}
+
+	/**
+	 * Returns the offset in the file of the next record, for a reader of a mapped file.
+	 */
+	long position() {
+		return dis.position();
+	}
+
+	/**
+	 * Positions a reader of a mapped file at a record, restoring the parse state needed to
+	 * decode the record: the previous address and the cache of recently used class addresses.
+	 */
+	void restart(long offset, long lastAddress, long[] classAddressCache, int classAddressCacheIndex) {
+		dis.seek(offset);
+		this.lastAddress = lastAddress;
+		System.arraycopy(classAddressCache, 0, this.classAddressCache, 0, this.classAddressCache.length);
+		this.classAddressCacheIndex = classAddressCacheIndex;
+	}
+
 	private void processData() throws IOException {
 		try {
 			// Remember the first two bytes in case the header is corrupt
@@ -706,27 +756,52 @@ public class HeapdumpReader extends Base {
 	}
 
 	/**
-	 * Used to adapt data retrieval calls between two incompatible streams
-	 * DataInputStream and ImageInputStream
+	 * Used to adapt data retrieval calls between three incompatible sources
+	 * DataInputStream, ImageInputStream and a memory mapped file
 	 * @author adam
 	 *
 	 */
 	private class DataStreamAdapter {
 		private final DataInputStream dis;
 		private final ImageInputStream iis;
+		private final MappedInput min;
 
 		public DataStreamAdapter(ImageInputStream iis) {
 			this.iis = iis;
 			dis = null;
+			min = null;
 		}
 
 		public DataStreamAdapter(DataInputStream dis) {
 			this.dis = dis;
 			iis = null;
+			min = null;
+		}
+
+		public DataStreamAdapter(MappedInput min) {
+			this.min = min;
+			dis = null;
+			iis = null;
+		}
+
+		public long position() {
+			if(min == null) {
+				throw new UnsupportedOperationException("not a mapped file");
+			}
+			return min.position();
+		}
+
+		public void seek(long offset) {
+			if(min == null) {
+				throw new UnsupportedOperationException("not a mapped file");
+			}
+			min.seek(offset);
 		}
 
 		public int readInt() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				return min.readInt();
+			} else if(dis == null) {
 				return iis.readInt();
 			} else {
 				return dis.readInt();
@@ -734,7 +809,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public int readUnsignedShort() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				return min.readUnsignedShort();
+			} else if(dis == null) {
 				return iis.readUnsignedShort();
 			} else {
 				return dis.readUnsignedShort();
@@ -742,7 +819,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public int readUnsignedByte() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				return min.readUnsignedByte();
+			} else if(dis == null) {
 				return iis.readUnsignedByte();
 			} else {
 				return dis.readUnsignedByte();
@@ -750,7 +829,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public void mark(int readlimit) {
-			if(dis == null) {
+			if(min != null) {
+				min.mark();
+			} else if(dis == null) {
 				iis.mark();		//iis mark doesn't take a parameter
 			} else {
 				dis.mark(readlimit);
@@ -758,7 +839,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public void reset() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				min.reset();
+			} else if(dis == null) {
 				iis.reset();
 			} else {
 				dis.reset();
@@ -766,7 +849,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public long readLong() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				return min.readLong();
+			} else if(dis == null) {
 				return iis.readLong();
 			} else {
 				return dis.readLong();
@@ -774,7 +859,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public short readShort() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				return min.readShort();
+			} else if(dis == null) {
 				return iis.readShort();
 			} else {
 				return dis.readShort();
@@ -782,7 +869,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public byte readByte() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				return min.readByte();
+			} else if(dis == null) {
 				return iis.readByte();
 			} else {
 				return dis.readByte();
@@ -790,7 +879,9 @@ public class HeapdumpReader extends Base {
 		}
 
 		public void readFully(byte[] buffer) throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				min.readFully(buffer);
+			} else if(dis == null) {
 				iis.readFully(buffer);
 			} else {
 				dis.readFully(buffer);
@@ -798,7 +889,10 @@ public class HeapdumpReader extends Base {
 		}
 
 		public void close() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				//only drop the mapping, the channel is owned by the creator of the reader
+				min.close();
+			} else if(dis == null) {
 				//ignore and do not close the image input stream as this will be handled by the PHD Image
 			} else {
 				dis.close();
@@ -807,7 +901,9 @@ public class HeapdumpReader extends Base {
 
 		//allows all input sources to be closed and is used to signal the final closing
 		public void releaseResources() throws IOException {
-			if(dis == null) {
+			if(min != null) {
+				min.close();
+			} else if(dis == null) {
 				iis.close();
 			} else {
 				dis.close();
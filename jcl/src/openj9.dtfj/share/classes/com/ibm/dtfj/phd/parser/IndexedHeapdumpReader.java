@@ -0,0 +1,397 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.phd.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ibm.dtfj.phd.PHDImage;
+import com.ibm.dtfj.phd.util.LongEnumeration;
+
+/**
+ *  Reads an uncompressed PHD format heapdump through memory mappings, using a {@link HeapdumpIndex}
+ *  to parse just the segment of the dump which holds an object, or to parse the segments of the dump in parallel.
+ *  The index is read from the sidecar file next to the dump if that is up to date, otherwise it is built and
+ *  saved there if possible.
+ *  <p>
+ *  The reader can also be used as a {@link HeapdumpReader} to parse the whole dump in sequence.
+ */
+public class IndexedHeapdumpReader extends HeapdumpReader {
+
+	private final FileChannel channel;
+	private final HeapdumpIndex index;
+
+	/**
+	 * A source of listeners, one for each segment parsed by {@link IndexedHeapdumpReader#parseSegments}.
+	 */
+	public interface SegmentListenerFactory {
+		/**
+		 * Returns the listener for the records of a segment. Listeners for different segments are
+		 * called from different threads at the same time.
+		 */
+		PortableHeapDumpListener listener(int segment) throws Exception;
+	}
+
+	private IndexedHeapdumpReader(FileChannel channel, File file, int interval, PHDImage image) throws IOException {
+		super(channel, file.getAbsolutePath());
+		this.channel = channel;
+		File sidecar = new File(file.getPath() + HeapdumpIndex.SUFFIX);
+		HeapdumpIndex saved = null;
+		if (sidecar.isFile()) {
+			try {
+				saved = HeapdumpIndex.read(sidecar);
+				if (saved != null && !saved.matches(file)) {
+					saved = null;
+				}
+			} catch (IOException e) {
+				// build a new index
+			}
+		}
+		if (saved == null) {
+			HeapdumpReader reader = new HeapdumpReader(this, new MappedInput(channel));
+			reader.restart(position(), 0, new long[4], 0);
+			try {
+				saved = HeapdumpIndex.build(reader, file, interval);
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				IOException ioe = new IOException("Error indexing PHD file");
+				ioe.initCause(e);
+				throw ioe;
+			}
+			File temp = new File(sidecar.getPath() + ".tmp");
+			try {
+				saved.write(temp);
+				if (!temp.renameTo(sidecar)) {
+					sidecar.delete();
+					temp.renameTo(sidecar);
+				}
+			} catch (IOException e) {
+				// The dump directory may not be writable, so just keep the index in memory
+				temp.delete();
+			}
+		}
+		this.index = saved;
+		this.image = image;
+		if (image != null) {
+			image.registerReader(this);
+		}
+	}
+
+	/**
+	 * Opens an uncompressed PHD format file, with its index.
+	 * @param file the dump
+	 * @param image the image to close the reader when it is closed, or null
+	 * @throws IOException if the file is not a readable uncompressed dump
+	 */
+	public static IndexedHeapdumpReader open(File file, PHDImage image) throws IOException {
+		return open(file, HeapdumpIndex.DEFAULT_INTERVAL, image);
+	}
+
+	/**
+	 * Opens an uncompressed PHD format file, with its index.
+	 * @param file the dump
+	 * @param interval the maximum number of records in a segment, if a new index is built
+	 * @param image the image to close the reader when it is closed, or null
+	 * @throws IOException if the file is not a readable uncompressed dump
+	 */
+	public static IndexedHeapdumpReader open(File file, int interval, PHDImage image) throws IOException {
+		if (file.getName().endsWith(".gz")) {
+			throw new IOException("Compressed PHD file cannot be indexed: " + file);
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			return new IndexedHeapdumpReader(channel, file, interval, image);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		} catch (RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public HeapdumpIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns a new reader positioned at the first record of a segment.
+	 */
+	private HeapdumpReader segmentReader(int segment) throws IOException {
+		HeapdumpReader reader = new HeapdumpReader(this, new MappedInput(channel));
+		index.restart(reader, segment);
+		return reader;
+	}
+
+	/**
+	 * Parses the records of one segment.
+	 * @param segment
+	 * @param listener
+	 */
+	public void parseSegment(int segment, PortableHeapDumpListener listener) throws Exception {
+		HeapdumpReader reader = segmentReader(segment);
+		try {
+			reader.parse(new SegmentListener(reader, listener, index.getRecordCount(segment)));
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Parses the record of the object, object array or primitive array at an address,
+	 * parsing just the segment of the dump which holds it.
+	 * Class records are not found; the classes are available from the class loaders.
+	 * @param address
+	 * @param listener called for the record, if it is found
+	 * @return true if the object was found
+	 */
+	public boolean parseObjectAt(long address, PortableHeapDumpListener listener) throws Exception {
+		for (int segment : index.findSegments(address)) {
+			HeapdumpReader reader = segmentReader(segment);
+			try {
+				ObjectListener found = new ObjectListener(reader, listener, index.getRecordCount(segment), address);
+				reader.parse(found);
+				if (found.found) {
+					return true;
+				}
+			} finally {
+				reader.close();
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parses all the segments, using all the processors.
+	 * @see #parseSegments(SegmentListenerFactory, int)
+	 */
+	public void parseSegments(SegmentListenerFactory factory) throws Exception {
+		parseSegments(factory, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Parses all the segments, several at once. Each thread takes the next segment not yet
+	 * parsed, so the segments are started in file order but may finish in any order.
+	 * @param factory gives the listener for each segment
+	 * @param threads the number of segments to parse at once
+	 * @throws Exception the first exception from a listener or the parser, after all the threads have stopped
+	 */
+	public void parseSegments(final SegmentListenerFactory factory, int threads) throws Exception {
+		final int segments = index.getSegmentCount();
+		final AtomicInteger next = new AtomicInteger();
+		threads = Math.max(1, Math.min(threads, segments));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Void>> results = new ArrayList<Future<Void>>(threads);
+			for (int i = 0; i < threads; ++i) {
+				results.add(executor.submit(new Callable<Void>() {
+					public Void call() throws Exception {
+						for (int segment; (segment = next.getAndIncrement()) < segments;) {
+							parseSegment(segment, factory.listener(segment));
+						}
+						return null;
+					}
+				}));
+			}
+			Exception failure = null;
+			for (Future<Void> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					// Stop the other threads at their next segment
+					next.set(segments);
+					if (failure == null) {
+						Throwable cause = e.getCause();
+						if (cause instanceof Exception) {
+							failure = (Exception)cause;
+						} else if (cause instanceof Error) {
+							throw (Error)cause;
+						} else {
+							failure = e;
+						}
+					}
+				}
+			}
+			if (failure != null) {
+				throw failure;
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void close() {
+		super.close();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Not a lot that we can do.
+		}
+	}
+
+	public void releaseResources() {
+		super.releaseResources();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Not a lot that we can do.
+		}
+	}
+
+	String className() {
+		return "IndexedHeapdumpReader";
+	}
+
+	/**
+	 * Passes on the records of a segment, then stops the parse at the end of the segment.
+	 */
+	private static class SegmentListener implements PortableHeapDumpListener {
+		final HeapdumpReader reader;
+		final PortableHeapDumpListener listener;
+		int remaining;
+
+		SegmentListener(HeapdumpReader reader, PortableHeapDumpListener listener, int records) {
+			this.reader = reader;
+			this.listener = listener;
+			this.remaining = records;
+		}
+
+		void next() {
+			if (--remaining <= 0) {
+				reader.exitParse();
+			}
+		}
+
+		public void classDump(long address, long superAddress, String name, int size,
+				int flags, int hashCode, LongEnumeration refs) throws Exception {
+			next();
+			listener.classDump(address, superAddress, name, size, flags, hashCode, refs);
+		}
+
+		public void objectArrayDump(long address, long classAddress, int flags,
+				int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+			next();
+			listener.objectArrayDump(address, classAddress, flags, hashCode, refs, length, instanceSize);
+		}
+
+		public void objectDump(long address, long classAddress, int flags, int hashCode,
+				LongEnumeration refs, long instanceSize) throws Exception {
+			next();
+			listener.objectDump(address, classAddress, flags, hashCode, refs, instanceSize);
+		}
+
+		public void primitiveArrayDump(long address, int type, int length, int flags,
+				int hashCode, long instanceSize) throws Exception {
+			next();
+			listener.primitiveArrayDump(address, type, length, flags, hashCode, instanceSize);
+		}
+	}
+
+	/**
+	 * Passes on just the object record at an address. The objects of a segment are in ascending
+	 * address order, so the parse is stopped at the first object at or above the address.
+	 */
+	private static final class ObjectListener extends SegmentListener {
+		final long address;
+		boolean found;
+
+		ObjectListener(HeapdumpReader reader, PortableHeapDumpListener listener, int records, long address) {
+			super(reader, listener, records);
+			this.address = address;
+		}
+
+		private boolean match(long objectAddress) {
+			next();
+			if (objectAddress >= address) {
+				reader.exitParse();
+			}
+			found = objectAddress == address;
+			return found;
+		}
+
+		public void classDump(long address, long superAddress, String name, int size,
+				int flags, int hashCode, LongEnumeration refs) throws Exception {
+			next();
+		}
+
+		public void objectArrayDump(long address, long classAddress, int flags,
+				int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+			if (match(address)) {
+				listener.objectArrayDump(address, classAddress, flags, hashCode, refs, length, instanceSize);
+			}
+		}
+
+		public void objectDump(long address, long classAddress, int flags, int hashCode,
+				LongEnumeration refs, long instanceSize) throws Exception {
+			if (match(address)) {
+				listener.objectDump(address, classAddress, flags, hashCode, refs, instanceSize);
+			}
+		}
+
+		public void primitiveArrayDump(long address, int type, int length, int flags,
+				int hashCode, long instanceSize) throws Exception {
+			if (match(address)) {
+				listener.primitiveArrayDump(address, type, length, flags, hashCode, instanceSize);
+			}
+		}
+	}
+
+	/**
+	 * This method builds or reads the index of a dump, then prints the class histogram.
+	 */
+	public static void main(String[] args) throws IOException {
+		IndexedHeapdumpReader reader = open(new File(args[0]), null);
+		try {
+			HeapdumpIndex index = reader.getIndex();
+			System.out.println("objects = " + index.getObjectCount() + " segments = " + index.getSegmentCount());
+			for (int i = 0; i < index.getHistogramLength(); ++i) {
+				String kind;
+				switch (index.getHistogramKind(i)) {
+				case HeapdumpIndex.OBJECT_ARRAY:
+					kind = "array of class";
+					break;
+				case HeapdumpIndex.PRIMITIVE_ARRAY:
+					kind = "array of type";
+					break;
+				default:
+					kind = "class";
+					break;
+				}
+				System.out.println(index.getHistogramCount(i) + "\t" + index.getHistogramBytes(i) + "\t" + kind + " 0x" + hex(index.getHistogramClass(i)));
+			}
+		} finally {
+			reader.close();
+		}
+	}
+}
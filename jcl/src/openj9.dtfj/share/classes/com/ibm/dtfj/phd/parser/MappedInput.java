@@ -0,0 +1,126 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.phd.parser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ *  Reads a file through a window mapped from a channel, so that files larger than 2GB can be read and
+ *  several readers can read different parts of the same file at once. The window is moved when a read
+ *  would pass the end of it. Data is read in big endian order, as for a DataInputStream.
+ */
+final class MappedInput {
+
+	/** Size of the mapped window, unless the end of the file or a longer read limits it */
+	private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long size;
+	private MappedByteBuffer window;
+	/** File offset of the start of the window, or of the next byte if there is no window */
+	private long windowStart;
+	private long mark;
+
+	MappedInput(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.size = channel.size();
+	}
+
+	long position() {
+		return window == null ? windowStart : windowStart + window.position();
+	}
+
+	void seek(long offset) {
+		if (window != null && offset >= windowStart && offset <= windowStart + window.limit()) {
+			window.position((int)(offset - windowStart));
+		} else {
+			window = null;
+			windowStart = offset;
+		}
+	}
+
+	void mark() {
+		mark = position();
+	}
+
+	void reset() {
+		seek(mark);
+	}
+
+	/**
+	 * Returns the window, moved if necessary so that the next <code>length</code> bytes are in it.
+	 */
+	private MappedByteBuffer require(int length) throws IOException {
+		MappedByteBuffer buffer = window;
+		if (buffer == null || buffer.remaining() < length) {
+			long offset = position();
+			if (offset + length > size) {
+				throw new EOFException("read of " + length + " bytes at offset " + offset + " passes end of file at " + size);
+			}
+			long windowSize = Math.min(Math.max(WINDOW_SIZE, length), size - offset);
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowSize);
+			window = buffer;
+			windowStart = offset;
+		}
+		return buffer;
+	}
+
+	byte readByte() throws IOException {
+		return require(1).get();
+	}
+
+	int readUnsignedByte() throws IOException {
+		return require(1).get() & 0xff;
+	}
+
+	short readShort() throws IOException {
+		return require(2).getShort();
+	}
+
+	int readUnsignedShort() throws IOException {
+		return require(2).getShort() & 0xffff;
+	}
+
+	int readInt() throws IOException {
+		return require(4).getInt();
+	}
+
+	long readLong() throws IOException {
+		return require(8).getLong();
+	}
+
+	void readFully(byte[] buffer) throws IOException {
+		require(buffer.length).get(buffer);
+	}
+
+	/**
+	 * Drops the window. The channel is left open.
+	 */
+	void close() {
+		windowStart = position();
+		window = null;
+	}
+}
@@ -0,0 +1,90 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.phd.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  Superclass of MappedIntArray and MappedLongArray, fixed length arrays held in a temporary file
+ *  which is mapped into memory in chunks, so that arrays larger than the Java heap can be used.
+ *  The operating system pages the chunks in and out as they are used.
+ *  <p>
+ *  Elements at different indices may be read and written by different threads at once.
+ */
+public abstract class MappedArray implements Closeable {
+	static final int CHUNK_SHIFT = 28;
+	static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+	static final int CHUNK_MASK = (int)CHUNK_SIZE - 1;
+
+	private final File file;
+	private final FileChannel channel;
+	final ByteBuffer[] chunks;
+	final long length;
+
+	/**
+	 * Create an array with all the elements 0.
+	 * @param directory where to create the file, or null for the default temporary directory
+	 * @param length number of elements
+	 * @param elementShift log2 of the size of each element in bytes
+	 * @throws IOException
+	 */
+	MappedArray(File directory, long length, int elementShift) throws IOException {
+		this.length = length;
+		file = File.createTempFile("phd", ".spill", directory);
+		file.deleteOnExit();
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long bytes = length << elementShift;
+			chunks = new ByteBuffer[(int)((bytes + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+			for (int i = 0; i < chunks.length; ++i) {
+				long start = (long)i << CHUNK_SHIFT;
+				chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(CHUNK_SIZE, bytes - start));
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Release the file. The array must not be used afterwards.
+	 */
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Not a lot that we can do.
+		}
+		// This can fail while the chunks are still mapped, in which case the file is deleted on exit
+		file.delete();
+	}
+}
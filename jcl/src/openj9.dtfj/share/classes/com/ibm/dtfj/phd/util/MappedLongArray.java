@@ -0,0 +1,51 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.dtfj.phd.util;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ *  A fixed length array of longs held in a memory mapped temporary file.
+ */
+public final class MappedLongArray extends MappedArray {
+
+	public MappedLongArray(File directory, long length) throws IOException {
+		super(directory, length, 3);
+	}
+
+	public long get(long index) {
+		long offset = index << 3;
+		return chunks[(int)(offset >>> CHUNK_SHIFT)].getLong((int)offset & CHUNK_MASK);
+	}
+
+	public void put(long index, long value) {
+		long offset = index << 3;
+		chunks[(int)(offset >>> CHUNK_SHIFT)].putLong((int)offset & CHUNK_MASK, value);
+	}
+
+	public void putAll(long value) {
+		for (long i = 0; i < length; i++)
+			put(i, value);
+	}
+}
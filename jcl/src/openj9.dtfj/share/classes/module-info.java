@@ -42,6 +42,9 @@ module openj9.dtfj {
   exports com.ibm.dtfj.image.j9 to openj9.dtfjview;
   exports com.ibm.dtfj.java;
   exports com.ibm.dtfj.runtime;
+  exports com.ibm.dtfj.phd to openj9.dtfjview;
+  exports com.ibm.dtfj.phd.parser to openj9.dtfjview;
+  exports com.ibm.dtfj.phd.util to openj9.dtfjview;
   exports com.ibm.dtfj.utils.file to openj9.dtfjview;
   exports com.ibm.java.diagnostics.utils;
   exports com.ibm.java.diagnostics.utils.commands;
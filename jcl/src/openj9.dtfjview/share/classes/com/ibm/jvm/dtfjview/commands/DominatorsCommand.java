@@ -0,0 +1,184 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.jvm.dtfjview.commands;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+
+import com.ibm.java.diagnostics.utils.IContext;
+import com.ibm.java.diagnostics.utils.commands.CommandException;
+import com.ibm.java.diagnostics.utils.plugins.DTFJPlugin;
+import com.ibm.jvm.dtfjview.heapdump.DominatorTree;
+
+/**
+ * Command for listing the objects of a PHD format heapdump which retain the most memory,
+ * computed from the dominator tree of the objects.
+ */
+@DTFJPlugin(version="1.*",runtime=false)
+public class DominatorsCommand extends BaseJdmpviewCommand {
+	public static final String COMMAND_NAME = "dominators";
+	public static final String DESCRIPTION = "lists the objects in a PHD file which retain the most memory";
+	public static final String LONG_DESCRIPTION = "Parameters: [-top <n>] [-threads <n>] [-dir <directory>] [-file <phd file>] [address]\n\n"
+			+ "\t[-top <n>] - the number of objects to list. Default: 20.\n"
+			+ "\t[-threads <n>] - the number of threads used to analyze the file. Default: the number of processors.\n"
+			+ "\t[-dir <directory>] - where to create the temporary files. Default: the temporary directory.\n"
+			+ "\t[-file <phd file>] - the PHD file to analyze. Default: the file of the current context.\n"
+			+ "\t[address] - list the objects retained by the object or class at this address.\n\n"
+			+ "Computes the dominator tree of the objects in an uncompressed PHD file and lists the objects with the largest "
+			+ "retained sizes, which is the memory that would be freed if the object was no longer referenced.\n"
+			+ "A PHD file does not record the garbage collection roots, so the classes and the objects which are not "
+			+ "referenced are treated as the roots. The sizes of arrays are estimated if they are not recorded in the file.\n"
+			+ "The analysis uses temporary files rather than the Java heap, and is kept until another file is analyzed.\n";
+
+	private static final int DEFAULT_TOP = 20;
+
+	/** The most recently analyzed file, which is likely to be asked about again */
+	private static DominatorTree lastTree;
+	private static String lastPath;
+	private static long lastModified;
+
+	{
+		addCommand(COMMAND_NAME, "[-top <n>] [-threads <n>] [-dir <directory>] [-file <phd file>] [address]", DESCRIPTION);
+	}
+
+	public void run(String command, String[] args, IContext context, PrintStream out) throws CommandException {
+		if(initCommand(command, args, context, out)) {
+			return;		//processing already handled by super class
+		}
+		int top = DEFAULT_TOP;
+		int threads = Runtime.getRuntime().availableProcessors();
+		File directory = null;
+		File file = null;
+		Long address = null;
+		try {
+			for (int i = 0; i < args.length; ++i) {
+				String arg = args[i];
+				if (arg.startsWith("-") && (i + 1 == args.length)) {
+					throw new CommandException("Missing value for " + arg);
+				}
+				if (arg.equals("-top")) {
+					top = Integer.parseInt(args[++i]);
+				} else if (arg.equals("-threads")) {
+					threads = Integer.parseInt(args[++i]);
+				} else if (arg.equals("-dir")) {
+					directory = new File(args[++i]);
+				} else if (arg.equals("-file")) {
+					file = new File(args[++i]);
+				} else if (address == null) {
+					address = Long.valueOf(toLong(arg));
+				} else {
+					throw new CommandException("Unexpected parameter " + arg);
+				}
+			}
+		} catch (NumberFormatException e) {
+			throw new CommandException("Invalid number " + e.getMessage());
+		}
+		if (top <= 0 || threads <= 0) {
+			throw new CommandException("The -top and -threads values must be greater than 0");
+		}
+		if (file == null) {
+			URI source = ctx.getImage().getSource();
+			if (getArtifactType() != ArtifactType.phd || source == null || !"file".equals(source.getScheme())) {
+				throw new CommandException("The current context is not a PHD file, use -file to name a PHD file");
+			}
+			file = new File(source.getPath());
+		}
+		if (!file.isFile()) {
+			throw new CommandException("Unable to find the file " + file);
+		}
+		try {
+			DominatorTree tree = getTree(file, directory, threads);
+			if (address == null) {
+				printLargest(tree, top);
+			} else {
+				printRetained(tree, address.longValue(), top);
+			}
+		} catch (CommandException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new CommandException("Unable to analyze " + file + ": " + e, e);
+		}
+	}
+
+	private DominatorTree getTree(File file, File directory, int threads) throws Exception {
+		synchronized (DominatorsCommand.class) {
+			String path = file.getAbsolutePath();
+			if (lastTree != null) {
+				if (path.equals(lastPath) && lastModified == file.lastModified()) {
+					return lastTree;
+				}
+				lastTree.close();
+				lastTree = null;
+			}
+			out.println("Analyzing " + path + " with " + threads + " threads");
+			long start = System.currentTimeMillis();
+			DominatorTree tree = DominatorTree.build(file, directory, threads);
+			out.println("Found " + tree.getNodeCount() + " objects and classes, " + tree.getTotalSize()
+					+ " bytes, in " + (System.currentTimeMillis() - start) + " ms");
+			lastTree = tree;
+			lastPath = path;
+			lastModified = file.lastModified();
+			return tree;
+		}
+	}
+
+	private void printLargest(DominatorTree tree, int top) throws Exception {
+		out.println();
+		out.println("Objects with the largest retained sizes:");
+		printNodes(tree, tree.getLargest(top));
+	}
+
+	private void printRetained(DominatorTree tree, long address, int top) throws Exception {
+		int node = tree.findNode(address);
+		if (node < 0) {
+			throw new CommandException("No object or class at " + toHexStringAddr(address));
+		}
+		out.println();
+		printNodes(tree, new int[] { node });
+		int dominator = tree.getDominator(node);
+		out.println();
+		if (dominator < 0) {
+			out.println("Dominated by: the roots");
+		} else {
+			out.println("Dominated by:");
+			printNodes(tree, new int[] { dominator });
+		}
+		out.println();
+		out.println("Largest objects retained:");
+		printNodes(tree, tree.getDominated(node, top));
+	}
+
+	private void printNodes(DominatorTree tree, int[] nodes) throws Exception {
+		out.println(String.format("\t%-18s %14s %14s  %s", "address", "retained", "shallow", "type"));
+		for (int node : nodes) {
+			out.println(String.format("\t%-18s %14d %14d  %s", toHexStringAddr(tree.getAddress(node)),
+					tree.getRetainedSize(node), tree.getShallowSize(node), tree.getTypeName(node)));
+		}
+	}
+
+	@Override
+	public void printDetailedHelp(PrintStream out) {
+		out.println(LONG_DESCRIPTION);
+	}
+}
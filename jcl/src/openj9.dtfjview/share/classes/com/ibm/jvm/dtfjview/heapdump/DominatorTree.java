@@ -0,0 +1,683 @@
+/*[INCLUDE-IF Sidecar18-SE]*/
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package com.ibm.jvm.dtfjview.heapdump;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ibm.dtfj.phd.PHDJavaObject;
+import com.ibm.dtfj.phd.parser.HeapdumpIndex;
+import com.ibm.dtfj.phd.parser.IndexedHeapdumpReader;
+import com.ibm.dtfj.phd.parser.PortableHeapDumpListener;
+import com.ibm.dtfj.phd.util.LongEnumeration;
+import com.ibm.dtfj.phd.util.MappedArray;
+import com.ibm.dtfj.phd.util.MappedIntArray;
+import com.ibm.dtfj.phd.util.MappedLongArray;
+
+/**
+ * The dominator tree of the objects in a PHD format heapdump, with the retained size of each object.
+ * <p>
+ * An object dominates another if every path of references from the roots to the other object passes
+ * through it. The retained size of an object is the total size of the objects it dominates, which is the
+ * memory that would be freed if it became unreachable. A PHD file does not record the garbage collection
+ * roots, so the classes and the objects which are not referenced are taken as the roots, along with one
+ * object of each group of objects which are only referenced from within the group.
+ * <p>
+ * The objects and classes of the dump are numbered as nodes, objects first in the order of the dump. The
+ * reference graph and the working arrays are held in memory mapped temporary files, so a dump can be
+ * analyzed with a Java heap much smaller than the heap in the dump. The dump is parsed by several threads at
+ * once, through its {@link HeapdumpIndex}, and the dominators are found with the Lengauer-Tarjan algorithm.
+ */
+public final class DominatorTree implements Closeable {
+
+	private static final String[] PRIMITIVE_TYPES = { "boolean", "char", "float", "double", "byte", "short", "int", "long" };
+	private static final int[] PRIMITIVE_SIZES = { 1, 2, 4, 8, 1, 2, 4, 8 };
+
+	private final int threads;
+	private final IndexedHeapdumpReader reader;
+	private final HeapdumpIndex index;
+	private final int objectCount;
+	private final int nodeCount;
+	/** Addresses of the classes, in ascending order. Class nodes follow the object nodes in this order. */
+	private final long[] classAddresses;
+	private final String[] classNames;
+	private final int[] classSizes;
+	/** The size of an array header, used if the dump does not record the size of arrays */
+	private final int arrayHeaderSize;
+	private final int referenceSize;
+
+	private final List<MappedArray> arrays = new ArrayList<MappedArray>();
+	/** Address of each object node */
+	private MappedLongArray addresses;
+	private MappedLongArray shallowSizes;
+	private MappedLongArray retainedSizes;
+	/** Immediate dominator of each node, or -1 if it is only dominated by the roots */
+	private MappedIntArray dominators;
+	private long totalSize;
+
+	/**
+	 * Work on a subset of the nodes.
+	 */
+	private interface Range {
+		void run(int from, int to) throws Exception;
+	}
+
+	private DominatorTree(IndexedHeapdumpReader reader, int threads, List<long[]> classes, List<String> names) {
+		this.reader = reader;
+		this.threads = threads;
+		this.index = reader.getIndex();
+		this.objectCount = index.getObjectCount();
+		this.nodeCount = objectCount + classes.size();
+		classAddresses = new long[classes.size()];
+		classNames = new String[classes.size()];
+		classSizes = new int[classes.size()];
+		for (int i = 0; i < classAddresses.length; ++i) {
+			classAddresses[i] = classes.get(i)[0];
+		}
+		Arrays.sort(classAddresses);
+		for (int i = 0; i < classAddresses.length; ++i) {
+			long[] cls = classes.get(i);
+			int c = Arrays.binarySearch(classAddresses, cls[0]);
+			classNames[c] = names.get(i);
+			classSizes[c] = (int)cls[1];
+		}
+		referenceSize = reader.is64Bit() ? 8 : 4;
+		arrayHeaderSize = referenceSize * 2 + 8;
+	}
+
+	/**
+	 * Computes the dominator tree of a dump.
+	 * @param dump an uncompressed PHD file
+	 * @param directory where to create the temporary files, or null for the default temporary directory
+	 * @param threads the number of threads to use
+	 * @return the tree, which must be closed to release the temporary files
+	 */
+	public static DominatorTree build(File dump, File directory, int threads) throws Exception {
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, null);
+		DominatorTree tree = null;
+		try {
+			HeapdumpIndex index = reader.getIndex();
+			long records = 0;
+			for (int segment = 0; segment < index.getSegmentCount(); ++segment) {
+				records += index.getRecordCount(segment);
+			}
+			if (records >= Integer.MAX_VALUE) {
+				throw new UnsupportedOperationException("Too many objects in " + dump + ": " + records);
+			}
+			// The classes are few, so are kept on the Java heap
+			final List<long[]> classes = Collections.synchronizedList(new ArrayList<long[]>());
+			final List<String> names = new ArrayList<String>();
+			reader.parseSegments(segment -> new PortableHeapDumpListener() {
+
+				public void classDump(long address, long superAddress, String name, int size,
+						int flags, int hashCode, LongEnumeration refs) throws Exception {
+					synchronized (classes) {
+						classes.add(new long[] { address, size, refs.numberOfElements() });
+						names.add(name);
+					}
+				}
+
+				public void objectArrayDump(long address, long classAddress, int flags,
+						int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+				}
+
+				public void objectDump(long address, long classAddress, int flags, int hashCode,
+						LongEnumeration refs, long instanceSize) throws Exception {
+				}
+
+				public void primitiveArrayDump(long address, int type, int length, int flags,
+						int hashCode, long instanceSize) throws Exception {
+				}
+			}, threads);
+			tree = new DominatorTree(reader, threads, classes, names);
+			tree.compute(directory, classes);
+			return tree;
+		} finally {
+			if (tree == null) {
+				reader.close();
+			} else if (tree.dominators == null) {
+				tree.close();
+			}
+		}
+	}
+
+	private MappedIntArray intArray(File directory, long length) throws Exception {
+		MappedIntArray array = new MappedIntArray(directory, length);
+		arrays.add(array);
+		return array;
+	}
+
+	private MappedLongArray longArray(File directory, long length) throws Exception {
+		MappedLongArray array = new MappedLongArray(directory, length);
+		arrays.add(array);
+		return array;
+	}
+
+	private void release(MappedArray array) {
+		arrays.remove(array);
+		array.close();
+	}
+
+	private void compute(File directory, List<long[]> classes) throws Exception {
+		final int n = nodeCount;
+		addresses = longArray(directory, objectCount);
+		shallowSizes = longArray(directory, n);
+		// Out-going references of node i are at edgeOffsets[i] to edgeOffsets[i + 1]
+		final MappedLongArray edgeOffsets = longArray(directory, n + 1L);
+		for (long[] cls : classes) {
+			edgeOffsets.put(objectCount + Arrays.binarySearch(classAddresses, cls[0]) + 1L, cls[2]);
+		}
+		// Pass 1: the address and number of references of each object
+		reader.parseSegments(segment -> new PortableHeapDumpListener() {
+			int next = index.getFirstObject(segment);
+
+			public void classDump(long address, long superAddress, String name, int size,
+					int flags, int hashCode, LongEnumeration refs) throws Exception {
+			}
+
+			public void objectArrayDump(long address, long classAddress, int flags,
+					int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+				addresses.put(next, address);
+				edgeOffsets.put(++next, refs.numberOfElements());
+			}
+
+			public void objectDump(long address, long classAddress, int flags, int hashCode,
+					LongEnumeration refs, long instanceSize) throws Exception {
+				addresses.put(next, address);
+				edgeOffsets.put(++next, refs.numberOfElements());
+			}
+
+			public void primitiveArrayDump(long address, int type, int length, int flags,
+					int hashCode, long instanceSize) throws Exception {
+				addresses.put(next++, address);
+			}
+		}, threads);
+		for (long i = 1; i <= n; ++i) {
+			edgeOffsets.put(i, edgeOffsets.get(i) + edgeOffsets.get(i - 1));
+		}
+		// Pass 2: the size and the resolved references of each object, -1 for a reference to an unknown object
+		final MappedIntArray edges = intArray(directory, edgeOffsets.get(n));
+		reader.parseSegments(segment -> new PortableHeapDumpListener() {
+			int next = index.getFirstObject(segment);
+
+			private void references(int node, LongEnumeration refs) {
+				for (long edge = edgeOffsets.get(node); refs.hasMoreElements(); ++edge) {
+					edges.put(edge, findNode(refs.nextLong()));
+				}
+			}
+
+			public void classDump(long address, long superAddress, String name, int size,
+					int flags, int hashCode, LongEnumeration refs) throws Exception {
+				// The size of the class object is not in the dump
+				references(objectCount + Arrays.binarySearch(classAddresses, address), refs);
+			}
+
+			public void objectArrayDump(long address, long classAddress, int flags,
+					int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+				shallowSizes.put(next, instanceSize != PHDJavaObject.UNSPECIFIED_INSTANCE_SIZE ? instanceSize : arraySize(length, referenceSize));
+				references(next++, refs);
+			}
+
+			public void objectDump(long address, long classAddress, int flags, int hashCode,
+					LongEnumeration refs, long instanceSize) throws Exception {
+				if (instanceSize == PHDJavaObject.UNSPECIFIED_INSTANCE_SIZE) {
+					int c = Arrays.binarySearch(classAddresses, classAddress);
+					instanceSize = c >= 0 ? classSizes[c] : 0;
+				}
+				shallowSizes.put(next, instanceSize);
+				references(next++, refs);
+			}
+
+			public void primitiveArrayDump(long address, int type, int length, int flags,
+					int hashCode, long instanceSize) throws Exception {
+				shallowSizes.put(next++, instanceSize != PHDJavaObject.UNSPECIFIED_INSTANCE_SIZE ? instanceSize : arraySize(length, PRIMITIVE_SIZES[type & 7]));
+			}
+		}, threads);
+
+		// In-coming references of node i are from the nodes predecessors[predecessorOffsets[i]] to predecessors[predecessorOffsets[i + 1]]
+		final MappedLongArray predecessorOffsets = longArray(directory, n + 2L);
+		long edgeCount = edgeOffsets.get(n);
+		for (long edge = 0; edge < edgeCount; ++edge) {
+			int target = edges.get(edge);
+			if (target >= 0) {
+				predecessorOffsets.put(target + 2L, predecessorOffsets.get(target + 2L) + 1);
+			}
+		}
+		for (long i = 2; i < n + 2L; ++i) {
+			predecessorOffsets.put(i, predecessorOffsets.get(i) + predecessorOffsets.get(i - 1));
+		}
+		MappedIntArray predecessors = intArray(directory, predecessorOffsets.get(n + 1L));
+		for (int source = 0; source < n; ++source) {
+			for (long edge = edgeOffsets.get(source), end = edgeOffsets.get(source + 1L); edge < end; ++edge) {
+				int target = edges.get(edge);
+				if (target >= 0) {
+					long position = predecessorOffsets.get(target + 1L);
+					predecessors.put(position, source);
+					predecessorOffsets.put(target + 1L, position + 1);
+				}
+			}
+		}
+
+		// Number the nodes in depth first order from a notional root, node -1 numbered 0, which refers to the roots
+		final MappedIntArray preorder = intArray(directory, n);
+		final MappedIntArray vertex = intArray(directory, n + 1L);
+		MappedIntArray parent = intArray(directory, n + 1L);
+		parallel(n, (from, to) -> {
+			for (int i = from; i < to; ++i) {
+				preorder.put(i, -1);
+			}
+		});
+		vertex.put(0, -1);
+		BitSet roots = new BitSet(n);
+		MappedIntArray stackNodes = intArray(directory, n);
+		MappedLongArray stackEdges = longArray(directory, n);
+		int count = 1;
+		for (int node = objectCount; node < n; ++node) {
+			count = search(node, count, roots, preorder, vertex, parent, edgeOffsets, edges, stackNodes, stackEdges);
+		}
+		for (int node = 0; node < objectCount; ++node) {
+			if (predecessorOffsets.get(node) == predecessorOffsets.get(node + 1L)) {
+				count = search(node, count, roots, preorder, vertex, parent, edgeOffsets, edges, stackNodes, stackEdges);
+			}
+		}
+		for (int node = 0; node < objectCount; ++node) {
+			count = search(node, count, roots, preorder, vertex, parent, edgeOffsets, edges, stackNodes, stackEdges);
+		}
+		release(stackEdges);
+		release(edges);
+		release(edgeOffsets);
+
+		// Lengauer-Tarjan, on the depth first numbers
+		final MappedIntArray semi = intArray(directory, n + 1L);
+		final MappedIntArray label = intArray(directory, n + 1L);
+		final MappedIntArray ancestor = intArray(directory, n + 1L);
+		final MappedIntArray idom = intArray(directory, n + 1L);
+		final MappedIntArray bucketHead = intArray(directory, n + 1L);
+		final MappedIntArray bucketNext = intArray(directory, n + 1L);
+		parallel(n + 1, (from, to) -> {
+			for (int i = from; i < to; ++i) {
+				semi.put(i, i);
+				label.put(i, i);
+				ancestor.put(i, -1);
+				bucketHead.put(i, -1);
+			}
+		});
+		MappedIntArray path = stackNodes;
+		for (int w = n; w > 0; --w) {
+			int node = vertex.get(w);
+			if (roots.get(node)) {
+				semi.put(w, 0);
+			} else {
+				int semiW = semi.get(w);
+				for (long p = predecessorOffsets.get(node), end = predecessorOffsets.get(node + 1L); p < end; ++p) {
+					int u = eval(preorder.get(predecessors.get(p)), semi, label, ancestor, path);
+					semiW = Math.min(semiW, semi.get(u));
+				}
+				semi.put(w, semiW);
+			}
+			int s = semi.get(w);
+			bucketNext.put(w, bucketHead.get(s));
+			bucketHead.put(s, w);
+			int p = parent.get(w);
+			ancestor.put(w, p);
+			for (int v = bucketHead.get(p); v >= 0; v = bucketNext.get(v)) {
+				int u = eval(v, semi, label, ancestor, path);
+				idom.put(v, semi.get(u) < semi.get(v) ? u : p);
+			}
+			bucketHead.put(p, -1);
+		}
+		for (int w = 1; w <= n; ++w) {
+			if (idom.get(w) != semi.get(w)) {
+				idom.put(w, idom.get(idom.get(w)));
+			}
+		}
+		release(path);
+		release(bucketNext);
+		release(bucketHead);
+		release(ancestor);
+		release(label);
+		release(semi);
+		release(parent);
+		release(predecessors);
+		release(predecessorOffsets);
+
+		// Each node retains itself and the nodes it dominates. A dominator precedes the nodes it dominates in depth first order.
+		final MappedLongArray retained = longArray(directory, n + 1L);
+		parallel(n, (from, to) -> {
+			for (int node = from; node < to; ++node) {
+				retained.put(preorder.get(node), shallowSizes.get(node));
+			}
+		});
+		for (int w = n; w > 0; --w) {
+			int d = idom.get(w);
+			retained.put(d, retained.get(d) + retained.get(w));
+		}
+		totalSize = retained.get(0);
+		retainedSizes = longArray(directory, n);
+		final MappedIntArray nodeDominators = intArray(directory, n);
+		parallel(n, (from, to) -> {
+			for (int node = from; node < to; ++node) {
+				int w = preorder.get(node);
+				int d = idom.get(w);
+				nodeDominators.put(node, d == 0 ? -1 : vertex.get(d));
+				retainedSizes.put(node, retained.get(w));
+			}
+		});
+		release(retained);
+		release(idom);
+		release(vertex);
+		release(preorder);
+		dominators = nodeDominators;
+	}
+
+	/**
+	 * Numbers the nodes reachable from a node not yet numbered, which becomes a root, in depth first order.
+	 * @return the next number
+	 */
+	private static int search(int start, int count, BitSet roots, MappedIntArray preorder, MappedIntArray vertex, MappedIntArray parent,
+			MappedLongArray edgeOffsets, MappedIntArray edges, MappedIntArray stackNodes, MappedLongArray stackEdges) {
+		if (preorder.get(start) >= 0) {
+			return count;
+		}
+		roots.set(start);
+		preorder.put(start, count);
+		vertex.put(count, start);
+		parent.put(count, 0);
+		count++;
+		int top = 0;
+		stackNodes.put(top, start);
+		stackEdges.put(top, edgeOffsets.get(start));
+		while (top >= 0) {
+			int node = stackNodes.get(top);
+			long edge = stackEdges.get(top);
+			long end = edgeOffsets.get(node + 1L);
+			int next = -1;
+			while (edge < end) {
+				int target = edges.get(edge++);
+				if (target >= 0 && preorder.get(target) < 0) {
+					next = target;
+					break;
+				}
+			}
+			stackEdges.put(top, edge);
+			if (next < 0) {
+				--top;
+			} else {
+				preorder.put(next, count);
+				vertex.put(count, next);
+				parent.put(count, preorder.get(node));
+				count++;
+				++top;
+				stackNodes.put(top, next);
+				stackEdges.put(top, edgeOffsets.get(next));
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the node with the least semi-dominator number on the path of the forest from v to its root,
+	 * compressing the path on the way.
+	 */
+	private static int eval(int v, MappedIntArray semi, MappedIntArray label, MappedIntArray ancestor, MappedIntArray path) {
+		if (ancestor.get(v) < 0) {
+			return v;
+		}
+		int top = 0;
+		int u = v;
+		while (ancestor.get(ancestor.get(u)) >= 0) {
+			path.put(top++, u);
+			u = ancestor.get(u);
+		}
+		while (top > 0) {
+			int x = path.get(--top);
+			int a = ancestor.get(x);
+			if (semi.get(label.get(a)) < semi.get(label.get(x))) {
+				label.put(x, label.get(a));
+			}
+			ancestor.put(x, ancestor.get(a));
+		}
+		return label.get(v);
+	}
+
+	private long arraySize(int length, int elementSize) {
+		return (arrayHeaderSize + (long)length * elementSize + 7) & ~7L;
+	}
+
+	/**
+	 * Runs a task on ranges of the nodes with several threads.
+	 */
+	private void parallel(int length, final Range task) throws Exception {
+		int tasks = Math.max(1, Math.min(threads, length / 4096));
+		ExecutorService executor = Executors.newFixedThreadPool(tasks);
+		try {
+			List<Future<Void>> results = new ArrayList<Future<Void>>(tasks);
+			for (int i = 0; i < tasks; ++i) {
+				final int from = (int)((long)length * i / tasks);
+				final int to = (int)((long)length * (i + 1) / tasks);
+				results.add(executor.submit(new Callable<Void>() {
+					public Void call() throws Exception {
+						task.run(from, to);
+						return null;
+					}
+				}));
+			}
+			for (Future<Void> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof Exception) {
+						throw (Exception)cause;
+					}
+					throw e;
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the number of objects and classes.
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the total size of the objects.
+	 */
+	public long getTotalSize() {
+		return totalSize;
+	}
+
+	/**
+	 * Returns the node of the object or class at an address.
+	 * @return the node, or -1 if there is no object or class at the address
+	 */
+	public int findNode(long address) {
+		int c = Arrays.binarySearch(classAddresses, address);
+		if (c >= 0) {
+			return objectCount + c;
+		}
+		for (int segment : index.findSegments(address)) {
+			int low = index.getFirstObject(segment);
+			int high = low + index.getSegmentObjectCount(segment) - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				long midAddress = addresses.get(mid);
+				if (midAddress < address) {
+					low = mid + 1;
+				} else if (midAddress > address) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+		}
+		return -1;
+	}
+
+	public long getAddress(int node) {
+		return node < objectCount ? addresses.get(node) : classAddresses[node - objectCount];
+	}
+
+	public long getShallowSize(int node) {
+		return shallowSizes.get(node);
+	}
+
+	public long getRetainedSize(int node) {
+		return retainedSizes.get(node);
+	}
+
+	/**
+	 * Returns the immediate dominator of a node.
+	 * @return the dominator, or -1 if the node is only dominated by the roots
+	 */
+	public int getDominator(int node) {
+		return dominators.get(node);
+	}
+
+	/**
+	 * Returns a description of the type of a node, such as <code>class java/lang/String</code>
+	 * or <code>java/lang/Object[]</code>.
+	 */
+	public String getTypeName(int node) throws Exception {
+		if (node >= objectCount) {
+			return "class " + classNames[node - objectCount];
+		}
+		final String[] name = new String[1];
+		final boolean classInRefs = reader.version() == 4 && reader.isJ9();
+		reader.parseObjectAt(addresses.get(node), new PortableHeapDumpListener() {
+
+			public void classDump(long address, long superAddress, String className, int size,
+					int flags, int hashCode, LongEnumeration refs) throws Exception {
+			}
+
+			public void objectArrayDump(long address, long classAddress, int flags,
+					int hashCode, LongEnumeration refs, int length, long instanceSize) throws Exception {
+				// Some versions of PHD store the array class as the first reference
+				if (classInRefs && refs.hasMoreElements()) {
+					classAddress = refs.nextLong();
+				}
+				String element = className(classAddress);
+				name[0] = element.startsWith("[") ? element : element + "[]";
+			}
+
+			public void objectDump(long address, long classAddress, int flags, int hashCode,
+					LongEnumeration refs, long instanceSize) throws Exception {
+				name[0] = className(classAddress);
+			}
+
+			public void primitiveArrayDump(long address, int type, int length, int flags,
+					int hashCode, long instanceSize) throws Exception {
+				name[0] = PRIMITIVE_TYPES[type & 7] + "[]";
+			}
+		});
+		return name[0] == null ? "<unknown>" : name[0];
+	}
+
+	private String className(long classAddress) {
+		int c = Arrays.binarySearch(classAddresses, classAddress);
+		return c >= 0 ? classNames[c] : "<unknown class 0x" + Long.toHexString(classAddress) + ">";
+	}
+
+	/**
+	 * Returns the nodes with the largest retained sizes.
+	 * @param count the maximum number of nodes to return
+	 * @return the nodes, largest first
+	 */
+	public int[] getLargest(int count) throws Exception {
+		return largest(count, false, 0);
+	}
+
+	/**
+	 * Returns the nodes immediately dominated by a node with the largest retained sizes.
+	 * @param dominator the node, or -1 for the nodes only dominated by the roots
+	 * @param count the maximum number of nodes to return
+	 * @return the nodes, largest first
+	 */
+	public int[] getDominated(int dominator, int count) throws Exception {
+		return largest(count, true, dominator);
+	}
+
+	private int[] largest(final int count, final boolean filter, final int dominator) throws Exception {
+		final Comparator<Integer> bySize = new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				int c = Long.compare(retainedSizes.get(a.intValue()), retainedSizes.get(b.intValue()));
+				return c != 0 ? c : Integer.compare(b.intValue(), a.intValue());
+			}
+		};
+		final List<PriorityQueue<Integer>> found = Collections.synchronizedList(new ArrayList<PriorityQueue<Integer>>());
+		parallel(nodeCount, (from, to) -> {
+			PriorityQueue<Integer> smallestFirst = new PriorityQueue<Integer>(count + 1, bySize);
+			for (int node = from; node < to; ++node) {
+				if (!filter || dominators.get(node) == dominator) {
+					smallestFirst.add(Integer.valueOf(node));
+					if (smallestFirst.size() > count) {
+						smallestFirst.poll();
+					}
+				}
+			}
+			found.add(smallestFirst);
+		});
+		PriorityQueue<Integer> smallestFirst = new PriorityQueue<Integer>(count + 1, bySize);
+		for (PriorityQueue<Integer> queue : found) {
+			for (Integer node : queue) {
+				smallestFirst.add(node);
+				if (smallestFirst.size() > count) {
+					smallestFirst.poll();
+				}
+			}
+		}
+		int[] nodes = new int[smallestFirst.size()];
+		for (int i = nodes.length - 1; i >= 0; --i) {
+			nodes[i] = smallestFirst.poll().intValue();
+		}
+		return nodes;
+	}
+
+	/**
+	 * Releases the temporary files and closes the dump.
+	 */
+	public void close() {
+		for (MappedArray array : arrays) {
+			array.close();
+		}
+		arrays.clear();
+		reader.close();
+	}
+}
@@ -47,7 +47,8 @@ public abstract class SharedClassAbstractHelper extends SharedAbstractHelper imp
 	private static final int URI_EXCEPTION = 1;
 	private static final int FILE_EXIST = 2;
 	private static final int FILE_NOT_EXIST = 3;
-	private SharedClassFilter sharedClassFilter;
+	/* volatile so that finding and storing classes need not synchronize to read it */
+	private volatile SharedClassFilter sharedClassFilter;
 
 	static byte[] nativeFlags = new byte[1];
 	static final int CACHE_FULL_FLAG = 0;
@@ -264,7 +265,7 @@ public abstract class SharedClassAbstractHelper extends SharedAbstractHelper imp
 	 * @return the filter instance, or null if none is associated
 	 */
 	@Override
-	public synchronized SharedClassFilter getSharingFilter() {
+	public SharedClassFilter getSharingFilter() {
 		return this.sharedClassFilter;
 	}
 
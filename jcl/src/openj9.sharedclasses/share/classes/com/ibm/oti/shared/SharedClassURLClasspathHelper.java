@@ -192,6 +192,30 @@ public interface SharedClassURLClasspathHelper extends SharedClassHelper {
 	 */
 	public byte[] findSharedClass(String partition, String className, IndexHolder indexFoundAt);
 
+	/**
+	 * <p>Finds a batch of classes in the shared cache by using the class names and partition given (implicitly using the caller's classpath).</p>
+	 * <p>The result for each class is the same as calling findSharedClass(String, String, IndexHolder) for it, but the whole
+	 * batch is resolved with a single call into the shared cache. ClassLoaders that know up front which classes they are about
+	 * to load, for example all the classes of a package or of a jar index, should prefer this method.</p>
+	 * <p>See <q>Using classpaths</q> for rules on when a class will be found.</p>
+	 *
+	 * @param 		partition String.
+	 * 					User-defined partition if finding modified bytecode (see <q>Partitions</q>).
+	 * 					Passing null is equivalent of calling non-partition findSharedClasses call.
+	 *
+	 * @param 		classNames String[].
+	 * 					The names of the classes to be found. Null elements are skipped.
+	 *
+	 * @param 		indexesFoundAt int[].
+	 * 					If not null, must be at least as long as classNames. On return, element i holds the index
+	 * 					in the caller ClassLoader's classpath at which classNames[i] was found, or -1 if it was not found.
+	 *
+	 * @return		byte[][].
+	 * 					An array of the same length as classNames, where element i is a byte array describing the class
+	 * 					found for classNames[i], or null. Returns null if classNames is null.
+	 */
+	public byte[][] findSharedClasses(String partition, String[] classNames, int[] indexesFoundAt);
+
 	/**
 	 * <p>Stores a class in the shared cache by using the caller's URL classpath.</p>
 	 * <p>The class being stored must have been defined by the caller ClassLoader and must exist in the URL location specified.</p>
@@ -24,23 +24,103 @@ package com.ibm.oti.shared;
  */
 
 import java.net.URL;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.ibm.oti.util.Msg;
 
 /**
  * <p>Implementation of SharedClassURLClasspathHelper.</p>
+ * <p>The classpath is held in an immutable ClasspathState which is replaced, never modified, when the
+ * classpath changes. Finding and storing classes therefore never blocks on other finds and stores;
+ * only classpath modifications are serialized by urlcpWriteLock.</p>
  * @see SharedClassURLClasspathHelper
  * @see SharedClassHelperFactory
  * @see SharedClassAbstractHelper
  */
 final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper implements
 		SharedClassURLClasspathHelper {
-	private URL[] urls, origurls;
-	private boolean[] validated;
-	private int urlCount, confirmedCount;
-	private boolean invalidURLExists;
-	private ReentrantReadWriteLock urlcpReadWriteLock;
+	/*
+	 * The current classpath. Readers pin a state with acquireClasspathState() for the duration of
+	 * their native call. It is null while a classpath modification is flushing the native classpath caches.
+	 */
+	private volatile ClasspathState classpathState;
+	/* Only ever increases for a given classpath. Modified while holding urlcpWriteLock. */
+	private volatile int confirmedCount;
+	private final ReentrantLock urlcpWriteLock;
+
+	/* Per-class flags passed to findSharedClassesImpl() */
+	private static final byte FIND_FLAG = 1;
+	private static final byte STORE_FLAG = 2;
+	/* Set for every non-null class name, so that classes rejected by the filter still reach the native hook */
+	private static final byte CLASS_NAME_FLAG = 4;
+
+	/**
+	 * Immutable snapshot of the classpath. The arrays are never modified once published, other than
+	 * validated which only ever changes from false to true.
+	 */
+	private static final class ClasspathState {
+		final URL[] origurls;
+		final URL[] urls;
+		final boolean[] validated;
+		final int urlCount;
+		final boolean invalidURLExists;
+		final ReaderCount readers = new ReaderCount();
+		/* The thread waiting in retireClasspathState() for the readers to finish, unparked by the last reader */
+		volatile Thread retiringThread;
+
+		ClasspathState(URL[] origurls, URL[] urls, boolean[] validated, boolean invalidURLExists) {
+			this.origurls = origurls;
+			this.urls = urls;
+			this.validated = validated;
+			this.urlCount = urls.length;
+			this.invalidURLExists = invalidURLExists;
+		}
+	}
+
+	/**
+	 * Count of the threads using a ClasspathState, striped so that concurrent readers do not contend
+	 * on a single cache line. A thread always maps to the same stripe, so no stripe is ever negative
+	 * and a sum of zero means there are no readers.
+	 */
+	private static final class ReaderCount {
+		/* Ints between stripes, keeping each stripe on its own cache line */
+		private static final int STRIDE = 16;
+		private static final int STRIPES;
+		private final AtomicIntegerArray counts = new AtomicIntegerArray(STRIPES * STRIDE);
+
+		static {
+			int stripes = 1;
+			int cpus = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+			while (stripes < cpus) {
+				stripes <<= 1;
+			}
+			STRIPES = stripes;
+		}
+
+		private static int stripeIndex() {
+			return (System.identityHashCode(Thread.currentThread()) & (STRIPES - 1)) * STRIDE;
+		}
+
+		void increment() {
+			counts.getAndIncrement(stripeIndex());
+		}
+
+		void decrement() {
+			counts.getAndDecrement(stripeIndex());
+		}
+
+		boolean isZero() {
+			for (int i = 0; i < STRIPES; i++) {
+				if (counts.get(i * STRIDE) != 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 
 	private static native void init();
 
@@ -51,50 +131,103 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 	/* Not public - should only be created by factory */
 	/*[IF JAVA_SPEC_VERSION >= 24]*/
 	SharedClassURLClasspathHelperImpl(ClassLoader loader, URL[] classpath, int id) {
-		this.origurls = classpath;
-		this.urls = new URL[classpath.length];
-		this.urlCount = classpath.length;
-		this.validated = new boolean[classpath.length];
 		this.confirmedCount = 0;
-		this.invalidURLExists = false;
-		urlcpReadWriteLock = new ReentrantReadWriteLock();
+		urlcpWriteLock = new ReentrantLock();
 		initialize(loader, id);
 		initializeShareableClassloader(loader);
-		initializeURLs();
-		if (!invalidURLExists) {
-			notifyClasspathChange3(id, loader, this.urls, 0, this.urlCount, true);
+		ClasspathState state = initializeURLs(classpath);
+		classpathState = state;
+		if (!state.invalidURLExists) {
+			notifyClasspathChange3(id, loader, state.urls, 0, state.urlCount, true);
 		}
 	}
 	/*[ELSE] JAVA_SPEC_VERSION >= 24 */
 	SharedClassURLClasspathHelperImpl(ClassLoader loader, URL[] classpath, int id, boolean canFind, boolean canStore) {
-		this.origurls = classpath;
-		this.urls = new URL[classpath.length];
-		this.urlCount = classpath.length;
-		this.validated = new boolean[classpath.length];
 		this.confirmedCount = 0;
-		this.invalidURLExists = false;
-		urlcpReadWriteLock = new ReentrantReadWriteLock();
+		urlcpWriteLock = new ReentrantLock();
 		initialize(loader, id, canFind, canStore);
 		initializeShareableClassloader(loader);
-		initializeURLs();
-		if (!invalidURLExists) {
-			notifyClasspathChange3(id, loader, this.urls, 0, this.urlCount, true);
+		ClasspathState state = initializeURLs(classpath);
+		classpathState = state;
+		if (!state.invalidURLExists) {
+			notifyClasspathChange3(id, loader, state.urls, 0, state.urlCount, true);
 		}
 	}
 	/*[ENDIF] JAVA_SPEC_VERSION >= 24 */
 
-	private void initializeURLs() {
+	private ClasspathState initializeURLs(URL[] classpath) {
+		int urlCount = classpath.length;
+		URL[] origurls = Arrays.copyOf(classpath, urlCount);
+		URL[] urls = new URL[urlCount];
+		boolean invalidURLExists = false;
 		for (int i=0; i<urlCount; i++) {
 			urls[i] = convertJarURL(origurls[i]);
 			if (!validateURL(urls[i], false)) {
 				invalidURLExists = true;
 			}
 		}
+		return new ClasspathState(origurls, urls, new boolean[urlCount], invalidURLExists);
+	}
+
+	/**
+	 * Pins the current classpath so that it cannot be flushed from the native caches until
+	 * releaseClasspathState() is called. Only waits if a classpath modification is in progress.
+	 */
+	private ClasspathState acquireClasspathState() {
+		for (;;) {
+			ClasspathState state = classpathState;
+			if (state != null) {
+				state.readers.increment();
+				if (state == classpathState) {
+					return state;
+				}
+				/* The state was retired before it could be pinned */
+				releaseClasspathState(state);
+			} else {
+				/* Wait for the classpath modification to complete */
+				urlcpWriteLock.lock();
+				urlcpWriteLock.unlock();
+			}
+		}
+	}
+
+	private static void releaseClasspathState(ClasspathState state) {
+		state.readers.decrement();
+		Thread retiringThread = state.retiringThread;
+		if ((retiringThread != null) && state.readers.isZero()) {
+			LockSupport.unpark(retiringThread);
+		}
+	}
+
+	/**
+	 * Stops new readers from using the current classpath and waits for existing readers to finish with it,
+	 * after which it is safe to flush the native classpath caches. The caller must hold urlcpWriteLock
+	 * and must publish a replacement state when done.
+	 */
+	private ClasspathState retireClasspathState() {
+		if (!urlcpWriteLock.isHeldByCurrentThread()) {
+			throw new InternalError();
+		}
+		ClasspathState state = classpathState;
+		/*
+		 * Publish the waiting thread before checking the readers. Either the check below sees
+		 * the decrement of the last reader, or that reader sees retiringThread and unparks it.
+		 */
+		state.retiringThread = Thread.currentThread();
+		classpathState = null;
+		while (!state.readers.isZero()) {
+			LockSupport.park(this);
+		}
+		state.retiringThread = null;
+		return state;
 	}
 
 	private native int findSharedClassImpl2(int loaderId, String partition, String className, ClassLoader loader, URL[] loaderURLs,
 			boolean doFind, boolean doStore, int loaderURLCount, int confirmedURLCount, byte[] romClassCookie);
 
+	private native int findSharedClassesImpl(int loaderId, String partition, String[] classNames, ClassLoader loader, URL[] loaderURLs,
+			byte[] findStoreFlags, int loaderURLCount, int confirmedURLCount, byte[] romClassCookies, int[] indexesFoundAt);
+
 	private native boolean storeSharedClassImpl2(int loaderid, String partition, ClassLoader loader, URL[] loaderURLs, int loaderURLCount, int cpLoadIndex, Class<?> clazz, byte[] flags);
 
 	/* Before setClasspath(), classpath changes were detected by change in urlCount. However, this is now
@@ -148,9 +281,9 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 		}
 		byte[] romClassCookie = new byte[ROMCLASS_COOKIE_SIZE];
 		int indexFoundAt = -1;
-		urlcpReadWriteLock.readLock().lock();
+		ClasspathState state = acquireClasspathState();
 		try {
-			if (invalidURLExists) {
+			if (state.invalidURLExists) {
 				/* Any URL which has its protocol other than 'jar:' or 'file:' is not supported by
 				 * shared class cache and is considered invalid.
 				 * invalidURLExists = true indicates classpath contains an invalid URL,
@@ -161,16 +294,17 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 				printVerboseInfo(Msg.getString("K05a4")); //$NON-NLS-1$
 				return null;
 			}
+			int confirmed = confirmedCount;
 			/* Important not to call findSharedClassImpl if confirmedCount==0 as 0 means "confirmedCount not set" */
-			if (confirmedCount==0) {
+			if (confirmed==0) {
 				/*[MSG "K05a5", "There are no confirmed elements in the classpath. Returning null."]*/
 				printVerboseInfo(Msg.getString("K05a5")); //$NON-NLS-1$
 				return null;
 			}
-			indexFoundAt = findSharedClassImpl2(this.id, partition, className, loader, this.urls, doFind, doStore, this.urlCount, this.confirmedCount, romClassCookie);
+			indexFoundAt = findSharedClassImpl2(this.id, partition, className, loader, state.urls, doFind, doStore, state.urlCount, confirmed, romClassCookie);
 			/* indexFoundAt will be -1 if class is not found */
 		} finally {
-			urlcpReadWriteLock.readLock().unlock();
+			releaseClasspathState(state);
 		}
 		if (indexFoundAt < 0) {
 			return null;
@@ -181,6 +315,105 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 		return romClassCookie;
 	}
 
+	@Override
+	public byte[][] findSharedClasses(String partition, String[] classNames, int[] indexesFoundAt) {
+		if (classNames == null) {
+			/*[MSG "K0E00", "Cannot call findSharedClasses with null class names. Returning null."]*/
+			printVerboseError(Msg.getString("K0E00")); //$NON-NLS-1$
+			return null;
+		}
+		int classCount = classNames.length;
+		if ((indexesFoundAt != null) && (indexesFoundAt.length < classCount)) {
+			/*[MSG "K0E01", "indexesFoundAt cannot be shorter than classNames for findSharedClasses. Returning null."]*/
+			printVerboseError(Msg.getString("K0E01")); //$NON-NLS-1$
+			return null;
+		}
+		byte[][] result = new byte[classCount][];
+		int[] foundAt = (indexesFoundAt != null) ? indexesFoundAt : new int[classCount];
+		Arrays.fill(foundAt, 0, classCount, -1);
+		if (classCount == 0) {
+			return result;
+		}
+		ClassLoader loader = getClassLoader();
+		if (loader == null) {
+			/*[MSG "K059f", "ClassLoader has been garbage collected. Returning null."]*/
+			printVerboseInfo(Msg.getString("K059f")); //$NON-NLS-1$
+			return result;
+		}
+		/*[IF JAVA_SPEC_VERSION < 24]*/
+		if (!canFind) {
+			return result;
+		}
+		/*[ENDIF] JAVA_SPEC_VERSION < 24 */
+		byte[] findStoreFlags = getFindStoreFlags(classNames);
+		/* A single buffer holds the cookies for the whole batch; cookie i starts at i * ROMCLASS_COOKIE_SIZE */
+		byte[] romClassCookies = new byte[classCount * ROMCLASS_COOKIE_SIZE];
+		int foundCount = 0;
+		ClasspathState state = acquireClasspathState();
+		try {
+			if (state.invalidURLExists) {
+				/* See findSharedClass() */
+				/*[MSG "K05a4", "Classpath contains an invalid URL. Returning null."]*/
+				printVerboseInfo(Msg.getString("K05a4")); //$NON-NLS-1$
+				return result;
+			}
+			int confirmed = confirmedCount;
+			/* Important not to call findSharedClassesImpl if confirmedCount==0 as 0 means "confirmedCount not set" */
+			if (confirmed==0) {
+				/*[MSG "K05a5", "There are no confirmed elements in the classpath. Returning null."]*/
+				printVerboseInfo(Msg.getString("K05a5")); //$NON-NLS-1$
+				return result;
+			}
+			foundCount = findSharedClassesImpl(this.id, partition, classNames, loader, state.urls, findStoreFlags, state.urlCount, confirmed, romClassCookies, foundAt);
+			/* foundCount will be -1 if the lookup failed */
+		} finally {
+			releaseClasspathState(state);
+		}
+		if (foundCount <= 0) {
+			Arrays.fill(foundAt, 0, classCount, -1);
+			return result;
+		}
+		for (int i = 0; i < classCount; i++) {
+			if (foundAt[i] >= 0) {
+				int cookieStart = i * ROMCLASS_COOKIE_SIZE;
+				result[i] = Arrays.copyOfRange(romClassCookies, cookieStart, cookieStart + ROMCLASS_COOKIE_SIZE);
+			}
+		}
+		return result;
+	}
+
+	/* Evaluate the sharing filter for a batch of classes, entering the helper monitor only once */
+	private byte[] getFindStoreFlags(String[] classNames) {
+		byte[] flags = new byte[classNames.length];
+		SharedClassFilter theFilter = getSharingFilter();
+		if (theFilter == null) {
+			for (int i = 0; i < classNames.length; i++) {
+				if (classNames[i] != null) {
+					flags[i] = CLASS_NAME_FLAG | FIND_FLAG | STORE_FLAG;
+				}
+			}
+			return flags;
+		}
+		synchronized(this) {
+			/* Don't invoke the store filter if the cache is full */
+			boolean cacheFull = (nativeFlags[CACHE_FULL_FLAG] != 0);
+			for (int i = 0; i < classNames.length; i++) {
+				String className = classNames[i];
+				if (className != null) {
+					byte classFlags = CLASS_NAME_FLAG;
+					if (theFilter.acceptFind(className)) {
+						classFlags |= FIND_FLAG;
+					}
+					if (cacheFull || theFilter.acceptStore(className)) {
+						classFlags |= STORE_FLAG;
+					}
+					flags[i] = classFlags;
+				}
+			}
+		}
+		return flags;
+	}
+
 	@Override
 	public boolean storeSharedClass(Class<?> clazz, int foundAtIndex) {
 		return storeSharedClass(null, clazz, foundAtIndex);
@@ -211,19 +444,19 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 		}
 		boolean storeRet = false;
 		boolean incConfirmedCount = false;
-		urlcpReadWriteLock.readLock().lock();
+		ClasspathState state = acquireClasspathState();
 		try {
-			if (urlCount==0) {
+			if (state.urlCount==0) {
 				/*[MSG "K05a6", "Classpath has zero elements. Cannot call storeSharedClass without classpath. Returning false."]*/
 				printVerboseError(Msg.getString("K05a6")); //$NON-NLS-1$
 				return false;
 			}
-			if (foundAtIndex>=urlCount) {
+			if (foundAtIndex>=state.urlCount) {
 				/*[MSG "K05a8", "foundAtIndex cannot be >= urls in classpath for storeSharedClass. Returning false."]*/
 				printVerboseError(Msg.getString("K05a8")); //$NON-NLS-1$
 				return false;
 			}
-			if (invalidURLExists) {
+			if (state.invalidURLExists) {
 				/* Any URL which has its protocol other than 'jar:' or 'file:' is not supported by
 				 * shared class cache and is considered invalid.
 				 * invalidURLExists = true indicates classpath contains an invalid URL,
@@ -234,19 +467,19 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 				printVerboseInfo(Msg.getString("K05a9")); //$NON-NLS-1$
 				return false;
 			}
-			if (!validated[foundAtIndex]) {
+			if (!state.validated[foundAtIndex]) {
 				/* Because we only check each element once, we can afford to also check whether the URL exists */
-				if (!validateURL(urls[foundAtIndex], true)) {
+				if (!validateURL(state.urls[foundAtIndex], true)) {
 					return false;
 				}
-				validated[foundAtIndex]=true;
+				state.validated[foundAtIndex]=true;
 			}
 			if (confirmedCount <= foundAtIndex) {
 				incConfirmedCount = true;
 			}
-			storeRet = storeSharedClassImpl2(this.id, partition, actualLoader, this.urls, this.urlCount, foundAtIndex, clazz, nativeFlags);
+			storeRet = storeSharedClassImpl2(this.id, partition, actualLoader, state.urls, state.urlCount, foundAtIndex, clazz, nativeFlags);
 		} finally {
-			urlcpReadWriteLock.readLock().unlock();
+			releaseClasspathState(state);
 		}
 		if (incConfirmedCount) {
 			increaseConfirmedCount(foundAtIndex + 1);
@@ -254,24 +487,6 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 		return storeRet;
 	}
 
-	private void growURLs(int toMinSize) {
-		if (!urlcpReadWriteLock.writeLock().isHeldByCurrentThread()) {
-			throw new InternalError();
-		}
-		/*[MSG "K05ab", "Growing URL array to {0}"]*/
-		printVerboseInfo(Msg.getString("K05ab", toMinSize)); //$NON-NLS-1$
-		int newSize = ((toMinSize+1)*2);		/* toMinSize could be zero! */
-		URL[] newOrigUrls = new URL[newSize];
-		URL[] newUrls = new URL[newSize];
-		boolean[] newValidated = new boolean[newSize];
-		System.arraycopy(origurls, 0, newOrigUrls, 0, urlCount);
-		System.arraycopy(urls, 0, newUrls, 0, urlCount);
-		System.arraycopy(validated, 0, newValidated, 0, urlCount);
-		origurls = newOrigUrls;
-		urls = newUrls;
-		validated = newValidated;
-	}
-
 	@Override
 	public void addClasspathEntry(URL cpe) {
 		ClassLoader loader = getClassLoader();
@@ -286,58 +501,68 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 			if (!validateURL(convertedurl, false)) {
 				invalidUrl = true;
 			}
-			urlcpReadWriteLock.writeLock().lock();
+			urlcpWriteLock.lock();
 			try {
-				/* If array is not big enough, grow it */
-				if (urls.length < (urlCount+1)) {
-					growURLs(urlCount+1);
-				}
-				origurls[urlCount] = cpe;
-				urls[urlCount] = convertedurl;
-				invalidURLExists = invalidUrl;
-				notifyClasspathChange2(loader);
-				if (!invalidURLExists) {
-					notifyClasspathChange3(id, loader, urls, urlCount, (urlCount + 1), true);
+				ClasspathState state = retireClasspathState();
+				ClasspathState newState = state;
+				try {
+					int urlCount = state.urlCount;
+					URL[] newOrigUrls = Arrays.copyOf(state.origurls, urlCount + 1);
+					URL[] newUrls = Arrays.copyOf(state.urls, urlCount + 1);
+					boolean[] newValidated = Arrays.copyOf(state.validated, urlCount + 1);
+					newOrigUrls[urlCount] = cpe;
+					newUrls[urlCount] = convertedurl;
+					notifyClasspathChange2(loader);
+					if (!invalidUrl) {
+						notifyClasspathChange3(id, loader, newUrls, urlCount, (urlCount + 1), true);
+					}
+					newState = new ClasspathState(newOrigUrls, newUrls, newValidated, invalidUrl);
+				} finally {
+					classpathState = newState;
 				}
-				++urlCount;
 			} finally {
-				urlcpReadWriteLock.writeLock().unlock();
+				urlcpWriteLock.unlock();
 			}
 		}
 	}
 
 	/* Function required by the factory */
 	URL[] getClasspath() {
-		URL[] correctLengthArray = new URL[urlCount];
-		urlcpReadWriteLock.readLock().lock();
-		try {
-			System.arraycopy(origurls, 0, correctLengthArray, 0, urlCount);
-		} finally {
-			urlcpReadWriteLock.readLock().unlock();
+		ClasspathState state = classpathState;
+		if (state == null) {
+			/* A classpath modification is in progress */
+			urlcpWriteLock.lock();
+			try {
+				state = classpathState;
+			} finally {
+				urlcpWriteLock.unlock();
+			}
 		}
-		return correctLengthArray;
+		return Arrays.copyOf(state.origurls, state.urlCount);
 	}
 
 	private void increaseConfirmedCount(int newCount) {
-		urlcpReadWriteLock.writeLock().lock();
+		urlcpWriteLock.lock();
 		try {
+			/* The classpath may have been shortened since the caller looked at it */
+			newCount = Math.min(newCount, classpathState.urlCount);
 			if (newCount > confirmedCount) {
 				confirmedCount = newCount;
 				/*[MSG "K05aa", "Number of confirmed entries is now {0}"]*/
-				printVerboseInfo(Msg.getString("K05aa", confirmedCount)); //$NON-NLS-1$
+				printVerboseInfo(Msg.getString("K05aa", newCount)); //$NON-NLS-1$
 			}
 		} finally {
-			urlcpReadWriteLock.writeLock().unlock();
+			urlcpWriteLock.unlock();
 		}
 	}
 
 	@Override
 	public void confirmAllEntries() {
-		urlcpReadWriteLock.writeLock().lock();
+		urlcpWriteLock.lock();
 		try {
-			confirmedCount = urlCount;
+			confirmedCount = classpathState.urlCount;
 		} finally {
-			urlcpReadWriteLock.writeLock().unlock();
+			urlcpWriteLock.unlock();
 		}
 	}
 
@@ -352,38 +577,43 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 			throw new CannotSetClasspathException(Msg.getString("K059a")); //$NON-NLS-1$
 		}
 
-		urlcpReadWriteLock.writeLock().lock();
+		urlcpWriteLock.lock();
 		try {
-			int commonURLsLength = (origurls.length < newClasspath.length) ? origurls.length : newClasspath.length;
-			if (newClasspath.length < confirmedCount) {
+			/* classpathState is never null while urlcpWriteLock is held */
+			ClasspathState state = classpathState;
+			int confirmed = confirmedCount;
+			URL[] origurls = state.origurls;
+			int newLength = newClasspath.length;
+			int commonURLsLength = (state.urlCount < newLength) ? state.urlCount : newLength;
+			if (newLength < confirmed) {
 				/*[MSG "K05ad", "New classpath cannot be shorter than confirmed elements of original"]*/
 				throw new CannotSetClasspathException(Msg.getString("K05ad")); //$NON-NLS-1$
 			}
-			for (int i=0; i<confirmedCount; i++) {
+			for (int i=0; i<confirmed; i++) {
 				if (!newClasspath[i].equals(origurls[i])) {
 					/*[MSG "K05ae", "Index {0} of newClasspath does not match confirmed original"]*/
 					throw new CannotSetClasspathException(Msg.getString("K05ae", i)); //$NON-NLS-1$
 				}
 			}
 
-			/* Grow urls if necessary */
-			if (newClasspath.length > origurls.length) {
-				growURLs(newClasspath.length);
-			}
+			/* The published arrays are never modified, so build the new classpath in copies */
+			URL[] newOrigUrls = Arrays.copyOf(origurls, newLength);
+			URL[] newUrls = Arrays.copyOf(state.urls, newLength);
+			boolean[] newValidated = Arrays.copyOf(state.validated, newLength);
 
 			/* Having ensured that confirmed URLs are the same, validate the others if required, and copy them if they have been modified */
-			for (int i = confirmedCount; i < commonURLsLength; i++) {
+			for (int i = confirmed; i < commonURLsLength; i++) {
 				boolean urlUpdated = !newClasspath[i].equals(origurls[i]);
 
 				/* If the original classpath had any invalid URL then unconfirmed URLs in original classpath
 				 * should be validated again in case invalid URL has been corrected now.
 				 */
-				if (invalidURLExists || urlUpdated) {
+				if (state.invalidURLExists || urlUpdated) {
 					URL temp = null;
 					if (urlUpdated) {
 						temp = convertJarURL(newClasspath[i]);
 					} else {
-						temp = urls[i];
+						temp = newUrls[i];
 					}
 					/* if an invalid URL is found, no need to validate any more URLs */
 					if (!invalidURLFound && !validateURL(temp, false)) {
@@ -392,25 +622,21 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 						printVerboseInfo(Msg.getString("K05af", newClasspath[i], Integer.valueOf(i))); //$NON-NLS-1$
 					}
 					if (urlUpdated) {
-						origurls[i] = newClasspath[i];
-						urls[i] = temp;
+						newOrigUrls[i] = newClasspath[i];
+						newUrls[i] = temp;
 						changeMade = true;
 					}
 				}
-				/* validated[i] will already be false as it would be confirmed otherwise, so no need to set */
-			}
-			if (invalidURLFound) {
-				invalidURLExists = true;
-			} else {
-				invalidURLExists = false;
+				/* newValidated[i] will already be false as it would be confirmed otherwise, so no need to set */
 			}
+			boolean invalidURLExists = invalidURLFound;
 
-			for (int i = commonURLsLength; i < newClasspath.length; i++) {
-				origurls[i] = newClasspath[i];
-				urls[i] = convertJarURL(newClasspath[i]);
+			for (int i = commonURLsLength; i < newLength; i++) {
+				newOrigUrls[i] = newClasspath[i];
+				newUrls[i] = convertJarURL(newClasspath[i]);
 
 				/* if 'invalidURLExists' is already set to true, no need to validate any more URLs */
-				if (!invalidURLExists && !validateURL(urls[i], false)) {
+				if (!invalidURLExists && !validateURL(newUrls[i], false)) {
 					/*[MSG "K05b0", "setClasspath() added new invalid URL {0} at index {1}"]*/
 					printVerboseInfo(Msg.getString("K05b0", newClasspath[i], Integer.valueOf(i))); //$NON-NLS-1$
 
@@ -419,27 +645,36 @@ final class SharedClassURLClasspathHelperImpl extends SharedClassAbstractHelper
 				changeMade = true;
 			}
 
-			/* If new classpath is shorter, remaining entries will be ignored as they are > urlCount */
-			if (urlCount != newClasspath.length) {
-				urlCount = newClasspath.length;
+			/* If new classpath is shorter, the remaining entries are dropped */
+			if (state.urlCount != newLength) {
 				changeMade = true;
 			}
 			if (!invalidURLExists) {
 				/*[MSG "K05b1", "setClasspath() updated classpath. No invalid URLs found"]*/
 				printVerboseInfo(Msg.getString("K05b1")); //$NON-NLS-1$
 			}
-			/* Only call notifyClasspathChange if a genuine change has been made, otherwise internal data caches
+			/* Only replace the classpath if a genuine change has been made, otherwise internal data caches
 			 * will be cleared unnecessarily */
-			if (changeMade) {
-				/*[MSG "K05b2", "setClasspath() updated classpath. Now urlCount={0}"]*/
-				printVerboseInfo(Msg.getString("K05b2", urlCount)); //$NON-NLS-1$
-				notifyClasspathChange2(loader);
-				if (!invalidURLExists) {
-					notifyClasspathChange3(id, loader, urls, 0, urlCount, true);
+			if (changeMade || (invalidURLExists != state.invalidURLExists)) {
+				retireClasspathState();
+				ClasspathState newState = state;
+				try {
+					/* Only call notifyClasspathChange if a genuine change has been made */
+					if (changeMade) {
+						/*[MSG "K05b2", "setClasspath() updated classpath. Now urlCount={0}"]*/
+						printVerboseInfo(Msg.getString("K05b2", newLength)); //$NON-NLS-1$
+						notifyClasspathChange2(loader);
+						if (!invalidURLExists) {
+							notifyClasspathChange3(id, loader, newUrls, 0, newLength, true);
+						}
+					}
+					newState = new ClasspathState(newOrigUrls, newUrls, newValidated, invalidURLExists);
+				} finally {
+					classpathState = newState;
 				}
 			}
 		} finally {
-			urlcpReadWriteLock.writeLock().unlock();
+			urlcpWriteLock.unlock();
 		}
 	}
 
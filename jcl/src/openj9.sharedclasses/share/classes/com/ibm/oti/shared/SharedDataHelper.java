@@ -22,7 +22,11 @@
  */
 package com.ibm.oti.shared;
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
 import java.nio.ByteBuffer;
+import java.util.Map;
 
 /**
  * <p>SharedDataHelper API that stores and finds byte data using String tokens.</p>
@@ -33,7 +37,8 @@ import java.nio.ByteBuffer;
  * storeSharedData() is called. The function returns a read-only java.nio.ByteBuffer which is the shared copy of the data.
  * Any subsequent changes to the ByteBuffer are therefore not reflected in the cache unless it is re-stored.</p>
  * <p>Byte data is found in the cache by calling findSharedData() which returns a read-only java.nio.ByteBuffer which
- * maps to the byte data that exists in the cache.</p>
+ * maps to the byte data that exists in the cache. No copy is made; the buffer is a view of the cache itself.
+ * All data stored against tokens which share a common prefix can be found in one call using findSharedDataByPrefix().</p>
  * <h2>Tokens</h2>
  * <p>A String token is chosen/generated by the application which is using the Helper and should ideally include a unique
  * identifier and some kind of versioning information. Eg. com.foo.myApp31_myDoozerData_003. The important factor is that
@@ -68,6 +73,35 @@ public interface SharedDataHelper extends SharedHelper {
 	 */
 	public ByteBuffer findSharedData(String token);
 
+	/**
+	 * Find all data in the shared cache stored against tokens which start with a specific prefix.<p>
+	 * This is equivalent to calling findSharedData for every matching token, but the cache is only searched once.
+	 * An empty prefix matches every token stored using a SharedDataHelper.<br>
+	 * Each ByteBuffer in the Map is read-only and maps directly to the byte data in the cache; no data is copied.<br>
+	/*[IF JAVA_SPEC_VERSION < 24]
+	 * If a SecurityManager is installed, findSharedDataByPrefix can only be called by code whose caller-classloader
+	 * has been granted <q>read</q> permissions to the shared class cache.
+	/*[ENDIF] JAVA_SPEC_VERSION < 24
+	 *
+	 * @param tokenPrefix the prefix which tokens must start with
+	 *
+	 * @return Map a Map of token to read-only ByteBuffer for every match, which is empty if nothing matches, or null if there is an error
+	 */
+	public Map<String, ByteBuffer> findSharedDataByPrefix(String tokenPrefix);
+
+	/*[IF JAVA_SPEC_VERSION >= 22]*/
+	/**
+	 * Find data in the shared cache using a specific token, returning it as a MemorySegment.<p>
+	 * The same rules apply as for findSharedData. The MemorySegment returned is read-only and is backed directly by the
+	 * cache, so no data is copied. It remains accessible for as long as the JVM is attached to the cache.
+	 *
+	 * @param token a token to be used as a key
+	 *
+	 * @return MemorySegment a read-only MemorySegment containing the cached data, or null
+	 */
+	public MemorySegment findSharedDataSegment(String token);
+	/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+
 	/**
 	 * Store data in the shared cache using a specific token.<p>
 	 * If the data is stored successfully, the shared read-only copy of the data is returned. Otherwise, null is returned.<br>
@@ -80,7 +114,8 @@ public interface SharedDataHelper extends SharedHelper {
 	/*[ENDIF] JAVA_SPEC_VERSION < 24
 	 *
 	 * @param token a token to be used as a key
-	 * @param data a ByteBuffer of data to copy to the cache
+	 * @param data a ByteBuffer of data to copy to the cache. The whole capacity of the buffer is stored, and
+	 * the buffer can be either direct or heap-backed
 	 * @return ByteBuffer a read-only ByteBuffer containing the cached data, or null
 	 */
 	public ByteBuffer storeSharedData(String token, ByteBuffer data);
@@ -23,7 +23,13 @@ package com.ibm.oti.shared;
  * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
  */
 
+/*[IF JAVA_SPEC_VERSION >= 22]*/
+import java.lang.foreign.MemorySegment;
+/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.ibm.oti.util.Msg;
 
@@ -47,6 +53,8 @@ final class SharedDataHelperImpl extends SharedAbstractHelper implements SharedD
 
 	private native ByteBuffer findSharedDataImpl(int loaderId, String token);
 
+	private native Object[] findSharedDataByPrefixImpl(int loaderId, String tokenPrefix);
+
 	private native ByteBuffer storeSharedDataImpl(ClassLoader loader, int loaderId, String token, ByteBuffer data);
 
 	@Override
@@ -75,6 +83,53 @@ final class SharedDataHelperImpl extends SharedAbstractHelper implements SharedD
 		return findSharedDataImpl(this.id, token);
 	}
 
+	@Override
+	public Map<String, ByteBuffer> findSharedDataByPrefix(String tokenPrefix) {
+		ClassLoader loader = getClassLoader();
+		if (loader == null) {
+			/*[MSG "K059f", "ClassLoader has been garbage collected. Returning null."]*/
+			printVerboseInfo(Msg.getString("K059f")); //$NON-NLS-1$
+			return null;
+		}
+		/*[IF JAVA_SPEC_VERSION < 24]*/
+		if (!canFind) {
+			return null;
+		}
+		if (!checkReadPermission(loader)) {
+			/*[MSG "K05b5", "Read permission denied. Returning null."]*/
+			printVerboseError(Msg.getString("K05b5")); //$NON-NLS-1$
+			return null;
+		}
+		/*[ENDIF] JAVA_SPEC_VERSION < 24 */
+		if (tokenPrefix == null) {
+			/*[MSG "K0E02", "Cannot call findSharedDataByPrefix with null token prefix. Returning null."]*/
+			printVerboseError(Msg.getString("K0E02")); //$NON-NLS-1$
+			return null;
+		}
+		/* the native returns alternating token and ByteBuffer elements */
+		Object[] results = findSharedDataByPrefixImpl(this.id, tokenPrefix);
+		if (results == null) {
+			return null;
+		}
+		if (results.length == 0) {
+			return Collections.emptyMap();
+		}
+		Map<String, ByteBuffer> found = new HashMap<>();
+		for (int i = 0; i < results.length; i += 2) {
+			/* the most recent data for a token is returned first */
+			found.putIfAbsent((String)results[i], (ByteBuffer)results[i + 1]);
+		}
+		return found;
+	}
+
+	/*[IF JAVA_SPEC_VERSION >= 22]*/
+	@Override
+	public MemorySegment findSharedDataSegment(String token) {
+		ByteBuffer data = findSharedData(token);
+		return (data == null) ? null : MemorySegment.ofBuffer(data);
+	}
+	/*[ENDIF] JAVA_SPEC_VERSION >= 22 */
+
 	@Override
 	public ByteBuffer storeSharedData(String token, ByteBuffer data) {
 		ClassLoader loader = getClassLoader();
@@ -99,9 +154,10 @@ final class SharedDataHelperImpl extends SharedAbstractHelper implements SharedD
 			return null;
 		}
 		if (data!=null && !data.isDirect()) {
-			/*[MSG "K05b9", "Cannot call storeSharedData with a non-direct ByteBuffer. Returning null."]*/
-			printVerboseError(Msg.getString("K05b9")); //$NON-NLS-1$
-			return null;
+			/* the native copies the whole capacity from the buffer address, so stage heap data in a direct buffer */
+			ByteBuffer directData = ByteBuffer.allocateDirect(data.capacity());
+			directData.put(data.duplicate().clear());
+			data = directData;
 		}
 		return storeSharedDataImpl(loader, this.id, token, data);
 	}
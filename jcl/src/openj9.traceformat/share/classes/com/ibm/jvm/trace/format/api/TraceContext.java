@@ -191,7 +191,7 @@ public class TraceContext {
 	 * @param source - the object generating the message
 	 * @param message - the message to report
 	 */
-	public void warning(Object source, Object message) {
+	public synchronized void warning(Object source, Object message) {
 		warningCount++;
 
 		if (warningStream != null) {
@@ -204,7 +204,7 @@ public class TraceContext {
 	 * @param source - the object generating the message
 	 * @param message - the message to report
 	 */
-	public void error(Object source, Object message) {
+	public synchronized void error(Object source, Object message) {
 		errorCount++;
 
 		if (errorStream != null) {
@@ -36,7 +36,15 @@ import java.io.UnsupportedEncodingException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -80,6 +88,7 @@ public class TraceFormat
 		ProgramOption.addOption(Verbose.class);
 		ProgramOption.addOption(Debug.class);
 		ProgramOption.addOption(Statistics.class);
+		ProgramOption.addOption(Parallel.class);
 
 		/* The trace context holds the configuration and state for the parsing */
 		TraceContext context;
@@ -111,6 +120,7 @@ public class TraceFormat
 		Boolean verbose = (Boolean)ProgramOption.getValue("verbose");
 		Integer debugLevel = (Integer)ProgramOption.getValue("debug");
 		Boolean statistics = (Boolean)ProgramOption.getValue("statistics");
+		Integer parallel = (Integer)ProgramOption.getValue("parallel");
 
 		/* Parse the header on the first file */
 		int blockSize = 4000;
@@ -270,8 +280,14 @@ public class TraceFormat
 		String totalMbytes = (float)totalBytes/(float)(1024*1024) + "Mb";
 		context.message(context, "Processing " + totalMbytes + " of binary trace data");
 
+		/* tracepoints are merged and decoded on this thread, but may be formatted on worker threads */
+		ParallelFormatter formatter = null;
+		if (!summary.booleanValue() && parallel.intValue() > 1) {
+			formatter = new ParallelFormatter(context, output, parallel.intValue(), formatTime.booleanValue(), debugLevel.intValue());
+			context.message(context, "Formatting trace points on " + parallel + " threads");
+		}
+
 		TraceThread thread = null;
-		String indent = "";
 		while (itr.hasNext()) {
 			TracePointImpl tracepoint;
 
@@ -285,42 +301,7 @@ public class TraceFormat
 			/* If we've only been asked for the summary we don't format the trace */
 			if (!summary.booleanValue()) {
 				TraceThread current = tracepoint.getThread();
-				String component = tracepoint.getComponentName();
-				int tpID = tracepoint.getID();
-				String container = tracepoint.getContainerComponent();
-				String parameters = "";
-				try {
-					parameters = tracepoint.getFormattedParameters();
-					if (parameters == null || parameters.length() == 0) {
-					context.error(context, "null parameter data for trace point "+component+"."+tpID);
-					}
-				} catch (BufferUnderflowException e) {
-					/* This may be thrown, but there's essentially nothing we can do about it at this level so
-					 * just report it
-					 */
-					context.error(context, "Underflow accessing parameter data for trace point "+component+"."+tpID);
-				}
-
-				StringBuilder formatted = new StringBuilder();
-				if (formatTime.booleanValue()) {
-					formatted.append(tracepoint.getFormattedTime());
-				} else {
-					formatted.append(tracepoint.getRawTime());
-				}
-
-				/* append thread id */
-				formatted.append(" ").append((current != thread ? "*" : " "));
-				formatted.append(context.formatPointer(current.getThreadID()));
-				formatted.append(" ");
-
-				/* append component and padding - add container if this is a sub component.
-				 * e.g j9codertvm(j9jit).91 vs j9jit.18 */
-				String fullTracepointID = String.format((container != null ? "%s(%s).%d" : "%1$s.%3$d"), component, container, tpID);
-
-				/* Left justify but include a space in the formatting as a column separator in case of very long component id's. */
-				formatted.append(String.format("%-19s ", fullTracepointID));
-
-				formatted.append(tracepoint.getType());
+				String indent = null;
 
 				if (indenting.booleanValue()) {
 					indent = indentMap.get(current).toString();
@@ -336,25 +317,19 @@ public class TraceFormat
 						}
 					}
 
-					formatted.append(indent);
-				}
-
-				formatted.append(parameters.length() > 0 ? ((parameters.charAt(0) == '*' ? " " : "") + parameters) : "");
-
-				if (indenting.booleanValue()) {
 					/* juggle the indent for the thread */
 					if (tracepoint.getTypeAsInt() == TracePoint.ENTRY_TYPE || tracepoint.getTypeAsInt() == TracePoint.ENTRY_EXCPT_TYPE) {
-						indent = indent+"  ";
-						indentMap.put(current, indent);
+						indentMap.put(current, indent+"  ");
 					}
 				}
 
-				if (debugLevel > 0) {
-					formatted.append(" ["+((TracePointImpl)tracepoint).getDebugInfo()+"]");
+				if (formatter != null) {
+					formatter.add(tracepoint, current != thread, indent);
+				} else {
+					output.println(formatTracePoint(context, tracepoint, current != thread, indent, formatTime.booleanValue(), debugLevel.intValue()));
 				}
 
 				thread = current;
-				output.println(formatted.toString());
 			}
 
 			/* print percentage */
@@ -379,6 +354,10 @@ public class TraceFormat
 			}
 		}
 
+		if (formatter != null) {
+			formatter.finish();
+		}
+
 		if (lostCountByException > 0) {
 			context.warning(context, lostCountByException + " records were discarded during trace generation");
 		}
@@ -397,6 +376,178 @@ public class TraceFormat
 		}
 	}
 
+	/**
+	 * Formats a trace point as a line of the output.
+	 *
+	 * @param context - the trace context
+	 * @param tracepoint - the trace point to format
+	 * @param newThread - true if the previous trace point was from a different thread
+	 * @param indent - the indent for the trace point data, or null if not indenting
+	 * @param formatTime - true to format the time stamp, false for the raw time stamp
+	 * @param debugLevel - the debug level, debug information is appended if greater than 0
+	 * @return the formatted trace point
+	 */
+	static String formatTracePoint(TraceContext context, TracePointImpl tracepoint, boolean newThread, String indent, boolean formatTime, int debugLevel) {
+		TraceThread current = tracepoint.getThread();
+		String component = tracepoint.getComponentName();
+		int tpID = tracepoint.getID();
+		String container = tracepoint.getContainerComponent();
+		String parameters = "";
+		try {
+			parameters = tracepoint.getFormattedParameters();
+			if (parameters == null || parameters.length() == 0) {
+				context.error(context, "null parameter data for trace point "+component+"."+tpID);
+			}
+		} catch (BufferUnderflowException e) {
+			/* This may be thrown, but there's essentially nothing we can do about it at this level so
+			 * just report it
+			 */
+			context.error(context, "Underflow accessing parameter data for trace point "+component+"."+tpID);
+		}
+
+		StringBuilder formatted = new StringBuilder();
+		if (formatTime) {
+			formatted.append(tracepoint.getFormattedTime());
+		} else {
+			formatted.append(tracepoint.getRawTime());
+		}
+
+		/* append thread id */
+		formatted.append(" ").append((newThread ? "*" : " "));
+		formatted.append(context.formatPointer(current.getThreadID()));
+		formatted.append(" ");
+
+		/* append component and padding - add container if this is a sub component.
+		 * e.g j9codertvm(j9jit).91 vs j9jit.18 */
+		String fullTracepointID = String.format((container != null ? "%s(%s).%d" : "%1$s.%3$d"), component, container, tpID);
+
+		/* Left justify but include a space in the formatting as a column separator in case of very long component id's. */
+		formatted.append(String.format("%-19s ", fullTracepointID));
+
+		formatted.append(tracepoint.getType());
+
+		if (indent != null) {
+			formatted.append(indent);
+		}
+
+		formatted.append(parameters != null && parameters.length() > 0 ? ((parameters.charAt(0) == '*' ? " " : "") + parameters) : "");
+
+		if (debugLevel > 0) {
+			formatted.append(" ["+tracepoint.getDebugInfo()+"]");
+		}
+
+		return formatted.toString();
+	}
+
+	/**
+	 * Formats trace points on a pool of threads. Trace points are collected into batches in the order
+	 * they are added and each batch is formatted by a worker thread; the formatted batches are written
+	 * to the output in the same order. Only a few batches per thread are allowed to be in flight, so
+	 * the memory used does not depend on the size of the trace file.
+	 */
+	static final class ParallelFormatter {
+		private static final int BATCH_SIZE = 1024;
+		private static final int BATCHES_PER_THREAD = 4;
+
+		private final TraceContext context;
+		private final PrintWriter output;
+		private final boolean formatTime;
+		private final int debugLevel;
+		private final ExecutorService workers;
+		private final int maxPending;
+		private final ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+
+		private Batch batch;
+
+		ParallelFormatter(TraceContext context, PrintWriter output, int threads, boolean formatTime, int debugLevel) {
+			this.context = context;
+			this.output = output;
+			this.formatTime = formatTime;
+			this.debugLevel = debugLevel;
+			this.maxPending = threads * BATCHES_PER_THREAD;
+			this.workers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable task) {
+					Thread worker = new Thread(task, "trace formatter " + count.incrementAndGet());
+					worker.setDaemon(true);
+					return worker;
+				}
+			});
+		}
+
+		/**
+		 * Adds the next trace point to be formatted.
+		 * @see TraceFormat#formatTracePoint(TraceContext, TracePointImpl, boolean, String, boolean, int)
+		 */
+		void add(TracePointImpl tracepoint, boolean newThread, String indent) throws InterruptedException, ExecutionException {
+			if (batch == null) {
+				batch = new Batch();
+			}
+
+			batch.add(tracepoint, newThread, indent);
+
+			if (batch.size == BATCH_SIZE) {
+				submit();
+			}
+		}
+
+		/**
+		 * Formats any remaining trace points and waits for all output to be written.
+		 */
+		void finish() throws InterruptedException, ExecutionException {
+			try {
+				if (batch != null) {
+					submit();
+				}
+				while (!pending.isEmpty()) {
+					writeOldest();
+				}
+			} finally {
+				workers.shutdownNow();
+			}
+		}
+
+		private void submit() throws InterruptedException, ExecutionException {
+			pending.add(workers.submit(batch));
+			batch = null;
+
+			while (pending.size() > maxPending) {
+				writeOldest();
+			}
+		}
+
+		private void writeOldest() throws InterruptedException, ExecutionException {
+			output.print(pending.remove().get());
+		}
+
+		/* A run of trace points with the per thread state needed to format them */
+		final class Batch implements Callable<String> {
+			final TracePointImpl[] tracepoints = new TracePointImpl[BATCH_SIZE];
+			final boolean[] newThreads = new boolean[BATCH_SIZE];
+			final String[] indents = new String[BATCH_SIZE];
+			int size;
+
+			void add(TracePointImpl tracepoint, boolean newThread, String indent) {
+				tracepoints[size] = tracepoint;
+				newThreads[size] = newThread;
+				indents[size] = indent;
+				size++;
+			}
+
+			public String call() {
+				String lineSeparator = System.lineSeparator();
+				StringBuilder formatted = new StringBuilder(size * 128);
+
+				for (int i = 0; i < size; i++) {
+					formatted.append(formatTracePoint(context, tracepoints[i], newThreads[i], indents[i], formatTime, debugLevel));
+					formatted.append(lineSeparator);
+				}
+
+				return formatted.toString();
+			}
+		}
+	}
 }
 
 class Debug extends ProgramOption {
@@ -479,6 +630,47 @@ class Verbose extends ProgramOption {
 
 }
 
+class Parallel extends ProgramOption {
+	int threads;
+
+	String getDescription() {
+		return "Specifies the number of threads used to format the trace points. The trace points are still read and merged in time order on one thread and the output is identical. If specified without a value the number of available processors is used; the default is 1";
+	}
+
+	String getName() {
+		return "parallel";
+	}
+
+	String getUsage() {
+		return "-parallel[=threads]";
+	}
+
+	Object getValue() {
+		return Integer.valueOf(threads);
+	}
+
+	void setValue(String value) throws IllegalArgumentException {
+		try {
+			threads = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			threads = -1;
+		}
+
+		if (threads < 1) {
+			throw new IllegalArgumentException("The value \""+value+"\" specified for parallel is not valid, must be a positive integer");
+		}
+	}
+
+	void setAutomatic() {
+		threads = Runtime.getRuntime().availableProcessors();
+	}
+
+	void setDefault() {
+		threads = 1;
+	}
+
+}
+
 class Statistics extends ProgramOption {
 	boolean statistics;
 
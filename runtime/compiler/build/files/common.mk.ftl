@@ -366,6 +366,7 @@ JIT_PRODUCT_SOURCE_FILES+=\
     compiler/runtime/HWProfiler.cpp \
     compiler/runtime/HookHelpers.cpp \
     compiler/runtime/IProfiler.cpp \
+    compiler/runtime/IProfilerProfileFile.cpp \
     compiler/runtime/J9CodeCache.cpp \
     compiler/runtime/J9CodeCacheManager.cpp \
     compiler/runtime/J9CodeCacheMemorySegment.cpp \
@@ -64,6 +64,7 @@ class TR_HWProfiler;
 class TR_J9VMBase;
 class TR_LowPriorityCompQueue;
 class TR_OptimizationPlan;
+class TR_PersistentJittedBodyInfo;
 class TR_PersistentMethodInfo;
 class TR_RelocationRuntime;
 class TR_ResolvedMethod;
@@ -389,6 +390,19 @@ public:
       SAMPLE_THR_LAST_STATE // must be the last one
       };
 
+   // Priority classes of compilation requests, for the queue wait statistics.
+   // The order must match the one in CompilationQueueMXBean.
+   enum QueuePriorityClass
+      {
+      QUEUE_CLASS_SYNC = 0,         // synchronous requests
+      QUEUE_CLASS_ASYNC_HIGH,       // AOT loads, very-hot and scorching requests, promoted requests
+      QUEUE_CLASS_ASYNC_NORMAL,
+      QUEUE_CLASS_ASYNC_LOW,
+      QUEUE_CLASS_LOW_PRIORITY,     // requests taken from the low priority queue
+      QUEUE_CLASS_JPROFILING,       // requests taken from the JProfiling queue
+      QUEUE_CLASS_NUM_CLASSES       // must be the last one
+      };
+
    enum TR_CompThreadActions
       {
       PROCESS_ENTRY,
@@ -714,6 +728,7 @@ public:
    TR_MethodToBeCompiled *addOutOfProcessMethodToBeCompiled(JITServer::ServerStream *stream);
 #endif /* defined(J9VM_OPT_JITSERVER) */
    void                   queueEntry(TR_MethodToBeCompiled *entry);
+   uint32_t               estimateRecompilationBenefit(TR_PersistentJittedBodyInfo *bodyInfo, TR_Hotness targetOptLevel);
    void                   recycleCompilationEntry(TR_MethodToBeCompiled *cur);
 #if defined(J9VM_OPT_JITSERVER)
    void                   requeueOutOfProcessEntry(TR_MethodToBeCompiled *entry);
@@ -832,6 +847,14 @@ public:
    int32_t decreaseQueueWeightBy(uint8_t w) { TR_ASSERT((int32_t)w <= _queueWeight, "assertion failure"); return _queueWeight -= (int32_t)w; }
    int32_t getOverallQueueWeight() const { return _queueWeight; /*+ (_LPQWeight >> 1);*/ } // make secondary queue count only half as much
    int32_t getMethodQueueSize() const { return _numQueuedMethods; }
+   // Queue wait statistics; need the compilation monitor in hand
+   static QueuePriorityClass getQueuePriorityClass(const TR_MethodToBeCompiled *entry);
+   static const char *getQueuePriorityClassName(QueuePriorityClass queueClass) { return _queuePriorityClassNames[queueClass]; }
+   void markEntryQueued(TR_MethodToBeCompiled *entry);
+   void updateQueueWaitStats(TR_MethodToBeCompiled *entry, QueuePriorityClass queueClass);
+   // Copies the queue wait statistics; acquires the compilation monitor
+   uint32_t getQueueWaitStats(uint64_t *waitTimes, uint64_t *maxWaitTimes, uint64_t *numRequests, uint32_t numClasses);
+   void printQueueWaitStats();
    void incrementMethodQueueSize();
    int32_t getPeakMethodQueueSize() const { return _maxQueueSize; }
    int32_t getNumQueuedFirstTimeCompilations() const { return _numQueuedFirstTimeCompilations; }
@@ -920,6 +943,7 @@ public:
    void     setAotRelocationTime(uint32_t reloTime) { _statTotalAotRelocationTime = reloTime; }
    void    incrementNumMethodsFoundInSharedCache() { _numMethodsFoundInSharedCache++; }
    int32_t numMethodsFoundInSharedCache() { return _numMethodsFoundInSharedCache; }
+   uint32_t getNumMethodsLoadedFromSharedCache() const { return _statNumMethodsFromSharedCache; }
    int32_t getNumInvRequestsInCompQueue() const { return _numInvRequestsInCompQueue; }
    J9JITConfig *getJITConfig() { return _jitConfig; }
    TR::CompilationInfoPerThread *getCompInfoForThread(J9VMThread *vmThread);
@@ -1232,6 +1256,9 @@ private:
 
    TR::CompilationInfoPerThread **_arrayOfCompilationInfoPerThread; // First NULL entry means end of the array
    TR::CompilationInfoPerThread *_compInfoForDiagnosticCompilationThread; // compinfo for dump compilation thread
+   // Shared by all compilation threads and protected by the compilation queue monitor.
+   // There are no per-thread queues or work stealing: the same monitor also guards the
+   // compilation thread states and synchronous request hand-off.
    TR_MethodToBeCompiled *_methodQueue;
    TR_MethodToBeCompiled *_methodPool;
    int32_t                _methodPoolSize; // shouldn't this and _methodPool be static?
@@ -1267,6 +1294,10 @@ private:
    int32_t                _maxQueueSize;
    int32_t                _numQueuedFirstTimeCompilations; // these have oldStartPC==0
    int32_t                _queueWeight; // approximation on overhead to process the entire queue
+   uint64_t               _queueWaitTime[QUEUE_CLASS_NUM_CLASSES]; // usec, by priority class of the requests
+   uint64_t               _maxQueueWaitTime[QUEUE_CLASS_NUM_CLASSES]; // usec
+   uint64_t               _numRequestsDequeued[QUEUE_CLASS_NUM_CLASSES];
+   static const char     *_queuePriorityClassNames[QUEUE_CLASS_NUM_CLASSES];
    CpuUtilization*        _cpuUtil; // object to compute cpu utilization
    int32_t                _overallCompCpuUtilization; // In percentage points. Valid only if TR::Options::_compThreadCPUEntitlement has a positive value
    int32_t                _idleThreshold; // % of entire machine CPU
@@ -408,6 +408,18 @@ int32_t TR::CompilationInfo::MEDIUM_LARGE_QUEUE = 30;
 int32_t TR::CompilationInfo::LARGE_QUEUE        = 40;
 int32_t TR::CompilationInfo::VERY_LARGE_QUEUE   = 55;
 
+const char *TR::CompilationInfo::_queuePriorityClassNames[QUEUE_CLASS_NUM_CLASSES] =
+   {
+   "sync",
+   "asyncHigh",
+   "asyncNormal",
+   "asyncLow",
+   "lowPriorityQueue",
+   "jprofilingQueue"
+   };
+static_assert(TR::CompilationInfo::QUEUE_CLASS_NUM_CLASSES == J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES,
+              "The JIT and the JCL must agree on the number of compilation queue priority classes");
+
 TR::CompilationInfo * TR::CompilationInfo::_compilationRuntime = NULL;
 
 TR_MethodToBeCompiled *
@@ -1801,6 +1813,7 @@ void TR_LowPriorityCompQueue::enqueueCompReqToLPQ(TR_MethodToBeCompiled *compReq
 
    _lastLPQentry = compReq;
    _sizeLPQ++; // increase the size of LPQ
+   _compInfo->markEntryQueued(compReq);
    increaseLPQWeightBy(compReq->_weight);
    }
 
@@ -5139,6 +5152,8 @@ TR::CompilationInfo::addMethodToBeCompiled(TR::IlGeneratorMethodDetails & detail
                _intervalStats._numRecompilationsInInterval++;
             else
                incNumGCRRequestsQueued(cur);
+            if (!bodyInfo->getIsInvalidated())
+               cur->_benefit = estimateRecompilationBenefit(bodyInfo, optimizationPlan->getOptLevel());
             }
          // Should we bump the count of first time compilations?
          // If not, the danger is that there will be many GCR compilations and we enter STEADY state
@@ -5308,7 +5323,15 @@ TR::CompilationInfo::addMethodToBeCompiled(TR::IlGeneratorMethodDetails & detail
 
 //--------------------------- queueEntry ---------------------------------
 // Insert the compilation request in the queue at the appropriate place
-// based on its priority. Must have compilationQueueMonitor in hand
+// based on its priority. Requests of the same priority are served in FIFO
+// order, except that a request with an estimated benefit is placed ahead of
+// requests of lower benefit that have been queued for less than the reorder
+// window, so that old requests cannot be starved. Only sampling-driven
+// recompilations get an estimated benefit; first-time compilations have none
+// and stay in FIFO order.
+// The ordering does not reduce contention: all compilation threads still take
+// requests from this single queue under the compilation queue monitor.
+// Must have compilationQueueMonitor in hand
 //------------------------------------------------------------------------
 void TR::CompilationInfo::queueEntry(TR_MethodToBeCompiled *entry)
    {
@@ -5316,22 +5339,151 @@ void TR::CompilationInfo::queueEntry(TR_MethodToBeCompiled *entry)
 
    entry->_freeTag |= ENTRY_QUEUED;
 
-   if (!_methodQueue || _methodQueue->_priority < entry->_priority)
+   PORT_ACCESS_FROM_JITCONFIG(_jitConfig);
+   uint64_t crtTime = j9time_usec_clock();
+   if (entry->_queuedTime == 0)
+      entry->_queuedTime = crtTime;
+
+   bool orderByBenefit = entry->_benefit != 0 && TR::Options::_compilationQueueReorderWindow > 0;
+   uint64_t reorderWindow = (uint64_t)TR::Options::_compilationQueueReorderWindow * 1000; // usec
+
+   // Find the last request that must stay ahead of this one
+   TR_MethodToBeCompiled *prev = NULL;
+   for (TR_MethodToBeCompiled *cur = _methodQueue; cur && cur->_priority >= entry->_priority; cur = cur->_next)
+      {
+      if (cur->_priority > entry->_priority ||
+          !orderByBenefit ||
+          cur->_benefit >= entry->_benefit ||
+          crtTime - cur->_queuedTime > reorderWindow)
+         prev = cur;
+      }
+
+   if (!prev)
       {
       entry->_next = _methodQueue;
       _methodQueue = entry;
       }
    else
       {
-      for (TR_MethodToBeCompiled *prev = _methodQueue; ; prev = prev->_next)
-         {
-         if (!prev->_next || prev->_next->_priority < entry->_priority)
-            {
-            entry->_next = prev->_next;
-            prev->_next = entry;
-            break;
-            }
-         }
+      entry->_next = prev->_next;
+      prev->_next = entry;
+      }
+   }
+
+// Rough percentage of interpreted execution time saved by a body compiled at the given opt level
+static uint32_t expectedGainOfOptLevel(TR_Hotness optLevel)
+   {
+   switch (optLevel)
+      {
+      case noOpt:     return 40;
+      case cold:      return 60;
+      case warm:      return 80;
+      case hot:       return 90;
+      case veryHot:   return 95;
+      case scorching: return 100;
+      default:        return 80;
+      }
+   }
+
+//----------------------- estimateRecompilationBenefit -----------------------
+// Estimate the benefit of recompiling a sampled method body at a higher opt
+// level: the rate at which the body is executing times the expected gain of
+// the target opt level over the level of the body. The rate is derived from
+// the number of global samples the body needed to become a candidate for
+// recompilation, i.e. the fewer samples elapsed, the hotter the method.
+// Returns 0 (no estimate) for GCR recompilations, which are count based.
+//----------------------------------------------------------------------------
+uint32_t
+TR::CompilationInfo::estimateRecompilationBenefit(TR_PersistentJittedBodyInfo *bodyInfo, TR_Hotness targetOptLevel)
+   {
+   if (!bodyInfo || bodyInfo->getMethodInfo()->getReasonForRecompilation() == TR_PersistentMethodInfo::RecompDueToGCR)
+      return 0;
+
+   int32_t globalSamples = TR::Recompilation::globalSampleCount - bodyInfo->getStartCount();
+   uint32_t rate = 1000000 / (uint32_t)std::max(globalSamples, 1); // inverse of the global samples elapsed, scaled
+
+   uint32_t targetGain = expectedGainOfOptLevel(targetOptLevel);
+   uint32_t crtGain = expectedGainOfOptLevel(bodyInfo->getHotness());
+   uint32_t gain = targetGain > crtGain ? targetGain - crtGain : 1;
+
+   return rate * gain;
+   }
+
+//------------------------------- queue wait statistics -------------------------------
+TR::CompilationInfo::QueuePriorityClass
+TR::CompilationInfo::getQueuePriorityClass(const TR_MethodToBeCompiled *entry)
+   {
+   if (entry->_priority >= CP_SYNC_MIN)
+      return QUEUE_CLASS_SYNC;
+   if (entry->_priority > CP_ASYNC_NORMAL)
+      return QUEUE_CLASS_ASYNC_HIGH;
+   if (entry->_priority == CP_ASYNC_NORMAL)
+      return QUEUE_CLASS_ASYNC_NORMAL;
+   return QUEUE_CLASS_ASYNC_LOW;
+   }
+
+// Record the time a request is put in one of the queues. Must have compilationQueueMonitor in hand
+void
+TR::CompilationInfo::markEntryQueued(TR_MethodToBeCompiled *entry)
+   {
+   if (entry->_queuedTime == 0)
+      {
+      PORT_ACCESS_FROM_JITCONFIG(_jitConfig);
+      entry->_queuedTime = j9time_usec_clock();
+      }
+   }
+
+// Account for the time a request has waited in the queues, when a compilation
+// thread takes it. Must have compilationQueueMonitor in hand
+void
+TR::CompilationInfo::updateQueueWaitStats(TR_MethodToBeCompiled *entry, QueuePriorityClass queueClass)
+   {
+   if (entry->_queuedTime == 0)
+      return;
+   PORT_ACCESS_FROM_JITCONFIG(_jitConfig);
+   uint64_t crtTime = j9time_usec_clock();
+   uint64_t waitTime = crtTime > entry->_queuedTime ? crtTime - entry->_queuedTime : 0;
+   entry->_queuedTime = 0; // a request that is requeued waits again
+
+   _queueWaitTime[queueClass] += waitTime;
+   _numRequestsDequeued[queueClass]++;
+   if (waitTime > _maxQueueWaitTime[queueClass])
+      _maxQueueWaitTime[queueClass] = waitTime;
+   }
+
+uint32_t
+TR::CompilationInfo::getQueueWaitStats(uint64_t *waitTimes, uint64_t *maxWaitTimes, uint64_t *numRequests, uint32_t numClasses)
+   {
+   if (numClasses > QUEUE_CLASS_NUM_CLASSES)
+      numClasses = QUEUE_CLASS_NUM_CLASSES;
+
+   OMR::CriticalSection queueWaitStats(getCompilationMonitor());
+   for (uint32_t i = 0; i < numClasses; i++)
+      {
+      waitTimes[i] = _queueWaitTime[i];
+      maxWaitTimes[i] = _maxQueueWaitTime[i];
+      numRequests[i] = _numRequestsDequeued[i];
+      }
+   return numClasses;
+   }
+
+void
+TR::CompilationInfo::printQueueWaitStats()
+   {
+   uint64_t waitTimes[QUEUE_CLASS_NUM_CLASSES];
+   uint64_t maxWaitTimes[QUEUE_CLASS_NUM_CLASSES];
+   uint64_t numRequests[QUEUE_CLASS_NUM_CLASSES];
+   getQueueWaitStats(waitTimes, maxWaitTimes, numRequests, QUEUE_CLASS_NUM_CLASSES);
+
+   TR_VerboseLog::CriticalSection vlogLock;
+   TR_VerboseLog::writeLine(TR_Vlog_PERF, "Compilation queue wait time by priority class (usec):");
+   for (uint32_t i = 0; i < QUEUE_CLASS_NUM_CLASSES; i++)
+      {
+      if (numRequests[i] == 0)
+         continue;
+      TR_VerboseLog::writeLine(TR_Vlog_PERF, "   %-17s requests=%" OMR_PRIu64 " total=%" OMR_PRIu64 " avg=%" OMR_PRIu64 " max=%" OMR_PRIu64,
+                               getQueuePriorityClassName((QueuePriorityClass)i), numRequests[i], waitTimes[i],
+                               waitTimes[i] / numRequests[i], maxWaitTimes[i]);
       }
    }
 
@@ -5726,6 +5878,7 @@ TR::CompilationInfo::getNextMethodToBeCompiled(TR::CompilationInfoPerThread *com
          if (nextMethodToBeCompiled) // A request has been dequeued
             {
             updateCompQueueAccountingOnDequeue(nextMethodToBeCompiled);
+            updateQueueWaitStats(nextMethodToBeCompiled, getQueuePriorityClass(nextMethodToBeCompiled));
             }
          }
       // When no request is in the main queue we can look in the low priority queue
@@ -5751,6 +5904,7 @@ TR::CompilationInfo::getNextMethodToBeCompiled(TR::CompilationInfoPerThread *com
          else
             {
             nextMethodToBeCompiled = getLowPriorityCompQueue().extractFirstLPQRequest();
+            updateQueueWaitStats(nextMethodToBeCompiled, QUEUE_CLASS_LOW_PRIORITY);
             }
          }
       // Now let's look in the JProfiling queue
@@ -5771,6 +5925,7 @@ TR::CompilationInfo::getNextMethodToBeCompiled(TR::CompilationInfoPerThread *com
          else
             {
             nextMethodToBeCompiled = getJProfilingCompQueue().extractFirstCompRequest();
+            updateQueueWaitStats(nextMethodToBeCompiled, QUEUE_CLASS_JPROFILING);
             }
          }
       else
@@ -9772,6 +9927,50 @@ TR::CompilationInfoPerThreadBase::performAOTLoad(
    return metaData;
    }
 
+// Report the outcome of a JIT compilation through J9HOOK_VM_JIT_COMPILATION_END
+// (used by JFR). Compilations which end without VM access in hand are not reported
+// because the hook requires it.
+static void
+reportCompilationEnd(J9VMThread *vmThread, TR::Compilation *compiler, TR_MethodToBeCompiled *entry,
+                     TR_MethodMetaData *metaData, uint64_t compStartTimeUsec)
+   {
+   J9JavaVM *javaVM = vmThread->javaVM;
+   if (!J9_EVENT_IS_HOOKED(javaVM->hookInterface, J9HOOK_VM_JIT_COMPILATION_END)
+       || !J9_ARE_ANY_BITS_SET(vmThread->publicFlags, J9_PUBLIC_FLAGS_VM_ACCESS)
+       || entry->isAotLoad())
+      return;
+
+   PORT_ACCESS_FROM_JAVAVM(javaVM);
+   I_64 duration = (I_64)(j9time_usec_clock() - compStartTimeUsec) * 1000;
+   UDATA codeSize = 0;
+   UDATA inlinedBytes = 0;
+   if (metaData)
+      {
+      codeSize = metaData->endWarmPC - metaData->startPC;
+      if (metaData->startColdPC)
+         codeSize += metaData->endPC - metaData->startColdPC;
+
+      U_32 numCallSites = getNumInlinedCallSites(metaData);
+      for (U_32 i = 0; i < numCallSites; i++)
+         {
+         J9Method *inlinedMethod = (J9Method *)getInlinedMethod(getInlinedCallSiteArrayElement(metaData, i));
+         if (!isPatchedValue(inlinedMethod))
+            inlinedBytes += J9_BYTECODE_SIZE_FROM_ROM_METHOD(J9_ROM_METHOD_FROM_RAM_METHOD(inlinedMethod));
+         }
+      }
+
+   TRIGGER_J9HOOK_VM_JIT_COMPILATION_END(
+      javaVM->hookInterface,
+      vmThread,
+      entry->getMethodDetails().getMethod(),
+      duration,
+      compiler->getMethodHotness(),
+      entry->isDLTCompile(),
+      NULL != metaData,
+      codeSize,
+      inlinedBytes);
+   }
+
 // This routine should only be called from wrappedCompile
 TR_MethodMetaData *
 TR::CompilationInfoPerThreadBase::compile(
@@ -10289,6 +10488,8 @@ TR::CompilationInfoPerThreadBase::compile(
       metaData = 0;
       }
 
+   reportCompilationEnd(vmThread, compiler, _methodBeingCompiled, metaData, getTimeWhenCompStarted());
+
    // At this point the compilation has either succeeded and compilation cannot be
    // interrupted anymore, or it has failed. In either case _compilationShouldBeinterrupted flag
    // is not needed anymore
@@ -13185,6 +13386,7 @@ void TR_JProfilingQueue::enqueueCompReq(TR_MethodToBeCompiled *compReq)
    _lastQentry = compReq;
    _size++;
    increaseQWeightBy(compReq->_weight);
+   _compInfo->markEntryQueued(compReq);
    }
 
 // Must have compMonitor in hand
@@ -13384,7 +13586,9 @@ TR::CompilationInfo::addOutOfProcessMethodToBeCompiled(JITServer::ServerStream *
       // This needs to be served as soon as possible, so we give it a higher priority
       CompilationPriority priority = (stream == LOAD_AOTCACHE_REQUEST) ? CP_SYNC_BELOW_MAX : CP_SYNC_NORMAL;
       entry->initialize(details, NULL, priority, NULL);
-      if (TR::Options::getCmdLineOptions()->getVerboseOption(TR_VerbosePerformance))
+      // The MetricsServer reports the time requests spend waiting for a compilation thread
+      if (TR::Options::getCmdLineOptions()->getVerboseOption(TR_VerbosePerformance) ||
+          ((TR_JitPrivateConfig *)_jitConfig->privateConfig)->metricsServer)
          {
          PORT_ACCESS_FROM_JITCONFIG(_jitConfig);
          entry->_entryTime = j9time_usec_clock();
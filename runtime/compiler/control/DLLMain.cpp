@@ -751,11 +751,11 @@ IDATA J9VMDllMain(J9JavaVM* vm, IDATA stage, void * reserved)
                         {
                         listener->stop();
                         }
-                     MetricsServer *metricsServer = ((TR_JitPrivateConfig*)(vm->jitConfig->privateConfig))->metricsServer;
-                     if (metricsServer)
-                        {
-                        metricsServer->stop();
-                        }
+                     }
+                  MetricsServer *metricsServer = ((TR_JitPrivateConfig*)(vm->jitConfig->privateConfig))->metricsServer;
+                  if (metricsServer)
+                     {
+                     metricsServer->stop();
                      }
 
 #endif /* defined(J9VM_OPT_JITSERVER) */
@@ -89,6 +89,7 @@
 #include "ilgen/J9ByteCodeIlGenerator.hpp"
 #include "ilgen/J9ByteCodeIterator.hpp"
 #include "runtime/IProfiler.hpp"
+#include "runtime/IProfilerProfileFile.hpp"
 #include "runtime/HWProfiler.hpp"
 #include "env/SystemSegmentProvider.hpp"
 #if defined(J9VM_OPT_JITSERVER)
@@ -3896,6 +3897,12 @@ void jitHookClassLoadHelper(J9VMThread *vmThread,
       deserializer->onClassLoad(cl, vmThread);
 #endif /* defined(J9VM_OPT_JITSERVER) */
 
+   if (TR_IProfiler *iProfiler = vm->getIProfiler())
+      {
+      if (auto profileFile = iProfiler->getProfileFile())
+         profileFile->onClassLoad(cl, vmThread);
+      }
+
    if (auto dependencyTable = compInfo->getPersistentInfo()->getAOTDependencyTable())
       {
       getClassNameIfNecessary(vm, clazz, className, classNameLen);
@@ -4348,6 +4355,13 @@ void JitShutdown(J9JITConfig * jitConfig)
          {
          if (feGetEnv("TR_DumpIProfilerData"))
             iProfiler->dumpAllBytecodeProfilingData(vmThread);
+         if (auto profileFileName = ((TR_JitPrivateConfig *)jitConfig->privateConfig)->iprofilerProfileStoreFileName)
+            TR_IProfilerProfileFile::store(jitConfig, vmThread, profileFileName);
+         if (auto profileFile = iProfiler->getProfileFile())
+            {
+            if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+               profileFile->printStats();
+            }
          }
 
       printIprofilerStats(options, jitConfig, iProfiler, "Shutdown");
@@ -4450,6 +4464,12 @@ void JitShutdown(J9JITConfig * jitConfig)
    if (!vm->isAOT_DEPRECATED_DO_NOT_USE())
       stopSamplingThread(jitConfig);
 
+   if (TR::Options::getVerboseOption(TR_VerbosePerformance))
+      compInfo->printQueueWaitStats();
+
+   if (TR::Options::getVerboseOption(TR_VerboseCodeCache))
+      TR::CodeCacheManager::instance()->reportFragmentationStats();
+
 #if defined(J9VM_OPT_JITSERVER)
    JITServerStatisticsThread *statsThreadObj = ((TR_JitPrivateConfig*)(jitConfig->privateConfig))->statisticsThreadObject;
    if (statsThreadObj)
@@ -4678,6 +4698,24 @@ void disclaimCodeCaches(uint64_t crtElapsedTime)
                                      (uint32_t)crtElapsedTime, numDisclaimed, rssBefore, rssAfter, rssBefore - rssAfter, ((long)(rssAfter - rssBefore) * 100.0 / rssBefore));
    }
 
+// Free blocks left behind by reclaimed bodies can only be reused by bodies that fit in them.
+// The statistics are collected one code cache at a time, so the sampling thread does not
+// block compilations or code cache reclamation while computing them.
+void codeCacheFragmentationLogic(uint64_t crtElapsedTime)
+   {
+   static uint64_t lastFragmentationReportTime = 0;
+
+   if (TR::Options::_codeCacheFragmentationReportInterval <= 0 ||
+       !TR::Options::getCmdLineOptions()->getVerboseOption(TR_VerboseCodeCache))
+      return;
+
+   if (crtElapsedTime >= lastFragmentationReportTime + TR::Options::_codeCacheFragmentationReportInterval)
+      {
+      TR::CodeCacheManager::instance()->reportFragmentationStats();
+      lastFragmentationReportTime = crtElapsedTime;
+      }
+   }
+
 void memoryDisclaimLogic(TR::CompilationInfo *compInfo, uint64_t crtElapsedTime, uint8_t jitState)
    {
    static uint64_t lastDataCacheDisclaimTime = 0;
@@ -5589,6 +5627,7 @@ static void jitStateLogic(J9JITConfig * jitConfig, TR::CompilationInfo * compInf
       }
 
    memoryDisclaimLogic(compInfo, crtElapsedTime, newState);
+   codeCacheFragmentationLogic(crtElapsedTime);
 
    if (TR::Options::getCmdLineOptions()->getVerboseOption(TR_VerboseJitState))
       {
@@ -8027,6 +8066,8 @@ void printIprofilerStats(TR::Options *options, J9JITConfig * jitConfig, TR_IProf
          iProfiler->printAllocationReport();
       if (TEST_verbose || options->getOption(TR_VerboseInterpreterProfiling))
          iProfiler->outputStats();
+      if (TR::Options::getVerboseOption(TR_VerbosePerformance))
+         iProfiler->printParsingStats();
       // iProfiler->traverseIProfilerTableAndGenerateHistograms(jitConfig);
       }
    }
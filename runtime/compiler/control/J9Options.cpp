@@ -148,6 +148,7 @@ int32_t J9::Options::_lowCompDensityModeEnterThreshold = 4; // Maximum number of
 int32_t J9::Options::_lowCompDensityModeExitThreshold = 15; // Minimum number of compilations per 10 min of CPU required to exit low compilation density mode
 int32_t J9::Options::_lowCompDensityModeExitLPQSize = 120;  // Minimum number of compilations in LPQ to take us out of low compilation density mode
 bool J9::Options::_aotCacheDisableGeneratedClassSupport = false;
+bool J9::Options::_aotCacheDisableIncrementalPersistence = false;
 TR::CompilationFilters *J9::Options::_JITServerAOTCacheStoreFilters = NULL;
 TR::CompilationFilters *J9::Options::_JITServerAOTCacheLoadFilters = NULL;
 TR::CompilationFilters *J9::Options::_JITServerRemoteExcludeFilters = NULL;
@@ -164,6 +165,10 @@ int32_t J9::Options::_interpreterSamplingThresholdInJSR292 = TR_DEFAULT_INITIAL_
 int32_t J9::Options::_activeThreadsThreshold = 0; // -1 means 'determine dynamically', 0 means feature disabled
 int32_t J9::Options::_samplingThreadExpirationTime = -1;
 int32_t J9::Options::_compilationExpirationTime = -1;
+int32_t J9::Options::_compilationQueueReorderWindow = 100; // ms; 0 disables ordering by benefit
+int32_t J9::Options::_codeCacheFragmentationReportInterval = 60000; // ms; 0 disables the periodic reports
+bool J9::Options::_enableHotCodeCache = false;
+int32_t J9::Options::_hotCodeCacheFanInWeight = 2000; // 0 means only bodies compiled at hot or above use the hot code cache
 
 int32_t J9::Options::_minSamplingPeriod = 10; // ms
 int32_t J9::Options::_compilationBudget = 0;  // ms; 0 means disabled
@@ -191,6 +196,8 @@ int32_t J9::Options::_IprofilerOffDivisionFactor = 16;
 
 int32_t J9::Options::_IprofilerPreCheckpointDropRate = 0;
 
+int32_t J9::Options::_iprofilerProfileSeedCount = 50;
+
 
 int32_t J9::Options::_maxIprofilingCount = TR_DEFAULT_INITIAL_COUNT; // 3000
 int32_t J9::Options::_maxIprofilingCountInStartupMode = TR_QUICKSTART_INITIAL_COUNT; // 1000
@@ -895,6 +902,8 @@ TR::OptionTable OMR::Options::_feOptions[] = {
 #if defined(J9VM_OPT_JITSERVER)
    {"aotCacheDisableGeneratedClassSupport", " \tDisable support for generated classes such as lambdas in JITServer AOT cache",
         TR::Options::setStaticBool, (intptr_t)&TR::Options::_aotCacheDisableGeneratedClassSupport, 1, "F%d", NOT_IN_SUBSET },
+   {"aotCacheDisableIncrementalPersistence", " \tAlways rewrite the whole JITServer AOT cache file instead of appending the new records to it",
+        TR::Options::setStaticBool, (intptr_t)&TR::Options::_aotCacheDisableIncrementalPersistence, 1, "F%d", NOT_IN_SUBSET },
    {"aotCachePersistenceMinDeltaMethods=", "M<nnn>\tnumber of extra AOT methods that need to be added to the JITServer AOT cache before considering a save operation",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_aotCachePersistenceMinDeltaMethods, 0, "F%d", NOT_IN_SUBSET },
    {"aotCachePersistenceMinPeriodMs=", "M<nnn>\tmiminum time between two consecutive JITServer AOT cache save operations (ms)",
@@ -932,6 +941,9 @@ TR::OptionTable OMR::Options::_feOptions[] = {
    {"clinit",             "D\tforce compilation of <clinit> methods", SET_JITCONFIG_RUNTIME_FLAG(J9JIT_COMPILE_CLINIT) },
    {"code=",              "C<nnn>\tcode cache size, in KB",
         TR::Options::setJitConfigNumericValue, offsetof(J9JITConfig, codeCacheKB), 0, "F%d (KB)"},
+   {"codeCacheFragmentationReportInterval=", "M<nnn>\tnumber of ms between two reports of the code cache "
+                               "fragmentation with verbose={codecache}. 0 disables the periodic reports",
+        TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_codeCacheFragmentationReportInterval, 0, "F%d", NOT_IN_SUBSET},
    {"codepad=",              "C<nnn>\ttotal code cache pad size, in KB",
         TR::Options::setJitConfigNumericValue, offsetof(J9JITConfig, codeCachePadKB), 0, "F%d (KB)"},
    {"codetotal=",              "C<nnn>\ttotal code memory limit, in KB",
@@ -946,6 +958,10 @@ TR::OptionTable OMR::Options::_feOptions[] = {
    {"compilationPriorityQSZThreshold=", "M<nnn>\tCompilation queue size threshold when priority of post-profiling"
                                "compilation requests is increased",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_compPriorityQSZThreshold , 0, "F%d", NOT_IN_SUBSET},
+   {"compilationQueueReorderWindow=", "M<nnn>\tnumber of ms during which a queued compilation request can be passed "
+                               "by requests of the same priority and higher estimated benefit. Only sampling recompilations are "
+                               "ordered by benefit; first-time compilations stay in FIFO order. 0 disables the ordering by benefit",
+        TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_compilationQueueReorderWindow, 0, "F%d", NOT_IN_SUBSET},
    {"compilationQueueSizeLimit=", "R<nnn>\tWhen limit is reached, first-time compilations are postponed by replenishing the invocation count",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_qszLimit, 0, "F%d", NOT_IN_SUBSET},
    {"compilationThreadAffinityMask=", "M<nnn>\taffinity mask for compilation threads. Use hexa without 0x",
@@ -985,6 +1001,8 @@ TR::OptionTable OMR::Options::_feOptions[] = {
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_disableIProfilerClassUnloadThreshold, 0, "F%d", NOT_IN_SUBSET},
    {"dltPostponeThreshold=",      "M<nnn>\tNumber of dlt attempts inv. count for a method is seen not advancing",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_dltPostponeThreshold, 0, "F%d", NOT_IN_SUBSET },
+   {"enableHotCodeCache", " \tplace the bodies of hot methods next to each other in a dedicated code cache",
+        TR::Options::setStaticBool, (intptr_t)&TR::Options::_enableHotCodeCache, 1, "F%d", NOT_IN_SUBSET },
    {"exclude=",           "D<xxx>\tdo not compile methods beginning with xxx", TR::Options::limitOption, 1, 0, "P%s"},
    {"expensiveCompWeight=", "M<nnn>\tweight of a comp request to be considered expensive",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_expensiveCompWeight, 0, "F%d", NOT_IN_SUBSET },
@@ -1003,6 +1021,9 @@ TR::OptionTable OMR::Options::_feOptions[] = {
    {"highActiveThreadThreshold=", " \tDefines what is a high Threshold for active compilations",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_highActiveThreadThreshold, 0, "F%d"},
 #endif /* defined(J9VM_OPT_JITSERVER) */
+   {"hotCodeCacheFanInWeight=", "M<nnn>\ttotal IProfiler weight of the callers of a method at or above which "
+                               "its warm bodies are placed in the hot code cache. 0 limits the hot code cache to hot bodies",
+        TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_hotCodeCacheFanInWeight, 0, "F%d", NOT_IN_SUBSET},
    {"HWProfilerAOTWarmOptLevelThreshold=", "O<nnn>\tAOT Warm Opt Level Threshold",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_hwprofilerAOTWarmOptLevelThreshold, 0, "F%d", NOT_IN_SUBSET},
    {"HWProfilerBufferMaxPercentageToDiscard=", "O<nnn>\tpercentage of HW profiling buffers "
@@ -1103,6 +1124,12 @@ TR::OptionTable OMR::Options::_feOptions[] = {
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_IprofilerOffSubtractionFactor, 0, "F%d", NOT_IN_SUBSET},
    {"iprofilerPreCheckpointDropRate=", "O<nnn>\tPercent*10 of buffers to drop precheckpoint",
         TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_IprofilerPreCheckpointDropRate, 0, "F%d", NOT_IN_SUBSET},
+   {"iprofilerProfileLoadFile=", "L<filename>\tseed interpreter profiling data and invocation counts from a profile file written by a previous run",
+        TR::Options::setStringForPrivateBase, offsetof(TR_JitPrivateConfig,iprofilerProfileLoadFileName), 0, "P%s"},
+   {"iprofilerProfileSeedCount=", "O<nnn>\tinvocation count of methods that were compiled in the run that wrote the profile file",
+        TR::Options::setStaticNumeric, (intptr_t)&TR::Options::_iprofilerProfileSeedCount, 0, "F%d", NOT_IN_SUBSET},
+   {"iprofilerProfileStoreFile=", "L<filename>\twrite interpreter profiling data and compiled methods to a profile file at shutdown",
+        TR::Options::setStringForPrivateBase, offsetof(TR_JitPrivateConfig,iprofilerProfileStoreFileName), 0, "P%s"},
    {"iprofilerSamplesBeforeTurningOff=", "O<nnn>\tnumber of interpreter profiling samples "
                                 "needs to be taken after the profiling starts going off to completely turn it off. "
                                 "Specify a very large value to disable this optimization",
@@ -2366,52 +2393,6 @@ bool J9::Options::preProcessJitServer(J9JavaVM *vm, J9JITConfig *jitConfig)
             compInfo->getPersistentInfo()->setJITServerUseHealthPort(false);
             }
 
-         // Check if we should open the port for the MetricsServer
-         int32_t xxEnableMetricsServerArgIndex  = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXplusMetricsServer);
-         int32_t xxDisableMetricsServerArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXminusMetricsServer);
-         if (xxEnableMetricsServerArgIndex > xxDisableMetricsServerArgIndex)
-            {
-            // Default port is already set at 38500; see if the user wants to change that
-            int32_t xxJITServerMetricsPortArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXJITServerMetricsPortOption);
-            if (xxJITServerMetricsPortArgIndex >= 0)
-               {
-               UDATA port = 0;
-               const char *xxJITServerMetricsPortOption = J9::Options::getExternalOptionString(J9::ExternalOptions::XXJITServerMetricsPortOption);
-               IDATA ret = GET_INTEGER_VALUE(xxJITServerMetricsPortArgIndex, xxJITServerMetricsPortOption, port);
-               if (ret == OPTION_OK)
-                  compInfo->getPersistentInfo()->setJITServerMetricsPort(port);
-               }
-
-            // For optional metrics server encryption. Key and cert have to be set as a pair.
-            int32_t xxJITServerMetricsSSLKeyArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXJITServerMetricsSSLKeyOption);
-            int32_t xxJITServerMetricsSSLCertArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXJITServerMetricsSSLCertOption);
-
-            if ((xxJITServerMetricsSSLKeyArgIndex >= 0) && (xxJITServerMetricsSSLCertArgIndex >= 0))
-               {
-               char *keyFileName = NULL;
-               char *certFileName = NULL;
-               GET_OPTION_VALUE(xxJITServerMetricsSSLKeyArgIndex, '=', &keyFileName);
-               GET_OPTION_VALUE(xxJITServerMetricsSSLCertArgIndex, '=', &certFileName);
-               std::string key = readFileToString(keyFileName);
-               std::string cert = readFileToString(certFileName);
-
-               if (!key.empty() && !cert.empty())
-                  {
-                  compInfo->addJITServerMetricsSslKey(key);
-                  compInfo->addJITServerMetricsSslCert(cert);
-                  }
-               else
-                  {
-                  j9tty_printf(PORTLIB, "Fatal Error: The metrics server SSL key and cert cannot be empty\n");
-                  return false;
-                  }
-               }
-            }
-         else
-            {
-            compInfo->getPersistentInfo()->setJITServerMetricsPort(0); // This means don't use MetricsServer
-            }
-
          // Check if cached ROM classes should be shared between clients
          int32_t xxJITServerShareROMClassesArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXplusJITServerShareROMClassesOption);
          int32_t xxDisableJITServerShareROMClassesArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXminusJITServerShareROMClassesOption);
@@ -2535,6 +2516,53 @@ bool J9::Options::preProcessJitServer(J9JavaVM *vm, J9JITConfig *jitConfig)
 #endif // #if defined(J9VM_OPT_CRIU_SUPPORT)
          }
 
+      // Check if we should open the port for the MetricsServer. Ordinary JVMs and JITServer
+      // clients can use it too; they export the JVM metrics instead of the JITServer ones.
+      int32_t xxEnableMetricsServerArgIndex  = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXplusMetricsServer);
+      int32_t xxDisableMetricsServerArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXminusMetricsServer);
+      if (xxEnableMetricsServerArgIndex > xxDisableMetricsServerArgIndex)
+         {
+         // Default port is already set at 38500; see if the user wants to change that
+         int32_t xxJITServerMetricsPortArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXJITServerMetricsPortOption);
+         if (xxJITServerMetricsPortArgIndex >= 0)
+            {
+            UDATA port = 0;
+            const char *xxJITServerMetricsPortOption = J9::Options::getExternalOptionString(J9::ExternalOptions::XXJITServerMetricsPortOption);
+            IDATA ret = GET_INTEGER_VALUE(xxJITServerMetricsPortArgIndex, xxJITServerMetricsPortOption, port);
+            if (ret == OPTION_OK)
+               compInfo->getPersistentInfo()->setJITServerMetricsPort(port);
+            }
+
+         // For optional metrics server encryption. Key and cert have to be set as a pair.
+         int32_t xxJITServerMetricsSSLKeyArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXJITServerMetricsSSLKeyOption);
+         int32_t xxJITServerMetricsSSLCertArgIndex = J9::Options::getExternalOptionIndex(J9::ExternalOptions::XXJITServerMetricsSSLCertOption);
+
+         if ((xxJITServerMetricsSSLKeyArgIndex >= 0) && (xxJITServerMetricsSSLCertArgIndex >= 0))
+            {
+            char *keyFileName = NULL;
+            char *certFileName = NULL;
+            GET_OPTION_VALUE(xxJITServerMetricsSSLKeyArgIndex, '=', &keyFileName);
+            GET_OPTION_VALUE(xxJITServerMetricsSSLCertArgIndex, '=', &certFileName);
+            std::string key = readFileToString(keyFileName);
+            std::string cert = readFileToString(certFileName);
+
+            if (!key.empty() && !cert.empty())
+               {
+               compInfo->addJITServerMetricsSslKey(key);
+               compInfo->addJITServerMetricsSslCert(cert);
+               }
+            else
+               {
+               j9tty_printf(PORTLIB, "Fatal Error: The metrics server SSL key and cert cannot be empty\n");
+               return false;
+               }
+            }
+         }
+      else
+         {
+         compInfo->getPersistentInfo()->setJITServerMetricsPort(0); // This means don't use MetricsServer
+         }
+
       if (!JITServerParseCommonOptions(vm->vmArgsArray, vm, compInfo))
          {
          // Could not parse JITServer options successfully
@@ -314,6 +314,10 @@ class OMR_EXTENSIBLE Options : public OMR::OptionsConnector
    static int32_t _activeThreadsThreshold; // -1 means 'determine dynamically', 0 means feature disabled
    static int32_t _samplingThreadExpirationTime;
    static int32_t _compilationExpirationTime;
+   static int32_t _compilationQueueReorderWindow; // ms; requests queued for longer are not passed by requests of higher benefit
+   static int32_t _codeCacheFragmentationReportInterval; // ms; period of the code cache fragmentation reports
+   static bool _enableHotCodeCache;
+   static int32_t _hotCodeCacheFanInWeight; // callers weight above which warm bodies are placed in the hot code cache
    static int32_t _compilationThreadPriorityCode; // a number between 0 and 4
    static int32_t _disableIProfilerClassUnloadThreshold;
    static int32_t _iprofilerReactivateThreshold;
@@ -340,6 +344,8 @@ class OMR_EXTENSIBLE Options : public OMR::OptionsConnector
 
    static int32_t _IprofilerPreCheckpointDropRate;
 
+   static int32_t _iprofilerProfileSeedCount; // invocation count given to methods compiled in the run that wrote the profile file
+
    static int32_t _LoopyMethodSubtractionFactor;
    static int32_t _LoopyMethodDivisionFactor;
 
@@ -425,6 +431,7 @@ class OMR_EXTENSIBLE Options : public OMR::OptionsConnector
    static int32_t _lowCompDensityModeExitThreshold;
    static int32_t _lowCompDensityModeExitLPQSize;
    static bool _aotCacheDisableGeneratedClassSupport;
+   static bool _aotCacheDisableIncrementalPersistence;
    static TR::CompilationFilters *_JITServerAOTCacheStoreFilters;
    static TR::CompilationFilters *_JITServerAOTCacheLoadFilters;
    static TR::CompilationFilters *_JITServerRemoteExcludeFilters;
@@ -41,6 +41,7 @@
 #include "runtime/CodeCache.hpp"
 #include "runtime/CodeCacheExceptions.hpp"
 #include "runtime/J9VMAccess.hpp"
+#include "runtime/MetricsServer.hpp"
 #include "runtime/RelocationTarget.hpp"
 
 #include "jitprotos.h"
@@ -300,6 +301,7 @@ TR::CompilationInfoPerThreadRemote::CompilationInfoPerThreadRemote(TR::Compilati
    _isUnresolvedStrCache(NULL),
    _classUnloadReadMutexDepth(0),
    _aotCacheStore(false),
+   _aotCacheLoad(false),
    _methodIndex((uint32_t)-1),
    _definingClassChainRecord(NULL)
    {}
@@ -913,6 +915,7 @@ TR::CompilationInfoPerThreadRemote::processCompilationRequest(CompilationRequest
    auto aotCache = clientSession->getOrCreateAOTCache(stream);
    _aotCacheStore = requestedAOTCacheStore && aotCache && JITServerAOTCacheMap::cacheHasSpace();
    bool aotCacheLoad = requestedAOTCacheLoad && aotCache;
+   _aotCacheLoad = aotCacheLoad;
    if (aotCache && !aotCacheLoad)
       aotCache->incNumCacheBypasses();
 
@@ -1100,15 +1103,26 @@ TR::CompilationInfoPerThreadRemote::processEntry(TR_MethodToBeCompiled &entry, J
    bool aotCacheHit = false;
 
    _aotCacheStore = false;
+   _aotCacheLoad = false;
    _methodIndex = (uint32_t)-1;
    _definingClassChainRecord = NULL;
 
+   // Statistics for the MetricsServer. Reading the request may block until the client sends it,
+   // so the time spent in the queue ends here, and the compilation time starts after the read.
+   MetricsServer *metricsServer = ((TR_JitPrivateConfig *)compInfo->getJITConfig()->privateConfig)->metricsServer;
+   PORT_ACCESS_FROM_JITCONFIG(compInfo->getJITConfig());
+   uint64_t queueWaitUs = (metricsServer && entry._entryTime) ? j9time_usec_clock() - entry._entryTime : 0;
+   uint64_t requestReceivedTimeUs = 0;
+   uint64_t bytesTransferredBeforeRequest = stream->getNumBytesTransferred();
+
    try
       {
       CompilationRequest req;
       std::string cacheName;
 
       auto messageType = stream->readCompileRequest(req, cacheName);
+      if (metricsServer)
+         requestReceivedTimeUs = j9time_usec_clock();
 
       if (messageType == JITServer::MessageType::compilationRequest)
          {
@@ -1363,6 +1377,11 @@ TR::CompilationInfoPerThreadRemote::processEntry(TR_MethodToBeCompiled &entry, J
    // Update statistics regarding the compilation status (including compilationOK)
    compInfo->updateCompilationErrorStats((TR_CompilationErrorCode)entry._compErrCode);
 
+   if (metricsServer)
+      metricsServer->recordCompilationRequest(clientId, queueWaitUs, j9time_usec_clock() - requestReceivedTimeUs,
+                                              stream->getNumBytesTransferred() - bytesTransferredBeforeRequest,
+                                              _aotCacheLoad, aotCacheHit);
+
    // Save the pointer to the plan before recycling the entry
    // Decrease the queue weight
    compInfo->decreaseQueueWeightBy(entry._weight);
@@ -211,6 +211,7 @@ private:
    UnorderedMap<std::pair<TR_OpaqueClassBlock *, int32_t>, TR_IsUnresolvedString> *_isUnresolvedStrCache;
    int32_t _classUnloadReadMutexDepth;
    bool _aotCacheStore; // True if the result of this compilation will be stored in AOT cache
+   bool _aotCacheLoad; // True if the method being compiled was looked up in AOT cache
    uint32_t _methodIndex; // Index of the method being compiled in the array of methods of its defining class
    const AOTCacheClassChainRecord *_definingClassChainRecord; // Used to store the result of the compilation in AOT cache
 
@@ -63,6 +63,8 @@ void TR_MethodToBeCompiled::initialize(TR::IlGeneratorMethodDetails &details, vo
    if (_optimizationPlan)
       _optimizationPlan->setIsAotLoad(false);
    _entryTime = 0;
+   _queuedTime = 0;
+   _benefit = 0;
    _compInfoPT = NULL;
    _aotCodeToBeRelocated = NULL;
 
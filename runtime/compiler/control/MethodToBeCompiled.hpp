@@ -107,6 +107,13 @@ struct TR_MethodToBeCompiled
    // request is re-queued after a failed compilation. Once the compilation is finally successful, the timestamp
    // is used to compute the total compilation request latency (including queuing time and failed attempts).
    uintptr_t              _entryTime;
+   // Timestamp of when the request was put in one of the compilation queues (microseconds); 0 when the request
+   // is not queued. Used for the queue wait statistics, which are kept by priority class of the request.
+   uint64_t               _queuedTime;
+   // Estimated benefit of the compilation: rate of execution of the method times the expected gain from the
+   // target opt level. Requests of the same priority are ordered by benefit; 0 means there is no estimate.
+   // Only sampling-driven recompilations are estimated, so first-time compilations stay in FIFO order.
+   uint32_t               _benefit;
    TR::CompilationInfoPerThreadBase *_compInfoPT; // pointer to the thread that is handling this request
    const void *           _aotCodeToBeRelocated;
 
@@ -129,6 +129,7 @@
 #include "runtime/Listener.hpp"
 #include "runtime/MetricsServer.hpp"
 #endif /* defined(J9VM_OPT_JITSERVER) */
+#include "runtime/IProfilerProfileFile.hpp"
 
 #if defined(J9VM_OPT_CRIU_SUPPORT)
 #include "runtime/CRRuntime.hpp"
@@ -263,6 +264,38 @@ extern "C" void jitAddNewLowToHighRSSRegion(const char *name, uint8_t *start, ui
       rssReport->addNewRegion(name, start, size, OMR::RSSRegion::lowToHigh, pageSize);
    }
 
+extern "C" UDATA jitGetCompilationQueueWaitStats(J9JITConfig *jitConfig, U_64 *waitTimes, U_64 *maxWaitTimes, U_64 *numRequests, UDATA numClasses)
+   {
+   TR::CompilationInfo *compInfo = getCompilationInfo(jitConfig);
+   if (!compInfo)
+      return 0;
+   return compInfo->getQueueWaitStats(waitTimes, maxWaitTimes, numRequests, (uint32_t)numClasses);
+   }
+
+extern "C" UDATA jitGetCodeCacheFragmentationStats(J9JITConfig *jitConfig, U_64 *stats, UDATA numStats)
+   {
+   TR::CodeCacheManager *manager = TR::CodeCacheManager::instance();
+   if (!manager)
+      return 0;
+
+   J9::CodeCacheFragmentationStats fragmentationStats;
+   manager->getFragmentationStats(fragmentationStats);
+
+   U_64 values[J9JIT_CODE_CACHE_FRAGMENTATION_STATS] =
+      {
+      fragmentationStats._contiguousFreeBytes,
+      fragmentationStats._freeBlockBytes,
+      fragmentationStats._largestFreeBlock,
+      fragmentationStats._numFreeBlocks,
+      fragmentationStats._reclaimedBytes,
+      fragmentationStats._numReclaimedBlocks
+      };
+   if (numStats > J9JIT_CODE_CACHE_FRAGMENTATION_STATS)
+      numStats = J9JIT_CODE_CACHE_FRAGMENTATION_STATS;
+   memcpy(stats, values, numStats * sizeof(U_64));
+   return numStats;
+   }
+
 
 // -----------------------------------------------------------------------------
 // Method translation
@@ -660,11 +693,11 @@ jitExclusiveVMShutdownPending(J9VMThread * vmThread)
          {
          listener->stop();
          }
-      MetricsServer *metricsServer = ((TR_JitPrivateConfig*)(javaVM->jitConfig->privateConfig))->metricsServer;
-      if (metricsServer)
-         {
-         metricsServer->stop();
-         }
+      }
+   MetricsServer *metricsServer = ((TR_JitPrivateConfig*)(javaVM->jitConfig->privateConfig))->metricsServer;
+   if (metricsServer)
+      {
+      metricsServer->stop();
       }
 #endif /* defined(J9VM_OPT_JITSERVER) */
 
@@ -849,6 +882,24 @@ command(J9VMThread * vmThread, const char * cmdString)
          }
       return 0;
       }
+   // storeProfile[=<file>] writes the IProfiler profile file; the default file is the one given by iprofilerProfileStoreFile
+   if (strncmp(cmdString, "storeProfile", 12) == 0)
+      {
+      J9JITConfig *jitConfig = vmThread->javaVM->jitConfig;
+      const char *fileName = (cmdString[12] == '=') ? cmdString + 13 :
+                             ((TR_JitPrivateConfig *)jitConfig->privateConfig)->iprofilerProfileStoreFileName;
+      if (!compInfo || !fileName || !*fileName)
+         return -1;
+#if defined(J9VM_OPT_JITSERVER)
+      if (compInfo->getPersistentInfo()->getRemoteCompilationMode() == JITServer::SERVER)
+         return -1;
+#endif /* defined(J9VM_OPT_JITSERVER) */
+      if (!TR_IProfilerProfileFile::store(jitConfig, vmThread, fileName))
+         return -1;
+      if (TR::Options::isAnyVerboseOptionSet(TR_VerboseIProfilerPersistence, TR_VerbosePerformance))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_INFO, "Compiler.command(storeProfile) %s", fileName);
+      return 0;
+      }
 
    return 0;
    }
@@ -1895,6 +1946,34 @@ onLoadInternal(
 
       JITServer::CommunicationStream::initConfigurationFlags();
       }
+
+   // Ordinary JVMs and JITServer clients export metrics about the JVM itself.
+   // The JITServer starts its MetricsServer in startJITServer() instead.
+   if ((compInfo->getPersistentInfo()->getRemoteCompilationMode() != JITServer::SERVER) &&
+       (compInfo->getPersistentInfo()->getJITServerMetricsPort() != 0))
+      {
+      MetricsServer *metricsServer = MetricsServer::allocate();
+      if (!metricsServer)
+         {
+         // warn that MetricsServer was not allocated
+         j9tty_printf(PORTLIB, "JVM MetricsServer not allocated, abort.\n");
+         return -1;
+         }
+      if (!metricsServer->registerJVMMetricsHooks(javaVM))
+         {
+         j9tty_printf(PORTLIB, "Error: Unable to register JVM metrics hooks\n");
+         return -1;
+         }
+      ((TR_JitPrivateConfig*)(jitConfig->privateConfig))->metricsServer = metricsServer;
+
+      // A client has already initialized SSL in ClientStream::static_init()
+      if ((compInfo->getPersistentInfo()->getRemoteCompilationMode() == JITServer::NONE) && compInfo->useSSL())
+         {
+         (*OSSL_load_error_strings)();
+         (*OSSL_library_init)();
+         }
+      metricsServer->startMetricsThread(javaVM);
+      }
 #endif // J9VM_OPT_JITSERVER
 
 #if defined(TR_HOST_S390)
@@ -1922,6 +2001,8 @@ onLoadInternal(
 
 
    jitConfig->jitAddNewLowToHighRSSRegion = jitAddNewLowToHighRSSRegion;
+   jitConfig->jitGetCompilationQueueWaitStats = jitGetCompilationQueueWaitStats;
+   jitConfig->jitGetCodeCacheFragmentationStats = jitGetCodeCacheFragmentationStats;
 
 #if !defined(PERSISTENT_COLLECTIONS_UNSUPPORTED)
    if (TR::Options::getCmdLineOptions()->getTransientClassRegex()
@@ -2266,6 +2347,25 @@ aboutToBootstrap(J9JavaVM * javaVM, J9JITConfig * jitConfig)
       }
 #endif /* defined(J9VM_OPT_JITSERVER) */
 
+   // Read the IProfiler profile file; its data is applied by the class load hook
+   TR_IProfiler *iProfiler = ((TR_JitPrivateConfig *)jitConfig->privateConfig)->iProfiler;
+   const char *profileFileName = ((TR_JitPrivateConfig *)jitConfig->privateConfig)->iprofilerProfileLoadFileName;
+#if defined(J9VM_OPT_JITSERVER)
+   if (persistentInfo->getRemoteCompilationMode() == JITServer::SERVER)
+      profileFileName = NULL;
+#endif /* defined(J9VM_OPT_JITSERVER) */
+   if (iProfiler && profileFileName)
+      {
+      TR_IProfilerProfileFile *profileFile = new (PERSISTENT_NEW) TR_IProfilerProfileFile(iProfiler);
+      if (profileFile && !profileFile->load(profileFileName))
+         {
+         profileFile->~TR_IProfilerProfileFile();
+         TR_Memory::jitPersistentFree(profileFile);
+         profileFile = NULL;
+         }
+      iProfiler->setProfileFile(profileFile);
+      }
+
    #if defined(TR_TARGET_S390)
       uintptr_t * tocBase = (uintptr_t *)jitConfig->pseudoTOC;
 
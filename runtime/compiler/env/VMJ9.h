@@ -122,6 +122,8 @@ typedef struct TR_JitPrivateConfig
    TR::FILE      *rtLogFile;
    char          *rtLogFileName;
    char          *itraceFileNamePrefix;
+   char          *iprofilerProfileLoadFileName;
+   char          *iprofilerProfileStoreFileName;
    TR_IProfiler  *iProfiler;
    TR_HWProfiler *hwProfiler;
    TR_JProfilerThread  *jProfiler;
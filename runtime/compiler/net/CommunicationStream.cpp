@@ -116,6 +116,7 @@ CommunicationStream::readMessage(Message &msg)
    // Update message count and size statistics
    _msgTypeCount[msg.type()] += 1;
    _totalMsgSize += serializedSize;
+   _numBytesTransferred += serializedSize;
 #if defined(MESSAGE_SIZE_STATS)
    _msgSizeStats[msg.type()].update(serializedSize);
 #endif /* defined(MESSAGE_SIZE_STATS) */
@@ -127,6 +128,7 @@ CommunicationStream::writeMessage(Message &msg)
    char *serialMsg = msg.serialize();
    // write serialized message to the socket
    writeBlocking(serialMsg, msg.serializedSize());
+   _numBytesTransferred += msg.serializedSize();
    msg.clearForWrite();
    }
 
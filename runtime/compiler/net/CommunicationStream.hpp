@@ -89,8 +89,11 @@ public:
       return (_numConsecutiveReadErrorsOfSameType < MAX_READ_RETRY);
       }
 
+   // Total size of the messages read and written on this stream so far
+   uint64_t getNumBytesTransferred() const { return _numBytesTransferred; }
+
 protected:
-   CommunicationStream() : _ssl(NULL), _connfd(-1) { }
+   CommunicationStream() : _ssl(NULL), _connfd(-1), _numBytesTransferred(0) { }
 
    virtual ~CommunicationStream()
       {
@@ -117,6 +120,7 @@ protected:
    int _connfd;
    ServerMessage _sMsg;
    ClientMessage _cMsg;
+   uint64_t _numBytesTransferred; // Only accessed by the thread that owns the stream
 
    // When increasing a version number here (especially MINOR_NUMBER), please
    // also change the ID comment to a unique value, preferably one that has
@@ -31,6 +31,7 @@
 #include <algorithm>
 #include <stdlib.h>
 #include <string.h>
+#include "AtomicSupport.hpp"
 #include "bcnames.h"
 #include "jilconsts.h"
 #include "j9cp.h"
@@ -600,9 +601,11 @@ TR_IProfiler::TR_IProfiler(J9JITConfig *jitConfig)
      _valueProfileMethod(NULL), _lightHashTableMonitor(0), _allowedToGiveInlinedInformation(true),
      _globalAllocationCount (0), _maxCallFrequency(0), _iprofilerThread(0), _iprofilerOSThread(NULL),
      _workingBufferTail(NULL), _numOutstandingBuffers(0), _numRequests(1), _numRequestsDropped(0), _numRequestsSkipped(0),
-     _numRequestsHandedToIProfilerThread(0), _iprofilerMonitor(NULL),
+     _numRequestsHandedToIProfilerThread(0), _numRequestsParsedByJavaThreads(0), _numRequestsDiscardedFromQueue(0),
+     _numBCEntryInsertRetries(0), _numBCEntryAllocationFailures(0), _iprofilerMonitor(NULL),
      _crtProfilingBuffer(NULL), _iprofilerNumRecords(0), _numMethodHashEntries(0),
      _iprofilerThreadLifetimeState(TR_IprofilerThreadLifetimeStates::IPROF_THR_NOT_CREATED)
+     , _profileFile(NULL)
    {
    PORT_ACCESS_FROM_JITCONFIG(jitConfig);
 
@@ -1112,24 +1115,34 @@ TR_IProfiler::findOrCreateEntry(int32_t bucket, uintptr_t pc, bool addIt)
       }
 
    if (!entry)
+      {
+      VM_AtomicSupport::add(&_numBCEntryAllocationFailures, 1);
       return NULL;
+      }
 
-   // While the entry is being allocated, another thread could have added an entry with the same PC.
-   // If that happened, it's likely that the duplicate entry is at the head of this list.
-   // Check to see if that's the case. This technique does not eliminate the race completely
-   // but catches most of duplicate situations.
-   TR_IPBytecodeHashTableEntry *headEntry = _bcHashTable[bucket];
-   if (headEntry && headEntry->getPC() == pc)
+   // Buffers are parsed by the IProfiler thread and by application threads at the same time,
+   // while compilation threads read the chains without locking. Entries are only ever pushed
+   // at the head of a chain, so the new entry is published with a compare-and-swap of the head.
+   // If another thread pushed entries meanwhile, only those need to be searched for the PC
+   // before trying again.
+   TR_IPBytecodeHashTableEntry *searchedHead = NULL;
+   while (true)
       {
-      delete entry; // Newly allocated entry is not needed
-      return headEntry;
+      TR_IPBytecodeHashTableEntry *headEntry = _bcHashTable[bucket];
+      for (TR_IPBytecodeHashTableEntry *other = headEntry; other != searchedHead; other = other->getNext())
+         {
+         if (other->getPC() == pc)
+            {
+            delete entry; // Newly allocated entry is not needed
+            return other;
+            }
+         }
+      entry->setNext(headEntry);
+      if ((uintptr_t)headEntry == VM_AtomicSupport::lockCompareExchange((volatile uintptr_t *)&_bcHashTable[bucket], (uintptr_t)headEntry, (uintptr_t)entry))
+         return entry;
+      VM_AtomicSupport::add(&_numBCEntryInsertRetries, 1);
+      searchedHead = headEntry;
       }
-
-   entry->setNext(_bcHashTable[bucket]);
-   FLUSH_MEMORY(TR::Compiler->target.isSMP());
-   _bcHashTable[bucket] = entry;
-
-   return entry;
    }
 
 TR_IPBCDataAllocation *
@@ -2595,13 +2608,33 @@ TR_IProfiler::outputStats()
       fprintf(stderr, "IProfiler: Number of buffers to be dropped             =%" OMR_PRIu64 "\n", _numRequestsDropped);
       fprintf(stderr, "IProfiler: Number of buffers discarded                 =%" OMR_PRIu64 "\n", _numRequestsSkipped);
       fprintf(stderr, "IProfiler: Number of buffers handed to iprofiler thread=%" OMR_PRIu64 "\n", _numRequestsHandedToIProfilerThread);
+      fprintf(stderr, "IProfiler: Number of buffers parsed by java threads    =%" OMR_PRIu64 "\n", (uint64_t)_numRequestsParsedByJavaThreads);
+      fprintf(stderr, "IProfiler: Number of queued buffers discarded          =%" OMR_PRIu64 "\n", _numRequestsDiscardedFromQueue);
       }
    fprintf(stderr, "IProfiler: Number of records processed=%" OMR_PRIu64 "\n", _iprofilerNumRecords);
    fprintf(stderr, "IProfiler: Number of hashtable entries=%u\n", countEntries());
+   fprintf(stderr, "IProfiler: Number of hashtable insertions retried=%" OMR_PRIu64 "\n", (uint64_t)_numBCEntryInsertRetries);
+   fprintf(stderr, "IProfiler: Number of hashtable entries not allocated=%" OMR_PRIu64 "\n", (uint64_t)_numBCEntryAllocationFailures);
    fprintf(stderr, "IProfiler: Number of methodHash entries=%u\n", _numMethodHashEntries);
    checkMethodHashTable();
    }
 
+/**
+ * Write to the verbose log how the profiling buffers were parsed and how often threads
+ * parsing them at the same time raced to add entries to the bytecode hash table.
+ */
+void
+TR_IProfiler::printParsingStats()
+   {
+   TR_VerboseLog::CriticalSection vlogLock;
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "Buffers: handed to IProfiler thread=%" OMR_PRIu64 " parsed by Java threads=%" OMR_PRIu64
+      " dropped=%" OMR_PRIu64 " discarded=%" OMR_PRIu64 " discarded from queue=%" OMR_PRIu64,
+      _numRequestsHandedToIProfilerThread, (uint64_t)_numRequestsParsedByJavaThreads,
+      _numRequestsDropped, _numRequestsSkipped, _numRequestsDiscardedFromQueue);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "Bytecode hash table: records=%" OMR_PRIu64 " insertions retried=%" OMR_PRIu64 " entries not allocated=%" OMR_PRIu64,
+      _iprofilerNumRecords, (uint64_t)_numBCEntryInsertRetries, (uint64_t)_numBCEntryAllocationFailures);
+   }
+
 
 void *
 TR_IPBytecodeHashTableEntry::operator new (size_t size) throw()
@@ -2615,7 +2648,6 @@ void TR_IPBytecodeHashTableEntry::operator delete(void *p) throw()
    TR_IProfiler::allocator()->deallocate(p);
    }
 
-#if defined(J9VM_OPT_JITSERVER)
 void
 TR_IPBCDataFourBytes::serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info)
    {
@@ -2631,7 +2663,6 @@ TR_IPBCDataFourBytes::deserialize(TR_IPBCDataStorageHeader *storage)
    {
    loadFromPersistentCopy(storage, NULL);
    }
-#endif
 
 void
 TR_IPBCDataFourBytes::createPersistentCopy(TR_J9SharedCache *sharedCache, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info)
@@ -2702,7 +2733,6 @@ TR_IPBCDataEightWords::copyFromEntry(TR_IPBytecodeHashTableEntry *originalEntry)
       data[i] = entry->data[i];
    }
 
-#if defined(J9VM_OPT_JITSERVER)
 void
 TR_IPBCDataEightWords::serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info)
    {
@@ -2719,7 +2749,6 @@ TR_IPBCDataEightWords::deserialize(TR_IPBCDataStorageHeader *storage)
    {
    loadFromPersistentCopy(storage, NULL);
    }
-#endif
 
 int32_t
 TR_IPBCDataCallGraph::setData(uintptr_t v, uint32_t freq)
@@ -2955,9 +2984,8 @@ TR_IPBCDataCallGraph::isLocked()
    return locked;
    }
 
-#if defined(J9VM_OPT_JITSERVER)
 /**
- * API used by JITClient to check whether the current entry can be persisted
+ * API used by JITClient and by the IProfiler profile file to check whether the current entry can be serialized
  *
  * @param info PersistentInfo pointer used for checking if the class has been unloaded
  *
@@ -3045,7 +3073,6 @@ TR_IPBCDataCallGraph::deserialize(TR_IPBCDataStorageHeader *storage)
    _csInfo._residueWeight = store->_csInfo._residueWeight;
    _csInfo._tooBigToBeInlined = store->_csInfo._tooBigToBeInlined;
    }
-#endif
 
 uint32_t
 TR_IPBCDataCallGraph::canBePersisted(TR_J9SharedCache *sharedCache, TR::PersistentInfo *info)
@@ -3344,7 +3371,6 @@ TR_IPBCDataDirectCall::copyFromEntry(TR_IPBytecodeHashTableEntry *originalEntry)
    _tooBigToBeInlined = entry->_tooBigToBeInlined;
    }
 
-#if defined(J9VM_OPT_JITSERVER)
 void
 TR_IPBCDataDirectCall::serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info)
    {
@@ -3368,8 +3394,6 @@ TR_IPBCDataDirectCall::deserialize(TR_IPBCDataStorageHeader *storage)
    _tooBigToBeInlined = store->_tooBigToBeInlined;
    }
 
-#endif /* defined(J9VM_OPT_JITSERVER) */
-
 TR_IPBCDataCallGraph*
 TR_IProfiler::getCGProfilingData(TR_ByteCodeInfo &bcInfo, TR::Compilation *comp)
    {
@@ -3490,13 +3514,7 @@ TR_IProfiler::releaseAllEntries(uint32_t &unexpectedLockedEntries)
          {
          if (entry->asIPBCDataCallGraph() && entry->asIPBCDataCallGraph()->isLocked())
             {
-            // Because there is a known race in findOrCreateEntry(), there is a
-            // chance that this entry is still locked because another entry for
-            // the same PC was added after it. These should not contribute to
-            // the number of unexpectedly locked entries.
-            auto otherEntry = profilingSample(entry->getPC(), 0, false);
-            if (entry == otherEntry)
-               unexpectedLockedEntries++;
+            unexpectedLockedEntries++;
             count++;
             entry->asIPBCDataCallGraph()->releaseEntry();
             }
@@ -3909,6 +3927,7 @@ bool TR_IProfiler::processProfilingBuffer(J9VMThread *vmThread, const U_8* dataS
          // too many skipped requests; let the java thread handle this one
          //records = parseBuffer(vmThread, cursor, size, iProfiler);
          //setProfilingBufferCursor(vmThread, (U_8*)cursor);
+         VM_AtomicSupport::add(&_numRequestsParsedByJavaThreads, 1);
          return false; // delegate the processing to the java thread
          }
       else // skip this request altogether
@@ -3922,6 +3941,7 @@ bool TR_IProfiler::processProfilingBuffer(J9VMThread *vmThread, const U_8* dataS
       if (!postIprofilingBufferToWorkingQueue(vmThread, dataStart, size))
          {
          // If posting fails, we should let the app thread process the buffer
+         VM_AtomicSupport::add(&_numRequestsParsedByJavaThreads, 1);
          return false;
          //_numRequestsSkipped++;
          //setProfilingBufferCursor(vmThread, (U_8*)dataStart);
@@ -3937,6 +3957,7 @@ TR_IProfiler::discardFilledIProfilerBuffers()
       {
       _freeBufferList.add(_workingBufferList.pop());
       _numOutstandingBuffers--;
+      _numRequestsDiscardedFromQueue++;
       }
    _workingBufferTail = NULL;
    }
@@ -4556,6 +4577,19 @@ TR_AggregationHT::~TR_AggregationHT()
    TR_IProfiler::allocator()->deallocate(_backbone);
    }
 
+TR_AggregationHT::TR_AggregationHTNode *
+TR_AggregationHT::find(J9ROMMethod *romMethod) const
+   {
+   if (_sz == 0)
+      return NULL;
+   for (TR_AggregationHTNode *node = _backbone[hash(romMethod)]; node; node = node->getNext())
+      {
+      if (node->getROMMethod() == romMethod)
+         return node;
+      }
+   return NULL;
+   }
+
 // Add the given cgEntry from the IP table into the aggregationHT
 // The caller also provides the romMethod/romClass that contains the
 // bytecode described by this cgEntry
@@ -96,6 +96,7 @@ class TR_AbstractInfo;
 class TR_BitVector;
 class TR_J9VMBase;
 class TR_J9SharedCache;
+class TR_IProfilerProfileFile;
 
 #if defined (_MSC_VER)
 extern "C" __declspec(dllimport) void __stdcall DebugBreak();
@@ -235,13 +236,13 @@ public:
    virtual void setWarmCallGraphTooBig(bool set=true) {}
    virtual bool isWarmCallGraphTooBig() const { return false; }
 
-#if defined(J9VM_OPT_JITSERVER)
-   // Serialization used for JITServer
+   // Serialization used for JITServer and for the IProfiler profile file
    // not sufficient for persisting to the shared cache
    virtual uint32_t canBeSerialized(TR::PersistentInfo *info) { return IPBC_ENTRY_CAN_PERSIST; }
    virtual void serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info) = 0;
    virtual void deserialize(TR_IPBCDataStorageHeader *storage) = 0;
 
+#if defined(J9VM_OPT_JITSERVER)
    virtual TR_IPBytecodeHashTableEntry *newEntry(TR::Region &region) const = 0;
    virtual TR_IPBytecodeHashTableEntry *newEntry(TR_PersistentMemory *persistentMemory,
                                                  TR_Memory::ObjectType tag = TR_Memory::UnknownType) const = 0;
@@ -357,9 +358,9 @@ public:
    virtual void setInvalid() { data = IPROFILING_INVALID; }
    virtual TR_IPBCDataFourBytes  *asIPBCDataFourBytes() { return this; }
    virtual uint32_t getBytesFootprint() {return sizeof (TR_IPBCDataFourBytesStorage);}
-#if defined(J9VM_OPT_JITSERVER)
    virtual void serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info);
    virtual void deserialize(TR_IPBCDataStorageHeader *storage);
+#if defined(J9VM_OPT_JITSERVER)
    virtual TR_IPBytecodeHashTableEntry *newEntry(TR::Region &region) const override
       {
       return new (region.allocate(sizeof(*this))) TR_IPBCDataFourBytes(_pc);
@@ -423,9 +424,9 @@ public:
    virtual void setInvalid() { data[0] = IPROFILING_INVALID; }
    virtual TR_IPBCDataEightWords  *asIPBCDataEightWords() { return this; }
    virtual uint32_t getBytesFootprint() {return sizeof(TR_IPBCDataEightWordsStorage);}
-#if defined(J9VM_OPT_JITSERVER)
    virtual void serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info);
    virtual void deserialize(TR_IPBCDataStorageHeader *storage);
+#if defined(J9VM_OPT_JITSERVER)
    virtual TR_IPBytecodeHashTableEntry *newEntry(TR::Region &region) const override
       {
       return new (region.allocate(sizeof(*this))) TR_IPBCDataEightWords(_pc);
@@ -477,10 +478,10 @@ public:
    virtual void setInvalid() { _csInfo.setClazz(0, IPROFILING_INVALID); }
    virtual uint32_t getBytesFootprint() {return sizeof (TR_IPBCDataCallGraphStorage);}
 
-#if defined(J9VM_OPT_JITSERVER)
    virtual uint32_t canBeSerialized(TR::PersistentInfo *info);
    virtual void serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info);
    virtual void deserialize(TR_IPBCDataStorageHeader *storage);
+#if defined(J9VM_OPT_JITSERVER)
    //TODO: add override to all functions that need it for consistency
    virtual TR_IPBytecodeHashTableEntry *newEntry(TR::Region &region) const override
       {
@@ -533,9 +534,9 @@ public:
    virtual void setInvalid() { _isInvalid = true; }
    virtual uint32_t getBytesFootprint() {return sizeof (TR_IPBCDataDirectCallStorage);}
 
-#if defined(J9VM_OPT_JITSERVER)
    virtual void serialize(uintptr_t methodStartAddress, TR_IPBCDataStorageHeader *storage, TR::PersistentInfo *info);
    virtual void deserialize(TR_IPBCDataStorageHeader *storage);
+#if defined(J9VM_OPT_JITSERVER)
    virtual TR_IPBytecodeHashTableEntry *newEntry(TR::Region &region) const override
       {
       return new (region.allocate(sizeof(*this))) TR_IPBCDataDirectCall(_pc);
@@ -658,6 +659,7 @@ public:
    size_t getSize() const { return _sz; }
    size_t numTrackedMethods() const { return _numTrackedMethods; }
    TR_AggregationHTNode* getBucket(size_t i) const { return _backbone[i]; }
+   TR_AggregationHTNode *find(J9ROMMethod *romMethod) const;
    void add(J9ROMMethod *romMethod, J9ROMClass *romClass, TR_IPBytecodeHashTableEntry *cgEntry);
    void sortByNameAndPrint(const char *filename);
 private:
@@ -668,6 +670,7 @@ private:
 
 class TR_IProfiler : public TR_ExternalProfiler
    {
+friend class TR_IProfilerProfileFile;
 public:
 
    enum TR_IprofilerThreadLifetimeStates
@@ -697,6 +700,7 @@ public:
    void operator delete(void *p) throw() {}
    void shutdown();
    void outputStats();
+   void printParsingStats();
    void dumpIPBCDataCallGraph(J9VMThread* currentThread);
    void dumpAllBytecodeProfilingData(J9VMThread* vmThread);
    void startIProfilerThread(J9JavaVM *javaVM);
@@ -749,6 +753,9 @@ public:
    uint32_t getTotalReadSampleRequests() const { return _readSampleRequestsHistory->getTotalReadSampleRequests(); }
    uint32_t getFailedReadSampleRequests() const { return _readSampleRequestsHistory->getFailedReadSampleRequests(); }
    uint32_t numSamplesInHistoryBuffer() const { return _readSampleRequestsHistory->numSamplesInHistoryBuffer(); }
+   // Profile file read at startup; its data is applied as classes are loaded
+   TR_IProfilerProfileFile *getProfileFile() const { return _profileFile; }
+   void setProfileFile(TR_IProfilerProfileFile *profileFile) { _profileFile = profileFile; }
 
 
 
@@ -914,6 +921,10 @@ private:
    uint64_t                        _numRequestsDropped;
    uint64_t                        _numRequestsSkipped;
    uint64_t                        _numRequestsHandedToIProfilerThread;
+   volatile uintptr_t              _numRequestsParsedByJavaThreads; // queue full or contended; updated atomically
+   uint64_t                        _numRequestsDiscardedFromQueue; // by class unloading or shutdown
+   volatile uintptr_t              _numBCEntryInsertRetries; // lost compare-and-swap of a chain head; updated atomically
+   volatile uintptr_t              _numBCEntryAllocationFailures; // samples dropped for lack of memory; updated atomically
    uint64_t                        _iprofilerNumRecords; // info stats only
 
    TR_IPMethodHashTableEntry       **_methodHashTable;
@@ -923,6 +934,7 @@ private:
    TR_ReadSampleRequestsHistory   *_readSampleRequestsHistory;
 
    volatile TR_IprofilerThreadLifetimeStates _iprofilerThreadLifetimeState;
+   TR_IProfilerProfileFile        *_profileFile;
 
    public:
    static int32_t                  _STATS_noProfilingInfo;
@@ -0,0 +1,794 @@
+/*******************************************************************************
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ *******************************************************************************/
+
+#include <cstdio> // for rename()
+#include <errno.h>
+#include <string.h>
+#include <algorithm>
+#include <string>
+#include "j9.h"
+#include "rommeth.h"
+#include "AtomicSupport.hpp"
+#include "control/CompilationRuntime.hpp"
+#include "control/Options.hpp"
+#include "control/Recompilation.hpp"
+#include "control/RecompilationInfo.hpp"
+#include "env/J9JitMemory.hpp"
+#include "env/PersistentInfo.hpp"
+#include "env/RawAllocator.hpp"
+#include "env/SystemSegmentProvider.hpp"
+#include "env/VerboseLog.hpp"
+#include "env/VMAccessCriticalSection.hpp"
+#include "env/VMJ9.h"
+#include "runtime/IProfiler.hpp"
+#include "runtime/IProfilerProfileFile.hpp"
+#include "runtime/J9Profiler.hpp"
+
+#if !defined(PERSISTENT_COLLECTIONS_UNSUPPORTED)
+
+#define IPROFILER_PROFILE_FILE_EYECATCHER "J9IPROFL"
+#define IPROFILER_PROFILE_FILE_EYECATCHER_LENGTH 8
+static_assert(sizeof(IPROFILER_PROFILE_FILE_EYECATCHER) == IPROFILER_PROFILE_FILE_EYECATCHER_LENGTH + 1,
+              "IPROFILER_PROFILE_FILE_EYECATCHER must have length IPROFILER_PROFILE_FILE_EYECATCHER_LENGTH");
+
+// Must be incremented whenever the layout of the file or of the IProfiler storage structures changes
+#define IPROFILER_PROFILE_FILE_VERSION 2
+#define IPROFILER_PROFILE_FILE_BYTE_ORDER_MARK 0x01020304
+
+#define IPROFILER_PROFILE_FILE_MAX_RESIDUE_WEIGHT 0x7FFF // _residueWeight is a 15-bit field
+
+// All the records in the file are padded to a multiple of 8 bytes, so that
+// the storage structures can be accessed in place after the file is read
+static size_t alignSize(size_t size) { return (size + 7) & ~(size_t)7; }
+
+
+// The data is stored in the native byte order and layout; a file can only be used by
+// a JVM of the same version and on the same platform as the one that wrote it.
+struct TR_IProfilerProfileFileHeader
+   {
+   char _eyeCatcher[IPROFILER_PROFILE_FILE_EYECATCHER_LENGTH];
+   uint32_t _version;
+   uint32_t _pointerSize;
+   uint32_t _byteOrderMark;
+   uint32_t _numClasses;
+   uint64_t _recordsSize; // size of the class records following the header
+   };
+
+// A class record is followed by the class name, and then by the records of the methods
+// that have profiling data or that were compiled.
+struct TR_IProfilerProfileFileClassRecord
+   {
+   uint64_t _hash; // see classHash()
+   uint32_t _recordSize; // including the name and the method records
+   uint32_t _numMethods;
+   uint32_t _nameLength;
+   uint32_t _padding;
+
+   const uint8_t *name() const { return (const uint8_t *)(this + 1); }
+   const uint8_t *methods() const { return name() + alignSize(_nameLength); }
+   };
+
+// A method record is followed by its entries. An entry is the storage structure used by
+// JITServer to serialize the IProfiler data of a bytecode, with the PC stored as an offset
+// from the start of the bytecodes. For call graph entries, the receiver class slots hold
+// the length of the class names instead, and the names follow the storage structure.
+struct TR_IProfilerProfileFileMethodRecord
+   {
+   enum Flags
+      {
+      COMPILED = 0x1, // the method was compiled in the run that wrote the file
+      };
+
+   uint32_t _methodIndex;
+   uint32_t _flags;
+   uint32_t _numEntries;
+   uint32_t _entriesSize;
+   };
+
+union TR_IProfilerProfileFileEntryStorage
+   {
+   TR_IPBCDataStorageHeader _header;
+   TR_IPBCDataFourBytesStorage _fourBytes;
+   TR_IPBCDataEightWordsStorage _eightWords;
+   TR_IPBCDataCallGraphStorage _callGraph;
+   TR_IPBCDataDirectCallStorage _directCall;
+   };
+
+static_assert(sizeof(TR_IProfilerProfileFileHeader) % 8 == 0, "Profile file header must be 8-byte aligned");
+static_assert(sizeof(TR_IProfilerProfileFileClassRecord) % 8 == 0, "Profile file class record must be 8-byte aligned");
+static_assert(sizeof(TR_IProfilerProfileFileMethodRecord) % 8 == 0, "Profile file method record must be 8-byte aligned");
+
+
+static void
+getCurrentHeader(TR_IProfilerProfileFileHeader &header)
+   {
+   memset(&header, 0, sizeof(header));
+   memcpy(header._eyeCatcher, IPROFILER_PROFILE_FILE_EYECATCHER, IPROFILER_PROFILE_FILE_EYECATCHER_LENGTH);
+   header._version = IPROFILER_PROFILE_FILE_VERSION;
+   header._pointerSize = sizeof(uintptr_t);
+   header._byteOrderMark = IPROFILER_PROFILE_FILE_BYTE_ORDER_MARK;
+   }
+
+static bool
+isCompatibleHeader(const TR_IProfilerProfileFileHeader &header)
+   {
+   TR_IProfilerProfileFileHeader currentHeader;
+   getCurrentHeader(currentHeader);
+   return (0 == memcmp(header._eyeCatcher, currentHeader._eyeCatcher, sizeof(currentHeader._eyeCatcher))) &&
+          (header._version == currentHeader._version) &&
+          (header._pointerSize == currentHeader._pointerSize) &&
+          (header._byteOrderMark == currentHeader._byteOrderMark);
+   }
+
+// Returns the size of the storage structure for the given entry type, or 0 for an unknown type
+static size_t
+storageSize(uint32_t id)
+   {
+   switch (id)
+      {
+      case TR_IPBCD_FOUR_BYTES:  return sizeof(TR_IPBCDataFourBytesStorage);
+      case TR_IPBCD_EIGHT_WORDS: return sizeof(TR_IPBCDataEightWordsStorage);
+      case TR_IPBCD_CALL_GRAPH:  return sizeof(TR_IPBCDataCallGraphStorage);
+      case TR_IPBCD_DIRECT_CALL: return sizeof(TR_IPBCDataDirectCallStorage);
+      default:                   return 0;
+      }
+   }
+
+static uint32_t
+entryType(TR_IPBytecodeHashTableEntry *entry)
+   {
+   if (entry->asIPBCDataFourBytes())
+      return TR_IPBCD_FOUR_BYTES;
+   if (entry->asIPBCDataEightWords())
+      return TR_IPBCD_EIGHT_WORDS;
+   if (entry->asIPBCDataCallGraph())
+      return TR_IPBCD_CALL_GRAPH;
+   if (entry->asIPBCDataDirectCall())
+      return TR_IPBCD_DIRECT_CALL;
+   return 0;
+   }
+
+static bool
+hasSamples(TR_IPBytecodeHashTableEntry *entry)
+   {
+   // A call graph entry whose samples all went to the residue has no dominant class, but still has data
+   if (TR_IPBCDataCallGraph *cgEntry = entry->asIPBCDataCallGraph())
+      return cgEntry->getSumCount() != 0;
+   return entry->hasData();
+   }
+
+// 64-bit FNV-1a
+static uint64_t
+hashBytes(uint64_t hash, const void *data, size_t size)
+   {
+   const uint8_t *bytes = (const uint8_t *)data;
+   for (size_t i = 0; i < size; ++i)
+      {
+      hash ^= bytes[i];
+      hash *= 0x100000001b3ULL;
+      }
+   return hash;
+   }
+
+static uint64_t
+hashUTF8(uint64_t hash, const J9UTF8 *utf8)
+   {
+   uint16_t length = J9UTF8_LENGTH(utf8);
+   hash = hashBytes(hash, &length, sizeof(length));
+   return hashBytes(hash, J9UTF8_DATA(utf8), length);
+   }
+
+// Identifies the class file a class was loaded from, as far as its profile is concerned:
+// the profile is keyed by method index and bytecode offset, so the hash covers the name,
+// signature, modifiers and bytecodes of every method, in the order of the ROM methods.
+static uint64_t
+classHash(J9Class *clazz)
+   {
+   J9ROMClass *romClass = clazz->romClass;
+   uint64_t hash = hashUTF8(0xcbf29ce484222325ULL, J9ROMCLASS_CLASSNAME(romClass));
+   hash = hashBytes(hash, &romClass->romMethodCount, sizeof(romClass->romMethodCount));
+   for (uint32_t m = 0; m < romClass->romMethodCount; ++m)
+      {
+      J9ROMMethod *romMethod = J9_ROM_METHOD_FROM_RAM_METHOD(&clazz->ramMethods[m]);
+      hash = hashUTF8(hash, J9ROMMETHOD_NAME(romMethod));
+      hash = hashUTF8(hash, J9ROMMETHOD_SIGNATURE(romMethod));
+      hash = hashBytes(hash, &romMethod->modifiers, sizeof(romMethod->modifiers));
+      uintptr_t bytecodeSize = J9_BYTECODE_SIZE_FROM_ROM_METHOD(romMethod);
+      hash = hashBytes(hash, &bytecodeSize, sizeof(bytecodeSize));
+      hash = hashBytes(hash, J9_BYTECODE_START_FROM_ROM_METHOD(romMethod), bytecodeSize);
+      }
+   return hash;
+   }
+
+static void
+append(Vector<uint8_t> &out, const void *data, size_t size)
+   {
+   out.insert(out.end(), (const uint8_t *)data, (const uint8_t *)data + size);
+   }
+
+static void
+pad(Vector<uint8_t> &out)
+   {
+   out.resize(alignSize(out.size()), 0);
+   }
+
+// Appends the data of an IProfiler entry to the entries of a method record.
+// Must be called with VM access, so that receiver classes cannot be unloaded.
+static bool
+appendEntry(Vector<uint8_t> &out, TR_IPBytecodeHashTableEntry *entry, uintptr_t methodStartAddress, TR::PersistentInfo *info)
+   {
+   if (entry->isInvalid() || !hasSamples(entry))
+      return false;
+
+   TR_IProfilerProfileFileEntryStorage storage;
+   memset(&storage, 0, sizeof(storage));
+
+   TR_IPBCDataCallGraph *cgEntry = entry->asIPBCDataCallGraph();
+   if (!cgEntry)
+      {
+      entry->serialize(methodStartAddress, &storage._header, info);
+      append(out, &storage, entry->getBytesFootprint());
+      pad(out);
+      return true;
+      }
+
+   if (cgEntry->canBeSerialized(info) != IPBC_ENTRY_CAN_PERSIST)
+      return false;
+   cgEntry->serialize(methodStartAddress, &storage._header, info);
+   cgEntry->releaseEntry();
+
+   // Receiver classes are stored by name. Hidden and anonymous classes (e.g. lambdas) cannot
+   // be found by name in the next run, so their weight goes to the residue.
+   CallSiteProfileInfo &csInfo = storage._callGraph._csInfo;
+   const J9UTF8 *names[NUM_CS_SLOTS] = {};
+   uint32_t residueWeight = csInfo._residueWeight;
+   for (int32_t i = 0; i < NUM_CS_SLOTS; i++)
+      {
+      J9Class *clazz = (J9Class *)csInfo.getClazz(i);
+      if (!clazz)
+         continue;
+      const J9UTF8 *className = J9ROMCLASS_CLASSNAME(clazz->romClass);
+      if (J9ROMCLASS_IS_ANON_OR_HIDDEN(clazz->romClass))
+         {
+         residueWeight += csInfo._weight[i];
+         csInfo._weight[i] = 0;
+         csInfo.setClazz(i, 0);
+         }
+      else
+         {
+         names[i] = className;
+         csInfo.setClazz(i, J9UTF8_LENGTH(className));
+         }
+      }
+   csInfo._residueWeight = std::min<uint32_t>(residueWeight, IPROFILER_PROFILE_FILE_MAX_RESIDUE_WEIGHT);
+
+   append(out, &storage, cgEntry->getBytesFootprint());
+   pad(out);
+   for (int32_t i = 0; i < NUM_CS_SLOTS; i++)
+      {
+      if (names[i])
+         append(out, J9UTF8_DATA(names[i]), J9UTF8_LENGTH(names[i]));
+      }
+   pad(out);
+   return true;
+   }
+
+
+TR_IProfilerProfileFile::TR_IProfilerProfileFile(TR_IProfiler *iProfiler) :
+   _iProfiler(iProfiler),
+   _buffer(NULL),
+   _classRecords(ClassRecordMap::allocator_type(TR::Compiler->persistentAllocator())),
+   _numClassesInFile(0), _numClassesSeeded(0), _numClassHashMismatches(0), _numMethodsSeeded(0),
+   _numEntriesSeeded(0), _numEntriesSkipped(0), _numReceiversNotLoaded(0)
+   {
+   }
+
+TR_IProfilerProfileFile::~TR_IProfilerProfileFile()
+   {
+   _classRecords.clear();
+   if (_buffer)
+      jitPersistentFree(_buffer);
+   }
+
+bool
+TR_IProfilerProfileFile::load(const char *fileName)
+   {
+   FILE *f = fopen(fileName, "rb");
+   if (!f)
+      {
+      if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Failed to open profile file %s: %s", fileName, strerror(errno));
+      return false;
+      }
+
+   TR_IProfilerProfileFileHeader header;
+   bool success = (1 == fread(&header, sizeof(header), 1, f)) && isCompatibleHeader(header) &&
+                  (header._recordsSize <= SIZE_MAX);
+   if (success && header._recordsSize)
+      {
+      _buffer = (uint8_t *)jitPersistentAlloc((size_t)header._recordsSize);
+      success = _buffer && (1 == fread(_buffer, (size_t)header._recordsSize, 1, f));
+      }
+   fclose(f);
+
+   // Index the class records by name; their contents are validated when they are applied
+   const uint8_t *cursor = _buffer;
+   const uint8_t *end = _buffer + (success ? (size_t)header._recordsSize : 0);
+   try
+      {
+      for (uint32_t i = 0; success && (i < header._numClasses); ++i)
+         {
+         auto record = (const TR_IProfilerProfileFileClassRecord *)cursor;
+         size_t remaining = end - cursor;
+         if ((remaining < sizeof(*record)) || (record->_recordSize > remaining) || (record->_recordSize % 8) ||
+             (record->_recordSize < sizeof(*record) + alignSize(record->_nameLength)))
+            {
+            success = false;
+            break;
+            }
+         _classRecords.insert({ StringKey(record->name(), record->_nameLength), record });
+         cursor += record->_recordSize;
+         }
+      }
+   catch (const std::bad_alloc &)
+      {
+      success = false;
+      }
+
+   if (!success)
+      {
+      _classRecords.clear();
+      if (_buffer)
+         {
+         jitPersistentFree(_buffer);
+         _buffer = NULL;
+         }
+      if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Failed to read profile file %s: incompatible or corrupted file", fileName);
+      return false;
+      }
+
+   _numClassesInFile = header._numClasses;
+   if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+      TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Loaded profile file %s: %u classes, %llu bytes",
+                                     fileName, header._numClasses, (unsigned long long)header._recordsSize);
+   return true;
+   }
+
+void
+TR_IProfilerProfileFile::onClassLoad(J9Class *ramClass, J9VMThread *vmThread)
+   {
+   J9ROMClass *romClass = ramClass->romClass;
+   const J9UTF8 *name = J9ROMCLASS_CLASSNAME(romClass);
+   auto range = _classRecords.equal_range(StringKey(name));
+   if (range.first == range.second)
+      return;
+
+   if (TR_IProfiler::getProfilerMemoryFootprint() >= TR::Options::_iProfilerMemoryConsumptionLimit)
+      return;
+
+   uint64_t hash = classHash(ramClass);
+   for (auto it = range.first; it != range.second; ++it)
+      {
+      if (it->second->_hash == hash)
+         {
+         applyClassRecord(it->second, ramClass, vmThread);
+         return;
+         }
+      }
+
+   ++_numClassHashMismatches;
+   if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+      TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Profile file: class %.*s %p does not match the stored profile",
+                                     J9UTF8_LENGTH(name), J9UTF8_DATA(name), ramClass);
+   }
+
+void
+TR_IProfilerProfileFile::applyClassRecord(const TR_IProfilerProfileFileClassRecord *record, J9Class *ramClass, J9VMThread *vmThread)
+   {
+   J9ROMClass *romClass = ramClass->romClass;
+   const uint8_t *cursor = record->methods();
+   const uint8_t *end = (const uint8_t *)record + record->_recordSize;
+   bool lowerCounts = !TR::Options::getCountsAreProvidedByUser();
+   bool corrupted = false;
+
+   for (uint32_t m = 0; !corrupted && (m < record->_numMethods); ++m)
+      {
+      TR_IProfilerProfileFileMethodRecord methodRecord;
+      if ((size_t)(end - cursor) < sizeof(methodRecord))
+         {
+         corrupted = true;
+         break;
+         }
+      memcpy(&methodRecord, cursor, sizeof(methodRecord));
+      cursor += sizeof(methodRecord);
+      if ((methodRecord._methodIndex >= romClass->romMethodCount) || (methodRecord._entriesSize > (size_t)(end - cursor)))
+         {
+         corrupted = true;
+         break;
+         }
+
+      // RAM methods are in the same order as the ROM methods
+      J9Method *method = &ramClass->ramMethods[methodRecord._methodIndex];
+      J9ROMMethod *romMethod = J9_ROM_METHOD_FROM_RAM_METHOD(method);
+      uintptr_t bytecodeStart = (uintptr_t)J9_BYTECODE_START_FROM_ROM_METHOD(romMethod);
+      uintptr_t bytecodeSize = J9_BYTECODE_SIZE_FROM_ROM_METHOD(romMethod);
+      const uint8_t *entriesEnd = cursor + methodRecord._entriesSize;
+
+      for (uint32_t e = 0; e < methodRecord._numEntries; ++e)
+         {
+         TR_IProfilerProfileFileEntryStorage storage;
+         if ((size_t)(entriesEnd - cursor) < sizeof(TR_IPBCDataStorageHeader))
+            {
+            corrupted = true;
+            break;
+            }
+         memcpy(&storage._header, cursor, sizeof(TR_IPBCDataStorageHeader));
+         size_t size = storageSize(storage._header.ID);
+         if (!size || (alignSize(size) > (size_t)(entriesEnd - cursor)) || (storage._header.pc >= bytecodeSize))
+            {
+            corrupted = true;
+            break;
+            }
+         memcpy(&storage, cursor, size);
+         cursor += alignSize(size);
+
+         const uint8_t *receiverNames = cursor;
+         if (storage._header.ID == TR_IPBCD_CALL_GRAPH)
+            {
+            // Each slot holds the length of a receiver class name. Check every length before
+            // adding it, so that a corrupted length cannot wrap the sum around.
+            size_t remaining = (size_t)(entriesEnd - cursor);
+            size_t namesSize = 0;
+            for (int32_t i = 0; i < NUM_CS_SLOTS && !corrupted; i++)
+               {
+               uintptr_t nameLength = storage._callGraph._csInfo.getClazz(i);
+               if (nameLength > remaining - namesSize)
+                  corrupted = true;
+               else
+                  namesSize += nameLength;
+               }
+            if (corrupted || (alignSize(namesSize) > remaining))
+               {
+               corrupted = true;
+               break;
+               }
+            cursor += alignSize(namesSize);
+            }
+
+         if (seedEntry(&storage._header, receiverNames, bytecodeStart + storage._header.pc, ramClass, vmThread))
+            ++_numEntriesSeeded;
+         else
+            ++_numEntriesSkipped;
+         }
+      cursor = entriesEnd;
+
+      // The method was compiled in the previous run; let it reach its compilation sooner.
+      // Counts are only ever lowered, so that options such as count=0 keep their effect.
+      if ((methodRecord._flags & TR_IProfilerProfileFileMethodRecord::COMPILED) && lowerCounts)
+         {
+         int32_t count = TR::CompilationInfo::getInvocationCount(method);
+         if (count > TR::Options::_iprofilerProfileSeedCount)
+            TR::CompilationInfo::setInvocationCount(method, count, TR::Options::_iprofilerProfileSeedCount);
+         }
+      ++_numMethodsSeeded;
+      }
+
+   ++_numClassesSeeded;
+   if (corrupted && TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+      {
+      const J9UTF8 *name = J9ROMCLASS_CLASSNAME(romClass);
+      TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "ERROR: Profile file: corrupted profile for class %.*s",
+                                     J9UTF8_LENGTH(name), J9UTF8_DATA(name));
+      }
+   }
+
+bool
+TR_IProfilerProfileFile::seedEntry(TR_IPBCDataStorageHeader *storage, const uint8_t *receiverNames, uintptr_t pc,
+                                   J9Class *ramClass, J9VMThread *vmThread)
+   {
+   TR_IPBytecodeHashTableEntry *entry = _iProfiler->findOrCreateEntry(TR_IProfiler::bcHash(pc), pc, true);
+   if (!entry)
+      return false;
+
+   // The entry type is determined by the bytecode, which is the same as in the previous run.
+   // Data this run has already collected (e.g. for a ROMClass shared with a class loaded by
+   // another class loader) is more relevant than the stored data.
+   if ((entryType(entry) != storage->ID) || entry->isInvalid() || hasSamples(entry))
+      return false;
+
+   TR_IPBCDataCallGraph *cgEntry = entry->asIPBCDataCallGraph();
+   if (!cgEntry)
+      {
+      entry->deserialize(storage);
+      return true;
+      }
+
+   // Receiver classes can only be looked up with the VM class table mutex in hand;
+   // classes that are not loaded yet cannot be profiled, so their weight goes to the residue.
+   CallSiteProfileInfo &csInfo = ((TR_IPBCDataCallGraphStorage *)storage)->_csInfo;
+   J9JavaVM *javaVM = vmThread->javaVM;
+   bool canLookUpClasses = j9thread_monitor_owned_by_self(javaVM->classTableMutex) != 0;
+   uint32_t residueWeight = csInfo._residueWeight;
+   for (int32_t i = 0; i < NUM_CS_SLOTS; i++)
+      {
+      size_t nameLength = csInfo.getClazz(i);
+      if (!nameLength)
+         continue;
+      J9Class *receiver = canLookUpClasses ? findLoadedClass(receiverNames, nameLength, ramClass, vmThread) : NULL;
+      receiverNames += nameLength;
+      if (receiver)
+         {
+         csInfo.setClazz(i, (uintptr_t)receiver);
+         }
+      else
+         {
+         residueWeight += csInfo._weight[i];
+         csInfo._weight[i] = 0;
+         csInfo.setClazz(i, 0);
+         ++_numReceiversNotLoaded;
+         }
+      }
+   csInfo._residueWeight = std::min<uint32_t>(residueWeight, IPROFILER_PROFILE_FILE_MAX_RESIDUE_WEIGHT);
+
+   if (!cgEntry->lockEntry())
+      return false;
+   cgEntry->deserialize(storage);
+   cgEntry->releaseEntry();
+   return true;
+   }
+
+J9Class *
+TR_IProfilerProfileFile::findLoadedClass(const uint8_t *name, size_t nameLength, J9Class *ramClass, J9VMThread *vmThread)
+   {
+   // The class being loaded is not in the class table yet
+   const J9UTF8 *ownName = J9ROMCLASS_CLASSNAME(ramClass->romClass);
+   if (J9UTF8_DATA_EQUALS(name, nameLength, J9UTF8_DATA(ownName), J9UTF8_LENGTH(ownName)))
+      return ramClass;
+
+   J9JavaVM *javaVM = vmThread->javaVM;
+   J9ClassLoader *loaders[] = { ramClass->hostClass->classLoader, javaVM->applicationClassLoader, javaVM->systemClassLoader };
+   for (size_t i = 0; i < sizeof(loaders) / sizeof(loaders[0]); ++i)
+      {
+      if (!loaders[i])
+         continue;
+      if (J9Class *clazz = javaVM->internalVMFunctions->hashClassTableAt(loaders[i], (U_8 *)name, nameLength, 0))
+         return clazz;
+      }
+   return NULL;
+   }
+
+void
+TR_IProfilerProfileFile::printStats() const
+   {
+   TR_VerboseLog::CriticalSection vlogLock;
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "Profile file statistics:");
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\tclasses in file: %u", _numClassesInFile);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\tclasses seeded: %u", _numClassesSeeded);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\tclass hash mismatches: %u", _numClassHashMismatches);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\tmethods seeded: %u", _numMethodsSeeded);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\tentries seeded: %u", _numEntriesSeeded);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\tentries skipped: %u", _numEntriesSkipped);
+   TR_VerboseLog::writeLine(TR_Vlog_IPROFILER, "\treceiver classes not loaded: %u", _numReceiversNotLoaded);
+   }
+
+// Walks all the loaded classes. The walk is ended when the object goes out of scope,
+// so it must be declared in the scope of the VM access that prevents class unloading.
+class AllClassesWalk
+   {
+public:
+   AllClassesWalk(J9JavaVM *javaVM) : _javaVM(javaVM)
+      {
+      _clazz = javaVM->internalVMFunctions->allClassesStartDo(&_state, javaVM, NULL);
+      }
+   ~AllClassesWalk() { _javaVM->internalVMFunctions->allClassesEndDo(&_state); }
+
+   J9Class *current() const { return _clazz; }
+   void next() { _clazz = _javaVM->internalVMFunctions->allClassesNextDo(&_state); }
+
+private:
+   J9JavaVM *const _javaVM;
+   J9ClassWalkState _state;
+   J9Class *_clazz;
+   };
+
+// Returns true if the compiled body of a method has data collected by JIT profiling
+static bool
+hasJitProfilingData(J9Method *method)
+   {
+   void *startPC = TR::CompilationInfo::getPCIfCompiled(method);
+   if (!startPC)
+      return false;
+   TR_PersistentMethodInfo *methodInfo = TR::Recompilation::getMethodInfoFromPC(startPC);
+   if (!methodInfo)
+      return false;
+   TR_PersistentProfileInfo *profileInfo = methodInfo->getBestProfileInfo();
+   if (!profileInfo)
+      return false;
+   TR_PersistentProfileInfo::decRefCount(profileInfo);
+   return true;
+   }
+
+// Only one thread at a time can write a profile file
+static volatile uint32_t storeInProgress = 0;
+
+bool
+TR_IProfilerProfileFile::store(J9JITConfig *jitConfig, J9VMThread *vmThread, const char *fileName)
+   {
+   TR_J9VMBase *fej9 = TR_J9VMBase::get(jitConfig, vmThread);
+   TR_IProfiler *iProfiler = fej9->getIProfiler();
+   if (!iProfiler)
+      return false;
+   if (0 != VM_AtomicSupport::lockCompareExchangeU32((uint32_t *)&storeInProgress, 0, 1))
+      {
+      if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Profile file %s not written: another profile file is being written", fileName);
+      return false;
+      }
+
+   J9JavaVM *javaVM = jitConfig->javaVM;
+   PORT_ACCESS_FROM_JAVAVM(javaVM);
+   TR::CompilationInfo *compInfo = TR::CompilationInfo::get(jitConfig);
+   uint64_t startTime = j9time_hires_clock();
+
+   TR::RawAllocator rawAllocator(javaVM);
+   J9::SegmentAllocator segmentAllocator(MEMORY_TYPE_JIT_SCRATCH_SPACE | MEMORY_TYPE_VIRTUAL, *javaVM);
+   J9::SystemSegmentProvider regionSegmentProvider(1 << 20, 1 << 20, TR::Options::getScratchSpaceLimit(), segmentAllocator, rawAllocator);
+   TR::Region region(regionSegmentProvider, rawAllocator);
+
+   TR_IProfilerProfileFileHeader header;
+   getCurrentHeader(header);
+   Vector<uint8_t> records(region);
+   bool success = true;
+   uint32_t numMethods = 0;
+   uint32_t numEntries = 0;
+   uint32_t numMethodsWithJitProfilingData = 0;
+
+   // Collect the records of all the classes in memory, so that VM access is not held while writing the file
+   try
+      {
+      TR::VMAccessCriticalSection storeProfile(fej9); // prevent class unloading
+
+      TR_AggregationHT aggregationHT(TR::Options::_iProfilerBcHashTableSize);
+      if (aggregationHT.getSize() == 0)
+         throw std::bad_alloc();
+      iProfiler->traverseIProfilerTableAndCollectEntries(&aggregationHT, vmThread);
+
+      UnorderedSet<const J9ROMClass *> visitedROMClasses(region);
+      Vector<uint8_t> methodData(region);
+      Vector<uint8_t> entryData(region);
+      for (AllClassesWalk classWalk(javaVM); classWalk.current(); classWalk.next())
+         {
+         J9Class *clazz = classWalk.current();
+         J9ROMClass *romClass = clazz->romClass;
+         if (J9ROMCLASS_IS_PRIMITIVE_OR_ARRAY(romClass) || (J9CLASS_FLAGS(clazz) & J9AccClassHotSwappedOut))
+            continue;
+         // Hidden and anonymous classes (e.g. lambdas) cannot be found by name in the next run
+         if (J9ROMCLASS_IS_ANON_OR_HIDDEN(romClass))
+            continue;
+         // Classes loaded by several class loaders can share the same ROMClass and its profiling data
+         if (!visitedROMClasses.insert(romClass).second)
+            continue;
+
+         methodData.clear();
+         uint32_t numClassMethods = 0;
+         for (uint32_t m = 0; m < romClass->romMethodCount; ++m)
+            {
+            J9Method *method = &clazz->ramMethods[m];
+            J9ROMMethod *romMethod = J9_ROM_METHOD_FROM_RAM_METHOD(method);
+            if (romMethod->modifiers & (J9AccNative | J9AccAbstract))
+               continue;
+
+            entryData.clear();
+            TR_IProfilerProfileFileMethodRecord methodRecord = { m, 0, 0, 0 };
+            if (TR::CompilationInfo::isCompiled(method))
+               {
+               methodRecord._flags |= TR_IProfilerProfileFileMethodRecord::COMPILED;
+               if (hasJitProfilingData(method))
+                  ++numMethodsWithJitProfilingData;
+               }
+            if (TR_AggregationHT::TR_AggregationHTNode *node = aggregationHT.find(romMethod))
+               {
+               uintptr_t bytecodeStart = (uintptr_t)J9_BYTECODE_START_FROM_ROM_METHOD(romMethod);
+               for (TR_AggregationHT::TR_IPChainedEntry *e = node->getFirstIPEntry(); e; e = e->getNext())
+                  {
+                  if (appendEntry(entryData, e->getIPData(), bytecodeStart, compInfo->getPersistentInfo()))
+                     ++methodRecord._numEntries;
+                  }
+               }
+            if (!methodRecord._flags && !methodRecord._numEntries)
+               continue;
+
+            methodRecord._entriesSize = entryData.size();
+            append(methodData, &methodRecord, sizeof(methodRecord));
+            methodData.insert(methodData.end(), entryData.begin(), entryData.end());
+            ++numClassMethods;
+            numEntries += methodRecord._numEntries;
+            }
+         if (!numClassMethods)
+            continue;
+
+         const J9UTF8 *name = J9ROMCLASS_CLASSNAME(romClass);
+         TR_IProfilerProfileFileClassRecord classRecord;
+         memset(&classRecord, 0, sizeof(classRecord));
+         classRecord._hash = classHash(clazz);
+         classRecord._numMethods = numClassMethods;
+         classRecord._nameLength = J9UTF8_LENGTH(name);
+         classRecord._recordSize = sizeof(classRecord) + alignSize(classRecord._nameLength) + methodData.size();
+
+         append(records, &classRecord, sizeof(classRecord));
+         append(records, J9UTF8_DATA(name), classRecord._nameLength);
+         pad(records);
+         records.insert(records.end(), methodData.begin(), methodData.end());
+         ++header._numClasses;
+         numMethods += numClassMethods;
+         }
+      }
+   catch (const std::exception &e)
+      {
+      success = false;
+      if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "ERROR: Failed to collect the profile for file %s: %s", fileName, e.what());
+      }
+   header._recordsSize = records.size();
+
+   // Write to a temporary file and rename it, so that a JVM reading the file never sees a partial profile
+   std::string tempFileName = std::string(fileName) + "." + std::to_string((unsigned long long)j9sysinfo_get_pid()) + ".tmp";
+   FILE *f = success ? fopen(tempFileName.c_str(), "wb") : NULL;
+   if (success && !f)
+      {
+      success = false;
+      if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Failed to create profile file %s: %s", tempFileName.c_str(), strerror(errno));
+      }
+   if (f)
+      {
+      success = (1 == fwrite(&header, sizeof(header), 1, f)) &&
+                (records.empty() || (1 == fwrite(records.data(), records.size(), 1, f))) &&
+                (0 == fflush(f));
+      success = (0 == fclose(f)) && success;
+      success = success && (0 == rename(tempFileName.c_str(), fileName));
+      if (!success)
+         remove(tempFileName.c_str());
+      }
+
+   if (TR::Options::getVerboseOption(TR_VerboseIProfilerPersistence))
+      {
+      uint64_t durationUsec = j9time_hires_delta(startTime, j9time_hires_clock(), J9PORT_TIME_DELTA_IN_MICROSECONDS);
+      if (success)
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Stored profile file %s: %u classes, %u methods, %u entries, %llu bytes in %llu usec",
+                                        fileName, header._numClasses, numMethods, numEntries,
+                                        (unsigned long long)(sizeof(header) + header._recordsSize), (unsigned long long)durationUsec);
+      else
+         TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "ERROR: Failed to store profile file %s", fileName);
+      }
+   // Profile files only hold interpreter profiling data; say how much JIT profiling data was left out
+   if (success && numMethodsWithJitProfilingData &&
+       TR::Options::isAnyVerboseOptionSet(TR_VerboseIProfilerPersistence, TR_VerbosePerformance))
+      TR_VerboseLog::writeLineLocked(TR_Vlog_IPROFILER, "Profile file %s: JIT profiling data of %u compiled methods was not stored",
+                                     fileName, numMethodsWithJitProfilingData);
+
+   VM_AtomicSupport::lockCompareExchangeU32((uint32_t *)&storeInProgress, 1, 0);
+   return success;
+   }
+
+#endif /* !defined(PERSISTENT_COLLECTIONS_UNSUPPORTED) */
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ *******************************************************************************/
+
+#ifndef IPROFILER_PROFILE_FILE_HPP
+#define IPROFILER_PROFILE_FILE_HPP
+
+#include "env/PersistentCollections.hpp"
+#include "env/TRMemory.hpp"
+
+struct J9Class;
+struct J9JITConfig;
+struct J9VMThread;
+class TR_IProfiler;
+struct TR_IPBCDataStorageHeader;
+struct TR_IProfilerProfileFileClassRecord;
+
+#if defined(PERSISTENT_COLLECTIONS_UNSUPPORTED)
+
+class TR_IProfilerProfileFile
+   {
+public:
+   TR_PERSISTENT_ALLOC(TR_Memory::IProfiler)
+
+   TR_IProfilerProfileFile(TR_IProfiler *iProfiler) {}
+
+   bool load(const char *fileName) { return false; }
+   void onClassLoad(J9Class *ramClass, J9VMThread *vmThread) {}
+   void printStats() const {}
+   static bool store(J9JITConfig *jitConfig, J9VMThread *vmThread, const char *fileName) { return false; }
+   };
+
+#else
+
+
+// A profile file holds the interpreter profiling data of a run and the set of methods
+// that were compiled in that run, so that a later run of the same application can
+// start with them instead of learning them again (e.g. a new replica of a container).
+//
+// Profiles are grouped by class, and each class is identified by its name and by a hash
+// of its methods (names, signatures and bytecodes), which is the same in every JVM that
+// loads the same class file. The data of a class is only used if the class loaded by the
+// later run has the same hash, so bytecode indices and method indices in the file are valid.
+//
+// The file is written at shutdown or by a diagnostic command. It is read at startup,
+// and the profile of each class is applied in the class load hook: the IProfiler entries
+// for its bytecodes are created with the stored data, and the invocation count of the
+// methods that were compiled is lowered.
+//
+// Only interpreter profiling data is stored. The data collected by profiling compiled
+// bodies (JProfiling and value profiling) belongs to the bodies and is not stored; the
+// number of methods whose such data is left out is reported when a file is written.
+class TR_IProfilerProfileFile
+   {
+public:
+   TR_PERSISTENT_ALLOC(TR_Memory::IProfiler)
+
+   TR_IProfilerProfileFile(TR_IProfiler *iProfiler);
+   ~TR_IProfilerProfileFile();
+
+   // Reads a profile file. Returns false if the file cannot be read or was written by an
+   // incompatible JVM, in which case no profile will be applied.
+   bool load(const char *fileName);
+
+   // Applies the stored profile of a class that is being loaded, if there is one.
+   // Must be called with the class table mutex in hand.
+   void onClassLoad(J9Class *ramClass, J9VMThread *vmThread);
+
+   void printStats() const;
+
+   // Writes the profile of all the loaded classes to a file; the file is replaced atomically.
+   // The profile is collected with VM access, which is released before the file is written.
+   // The thread must not hold VM access. Returns true on success.
+   static bool store(J9JITConfig *jitConfig, J9VMThread *vmThread, const char *fileName);
+
+private:
+   typedef std::unordered_multimap<StringKey, const TR_IProfilerProfileFileClassRecord *, std::hash<StringKey>, std::equal_to<StringKey>,
+                                   PersistentUnorderedMapAllocator<StringKey, const TR_IProfilerProfileFileClassRecord *>> ClassRecordMap;
+
+   void applyClassRecord(const TR_IProfilerProfileFileClassRecord *record, J9Class *ramClass, J9VMThread *vmThread);
+   bool seedEntry(TR_IPBCDataStorageHeader *storage, const uint8_t *receiverNames, uintptr_t pc,
+                  J9Class *ramClass, J9VMThread *vmThread);
+   J9Class *findLoadedClass(const uint8_t *name, size_t nameLength, J9Class *ramClass, J9VMThread *vmThread);
+
+   TR_IProfiler *const _iProfiler;
+   uint8_t *_buffer; // contents of the file
+   ClassRecordMap _classRecords; // keyed by class name; points into _buffer
+
+   // Statistics; updated with the class table mutex in hand
+   uint32_t _numClassesInFile;
+   uint32_t _numClassesSeeded;
+   uint32_t _numClassHashMismatches;
+   uint32_t _numMethodsSeeded;
+   uint32_t _numEntriesSeeded;
+   uint32_t _numEntriesSkipped;
+   uint32_t _numReceiversNotLoaded;
+   };
+
+#endif /* defined(PERSISTENT_COLLECTIONS_UNSUPPORTED) */
+#endif /* IPROFILER_PROFILE_FILE_HPP */
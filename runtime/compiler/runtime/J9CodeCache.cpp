@@ -171,6 +171,8 @@ J9::CodeCache::initialize(TR::CodeCacheManager *manager,
       }
 
    self()->setInitialAllocationPointers();
+   _reclaimedBytes = 0;
+   _numReclaimedBlocks = 0;
 
 #ifdef LINUX
    if (manager->isDisclaimEnabled())
@@ -454,6 +456,8 @@ J9::CodeCache::addFreeBlock(OMR::FaintCacheBlock *block)
       omrthread_jit_write_protect_disable();
       warmBlock->_size = realStartPC - (UDATA)warmBlock;
       omrthread_jit_write_protect_enable();
+      _reclaimedBytes += endPtr - realStartPC;
+      _numReclaimedBlocks++;
       }
    else
       {
@@ -476,8 +480,12 @@ J9::CodeCache::addFreeBlock(OMR::FaintCacheBlock *block)
       {
       // startPC of the cold code is preceded by OMR::CodeCacheMethodHeader
       OMR::CodeCacheMethodHeader *coldBlock = (OMR::CodeCacheMethodHeader*)(metaData->startColdPC-sizeof(OMR::CodeCacheMethodHeader));
-      if (self()->addFreeBlock2((uint8_t *)coldBlock, (uint8_t *)coldBlock+coldBlock->_size))
-         {}
+      size_t coldBlockSize = coldBlock->_size;
+      if (self()->addFreeBlock2((uint8_t *)coldBlock, (uint8_t *)coldBlock+coldBlockSize))
+         {
+         _reclaimedBytes += coldBlockSize;
+         _numReclaimedBlocks++;
+         }
       }
       // Update the metaData fields accordingly
       metaData->endWarmPC = metaData->endPC;
@@ -571,15 +579,24 @@ J9::CodeCache::addFreeBlock(void  *voidMetaData)
          }
       }
 
-   if (self()->addFreeBlock2((uint8_t *)warmBlock, (uint8_t *)((UDATA)warmBlock+warmBlock->_size)))
-      {}
+   // The block header is overwritten by the free block, so remember the size
+   size_t warmBlockSize = warmBlock->_size;
+   if (self()->addFreeBlock2((uint8_t *)warmBlock, (uint8_t *)((UDATA)warmBlock+warmBlockSize)))
+      {
+      _reclaimedBytes += warmBlockSize;
+      _numReclaimedBlocks++;
+      }
 
    if (metaData->startColdPC)
       {
       // startPC of the cold code is preceded by OMR::CodeCacheMethodHeader
       OMR::CodeCacheMethodHeader *coldBlock = (OMR::CodeCacheMethodHeader*)((UDATA)metaData->startColdPC-sizeof(OMR::CodeCacheMethodHeader));
-      if (self()->addFreeBlock2((uint8_t *)coldBlock, (uint8_t *)coldBlock+coldBlock->_size))
-         {}
+      size_t coldBlockSize = coldBlock->_size;
+      if (self()->addFreeBlock2((uint8_t *)coldBlock, (uint8_t *)coldBlock+coldBlockSize))
+         {
+         _reclaimedBytes += coldBlockSize;
+         _numReclaimedBlocks++;
+         }
       }
 
    return warmBlock;
@@ -836,6 +853,24 @@ J9::CodeCache::resetCodeCache()
    }
 
 
+void
+J9::CodeCache::addFragmentationStats(CodeCacheFragmentationStats &stats)
+   {
+   CacheCriticalSection walkFreeBlocks(self());
+
+   stats._contiguousFreeBytes += self()->getFreeContiguousSpace();
+   for (OMR::CodeCacheFreeCacheBlock *block = _freeBlockList; block; block = block->_next)
+      {
+      stats._freeBlockBytes += block->_size;
+      stats._numFreeBlocks++;
+      if (block->_size > stats._largestFreeBlock)
+         stats._largestFreeBlock = block->_size;
+      }
+   stats._reclaimedBytes += _reclaimedBytes;
+   stats._numReclaimedBlocks += _numReclaimedBlocks;
+   }
+
+
 extern "C"
    {
 
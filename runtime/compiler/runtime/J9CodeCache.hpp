@@ -46,6 +46,21 @@ namespace TR { class CodeCacheManager; }
 namespace J9
 {
 
+/**
+ * @brief Free space of one or more code caches. Space freed by code cache reclamation
+ *        can only be reused by bodies that fit in one free block, so a large amount of
+ *        free block bytes with a small largest free block indicates fragmentation.
+ */
+struct CodeCacheFragmentationStats
+   {
+   size_t _contiguousFreeBytes; // between the warm and cold allocation pointers
+   size_t _freeBlockBytes;      // in the free block list
+   size_t _largestFreeBlock;
+   uint32_t _numFreeBlocks;
+   size_t _reclaimedBytes;      // freed by code cache reclamation since the caches were created
+   uint32_t _numReclaimedBlocks;
+   };
+
 class OMR_EXTENSIBLE CodeCache : public OMR::CodeCacheConnector
    {
    TR::CodeCache *self();
@@ -107,6 +122,12 @@ public:
 
    int32_t disclaim(TR::CodeCacheManager *manager, bool canDisclaimOnSwap);
 
+   /**
+    * @brief Add the free space of this code cache to the given statistics. Acquires the
+    *        code cache mutex, but does not need VM access.
+    */
+   void addFragmentationStats(CodeCacheFragmentationStats &stats);
+
    private:
    /**
     * @brief Restore trampoline pointers to their initial positions
@@ -123,6 +144,8 @@ public:
 
    uint8_t *_warmCodeAllocBase; // used to reset the allocation pointers to initial values
    uint8_t *_coldCodeAllocBase;
+   size_t _reclaimedBytes; // total size of the blocks added to the free block list
+   uint32_t _numReclaimedBlocks;
 #ifdef LINUX
    uint8_t *_smallPageAreaStart; // used for code cache disclaiming to remember where the small page area starts/ends
    uint8_t *_smallPageAreaEnd;
@@ -37,10 +37,12 @@
 #include "control/CompilationRuntime.hpp"
 #include "control/Recompilation.hpp"
 #include "control/RecompilationInfo.hpp"
+#include "compile/Compilation.hpp"
 #include "env/FrontEnd.hpp"
 #include "env/IO.hpp"
 #include "env/VerboseLog.hpp"
 #include "env/VMJ9.h"
+#include "env/j9method.h"
 #include "env/ut_j9jit.h"
 #include "infra/CriticalSection.hpp"
 #include "infra/Monitor.hpp"
@@ -198,7 +200,47 @@ void
 J9::CodeCacheManager::setCodeCacheFull()
    {
    self()->OMR::CodeCacheManager::setCodeCacheFull();
-   _jitConfig->runtimeFlags |= J9JIT_CODE_CACHE_FULL;
+   if (!(_jitConfig->runtimeFlags & J9JIT_CODE_CACHE_FULL))
+      {
+      _jitConfig->runtimeFlags |= J9JIT_CODE_CACHE_FULL;
+      self()->reportCodeCacheFull();
+      }
+   }
+
+
+// Trigger J9HOOK_VM_JIT_CODE_CACHE_FULL (used by JFR). The code cache monitors may be
+// held and the current thread may not have VM access, so the hook handlers must not
+// acquire it.
+void
+J9::CodeCacheManager::reportCodeCacheFull()
+   {
+   J9JavaVM *javaVM = _jitConfig->javaVM;
+   if (!J9_EVENT_IS_HOOKED(javaVM->hookInterface, J9HOOK_VM_JIT_CODE_CACHE_FULL))
+      return;
+
+   uintptr_t startAddress = UINTPTR_MAX;
+   uintptr_t committedTopAddress = 0;
+      {
+      CacheListCriticalSection scanCacheList(self());
+      for (TR::CodeCache *codeCache = self()->getFirstCodeCache(); codeCache; codeCache = codeCache->next())
+         {
+         startAddress = std::min(startAddress, reinterpret_cast<uintptr_t>(codeCache->getCodeBase()));
+         committedTopAddress = std::max(committedTopAddress, reinterpret_cast<uintptr_t>(codeCache->getCodeTop()));
+         }
+      }
+   if (UINTPTR_MAX == startAddress)
+      startAddress = 0;
+
+   size_t totalBytes = ((size_t)_jitConfig->codeCacheTotalKB) << 10;
+   size_t usedBytes = self()->getCurrTotalUsedInBytes();
+
+   TRIGGER_J9HOOK_VM_JIT_CODE_CACHE_FULL(
+      javaVM->hookInterface,
+      javaVM->internalVMFunctions->currentVMThread(javaVM),
+      startAddress,
+      committedTopAddress,
+      startAddress + totalBytes,
+      (usedBytes < totalBytes) ? (totalBytes - usedBytes) : 0);
    }
 
 
@@ -253,6 +295,33 @@ J9::CodeCacheManager::onClassUnloading(J9ClassLoader *loaderPtr)
       }
    }
 
+bool
+J9::CodeCacheManager::isHotCodeCacheCandidate(TR::Compilation *comp)
+   {
+   if (!comp)
+      return false;
+
+#if defined(J9VM_OPT_JITSERVER)
+   // The code cache of a JITServer only holds a body until it is sent to the client
+   if (comp->isOutOfProcessCompilation())
+      return false;
+#endif /* defined(J9VM_OPT_JITSERVER) */
+
+   if (comp->getMethodHotness() >= hot)
+      return true;
+
+   // Warm bodies of methods called from many hot call sites are executed as often as
+   // the hot bodies that call them
+   if (comp->getMethodHotness() < warm || TR::Options::_hotCodeCacheFanInWeight <= 0)
+      return false;
+
+   uint32_t numCallers = 0;
+   uint32_t totalWeight = 0;
+   static_cast<TR_ResolvedJ9Method *>(comp->getCurrentMethod())->getFaninInfo(&numCallers, &totalWeight);
+   return totalWeight >= (uint32_t)TR::Options::_hotCodeCacheFanInWeight;
+   }
+
+
 TR::CodeCache*
 J9::CodeCacheManager::reserveCodeCache(bool compilationCodeAllocationsMustBeContiguous,
                                       size_t sizeEstimate,
@@ -269,11 +338,74 @@ J9::CodeCacheManager::reserveCodeCache(bool compilationCodeAllocationsMustBeCont
    if (codeCache == NULL)
       {
       J9JITConfig *jitConfig = self()->fej9()->getJ9JITConfig();
-      jitConfig->runtimeFlags |= J9JIT_CODE_CACHE_FULL;
+      if (!(jitConfig->runtimeFlags & J9JIT_CODE_CACHE_FULL))
+         {
+         jitConfig->runtimeFlags |= J9JIT_CODE_CACHE_FULL;
+         self()->reportCodeCacheFull();
+         }
+      }
+   else if (TR::Options::_enableHotCodeCache &&
+            kind == TR::CodeCacheKind::DEFAULT_CC &&
+            self()->isHotCodeCacheCandidate(TR::comp()))
+      {
+      // Place hot bodies in the hot code cache, as long as it is not being used by another
+      // compilation thread and has room. The code cache reserved above is swapped for it,
+      // so that the bookkeeping of the reservation is the same for every code cache.
+      // Only the code cache is chosen here; cold blocks of the body still go to the cold
+      // end of that code cache.
+      CacheListCriticalSection scanCacheList(self());
+      if (!_hotCodeCache || _hotCodeCache->almostFull() == TR_yes)
+         self()->replaceHotCodeCache(codeCache);
+      else if (_hotCodeCache != codeCache && !_hotCodeCache->isReserved())
+         {
+         codeCache->unreserve();
+         _hotCodeCache->reserve(compThreadID);
+         codeCache = _hotCodeCache;
+         }
       }
    return codeCache;
    }
 
+uint8_t *
+J9::CodeCacheManager::allocateCodeMemory(size_t warmCodeSize,
+                                        size_t coldCodeSize,
+                                        TR::CodeCache **codeCache_pp,
+                                        uint8_t **coldCode,
+                                        bool needsToBeContiguous,
+                                        bool isMethodHeaderNeeded)
+   {
+   TR::CodeCache *requestedCodeCache = *codeCache_pp;
+   uint8_t *warmCode = self()->OMR::CodeCacheManager::allocateCodeMemory(warmCodeSize,
+                                                                       coldCodeSize,
+                                                                       codeCache_pp,
+                                                                       coldCode,
+                                                                       needsToBeContiguous,
+                                                                       isMethodHeaderNeeded);
+
+   // The body did not fit in the hot code cache and was placed in another code cache,
+   // which takes over as the hot code cache
+   if (TR::Options::_enableHotCodeCache && *codeCache_pp && *codeCache_pp != requestedCodeCache)
+      {
+      CacheListCriticalSection scanCacheList(self());
+      if (requestedCodeCache && requestedCodeCache == _hotCodeCache)
+         self()->replaceHotCodeCache(*codeCache_pp);
+      }
+   return warmCode;
+   }
+
+void
+J9::CodeCacheManager::replaceHotCodeCache(TR::CodeCache *codeCache)
+   {
+   if (self()->codeCacheConfig().verbosePerformance())
+      {
+      if (_hotCodeCache)
+         TR_VerboseLog::writeLineLocked(TR_Vlog_CODECACHE, "CC=%p replaces the full hot code cache CC=%p", codeCache, _hotCodeCache);
+      else
+         TR_VerboseLog::writeLineLocked(TR_Vlog_CODECACHE, "CC=%p is now the hot code cache", codeCache);
+      }
+   _hotCodeCache = codeCache;
+   }
+
 void
 J9::CodeCacheManager::reportCodeLoadEvents()
    {
@@ -818,6 +950,42 @@ J9::CodeCacheManager::printOccupancyStats()
    }
 
 
+void
+J9::CodeCacheManager::getFragmentationStats(J9::CodeCacheFragmentationStats &stats)
+   {
+   memset(&stats, 0, sizeof(stats));
+
+   // Code caches are not removed from the list until shutdown, so the list mutex
+   // is only needed to read the links and is not held while a code cache is locked.
+   TR::CodeCache *codeCache;
+      {
+      CacheListCriticalSection scanCacheList(self());
+      codeCache = self()->getFirstCodeCache();
+      }
+   while (codeCache)
+      {
+      codeCache->addFragmentationStats(stats);
+      CacheListCriticalSection scanCacheList(self());
+      codeCache = codeCache->next();
+      }
+   }
+
+
+void
+J9::CodeCacheManager::reportFragmentationStats()
+   {
+   J9::CodeCacheFragmentationStats stats;
+   self()->getFragmentationStats(stats);
+
+   // Share of the free space that is split into free blocks instead of being contiguous
+   size_t freeBytes = stats._freeBlockBytes + stats._contiguousFreeBytes;
+   double fragmentation = freeBytes ? stats._freeBlockBytes * 100.0 / freeBytes : 0.0;
+   TR_VerboseLog::writeLineLocked(TR_Vlog_CODECACHE, "Fragmentation: contiguousFree=%zuB freeBlocks=%u freeBlockBytes=%zuB largestFreeBlock=%zuB fragmentation=%5.2f%% reclaimedBlocks=%u reclaimedBytes=%zuB",
+                                  stats._contiguousFreeBytes, stats._numFreeBlocks, stats._freeBlockBytes, stats._largestFreeBlock,
+                                  fragmentation, stats._numReclaimedBlocks, stats._reclaimedBytes);
+   }
+
+
 int32_t
 J9::CodeCacheManager::disclaimAllCodeCaches()
    {
@@ -43,6 +43,8 @@ struct J9ClassLoader;
 
 namespace TR { class CodeCacheMemorySegment; }
 namespace TR { class CodeCache; }
+namespace TR { class Compilation; }
+namespace J9 { struct CodeCacheFragmentationStats; }
 
 namespace J9 {
 
@@ -53,7 +55,8 @@ class OMR_EXTENSIBLE CodeCacheManager : public OMR::CodeCacheManagerConnector
 public:
    CodeCacheManager(TR_FrontEnd *fe, TR::RawAllocator rawAllocator) :
       OMR::CodeCacheManagerConnector(rawAllocator),
-      _fe(fe)
+      _fe(fe),
+      _hotCodeCache(NULL)
       {
       _codeCacheManager = reinterpret_cast<TR::CodeCacheManager *>(this);
       _disclaimEnabled = TR::Options::getCmdLineOptions()->getOption(TR_EnableCodeCacheDisclaiming);
@@ -93,6 +96,25 @@ public:
                                     int32_t *numReserved,
                                     TR::CodeCacheKind kind);
 
+   /**
+    * @brief Allocate code memory in the given code cache, or in another code cache if it
+    *        has no room. With enableHotCodeCache, a hot code cache without room for the
+    *        body is replaced by the code cache the body is placed in.
+    */
+   uint8_t *allocateCodeMemory(size_t warmCodeSize,
+                               size_t coldCodeSize,
+                               TR::CodeCache **codeCache_pp,
+                               uint8_t **coldCode,
+                               bool needsToBeContiguous,
+                               bool isMethodHeaderNeeded = true);
+
+   /**
+    * @brief Answers whether the body produced by a compilation belongs in the hot code
+    *        cache: bodies compiled at hot or above, and warm bodies of methods whose
+    *        callers have a total IProfiler weight of at least hotCodeCacheFanInWeight.
+    */
+   bool isHotCodeCacheCandidate(TR::Compilation *comp);
+
    TR::CodeCacheMemorySegment *setupMemorySegmentFromRepository(uint8_t *start,
                                                                 uint8_t *end,
                                                                 size_t & codeCacheSizeToAllocate);
@@ -104,6 +126,7 @@ public:
    static const uintptr_t MAX_DISTANCE_NEAR_JITLIBRARY_TO_AVOID_TRAMPOLINE = 0x80000000 - 64 * 1024 * 1024; // 2GB - 64MB
 
    void setCodeCacheFull();
+   void reportCodeCacheFull();
 
    void onFSDDecompile();
    void onClassRedefinition(TR_OpaqueMethodBlock *oldMethod, TR_OpaqueMethodBlock *newMethod);
@@ -154,6 +177,22 @@ public:
     * @brief Print occupancy stats for each code cache
     */
    void printOccupancyStats();
+
+   /**
+    * @brief Collect the free space and reclamation statistics of all code caches.
+    *        Only one code cache is locked at a time, so this can run on the
+    *        sampling thread, or for CodeCacheMXBean, without blocking compilations or reclamation.
+    *        Reclamation itself is not done here: bodies are still returned to the
+    *        free blocks at the end of a GC cycle, once jitReleaseCodeStackWalk has
+    *        found them unused, and live bodies are never moved to compact the caches.
+    */
+   void getFragmentationStats(J9::CodeCacheFragmentationStats &stats);
+
+   /**
+    * @brief Write the code cache fragmentation statistics to the verbose log
+    */
+   void reportFragmentationStats();
+
    bool isDisclaimEnabled() const { return _disclaimEnabled; }
    void setDisclaimEnabled(bool value)  { _disclaimEnabled = value; }
    int32_t disclaimAllCodeCaches();
@@ -163,7 +202,15 @@ private :
    static TR::CodeCacheManager *_codeCacheManager;
    static J9JITConfig *_jitConfig;
    static J9JavaVM *_javaVM;
+   /**
+    * @brief Make the given code cache the hot code cache. Must hold the code cache list mutex.
+    */
+   void replaceHotCodeCache(TR::CodeCache *codeCache);
+
    bool  _disclaimEnabled; // If true, code cache can be disclaimed to a file or swap
+   // With enableHotCodeCache, the code cache that hot bodies are placed in, so that they
+   // end up next to each other instead of between the other bodies compiled at the same time
+   TR::CodeCache *_hotCodeCache;
    };
 
 } // namespace J9
@@ -22,7 +22,13 @@
 
 #include <string.h>
 #include <string>
+#include <algorithm>
 #include <cstdio> // for rename()
+#include <fcntl.h>
+#include <sys/file.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
 #include "control/CompilationRuntime.hpp"
 #include "env/J9SegmentProvider.hpp"
 #include "env/StackMemoryRegion.hpp"
@@ -37,6 +43,9 @@ struct JITServerAOTCacheReadContext
    {
    JITServerAOTCacheReadContext(const JITServerAOTCacheHeader &header, TR::StackMemoryRegion &stackMemoryRegion);
 
+   // Make room for the records of a later snapshot segment, which can refer to the records of earlier segments
+   void resize(const JITServerAOTCacheHeader &header);
+
    Vector<AOTCacheClassLoaderRecord *> _classLoaderRecords;
    Vector<AOTCacheClassRecord *> _classRecords;
    Vector<AOTCacheMethodRecord *> _methodRecords;
@@ -46,6 +55,31 @@ struct JITServerAOTCacheReadContext
    Vector<AOTCacheThunkRecord *> _thunkRecords;
    };
 
+// Cursor over a memory-mapped cache snapshot
+struct JITServerAOTCacheInput
+   {
+   JITServerAOTCacheInput(const uint8_t *start, size_t size) : _start(start), _cur(start), _end(start + size) {}
+
+   bool read(void *dst, size_t size)
+      {
+      if (size > remaining())
+         return false;
+      memcpy(dst, _cur, size);
+      _cur += size;
+      return true;
+      }
+
+   size_t remaining() const { return _end - _cur; }
+   size_t position() const { return _cur - _start; }
+
+   const uint8_t *_start;
+   const uint8_t *_cur;
+   const uint8_t *_end;
+   };
+
+// A snapshot file holding this many segments is rewritten as a single segment by the next save
+static const size_t JITSERVER_AOTCACHE_MAX_SEGMENTS = 16;
+
 size_t JITServerAOTCacheMap::_cacheMaxBytes = 300 * 1024 * 1024;
 bool JITServerAOTCacheMap::_cacheIsFull = false;
 
@@ -67,10 +101,10 @@ AOTCacheRecord::free(void *ptr)
 
 // Read a single AOT cache record R from a cache file
 template<class R> R *
-AOTCacheRecord::readRecord(FILE *f, const JITServerAOTCacheReadContext &context)
+AOTCacheRecord::readRecord(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context)
    {
    typename R::SerializationRecord header;
-   if (1 != fread(&header, sizeof(header), 1, f))
+   if (!in.read(&header, sizeof(header)))
       {
       if (TR::Options::getVerboseOption(TR_VerboseJITServer))
          TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Could not read %s record header", R::getRecordName());
@@ -90,7 +124,7 @@ AOTCacheRecord::readRecord(FILE *f, const JITServerAOTCacheReadContext &context)
    size_t variableDataBytes = record->dataAddr()->size() - sizeof(header);
    if (0 != variableDataBytes)
       {
-      if (1 != fread((uint8_t *)record->dataAddr() + sizeof(header), variableDataBytes, 1, f))
+      if (!in.read((uint8_t *)record->dataAddr() + sizeof(header), variableDataBytes))
          {
          if (TR::Options::getVerboseOption(TR_VerboseJITServer))
             TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Unable to read variable part of %s record", R::getRecordName());
@@ -773,6 +807,11 @@ JITServerAOTCache::JITServerAOTCache(const std::string &name, J9JavaVM *javaVM)
    _minNumAOTMethodsToSave(TR::Options::_aotCachePersistenceMinDeltaMethods),
    _saveOperationInProgress(false), // protected by the _cachedMethodMonitor
    _excludedFromSavingToFile(false),
+   _persistedFileDevice(0),
+   _persistedFileInode(0),
+   _persistedFileSize(0),
+   _numPersistedSegments(0),
+   _persistedTotals(),
    _numCacheBypasses(0), _numCacheHits(0), _numCacheMisses(0),
    _numDeserializedMethods(0), _numDeserializationFailures(0), _numGeneratedClasses(0)
    {
@@ -818,6 +857,25 @@ JITServerAOTCacheReadContext::JITServerAOTCacheReadContext(const JITServerAOTCac
    {
    }
 
+template<typename V> static void
+growRecordVector(Vector<V *> &records, size_t size)
+   {
+   if (records.size() < size)
+      records.resize(size, NULL);
+   }
+
+void
+JITServerAOTCacheReadContext::resize(const JITServerAOTCacheHeader &header)
+   {
+   growRecordVector(_classLoaderRecords, header._nextClassLoaderId);
+   growRecordVector(_classRecords, header._nextClassId);
+   growRecordVector(_methodRecords, header._nextMethodId);
+   growRecordVector(_classChainRecords, header._nextClassChainId);
+   growRecordVector(_wellKnownClassesRecords, header._nextWellKnownClassesId);
+   growRecordVector(_aotHeaderRecords, header._nextAOTHeaderId);
+   growRecordVector(_thunkRecords, header._nextThunkId);
+   }
+
 const AOTCacheClassLoaderRecord *
 JITServerAOTCache::getClassLoaderRecord(const uint8_t *name, size_t nameLength)
    {
@@ -1279,37 +1337,51 @@ JITServerAOTCache::printStats(FILE *f) const
    }
 
 
-// Write at most numRecordsToWrite to the given stream from the linked list starting at head.
-static bool
-writeRecordList(FILE *f, const AOTCacheRecord *head, size_t numRecordsToWrite)
+// Skip the first numRecordsToSkip records of the linked list starting at head.
+template<typename R> static const R *
+skipRecords(const R *head, size_t numRecordsToSkip)
    {
-   const AOTCacheRecord *current = head;
-   size_t recordsWritten = 0;
-   while (current && (recordsWritten < numRecordsToWrite))
+   const R *current = head;
+   for (size_t i = 0; current && (i < numRecordsToSkip); ++i)
+      current = current->getNextRecord();
+   return current;
+   }
+
+static const AOTSerializationRecord *
+serializedData(const AOTCacheRecord *record)
+   {
+   return record->dataAddr();
+   }
+
+static const SerializedAOTMethod *
+serializedData(const CachedAOTMethod *record)
+   {
+   return &record->data();
+   }
+
+// Compute the number of bytes that writeRecordList() writes for the given records.
+template<typename R> static size_t
+recordListSize(const R *head, size_t numRecordsToWrite)
+   {
+   const R *current = head;
+   size_t size = 0;
+   for (size_t i = 0; current && (i < numRecordsToWrite); ++i)
       {
-      const AOTSerializationRecord *record = current->dataAddr();
-      if (1 != fwrite(record, record->size(), 1, f))
-         {
-         if (TR::Options::getVerboseOption(TR_VerboseJITServer))
-            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Unable to write record to cache file");
-         return false;
-         }
-      ++recordsWritten;
+      size += serializedData(current)->size();
       current = current->getNextRecord();
       }
-   TR_ASSERT(recordsWritten == numRecordsToWrite, "Expected to write %zu records, wrote %zu", numRecordsToWrite, recordsWritten);
-
-   return true;
+   return size;
    }
 
-static bool
-writeCachedMethodList(FILE *f, const CachedAOTMethod *head, size_t numRecordsToWrite)
+// Write at most numRecordsToWrite to the given stream from the linked list starting at head.
+template<typename R> static bool
+writeRecordList(FILE *f, const R *head, size_t numRecordsToWrite)
    {
-   const CachedAOTMethod *current = head;
+   const R *current = head;
    size_t recordsWritten = 0;
    while (current && (recordsWritten < numRecordsToWrite))
       {
-      const SerializedAOTMethod *record = &current->data();
+      auto record = serializedData(current);
       if (1 != fwrite(record, record->size(), 1, f))
          {
          if (TR::Options::getVerboseOption(TR_VerboseJITServer))
@@ -1331,20 +1403,9 @@ static void getCurrentAOTCacheVersion(JITServerAOTCacheVersion &version)
    version._jitserverVersion = JITServer::CommunicationStream::getJITServerFullVersion();
    }
 
-// Write a full AOT cache snapshot to a stream. After the header information, the
-// AOTSerializationRecord or SerializedAOTMethod data (depending on record type) in each
-// record traversal is written directly to the stream in sections, since the full AOT record
-// can be reconstructed from only this information. These sections are ordered so that, when
-// reading the snapshot, the dependencies of each record will already have been read by the
-// time we get to that record.
-// Return the number of AOT methods written to the snapshot or 0 on failure.
-size_t
-JITServerAOTCache::writeCache(FILE *f) const
+void
+JITServerAOTCache::getRecordCounts(JITServerAOTCacheHeader &header) const
    {
-   JITServerAOTCacheHeader header = {0};
-   getCurrentAOTCacheVersion(header._version);
-   header._serverUID = TR::CompilationInfo::get()->getPersistentInfo()->getServerUID();
-
    // It is possible for a record and its dependencies to be added between .size() calls,
    // so we must reverse the order in which we read the map sizes (compared to their write order)
    // to ensure that those dependencies are not excluded from serialization.
@@ -1352,11 +1413,6 @@ JITServerAOTCache::writeCache(FILE *f) const
       OMR::CriticalSection cs(_cachedMethodMonitor);
       header._numCachedAOTMethods = _cachedMethodMap.size();
       }
-   if (header._numCachedAOTMethods == 0)
-      {
-      TR_ASSERT_FATAL(false, "Expected to write at least one method to the AOT cache file");
-      return 0;
-      }
       {
       OMR::CriticalSection cs(_thunkMonitor);
       header._numThunkRecords = _thunkMap.size();
@@ -1392,32 +1448,77 @@ JITServerAOTCache::writeCache(FILE *f) const
       header._numClassLoaderRecords = _classLoaderMap.size();
       header._nextClassLoaderId = _nextClassLoaderId;
       }
+   }
+
+// Write an AOT cache snapshot segment to a stream. After the header information, the
+// AOTSerializationRecord or SerializedAOTMethod data (depending on record type) in each
+// record traversal is written directly to the stream in sections, since the full AOT record
+// can be reconstructed from only this information. These sections are ordered so that, when
+// reading the snapshot, the dependencies of each record will already have been read by the
+// time we get to that record (possibly in an earlier segment). The records already persisted
+// are at the start of each traversal, since the traversals are in creation order.
+bool
+JITServerAOTCache::writeCache(FILE *f, const JITServerAOTCacheHeader *persisted, JITServerAOTCacheHeader &totals) const
+   {
+   JITServerAOTCacheHeader header = {0};
+   getCurrentAOTCacheVersion(header._version);
+   header._serverUID = TR::CompilationInfo::get()->getPersistentInfo()->getServerUID();
+
+   getRecordCounts(header);
+   if (!persisted && (header._numCachedAOTMethods == 0))
+      {
+      TR_ASSERT_FATAL(false, "Expected to write at least one method to the AOT cache file");
+      return false;
+      }
+
+   totals = header;
+   if (persisted)
+      {
+      header._numClassLoaderRecords -= persisted->_numClassLoaderRecords;
+      header._numClassRecords -= persisted->_numClassRecords;
+      header._numMethodRecords -= persisted->_numMethodRecords;
+      header._numClassChainRecords -= persisted->_numClassChainRecords;
+      header._numWellKnownClassesRecords -= persisted->_numWellKnownClassesRecords;
+      header._numAOTHeaderRecords -= persisted->_numAOTHeaderRecords;
+      header._numThunkRecords -= persisted->_numThunkRecords;
+      header._numCachedAOTMethods -= persisted->_numCachedAOTMethods;
+      }
+
+   // The records of the segment follow the persisted ones in each traversal
+   const AOTCacheRecord *classLoaderStart = skipRecords<AOTCacheRecord>(_classLoaderHead, persisted ? persisted->_numClassLoaderRecords : 0);
+   const AOTCacheRecord *classStart = skipRecords<AOTCacheRecord>(_classHead, persisted ? persisted->_numClassRecords : 0);
+   const AOTCacheRecord *methodStart = skipRecords<AOTCacheRecord>(_methodHead, persisted ? persisted->_numMethodRecords : 0);
+   const AOTCacheRecord *classChainStart = skipRecords<AOTCacheRecord>(_classChainHead, persisted ? persisted->_numClassChainRecords : 0);
+   const AOTCacheRecord *wellKnownClassesStart = skipRecords<AOTCacheRecord>(_wellKnownClassesHead, persisted ? persisted->_numWellKnownClassesRecords : 0);
+   const AOTCacheRecord *aotHeaderStart = skipRecords<AOTCacheRecord>(_aotHeaderHead, persisted ? persisted->_numAOTHeaderRecords : 0);
+   const AOTCacheRecord *thunkStart = skipRecords<AOTCacheRecord>(_thunkHead, persisted ? persisted->_numThunkRecords : 0);
+   const CachedAOTMethod *cachedMethodStart = skipRecords(_cachedMethodHead, persisted ? persisted->_numCachedAOTMethods : 0);
+
+   header._segmentSize = sizeof(JITServerAOTCacheHeader) +
+                         recordListSize(classLoaderStart, header._numClassLoaderRecords) +
+                         recordListSize(classStart, header._numClassRecords) +
+                         recordListSize(methodStart, header._numMethodRecords) +
+                         recordListSize(classChainStart, header._numClassChainRecords) +
+                         recordListSize(wellKnownClassesStart, header._numWellKnownClassesRecords) +
+                         recordListSize(aotHeaderStart, header._numAOTHeaderRecords) +
+                         recordListSize(thunkStart, header._numThunkRecords) +
+                         recordListSize(cachedMethodStart, header._numCachedAOTMethods);
 
    if (1 != fwrite(&header, sizeof(JITServerAOTCacheHeader), 1, f))
       {
       if (TR::Options::getVerboseOption(TR_VerboseJITServer))
          TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Unable to write cache file header");
-      return 0;
+      return false;
       }
 
-   if (!writeRecordList(f, _classLoaderHead, header._numClassLoaderRecords))
-      return 0;
-   if (!writeRecordList(f, _classHead, header._numClassRecords))
-      return 0;
-   if (!writeRecordList(f, _methodHead, header._numMethodRecords))
-      return 0;
-   if (!writeRecordList(f, _classChainHead, header._numClassChainRecords))
-      return 0;
-   if (!writeRecordList(f, _wellKnownClassesHead, header._numWellKnownClassesRecords))
-      return 0;
-   if (!writeRecordList(f, _aotHeaderHead, header._numAOTHeaderRecords))
-      return 0;
-   if (!writeRecordList(f, _thunkHead, header._numThunkRecords))
-      return 0;
-   if (!writeCachedMethodList(f, _cachedMethodHead, header._numCachedAOTMethods))
-      return 0;
-
-   return header._numCachedAOTMethods;
+   return writeRecordList(f, classLoaderStart, header._numClassLoaderRecords) &&
+          writeRecordList(f, classStart, header._numClassRecords) &&
+          writeRecordList(f, methodStart, header._numMethodRecords) &&
+          writeRecordList(f, classChainStart, header._numClassChainRecords) &&
+          writeRecordList(f, wellKnownClassesStart, header._numWellKnownClassesRecords) &&
+          writeRecordList(f, aotHeaderStart, header._numAOTHeaderRecords) &&
+          writeRecordList(f, thunkStart, header._numThunkRecords) &&
+          writeRecordList(f, cachedMethodStart, header._numCachedAOTMethods);
    }
 
 // Tests whether or not the given AOT snapshot is compatible with the server.
@@ -1432,16 +1533,25 @@ isCompatibleSnapshotVersion(const JITServerAOTCacheVersion &version)
           (version._jitserverVersion == currentVersion._jitserverVersion);
    }
 
+// Tests whether the segment described by the given header is entirely contained in the input,
+// which is positioned just after the header.
+static bool
+isCompleteSegment(const JITServerAOTCacheHeader &header, const JITServerAOTCacheInput &in)
+   {
+   return (header._segmentSize >= sizeof(JITServerAOTCacheHeader)) &&
+          (header._segmentSize - sizeof(JITServerAOTCacheHeader) <= in.remaining());
+   }
+
 // Read an AOT cache snapshot, returning NULL if the cache is ill-formed or
 // incompatible with the running server.
 JITServerAOTCache *
-JITServerAOTCache::readCache(FILE *f, const std::string &name, TR_Memory &trMemory)
+JITServerAOTCache::readCache(JITServerAOTCacheInput &in, const std::string &name, TR_Memory &trMemory, size_t &numSegments)
    {
    if (!JITServerAOTCacheMap::cacheHasSpace())
       return NULL;
 
    JITServerAOTCacheHeader header = {0};
-   if (1 != fread(&header, sizeof(JITServerAOTCacheHeader), 1, f))
+   if (!in.read(&header, sizeof(JITServerAOTCacheHeader)))
       {
       if (TR::Options::getVerboseOption(TR_VerboseJITServer))
          TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Unable to read cache file header");
@@ -1455,6 +1565,13 @@ JITServerAOTCache::readCache(FILE *f, const std::string &name, TR_Memory &trMemo
       return NULL;
       }
 
+   if (!isCompleteSegment(header, in))
+      {
+      if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Cache file is truncated");
+      return NULL;
+      }
+
    TR::CompilationInfo *compInfo = TR::CompilationInfo::get();
    JITServerAOTCache *cache = NULL;
    try
@@ -1479,7 +1596,7 @@ JITServerAOTCache::readCache(FILE *f, const std::string &name, TR_Memory &trMemo
    bool readSuccess = false;
    try
       {
-      readSuccess = cache->readCache(f, header, trMemory);
+      readSuccess = cache->readCache(in, header, trMemory, numSegments);
       }
    catch (const std::exception &e)
       {
@@ -1502,7 +1619,7 @@ JITServerAOTCache::readCache(FILE *f, const std::string &name, TR_Memory &trMemo
 // Read numRecordsToRead records of an AOTSerializationRecord subclass V from a stream, also
 // updating the map, record traversal, and scratch Vector associated with V.
 template<typename K, typename V, typename H> bool
-JITServerAOTCache::readRecords(FILE *f,
+JITServerAOTCache::readRecords(JITServerAOTCacheInput &in,
                                JITServerAOTCacheReadContext &context,
                                size_t numRecordsToRead,
                                PersistentUnorderedMap<K, V *, H> &map,
@@ -1515,7 +1632,7 @@ JITServerAOTCache::readRecords(FILE *f,
       if (!JITServerAOTCacheMap::cacheHasSpace())
          return false;
 
-      V *record = AOTCacheRecord::readRecord<V>(f, context);
+      V *record = AOTCacheRecord::readRecord<V>(in, context);
       if (!record)
          return false;
 
@@ -1536,43 +1653,84 @@ JITServerAOTCache::readRecords(FILE *f,
    return true;
    }
 
+// Read the first segment of a snapshot, whose header has already been read from the input,
+// followed by all the complete segments appended to it. The input is left at the end of the
+// last segment that was read successfully.
 bool
-JITServerAOTCache::readCache(FILE *f, const JITServerAOTCacheHeader &header, TR_Memory &trMemory)
-   {
-   _classLoaderMap.reserve(header._numClassLoaderRecords);
-   _classMap.reserve(header._numClassRecords);
-   _methodMap.reserve(header._numMethodRecords);
-   _classChainMap.reserve(header._numClassChainRecords);
-   _wellKnownClassesMap.reserve(header._numWellKnownClassesRecords);
-   _aotHeaderMap.reserve(header._numAOTHeaderRecords);
-   _thunkMap.reserve(header._numThunkRecords);
-   _cachedMethodMap.reserve(header._numCachedAOTMethods);
-
-   _nextClassLoaderId = header._nextClassLoaderId;
-   _nextClassId = header._nextClassId;
-   _nextMethodId = header._nextMethodId;
-   _nextClassChainId = header._nextClassChainId;
-   _nextWellKnownClassesId = header._nextWellKnownClassesId;
-   _nextAOTHeaderId = header._nextAOTHeaderId;
-   _nextThunkId = header._nextThunkId;
-
+JITServerAOTCache::readCache(JITServerAOTCacheInput &in, const JITServerAOTCacheHeader &header, TR_Memory &trMemory, size_t &numSegments)
+   {
    TR::StackMemoryRegion stackMemoryRegion(trMemory);
    JITServerAOTCacheReadContext context(header, stackMemoryRegion);
 
-   if (!readRecords(f, context, header._numClassLoaderRecords, _classLoaderMap, _classLoaderHead, _classLoaderTail, context._classLoaderRecords))
+   if (!readSegment(in, header, context))
+      return false;
+
+   numSegments = 1;
+   while (in.remaining() != 0)
+      {
+      // Read the next segment from a copy of the input, so that a bad segment leaves the input at its start
+      JITServerAOTCacheInput segmentIn = in;
+      JITServerAOTCacheHeader segmentHeader = {0};
+      if (!segmentIn.read(&segmentHeader, sizeof(JITServerAOTCacheHeader)) ||
+          !isCompatibleSnapshotVersion(segmentHeader._version) ||
+          !isCompleteSegment(segmentHeader, segmentIn))
+         {
+         if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Ignoring incomplete segment %zu of cache '%s'", numSegments, _name.c_str());
+         break;
+         }
+
+      context.resize(segmentHeader);
+      if (!readSegment(segmentIn, segmentHeader, context))
+         {
+         // The records read before the failure are consistent, so we keep them
+         if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Failed to read segment %zu of cache '%s'", numSegments, _name.c_str());
+         break;
+         }
+      in = segmentIn;
+      ++numSegments;
+      }
+
+   return true;
+   }
+
+bool
+JITServerAOTCache::readSegment(JITServerAOTCacheInput &in, const JITServerAOTCacheHeader &header, JITServerAOTCacheReadContext &context)
+   {
+   size_t segmentStart = in.position() - sizeof(JITServerAOTCacheHeader);
+
+   _classLoaderMap.reserve(_classLoaderMap.size() + header._numClassLoaderRecords);
+   _classMap.reserve(_classMap.size() + header._numClassRecords);
+   _methodMap.reserve(_methodMap.size() + header._numMethodRecords);
+   _classChainMap.reserve(_classChainMap.size() + header._numClassChainRecords);
+   _wellKnownClassesMap.reserve(_wellKnownClassesMap.size() + header._numWellKnownClassesRecords);
+   _aotHeaderMap.reserve(_aotHeaderMap.size() + header._numAOTHeaderRecords);
+   _thunkMap.reserve(_thunkMap.size() + header._numThunkRecords);
+   _cachedMethodMap.reserve(_cachedMethodMap.size() + header._numCachedAOTMethods);
+
+   _nextClassLoaderId = std::max<uintptr_t>(_nextClassLoaderId, header._nextClassLoaderId);
+   _nextClassId = std::max<uintptr_t>(_nextClassId, header._nextClassId);
+   _nextMethodId = std::max<uintptr_t>(_nextMethodId, header._nextMethodId);
+   _nextClassChainId = std::max<uintptr_t>(_nextClassChainId, header._nextClassChainId);
+   _nextWellKnownClassesId = std::max<uintptr_t>(_nextWellKnownClassesId, header._nextWellKnownClassesId);
+   _nextAOTHeaderId = std::max<uintptr_t>(_nextAOTHeaderId, header._nextAOTHeaderId);
+   _nextThunkId = std::max<uintptr_t>(_nextThunkId, header._nextThunkId);
+
+   if (!readRecords(in, context, header._numClassLoaderRecords, _classLoaderMap, _classLoaderHead, _classLoaderTail, context._classLoaderRecords))
       return false;
-   if (!readRecords(f, context, header._numClassRecords, _classMap, _classHead, _classTail, context._classRecords))
+   if (!readRecords(in, context, header._numClassRecords, _classMap, _classHead, _classTail, context._classRecords))
       return false;
-   if (!readRecords(f, context, header._numMethodRecords, _methodMap, _methodHead, _methodTail, context._methodRecords))
+   if (!readRecords(in, context, header._numMethodRecords, _methodMap, _methodHead, _methodTail, context._methodRecords))
       return false;
-   if (!readRecords(f, context, header._numClassChainRecords, _classChainMap, _classChainHead, _classChainTail, context._classChainRecords))
+   if (!readRecords(in, context, header._numClassChainRecords, _classChainMap, _classChainHead, _classChainTail, context._classChainRecords))
       return false;
-   if (!readRecords(f, context, header._numWellKnownClassesRecords, _wellKnownClassesMap, _wellKnownClassesHead,
+   if (!readRecords(in, context, header._numWellKnownClassesRecords, _wellKnownClassesMap, _wellKnownClassesHead,
                     _wellKnownClassesTail, context._wellKnownClassesRecords))
       return false;
-   if (!readRecords(f, context, header._numAOTHeaderRecords, _aotHeaderMap, _aotHeaderHead, _aotHeaderTail, context._aotHeaderRecords))
+   if (!readRecords(in, context, header._numAOTHeaderRecords, _aotHeaderMap, _aotHeaderHead, _aotHeaderTail, context._aotHeaderRecords))
       return false;
-   if (!readRecords(f, context, header._numThunkRecords, _thunkMap, _thunkHead, _thunkTail, context._thunkRecords))
+   if (!readRecords(in, context, header._numThunkRecords, _thunkMap, _thunkHead, _thunkTail, context._thunkRecords))
       return false;
 
    for (size_t i = 0; i < header._numCachedAOTMethods; ++i)
@@ -1580,7 +1738,7 @@ JITServerAOTCache::readCache(FILE *f, const JITServerAOTCacheHeader &header, TR_
       if (!JITServerAOTCacheMap::cacheHasSpace())
          return false;
 
-      auto record = AOTCacheRecord::readRecord<CachedAOTMethod>(f, context);
+      auto record = AOTCacheRecord::readRecord<CachedAOTMethod>(in, context);
       if (!record)
          return false;
 
@@ -1596,6 +1754,13 @@ JITServerAOTCache::readCache(FILE *f, const JITServerAOTCacheHeader &header, TR_
          }
       }
 
+   if (in.position() - segmentStart != header._segmentSize)
+      {
+      if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Segment size %zu does not match its records", header._segmentSize);
+      return false;
+      }
+
    return true;
    }
 
@@ -1682,6 +1847,104 @@ JITServerAOTCache::finalizeSaveOperation(bool success, size_t numMethodsSavedToF
    _saveOperationInProgress = false;
    }
 
+void
+JITServerAOTCache::setPersistedFile(uint64_t device, uint64_t inode, uint64_t size, size_t numSegments, const JITServerAOTCacheHeader &totals)
+   {
+   _persistedFileDevice = device;
+   _persistedFileInode = inode;
+   _persistedFileSize = size;
+   _numPersistedSegments = numSegments;
+   _persistedTotals = totals;
+   }
+
+bool
+JITServerAOTCache::appendToSnapshot(const std::string &cacheFileName, size_t &numAOTMethodsWritten)
+   {
+   if (0 == _persistedFileSize)
+      return false;
+   if (_numPersistedSegments >= JITSERVER_AOTCACHE_MAX_SEGMENTS)
+      {
+      if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Cache file %s has %zu segments and will be compacted",
+                                        cacheFileName.c_str(), _numPersistedSegments);
+      return false;
+      }
+
+   int fd = open(cacheFileName.c_str(), O_WRONLY | O_APPEND);
+   if (fd < 0)
+      {
+      clearPersistedFile();
+      return false;
+      }
+
+   // Other servers sharing the cache directory can append to or replace the file too. The lock
+   // serializes appends to the same file; a file that we did not write last is rewritten instead.
+   struct stat fileStat;
+   if ((0 != flock(fd, LOCK_EX)) || (0 != fstat(fd, &fileStat)) ||
+       ((uint64_t)fileStat.st_dev != _persistedFileDevice) || ((uint64_t)fileStat.st_ino != _persistedFileInode) ||
+       ((uint64_t)fileStat.st_size != _persistedFileSize))
+      {
+      if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Cache file %s was modified by another server and will be rewritten",
+                                        cacheFileName.c_str());
+      close(fd);
+      clearPersistedFile();
+      return false;
+      }
+
+   FILE *f = fdopen(fd, "ab");
+   if (!f)
+      {
+      close(fd);
+      clearPersistedFile();
+      return false;
+      }
+
+   JITServerAOTCacheHeader totals = {0};
+   bool success = writeCache(f, &_persistedTotals, totals) && (0 == fflush(f)) && (0 == fstat(fd, &fileStat));
+   fclose(f); // Also releases the lock
+
+   if (!success)
+      {
+      // The file now ends with an incomplete segment, which is ignored when the file is
+      // read; still, we rewrite the whole file rather than appending after it
+      if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+         TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Failed to append to cache file %s", cacheFileName.c_str());
+      clearPersistedFile();
+      return false;
+      }
+
+   setPersistedFile(_persistedFileDevice, _persistedFileInode, fileStat.st_size, _numPersistedSegments + 1, totals);
+   numAOTMethodsWritten = totals._numCachedAOTMethods;
+   return true;
+   }
+
+// Count the AOT methods in the complete segments of a snapshot file, given the header of the
+// first segment, which has just been read from the file.
+static size_t
+getNumSnapshotMethods(FILE *f, const JITServerAOTCacheHeader &firstHeader)
+   {
+   struct stat fileStat;
+   if (0 != fstat(fileno(f), &fileStat))
+      return firstHeader._numCachedAOTMethods;
+
+   size_t numMethods = 0;
+   JITServerAOTCacheHeader header = firstHeader;
+   size_t segmentStart = 0;
+   do
+      {
+      if (segmentStart + header._segmentSize > (size_t)fileStat.st_size)
+         break;
+      numMethods += header._numCachedAOTMethods;
+      segmentStart += header._segmentSize;
+      }
+   while ((header._segmentSize >= sizeof(JITServerAOTCacheHeader)) &&
+          (0 == fseek(f, segmentStart, SEEK_SET)) &&
+          (1 == fread(&header, sizeof(JITServerAOTCacheHeader), 1, f)) &&
+          isCompatibleSnapshotVersion(header._version));
+   return numMethods;
+   }
+
 
 bool
 JITServerAOTCache::isAOTCacheBetterThanSnapshot(const std::string &cacheFileName, size_t numExtraMethods)
@@ -1704,17 +1967,18 @@ JITServerAOTCache::isAOTCacheBetterThanSnapshot(const std::string &cacheFileName
             }
          else // Header is compatible, check the number of methods
             {
-            if (getNumCachedMethods() >= header._numCachedAOTMethods + numExtraMethods)
+            size_t numSnapshotMethods = getNumSnapshotMethods(cacheFile, header);
+            if (getNumCachedMethods() >= numSnapshotMethods + numExtraMethods)
                {
                // We have better data than the existing snaphot, so overwrite it
                doSave = true;
                }
             else // Existing snapshot has more methods (or same as us)
                {
-               setMinNumAOTMethodsToSave(header._numCachedAOTMethods + TR::Options::_aotCachePersistenceMinDeltaMethods);
+               setMinNumAOTMethodsToSave(numSnapshotMethods + TR::Options::_aotCachePersistenceMinDeltaMethods);
                if (TR::Options::getVerboseOption(TR_VerboseJITServer))
                   TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Save operation aborted for cache '%s' because we don't have %zu more methods than existing snapshot: %zu vs %zu.",
-                                                 name().c_str(), numExtraMethods, getNumCachedMethods(), header._numCachedAOTMethods);
+                                                 name().c_str(), numExtraMethods, getNumCachedMethods(), numSnapshotMethods);
                }
             }
          }
@@ -1845,22 +2109,35 @@ JITServerAOTCacheMap::saveNextQueuedAOTCacheToFile()
    try
       {
       std::string cacheFileName = buildCacheFileName(compInfo->getPersistentInfo()->getJITServerAOTCacheDir(), cacheName);
+      PORT_ACCESS_FROM_JITCONFIG(compInfo->getJITConfig());
+      OMRPORT_ACCESS_FROM_J9PORT(PORTLIB);
+      uint64_t startTime = TR::Options::getVerboseOption(TR_VerboseJITServer) ? j9time_hires_clock() : 0;
 
+      // If this cache was last saved to or loaded from the file, only the new records need to be written
+      if (!TR::Options::_aotCacheDisableIncrementalPersistence && cache->appendToSnapshot(cacheFileName, numAOTMethodsWritten))
+         {
+         success = true;
+         if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+            {
+            uint64_t durationUsec = j9time_hires_delta(startTime, j9time_hires_clock(), J9PORT_TIME_DELTA_IN_MICROSECONDS);
+            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: t=%llu Appended new records of cache '%s' to file %s. %zu methods in file after %llu usec.",
+                                           compInfo->getPersistentInfo()->getElapsedTime(), cacheName.c_str(), cacheFileName.c_str(), numAOTMethodsWritten, durationUsec);
+            }
+         }
       // If a similarly named AOT cache file already exists, must determine if it's a better snapshot or not
-      if (cache->isAOTCacheBetterThanSnapshot(cacheFileName, TR::Options::_aotCachePersistenceMinDeltaMethods))
+      else if (cache->isAOTCacheBetterThanSnapshot(cacheFileName, TR::Options::_aotCachePersistenceMinDeltaMethods))
          {
-         PORT_ACCESS_FROM_JITCONFIG(compInfo->getJITConfig());
-         OMRPORT_ACCESS_FROM_J9PORT(PORTLIB);
-         uint64_t startTime = TR::Options::getVerboseOption(TR_VerboseJITServer) ? j9time_hires_clock() : 0;
-
          // Create a temporary file based on the UID of this server and the cache name
          std::string tempFileName = buildCacheFileName(compInfo->getPersistentInfo()->getJITServerAOTCacheDir(),
                                                        std::to_string(compInfo->getPersistentInfo()->getServerUID()) + "." + cacheName + ".tmp");
          FILE *newCacheFile = fopen(tempFileName.c_str(), "wb");
          if (newCacheFile)
             {
-            if ((numAOTMethodsWritten = cache->writeCache(newCacheFile)) != 0)
+            JITServerAOTCacheHeader totals = {0};
+            struct stat fileStat;
+            if (cache->writeCache(newCacheFile, NULL, totals) && (0 == fflush(newCacheFile)) && (0 == fstat(fileno(newCacheFile), &fileStat)))
                {
+               numAOTMethodsWritten = totals._numCachedAOTMethods;
                fclose(newCacheFile);
                newCacheFile = NULL;
 
@@ -1871,6 +2148,8 @@ JITServerAOTCacheMap::saveNextQueuedAOTCacheToFile()
                   if (0 == rename(tempFileName.c_str(), cacheFileName.c_str()))
                      {
                      success = true;
+                     // The renamed file keeps its inode, so later saves can append to it
+                     cache->setPersistedFile(fileStat.st_dev, fileStat.st_ino, fileStat.st_size, 1, totals);
 
                      if (TR::Options::getVerboseOption(TR_VerboseJITServer))
                         {
@@ -1949,18 +2228,25 @@ JITServerAOTCacheMap::loadNextQueuedAOTCacheFromFile(J9::J9SegmentProvider &scra
       }
 
    JITServerAOTCache *cache = NULL;
-   FILE *cacheFile = NULL;
+   int cacheFd = -1;
+   void *mapping = MAP_FAILED;
+   size_t mappingSize = 0;
    try
       {
       TR::CompilationInfo *compInfo = TR::CompilationInfo::get();
       std::string cacheFileName = buildCacheFileName(compInfo->getPersistentInfo()->getJITServerAOTCacheDir(), cacheName);
 
-      // Open the AOT cache file and create a new JITServerAOTCache object
-      FILE *cacheFile = fopen(cacheFileName.c_str(), "rb");
-      if (cacheFile)
+      // Map the AOT cache file into memory and create a new JITServerAOTCache object from it.
+      // The records are copied out of the mapping, so it is only needed while reading.
+      struct stat fileStat;
+      cacheFd = open(cacheFileName.c_str(), O_RDONLY);
+      if ((cacheFd >= 0) && (0 == fstat(cacheFd, &fileStat)) && (fileStat.st_size > 0) &&
+          (MAP_FAILED != (mapping = mmap(NULL, fileStat.st_size, PROT_READ, MAP_PRIVATE, cacheFd, 0))))
          {
+         mappingSize = fileStat.st_size;
+         madvise(mapping, mappingSize, MADV_SEQUENTIAL);
          if (TR::Options::getVerboseOption(TR_VerboseJITServer))
-            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: t=%llu Opened file %s to load cache '%s' from file",
+            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: t=%llu Mapped file %s to load cache '%s' from file",
                                            compInfo->getPersistentInfo()->getElapsedTime(), cacheFileName.c_str(), cacheName.c_str());
          size_t segmentSize = scratchSegmentProvider.getPreferredSegmentSize();
          if (!segmentSize)
@@ -1970,15 +2256,33 @@ JITServerAOTCacheMap::loadNextQueuedAOTCacheFromFile(J9::J9SegmentProvider &scra
          TR::Region region(segmentProvider, rawAllocator);
          TR_Memory trMemory(*compInfo->persistentMemory(), region);
 
-         cache = JITServerAOTCache::readCache(cacheFile, cacheName, trMemory); // This should not throw
-         fclose(cacheFile); // filestream not needed anymore
-         cacheFile = NULL;
+         JITServerAOTCacheInput in((const uint8_t *)mapping, mappingSize);
+         size_t numSegments = 0;
+         cache = JITServerAOTCache::readCache(in, cacheName, trMemory, numSegments); // This should not throw
+         munmap(mapping, mappingSize); // mapping not needed anymore
+         mapping = MAP_FAILED;
+         close(cacheFd);
+         cacheFd = -1;
 
          if (cache)
             {
+            size_t numCachedMethods = cache->getNumCachedMethods();
+            if (TR::Options::getVerboseOption(TR_VerboseJITServer))
+               TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: t=%llu Loaded cache '%s' from file %s: %zu segments, %zu methods",
+                                              compInfo->getPersistentInfo()->getElapsedTime(), cacheName.c_str(), cacheFileName.c_str(),
+                                              numSegments, numCachedMethods);
+
             // Update the number of AOT methods needed to be eligible for a save operation
             // No monitor is needed because no other thread knows about this cache yet
-            cache->setMinNumAOTMethodsToSave(cache->getNumCachedMethods() + TR::Options::_aotCachePersistenceMinDeltaMethods);
+            cache->setMinNumAOTMethodsToSave(numCachedMethods + TR::Options::_aotCachePersistenceMinDeltaMethods);
+
+            // If the whole file was read, later saves can append to it; otherwise the next save rewrites it
+            if (0 == in.remaining())
+               {
+               JITServerAOTCacheHeader totals = {0};
+               cache->getRecordCounts(totals);
+               cache->setPersistedFile(fileStat.st_dev, fileStat.st_ino, fileStat.st_size, numSegments, totals);
+               }
 
             // My JITServerAOTCache was created and populated; now, insert it into the map
             OMR::CriticalSection cs(_monitor);
@@ -1990,10 +2294,15 @@ JITServerAOTCacheMap::loadNextQueuedAOTCacheFromFile(J9::J9SegmentProvider &scra
                TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Failed to create cache '%s' from file", cacheName.c_str());
             }
          }
-      else // Cannot open the AOT cache file
+      else // Cannot open or map the AOT cache file
          {
          if (TR::Options::getVerboseOption(TR_VerboseJITServer))
-            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Failed to open cache file %s: %s", cacheFileName.c_str(), strerror(errno));
+            TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: Failed to open or map cache file %s: %s", cacheFileName.c_str(), strerror(errno));
+         if (cacheFd >= 0)
+            {
+            close(cacheFd);
+            cacheFd = -1;
+            }
          }
       }
    catch(const std::exception& e)
@@ -2002,10 +2311,15 @@ JITServerAOTCacheMap::loadNextQueuedAOTCacheFromFile(J9::J9SegmentProvider &scra
          {
          TR_VerboseLog::writeLineLocked(TR_Vlog_JITServer, "AOT cache: exception caught when trying to read-in cache '%s': %s", cacheName.c_str(), e.what());
          }
-      if (cacheFile)
+      if (MAP_FAILED != mapping)
          {
-         fclose(cacheFile);
-         cacheFile = NULL;
+         munmap(mapping, mappingSize);
+         mapping = MAP_FAILED;
+         }
+      if (cacheFd >= 0)
+         {
+         close(cacheFd);
+         cacheFd = -1;
          }
       if (cache)
          {
@@ -2114,6 +2428,14 @@ JITServerAOTCacheMap::getNumDeserializedMethods() const
    return result;
    }
 
+void
+JITServerAOTCacheMap::getCacheHitsAndMisses(const std::function<void(const std::string &, size_t, size_t)> &callback) const
+   {
+   OMR::CriticalSection cs(_monitor);
+   for (auto &it : _map)
+      callback(it.first, it.second->getNumCacheHits(), it.second->getNumCacheMisses());
+   }
+
 void
 JITServerAOTCacheMap::printStats(FILE *f) const
    {
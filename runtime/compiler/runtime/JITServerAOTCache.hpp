@@ -32,13 +32,14 @@
 
 class JITServerSharedProfileCache;
 
-static const uint32_t JITSERVER_AOTCACHE_VERSION = 1;
+static const uint32_t JITSERVER_AOTCACHE_VERSION = 2;
 static const char JITSERVER_AOTCACHE_EYECATCHER[] = "AOTCACHE";
 // the eye-catcher is not null-terminated in the snapshot files
 static const size_t JITSERVER_AOTCACHE_EYECATCHER_LENGTH = sizeof(JITSERVER_AOTCACHE_EYECATCHER) - 1;
 
 namespace TR { class Monitor; }
 namespace J9 { class J9SegmentProvider;}
+struct JITServerAOTCacheInput;
 
 // Information relevant to the compatibility of a cache snapshot with the server.
 struct JITServerAOTCacheVersion
@@ -50,10 +51,17 @@ struct JITServerAOTCacheVersion
    };
 
 // The header information for an AOT cache snapshot.
+//
+// A snapshot file is a sequence of segments, each made of this header followed by
+// the records it counts. The first segment is written when the whole cache is saved;
+// later saves append a segment with only the records created since the previous save.
+// The record counts are those of the segment, while the next IDs and the size of the
+// segment (including this header) are used to size and validate the segment when reading.
 struct JITServerAOTCacheHeader
    {
    JITServerAOTCacheVersion _version;
    uint64_t _serverUID;
+   size_t _segmentSize;
    size_t _numClassLoaderRecords;
    size_t _numClassRecords;
    size_t _numMethodRecords;
@@ -116,7 +124,7 @@ public:
    static void *allocate(size_t size);
    static void free(void *ptr);
 
-   template<class R> static R *readRecord(FILE *f, const JITServerAOTCacheReadContext &context);
+   template<class R> static R *readRecord(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    AOTCacheRecord *getNextRecord() const { return _nextRecord; }
    void setNextRecord(AOTCacheRecord *record) { _nextRecord = record; }
@@ -145,7 +153,7 @@ public:
 private:
    using SerializationRecord = ClassLoaderSerializationRecord;
 
-   friend AOTCacheClassLoaderRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheClassLoaderRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    AOTCacheClassLoaderRecord(uintptr_t id, const uint8_t *name, size_t nameLength);
    AOTCacheClassLoaderRecord(const JITServerAOTCacheReadContext &context, const ClassLoaderSerializationRecord &header) {}
@@ -179,7 +187,7 @@ public:
 private:
    using SerializationRecord = ClassSerializationRecord;
 
-   friend AOTCacheClassRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheClassRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    AOTCacheClassRecord(uintptr_t id, const AOTCacheClassLoaderRecord *classLoaderRecord, const JITServerROMClassHash &hash,
                        uint32_t romClassSize, bool generated, const J9ROMClass *romClass,
@@ -212,7 +220,7 @@ public:
 private:
    using SerializationRecord = MethodSerializationRecord;
 
-   friend AOTCacheMethodRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheMethodRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    AOTCacheMethodRecord(uintptr_t id, const AOTCacheClassRecord *definingClassRecord, uint32_t index);
    AOTCacheMethodRecord(const JITServerAOTCacheReadContext &context, const MethodSerializationRecord &header);
@@ -256,7 +264,7 @@ private:
 
    using SerializationRecord = ClassChainSerializationRecord;
 
-   friend AOTCacheClassChainRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheClassChainRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    virtual bool setSubrecordPointers(const JITServerAOTCacheReadContext &context) override;
 
@@ -296,7 +304,7 @@ private:
 
    using SerializationRecord = WellKnownClassesSerializationRecord;
 
-   friend AOTCacheWellKnownClassesRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheWellKnownClassesRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    virtual bool setSubrecordPointers(const JITServerAOTCacheReadContext &context) override;
 
@@ -317,7 +325,7 @@ public:
 private:
    using SerializationRecord = AOTHeaderSerializationRecord;
 
-   friend AOTCacheAOTHeaderRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheAOTHeaderRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    AOTCacheAOTHeaderRecord(uintptr_t id, const TR_AOTHeader *header);
    AOTCacheAOTHeaderRecord(const JITServerAOTCacheReadContext &context, const AOTHeaderSerializationRecord &header) {}
@@ -340,7 +348,7 @@ public:
 private:
    using SerializationRecord = ThunkSerializationRecord;
 
-   friend AOTCacheThunkRecord *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend AOTCacheThunkRecord *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    AOTCacheThunkRecord(uintptr_t id, const uint8_t *signature, uint32_t signatureSize, const uint8_t *thunkStart, uint32_t thunkSize);
    AOTCacheThunkRecord(const JITServerAOTCacheReadContext &context, const ThunkSerializationRecord &header) {}
@@ -388,7 +396,7 @@ public:
 private:
    using SerializationRecord = SerializedAOTMethod;
 
-   friend CachedAOTMethod *AOTCacheRecord::readRecord<>(FILE *f, const JITServerAOTCacheReadContext &context);
+   friend CachedAOTMethod *AOTCacheRecord::readRecord<>(JITServerAOTCacheInput &in, const JITServerAOTCacheReadContext &context);
 
    CachedAOTMethod(const AOTCacheClassChainRecord *definingClassChainRecord, uint32_t index,
                    TR_Hotness optLevel, const AOTCacheAOTHeaderRecord *aotHeaderRecord,
@@ -485,14 +493,35 @@ public:
 
    void incNumCacheBypasses() { ++_numCacheBypasses; }
    void incNumCacheMisses() { ++_numCacheMisses; }
+   size_t getNumCacheHits() const { return _numCacheHits; }
+   size_t getNumCacheMisses() const { return _numCacheMisses; }
    size_t getNumDeserializedMethods() const { return _numDeserializedMethods; }
    void incNumDeserializedMethods() { ++_numDeserializedMethods; }
    void incNumDeserializationFailures() { ++_numDeserializationFailures; }
 
    void printStats(FILE *f) const;
 
-   size_t writeCache(FILE *f) const;
-   static JITServerAOTCache *readCache(FILE *f, const std::string &name, TR_Memory &trMemory);
+   /**
+      @brief Write the records of this cache to a snapshot file as one segment
+
+      @param f The stream to write to
+      @param persisted Number of records of each type already written to the file, which are skipped;
+                       NULL to write all the records
+      @param totals Output: the number of records of each type in the file after this segment is written
+      @return true on success
+   */
+   bool writeCache(FILE *f, const JITServerAOTCacheHeader *persisted, JITServerAOTCacheHeader &totals) const;
+   /**
+      @brief Read all the segments of a memory-mapped snapshot into a new cache
+
+      A segment that is incomplete (e.g. because the server that was appending it crashed) ends
+      the snapshot; the input is then left positioned at the start of that segment.
+      @param numSegments Output: number of segments read
+      @return The new cache, or NULL if the first segment is ill-formed or incompatible with the running server
+   */
+   static JITServerAOTCache *readCache(JITServerAOTCacheInput &in, const std::string &name, TR_Memory &trMemory, size_t &numSegments);
+   // Fill in the record counts and next IDs of the header with the current state of this cache
+   void getRecordCounts(JITServerAOTCacheHeader &header) const;
    size_t getNumCachedMethods() const;
    void setMinNumAOTMethodsToSave(size_t num) { _minNumAOTMethodsToSave = num; }
 
@@ -513,6 +542,26 @@ public:
    */
    bool triggerAOTCacheStoreToFileIfNeeded();
    void finalizeSaveOperation(bool success, size_t numMethodsSavedToFile);
+
+   /**
+      @brief Remember the snapshot file that now holds all the records of this cache up to the given counts
+
+      Later saves append a segment with the new records to this file, as long as it is still the file
+      found under the cache file name and nobody else has modified it.
+      Must only be called by the thread performing a save operation, or before the cache is published.
+   */
+   void setPersistedFile(uint64_t device, uint64_t inode, uint64_t size, size_t numSegments, const JITServerAOTCacheHeader &totals);
+   void clearPersistedFile() { _persistedFileSize = 0; }
+   /**
+      @brief Append the records created since the last save to the snapshot file
+
+      @param cacheFileName Name of the snapshot file
+      @param numAOTMethodsWritten Output: total number of AOT methods in the file after a successful append
+      @return true if the records were appended; false if the file must be rewritten instead, either because
+              it is not the file this cache was last saved to or loaded from, or because it holds enough segments
+              to be worth compacting into one
+   */
+   bool appendToSnapshot(const std::string &cacheFileName, size_t &numAOTMethodsWritten);
    void excludeCacheFromSavingToFile() { _excludedFromSavingToFile = true; }
 
    /**
@@ -605,11 +654,13 @@ private:
    // Helper method used in getSerializationRecords()
    void addRecord(const AOTCacheRecord *record, Vector<const AOTSerializationRecord *> &result,
                   UnorderedSet<const AOTCacheRecord *> &newRecords, const KnownIdSet &knownIds) const;
-   // Read a cache snapshot into an empty cache
-   bool readCache(FILE *f, const JITServerAOTCacheHeader &header, TR_Memory &trMemory);
+   // Read the segments of a cache snapshot into an empty cache
+   bool readCache(JITServerAOTCacheInput &in, const JITServerAOTCacheHeader &header, TR_Memory &trMemory, size_t &numSegments);
+   // Read the records of one snapshot segment
+   bool readSegment(JITServerAOTCacheInput &in, const JITServerAOTCacheHeader &header, JITServerAOTCacheReadContext &context);
 
    template<typename K, typename V, typename H>
-   static bool readRecords(FILE *f, JITServerAOTCacheReadContext &context, size_t numRecordsToRead,
+   static bool readRecords(JITServerAOTCacheInput &in, JITServerAOTCacheReadContext &context, size_t numRecordsToRead,
                            PersistentUnorderedMap<K, V *, H> &map, V *&traversalHead, V *&traversalTail, Vector<V *> &records);
 
    const std::string _name;
@@ -670,6 +721,14 @@ private:
    bool _saveOperationInProgress;     // True if an AOTCache save operation is in progress
    bool _excludedFromSavingToFile;    // True if this cache is excluded from saving to file
 
+   // The snapshot file that holds the records counted in _persistedTotals, identified by device and inode.
+   // A _persistedFileSize of 0 means the next save must rewrite the whole file.
+   uint64_t _persistedFileDevice;
+   uint64_t _persistedFileInode;
+   uint64_t _persistedFileSize;
+   size_t _numPersistedSegments;      // Number of segments in the snapshot file
+   JITServerAOTCacheHeader _persistedTotals;
+
    // Statistics
    size_t _numCacheBypasses;
    size_t _numCacheHits;
@@ -723,6 +782,13 @@ public:
    */
    JITServerAOTCache *get(const std::string &name, uint64_t clientUID, bool &pending);
    size_t getNumDeserializedMethods() const;
+   /**
+      @brief Report the hit and miss counts of every AOT cache. Caches are never removed from
+      the map, so the counts reported for a given name only ever increase.
+
+      This method acquires the AOTCacheMap monitor, which is held while the callback runs.
+   */
+   void getCacheHitsAndMisses(const std::function<void(const std::string &name, size_t hits, size_t misses)> &callback) const;
 
    static void setCacheMaxBytes(size_t bytes) { _cacheMaxBytes = bytes; }
    static bool cacheHasSpace();
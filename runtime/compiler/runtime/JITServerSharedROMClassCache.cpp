@@ -78,7 +78,7 @@ struct JITServerSharedROMClassCache::Partition
          _persistentMemory->freePersistentMemory(kv.second);
       }
 
-   J9ROMClass *getOrCreate(const J9ROMClass *packedROMClass, const JITServerROMClassHash &hash);
+   J9ROMClass *getOrCreate(const J9ROMClass *packedROMClass, const JITServerROMClassHash &hash, bool &found);
    void release(Entry *entry);
 
    TR_PersistentMemory *const _persistentMemory;
@@ -97,7 +97,8 @@ JITServerSharedROMClassCache::JITServerSharedROMClassCache(size_t numPartitions)
    _partitions((Partition *)TR::Compiler->persistentGlobalMemory()->allocatePersistentMemory(
                numPartitions * sizeof(Partition), TR_Memory::ROMClass)),
    _monitors((TR::Monitor **) TR::Compiler->persistentGlobalMemory()->allocatePersistentMemory(
-               numPartitions * sizeof(TR::Monitor *), TR_Memory::ROMClass))
+               numPartitions * sizeof(TR::Monitor *), TR_Memory::ROMClass)),
+   _numHits(0), _numMisses(0)
    {
    if (!_partitions || !_monitors)
       throw std::bad_alloc();
@@ -219,7 +220,10 @@ J9ROMClass *
 JITServerSharedROMClassCache::getOrCreate(const J9ROMClass *packedROMClass, const JITServerROMClassHash *packedROMClassHash)
    {
    JITServerROMClassHash hash = packedROMClassHash ? *packedROMClassHash : JITServerROMClassHash(packedROMClass);
-   return getPartition(hash).getOrCreate(packedROMClass, hash);
+   bool found = false;
+   J9ROMClass *romClass = getPartition(hash).getOrCreate(packedROMClass, hash, found);
+   VM_AtomicSupport::add(found ? &_numHits : &_numMisses, 1);
+   return romClass;
    }
 
 void
@@ -279,13 +283,16 @@ JITServerSharedROMClassCache::getPartition(const JITServerROMClassHash &hash)
 
 J9ROMClass *
 JITServerSharedROMClassCache::Partition::getOrCreate(const J9ROMClass *packedROMClass,
-                                                     const JITServerROMClassHash &hash)
+                                                     const JITServerROMClassHash &hash, bool &found)
    {
       {
       OMR::CriticalSection sharedROMClassCache(_monitor);
       auto it = _map.find(hash);
       if (it != _map.end())
+         {
+         found = true;
          return it->second->acquire();// Reuse existing entry, incrementing its reference count
+         }
       }
 
    // Create new entry outside of the critical section to reduce lock contention
@@ -309,6 +316,7 @@ JITServerSharedROMClassCache::Partition::getOrCreate(const J9ROMClass *packedROM
          {
          // Another thread already created this entry; reuse it
          romClass = it.first->second->acquire();
+         found = true;
          }
       }
    catch (...)
@@ -55,6 +55,11 @@ public:
 
    bool isInitialized() const { return _persistentMemory != NULL; }
 
+   // Number of getOrCreate() calls that found an existing entry, or had to create one.
+   // These are not reset by shutdown(), so they cover the whole lifetime of the server.
+   uintptr_t getNumHits() const { return _numHits; }
+   uintptr_t getNumMisses() const { return _numMisses; }
+
    // Print cache content for debugging purposes (ROMMethods pointers, names and hashes)
    void printContent() const;
 
@@ -70,6 +75,8 @@ private:
    TR_PersistentMemory *_persistentMemory;
    Partition *const _partitions;
    TR::Monitor **const _monitors;
+   volatile uintptr_t _numHits;
+   volatile uintptr_t _numMisses;
 };
 
 
@@ -33,6 +33,8 @@
 #include <stdlib.h>
 #include <unistd.h> // read, write
 
+#include "mmomrhook.h"
+#include "AtomicSupport.hpp"
 #include "control/CompilationRuntime.hpp"
 #include "control/Options.hpp"
 #include "env/TRMemory.hpp"
@@ -40,6 +42,9 @@
 #include "env/VerboseLog.hpp"
 #include "env/VMJ9.h"
 #include "net/ServerStream.hpp"
+#include "runtime/CodeCacheManager.hpp"
+#include "runtime/JITServerAOTCache.hpp"
+#include "runtime/JITServerSharedROMClassCache.hpp"
 #include "runtime/MetricsServer.hpp"
 
 bool MetricsServer::useSSL(TR::CompilationInfo *compInfo)
@@ -143,18 +148,373 @@ double ActiveThreadsMetric::computeValue(TR::CompilationInfo *compInfo)
    return getValue();
    }
 
-MetricsDatabase::MetricsDatabase(TR::CompilationInfo *compInfo) : _compInfo(compInfo)
+const uint64_t GCPauseHistogram::BUCKET_BOUNDS_NS[GCPauseHistogram::NUM_BUCKETS] =
    {
-   _metrics[0] = new (PERSISTENT_NEW) CPUUtilMetric();
-   _metrics[1] = new (PERSISTENT_NEW) AvailableMemoryMetric();
-   _metrics[2] = new (PERSISTENT_NEW) ConnectedClientsMetric();
-   _metrics[3] = new (PERSISTENT_NEW) ActiveThreadsMetric();
-   static_assert(3 == MAX_METRICS - 1, "Unsupported number of metrics");
+   1000000, 5000000, 10000000, 25000000, 50000000, 100000000, // 1ms .. 100ms
+   250000000, 500000000, 1000000000, 2500000000ULL, 5000000000ULL, 10000000000ULL // 250ms .. 10s
+   };
+
+void GCPauseHistogram::pauseEnded(uint64_t nowNs)
+   {
+   if (0 == _pauseStartNs)
+      return; // The metrics hooks were registered while this GC was in progress
+   uint64_t durationNs = nowNs - _pauseStartNs;
+   _pauseStartNs = 0;
+   size_t bucket = 0;
+   while ((bucket < NUM_BUCKETS) && (durationNs > BUCKET_BOUNDS_NS[bucket]))
+      bucket++;
+   _sumNs += durationNs;
+   _buckets[bucket] += 1;
+   }
+
+std::string GCPauseHistogram::serialize(const std::string &name, const char *label) const
+   {
+   std::string output;
+   uint64_t cumulativeCount = 0;
+   for (size_t i = 0; i <= NUM_BUCKETS; i++)
+      {
+      cumulativeCount += _buckets[i];
+      std::string bound = (i < NUM_BUCKETS) ? std::to_string(BUCKET_BOUNDS_NS[i] / 1e9) : std::string("+Inf");
+      output.append(name + "_bucket{" + label + ",le=\"" + bound + "\"} " + std::to_string(cumulativeCount) + "\n");
+      }
+   output.append(name + "_sum{" + label + "} " + std::to_string(_sumNs / 1e9) + "\n");
+   // The count must agree with the +Inf bucket, so it is not read separately
+   output.append(name + "_count{" + label + "} " + std::to_string(cumulativeCount) + "\n");
+   return output;
+   }
+
+std::string GCPauseMetric::serialize()
+   {
+   return serializeHeader() +
+          _metricsServer->getGlobalGCPauses().serialize(getName(), "collector=\"global\"") +
+          _metricsServer->getLocalGCPauses().serialize(getName(), "collector=\"local\"");
+   }
+
+RequestHistogram::RequestHistogram(const uint64_t *bounds, size_t numBuckets, double unitsPerExportedUnit) :
+   _bounds(bounds), _numBuckets(numBuckets), _unitsPerExportedUnit(unitsPerExportedUnit), _sum(0)
+   {
+   TR_ASSERT_FATAL(numBuckets <= MAX_BUCKETS, "Too many histogram buckets: %zu", numBuckets);
+   for (size_t i = 0; i <= MAX_BUCKETS; i++)
+      _buckets[i] = 0;
+   }
+
+void RequestHistogram::observe(uint64_t value)
+   {
+   size_t bucket = 0;
+   while ((bucket < _numBuckets) && (value > _bounds[bucket]))
+      bucket++;
+   VM_AtomicSupport::add(&_sum, (uintptr_t)value);
+   VM_AtomicSupport::add(&_buckets[bucket], 1);
+   }
+
+uint64_t RequestHistogram::getCount() const
+   {
+   uint64_t count = 0;
+   for (size_t i = 0; i <= _numBuckets; i++)
+      count += _buckets[i];
+   return count;
+   }
+
+std::string RequestHistogram::serialize(const std::string &name, const std::string &label) const
+   {
+   std::string output;
+   std::string labelPrefix = label.empty() ? label : label + ",";
+   std::string labelSet = label.empty() ? label : "{" + label + "}";
+   uint64_t cumulativeCount = 0;
+   for (size_t i = 0; i <= _numBuckets; i++)
+      {
+      cumulativeCount += _buckets[i];
+      std::string bound = (i < _numBuckets) ? std::to_string(_bounds[i] / _unitsPerExportedUnit) : std::string("+Inf");
+      output.append(name + "_bucket{" + labelPrefix + "le=\"" + bound + "\"} " + std::to_string(cumulativeCount) + "\n");
+      }
+   output.append(name + "_sum" + labelSet + " " + std::to_string(_sum / _unitsPerExportedUnit) + "\n");
+   output.append(name + "_count" + labelSet + " " + std::to_string(cumulativeCount) + "\n");
+   return output;
+   }
+
+const uint64_t JITServerClientMetrics::TIME_BOUNDS_US[] =
+   {
+   100, 1000, 5000, 10000, 25000, 50000, 100000, // 100us .. 100ms
+   250000, 500000, 1000000, 2500000, 5000000, 10000000, 30000000, 60000000 // 250ms .. 60s
+   };
+
+const uint64_t JITServerClientMetrics::BYTES_BOUNDS[] =
+   {
+   1 << 10, 4 << 10, 16 << 10, 64 << 10, 256 << 10, // 1KB .. 256KB
+   1 << 20, 4 << 20, 16 << 20, 64 << 20 // 1MB .. 64MB
+   };
+
+JITServerClientMetrics::JITServerClientMetrics() :
+   _compilationTime(TIME_BOUNDS_US, sizeof(TIME_BOUNDS_US) / sizeof(TIME_BOUNDS_US[0]), 1e6),
+   _queueWait(TIME_BOUNDS_US, sizeof(TIME_BOUNDS_US) / sizeof(TIME_BOUNDS_US[0]), 1e6),
+   _bytesTransferred(BYTES_BOUNDS, sizeof(BYTES_BOUNDS) / sizeof(BYTES_BOUNDS[0]), 1),
+   _aotCacheHits(0), _aotCacheMisses(0)
+   {}
+
+RequestHistogram &JITServerClientMetrics::getHistogram(Histogram h)
+   {
+   switch (h)
+      {
+      case CompilationTime:
+         return _compilationTime;
+      case QueueWait:
+         return _queueWait;
+      default:
+         TR_ASSERT_FATAL(h == BytesTransferred, "Unknown histogram %d", (int)h);
+         return _bytesTransferred;
+      }
+   }
+
+void JITServerClientMetrics::addAOTCacheLookup(bool hit)
+   {
+   VM_AtomicSupport::add(hit ? &_aotCacheHits : &_aotCacheMisses, 1);
+   }
+
+// Escape a label value as required by the Prometheus text format
+static std::string
+escapeLabelValue(const std::string &value)
+   {
+   std::string escaped;
+   for (char c : value)
+      {
+      if (c == '\\' || c == '"')
+         escaped.push_back('\\');
+      else if (c == '\n')
+         {
+         escaped.append("\\n");
+         continue;
+         }
+      escaped.push_back(c);
+      }
+   return escaped;
+   }
+
+std::string ClientRequestHistogramMetric::serialize()
+   {
+   std::string output = serializeHeader();
+   for (size_t slot = 0; slot < MetricsServer::MAX_LABELED_CLIENTS; slot++)
+      {
+      uint64_t clientUID = _metricsServer->getLabeledClientUID(slot);
+      if (0 == clientUID)
+         break; // Slots are claimed in order
+      output.append(_metricsServer->getClientMetrics(slot).getHistogram(_histogram).serialize(getName(), "client=\"" + std::to_string(clientUID) + "\""));
+      }
+   RequestHistogram &others = _metricsServer->getClientMetrics(MetricsServer::MAX_LABELED_CLIENTS).getHistogram(_histogram);
+   if (others.getCount() > 0)
+      output.append(others.serialize(getName(), ""));
+   return output;
+   }
+
+std::string ClientAOTCacheLookupsMetric::serialize()
+   {
+   std::string output = serializeHeader();
+   for (size_t slot = 0; slot < MetricsServer::MAX_LABELED_CLIENTS; slot++)
+      {
+      uint64_t clientUID = _metricsServer->getLabeledClientUID(slot);
+      if (0 == clientUID)
+         break; // Slots are claimed in order
+      JITServerClientMetrics &clientMetrics = _metricsServer->getClientMetrics(slot);
+      std::string label = "client=\"" + std::to_string(clientUID) + "\",";
+      output.append(getName() + "{" + label + "result=\"hit\"} " + std::to_string(clientMetrics.getAOTCacheHits()) + "\n");
+      output.append(getName() + "{" + label + "result=\"miss\"} " + std::to_string(clientMetrics.getAOTCacheMisses()) + "\n");
+      }
+   JITServerClientMetrics &others = _metricsServer->getClientMetrics(MetricsServer::MAX_LABELED_CLIENTS);
+   if (others.getAOTCacheHits() + others.getAOTCacheMisses() > 0)
+      {
+      output.append(getName() + "{result=\"hit\"} " + std::to_string(others.getAOTCacheHits()) + "\n");
+      output.append(getName() + "{result=\"miss\"} " + std::to_string(others.getAOTCacheMisses()) + "\n");
+      }
+   return output;
+   }
+
+double AOTCacheLookupsMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   for (size_t i = 0; i <= MAX_LABELED_CACHES; i++)
+      {
+      _hits[i] = 0;
+      _misses[i] = 0;
+      }
+   JITServerAOTCacheMap *aotCacheMap = compInfo->getJITServerAOTCacheMap();
+   if (aotCacheMap)
+      {
+      aotCacheMap->getCacheHitsAndMisses([this](const std::string &name, size_t hits, size_t misses)
+         {
+         size_t i = 0;
+         while ((i < _numLabeledCaches) && (_labeledCaches[i] != name))
+            i++;
+         if ((i == _numLabeledCaches) && (_numLabeledCaches < MAX_LABELED_CACHES))
+            _labeledCaches[_numLabeledCaches++] = name;
+         // i == MAX_LABELED_CACHES selects the aggregate of the caches without a label
+         _hits[i] += hits;
+         _misses[i] += misses;
+         });
+      }
+   return 0;
+   }
+
+std::string AOTCacheLookupsMetric::serialize()
+   {
+   std::string output = serializeHeader();
+   for (size_t i = 0; i < _numLabeledCaches; i++)
+      {
+      std::string label = "cache=\"" + escapeLabelValue(_labeledCaches[i]) + "\",";
+      output.append(getName() + "{" + label + "result=\"hit\"} " + std::to_string(_hits[i]) + "\n");
+      output.append(getName() + "{" + label + "result=\"miss\"} " + std::to_string(_misses[i]) + "\n");
+      }
+   if (_hits[MAX_LABELED_CACHES] + _misses[MAX_LABELED_CACHES] > 0)
+      {
+      output.append(getName() + "{result=\"hit\"} " + std::to_string(_hits[MAX_LABELED_CACHES]) + "\n");
+      output.append(getName() + "{result=\"miss\"} " + std::to_string(_misses[MAX_LABELED_CACHES]) + "\n");
+      }
+   return output;
+   }
+
+double SharedROMClassCacheLookupsMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   JITServerSharedROMClassCache *romClassCache = compInfo->getJITServerSharedROMClassCache();
+   if (romClassCache)
+      {
+      _hits = romClassCache->getNumHits();
+      _misses = romClassCache->getNumMisses();
+      }
+   return 0;
+   }
+
+std::string SharedROMClassCacheLookupsMetric::serialize()
+   {
+   return serializeHeader() +
+          getName() + "{result=\"hit\"} " + std::to_string(_hits) + "\n" +
+          getName() + "{result=\"miss\"} " + std::to_string(_misses) + "\n";
+   }
+
+double HeapUsedMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   J9JavaVM *javaVM = compInfo->getJITConfig()->javaVM;
+   J9MemoryManagerFunctions *mmFuncs = javaVM->memoryManagerFunctions;
+   setValue(mmFuncs->j9gc_heap_total_memory(javaVM) - mmFuncs->j9gc_heap_free_memory(javaVM));
+   return getValue();
+   }
+
+double HeapCommittedMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   J9JavaVM *javaVM = compInfo->getJITConfig()->javaVM;
+   setValue(javaVM->memoryManagerFunctions->j9gc_heap_total_memory(javaVM));
+   return getValue();
+   }
+
+double HeapMaxMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   J9JavaVM *javaVM = compInfo->getJITConfig()->javaVM;
+   setValue(javaVM->memoryManagerFunctions->j9gc_get_maximum_heap_size(javaVM));
+   return getValue();
+   }
+
+double CompilationQueueSizeMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   // Read without the compilation queue monitor so that a scrape
+   // never delays the application threads queuing methods
+   setValue(compInfo->getMethodQueueSize());
+   return getValue();
+   }
+
+double CompilationsMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   setValue(compInfo->getNumTotalCompilations());
+   return getValue();
+   }
+
+double SharedCacheAOTMethodsFoundMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   setValue(compInfo->numMethodsFoundInSharedCache());
+   return getValue();
+   }
+
+double SharedCacheAOTLoadsMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   setValue(compInfo->getNumMethodsLoadedFromSharedCache());
+   return getValue();
+   }
+
+double CodeCacheUsedMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   setValue(TR::CodeCacheManager::instance()->getCurrTotalUsedInBytes());
+   return getValue();
+   }
+
+double CodeCacheCapacityMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   setValue(((uint64_t)compInfo->getJITConfig()->codeCacheTotalKB) << 10);
+   return getValue();
+   }
+
+double MonitorContentionMetric::computeValue(TR::CompilationInfo *compInfo)
+   {
+   // The counters of the live threads are summed under vmThreadListMutex, which is also held
+   // while exiting threads add their counter to the accumulator, so no enter is lost or counted
+   // twice. Only thread creation and destruction compete for this mutex.
+   J9JavaVM *javaVM = compInfo->getJITConfig()->javaVM;
+   omrthread_monitor_enter(javaVM->vmThreadListMutex);
+   uint64_t total = _metricsServer->getExitedThreadsContendedEnters();
+   J9VMThread *walkThread = javaVM->mainThread;
+   if (walkThread)
+      {
+      do
+         {
+         total += walkThread->mgmtBlockedCount;
+         walkThread = walkThread->linkNext;
+         }
+      while (walkThread != javaVM->mainThread);
+      }
+   omrthread_monitor_exit(javaVM->vmThreadListMutex);
+   setValue(total);
+   return getValue();
+   }
+
+MetricsDatabase::MetricsDatabase(TR::CompilationInfo *compInfo, MetricsServer *metricsServer) : _numMetrics(0), _compInfo(compInfo)
+   {
+   if (compInfo->getPersistentInfo()->getRemoteCompilationMode() == JITServer::SERVER)
+      {
+      addMetric(new (PERSISTENT_NEW) CPUUtilMetric());
+      addMetric(new (PERSISTENT_NEW) AvailableMemoryMetric());
+      addMetric(new (PERSISTENT_NEW) ConnectedClientsMetric());
+      addMetric(new (PERSISTENT_NEW) ActiveThreadsMetric("jitserver_active_threads"));
+      addMetric(new (PERSISTENT_NEW) ClientRequestHistogramMetric("jitserver_compilation_time_seconds",
+         "Time from the receipt of a compilation request to the end of the compilation", metricsServer, JITServerClientMetrics::CompilationTime));
+      addMetric(new (PERSISTENT_NEW) ClientRequestHistogramMetric("jitserver_queue_wait_seconds",
+         "Time compilation requests waited in the queue for a compilation thread", metricsServer, JITServerClientMetrics::QueueWait));
+      addMetric(new (PERSISTENT_NEW) ClientRequestHistogramMetric("jitserver_compilation_transferred_bytes",
+         "Bytes exchanged with the client while serving a compilation request", metricsServer, JITServerClientMetrics::BytesTransferred));
+      addMetric(new (PERSISTENT_NEW) ClientAOTCacheLookupsMetric(metricsServer));
+      addMetric(new (PERSISTENT_NEW) AOTCacheLookupsMetric());
+      addMetric(new (PERSISTENT_NEW) SharedROMClassCacheLookupsMetric());
+      }
+   else
+      {
+      addMetric(new (PERSISTENT_NEW) GCPauseMetric(metricsServer));
+      addMetric(new (PERSISTENT_NEW) HeapUsedMetric());
+      addMetric(new (PERSISTENT_NEW) HeapCommittedMetric());
+      addMetric(new (PERSISTENT_NEW) HeapMaxMetric());
+      addMetric(new (PERSISTENT_NEW) CompilationQueueSizeMetric());
+      addMetric(new (PERSISTENT_NEW) CompilationsMetric());
+      addMetric(new (PERSISTENT_NEW) ActiveThreadsMetric("jvm_jit_active_threads"));
+      addMetric(new (PERSISTENT_NEW) CodeCacheUsedMetric());
+      addMetric(new (PERSISTENT_NEW) CodeCacheCapacityMetric());
+      addMetric(new (PERSISTENT_NEW) SharedCacheAOTMethodsFoundMetric());
+      addMetric(new (PERSISTENT_NEW) SharedCacheAOTLoadsMetric());
+      addMetric(new (PERSISTENT_NEW) MonitorContentionMetric(metricsServer));
+      }
+   }
+
+void
+MetricsDatabase::addMetric(PrometheusMetric *metric)
+   {
+   TR_ASSERT_FATAL(_numMetrics < MAX_METRICS, "Unsupported number of metrics");
+   _metrics[_numMetrics++] = metric;
    }
 
 MetricsDatabase::~MetricsDatabase()
    {
-   for (int i =0; i < MAX_METRICS; i++)
+   for (int i =0; i < _numMetrics; i++)
       {
       _metrics[i]->~PrometheusMetric();
       TR_Memory::jitPersistentFree(_metrics[i]);
@@ -165,7 +525,7 @@ std::string
 MetricsDatabase::serializeMetrics()
    {
    std::string output;
-   for (int i =0; i < MAX_METRICS; i++)
+   for (int i =0; i < _numMetrics; i++)
       {
       _metrics[i]->computeValue(_compInfo);
       output.append(_metrics[i]->serialize());
@@ -380,10 +740,36 @@ HttpGetRequest::sendHttpResponse()
 
 MetricsServer::MetricsServer()
    : _metricsThread(NULL), _metricsMonitor(NULL), _metricsOSThread(NULL),
-   _metricsThreadAttachAttempted(false), _metricsThreadExitFlag(false), _jitConfig(NULL), _sslCtx(NULL)
+   _metricsThreadAttachAttempted(false), _metricsThreadExitFlag(false), _jitConfig(NULL), _sslCtx(NULL),
+   _exitedThreadsContendedEnters(0)
    {
    for (int i = 0; i < 1 + MAX_CONCURRENT_REQUESTS; i++)
       _pfd[i].fd = -1; // invalid
+   for (size_t i = 0; i < MAX_LABELED_CLIENTS; i++)
+      _labeledClientUIDs[i] = 0;
+   }
+
+void
+MetricsServer::recordCompilationRequest(uint64_t clientUID, uint64_t queueWaitUs, uint64_t compilationTimeUs,
+                                        uint64_t bytesTransferred, bool aotCacheLookup, bool aotCacheHit)
+   {
+   // Find the slot of this client, claiming the first free one if the client doesn't have a slot yet.
+   // Every thread inspects the slots in the same order, so a client can never end up with two slots.
+   size_t slot = (0 != clientUID) ? 0 : MAX_LABELED_CLIENTS; // 0 marks a free slot
+   for (; slot < MAX_LABELED_CLIENTS; slot++)
+      {
+      uintptr_t slotUID = _labeledClientUIDs[slot];
+      if (0 == slotUID)
+         slotUID = VM_AtomicSupport::lockCompareExchange(&_labeledClientUIDs[slot], 0, (uintptr_t)clientUID);
+      if ((0 == slotUID) || (slotUID == clientUID))
+         break;
+      }
+   JITServerClientMetrics &clientMetrics = _clientMetrics[slot];
+   clientMetrics.getHistogram(JITServerClientMetrics::QueueWait).observe(queueWaitUs);
+   clientMetrics.getHistogram(JITServerClientMetrics::CompilationTime).observe(compilationTimeUs);
+   clientMetrics.getHistogram(JITServerClientMetrics::BytesTransferred).observe(bytesTransferred);
+   if (aotCacheLookup)
+      clientMetrics.addAOTCacheLookup(aotCacheHit);
    }
 
 MetricsServer * MetricsServer::allocate()
@@ -415,7 +801,10 @@ static int32_t J9THREAD_PROC metricsThreadProc(void * entryarg)
    if (rc != JNI_OK)
       return JNI_ERR; // attaching the JITServer Listener thread failed
 
-   j9thread_set_name(j9thread_self(), "JITServer Metrics");
+   if (TR::CompilationInfo::get(jitConfig)->getPersistentInfo()->getRemoteCompilationMode() == JITServer::SERVER)
+      j9thread_set_name(j9thread_self(), "JITServer Metrics");
+   else
+      j9thread_set_name(j9thread_self(), "JVM Metrics");
 
    metricsServer->serveMetricsRequests(); // Will block here till shutdown
 
@@ -431,6 +820,63 @@ static int32_t J9THREAD_PROC metricsThreadProc(void * entryarg)
    return 0;
    }
 
+static void
+jvmMetricsHookGlobalGCStart(J9HookInterface **hookInterface, UDATA eventNum, void *eventData, void *userData)
+   {
+   J9VMThread *vmThread = (J9VMThread *)((MM_GlobalGCStartEvent *)eventData)->currentThread->_language_vmthread;
+   PORT_ACCESS_FROM_VMC(vmThread);
+   ((MetricsServer *)userData)->getGlobalGCPauses().pauseStarted(j9time_nano_time());
+   }
+
+static void
+jvmMetricsHookGlobalGCEnd(J9HookInterface **hookInterface, UDATA eventNum, void *eventData, void *userData)
+   {
+   J9VMThread *vmThread = (J9VMThread *)((MM_GlobalGCEndEvent *)eventData)->currentThread->_language_vmthread;
+   PORT_ACCESS_FROM_VMC(vmThread);
+   ((MetricsServer *)userData)->getGlobalGCPauses().pauseEnded(j9time_nano_time());
+   }
+
+static void
+jvmMetricsHookLocalGCStart(J9HookInterface **hookInterface, UDATA eventNum, void *eventData, void *userData)
+   {
+   J9VMThread *vmThread = (J9VMThread *)((MM_LocalGCStartEvent *)eventData)->currentThread->_language_vmthread;
+   PORT_ACCESS_FROM_VMC(vmThread);
+   ((MetricsServer *)userData)->getLocalGCPauses().pauseStarted(j9time_nano_time());
+   }
+
+static void
+jvmMetricsHookLocalGCEnd(J9HookInterface **hookInterface, UDATA eventNum, void *eventData, void *userData)
+   {
+   J9VMThread *vmThread = (J9VMThread *)((MM_LocalGCEndEvent *)eventData)->currentThread->_language_vmthread;
+   PORT_ACCESS_FROM_VMC(vmThread);
+   ((MetricsServer *)userData)->getLocalGCPauses().pauseEnded(j9time_nano_time());
+   }
+
+static void
+jvmMetricsHookThreadDestroy(J9HookInterface **hookInterface, UDATA eventNum, void *eventData, void *userData)
+   {
+   // Triggered with vmThreadListMutex held
+   J9VMThread *vmThread = ((J9VMThreadDestroyEvent *)eventData)->vmThread;
+   ((MetricsServer *)userData)->addExitedThreadContendedEnters(vmThread->mgmtBlockedCount);
+   }
+
+bool
+MetricsServer::registerJVMMetricsHooks(J9JavaVM *javaVM)
+   {
+   J9HookInterface **vmHooks = javaVM->internalVMFunctions->getVMHookInterface(javaVM);
+   J9HookInterface **gcOmrHooks = javaVM->memoryManagerFunctions->j9gc_get_omr_hook_interface(javaVM->omrVM);
+
+   if ((*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_GLOBAL_GC_START, jvmMetricsHookGlobalGCStart, OMR_GET_CALLSITE(), this) ||
+       (*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_GLOBAL_GC_END, jvmMetricsHookGlobalGCEnd, OMR_GET_CALLSITE(), this) ||
+       (*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_LOCAL_GC_START, jvmMetricsHookLocalGCStart, OMR_GET_CALLSITE(), this) ||
+       (*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_LOCAL_GC_END, jvmMetricsHookLocalGCEnd, OMR_GET_CALLSITE(), this) ||
+       (*vmHooks)->J9HookRegisterWithCallSite(vmHooks, J9HOOK_VM_THREAD_DESTROY, jvmMetricsHookThreadDestroy, OMR_GET_CALLSITE(), this))
+      {
+      return false;
+      }
+   return true;
+   }
+
 void
 MetricsServer::startMetricsThread(J9JavaVM *javaVM)
    {
@@ -759,7 +1205,7 @@ MetricsServer::serveMetricsRequests()
    reArmSocketForReading(0);
    _numActiveSockets = 1;
 
-   MetricsDatabase metricsDatabase(compInfo);
+   MetricsDatabase metricsDatabase(compInfo, this);
 
    if (useSSL(compInfo))
       {
@@ -29,6 +29,7 @@
 #include "infra/Monitor.hpp"  // for TR::Monitor
 
 namespace TR { class CompilationInfo; }
+class MetricsServer;
 
 /**
    @class PrometheusMetric
@@ -36,12 +37,13 @@ namespace TR { class CompilationInfo; }
 
    PrometheusMetric is an abstract class and concrete classes need to be derived from it.
    Derived classes need to implement the `computeValue()` function and possibly the
-   destructor, if they allocate memory dynamically.
+   destructor, if they allocate memory dynamically. Metrics that are not a single
+   gauge or counter value (e.g. histograms) also override `serialize()`.
  */
 class PrometheusMetric
    {
    public:
-   PrometheusMetric(const std::string &name, const std::string &help) :_name(name), _help(help) {}
+   PrometheusMetric(const std::string &name, const std::string &help, const char *type = "gauge") :_name(name), _help(help), _type(type), _value(0) {}
    virtual ~PrometheusMetric() {}
    /**
       @brief Compute the value of the metric that is to be monitored and cache it
@@ -57,14 +59,20 @@ class PrometheusMetric
       @brief Build a std::string that encodes the value of the metric in a format understood by Prometheus
       @return Serialized value of the metric (as a std::string)
    */
-   std::string serialize()
+   virtual std::string serialize()
       {
-      return "# HELP " + getName() + " " + getHelp() + "\n# TYPE " + getName() + " gauge\n" + getName() + " " + std::to_string(getValue()) + "\n";
+      return serializeHeader() + getName() + " " + std::to_string(getValue()) + "\n";
       }
 
    protected:
+   std::string serializeHeader()
+      {
+      return "# HELP " + getName() + " " + getHelp() + "\n# TYPE " + getName() + " " + _type + "\n";
+      }
+
    const std::string _name;
    const std::string _help;
+   const char * const _type; // "gauge", "counter" or "histogram"
    double _value;
    }; // class PrometheusMetric
 
@@ -107,26 +115,338 @@ public:
 class ActiveThreadsMetric : public PrometheusMetric
    {
 public:
-   ActiveThreadsMetric() : PrometheusMetric("jitserver_active_threads", "Number of active compilation threads")
+   /**
+      @param name Name of the metric: jitserver_active_threads on a JITServer, jvm_jit_active_threads otherwise
+   */
+   ActiveThreadsMetric(const char *name) : PrometheusMetric(name, "Number of active compilation threads")
       {}
    virtual double computeValue(TR::CompilationInfo *compInfo);
    }; // class ActiveThreadsMetric
 
+/**
+   @class GCPauseHistogram
+   @brief Distribution of the durations of one kind of stop-the-world GC
+
+   The GC start/end hooks are only ever triggered by one GC thread at a time,
+   so the counters have a single writer and can be updated without atomics.
+   The metrics thread reads them without a lock; a scrape that races with the
+   end of a GC may miss that pause, which is then reported by the next scrape.
+ */
+class GCPauseHistogram
+   {
+public:
+   static const size_t NUM_BUCKETS = 12;
+   static const uint64_t BUCKET_BOUNDS_NS[NUM_BUCKETS]; // upper bounds; the implicit last bucket is +Inf
+
+   GCPauseHistogram() : _pauseStartNs(0), _sumNs(0)
+      {
+      for (size_t i = 0; i <= NUM_BUCKETS; i++)
+         _buckets[i] = 0;
+      }
+   void pauseStarted(uint64_t nowNs) { _pauseStartNs = nowNs; }
+   void pauseEnded(uint64_t nowNs);
+   /**
+      @brief Serialize the cumulative buckets, sum and count as Prometheus histogram samples
+      @param name Name of the histogram metric
+      @param label Label pair (e.g. collector="global") which distinguishes this histogram
+   */
+   std::string serialize(const std::string &name, const char *label) const;
+
+private:
+   uint64_t _pauseStartNs;
+   volatile uint64_t _sumNs;
+   volatile uint64_t _buckets[NUM_BUCKETS + 1]; // non-cumulative counts
+   }; // class GCPauseHistogram
+
+/**
+   @brief Class used to serialize the GC pause time distributions of an OpenJ9 JVM, as a histogram understood by Prometheus
+ */
+class GCPauseMetric : public PrometheusMetric
+   {
+public:
+   GCPauseMetric(MetricsServer *metricsServer) : PrometheusMetric("jvm_gc_pause_seconds", "Duration of stop-the-world garbage collections", "histogram"),
+      _metricsServer(metricsServer)
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo) { return 0; } // All values are produced by serialize()
+   virtual std::string serialize();
+private:
+   MetricsServer *_metricsServer;
+   }; // class GCPauseMetric
+
+/**
+   @class RequestHistogram
+   @brief Distribution of a quantity measured once per compilation request served by the JITServer
+
+   Unlike GCPauseHistogram, observations are recorded concurrently by all the
+   compilation threads, so the counters are updated with atomic adds. The metrics
+   thread reads them without synchronization; the exported count is derived from
+   the buckets, so it always agrees with the +Inf bucket.
+ */
+class RequestHistogram
+   {
+public:
+   static const size_t MAX_BUCKETS = 16;
+
+   /**
+      @param bounds Upper bounds of the buckets in increasing order; the implicit last bucket is +Inf
+      @param numBuckets Number of bounds, at most MAX_BUCKETS
+      @param unitsPerExportedUnit Observations, bounds and the sum are divided by this when serialized
+   */
+   RequestHistogram(const uint64_t *bounds, size_t numBuckets, double unitsPerExportedUnit);
+   void observe(uint64_t value);
+   uint64_t getCount() const;
+   /**
+      @brief Serialize the cumulative buckets, sum and count as Prometheus histogram samples
+      @param name Name of the histogram metric
+      @param label Label pair (e.g. client="1234") which distinguishes this histogram; may be empty
+   */
+   std::string serialize(const std::string &name, const std::string &label) const;
+
+private:
+   const uint64_t * const _bounds;
+   const size_t _numBuckets;
+   const double _unitsPerExportedUnit;
+   volatile uintptr_t _sum;
+   volatile uintptr_t _buckets[MAX_BUCKETS + 1]; // non-cumulative counts
+   }; // class RequestHistogram
+
+/**
+   @class JITServerClientMetrics
+   @brief Statistics about the compilation requests served by the JITServer for one client
+ */
+class JITServerClientMetrics
+   {
+public:
+   enum Histogram
+      {
+      CompilationTime = 0, // microseconds from the receipt of the request to the end of the compilation
+      QueueWait,           // microseconds the request waited in the queue for a compilation thread
+      BytesTransferred,    // bytes exchanged with the client while serving the request
+      NUM_HISTOGRAMS
+      };
+
+   JITServerClientMetrics();
+   RequestHistogram &getHistogram(Histogram h);
+   uintptr_t getAOTCacheHits() const { return _aotCacheHits; }
+   uintptr_t getAOTCacheMisses() const { return _aotCacheMisses; }
+   void addAOTCacheLookup(bool hit);
+
+private:
+   static const uint64_t TIME_BOUNDS_US[];
+   static const uint64_t BYTES_BOUNDS[];
+
+   RequestHistogram _compilationTime;
+   RequestHistogram _queueWait;
+   RequestHistogram _bytesTransferred;
+   volatile uintptr_t _aotCacheHits;
+   volatile uintptr_t _aotCacheMisses;
+   }; // class JITServerClientMetrics
+
+/**
+   @brief Class used to serialize one of the per-client request distributions of the JITServer, as a histogram understood by Prometheus
+
+   Only the first MetricsServer::MAX_LABELED_CLIENTS clients get their own series;
+   requests from any further clients are aggregated into a series without a client label.
+ */
+class ClientRequestHistogramMetric : public PrometheusMetric
+   {
+public:
+   ClientRequestHistogramMetric(const std::string &name, const std::string &help, MetricsServer *metricsServer, JITServerClientMetrics::Histogram histogram) :
+      PrometheusMetric(name, help, "histogram"), _metricsServer(metricsServer), _histogram(histogram)
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo) { return 0; } // All values are produced by serialize()
+   virtual std::string serialize();
+private:
+   MetricsServer *_metricsServer;
+   const JITServerClientMetrics::Histogram _histogram;
+   }; // class ClientRequestHistogramMetric
+
+/**
+   @brief Class used to serialize the AOT cache lookups of each JITServer client, as a counter understood by Prometheus
+ */
+class ClientAOTCacheLookupsMetric : public PrometheusMetric
+   {
+public:
+   ClientAOTCacheLookupsMetric(MetricsServer *metricsServer) :
+      PrometheusMetric("jitserver_client_aot_cache_lookups_total", "Number of AOT cache lookups made for each client, by result", "counter"),
+      _metricsServer(metricsServer)
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo) { return 0; } // All values are produced by serialize()
+   virtual std::string serialize();
+private:
+   MetricsServer *_metricsServer;
+   }; // class ClientAOTCacheLookupsMetric
+
+/**
+   @brief Class used to serialize the method lookups of each JITServer AOT cache, as a counter understood by Prometheus
+
+   A cache keeps the label it was first reported with. Once MAX_LABELED_CACHES names are in use,
+   the lookups of any further caches are aggregated into a series without a cache label.
+   This object is only ever used by the metrics thread, so the names need no synchronization.
+ */
+class AOTCacheLookupsMetric : public PrometheusMetric
+   {
+public:
+   static const size_t MAX_LABELED_CACHES = 16;
+
+   AOTCacheLookupsMetric() :
+      PrometheusMetric("jitserver_aot_cache_lookups_total", "Number of method lookups in each JITServer AOT cache, by result", "counter"),
+      _numLabeledCaches(0)
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   virtual std::string serialize();
+private:
+   std::string _labeledCaches[MAX_LABELED_CACHES];
+   size_t _numLabeledCaches;
+   uint64_t _hits[MAX_LABELED_CACHES + 1]; // last entry is for the caches without a label
+   uint64_t _misses[MAX_LABELED_CACHES + 1];
+   }; // class AOTCacheLookupsMetric
+
+/**
+   @brief Class used to serialize the lookups in the ROMClass cache shared by all JITServer clients, as a counter understood by Prometheus
+ */
+class SharedROMClassCacheLookupsMetric : public PrometheusMetric
+   {
+public:
+   SharedROMClassCacheLookupsMetric() :
+      PrometheusMetric("jitserver_shared_rom_class_cache_lookups_total", "Number of lookups in the shared ROMClass cache, by result", "counter"),
+      _hits(0), _misses(0)
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   virtual std::string serialize();
+private:
+   uint64_t _hits;
+   uint64_t _misses;
+   }; // class SharedROMClassCacheLookupsMetric
+
+/**
+   @brief Class used to serialize the amount of Java heap in use, as a metric understood by Prometheus
+ */
+class HeapUsedMetric : public PrometheusMetric
+   {
+public:
+   HeapUsedMetric() : PrometheusMetric("jvm_heap_used_bytes", "Java heap in use")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class HeapUsedMetric
+
+/**
+   @brief Class used to serialize the committed size of the Java heap, as a metric understood by Prometheus
+ */
+class HeapCommittedMetric : public PrometheusMetric
+   {
+public:
+   HeapCommittedMetric() : PrometheusMetric("jvm_heap_committed_bytes", "Committed size of the Java heap")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class HeapCommittedMetric
+
+/**
+   @brief Class used to serialize the maximum size of the Java heap, as a metric understood by Prometheus
+ */
+class HeapMaxMetric : public PrometheusMetric
+   {
+public:
+   HeapMaxMetric() : PrometheusMetric("jvm_heap_max_bytes", "Maximum size of the Java heap")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class HeapMaxMetric
+
+/**
+   @brief Class used to serialize the number of methods queued for compilation, as a metric understood by Prometheus
+ */
+class CompilationQueueSizeMetric : public PrometheusMetric
+   {
+public:
+   CompilationQueueSizeMetric() : PrometheusMetric("jvm_jit_queue_size", "Number of methods queued for compilation")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class CompilationQueueSizeMetric
+
+/**
+   @brief Class used to serialize the number of compilations performed by the JIT, as a metric understood by Prometheus
+ */
+class CompilationsMetric : public PrometheusMetric
+   {
+public:
+   CompilationsMetric() : PrometheusMetric("jvm_jit_compilations_total", "Number of compilation requests processed", "counter")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class CompilationsMetric
+
+/**
+   @brief Class used to serialize the number of methods with an AOT body in the shared class cache, as a metric understood by Prometheus
+ */
+class SharedCacheAOTMethodsFoundMetric : public PrometheusMetric
+   {
+public:
+   SharedCacheAOTMethodsFoundMetric() : PrometheusMetric("jvm_shared_cache_aot_methods_found_total", "Number of loaded methods found to have an AOT body in the shared class cache", "counter")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class SharedCacheAOTMethodsFoundMetric
+
+/**
+   @brief Class used to serialize the number of AOT bodies loaded from the shared class cache, as a metric understood by Prometheus
+ */
+class SharedCacheAOTLoadsMetric : public PrometheusMetric
+   {
+public:
+   SharedCacheAOTLoadsMetric() : PrometheusMetric("jvm_shared_cache_aot_loads_total", "Number of method bodies successfully loaded from the shared class cache", "counter")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class SharedCacheAOTLoadsMetric
+
+/**
+   @brief Class used to serialize the amount of code cache in use, as a metric understood by Prometheus
+ */
+class CodeCacheUsedMetric : public PrometheusMetric
+   {
+public:
+   CodeCacheUsedMetric() : PrometheusMetric("jvm_jit_code_cache_used_bytes", "Code cache in use")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class CodeCacheUsedMetric
+
+/**
+   @brief Class used to serialize the maximum size of the code cache, as a metric understood by Prometheus
+ */
+class CodeCacheCapacityMetric : public PrometheusMetric
+   {
+public:
+   CodeCacheCapacityMetric() : PrometheusMetric("jvm_jit_code_cache_capacity_bytes", "Maximum size of the code cache")
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+   }; // class CodeCacheCapacityMetric
+
+/**
+   @brief Class used to serialize the number of contended monitor enters, as a metric understood by Prometheus
+ */
+class MonitorContentionMetric : public PrometheusMetric
+   {
+public:
+   MonitorContentionMetric(MetricsServer *metricsServer) : PrometheusMetric("jvm_monitor_contended_enters_total", "Number of times a thread blocked entering a contended monitor", "counter"),
+      _metricsServer(metricsServer)
+      {}
+   virtual double computeValue(TR::CompilationInfo *compInfo);
+private:
+   MetricsServer *_metricsServer;
+   }; // class MonitorContentionMetric
+
 
 /**
    @class MetricsDatabase
    @brief Collection of metrics that need to be sent to Prometheus on demand
 
+   The JITServer exports metrics about the server, while other JVMs export metrics about the JVM itself.
    In order to add a new metric, derive a new class from PrometheusMetric and implement its
-   computeValue() method. Increment the MAX_METRICS constant accordingly. Change the constructor
-   of this class to dynamically allocate an instance of the new metric and store a pointer
-   of this metric instance into the _metrics array
+   computeValue() method. Change the constructor of this class to dynamically allocate an instance
+   of the new metric and add it with addMetric(), incrementing MAX_METRICS if needed.
  */
 class MetricsDatabase
    {
    public:
-   static const size_t MAX_METRICS = 4; // Maximum number of metrics our database can hold
-   MetricsDatabase(TR::CompilationInfo *compInfo);
+   static const size_t MAX_METRICS = 16; // Maximum number of metrics our database can hold
+   MetricsDatabase(TR::CompilationInfo *compInfo, MetricsServer *metricsServer);
    ~MetricsDatabase();
 
    /**
@@ -150,7 +470,10 @@ class MetricsDatabase
       }
 
    private:
+   void addMetric(PrometheusMetric *metric);
+
    PrometheusMetric *_metrics[MAX_METRICS]; // Array with pointers to metrics to be scrapped
+   size_t _numMetrics;
    TR::CompilationInfo *_compInfo;
    }; // MetricsDatabase
 
@@ -294,6 +617,10 @@ private:
    The code runs in a single, dedicated thread. Up to 4 requests can be handled
    concurrently, through the use of the 'poll' mechanism (with a timeout of 250 ms).
    The port on which the MetricsServer operates is specified with "-XX:JITServerMetricsPort=<NNN>".
+   The MetricsServer is enabled with "-XX:+MetricsServer" on the JITServer as well as on
+   ordinary JVMs (and JITServer clients), where it exports metrics about the JVM itself.
+   Those are gathered from native VM and JIT data structures, so serving a request
+   neither allocates on the Java heap nor requires VM access.
  */
 class MetricsServer
    {
@@ -313,10 +640,40 @@ public:
    void setMetricsThreadExitFlag() { _metricsThreadExitFlag = true; }
    void setJITConfig(J9JITConfig *jitConfig) { _jitConfig = jitConfig; }
    void serveMetricsRequests();
+   /**
+      @brief Register the VM and GC hooks that collect the data for the JVM metrics
+      @return true on success
+   */
+   bool registerJVMMetricsHooks(J9JavaVM *javaVM);
+   GCPauseHistogram &getGlobalGCPauses() { return _globalGCPauses; }
+   GCPauseHistogram &getLocalGCPauses() { return _localGCPauses; }
+   uint64_t getExitedThreadsContendedEnters() const { return _exitedThreadsContendedEnters; }
+   void addExitedThreadContendedEnters(uint64_t count) { _exitedThreadsContendedEnters += count; } // Caller holds vmThreadListMutex
+   /**
+      @brief Record the statistics of a compilation request served by the JITServer
+      @param clientUID UID of the client that sent the request
+      @param queueWaitUs Time the request waited for a compilation thread, in microseconds
+      @param compilationTimeUs Time from the receipt of the request to the end of the compilation, in microseconds
+      @param bytesTransferred Bytes exchanged with the client while serving the request
+      @param aotCacheLookup Whether the method was looked up in the AOT cache
+      @param aotCacheHit Whether the method was served from the AOT cache
+   */
+   void recordCompilationRequest(uint64_t clientUID, uint64_t queueWaitUs, uint64_t compilationTimeUs,
+                                 uint64_t bytesTransferred, bool aotCacheLookup, bool aotCacheHit);
+   /**
+      @brief Get the UID of the client whose statistics are kept in the given slot
+      @return The client UID, or 0 if the slot has not been claimed by a client yet
+   */
+   uint64_t getLabeledClientUID(size_t slot) const { return _labeledClientUIDs[slot]; }
+   /**
+      @brief Get the statistics kept in a slot; slot MAX_LABELED_CLIENTS holds the requests of all the clients without a slot
+   */
+   JITServerClientMetrics &getClientMetrics(size_t slot) { return _clientMetrics[slot]; }
 
    static const int METRICS_POLL_TIMEOUT = 250; // ms
    static const size_t MAX_CONCURRENT_REQUESTS = 4;
    static const uint32_t SEND_TIMEOUT = 500; // ms
+   static const size_t MAX_LABELED_CLIENTS = 16; // Bounds the number of series exported per metric
 
 private:
    int openSocketForListening(uint32_t port);
@@ -341,6 +698,15 @@ private:
    HttpGetRequest _requests[1 + MAX_CONCURRENT_REQUESTS];
 
    SSL_CTX *_sslCtx;
+
+   GCPauseHistogram _globalGCPauses;
+   GCPauseHistogram _localGCPauses;
+   volatile uint64_t _exitedThreadsContendedEnters; // Contended enters of threads that no longer exist
+   // Slots are claimed by the first clients to send a request and are never released, so the
+   // exported counters of a client never decrease. Claiming a slot is a compare-and-swap on its
+   // UID, which avoids taking a lock on the compilation path.
+   volatile uintptr_t _labeledClientUIDs[MAX_LABELED_CLIENTS];
+   JITServerClientMetrics _clientMetrics[MAX_LABELED_CLIENTS + 1];
    }; // class MetricsServer
 
 #endif // #ifndef METRICSSERVER_HPP
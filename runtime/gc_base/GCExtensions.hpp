@@ -118,6 +118,8 @@ public:
 #endif /* J9VM_GC_MODRON_SCAVENGER */
 	MM_ContinuationStats continuationStats;
 
+	uint64_t bytesAllocatedByExitedThreads; /**< Cumulative bytes allocated by mutator threads which have been destroyed. Only updated while holding the vmThreadListMutex */
+
 #if defined(J9VM_GC_DYNAMIC_CLASS_UNLOADING)
 	enum DynamicClassUnloading {
 		DYNAMIC_CLASS_UNLOADING_NEVER,
@@ -407,6 +409,7 @@ public:
 		, finalizeCycleInterval(J9_FINALIZABLE_INTERVAL)  /* 1/2 second */
 		, finalizeCycleLimit(0)  /* 0 seconds (i.e. no time limit) */
 #endif /* J9VM_GC_FINALIZATION */
+		, bytesAllocatedByExitedThreads(0)
 #if defined(J9VM_GC_DYNAMIC_CLASS_UNLOADING)
 		, dynamicClassUnloadingSet(false)
 		, dynamicClassUnloadingKickoffThresholdForced(false)
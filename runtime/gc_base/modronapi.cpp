@@ -1106,6 +1106,38 @@ j9gc_get_cumulative_bytes_allocated_by_thread(J9VMThread *vmThread, UDATA *cumul
 	return MM_EnvironmentBase::getEnvironment(vmThread->omrVMThread)->_objectAllocationInterface->getAllocationStats()->bytesAllocatedCumulative(cumulativeValue);
 }
 
+/**
+ * Return the number of bytes allocated by all mutator threads since the start of the VM, including
+ * threads which have since been destroyed. The contribution of destroyed threads is accumulated as they
+ * are torn down, so the result does not depend on which threads are currently alive.
+ * Acquires the vmThreadListMutex, so the caller must not already own it.
+ *
+ * @param[in] currentThread the current thread
+ * @return cumulative number of bytes allocated by all threads
+ */
+U_64
+j9gc_get_cumulative_bytes_allocated(J9VMThread *currentThread)
+{
+	J9JavaVM *javaVM = currentThread->javaVM;
+	MM_GCExtensions *extensions = MM_GCExtensions::getExtensions(javaVM);
+	U_64 result = 0;
+
+	omrthread_monitor_enter(javaVM->vmThreadListMutex);
+	/* A thread adds its total to bytesAllocatedByExitedThreads as it is unlinked, both under the vmThreadListMutex, so it is counted exactly once */
+	result = extensions->bytesAllocatedByExitedThreads;
+	GC_VMThreadListIterator iterator(javaVM);
+	J9VMThread *walkThread = NULL;
+	while (NULL != (walkThread = iterator.nextVMThread())) {
+		UDATA threadBytes = 0;
+		if (j9gc_get_cumulative_bytes_allocated_by_thread(walkThread, &threadBytes)) {
+			result += threadBytes;
+		}
+	}
+	omrthread_monitor_exit(javaVM->vmThreadListMutex);
+
+	return result;
+}
+
 /**
  * @param[in] vmThread the vmThread we are querying about
  * @param[out] anonymous cumulative value pointer for unloaded anonymous classes
@@ -98,6 +98,7 @@ void j9gc_set_allocation_sampling_interval(J9JavaVM *vm, UDATA samplingInterval)
 void j9gc_set_allocation_threshold(J9VMThread *vmThread, UDATA low, UDATA high);
 UDATA j9gc_get_bytes_allocated_by_thread(J9VMThread *vmThread);
 BOOLEAN j9gc_get_cumulative_bytes_allocated_by_thread(J9VMThread *vmThread, UDATA *cumulativeValue);
+U_64 j9gc_get_cumulative_bytes_allocated(J9VMThread *currentThread);
 void j9gc_get_CPU_times(J9JavaVM *javaVM, U_64 *mainCpuMillis, U_64 *workerCpuMillis, U_32 *maxThreads, U_32 *currentThreads);
 J9HookInterface** j9gc_get_private_hook_interface(J9JavaVM *javaVM);
 /**
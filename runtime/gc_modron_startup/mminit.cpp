@@ -218,6 +218,12 @@ cleanupMutatorModelJava(J9VMThread* vmThread)
 	if (NULL != env) {
 		J9JavaVM *vm = vmThread->javaVM;
 		J9VMDllLoadInfo *loadInfo = getGCDllLoadInfo(vm);
+		UDATA threadBytes = 0;
+
+		/* Keep the VM-wide allocation total monotonic once this thread is gone. The caller holds the vmThreadListMutex. */
+		if (j9gc_get_cumulative_bytes_allocated_by_thread(vmThread, &threadBytes)) {
+			MM_GCExtensions::getExtensions(vm)->bytesAllocatedByExitedThreads += threadBytes;
+		}
 
 		/* cleanupMutatorModelJava is called as part of the main vmThread shutdown, which happens after
 		 * gcCleanupHeapStructures has been called. We should therefore only flush allocation caches
@@ -103,6 +103,37 @@ jobject JNICALL Java_java_lang_Compiler_commandImpl(JNIEnv *env, jclass clazz, j
 }
 
 
+/**
+ * Passes a command to the JIT, as Compiler.command() does, for diagnostic commands.
+ *
+ * @return the result of the command, or -1 if there is no JIT
+ */
+jint JNICALL Java_openj9_internal_tools_attach_target_DiagnosticUtils_jitCommandImpl(JNIEnv *env, jclass clazz, jstring cmd)
+{
+	jint result = -1;
+#ifdef J9VM_INTERP_NATIVE_SUPPORT
+	J9VMThread *currentThread = (J9VMThread *) env;
+	J9JavaVM *vm = currentThread->javaVM;
+	J9JITConfig * jitConfig = vm->jitConfig;
+
+	if ((cmd != NULL) && (jitConfig != NULL) && (jitConfig->command != NULL)) {
+		const char * commandString = (const char *) (*env)->GetStringUTFChars(env, cmd, NULL);
+
+		if (commandString != NULL) {
+#if defined(J9VM_INTERP_ATOMIC_FREE_JNI)
+			J9InternalVMFunctions *vmFuncs = vm->internalVMFunctions;
+			vmFuncs->internalEnterVMFromJNI(currentThread);
+			vmFuncs->internalReleaseVMAccess(currentThread);
+#endif /* J9VM_INTERP_ATOMIC_FREE_JNI */
+			result = (jint)jitConfig->command(currentThread, commandString);
+			(*env)->ReleaseStringUTFChars(env, cmd, commandString);
+		}
+	}
+#endif
+	return result;
+}
+
+
 jboolean JNICALL Java_java_lang_Compiler_compileClassImpl(JNIEnv *env, jclass clazz, jclass compileClass)
 {
 	jboolean rc = JNI_FALSE;
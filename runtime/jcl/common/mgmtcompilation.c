@@ -50,6 +50,70 @@ Java_com_ibm_java_lang_management_internal_CompilationMXBeanImpl_isCompilationTi
 	return JNI_TRUE;
 }
 
+jint JNICALL
+Java_com_ibm_lang_management_internal_CompilationQueueMXBeanImpl_getQueueWaitStatsImpl(JNIEnv *env, jclass clazz, jlongArray waitTimes, jlongArray maxWaitTimes, jlongArray numRequests)
+{
+	jint result = -1;
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+	J9JavaVM *javaVM = ((J9VMThread *)env)->javaVM;
+	J9JITConfig *jitConfig = javaVM->jitConfig;
+
+	if ((NULL != jitConfig) && (NULL != jitConfig->jitGetCompilationQueueWaitStats)) {
+		U_64 waitTimeValues[J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES];
+		U_64 maxWaitTimeValues[J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES];
+		U_64 numRequestValues[J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES];
+		UDATA numClasses = J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES;
+		jsize length = (*env)->GetArrayLength(env, waitTimes);
+
+		if ((UDATA)length < numClasses) {
+			numClasses = (UDATA)length;
+		}
+		length = (*env)->GetArrayLength(env, maxWaitTimes);
+		if ((UDATA)length < numClasses) {
+			numClasses = (UDATA)length;
+		}
+		length = (*env)->GetArrayLength(env, numRequests);
+		if ((UDATA)length < numClasses) {
+			numClasses = (UDATA)length;
+		}
+
+		numClasses = jitConfig->jitGetCompilationQueueWaitStats(jitConfig, waitTimeValues, maxWaitTimeValues, numRequestValues, numClasses);
+		(*env)->SetLongArrayRegion(env, waitTimes, 0, (jsize)numClasses, (jlong *)waitTimeValues);
+		(*env)->SetLongArrayRegion(env, maxWaitTimes, 0, (jsize)numClasses, (jlong *)maxWaitTimeValues);
+		(*env)->SetLongArrayRegion(env, numRequests, 0, (jsize)numClasses, (jlong *)numRequestValues);
+		result = (jint)numClasses;
+	}
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
+
+	return result;
+}
+
+jint JNICALL
+Java_com_ibm_lang_management_internal_CodeCacheMXBeanImpl_getFragmentationStatsImpl(JNIEnv *env, jclass clazz, jlongArray stats)
+{
+	jint result = -1;
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+	J9JavaVM *javaVM = ((J9VMThread *)env)->javaVM;
+	J9JITConfig *jitConfig = javaVM->jitConfig;
+
+	if ((NULL != jitConfig) && (NULL != jitConfig->jitGetCodeCacheFragmentationStats)) {
+		U_64 values[J9JIT_CODE_CACHE_FRAGMENTATION_STATS];
+		UDATA numStats = J9JIT_CODE_CACHE_FRAGMENTATION_STATS;
+		jsize length = (*env)->GetArrayLength(env, stats);
+
+		if ((UDATA)length < numStats) {
+			numStats = (UDATA)length;
+		}
+
+		numStats = jitConfig->jitGetCodeCacheFragmentationStats(jitConfig, values, numStats);
+		(*env)->SetLongArrayRegion(env, stats, 0, (jsize)numStats, (jlong *)values);
+		result = (jint)numStats;
+	}
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
+
+	return result;
+}
+
 jboolean JNICALL
 Java_com_ibm_java_lang_management_internal_CompilationMXBeanImpl_isJITEnabled(JNIEnv *env, jobject beanInstance)
 {
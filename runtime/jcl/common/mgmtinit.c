@@ -327,6 +327,9 @@ managementTerminate(J9JavaVM *vm)
 	}
 #endif
 
+	/* stop the metrics sampler (mgmtsampler.c) before the data it reads goes away */
+	managementSamplerTerminate(vm);
+
 	/* destroy monitor */
 	omrthread_rwmutex_destroy(mgmt->managementDataLock);
 
@@ -103,6 +103,37 @@ typedef struct J9DLPARNotification {
 jint managementInit(J9JavaVM *vm);
 void managementTerminate(J9JavaVM *vm);
 
+/* Layout of the metrics sampler ring buffer (mgmtsampler.c); all slots are U_64.
+ * These constants have to match com.ibm.java.lang.management.internal.ManagementSampler.
+ */
+#define J9MGMT_SAMPLER_HEADER_WRITE_COUNT 0
+#define J9MGMT_SAMPLER_HEADER_RECORD_LONGS 1
+#define J9MGMT_SAMPLER_HEADER_CAPACITY 2
+#define J9MGMT_SAMPLER_HEADER_COLLECTOR_COUNT 3
+#define J9MGMT_SAMPLER_HEADER_POOL_COUNT 4
+#define J9MGMT_SAMPLER_HEADER_INTERVAL 5
+#define J9MGMT_SAMPLER_HEADER_LONGS 8
+
+#define J9MGMT_SAMPLER_RECORD_SEQUENCE 0
+#define J9MGMT_SAMPLER_RECORD_TIMESTAMP 1
+#define J9MGMT_SAMPLER_RECORD_CLASS_LOADS 2
+#define J9MGMT_SAMPLER_RECORD_CLASS_UNLOADS 3
+#define J9MGMT_SAMPLER_RECORD_LIVE_THREADS 4
+#define J9MGMT_SAMPLER_RECORD_DAEMON_THREADS 5
+#define J9MGMT_SAMPLER_RECORD_PEAK_THREADS 6
+#define J9MGMT_SAMPLER_RECORD_STARTED_THREADS 7
+#define J9MGMT_SAMPLER_RECORD_CPU_APPLICATION 8
+#define J9MGMT_SAMPLER_RECORD_CPU_RESOURCE_MONITOR 9
+#define J9MGMT_SAMPLER_RECORD_CPU_SYSTEM_JVM 10
+#define J9MGMT_SAMPLER_RECORD_CPU_GC 11
+#define J9MGMT_SAMPLER_RECORD_CPU_JIT 12
+#define J9MGMT_SAMPLER_RECORD_FIXED_LONGS 13
+/* followed by (count, time) for each collector, then (used, committed, max) for each heap pool */
+#define J9MGMT_SAMPLER_COLLECTOR_LONGS 2
+#define J9MGMT_SAMPLER_POOL_LONGS 3
+
+void managementSamplerTerminate(J9JavaVM *vm);
+
 
 #define MEMORY_SEGMENT_LIST_DO(segmentList, imageSegment) {\
 	J9MemorySegment *imageSegment, *i2; \
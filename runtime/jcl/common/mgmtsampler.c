@@ -0,0 +1,392 @@
+/*******************************************************************************
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ *******************************************************************************/
+
+/*
+ * The metrics sampler is an optional system thread which periodically copies the
+ * java.lang.management counters (class and thread counts, collector counts and times,
+ * heap pool usage and JVM CPU usage by thread category) into a ring buffer allocated
+ * outside the Java heap. The buffer is handed to Java as a direct ByteBuffer, so the
+ * MXBeans can read the latest sample, or a window of samples, without calling native code.
+ *
+ * Each record is published with a sequence number: the writer clears the sequence slot,
+ * fills in the record and then stores the sample number, with write barriers in between.
+ * A reader accepts a record only if it reads the same expected sequence number before
+ * and after copying the record.
+ */
+
+#include "jni.h"
+#include "j9.h"
+#include "j9consts.h"
+#include "jclprots.h"
+#include "mgmtinit.h"
+#include "ut_j9jcl.h"
+
+#include <string.h>
+
+#define SAMPLER_STATE_STARTING 0
+#define SAMPLER_STATE_RUNNING 1
+#define SAMPLER_STATE_STOP 2
+#define SAMPLER_STATE_TERMINATED 3
+#define SAMPLER_STATE_ABORT 4
+
+#define SAMPLER_MIN_INTERVAL_MILLIS 10
+#define SAMPLER_MIN_CAPACITY 2
+
+typedef struct J9ManagementSampler {
+	J9JavaVM *vm;
+	omrthread_monitor_t monitor;
+	UDATA state;
+	I_64 intervalMillis;
+	UDATA capacity;
+	UDATA collectorCount;
+	UDATA poolCount;
+	UDATA recordLongs;
+	UDATA bufferSize;
+	U_64 *buffer;
+} J9ManagementSampler;
+
+static void takeSample(J9VMThread *vmThread, J9ManagementSampler *sampler, U_64 sequence);
+static int J9THREAD_PROC samplerThreadProc(void *entryArg);
+static void stopSampler(J9ManagementSampler *sampler);
+static void samplerVMShutdown(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData);
+
+/**
+ * Copy the current management counters into the next slot of the ring buffer.
+ * @param vmThread the sampler thread, which must not have VM access
+ * @param sampler the sampler
+ * @param sequence the 1-based number of this sample
+ */
+static void
+takeSample(J9VMThread *vmThread, J9ManagementSampler *sampler, U_64 sequence)
+{
+	J9JavaVM *vm = sampler->vm;
+	J9JavaLangManagementData *mgmt = vm->managementData;
+	J9MemoryManagerFunctions *mmFuncs = vm->memoryManagerFunctions;
+	U_64 *record = sampler->buffer + J9MGMT_SAMPLER_HEADER_LONGS + (UDATA)((sequence - 1) % sampler->capacity) * sampler->recordLongs;
+	U_64 *slot = NULL;
+	J9ThreadsCpuUsage cpuUsage;
+	UDATA idx = 0;
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	memset(&cpuUsage, 0, sizeof(cpuUsage));
+	omrthread_monitor_enter(vm->vmThreadListMutex);
+	if (omrthread_get_jvm_cpu_usage_info(&cpuUsage) < 0) {
+		/* CPU usage by category is not available on this platform; record zeros */
+		memset(&cpuUsage, 0, sizeof(cpuUsage));
+	}
+	omrthread_monitor_exit(vm->vmThreadListMutex);
+
+	/* invalidate the slot before overwriting it */
+	record[J9MGMT_SAMPLER_RECORD_SEQUENCE] = 0;
+	issueWriteBarrier();
+
+	record[J9MGMT_SAMPLER_RECORD_TIMESTAMP] = (U_64)j9time_current_time_millis();
+	record[J9MGMT_SAMPLER_RECORD_CPU_APPLICATION] = (U_64)cpuUsage.applicationCpuTime;
+	record[J9MGMT_SAMPLER_RECORD_CPU_RESOURCE_MONITOR] = (U_64)cpuUsage.resourceMonitorCpuTime;
+	record[J9MGMT_SAMPLER_RECORD_CPU_SYSTEM_JVM] = (U_64)cpuUsage.systemJvmCpuTime;
+	record[J9MGMT_SAMPLER_RECORD_CPU_GC] = (U_64)cpuUsage.gcCpuTime;
+	record[J9MGMT_SAMPLER_RECORD_CPU_JIT] = (U_64)cpuUsage.jitCpuTime;
+
+	omrthread_rwmutex_enter_read(mgmt->managementDataLock);
+	record[J9MGMT_SAMPLER_RECORD_CLASS_LOADS] = mgmt->totalClassLoads;
+	record[J9MGMT_SAMPLER_RECORD_CLASS_UNLOADS] = mgmt->totalClassUnloads;
+	record[J9MGMT_SAMPLER_RECORD_LIVE_THREADS] = mgmt->liveJavaThreads;
+	record[J9MGMT_SAMPLER_RECORD_DAEMON_THREADS] = mgmt->liveJavaDaemonThreads;
+	record[J9MGMT_SAMPLER_RECORD_PEAK_THREADS] = mgmt->peakLiveJavaThreads;
+	record[J9MGMT_SAMPLER_RECORD_STARTED_THREADS] = mgmt->totalJavaThreadsStarted;
+	slot = record + J9MGMT_SAMPLER_RECORD_FIXED_LONGS;
+	for (idx = 0; idx < sampler->collectorCount; ++idx) {
+		J9GarbageCollectorData *gc = &mgmt->garbageCollectors[idx];
+		slot[0] = gc->lastGcInfo.index;
+		slot[1] = gc->totalGCTime;
+		slot += J9MGMT_SAMPLER_COLLECTOR_LONGS;
+	}
+	omrthread_rwmutex_exit_read(mgmt->managementDataLock);
+
+	/* acquire vmAccess for retrieving the pool usage in order to guarantee the values are consistent */
+	vm->internalVMFunctions->internalEnterVMFromJNI(vmThread);
+	for (idx = 0; idx < sampler->poolCount; ++idx) {
+		UDATA total = 0;
+		UDATA free = 0;
+		UDATA maximum = mmFuncs->j9gc_pool_memoryusage(vm, mgmt->memoryPools[idx].id & J9VM_MANAGEMENT_POOL_HEAP_ID_MASK, &free, &total);
+		slot[0] = (U_64)(total - free);
+		slot[1] = (U_64)total;
+		slot[2] = (U_64)maximum;
+		slot += J9MGMT_SAMPLER_POOL_LONGS;
+	}
+	vm->internalVMFunctions->internalExitVMToJNI(vmThread);
+
+	/* publish the record, then the count of samples written */
+	issueWriteBarrier();
+	record[J9MGMT_SAMPLER_RECORD_SEQUENCE] = sequence;
+	issueWriteBarrier();
+	sampler->buffer[J9MGMT_SAMPLER_HEADER_WRITE_COUNT] = sequence;
+}
+
+static int J9THREAD_PROC
+samplerThreadProc(void *entryArg)
+{
+	J9ManagementSampler *sampler = (J9ManagementSampler *)entryArg;
+	J9JavaVM *vm = sampler->vm;
+	J9VMThread *vmThread = NULL;
+	J9JavaVMAttachArgs attachArgs = {0};
+	IDATA rc = JNI_ERR;
+
+	attachArgs.version = JNI_VERSION_1_8;
+	attachArgs.name = "Management Metrics Sampler";
+	attachArgs.group = vm->systemThreadGroupRef;
+	rc = vm->internalVMFunctions->internalAttachCurrentThread(vm, &vmThread, &attachArgs,
+			J9_PRIVATE_FLAGS_DAEMON_THREAD | J9_PRIVATE_FLAGS_SYSTEM_THREAD | J9_PRIVATE_FLAGS_ATTACHED_THREAD,
+			omrthread_self());
+
+	omrthread_monitor_enter(sampler->monitor);
+	if (JNI_OK != rc) {
+		sampler->state = SAMPLER_STATE_ABORT;
+		omrthread_monitor_notify_all(sampler->monitor);
+		omrthread_exit(sampler->monitor);
+		/* NO GUARANTEED EXECUTION BEYOND THIS POINT */
+		return JNI_ERR;
+	}
+
+	if (SAMPLER_STATE_STARTING == sampler->state) {
+		U_64 sequence = 0;
+
+		sampler->state = SAMPLER_STATE_RUNNING;
+		omrthread_monitor_notify_all(sampler->monitor);
+		while (SAMPLER_STATE_RUNNING == sampler->state) {
+			omrthread_monitor_exit(sampler->monitor);
+			sequence += 1;
+			takeSample(vmThread, sampler, sequence);
+			omrthread_monitor_enter(sampler->monitor);
+			if (SAMPLER_STATE_RUNNING == sampler->state) {
+				omrthread_monitor_wait_timed(sampler->monitor, sampler->intervalMillis, 0);
+			}
+		}
+	}
+	omrthread_monitor_exit(sampler->monitor);
+
+	vm->internalVMFunctions->DetachCurrentThread((JavaVM *)vm);
+
+	omrthread_monitor_enter(sampler->monitor);
+	sampler->state = SAMPLER_STATE_TERMINATED;
+	omrthread_monitor_notify_all(sampler->monitor);
+	omrthread_exit(sampler->monitor);
+
+	/* NO GUARANTEED EXECUTION BEYOND THIS POINT */
+
+	return JNI_OK;
+}
+
+/**
+ * Ask the sampler thread to stop and wait for it to detach. Safe to call more than once.
+ */
+static void
+stopSampler(J9ManagementSampler *sampler)
+{
+	omrthread_monitor_enter(sampler->monitor);
+	if ((SAMPLER_STATE_STARTING == sampler->state) || (SAMPLER_STATE_RUNNING == sampler->state)) {
+		sampler->state = SAMPLER_STATE_STOP;
+		omrthread_monitor_notify_all(sampler->monitor);
+		while (SAMPLER_STATE_STOP == sampler->state) {
+			omrthread_monitor_wait(sampler->monitor);
+		}
+		Trc_JCL_managementSampler_stopped(NULL, sampler->buffer[J9MGMT_SAMPLER_HEADER_WRITE_COUNT]);
+	}
+	omrthread_monitor_exit(sampler->monitor);
+}
+
+static void
+samplerVMShutdown(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	stopSampler((J9ManagementSampler *)userData);
+}
+
+/**
+ * Start the metrics sampler, unless it is already running, and answer a read-only view of its ring buffer.
+ * This is called once, from the static initializer of ManagementSampler.
+ * @param env
+ * @param clazz
+ * @param intervalMillis the sampling interval in milliseconds
+ * @param capacity the number of samples retained in the ring buffer
+ * @return a direct ByteBuffer over the ring buffer, or NULL if the sampler could not be started
+ */
+jobject JNICALL
+Java_com_ibm_java_lang_management_internal_ManagementSampler_startImpl(JNIEnv *env, jclass clazz, jlong intervalMillis, jint capacity)
+{
+	J9JavaVM *vm = ((J9VMThread *)env)->javaVM;
+	J9JavaLangManagementData *mgmt = vm->managementData;
+	J9HookInterface **vmHooks = vm->internalVMFunctions->getVMHookInterface(vm);
+	J9ManagementSampler *sampler = mgmt->metricsSampler;
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	if (NULL != sampler) {
+		goto done;
+	}
+
+	sampler = j9mem_allocate_memory(sizeof(J9ManagementSampler), J9MEM_CATEGORY_VM_JCL);
+	if (NULL == sampler) {
+		goto fail;
+	}
+	memset(sampler, 0, sizeof(J9ManagementSampler));
+	sampler->vm = vm;
+	sampler->state = SAMPLER_STATE_STARTING;
+	sampler->intervalMillis = OMR_MAX(intervalMillis, SAMPLER_MIN_INTERVAL_MILLIS);
+	sampler->capacity = (UDATA)OMR_MAX(capacity, SAMPLER_MIN_CAPACITY);
+	sampler->collectorCount = mgmt->supportedCollectors;
+	sampler->poolCount = mgmt->supportedMemoryPools;
+	sampler->recordLongs = J9MGMT_SAMPLER_RECORD_FIXED_LONGS
+			+ (sampler->collectorCount * J9MGMT_SAMPLER_COLLECTOR_LONGS)
+			+ (sampler->poolCount * J9MGMT_SAMPLER_POOL_LONGS);
+	sampler->bufferSize = (J9MGMT_SAMPLER_HEADER_LONGS + (sampler->capacity * sampler->recordLongs)) * sizeof(U_64);
+
+	sampler->buffer = j9mem_allocate_memory(sampler->bufferSize, J9MEM_CATEGORY_VM_JCL);
+	if (NULL == sampler->buffer) {
+		goto fail;
+	}
+	memset(sampler->buffer, 0, sampler->bufferSize);
+	sampler->buffer[J9MGMT_SAMPLER_HEADER_RECORD_LONGS] = sampler->recordLongs;
+	sampler->buffer[J9MGMT_SAMPLER_HEADER_CAPACITY] = sampler->capacity;
+	sampler->buffer[J9MGMT_SAMPLER_HEADER_COLLECTOR_COUNT] = sampler->collectorCount;
+	sampler->buffer[J9MGMT_SAMPLER_HEADER_POOL_COUNT] = sampler->poolCount;
+	sampler->buffer[J9MGMT_SAMPLER_HEADER_INTERVAL] = (U_64)sampler->intervalMillis;
+
+	if (0 != omrthread_monitor_init_with_name(&sampler->monitor, 0, "management metrics sampler")) {
+		goto fail;
+	}
+
+	omrthread_monitor_enter(sampler->monitor);
+	if (J9THREAD_SUCCESS != vm->internalVMFunctions->createThreadWithCategory(
+			NULL,
+			vm->defaultOSStackSize,
+			J9THREAD_PRIORITY_NORMAL,
+			0,
+			samplerThreadProc,
+			sampler,
+			J9THREAD_CATEGORY_RESOURCE_MONITOR_THREAD)
+	) {
+		omrthread_monitor_exit(sampler->monitor);
+		goto fail;
+	}
+	while (SAMPLER_STATE_STARTING == sampler->state) {
+		omrthread_monitor_wait(sampler->monitor);
+	}
+	omrthread_monitor_exit(sampler->monitor);
+
+	if (SAMPLER_STATE_RUNNING != sampler->state) {
+		goto fail;
+	}
+
+	if (0 != (*vmHooks)->J9HookRegisterWithCallSite(vmHooks, J9HOOK_VM_SHUTTING_DOWN, samplerVMShutdown, OMR_GET_CALLSITE(), sampler)) {
+		stopSampler(sampler);
+		goto fail;
+	}
+
+	mgmt->metricsSampler = sampler;
+	Trc_JCL_managementSampler_started(env, (UDATA)sampler->intervalMillis, sampler->capacity, sampler->recordLongs);
+
+done:
+	return (*env)->NewDirectByteBuffer(env, sampler->buffer, (jlong)sampler->bufferSize);
+
+fail:
+	if (NULL != sampler) {
+		if (NULL != sampler->monitor) {
+			omrthread_monitor_destroy(sampler->monitor);
+		}
+		j9mem_free_memory(sampler->buffer);
+		j9mem_free_memory(sampler);
+	}
+	Trc_JCL_managementSampler_startFailed(env);
+	return NULL;
+}
+
+/**
+ * Answer the names of the sampled collectors followed by the names of the heap pools,
+ * in the order their values appear in each record.
+ * @param env
+ * @param clazz
+ * @return an array of names, or NULL if the sampler is not running
+ */
+jobjectArray JNICALL
+Java_com_ibm_java_lang_management_internal_ManagementSampler_getNamesImpl(JNIEnv *env, jclass clazz)
+{
+	J9JavaLangManagementData *mgmt = ((J9VMThread *)env)->javaVM->managementData;
+	J9ManagementSampler *sampler = mgmt->metricsSampler;
+	jclass stringClass = NULL;
+	jobjectArray names = NULL;
+	UDATA idx = 0;
+
+	if (NULL == sampler) {
+		return NULL;
+	}
+
+	stringClass = (*env)->FindClass(env, "java/lang/String");
+	if (NULL == stringClass) {
+		return NULL;
+	}
+	names = (*env)->NewObjectArray(env, (jsize)(sampler->collectorCount + sampler->poolCount), stringClass, NULL);
+	if (NULL == names) {
+		return NULL;
+	}
+
+	for (idx = 0; idx < sampler->collectorCount; ++idx) {
+		jstring name = (*env)->NewStringUTF(env, mgmt->garbageCollectors[idx].name);
+		if (NULL == name) {
+			return NULL;
+		}
+		(*env)->SetObjectArrayElement(env, names, (jsize)idx, name);
+		(*env)->DeleteLocalRef(env, name);
+	}
+
+	for (idx = 0; idx < sampler->poolCount; ++idx) {
+		jstring name = (*env)->NewStringUTF(env, mgmt->memoryPools[idx].name);
+		if (NULL == name) {
+			return NULL;
+		}
+		(*env)->SetObjectArrayElement(env, names, (jsize)(sampler->collectorCount + idx), name);
+		(*env)->DeleteLocalRef(env, name);
+	}
+
+	return names;
+}
+
+/**
+ * Stop the metrics sampler, if it was started, and release its ring buffer.
+ * Called from managementTerminate().
+ */
+void
+managementSamplerTerminate(J9JavaVM *vm)
+{
+	J9JavaLangManagementData *mgmt = vm->managementData;
+	J9ManagementSampler *sampler = mgmt->metricsSampler;
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	if (NULL != sampler) {
+		J9HookInterface **vmHooks = vm->internalVMFunctions->getVMHookInterface(vm);
+
+		(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_VM_SHUTTING_DOWN, samplerVMShutdown, sampler);
+		stopSampler(sampler);
+		mgmt->metricsSampler = NULL;
+		omrthread_monitor_destroy(sampler->monitor);
+		j9mem_free_memory(sampler->buffer);
+		j9mem_free_memory(sampler);
+	}
+}
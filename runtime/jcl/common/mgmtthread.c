@@ -44,6 +44,7 @@
 #include "j9cp.h"
 #include "jniidcacheinit.h"
 
+#include <stdlib.h>
 #include <string.h>
 
 #include "vmaccess.h"
@@ -102,6 +103,11 @@ typedef struct ThreadInfo {
 	} lockedSynchronizers;
 } ThreadInfo;
 
+typedef struct ThreadIDAndIndex {
+	jlong threadID;
+	jsize index;
+} ThreadIDAndIndex;
+
 typedef struct SynchronizerIterData {
 	ThreadInfo *allinfo;
 	UDATA allinfolen;
@@ -115,6 +121,7 @@ static void handlerMonitorWaited(J9HookInterface** hook, UDATA eventNum, void* e
 static jlongArray findDeadlockedThreads(JNIEnv *env, UDATA findFlags);
 
 static jlong getThreadID(J9VMThread *currentThread, j9object_t threadObj);
+static int compareThreadIDAndIndex(const void *left, const void *right);
 static J9VMThread *getThread(JNIEnv *env, jlong threadID);
 static jlong getThreadUserTime(omrthread_t thread);
 static jlong getCurrentThreadUserTime(omrthread_t self);
@@ -498,6 +505,99 @@ done:
 	return result;
 }
 
+/**
+ * Fill allocatedBytes with the cumulative allocated bytes of each thread in threadIDs, or -1 for threads
+ * which are not alive. The vmThreads are walked once, looking up each thread ID in a sorted copy of the
+ * requested IDs, rather than walking all vmThreads for every ID.
+ */
+void JNICALL
+Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getThreadsAllocatedBytesImpl(JNIEnv *env, jclass unused, jlongArray threadIDs, jlongArray allocatedBytes)
+{
+	PORT_ACCESS_FROM_ENV(env);
+	J9VMThread *currentThread = (J9VMThread *)env;
+	J9JavaVM *javaVM = currentThread->javaVM;
+	J9InternalVMFunctions *vmfns = javaVM->internalVMFunctions;
+	J9MemoryManagerFunctions *mmfns = javaVM->memoryManagerFunctions;
+	jsize count = (*env)->GetArrayLength(env, threadIDs);
+	jlong *ids = NULL;
+	jlong *results = NULL;
+	ThreadIDAndIndex *sorted = NULL;
+	J9VMThread *walkThread = NULL;
+	jsize i = 0;
+
+	if (0 == count) {
+		return;
+	}
+
+	ids = j9mem_allocate_memory(count * (2 * sizeof(jlong)), J9MEM_CATEGORY_VM_JCL);
+	sorted = j9mem_allocate_memory(count * sizeof(ThreadIDAndIndex), J9MEM_CATEGORY_VM_JCL);
+	if ((NULL == ids) || (NULL == sorted)) {
+		j9mem_free_memory(ids);
+		j9mem_free_memory(sorted);
+		vmfns->throwNativeOOMError(env, 0, 0);
+		return;
+	}
+	results = ids + count;
+
+	(*env)->GetLongArrayRegion(env, threadIDs, 0, count, ids);
+	for (i = 0; i < count; ++i) {
+		sorted[i].threadID = ids[i];
+		sorted[i].index = i;
+		results[i] = -1;
+	}
+	qsort(sorted, count, sizeof(ThreadIDAndIndex), compareThreadIDAndIndex);
+
+	vmfns->internalEnterVMFromJNI(currentThread);
+	omrthread_monitor_enter(javaVM->vmThreadListMutex);
+
+	walkThread = currentThread;
+	do {
+		j9object_t threadObject = walkThread->threadObject;
+
+		/* Only consider threads which are alive. */
+		if ((NULL != threadObject) && (NULL != J9VMJAVALANGTHREAD_THREADREF(currentThread, threadObject))) {
+			jlong threadID = getThreadID(currentThread, threadObject);
+			jsize low = 0;
+			jsize high = count;
+
+			/* Binary search for the first occurrence of threadID, then fill in every requested slot for it. */
+			while (low < high) {
+				jsize middle = low + ((high - low) / 2);
+				if (sorted[middle].threadID < threadID) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			if ((low < count) && (sorted[low].threadID == threadID)) {
+				UDATA threadBytes = 0;
+
+				if (mmfns->j9gc_get_cumulative_bytes_allocated_by_thread(walkThread, &threadBytes)) {
+					for (; (low < count) && (sorted[low].threadID == threadID); ++low) {
+						results[sorted[low].index] = (jlong)threadBytes;
+					}
+				}
+			}
+		}
+	} while ((walkThread = walkThread->linkNext) != currentThread);
+
+	omrthread_monitor_exit(javaVM->vmThreadListMutex);
+	vmfns->internalExitVMToJNI(currentThread);
+
+	(*env)->SetLongArrayRegion(env, allocatedBytes, 0, count, results);
+
+	j9mem_free_memory(sorted);
+	j9mem_free_memory(ids);
+}
+
+jlong JNICALL
+Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getTotalThreadAllocatedBytesImpl(JNIEnv *env, jclass unused)
+{
+	J9VMThread *currentThread = (J9VMThread *)env;
+
+	return (jlong)currentThread->javaVM->memoryManagerFunctions->j9gc_get_cumulative_bytes_allocated(currentThread);
+}
+
 void JNICALL
 Java_com_ibm_java_lang_management_internal_ThreadMXBeanImpl_resetPeakThreadCountImpl(JNIEnv *env, jobject beanInstance)
 {
@@ -952,6 +1052,21 @@ getThreadID(J9VMThread *currentThread, j9object_t threadObj)
 	return J9VMJAVALANGTHREAD_TID(currentThread, threadObj);
 }
 
+/**
+ * qsort comparator ordering ThreadIDAndIndex entries by thread ID.
+ */
+static int
+compareThreadIDAndIndex(const void *left, const void *right)
+{
+	jlong leftID = ((const ThreadIDAndIndex *)left)->threadID;
+	jlong rightID = ((const ThreadIDAndIndex *)right)->threadID;
+
+	if (leftID < rightID) {
+		return -1;
+	}
+	return (leftID > rightID) ? 1 : 0;
+}
+
 /**
  * Maps a threadID (the tid field of the java/lang/Thread object)
  * to its corresponding J9VMThread.
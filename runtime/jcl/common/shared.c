@@ -76,7 +76,7 @@ static const char* copyString(J9PortLibrary* portlib, const char* toCopy, UDATA
 UDATA urlHashFn(void* item, void *userData);
 static jint createURLEntry(JNIEnv *env, jint helperID, J9ClassPathEntry **cpEntry_, const char *correctedPathCopy, UDATA cpeType, U_16 cpeStatus);
 UDATA utfHashEqualFn(void* left, void* right, void *userData);
-static jint createROMClassCookie(JNIEnv* env, J9JavaVM* vm, J9ROMClass* romClass, jbyteArray romClassCookieBuffer);
+static jint createROMClassCookie(JNIEnv* env, J9JavaVM* vm, J9ROMClass* romClass, jbyteArray romClassCookieBuffer, jsize cookieOffset);
 static jint createToken(JNIEnv* env, jint helperID, J9ClassPathEntry** cpEntry_, const char* tokenChars, jsize tokenSize);
 static UDATA correctURLPath(JNIEnv* env, const char* pathChars, jsize pathLen, char** correctedPathPtr, J9SharedStringFarm** jclStringFarm);
 static const char* getCachedString(JNIEnv* env, const char* input, jsize length, J9SharedStringFarm** farmRoot, const J9UTF8** getUTF8);
@@ -200,7 +200,7 @@ _donePreAlloc:
 
 /* THREADING: Can be called multi-threaded */
 static jint
-createROMClassCookie(JNIEnv* env, J9JavaVM* vm, J9ROMClass* romClass, jbyteArray romClassCookieBuffer)
+createROMClassCookie(JNIEnv* env, J9JavaVM* vm, J9ROMClass* romClass, jbyteArray romClassCookieBuffer, jsize cookieOffset)
 {
 	IDATA i = 0;
 	J9ROMClassCookieSharedClass romClassCookie;
@@ -219,7 +219,7 @@ createROMClassCookie(JNIEnv* env, J9JavaVM* vm, J9ROMClass* romClass, jbyteArray
 	/* Create a magic number that we can check in romutil.c to prevent people hacking up ROMClass cookies from the java space */
 	romClassCookie.magic = J9_ROM_CLASS_COOKIE_MAGIC(vmthread->javaVM, romClass);
 
-	(*env)->SetByteArrayRegion(env, romClassCookieBuffer, (jsize)0, sizeof(J9ROMClassCookieSharedClass), (jbyte*)&romClassCookie);
+	(*env)->SetByteArrayRegion(env, romClassCookieBuffer, cookieOffset, sizeof(J9ROMClassCookieSharedClass), (jbyte*)&romClassCookie);
 
 	Trc_JCL_com_ibm_oti_shared_createROMClassCookie_Exit(env);
 	return 0;
@@ -1121,7 +1121,7 @@ Java_com_ibm_oti_shared_SharedClassTokenHelperImpl_findSharedClassImpl2(JNIEnv*
 	((J9VMThread*)env)->omrVMThread->vmState = oldState;
 
 	if (romClass) {
-		createROMClassCookie(env, vm, romClass, romClassCookie);
+		createROMClassCookie(env, vm, romClass, romClassCookie, 0);
 		Trc_JCL_com_ibm_oti_shared_SharedClassTokenHelperImpl_findSharedClassImpl_ExitTrue(env);
 		return TRUE;
 	}
@@ -1322,7 +1322,7 @@ Java_com_ibm_oti_shared_SharedClassURLHelperImpl_findSharedClassImpl3(JNIEnv* en
 	((J9VMThread*)env)->omrVMThread->vmState = oldState;
 
 	if (romClass) {
-		createROMClassCookie(env, vm, romClass, romClassCookie);
+		createROMClassCookie(env, vm, romClass, romClassCookie, 0);
 		Trc_JCL_com_ibm_oti_shared_SharedClassURLHelperImpl_findSharedClassImpl_ExitTrue(env);
 		return TRUE;
 	}
@@ -1735,7 +1735,7 @@ Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassImpl2(J
 	((J9VMThread*)env)->omrVMThread->vmState = oldState;
 
 	if (romClass) {
-		createROMClassCookie(env, vm, romClass, romClassCookie);
+		createROMClassCookie(env, vm, romClass, romClassCookie, 0);
 		/* trace event is at level 1 and trace exit message is at level 2 as per CMVC 155318/157683 */
 		Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassImpl_ExitResult_Event(env, indexFoundAt, helperID);		
 		Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassImpl_ExitResult(env, indexFoundAt);
@@ -1773,6 +1773,213 @@ _errorPostClassNamePartition:
 }
 
 
+/* Flags set by SharedClassURLClasspathHelperImpl.getFindStoreFlags() */
+#define FIND_SHARED_CLASSES_FIND_FLAG 1
+#define FIND_SHARED_CLASSES_STORE_FLAG 2
+#define FIND_SHARED_CLASSES_CLASS_NAME_FLAG 4
+
+/**
+ * Batch version of findSharedClassImpl2(). The classpath entries and the partition are resolved once,
+ * then each class name is looked up in turn without returning to Java.
+ * The cookie for classNames[i] is written at offset i * sizeof(J9ROMClassCookieSharedClass) in romClassCookies
+ * and the classpath index it was found at is written to indexesFoundAt[i]. Entries for classes that are not
+ * found are left untouched.
+ *
+ * @return the number of classes found, or -1 on error
+ */
+jint JNICALL
+Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl(JNIEnv* env, jobject thisObj, jint helperID,
+		jstring partitionObj, jobjectArray classNamesObj, jobject loaderObj, jobjectArray urlArrayObj, jbyteArray findStoreFlagsObj,
+		jint urlCount, jint confirmedCount, jbyteArray romClassCookies, jintArray indexesFoundAt)
+{
+#if defined(J9VM_OPT_SHARED_CLASSES)
+	J9VMThread* vmThread = ((J9VMThread*)env);
+	J9JavaVM* vm = vmThread->javaVM;
+	const char* partitionChars = NULL;
+	jsize partitionLen = 0;
+	J9ClassPathEntry** cpEntries = NULL;
+	UDATA entryCount = (UDATA)urlCount;
+	UDATA oldState;
+	const J9UTF8* partition = NULL;
+	omrthread_monitor_t jclCacheMutex;
+	J9ClassLoader* classloader;
+	URLElements* urlArrayElements = NULL;
+	jbyte* findStoreFlags = NULL;
+	jsize classCount = 0;
+	jint foundCount = 0;
+	IDATA i = 0;
+	jmethodID urlGetPathID = NULL;
+	jmethodID urlGetProtocolID = NULL;
+
+	PORT_ACCESS_FROM_VMC((J9VMThread*)env);
+
+	classCount = (*env)->GetArrayLength(env, classNamesObj);
+
+	Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_Entry(env, helperID, classCount);
+
+	jclCacheMutex = vm->sharedClassConfig->jclCacheMutex;
+
+	if ((helperID > 0xFFFF) || (vm->sharedClassConfig->runtimeFlags & J9SHR_RUNTIMEFLAG_DENY_CACHE_ACCESS)) {
+		Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitDenyAccess_Event(env, helperID);
+		Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitDenyAccess(env);
+		return -1;
+	}
+
+	oldState = vmThread->omrVMThread->vmState;
+	vmThread->omrVMThread->vmState = J9VMSTATE_SHAREDCLASS_FIND;
+
+	vm->internalVMFunctions->internalEnterVMFromJNI(vmThread);
+	classloader = J9VMJAVALANGCLASSLOADER_VMREF(vmThread, J9_JNI_UNWRAP_REFERENCE(loaderObj));
+	vm->internalVMFunctions->internalExitVMToJNI(vmThread);
+
+	if (!getStringChars(env, &partitionChars, &partitionLen, partitionObj)) {
+		Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitError2_Event(env, helperID);
+		goto _errorPostPartition;
+	}
+
+	urlGetPathID = JCL_CACHE_GET(env, MID_java_net_URL_getPath);
+	if (NULL == urlGetPathID) {
+		goto _errorPostPartition;
+	}
+	urlGetProtocolID = JCL_CACHE_GET(env, MID_java_net_URL_getProtocol);
+	if (NULL == urlGetProtocolID) {
+		goto _errorPostPartition;
+	}
+
+	if (NULL == classloader->classPathEntries) {
+		urlArrayElements = (URLElements *)j9mem_allocate_memory(urlCount * sizeof(URLElements), J9MEM_CATEGORY_VM_JCL);
+		if (NULL == urlArrayElements) {
+			goto _errorPostPartition;
+		}
+		memset(urlArrayElements, 0, urlCount * sizeof(URLElements));
+
+		for (i = 0; i < urlCount; i++) {
+			jobject url = (*env)->GetObjectArrayElement(env, urlArrayObj, (jsize)i);
+			if (JNI_TRUE == (*env)->ExceptionCheck(env)) {
+				goto _errorFreeURLElements;
+			}
+
+			if (!getPathProtocolFromURL(env, url, urlGetPathID, urlGetProtocolID, urlArrayElements + i)) {
+				goto _errorFreeURLElements;
+			}
+		}
+	}
+
+	omrthread_monitor_enter(jclCacheMutex);
+
+	/* See findSharedClassImpl2() */
+	cpEntries = classloader->classPathEntries;
+
+	if (!cpEntries) {
+		if (!createCPEntries(env, helperID, urlCount, &cpEntries, urlArrayElements)) {
+			if (cpEntries) {
+				j9mem_free_memory(cpEntries);
+			}
+			Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitError3_Event(env, helperID);
+			goto _errorWithMutex;
+		}
+		classloader->classPathEntries = cpEntries;
+		Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassImpl_SetCPE(env, classloader, cpEntries);
+	}
+
+	if (partitionChars) {
+		if (!getCachedString(env, partitionChars, partitionLen, &(vm->sharedClassConfig->jclStringFarm), &partition)) {
+			Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitError4_Event(env, helperID);
+			goto _errorWithMutex;
+		}
+	}
+	omrthread_monitor_exit(jclCacheMutex);
+
+	findStoreFlags = (*env)->GetByteArrayElements(env, findStoreFlagsObj, NULL);
+	if (NULL == findStoreFlags) {
+		goto _errorFreeURLElements;
+	}
+
+	for (i = 0; i < classCount; i++) {
+		jstring classNameObj = NULL;
+		const char* nameChars = NULL;
+		jsize nameLen = 0;
+		IDATA indexFoundAt = 0;
+		J9ROMClass* romClass = NULL;
+		jbyte flags = findStoreFlags[i];
+
+		if (J9_ARE_NO_BITS_SET(flags, FIND_SHARED_CLASSES_CLASS_NAME_FLAG)) {
+			/* null class name */
+			continue;
+		}
+		classNameObj = (jstring)(*env)->GetObjectArrayElement(env, classNamesObj, (jsize)i);
+		if (JNI_TRUE == (*env)->ExceptionCheck(env)) {
+			goto _errorReleaseFlags;
+		}
+		if (NULL == classNameObj) {
+			continue;
+		}
+		if (!getStringChars(env, &nameChars, &nameLen, classNameObj)) {
+			(*env)->DeleteLocalRef(env, classNameObj);
+			Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitError2_Event(env, helperID);
+			goto _errorReleaseFlags;
+		}
+
+		ALWAYS_TRIGGER_J9HOOK_VM_FIND_LOCALLY_DEFINED_CLASS(vm->hookInterface, vmThread, classloader, NULL,
+				(const char*)nameChars, (UDATA)nameLen, cpEntries, entryCount, confirmedCount, partition,
+				J9_ARE_NO_BITS_SET(flags, FIND_SHARED_CLASSES_FIND_FLAG), J9_ARE_NO_BITS_SET(flags, FIND_SHARED_CLASSES_STORE_FLAG),
+				&indexFoundAt, romClass);
+
+		releaseStringChars(env, classNameObj, nameChars);
+		/* Don't let local refs accumulate over a large batch */
+		(*env)->DeleteLocalRef(env, classNameObj);
+
+		if (NULL != romClass) {
+			jint foundAt = (jint)indexFoundAt;
+			Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_Result_Event(env, helperID, (jint)i, foundAt);
+			createROMClassCookie(env, vm, romClass, romClassCookies, (jsize)(i * sizeof(J9ROMClassCookieSharedClass)));
+			(*env)->SetIntArrayRegion(env, indexesFoundAt, (jsize)i, 1, &foundAt);
+			foundCount += 1;
+		}
+	}
+
+	(*env)->ReleaseByteArrayElements(env, findStoreFlagsObj, findStoreFlags, JNI_ABORT);
+
+	if (NULL != urlArrayElements) {
+		for (i = 0; i < urlCount; i++) {
+			/* NULL check is done in releaseStringPair(), so no need to do it here */
+			releaseStringPair(env, urlArrayElements[i].pathObj, urlArrayElements[i].pathChars, urlArrayElements[i].protocolObj, urlArrayElements[i].protocolChars);
+		}
+		j9mem_free_memory(urlArrayElements);
+	}
+
+	releaseStringChars(env, partitionObj, partitionChars);
+
+	vmThread->omrVMThread->vmState = oldState;
+
+	Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_Exit(env, foundCount, classCount);
+	return foundCount;
+
+_errorReleaseFlags:
+	(*env)->ReleaseByteArrayElements(env, findStoreFlagsObj, findStoreFlags, JNI_ABORT);
+	goto _errorFreeURLElements;
+_errorWithMutex:
+	omrthread_monitor_exit(jclCacheMutex);
+_errorFreeURLElements:
+	if (NULL != urlArrayElements) {
+		for (i = 0; i < urlCount; i++) {
+			/* NULL check is done in releaseStringPair(), no need to do it here */
+			releaseStringPair(env, urlArrayElements[i].pathObj, urlArrayElements[i].pathChars, urlArrayElements[i].protocolObj, urlArrayElements[i].protocolChars);
+		}
+		j9mem_free_memory(urlArrayElements);
+	}
+_errorPostPartition:
+	releaseStringChars(env, partitionObj, partitionChars);
+	(*env)->ExceptionClear(env);
+
+	vmThread->omrVMThread->vmState = oldState;
+
+	Trc_JCL_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl_ExitError(env);
+#endif 		/* J9VM_OPT_SHARED_CLASSES */
+
+	return -1;
+}
+
 jlong JNICALL
 Java_com_ibm_oti_shared_SharedClassStatistics_maxSizeBytesImpl(JNIEnv* env, jobject thisObj)
 {
@@ -2186,6 +2393,123 @@ _error:
 }
 
 
+/**
+ * Returns an array of alternating token strings and read-only direct ByteBuffers, one pair for every
+ * piece of JCL data stored against a token starting with prefixObj. The buffers point straight into the
+ * cache so no data is copied. Returns NULL if there is an error.
+ */
+jobjectArray JNICALL
+Java_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl(JNIEnv* env, jobject thisObj, jint helperID, jstring prefixObj)
+{
+#if defined(J9VM_OPT_SHARED_CLASSES)
+	J9VMThread* vmThread = (J9VMThread*)env;
+	J9JavaVM* vm = vmThread->javaVM;
+	J9SharedClassConfig* config = vm->sharedClassConfig;
+	const char* prefixChars = NULL;
+	jsize prefixLen = 0;
+	UDATA oldState = 0;
+	J9Pool* resultPool = NULL;
+	J9SharedDataKeyedDescriptor* anElement = NULL;
+	pool_state state;
+	char* keyBuffer = NULL;
+	UDATA keyBufferLen = 0;
+	jclass objectClass = NULL;
+	jobjectArray returnVal = NULL;
+	IDATA numElem = 0;
+	jsize index = 0;
+
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	Trc_JCL_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl_Entry(env, helperID);
+
+	if ((helperID > 0xFFFF) || (config->runtimeFlags & J9SHR_RUNTIMEFLAG_DENY_CACHE_ACCESS) || (NULL == config->findSharedDataByKeyPrefix)) {
+		Trc_JCL_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl_ExitDeny(env);
+		return NULL;
+	}
+
+	oldState = vmThread->omrVMThread->vmState;
+	vmThread->omrVMThread->vmState = J9VMSTATE_SHAREDDATA_FIND;
+
+	if (!(resultPool = pool_new(sizeof(J9SharedDataKeyedDescriptor), 0, 0, 0, J9_GET_CALLSITE(), J9MEM_CATEGORY_VM_JCL, POOL_FOR_PORT(PORTLIB)))) {
+		goto _error;
+	}
+
+	if (!getStringChars(env, &prefixChars, &prefixLen, prefixObj)) {
+		goto _error;
+	}
+
+	omrthread_monitor_enter(config->jclCacheMutex);
+	numElem = config->findSharedDataByKeyPrefix(vmThread, prefixChars, (UDATA)prefixLen, J9SHR_DATA_TYPE_JCL, FALSE, resultPool);
+	omrthread_monitor_exit(config->jclCacheMutex);
+
+	releaseStringChars(env, prefixObj, prefixChars);
+
+	if (numElem < 0) {
+		goto _error;
+	}
+	/* The pool may hold fewer elements than were found if an allocation failed */
+	numElem = (IDATA)pool_numElements(resultPool);
+
+	if (!(objectClass = (*env)->FindClass(env, "java/lang/Object"))) {
+		goto _error;
+	}
+	if (!(returnVal = (*env)->NewObjectArray(env, (jsize)(numElem * 2), objectClass, NULL))) {
+		goto _error;
+	}
+
+	/* Keys in the cache are not NUL terminated, so copy each one into a local buffer before creating the String.
+	 * The data itself is not copied - the cache is mapped for the lifetime of the VM, so the buffers stay valid after the mutex is released. */
+	anElement = (J9SharedDataKeyedDescriptor*)pool_startDo(resultPool, &state);
+	while (NULL != anElement) {
+		jstring tokenString = NULL;
+		jobject dataBuffer = NULL;
+
+		if (anElement->keyLength >= keyBufferLen) {
+			j9mem_free_memory(keyBuffer);
+			keyBufferLen = anElement->keyLength + 1;
+			if (!(keyBuffer = (char*)j9mem_allocate_memory(keyBufferLen, J9MEM_CATEGORY_VM_JCL))) {
+				goto _error;
+			}
+		}
+		memcpy(keyBuffer, anElement->key, anElement->keyLength);
+		keyBuffer[anElement->keyLength] = '\0';
+
+		if (!(tokenString = (*env)->NewStringUTF(env, keyBuffer))) {
+			goto _error;
+		}
+		if (!(dataBuffer = createDirectByteBuffer(env, anElement->descriptor.address, anElement->descriptor.length))) {
+			goto _error;
+		}
+		(*env)->SetObjectArrayElement(env, returnVal, index++, tokenString);
+		(*env)->SetObjectArrayElement(env, returnVal, index++, dataBuffer);
+		(*env)->DeleteLocalRef(env, tokenString);
+		(*env)->DeleteLocalRef(env, dataBuffer);
+
+		anElement = (J9SharedDataKeyedDescriptor*)pool_nextDo(&state);
+	}
+
+	j9mem_free_memory(keyBuffer);
+	pool_kill(resultPool);
+
+	vmThread->omrVMThread->vmState = oldState;
+
+	Trc_JCL_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl_Exit(env, numElem);
+	return returnVal;
+
+_error:
+	(*env)->ExceptionClear(env);
+
+	j9mem_free_memory(keyBuffer);
+	if (NULL != resultPool) {
+		pool_kill(resultPool);
+	}
+
+	vmThread->omrVMThread->vmState = oldState;
+
+	Trc_JCL_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl_ExitError(env);
+#endif		/* J9VM_OPT_SHARED_CLASSES */
+	return NULL;
+}
 jobject JNICALL
 Java_com_ibm_oti_shared_SharedDataHelperImpl_storeSharedDataImpl(JNIEnv* env, jobject thisObj, jobject loaderObj, jint helperID, jstring tokenObj, jobject byteBufferInput) 
 {
@@ -41,6 +41,8 @@ omr_add_exports(jclse
 	Java_com_ibm_java_lang_management_internal_GarbageCollectorMXBeanImpl_getMemoryUsedImpl
 	Java_com_ibm_java_lang_management_internal_GarbageCollectorMXBeanImpl_getTotalCompactsImpl
 	Java_com_ibm_java_lang_management_internal_GarbageCollectorMXBeanImpl_getTotalMemoryFreedImpl
+	Java_com_ibm_java_lang_management_internal_ManagementSampler_getNamesImpl
+	Java_com_ibm_java_lang_management_internal_ManagementSampler_startImpl
 	Java_com_ibm_java_lang_management_internal_MemoryMXBeanImpl_createMemoryManagers
 	Java_com_ibm_java_lang_management_internal_MemoryMXBeanImpl_createMemoryPools
 	Java_com_ibm_java_lang_management_internal_MemoryMXBeanImpl_getCurrentGCThreadsImpl
@@ -111,7 +113,11 @@ omr_add_exports(jclse
 	Java_com_ibm_java_lang_management_internal_ThreadMXBeanImpl_resetPeakThreadCountImpl
 	Java_com_ibm_java_lang_management_internal_ThreadMXBeanImpl_setThreadContentionMonitoringEnabledImpl
 	Java_com_ibm_java_lang_management_internal_ThreadMXBeanImpl_setThreadCpuTimeEnabledImpl
+	Java_com_ibm_lang_management_internal_CodeCacheMXBeanImpl_getFragmentationStatsImpl
+	Java_com_ibm_lang_management_internal_CompilationQueueMXBeanImpl_getQueueWaitStatsImpl
 	Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getThreadAllocatedBytesImpl
+	Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getThreadsAllocatedBytesImpl
+	Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getTotalThreadAllocatedBytesImpl
 	Java_com_ibm_jit_JITHelpers_arrayShapeElementCountMask
 	Java_com_ibm_jit_JITHelpers_getNumBitsInDescriptionWord
 	Java_com_ibm_jit_JITHelpers_getNumBitsInReferenceField
@@ -243,6 +249,7 @@ omr_add_exports(jclse
 	Java_openj9_internal_tools_attach_target_DiagnosticUtils_getHeapClassStatisticsImpl
 	Java_openj9_internal_tools_attach_target_DiagnosticUtils_dumpAllThreadsImpl
 	Java_openj9_internal_tools_attach_target_DiagnosticUtils_triggerDumpsImpl
+	Java_openj9_internal_tools_attach_target_DiagnosticUtils_jitCommandImpl
 	Java_openj9_management_internal_IDCacheInitializer_initIDCache
 	Java_com_ibm_oti_reflect_AnnotationParser_getAnnotationsDataImpl__Ljava_lang_Class_2
 	Java_com_ibm_oti_reflect_AnnotationParser_getAnnotationsData__Ljava_lang_reflect_Constructor_2
@@ -270,6 +277,7 @@ omr_add_exports(jclse
 	Java_com_ibm_oti_shared_SharedClassTokenHelperImpl_findSharedClassImpl2
 	Java_com_ibm_oti_shared_SharedClassTokenHelperImpl_storeSharedClassImpl2
 	Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassImpl2
+	Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl
 	Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_init
 	Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_notifyClasspathChange2
 	Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_notifyClasspathChange3
@@ -280,6 +288,7 @@ omr_add_exports(jclse
 	Java_com_ibm_oti_shared_SharedClassUtilities_destroySharedCacheImpl
 	Java_com_ibm_oti_shared_SharedClassUtilities_getSharedCacheInfoImpl
 	Java_com_ibm_oti_shared_SharedClassUtilities_init
+	Java_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl
 	Java_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataImpl
 	Java_com_ibm_oti_shared_SharedDataHelperImpl_storeSharedDataImpl
 	Java_com_ibm_oti_shared_Shared_isNonBootSharingEnabledImpl
@@ -969,6 +969,11 @@ extern "C" {
 #define J9JFR_EVENT_TYPE_THREAD_STATISTICS 10
 #define J9JFR_EVENT_TYPE_MONITOR_ENTER 11
 #define J9JFR_EVENT_TYPE_SYSTEM_GC 12
+#define J9JFR_EVENT_TYPE_CLASS_LOAD 13
+#define J9JFR_EVENT_TYPE_GARBAGE_COLLECTION 14
+#define J9JFR_EVENT_TYPE_OBJECT_ALLOCATION_SAMPLE 15
+#define J9JFR_EVENT_TYPE_COMPILATION 16
+#define J9JFR_EVENT_TYPE_CODE_CACHE_FULL 17
 
 /* JFR thread states */
 
@@ -516,6 +516,54 @@ typedef struct J9JFRSystemGC {
 
 #define J9JFRSYSTEMGC_STACKTRACE(jfrEvent) ((UDATA *)(((J9JFRSystemGC *)(jfrEvent)) + 1))
 
+/* Variable-size structure - stackTraceSize worth of UDATA follow the fixed portion */
+typedef struct J9JFRClassLoad {
+	J9JFR_EVENT_WITH_STACKTRACE_FIELDS
+	I_64 duration;
+	struct J9Class *loadedClass;
+	struct J9ClassLoader *definingClassLoader;
+	struct J9ClassLoader *initiatingClassLoader;
+} J9JFRClassLoad;
+
+#define J9JFRCLASSLOAD_STACKTRACE(jfrEvent) ((UDATA *)(((J9JFRClassLoad *)(jfrEvent)) + 1))
+
+typedef struct J9JFRGarbageCollection {
+	J9JFR_EVENT_COMMON_FIELDS
+	I_64 duration;
+	U_64 gcID;
+	UDATA gcName;
+} J9JFRGarbageCollection;
+
+/* Variable-size structure - stackTraceSize worth of UDATA follow the fixed portion */
+typedef struct J9JFRObjectAllocationSample {
+	J9JFR_EVENT_WITH_STACKTRACE_FIELDS
+	struct J9Class *objectClass;
+	U_64 weight;
+} J9JFRObjectAllocationSample;
+
+#define J9JFROBJECTALLOCATIONSAMPLE_STACKTRACE(jfrEvent) ((UDATA *)(((J9JFRObjectAllocationSample *)(jfrEvent)) + 1))
+
+typedef struct J9JFRCompilation {
+	J9JFR_EVENT_COMMON_FIELDS
+	I_64 duration;
+	struct J9Method *method;
+	U_64 compileID;
+	UDATA compileLevel;
+	BOOLEAN succeeded;
+	BOOLEAN isOSR;
+	UDATA codeSize;
+	UDATA inlinedBytes;
+} J9JFRCompilation;
+
+typedef struct J9JFRCodeCacheFull {
+	J9JFR_EVENT_COMMON_FIELDS
+	UDATA startAddress;
+	UDATA committedTopAddress;
+	UDATA reservedTopAddress;
+	UDATA unallocatedCapacity;
+	U_64 fullCount;
+} J9JFRCodeCacheFull;
+
 #endif /* defined(J9VM_OPT_JFR) */
 
 /* @ddr_namespace: map_to_type=J9CfrError */
@@ -1029,6 +1077,7 @@ typedef struct J9JavaLangManagementData {
 	U_32 gcCurrentThreads;
 	char counterPath[2048];
 	U_32 isCounterPathInitialized;
+	void *metricsSampler;
 } J9JavaLangManagementData;
 
 typedef struct J9LoadROMClassData {
@@ -1286,6 +1335,12 @@ typedef struct J9SharedDataDescriptor {
 #define J9SHRDATA_SINGLE_STORE_FOR_KEY_TYPE  32
 #define J9SHRDATA_SINGLE_STORE_FOR_KEY_TYPE_OVERWRITE  64
 
+typedef struct J9SharedDataKeyedDescriptor {
+	const U_8* key;
+	UDATA keyLength;
+	struct J9SharedDataDescriptor descriptor;
+} J9SharedDataKeyedDescriptor;
+
 typedef struct J9SharedStartupHintsDataDescriptor {
 	UDATA flags;
 	UDATA heapSize1;
@@ -1544,6 +1599,7 @@ typedef struct J9SharedClassConfig {
 	void (* getUnstoredBytes)(struct J9JavaVM *vm, U_32 *softmxUnstoredBytes, U_32 *maxAOTUnstoredBytes, U_32 *maxJITUnstoredBytes);
 	UDATA  ( *getFreeSpaceBytes)(struct J9JavaVM* vm) ;
 	IDATA  ( *findSharedData)(struct J9VMThread* currentThread, const char* key, UDATA keylen, UDATA limitDataType, UDATA includePrivateData, struct J9SharedDataDescriptor* firstItem, const struct J9Pool* descriptorPool) ;
+	IDATA  ( *findSharedDataByKeyPrefix)(struct J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const struct J9Pool* keyedDescriptorPool) ;
 	const U_8*  ( *storeSharedData)(struct J9VMThread* vmThread, const char* key, UDATA keylen, const struct J9SharedDataDescriptor* data) ;
 	UDATA  ( *storeAttachedData)(struct J9VMThread* vmThread, const void* addressInCache, const struct J9SharedDataDescriptor* data, UDATA forceReplace) ;
 	const U_8*  ( *findAttachedData)(struct J9VMThread* vmThread, const void* addressInCache, struct J9SharedDataDescriptor* data, IDATA *dataIsCorrupt) ;
@@ -4169,6 +4225,12 @@ typedef struct J9ClassCastParms {
 
 /* @ddr_namespace: map_to_type=J9JITConfig */
 
+/* Number of priority classes in the compilation queue wait statistics of the JIT; see jitGetCompilationQueueWaitStats */
+#define J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES 6
+
+/* Number of values in the code cache fragmentation statistics of the JIT; see jitGetCodeCacheFragmentationStats */
+#define J9JIT_CODE_CACHE_FRAGMENTATION_STATS 6
+
 typedef struct J9JITConfig {
 	IDATA  ( *entryPoint)(struct J9JITConfig *jitConfig, struct J9VMThread *vmStruct, J9Method *method, void *oldStartPC) ;
 	void *old_fast_jitNewObject;
@@ -4526,6 +4588,15 @@ typedef struct J9JITConfig {
 	UDATA serverAOTQueryThread;
 #endif /* defined(J9VM_OPT_JITSERVER) */
 	I_32 lowCodeCacheFreeSpace; /* bool set to 1 when the JIT detects a very low amount of free code cache space; never reset */
+	/* Copies the time (usec) compilation requests waited in the compilation queues, by priority class of the requests;
+	 * the number of classes copied is returned. There are J9JIT_COMPILATION_QUEUE_PRIORITY_CLASSES classes,
+	 * listed in CompilationQueueMXBean.
+	 */
+	UDATA (*jitGetCompilationQueueWaitStats)(struct J9JITConfig *jitConfig, U_64 *waitTimes, U_64 *maxWaitTimes, U_64 *numRequests, UDATA numClasses);
+	/* Copies the free space and reclamation statistics of all code caches; the number of values copied is returned.
+	 * There are J9JIT_CODE_CACHE_FRAGMENTATION_STATS values, in the order of CodeCacheMXBeanImpl.
+	 */
+	UDATA (*jitGetCodeCacheFragmentationStats)(struct J9JITConfig *jitConfig, U_64 *stats, UDATA numStats);
 } J9JITConfig;
 
 #if defined(J9VM_OPT_CRIU_SUPPORT)
@@ -5013,6 +5084,7 @@ typedef struct J9MemoryManagerFunctions {
 #endif /* defined(J9VM_GC_OBJECT_ACCESS_BARRIER) */
 	UDATA  ( *j9gc_get_bytes_allocated_by_thread)(struct J9VMThread *vmThread) ;
 	BOOLEAN ( *j9gc_get_cumulative_bytes_allocated_by_thread)(struct J9VMThread *vmThread, UDATA *cumulativeValue) ;
+	U_64 ( *j9gc_get_cumulative_bytes_allocated)(struct J9VMThread *currentThread) ;
 	BOOLEAN ( *j9gc_get_cumulative_class_unloading_stats)(struct J9VMThread *vmThread, UDATA *anonumous, UDATA *classes, UDATA *classloaders) ;
 
 	jvmtiIterationControl  ( *j9mm_iterate_all_ownable_synchronizer_objects)(struct J9VMThread *vmThread, J9PortLibrary *portLibrary, UDATA flags, jvmtiIterationControl (*func)(struct J9VMThread *vmThread, struct J9MM_IterateObjectDescriptor *object, void *userData), void *userData) ;
@@ -5972,6 +6044,21 @@ typedef struct J9VMThread {
 #define J9VMTHREAD_DISCONTIGUOUS_INDEXABLE_HEADER_SIZE(vmThread) ((vmThread)->discontiguousIndexableHeaderSize)
 #define J9VMTHREAD_UNSAFE_INDEXABLE_HEADER_SIZE(vmThread) ((vmThread)->unsafeIndexableHeaderSize)
 
+/* Event and type IDs which are looked up by name in the metadata blob, 0 if not present */
+typedef struct J9JFRMetadataTypeIDs {
+	U_64 classLoadID;
+	U_64 garbageCollectionID;
+	U_64 gcPhasePauseID;
+	U_64 objectAllocationSampleID;
+	U_64 compilationID;
+	U_64 codeCacheFullID;
+	U_64 gcNameID;
+	U_64 gcCauseID;
+	U_64 compilerTypeID;
+	U_64 codeBlobTypeID;
+	BOOLEAN codeCacheFullHasMaxCapacity;
+} J9JFRMetadataTypeIDs;
+
 typedef struct JFRState {
 	char *jfrFileName;
 	const char *jfrCMDLineOption;
@@ -5992,6 +6079,19 @@ typedef struct JFRState {
 	uint64_t prevContextSwitches;
 	omrthread_monitor_t typeIDMonitor;
 	jlong typeIDcount;
+	J9JFRMetadataTypeIDs metadataTypeIDs;
+	I_64 localGCStartTicks;
+	I_64 globalGCStartTicks;
+	U_64 gcCount;
+	UDATA compilationCount;
+	BOOLEAN allocationSamplingHooked;
+	UDATA codeCacheFullCount;
+	UDATA codeCacheFullReportedCount;
+	I_64 codeCacheFullTicks;
+	UDATA codeCacheStartAddress;
+	UDATA codeCacheCommittedTopAddress;
+	UDATA codeCacheReservedTopAddress;
+	UDATA codeCacheUnallocatedCapacity;
 } JFRState;
 
 typedef struct J9ReflectFunctionTable {
@@ -71,6 +71,8 @@ jint JNICALL
 Java_com_ibm_oti_shared_SharedClassTokenHelperImpl_storeSharedClassImpl2(JNIEnv* env, jobject thisObj, jint helperID, jobject loaderObj, jstring tokenObj, jclass clazzObj, jbyteArray nativeFlags);
 jint JNICALL
 Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassImpl2(JNIEnv* env, jobject thisObj, jint helperID, jstring partitionObj, jstring classNameObj, jobject loaderObj, jobjectArray urlArrayObj, jboolean doFind, jboolean doStore, jint urlCount, jint confirmedCount, jbyteArray romClassCookie);
+jint JNICALL
+Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_findSharedClassesImpl(JNIEnv* env, jobject thisObj, jint helperID, jstring partitionObj, jobjectArray classNamesObj, jobject loaderObj, jobjectArray urlArrayObj, jbyteArray findStoreFlagsObj, jint urlCount, jint confirmedCount, jbyteArray romClassCookies, jintArray indexesFoundAt);
 void JNICALL
 Java_com_ibm_oti_shared_SharedClassURLClasspathHelperImpl_init(JNIEnv *env, jclass clazz);
 void JNICALL
@@ -91,6 +93,8 @@ jint JNICALL
 Java_com_ibm_oti_shared_SharedClassUtilities_getSharedCacheInfoImpl(JNIEnv *env, jclass clazz, jstring cacheDir, jint flag, jboolean useCommandLineValue, jobject arrayList);
 void JNICALL
 Java_com_ibm_oti_shared_SharedClassUtilities_init(JNIEnv *env, jclass clazz);
+jobjectArray JNICALL
+Java_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataByPrefixImpl(JNIEnv* env, jobject thisObj, jint helperID, jstring prefixObj);
 jobject JNICALL
 Java_com_ibm_oti_shared_SharedDataHelperImpl_findSharedDataImpl(JNIEnv* env, jobject thisObj, jint helperID, jstring tokenObj);
 jobject JNICALL
@@ -105,6 +109,12 @@ managementInit ( J9JavaVM *vm );
 extern J9_CFUNC void
 managementTerminate ( J9JavaVM *vm );
 
+/* J9SourceManagementSampler*/
+extern J9_CFUNC jobject JNICALL
+Java_com_ibm_java_lang_management_internal_ManagementSampler_startImpl (JNIEnv *env, jclass clazz, jlong intervalMillis, jint capacity);
+extern J9_CFUNC jobjectArray JNICALL
+Java_com_ibm_java_lang_management_internal_ManagementSampler_getNamesImpl (JNIEnv *env, jclass clazz);
+
 /* J9SourceManagementRuntime*/
 extern J9_CFUNC jlong JNICALL
 Java_com_ibm_java_lang_management_internal_RuntimeMXBeanImpl_getUptimeImpl (JNIEnv *env, jobject beanInstance);
@@ -278,6 +288,10 @@ extern J9_CFUNC jboolean JNICALL
 Java_com_ibm_java_lang_management_internal_ThreadMXBeanImpl_isThreadContentionMonitoringSupportedImpl (JNIEnv *env, jobject beanInstance);
 extern J9_CFUNC jlong JNICALL
 Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getThreadAllocatedBytesImpl (JNIEnv *env, jobject unused, jlong threadID);
+extern J9_CFUNC void JNICALL
+Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getThreadsAllocatedBytesImpl (JNIEnv *env, jclass unused, jlongArray threadIDs, jlongArray allocatedBytes);
+extern J9_CFUNC jlong JNICALL
+Java_com_ibm_lang_management_internal_ExtendedThreadMXBeanImpl_getTotalThreadAllocatedBytesImpl (JNIEnv *env, jclass unused);
 
 extern J9_CFUNC jobject JNICALL
 Java_com_ibm_java_lang_management_internal_ThreadMXBeanImpl_getThreadInfoImpl(JNIEnv *env, jobject beanInstance,
@@ -341,6 +355,10 @@ extern J9_CFUNC jlong JNICALL
 Java_com_ibm_java_lang_management_internal_CompilationMXBeanImpl_getTotalCompilationTimeImpl (JNIEnv *env, jobject beanInstance);
 extern J9_CFUNC jboolean JNICALL
 Java_com_ibm_java_lang_management_internal_CompilationMXBeanImpl_isCompilationTimeMonitoringSupportedImpl (JNIEnv *env, jobject beanInstance);
+extern J9_CFUNC jint JNICALL
+Java_com_ibm_lang_management_internal_CompilationQueueMXBeanImpl_getQueueWaitStatsImpl (JNIEnv *env, jclass clazz, jlongArray waitTimes, jlongArray maxWaitTimes, jlongArray numRequests);
+extern J9_CFUNC jint JNICALL
+Java_com_ibm_lang_management_internal_CodeCacheMXBeanImpl_getFragmentationStatsImpl (JNIEnv *env, jclass clazz, jlongArray stats);
 
 /* BBjclNativesCommonPlainMulticastSocketImpl*/
 void JNICALL Java_java_net_PlainMulticastSocketImpl_createMulticastSocketImpl (
@@ -646,6 +664,7 @@ void JNICALL Java_java_lang_Compiler_disable (JNIEnv *env, jclass clazz);
 jboolean JNICALL Java_java_lang_Compiler_compileClassImpl (JNIEnv *env, jclass clazz, jclass compileClass);
 jboolean JNICALL Java_java_lang_Compiler_compileClassesImpl (JNIEnv *env, jclass clazz, jstring nameRoot);
 void JNICALL Java_java_lang_Compiler_enable (JNIEnv *env, jclass clazz);
+jint JNICALL Java_openj9_internal_tools_attach_target_DiagnosticUtils_jitCommandImpl (JNIEnv *env, jclass clazz, jstring cmd);
 
 #if (defined(J9VM_OPT_DYNAMIC_LOAD_SUPPORT)) /* priv. proto (autogen) */
 extern J9_CFUNC char* getExtraOptions (J9JavaVM* vm, char* key);
@@ -51,6 +51,9 @@ public:
 	/* Fill descriptorPool with entries found and return number of entries or -1 */	
 	virtual IDATA find(J9VMThread* currentThread, const char* key, UDATA keylen, UDATA limitDataType, UDATA includePrivateData, J9SharedDataDescriptor* firstItem, const J9Pool* descriptorPool) = 0;
 
+	/* Fill keyedDescriptorPool with entries for every key starting with keyPrefix and return number of entries or -1 */
+	virtual IDATA findByKeyPrefix(J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const J9Pool* keyedDescriptorPool) = 0;
+
 	/* Attempt to make the entry represented by "data" private to this JVM. 1 if success, 0 for failure.
 	 * Input to this function should be a descriptor obtained from calling find */
 	virtual UDATA acquirePrivateEntry(J9VMThread* currentThread, const J9SharedDataDescriptor* data) = 0;
@@ -358,6 +358,77 @@ SH_ByteDataManagerImpl::find(J9VMThread* currentThread, const char* key, UDATA k
 	return resultCntr;
 }
 
+/**
+ * Retrieves data in the cache which has been stored against any key starting with "keyPrefix".
+ * Populates keyedDescriptorPool with J9SharedDataKeyedDescriptors describing data elements. Returns the number of elements found.
+ * The key and data addresses returned point directly into the cache; nothing is copied.
+ *
+ * @param[in] currentThread  The current thread
+ * @param[in] keyPrefix  The UTF8 prefix to match against stored keys
+ * @param[in] prefixLen  The length of the prefix. If 0, all keys match
+ * @param[in] limitDataType  Optional. If used, only data of the type constant specified is returned. If 0, all data is returned
+ * @param[in] includePrivateData  If non-zero, will also add private data of other JVMs into the pool
+ * @param[out] keyedDescriptorPool  Populated with the results. Pool is not cleaned by this function. Can be NULL.
+ *
+ * @return  The number of data elements found or -1 in the case of error
+ */
+IDATA
+SH_ByteDataManagerImpl::findByKeyPrefix(J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const J9Pool* keyedDescriptorPool)
+{
+	J9HashTableState hashState;
+	BdLinkedListImpl** entry;
+	IDATA resultCntr = 0;
+
+	if (getState() != MANAGER_STATE_STARTED) {
+		return -1;
+	}
+
+	Trc_SHR_BDMI_findByKeyPrefix_Entry(currentThread, prefixLen, keyPrefix, limitDataType, includePrivateData, keyedDescriptorPool);
+
+	/* The whole walk is done under the hashtable mutex so that no entries are added to a list while it is being walked */
+	if (!lockHashTable(currentThread, "findByKeyPrefix")) {
+		Trc_SHR_BDMI_findByKeyPrefix_ExitFailedMutex(currentThread);
+		return -1;
+	}
+
+	entry = (BdLinkedListImpl**)hashTableStartDo(_hashTable, &hashState);
+	while (NULL != entry) {
+		BdLinkedListImpl* found = *entry;
+
+		if ((found->_keySize >= prefixLen) && (0 == memcmp(found->_key, keyPrefix, prefixLen))) {
+			BdLinkedListImpl* walk;
+
+			/* Start at found->_next for consistency with find(), so that higher layer entries are seen first */
+			found = (BdLinkedListImpl*)found->_next;
+			walk = found;
+			do {
+				const ShcItem* item = walk->_item;
+				ByteDataWrapper* wrapper = (ByteDataWrapper*)ITEMDATA(item);
+				J9SharedDataKeyedDescriptor* newPoolEntry;
+
+				if (!_cache->isStale(item) &&
+					(!limitDataType || (limitDataType == (UDATA)wrapper->dataType)) &&
+					(includePrivateData || (wrapper->privateOwnerID == 0))) {
+					if (keyedDescriptorPool && (newPoolEntry = (J9SharedDataKeyedDescriptor*)pool_newElement((J9Pool*)keyedDescriptorPool))) {
+						newPoolEntry->key = walk->_key;
+						newPoolEntry->keyLength = walk->_keySize;
+						setDescriptorFields(wrapper, &newPoolEntry->descriptor);
+					}
+					++resultCntr;
+				}
+				walk = (BdLinkedListImpl*)walk->_next;
+			} while (walk != found);
+		}
+		entry = (BdLinkedListImpl**)hashTableNextDo(&hashState);
+	}
+
+	unlockHashTable(currentThread, "findByKeyPrefix");
+
+	Trc_SHR_BDMI_findByKeyPrefix_Exit(currentThread, resultCntr);
+
+	return resultCntr;
+}
+
 /**
  * If a JVM has finished using a piece of private data and wants to allow another JVM to acquire it, the data entry must be released.
  * This is done automatically when a JVM shuts down, but can also be achieved explicitly using this function.
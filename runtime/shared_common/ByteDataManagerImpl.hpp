@@ -62,6 +62,8 @@ public:
 
 	virtual IDATA find(J9VMThread* currentThread, const char* key, UDATA keylen, UDATA limitDataType, UDATA includePrivateData, J9SharedDataDescriptor* firstItem, const J9Pool* descriptorPool);
 	
+	virtual IDATA findByKeyPrefix(J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const J9Pool* keyedDescriptorPool);
+
 	virtual UDATA acquirePrivateEntry(J9VMThread* currentThread, const J9SharedDataDescriptor* data);
 
 	virtual UDATA releasePrivateEntry(J9VMThread* currentThread, const J9SharedDataDescriptor* data);
@@ -4118,6 +4118,70 @@ SH_CacheMap::findSharedData(J9VMThread* currentThread, const char* key, UDATA ke
 	return result;
 }
 
+/**
+ * Retrieves data in the cache which has been stored against any key starting with "keyPrefix".
+ * Populates keyedDescriptorPool with J9SharedDataKeyedDescriptors describing data elements. Returns the number of elements found.
+ * The key and data addresses returned point into the cache and remain valid for the lifetime of the cache mapping.
+ *
+ * @param[in] vmThread  The current thread
+ * @param[in] keyPrefix  The UTF8 prefix to match against stored keys
+ * @param[in] prefixLen  The length of the prefix. If 0, all keys are returned
+ * @param[in] limitDataType  Optional. If used, only data of the type constant specified is returned. If 0, all data is returned
+ * @param[in] includePrivateData  If non-zero, will also add private data of other JVMs into the pool
+ * @param[out] keyedDescriptorPool Populated with all of the results. Note that the pool is not cleaned. Can be NULL - if this is the case, the number of entries is returned.
+ *
+ * @return  The number of data elements found or -1 in the case of error
+ *
+ * THREADING: This function can be called multi-threaded
+ */
+IDATA
+SH_CacheMap::findSharedDataByKeyPrefix(J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const J9Pool* keyedDescriptorPool)
+{
+	IDATA result;
+	const char* fnName = "findSharedDataByKeyPrefix";
+	SH_ByteDataManager* localBDM;
+
+	Trc_SHR_Assert_True(_sharedClassConfig != NULL);
+
+	if ((keyPrefix == NULL) && (prefixLen != 0)) {
+		return -1;
+	}
+	if (!(localBDM = getByteDataManager(currentThread))) {
+		return 0;
+	}
+
+	Trc_SHR_CM_findSharedDataByKeyPrefix_Entry(currentThread, prefixLen, keyPrefix);
+
+	if (_ccHead->enterReadMutex(currentThread, fnName) != 0) {
+		Trc_SHR_CM_findSharedDataByKeyPrefix_ExitFailedMutex(currentThread, prefixLen, keyPrefix);
+		return -1;
+	}
+
+	if (runEntryPointChecks(currentThread, NULL, NULL) == -1) {
+		_ccHead->exitReadMutex(currentThread, fnName);
+		Trc_SHR_CM_findSharedDataByKeyPrefix_Exit1(currentThread);
+		return -1;
+	}
+
+	result = localBDM->findByKeyPrefix(currentThread, keyPrefix, prefixLen, limitDataType, includePrivateData, keyedDescriptorPool);
+
+	_ccHead->exitReadMutex(currentThread, fnName);
+
+	if ((result > 0) && (keyedDescriptorPool != NULL)) {
+		pool_state state;
+		J9SharedDataKeyedDescriptor* anElement;
+
+		anElement = (J9SharedDataKeyedDescriptor*)pool_startDo((J9Pool*)keyedDescriptorPool, &state);
+		while (anElement) {
+			updateBytesRead(anElement->descriptor.length);
+			anElement = (J9SharedDataKeyedDescriptor*)pool_nextDo(&state);
+		}
+	}
+
+	Trc_SHR_CM_findSharedDataByKeyPrefix_Exit2(currentThread, result);
+	return result;
+}
+
 /* Attempts to transfer some private shared data from another JVM to this one
  * The data field should be an value returned from findSharedData, not one made up manually.
  * If the data entry is private to another JVM and is not in use, it will be made private to this JVM and will be marked "in use".
@@ -112,6 +112,8 @@ public:
 	/* @see SharedCache.hpp */
 	virtual IDATA findSharedData(J9VMThread* currentThread, const char* key, UDATA keylen, UDATA limitDataType, UDATA includePrivateData, J9SharedDataDescriptor* firstItem, const J9Pool* descriptorPool);
 
+	virtual IDATA findSharedDataByKeyPrefix(J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const J9Pool* keyedDescriptorPool);
+
 	/* @see SharedCache.hpp */
 	virtual const U_8* storeSharedData(J9VMThread* currentThread, const char* key, UDATA keylen, const J9SharedDataDescriptor* data);
 
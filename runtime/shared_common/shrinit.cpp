@@ -1899,6 +1899,69 @@ j9shr_findSharedData(J9VMThread* currentThread, const char* key, UDATA keylen, U
 	return returnVal;
 }
 
+/**
+ * Find all data stored against keys which start with keyPrefix.
+ * Populates keyedDescriptorPool with J9SharedDataKeyedDescriptors, each giving the key the data was stored against and a
+ * descriptor for the data itself. Both the key and the data point directly into the cache and must not be modified.
+ * The same rules apply to private data as for j9shr_findSharedData.
+ *
+ * @param[in] vmThread  The current thread
+ * @param[in] keyPrefix  The UTF8 prefix to match against stored keys
+ * @param[in] prefixLen  The length of the prefix. If 0, data stored against every key is returned
+ * @param[in] limitDataType  Optional. If used, only data of the type constant specified is returned.
+ *								If 0, all data is returned
+ * @param[in] includePrivate  If non-zero, will also add private data of other JVMs into the pool
+ * @param[out] keyedDescriptorPool  Must be a J9Pool of size J9SharedDataKeyedDescriptor which will be populated with the results.
+ * 								The pool can be NULL if only the number of matches needs to be determined
+ *
+ * @return  The number of data elements found or -1 in the case of error
+ */
+IDATA
+j9shr_findSharedDataByKeyPrefix(J9VMThread* currentThread, const char* keyPrefix, UDATA prefixLen, UDATA limitDataType, UDATA includePrivateData, const J9Pool* keyedDescriptorPool)
+{
+	J9JavaVM* vm = currentThread->javaVM;
+	J9SharedClassConfig* sharedClassConfig = vm->sharedClassConfig;
+	UDATA oldState = (UDATA)-1;
+	UDATA* currentState = &(currentThread->omrVMThread->vmState);
+	IDATA returnVal = -1;
+
+	Trc_SHR_INIT_findSharedDataByKeyPrefix_entry(currentThread, prefixLen, keyPrefix);
+
+	if (sharedClassConfig == NULL) {
+		Trc_SHR_INIT_findSharedDataByKeyPrefix_exit_Noop(currentThread);
+		return -1;
+	}
+
+	U_64 localRuntimeFlags = sharedClassConfig->runtimeFlags;
+
+	if (!(localRuntimeFlags & J9SHR_RUNTIMEFLAG_CACHE_INITIALIZATION_COMPLETE)) {
+		Trc_SHR_INIT_findSharedDataByKeyPrefix_exit_Noop(currentThread);
+		return -1;
+	}
+
+	if (localRuntimeFlags & J9SHR_RUNTIMEFLAG_DENY_CACHE_ACCESS) {
+		Trc_SHR_INIT_findSharedDataByKeyPrefix_exit_Noop(currentThread);
+		/* if SCC has been disabled by CRIU restore options then behave as if the cache is empty rather than throwing an error */
+		return vm->sharedCacheAPI->xShareClassCacheDisabledOnCRIURestore ? 0 : -1;
+	}
+
+	/* jcl calls from shared.c set the vmState, but bootstrap calls do not */
+	if (*currentState != J9VMSTATE_SHAREDDATA_FIND) {
+		oldState = *currentState;
+		*currentState = J9VMSTATE_SHAREDDATA_FIND;
+	}
+
+	returnVal = ((SH_CacheMap*)(sharedClassConfig->sharedClassCache))->findSharedDataByKeyPrefix(currentThread, keyPrefix, prefixLen, limitDataType, includePrivateData, keyedDescriptorPool);
+
+	if (oldState != (UDATA)-1) {
+		*currentState = oldState;
+	}
+
+	Trc_SHR_INIT_findSharedDataByKeyPrefix_exit(currentThread, returnVal);
+
+	return returnVal;
+}
+
 /**
  * Stores data in the cache against "key" which is a UTF8 string.
  * If data of a different dataType uses the same key, this is added without affecting the other data stored under that key.
@@ -3621,6 +3684,7 @@ j9shr_init(J9JavaVM *vm, UDATA loadFlags, UDATA* nonfatal)
 		config->getUnstoredBytes = j9shr_getUnstoredBytes;
 		config->getFreeSpaceBytes = j9shr_getFreeAvailableSpaceBytes;
 		config->findSharedData = j9shr_findSharedData;
+		config->findSharedDataByKeyPrefix = j9shr_findSharedDataByKeyPrefix;
 		config->storeSharedData = j9shr_storeSharedData;
 		config->findCompiledMethodEx1 = j9shr_findCompiledMethodEx1;
 		config->storeCompiledMethod = j9shr_storeCompiledMethod;
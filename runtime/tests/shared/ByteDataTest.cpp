@@ -641,6 +641,43 @@ static IDATA checkFindValues(J9JavaVM* vm, IDATA resultCount, IDATA expectedResu
 	return 1;	
 } 
 
+static IDATA checkFindByKeyPrefix(J9JavaVM* vm, SH_CacheMap* testCache, const char* keyPrefix, IDATA expectedResultCount, UDATA testID)
+{
+	J9Pool* keyedPool;
+	J9SharedDataKeyedDescriptor* anElement;
+	pool_state state;
+	IDATA resCount1, resCount2;
+	IDATA result = 1;
+
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	keyedPool = pool_new(sizeof(J9SharedDataKeyedDescriptor),  0, 0, 0, J9_GET_CALLSITE(), J9MEM_CATEGORY_CLASSES, POOL_FOR_PORT(PORTLIB));
+	if (!keyedPool) {
+		j9tty_printf(PORTLIB, "Failed to create keyed results pool for test %d\n", testID);
+		return 0;
+	}
+
+	resCount1 = testCache->findSharedDataByKeyPrefix(vm->mainThread, keyPrefix, strlen(keyPrefix), FALSE, FALSE, NULL);
+	resCount2 = testCache->findSharedDataByKeyPrefix(vm->mainThread, keyPrefix, strlen(keyPrefix), FALSE, FALSE, keyedPool);
+	if ((resCount1 != expectedResultCount) || (resCount2 != expectedResultCount) || ((UDATA)expectedResultCount != pool_numElements(keyedPool))) {
+		j9tty_printf(PORTLIB, "Prefix search for %s found %d and %d results, expected %d for test %d\n", keyPrefix, resCount1, resCount2, expectedResultCount, testID);
+		result = 0;
+	} else {
+		anElement = (J9SharedDataKeyedDescriptor*)pool_startDo(keyedPool, &state);
+		while (anElement) {
+			if ((anElement->keyLength < strlen(keyPrefix)) || (0 != memcmp(anElement->key, keyPrefix, strlen(keyPrefix)))) {
+				j9tty_printf(PORTLIB, "Prefix search for %s returned key %.*s for test %d\n", keyPrefix, anElement->keyLength, anElement->key, testID);
+				result = 0;
+				break;
+			}
+			anElement = (J9SharedDataKeyedDescriptor*)pool_nextDo(&state);
+		}
+	}
+
+	pool_kill(keyedPool);
+	return result;
+}
+
 IDATA checkFindResults(J9JavaVM* vm, struct CachePointers* cachePointers, UDATA testJustRun)
 {
 	SH_CacheMap* testCache;
@@ -726,6 +763,14 @@ IDATA checkFindResults(J9JavaVM* vm, struct CachePointers* cachePointers, UDATA
 			if (!checkFindValues(vm, resCount1, 1, &firstEntry, resultsPool, &INPUTDATA[2], NULL, NULL, test)) {
 				return 0;
 			}
+
+			/* Check that a prefix search finds the same entries with the correct key */
+			if (!checkFindByKeyPrefix(vm, testCache, key1, 3, test)) {
+				return 0;
+			}
+			if (!checkFindByKeyPrefix(vm, testCache, "noSuchKey", 0, test)) {
+				return 0;
+			}
 		}
 	}
 
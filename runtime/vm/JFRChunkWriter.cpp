@@ -833,6 +833,34 @@ VM_JFRChunkWriter::writeNarrowOOPModeTypesEvent()
 
 }
 
+void
+VM_JFRChunkWriter::writeEnumCheckpointEvent(U_64 typeID, const char * const *names, UDATA count)
+{
+	/* The type is not in the metadata of this JDK. */
+	if (0 == typeID) {
+		return;
+	}
+
+	U_8 *dataStart = writeCheckpointEventHeader(Generic, 1);
+
+	/* class ID */
+	_bufferWriter->writeLEB128(typeID);
+
+	/* number of constants */
+	_bufferWriter->writeLEB128(count);
+
+	for (UDATA i = 0; i < count; i++) {
+		/* constant index */
+		_bufferWriter->writeLEB128(i);
+
+		/* write string */
+		writeStringLiteral(names[i]);
+	}
+
+	/* write size */
+	writeEventSize(dataStart);
+}
+
 void
 VM_JFRChunkWriter::writeGCHeapConfigurationEvent()
 {
@@ -1498,4 +1526,237 @@ VM_JFRChunkWriter::writeModuleExport(void *anElement, void *userData)
 	writeEventSize(bufferWriter, dataStart);
 }
 
+void
+VM_JFRChunkWriter::writeClassLoadEvent(void *anElement, void *userData)
+{
+	ClassLoadEntry *entry = (ClassLoadEntry *)anElement;
+	VM_JFRChunkWriter *writer = (VM_JFRChunkWriter *)userData;
+	VM_BufferWriter *bufferWriter = writer->_bufferWriter;
+
+	/* Reserve size field. */
+	U_8 *dataStart = reserveEventSize(bufferWriter);
+
+	/* Write event type. */
+	bufferWriter->writeLEB128(writer->_vm->jfrState.metadataTypeIDs.classLoadID);
+
+	/* Write start time. */
+	bufferWriter->writeLEB128(entry->ticks);
+
+	/* Write duration. */
+	bufferWriter->writeLEB128(entry->duration);
+
+	/* Write event thread index. */
+	bufferWriter->writeLEB128(entry->eventThreadIndex);
+
+	/* Write stacktrace index. */
+	bufferWriter->writeLEB128(entry->stackTraceIndex);
+
+	/* Write loaded class index. */
+	bufferWriter->writeLEB128(entry->loadedClassIndex);
+
+	/* Write defining class loader index. */
+	bufferWriter->writeLEB128(entry->definingClassLoaderIndex);
+
+	/* Write initiating class loader index. */
+	bufferWriter->writeLEB128(entry->initiatingClassLoaderIndex);
+
+	/* Write size. */
+	writeEventSize(bufferWriter, dataStart);
+}
+
+void
+VM_JFRChunkWriter::writeGarbageCollectionEvent(void *anElement, void *userData)
+{
+	GarbageCollectionEntry *entry = (GarbageCollectionEntry *)anElement;
+	VM_JFRChunkWriter *writer = (VM_JFRChunkWriter *)userData;
+	VM_BufferWriter *bufferWriter = writer->_bufferWriter;
+	J9JFRMetadataTypeIDs *typeIDs = &writer->_vm->jfrState.metadataTypeIDs;
+
+	if (0 != typeIDs->garbageCollectionID) {
+		/* Reserve size field. */
+		U_8 *dataStart = reserveEventSize(bufferWriter);
+
+		/* Write event type. */
+		bufferWriter->writeLEB128(typeIDs->garbageCollectionID);
+
+		/* Write start time. */
+		bufferWriter->writeLEB128(entry->ticks);
+
+		/* Write duration. */
+		bufferWriter->writeLEB128(entry->duration);
+
+		/* Write GC ID. */
+		bufferWriter->writeLEB128(entry->gcID);
+
+		/* Write GC name index. */
+		bufferWriter->writeLEB128(entry->gcName);
+
+		/* Write GC cause index, which is always unknown. */
+		bufferWriter->writeLEB128((U_64)0);
+
+		/* The collection is a single pause, so it is both the sum of the pauses and the longest pause. */
+		bufferWriter->writeLEB128(entry->duration);
+		bufferWriter->writeLEB128(entry->duration);
+
+		/* Write size. */
+		writeEventSize(bufferWriter, dataStart);
+	}
+
+	if (0 != typeIDs->gcPhasePauseID) {
+		/* Reserve size field. */
+		U_8 *dataStart = reserveEventSize(bufferWriter);
+
+		/* Write event type. */
+		bufferWriter->writeLEB128(typeIDs->gcPhasePauseID);
+
+		/* Write start time. */
+		bufferWriter->writeLEB128(entry->ticks);
+
+		/* Write duration. */
+		bufferWriter->writeLEB128(entry->duration);
+
+		/* Write event thread index. */
+		bufferWriter->writeLEB128(entry->eventThreadIndex);
+
+		/* Write GC ID. */
+		bufferWriter->writeLEB128(entry->gcID);
+
+		/* Write phase name. */
+		writer->writeStringLiteral("GC Pause");
+
+		/* Write size. */
+		writeEventSize(bufferWriter, dataStart);
+	}
+}
+
+void
+VM_JFRChunkWriter::writeObjectAllocationSampleEvent(void *anElement, void *userData)
+{
+	ObjectAllocationSampleEntry *entry = (ObjectAllocationSampleEntry *)anElement;
+	VM_JFRChunkWriter *writer = (VM_JFRChunkWriter *)userData;
+	VM_BufferWriter *bufferWriter = writer->_bufferWriter;
+
+	/* Reserve size field. */
+	U_8 *dataStart = reserveEventSize(bufferWriter);
+
+	/* Write event type. */
+	bufferWriter->writeLEB128(writer->_vm->jfrState.metadataTypeIDs.objectAllocationSampleID);
+
+	/* Write start time. */
+	bufferWriter->writeLEB128(entry->ticks);
+
+	/* Write event thread index. */
+	bufferWriter->writeLEB128(entry->eventThreadIndex);
+
+	/* Write stacktrace index. */
+	bufferWriter->writeLEB128(entry->stackTraceIndex);
+
+	/* Write object class index. */
+	bufferWriter->writeLEB128(entry->objectClassIndex);
+
+	/* Write weight. */
+	bufferWriter->writeLEB128(entry->weight);
+
+	/* Write size. */
+	writeEventSize(bufferWriter, dataStart);
+}
+
+void
+VM_JFRChunkWriter::writeCompilationEvent(void *anElement, void *userData)
+{
+	CompilationEntry *entry = (CompilationEntry *)anElement;
+	VM_JFRChunkWriter *writer = (VM_JFRChunkWriter *)userData;
+	VM_BufferWriter *bufferWriter = writer->_bufferWriter;
+
+	/* Reserve size field. */
+	U_8 *dataStart = reserveEventSize(bufferWriter);
+
+	/* Write event type. */
+	bufferWriter->writeLEB128(writer->_vm->jfrState.metadataTypeIDs.compilationID);
+
+	/* Write start time. */
+	bufferWriter->writeLEB128(entry->ticks);
+
+	/* Write duration. */
+	bufferWriter->writeLEB128(entry->duration);
+
+	/* Write event thread index. */
+	bufferWriter->writeLEB128(entry->eventThreadIndex);
+
+	/* Write compile ID. */
+	bufferWriter->writeLEB128(entry->compileID);
+
+	/* Write compiler index, there is only one compiler. */
+	bufferWriter->writeLEB128((U_64)0);
+
+	/* Write method index. */
+	bufferWriter->writeLEB128(entry->methodIndex);
+
+	/* Write compile level. */
+	bufferWriter->writeLEB128(entry->compileLevel);
+
+	/* Write succeeded. */
+	bufferWriter->writeBoolean(entry->succeeded);
+
+	/* Write isOsr. */
+	bufferWriter->writeBoolean(entry->isOSR);
+
+	/* Write code size. */
+	bufferWriter->writeLEB128(entry->codeSize);
+
+	/* Write inlined bytes. */
+	bufferWriter->writeLEB128(entry->inlinedBytes);
+
+	/* Write size. */
+	writeEventSize(bufferWriter, dataStart);
+}
+
+void
+VM_JFRChunkWriter::writeCodeCacheFullEvent(void *anElement, void *userData)
+{
+	CodeCacheFullEntry *entry = (CodeCacheFullEntry *)anElement;
+	VM_JFRChunkWriter *writer = (VM_JFRChunkWriter *)userData;
+	VM_BufferWriter *bufferWriter = writer->_bufferWriter;
+	J9JFRMetadataTypeIDs *typeIDs = &writer->_vm->jfrState.metadataTypeIDs;
+
+	/* Reserve size field. */
+	U_8 *dataStart = reserveEventSize(bufferWriter);
+
+	/* Write event type. */
+	bufferWriter->writeLEB128(typeIDs->codeCacheFullID);
+
+	/* Write start time. */
+	bufferWriter->writeLEB128(entry->ticks);
+
+	/* Write event thread index. */
+	bufferWriter->writeLEB128(entry->eventThreadIndex);
+
+	/* Write code blob type index, there is only one code cache type. */
+	bufferWriter->writeLEB128((U_64)0);
+
+	/* Write addresses. */
+	bufferWriter->writeLEB128(entry->startAddress);
+	bufferWriter->writeLEB128(entry->committedTopAddress);
+	bufferWriter->writeLEB128(entry->reservedTopAddress);
+
+	/* Write entry, method and adaptor counts, which are not tracked by the code cache. */
+	bufferWriter->writeLEB128((U_64)0);
+	bufferWriter->writeLEB128((U_64)0);
+	bufferWriter->writeLEB128((U_64)0);
+
+	/* Write unallocated capacity. */
+	bufferWriter->writeLEB128(entry->unallocatedCapacity);
+
+	/* Write full count. */
+	bufferWriter->writeLEB128(entry->fullCount);
+
+	if (typeIDs->codeCacheFullHasMaxCapacity) {
+		/* Write code cache max capacity. */
+		bufferWriter->writeLEB128(entry->reservedTopAddress - entry->startAddress);
+	}
+
+	/* Write size. */
+	writeEventSize(bufferWriter, dataStart);
+}
+
 #endif /* defined(J9VM_OPT_JFR) */
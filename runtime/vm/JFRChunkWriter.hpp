@@ -56,6 +56,24 @@ static constexpr const char * const oopModeTypeNames[] = {
 	"Zero based"
 };
 
+static constexpr const char * const gcNameTypeNames[] = {
+	"Local",
+	"Global"
+};
+
+/* The cause of a collection is not available to the JFR hooks. */
+static constexpr const char * const gcCauseNames[] = {
+	"Unknown GCCause"
+};
+
+static constexpr const char * const compilerTypeNames[] = {
+	"JIT"
+};
+
+static constexpr const char * const codeBlobTypeNames[] = {
+	"CodeCache"
+};
+
 enum StringEnconding {
 	NullString = 0,
 	EmptyString,
@@ -162,6 +180,10 @@ private:
 	static constexpr int STRING_CONSTANT_SIZE = 128;
 	static constexpr int THREADSTATE_ENTRY_LENGTH = CHECKPOINT_EVENT_HEADER_AND_FOOTER + sizeof(threadStateNames) + (THREADSTATE_COUNT * STRING_HEADER_LENGTH);
 	static constexpr int OOP_MODES_ENTRY_SIZE = CHECKPOINT_EVENT_HEADER_AND_FOOTER + sizeof(oopModeTypeNames) + (OOPModeTypeCount * STRING_HEADER_LENGTH);
+	static constexpr int GC_NAME_ENTRY_SIZE = CHECKPOINT_EVENT_HEADER_AND_FOOTER + sizeof(gcNameTypeNames) + (GCNameTypeCount * STRING_HEADER_LENGTH);
+	static constexpr int GC_CAUSE_ENTRY_SIZE = CHECKPOINT_EVENT_HEADER_AND_FOOTER + sizeof(gcCauseNames) + STRING_HEADER_LENGTH;
+	static constexpr int COMPILER_TYPE_ENTRY_SIZE = CHECKPOINT_EVENT_HEADER_AND_FOOTER + sizeof(compilerTypeNames) + STRING_HEADER_LENGTH;
+	static constexpr int CODE_BLOB_TYPE_ENTRY_SIZE = CHECKPOINT_EVENT_HEADER_AND_FOOTER + sizeof(codeBlobTypeNames) + STRING_HEADER_LENGTH;
 	static constexpr int CLASS_ENTRY_ENTRY_SIZE = (5 * sizeof(U_64)) + sizeof(U_8);
 	static constexpr int CLASSLOADER_ENTRY_SIZE = 3 * sizeof(U_64);
 	static constexpr int PACKAGE_ENTRY_SIZE = (3 * sizeof(U_64)) + sizeof(U_8);
@@ -198,6 +220,12 @@ private:
 	static constexpr int SYSTEM_GC_EVENT_SIZE = (2 * LEB128_64_SIZE) + (3 * LEB128_32_SIZE) + sizeof(U_8);
 	static constexpr int MODULE_REQUIRE_EVENT_SIZE = LEB128_64_SIZE + (4 * LEB128_32_SIZE);
 	static constexpr int MODULE_EXPORT_EVENT_SIZE = LEB128_64_SIZE + (4 * LEB128_32_SIZE);
+	static constexpr int CLASS_LOAD_EVENT_SIZE = (3 * LEB128_64_SIZE) + (5 * LEB128_32_SIZE) + sizeof(U_32);
+	/* jdk.GarbageCollection and jdk.GCPhasePause are both written for each collection */
+	static constexpr int GARBAGE_COLLECTION_EVENT_SIZE = (10 * LEB128_64_SIZE) + (5 * LEB128_32_SIZE) + (2 * sizeof(U_32));
+	static constexpr int OBJECT_ALLOCATION_SAMPLE_EVENT_SIZE = (3 * LEB128_64_SIZE) + (3 * LEB128_32_SIZE) + sizeof(U_32);
+	static constexpr int COMPILATION_EVENT_SIZE = (7 * LEB128_64_SIZE) + (4 * LEB128_32_SIZE) + (2 * sizeof(U_8)) + sizeof(U_32);
+	static constexpr int CODE_CACHE_FULL_EVENT_SIZE = (12 * LEB128_64_SIZE) + (2 * LEB128_32_SIZE) + sizeof(U_32);
 
 	static constexpr int METADATA_ID = 1;
 
@@ -386,6 +414,14 @@ done:
 
 			writeStacktraceCheckpointEvent();
 
+			writeEnumCheckpointEvent(_vm->jfrState.metadataTypeIDs.gcNameID, gcNameTypeNames, GCNameTypeCount);
+
+			writeEnumCheckpointEvent(_vm->jfrState.metadataTypeIDs.gcCauseID, gcCauseNames, sizeof(gcCauseNames) / sizeof(gcCauseNames[0]));
+
+			writeEnumCheckpointEvent(_vm->jfrState.metadataTypeIDs.compilerTypeID, compilerTypeNames, sizeof(compilerTypeNames) / sizeof(compilerTypeNames[0]));
+
+			writeEnumCheckpointEvent(_vm->jfrState.metadataTypeIDs.codeBlobTypeID, codeBlobTypeNames, sizeof(codeBlobTypeNames) / sizeof(codeBlobTypeNames[0]));
+
 			pool_do(_constantPoolTypes.getExecutionSampleTable(), &writeExecutionSampleEvent, _bufferWriter);
 
 			pool_do(_constantPoolTypes.getThreadStartTable(), &writeThreadStartEvent, _bufferWriter);
@@ -414,6 +450,16 @@ done:
 
 			pool_do(_constantPoolTypes.getSystemGCTable(), &writeSystemGCEvent, _bufferWriter);
 
+			pool_do(_constantPoolTypes.getClassLoadTable(), &writeClassLoadEvent, this);
+
+			pool_do(_constantPoolTypes.getGarbageCollectionTable(), &writeGarbageCollectionEvent, this);
+
+			pool_do(_constantPoolTypes.getObjectAllocationSampleTable(), &writeObjectAllocationSampleEvent, this);
+
+			pool_do(_constantPoolTypes.getCompilationTable(), &writeCompilationEvent, this);
+
+			pool_do(_constantPoolTypes.getCodeCacheFullTable(), &writeCodeCacheFullEvent, this);
+
 			pool_do(_constantPoolTypes.getModuleRequireTable(), &writeModuleRequire, _bufferWriter);
 
 			pool_do(_constantPoolTypes.getModuleExportTable(), &writeModuleExport, _bufferWriter);
@@ -840,6 +886,8 @@ done:
 
 	void writeNarrowOOPModeTypesEvent();
 
+	void writeEnumCheckpointEvent(U_64 typeID, const char * const *names, UDATA count);
+
 	void writeGCHeapConfigurationEvent();
 
 	void writeYoungGenerationConfigurationEvent();
@@ -862,6 +910,16 @@ done:
 
 	static void writeSystemGCEvent(void *anElement, void *userData);
 
+	static void writeClassLoadEvent(void *anElement, void *userData);
+
+	static void writeGarbageCollectionEvent(void *anElement, void *userData);
+
+	static void writeObjectAllocationSampleEvent(void *anElement, void *userData);
+
+	static void writeCompilationEvent(void *anElement, void *userData);
+
+	static void writeCodeCacheFullEvent(void *anElement, void *userData);
+
 	static void writeModuleRequire(void *anElement, void *userData);
 
 	static void writeModuleExport(void *anElement, void *userData);
@@ -952,6 +1010,18 @@ done:
 
 		requiredBufferSize += (_constantPoolTypes.getModuleExportCount() * MODULE_EXPORT_EVENT_SIZE);
 
+		requiredBufferSize += GC_NAME_ENTRY_SIZE + GC_CAUSE_ENTRY_SIZE + COMPILER_TYPE_ENTRY_SIZE + CODE_BLOB_TYPE_ENTRY_SIZE;
+
+		requiredBufferSize += (_constantPoolTypes.getClassLoadCount() * CLASS_LOAD_EVENT_SIZE);
+
+		requiredBufferSize += (_constantPoolTypes.getGarbageCollectionCount() * GARBAGE_COLLECTION_EVENT_SIZE);
+
+		requiredBufferSize += (_constantPoolTypes.getObjectAllocationSampleCount() * OBJECT_ALLOCATION_SAMPLE_EVENT_SIZE);
+
+		requiredBufferSize += (_constantPoolTypes.getCompilationCount() * COMPILATION_EVENT_SIZE);
+
+		requiredBufferSize += (_constantPoolTypes.getCodeCacheFullCount() * CODE_CACHE_FULL_EVENT_SIZE);
+
 		return requiredBufferSize;
 	}
 
@@ -1385,6 +1385,150 @@ done:
 
 }
 
+void
+VM_JFRConstantPoolTypes::addClassLoadEntry(J9JFRClassLoad *classLoadData)
+{
+	ClassLoadEntry *entry = (ClassLoadEntry *)pool_newElement(_classLoadTable);
+
+	if (NULL == entry) {
+		_buildResult = OutOfMemory;
+		goto done;
+	}
+
+	entry->ticks = classLoadData->startTicks;
+	entry->duration = classLoadData->duration;
+
+	entry->eventThreadIndex = addThreadEntry(classLoadData->vmThread);
+	if (isResultNotOKay()) goto done;
+
+	entry->stackTraceIndex = consumeStackTrace(classLoadData->vmThread, J9JFRCLASSLOAD_STACKTRACE(classLoadData), classLoadData->stackTraceSize);
+	if (isResultNotOKay()) goto done;
+
+	entry->loadedClassIndex = getClassEntry(classLoadData->loadedClass);
+	if (isResultNotOKay()) goto done;
+
+	entry->definingClassLoaderIndex = addClassLoaderEntry(classLoadData->definingClassLoader);
+	if (isResultNotOKay()) goto done;
+
+	entry->initiatingClassLoaderIndex = addClassLoaderEntry(classLoadData->initiatingClassLoader);
+	if (isResultNotOKay()) goto done;
+
+	_classLoadCount += 1;
+
+done:
+	return;
+}
+
+void
+VM_JFRConstantPoolTypes::addGarbageCollectionEntry(J9JFRGarbageCollection *garbageCollectionData)
+{
+	GarbageCollectionEntry *entry = (GarbageCollectionEntry *)pool_newElement(_garbageCollectionTable);
+
+	if (NULL == entry) {
+		_buildResult = OutOfMemory;
+		goto done;
+	}
+
+	entry->ticks = garbageCollectionData->startTicks;
+	entry->duration = garbageCollectionData->duration;
+	entry->gcID = garbageCollectionData->gcID;
+	entry->gcName = (U_32)garbageCollectionData->gcName;
+
+	entry->eventThreadIndex = addThreadEntry(garbageCollectionData->vmThread);
+	if (isResultNotOKay()) goto done;
+
+	_garbageCollectionCount += 1;
+
+done:
+	return;
+}
+
+void
+VM_JFRConstantPoolTypes::addObjectAllocationSampleEntry(J9JFRObjectAllocationSample *objectAllocationSampleData)
+{
+	ObjectAllocationSampleEntry *entry = (ObjectAllocationSampleEntry *)pool_newElement(_objectAllocationSampleTable);
+
+	if (NULL == entry) {
+		_buildResult = OutOfMemory;
+		goto done;
+	}
+
+	entry->ticks = objectAllocationSampleData->startTicks;
+	entry->weight = objectAllocationSampleData->weight;
+
+	entry->eventThreadIndex = addThreadEntry(objectAllocationSampleData->vmThread);
+	if (isResultNotOKay()) goto done;
+
+	entry->stackTraceIndex = consumeStackTrace(objectAllocationSampleData->vmThread, J9JFROBJECTALLOCATIONSAMPLE_STACKTRACE(objectAllocationSampleData), objectAllocationSampleData->stackTraceSize);
+	if (isResultNotOKay()) goto done;
+
+	entry->objectClassIndex = getClassEntry(objectAllocationSampleData->objectClass);
+	if (isResultNotOKay()) goto done;
+
+	_objectAllocationSampleCount += 1;
+
+done:
+	return;
+}
+
+void
+VM_JFRConstantPoolTypes::addCompilationEntry(J9JFRCompilation *compilationData)
+{
+	CompilationEntry *entry = (CompilationEntry *)pool_newElement(_compilationTable);
+	J9Method *method = compilationData->method;
+
+	if (NULL == entry) {
+		_buildResult = OutOfMemory;
+		goto done;
+	}
+
+	entry->ticks = compilationData->startTicks;
+	entry->duration = compilationData->duration;
+	entry->compileID = compilationData->compileID;
+	entry->compileLevel = compilationData->compileLevel;
+	entry->succeeded = compilationData->succeeded;
+	entry->isOSR = compilationData->isOSR;
+	entry->codeSize = compilationData->codeSize;
+	entry->inlinedBytes = compilationData->inlinedBytes;
+
+	entry->eventThreadIndex = addThreadEntry(compilationData->vmThread);
+	if (isResultNotOKay()) goto done;
+
+	entry->methodIndex = getMethodEntry(J9_ROM_METHOD_FROM_RAM_METHOD(method), J9_CLASS_FROM_METHOD(method));
+	if (isResultNotOKay()) goto done;
+
+	_compilationCount += 1;
+
+done:
+	return;
+}
+
+void
+VM_JFRConstantPoolTypes::addCodeCacheFullEntry(J9JFRCodeCacheFull *codeCacheFullData)
+{
+	CodeCacheFullEntry *entry = (CodeCacheFullEntry *)pool_newElement(_codeCacheFullTable);
+
+	if (NULL == entry) {
+		_buildResult = OutOfMemory;
+		goto done;
+	}
+
+	entry->ticks = codeCacheFullData->startTicks;
+	entry->startAddress = codeCacheFullData->startAddress;
+	entry->committedTopAddress = codeCacheFullData->committedTopAddress;
+	entry->reservedTopAddress = codeCacheFullData->reservedTopAddress;
+	entry->unallocatedCapacity = codeCacheFullData->unallocatedCapacity;
+	entry->fullCount = codeCacheFullData->fullCount;
+
+	entry->eventThreadIndex = addThreadEntry(codeCacheFullData->vmThread);
+	if (isResultNotOKay()) goto done;
+
+	_codeCacheFullCount += 1;
+
+done:
+	return;
+}
+
 void
 VM_JFRConstantPoolTypes::printTables()
 {
@@ -68,6 +68,12 @@ enum OOPModeType {
 	OOPModeTypeCount,
 };
 
+enum GCNameType {
+	LocalGC = 0,
+	GlobalGC,
+	GCNameTypeCount,
+};
+
 enum ThreadState {
 	NEW = 0,
 	TERMINATED,
@@ -294,6 +300,55 @@ struct SystemGCEntry {
 	U_32 stackTraceIndex;
 };
 
+struct ClassLoadEntry {
+	I_64 ticks;
+	I_64 duration;
+	U_32 eventThreadIndex;
+	U_32 stackTraceIndex;
+	U_32 loadedClassIndex;
+	U_32 definingClassLoaderIndex;
+	U_32 initiatingClassLoaderIndex;
+};
+
+struct GarbageCollectionEntry {
+	I_64 ticks;
+	I_64 duration;
+	U_32 eventThreadIndex;
+	U_64 gcID;
+	U_32 gcName;
+};
+
+struct ObjectAllocationSampleEntry {
+	I_64 ticks;
+	U_32 eventThreadIndex;
+	U_32 stackTraceIndex;
+	U_32 objectClassIndex;
+	U_64 weight;
+};
+
+struct CompilationEntry {
+	I_64 ticks;
+	I_64 duration;
+	U_32 eventThreadIndex;
+	U_64 compileID;
+	U_32 methodIndex;
+	U_64 compileLevel;
+	BOOLEAN succeeded;
+	BOOLEAN isOSR;
+	U_64 codeSize;
+	U_64 inlinedBytes;
+};
+
+struct CodeCacheFullEntry {
+	I_64 ticks;
+	U_32 eventThreadIndex;
+	U_64 startAddress;
+	U_64 committedTopAddress;
+	U_64 reservedTopAddress;
+	U_64 unallocatedCapacity;
+	U_64 fullCount;
+};
+
 struct ModuleRequireEntry {
 	I_64 ticks;
 	U_32 sourceModuleIndex;
@@ -437,6 +492,16 @@ private:
 	UDATA _nativeLibraryPathSizeTotal;
 	J9Pool *_systemGCTable;
 	UDATA _systemGCCount;
+	J9Pool *_classLoadTable;
+	UDATA _classLoadCount;
+	J9Pool *_garbageCollectionTable;
+	UDATA _garbageCollectionCount;
+	J9Pool *_objectAllocationSampleTable;
+	UDATA _objectAllocationSampleCount;
+	J9Pool *_compilationTable;
+	UDATA _compilationCount;
+	J9Pool *_codeCacheFullTable;
+	UDATA _codeCacheFullCount;
 	J9Pool *_moduleRequireTable;
 	UDATA _moduleRequireCount;
 	J9Pool *_moduleExportTable;
@@ -722,6 +787,16 @@ public:
 
 	void addSystemGCEntry(J9JFRSystemGC *systemGCData);
 
+	void addClassLoadEntry(J9JFRClassLoad *classLoadData);
+
+	void addGarbageCollectionEntry(J9JFRGarbageCollection *garbageCollectionData);
+
+	void addObjectAllocationSampleEntry(J9JFRObjectAllocationSample *objectAllocationSampleData);
+
+	void addCompilationEntry(J9JFRCompilation *compilationData);
+
+	void addCodeCacheFullEntry(J9JFRCodeCacheFull *codeCacheFullData);
+
 	J9Pool *getExecutionSampleTable()
 	{
 		return _executionSampleTable;
@@ -807,6 +882,31 @@ public:
 		return _systemGCTable;
 	}
 
+	J9Pool *getClassLoadTable()
+	{
+		return _classLoadTable;
+	}
+
+	J9Pool *getGarbageCollectionTable()
+	{
+		return _garbageCollectionTable;
+	}
+
+	J9Pool *getObjectAllocationSampleTable()
+	{
+		return _objectAllocationSampleTable;
+	}
+
+	J9Pool *getCompilationTable()
+	{
+		return _compilationTable;
+	}
+
+	J9Pool *getCodeCacheFullTable()
+	{
+		return _codeCacheFullTable;
+	}
+
 	J9Pool *getModuleRequireTable()
 	{
 		return _moduleRequireTable;
@@ -822,6 +922,31 @@ public:
 		return _systemGCCount;
 	}
 
+	UDATA getClassLoadCount()
+	{
+		return _classLoadCount;
+	}
+
+	UDATA getGarbageCollectionCount()
+	{
+		return _garbageCollectionCount;
+	}
+
+	UDATA getObjectAllocationSampleCount()
+	{
+		return _objectAllocationSampleCount;
+	}
+
+	UDATA getCompilationCount()
+	{
+		return _compilationCount;
+	}
+
+	UDATA getCodeCacheFullCount()
+	{
+		return _codeCacheFullCount;
+	}
+
 	UDATA getThreadStartCount()
 	{
 		return _threadStartCount;
@@ -1081,6 +1206,21 @@ public:
 			case J9JFR_EVENT_TYPE_SYSTEM_GC:
 				addSystemGCEntry((J9JFRSystemGC *)event);
 				break;
+			case J9JFR_EVENT_TYPE_CLASS_LOAD:
+				addClassLoadEntry((J9JFRClassLoad *)event);
+				break;
+			case J9JFR_EVENT_TYPE_GARBAGE_COLLECTION:
+				addGarbageCollectionEntry((J9JFRGarbageCollection *)event);
+				break;
+			case J9JFR_EVENT_TYPE_OBJECT_ALLOCATION_SAMPLE:
+				addObjectAllocationSampleEntry((J9JFRObjectAllocationSample *)event);
+				break;
+			case J9JFR_EVENT_TYPE_COMPILATION:
+				addCompilationEntry((J9JFRCompilation *)event);
+				break;
+			case J9JFR_EVENT_TYPE_CODE_CACHE_FULL:
+				addCodeCacheFullEntry((J9JFRCodeCacheFull *)event);
+				break;
 			default:
 				Assert_VM_unreachable();
 				break;
@@ -1729,6 +1869,16 @@ done:
 		, _nativeLibraryPathSizeTotal(0)
 		, _systemGCTable(NULL)
 		, _systemGCCount(0)
+		, _classLoadTable(NULL)
+		, _classLoadCount(0)
+		, _garbageCollectionTable(NULL)
+		, _garbageCollectionCount(0)
+		, _objectAllocationSampleTable(NULL)
+		, _objectAllocationSampleCount(0)
+		, _compilationTable(NULL)
+		, _compilationCount(0)
+		, _codeCacheFullTable(NULL)
+		, _codeCacheFullCount(0)
 		, _moduleRequireTable(NULL)
 		, _moduleRequireCount(0)
 		, _moduleExportTable(NULL)
@@ -1903,6 +2053,36 @@ done:
 			goto done;
 		}
 
+		_classLoadTable = pool_new(sizeof(ClassLoadEntry), 0, sizeof(U_64), 0, J9_GET_CALLSITE(), OMRMEM_CATEGORY_VM, POOL_FOR_PORT(privatePortLibrary));
+		if (NULL == _classLoadTable) {
+			_buildResult = OutOfMemory;
+			goto done;
+		}
+
+		_garbageCollectionTable = pool_new(sizeof(GarbageCollectionEntry), 0, sizeof(U_64), 0, J9_GET_CALLSITE(), OMRMEM_CATEGORY_VM, POOL_FOR_PORT(privatePortLibrary));
+		if (NULL == _garbageCollectionTable) {
+			_buildResult = OutOfMemory;
+			goto done;
+		}
+
+		_objectAllocationSampleTable = pool_new(sizeof(ObjectAllocationSampleEntry), 0, sizeof(U_64), 0, J9_GET_CALLSITE(), OMRMEM_CATEGORY_VM, POOL_FOR_PORT(privatePortLibrary));
+		if (NULL == _objectAllocationSampleTable) {
+			_buildResult = OutOfMemory;
+			goto done;
+		}
+
+		_compilationTable = pool_new(sizeof(CompilationEntry), 0, sizeof(U_64), 0, J9_GET_CALLSITE(), OMRMEM_CATEGORY_VM, POOL_FOR_PORT(privatePortLibrary));
+		if (NULL == _compilationTable) {
+			_buildResult = OutOfMemory;
+			goto done;
+		}
+
+		_codeCacheFullTable = pool_new(sizeof(CodeCacheFullEntry), 0, sizeof(U_64), 0, J9_GET_CALLSITE(), OMRMEM_CATEGORY_VM, POOL_FOR_PORT(privatePortLibrary));
+		if (NULL == _codeCacheFullTable) {
+			_buildResult = OutOfMemory;
+			goto done;
+		}
+
 		_moduleRequireTable = pool_new(sizeof(ModuleRequireEntry), 0, sizeof(U_64), 0, J9_GET_CALLSITE(), OMRMEM_CATEGORY_VM, POOL_FOR_PORT(privatePortLibrary));
 		if (NULL == _moduleRequireTable) {
 			_buildResult = OutOfMemory;
@@ -2012,6 +2192,11 @@ done:
 		pool_kill(_systemProcessTable);
 		pool_kill(_nativeLibrariesTable);
 		pool_kill(_systemGCTable);
+		pool_kill(_classLoadTable);
+		pool_kill(_garbageCollectionTable);
+		pool_kill(_objectAllocationSampleTable);
+		pool_kill(_compilationTable);
+		pool_kill(_codeCacheFullTable);
 		pool_kill(_moduleRequireTable);
 		pool_kill(_moduleExportTable);
 		j9mem_free_memory(_globalStringTable);
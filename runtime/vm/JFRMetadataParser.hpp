@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ *******************************************************************************/
+#if !defined(JFRMETADATAPARSER_HPP_)
+#define JFRMETADATAPARSER_HPP_
+
+#include <string.h>
+
+#include "j9cfg.h"
+#include "j9.h"
+#include "ut_j9vm.h"
+
+#if defined(J9VM_OPT_JFR)
+
+/* Fields of the event types which are looked up in the metadata blob, in the order they are written. */
+static constexpr const char * const classLoadFields[] = {
+	"startTime", "duration", "eventThread", "stackTrace", "loadedClass", "definingClassLoader", "initiatingClassLoader"
+};
+static constexpr const char * const garbageCollectionFields[] = {
+	"startTime", "duration", "gcId", "name", "cause", "sumOfPauses", "longestPause"
+};
+static constexpr const char * const gcPhasePauseFields[] = {
+	"startTime", "duration", "eventThread", "gcId", "name"
+};
+static constexpr const char * const objectAllocationSampleFields[] = {
+	"startTime", "eventThread", "stackTrace", "objectClass", "weight"
+};
+static constexpr const char * const compilationFields[] = {
+	"startTime", "duration", "eventThread", "compileId", "compiler", "method", "compileLevel", "succeded", "isOsr", "codeSize", "inlinedBytes"
+};
+/* Newer JDKs add codeCacheMaxCapacity to the end of jdk.CodeCacheFull. */
+static constexpr const char * const codeCacheFullFields[] = {
+	"startTime", "eventThread", "codeBlobType", "startAddress", "commitedTopAddress", "reservedTopAddress",
+	"entryCount", "methodCount", "adaptorCount", "unallocatedCapacity", "fullCount", "codeCacheMaxCapacity"
+};
+static constexpr const char * const gcNameFields[] = { "name" };
+static constexpr const char * const gcCauseFields[] = { "cause" };
+static constexpr const char * const compilerTypeFields[] = { "compiler" };
+static constexpr const char * const codeBlobTypeFields[] = { "type" };
+
+class VM_JFRMetadataParser {
+	/*
+	 * Data members
+	 */
+private:
+	struct BlobString {
+		const U_8 *data;
+		U_32 length;
+		U_8 encoding;
+	};
+
+	struct TypeLayout {
+		const char *name;
+		const char * const *fields;
+		UDATA requiredFieldCount;
+		UDATA optionalFieldCount;
+		U_64 *id;
+	};
+
+	struct ClassState {
+		TypeLayout *layout;
+		U_64 id;
+		UDATA fieldCount;
+		bool matches;
+	};
+
+	static constexpr UDATA MAX_ELEMENT_DEPTH = 16;
+	static constexpr UDATA TYPE_COUNT = 10;
+
+	J9PortLibrary *privatePortLibrary;
+	J9JFRMetadataTypeIDs *_ids;
+	const U_8 *_cursor;
+	const U_8 *_end;
+	bool _error;
+	BlobString *_strings;
+	U_64 _stringCount;
+	TypeLayout _layouts[TYPE_COUNT];
+
+protected:
+
+public:
+
+	/*
+	 * Function members
+	 */
+private:
+	U_8
+	readU8()
+	{
+		U_8 value = 0;
+		if (_cursor < _end) {
+			value = *_cursor;
+			_cursor += 1;
+		} else {
+			_error = true;
+		}
+		return value;
+	}
+
+	U_64
+	readLEB128()
+	{
+		U_64 value = 0;
+		for (UDATA shift = 0; shift < 64; shift += 7) {
+			U_8 byte = readU8();
+			value |= (U_64)(byte & 0x7F) << shift;
+			if (0 == (byte & 0x80)) {
+				break;
+			}
+		}
+		return value;
+	}
+
+	void
+	skip(U_64 length)
+	{
+		if (length > (U_64)(_end - _cursor)) {
+			_error = true;
+			_cursor = _end;
+		} else {
+			_cursor += length;
+		}
+	}
+
+	bool
+	readStrings()
+	{
+		_stringCount = readLEB128();
+		if (_error || (_stringCount > (U_64)(_end - _cursor))) {
+			goto fail;
+		}
+		_strings = (BlobString *)j9mem_allocate_memory((UDATA)_stringCount * sizeof(BlobString), OMRMEM_CATEGORY_VM);
+		if (NULL == _strings) {
+			goto fail;
+		}
+		for (U_64 i = 0; (i < _stringCount) && !_error; i++) {
+			BlobString *string = &_strings[i];
+			string->encoding = readU8();
+			string->data = _cursor;
+			string->length = 0;
+			switch (string->encoding) {
+			case 0: /* null */
+			case 1: /* empty */
+				break;
+			case 3: /* UTF8 */
+			case 5: /* Latin1 */
+				string->length = (U_32)readLEB128();
+				string->data = _cursor;
+				skip(string->length);
+				break;
+			case 4: /* char array */
+				string->length = (U_32)readLEB128();
+				string->data = _cursor;
+				for (U_32 c = 0; (c < string->length) && !_error; c++) {
+					readLEB128();
+				}
+				break;
+			default:
+				_error = true;
+				break;
+			}
+		}
+		return !_error;
+fail:
+		_error = true;
+		return false;
+	}
+
+	bool
+	stringEquals(U_64 index, const char *literal)
+	{
+		bool result = false;
+		if (index < _stringCount) {
+			BlobString *string = &_strings[index];
+			UDATA literalLength = strlen(literal);
+			if (4 == string->encoding) {
+				const U_8 *saveCursor = _cursor;
+				_cursor = string->data;
+				if (string->length == literalLength) {
+					result = true;
+					for (UDATA i = 0; i < literalLength; i++) {
+						if (readLEB128() != (U_8)literal[i]) {
+							result = false;
+							break;
+						}
+					}
+				}
+				_cursor = saveCursor;
+			} else {
+				result = (string->length == literalLength) && (0 == memcmp(string->data, literal, literalLength));
+			}
+		}
+		return result;
+	}
+
+	U_64
+	stringToU64(U_64 index)
+	{
+		U_64 value = 0;
+		if ((index < _stringCount) && (4 != _strings[index].encoding)) {
+			BlobString *string = &_strings[index];
+			for (U_32 i = 0; i < string->length; i++) {
+				U_8 c = string->data[i];
+				if ((c < '0') || (c > '9')) {
+					value = 0;
+					break;
+				}
+				value = (value * 10) + (c - '0');
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Parse one element of the metadata tree and its children.
+	 *
+	 * @param depth[in] the nesting depth of the element
+	 * @param owner[in] the enclosing class element, or NULL
+	 */
+	void
+	parseElement(UDATA depth, ClassState *owner)
+	{
+		ClassState state = { NULL, 0, 0, true };
+		U_64 elementName = readLEB128();
+		bool isClass = stringEquals(elementName, "class");
+		bool isField = (NULL != owner) && stringEquals(elementName, "field");
+		U_64 attributeCount = readLEB128();
+
+		if (depth > MAX_ELEMENT_DEPTH) {
+			_error = true;
+		}
+
+		for (U_64 i = 0; (i < attributeCount) && !_error; i++) {
+			U_64 key = readLEB128();
+			U_64 value = readLEB128();
+			if (stringEquals(key, "name")) {
+				if (isClass) {
+					for (UDATA t = 0; t < TYPE_COUNT; t++) {
+						if (stringEquals(value, _layouts[t].name)) {
+							state.layout = &_layouts[t];
+							break;
+						}
+					}
+				} else if (isField && (NULL != owner->layout)) {
+					TypeLayout *layout = owner->layout;
+					UDATA maxFields = layout->requiredFieldCount + layout->optionalFieldCount;
+					if ((owner->fieldCount >= maxFields) || !stringEquals(value, layout->fields[owner->fieldCount])) {
+						owner->matches = false;
+					}
+					owner->fieldCount += 1;
+				}
+			} else if (isClass && stringEquals(key, "id")) {
+				state.id = stringToU64(value);
+			}
+		}
+
+		U_64 childCount = readLEB128();
+		for (U_64 i = 0; (i < childCount) && !_error; i++) {
+			parseElement(depth + 1, isClass ? &state : NULL);
+		}
+
+		if (!_error && (NULL != state.layout) && state.matches && (0 != state.id)) {
+			TypeLayout *layout = state.layout;
+			if ((state.fieldCount >= layout->requiredFieldCount)
+				&& (state.fieldCount <= (layout->requiredFieldCount + layout->optionalFieldCount))
+			) {
+				*layout->id = state.id;
+				if (layout->id == &_ids->codeCacheFullID) {
+					_ids->codeCacheFullHasMaxCapacity = (state.fieldCount > layout->requiredFieldCount);
+				}
+			}
+		}
+	}
+
+	void
+	addLayout(UDATA index, const char *name, const char * const *fields, UDATA fieldCount, UDATA optionalFieldCount, U_64 *id)
+	{
+		_layouts[index].name = name;
+		_layouts[index].fields = fields;
+		_layouts[index].requiredFieldCount = fieldCount - optionalFieldCount;
+		_layouts[index].optionalFieldCount = optionalFieldCount;
+		_layouts[index].id = id;
+	}
+
+	VM_JFRMetadataParser(J9JavaVM *vm)
+		: privatePortLibrary(vm->portLibrary)
+		, _ids(&vm->jfrState.metadataTypeIDs)
+		, _cursor(vm->jfrState.metaDataBlobFile)
+		, _end(vm->jfrState.metaDataBlobFile + vm->jfrState.metaDataBlobFileSize)
+		, _error(false)
+		, _strings(NULL)
+		, _stringCount(0)
+	{
+		addLayout(0, "jdk.ClassLoad", classLoadFields, (sizeof(classLoadFields) / sizeof(classLoadFields[0])), 0, &_ids->classLoadID);
+		addLayout(1, "jdk.GarbageCollection", garbageCollectionFields, (sizeof(garbageCollectionFields) / sizeof(garbageCollectionFields[0])), 0, &_ids->garbageCollectionID);
+		addLayout(2, "jdk.GCPhasePause", gcPhasePauseFields, (sizeof(gcPhasePauseFields) / sizeof(gcPhasePauseFields[0])), 0, &_ids->gcPhasePauseID);
+		addLayout(3, "jdk.ObjectAllocationSample", objectAllocationSampleFields, (sizeof(objectAllocationSampleFields) / sizeof(objectAllocationSampleFields[0])), 0, &_ids->objectAllocationSampleID);
+		addLayout(4, "jdk.Compilation", compilationFields, (sizeof(compilationFields) / sizeof(compilationFields[0])), 0, &_ids->compilationID);
+		addLayout(5, "jdk.CodeCacheFull", codeCacheFullFields, (sizeof(codeCacheFullFields) / sizeof(codeCacheFullFields[0])), 1, &_ids->codeCacheFullID);
+		addLayout(6, "jdk.types.GCName", gcNameFields, (sizeof(gcNameFields) / sizeof(gcNameFields[0])), 0, &_ids->gcNameID);
+		addLayout(7, "jdk.types.GCCause", gcCauseFields, (sizeof(gcCauseFields) / sizeof(gcCauseFields[0])), 0, &_ids->gcCauseID);
+		addLayout(8, "jdk.types.CompilerType", compilerTypeFields, (sizeof(compilerTypeFields) / sizeof(compilerTypeFields[0])), 0, &_ids->compilerTypeID);
+		addLayout(9, "jdk.types.CodeBlobType", codeBlobTypeFields, (sizeof(codeBlobTypeFields) / sizeof(codeBlobTypeFields[0])), 0, &_ids->codeBlobTypeID);
+	}
+
+	~VM_JFRMetadataParser()
+	{
+		j9mem_free_memory(_strings);
+	}
+
+protected:
+
+public:
+
+	/**
+	 * Look up the IDs of the event and constant pool types whose IDs are not fixed
+	 * in the chunk writer. A type is only recorded if its fields match the layout
+	 * written by the chunk writer, so events of a type which is missing or laid out
+	 * differently in the metadata blob of this JDK are not written.
+	 *
+	 * @param vm[in] the J9JavaVM, with the metadata blob loaded
+	 */
+	static void
+	lookupMetadataTypeIDs(J9JavaVM *vm)
+	{
+		memset(&vm->jfrState.metadataTypeIDs, 0, sizeof(vm->jfrState.metadataTypeIDs));
+
+		if (NULL != vm->jfrState.metaDataBlobFile) {
+			VM_JFRMetadataParser parser(vm);
+			if (parser.readStrings()) {
+				parser.parseElement(0, NULL);
+			}
+			if (parser._error) {
+				memset(&vm->jfrState.metadataTypeIDs, 0, sizeof(vm->jfrState.metadataTypeIDs));
+			}
+			Trc_VM_jfr_lookupMetadataTypeIDs(
+					(I_32)!parser._error,
+					vm->jfrState.metadataTypeIDs.classLoadID,
+					vm->jfrState.metadataTypeIDs.garbageCollectionID,
+					vm->jfrState.metadataTypeIDs.objectAllocationSampleID,
+					vm->jfrState.metadataTypeIDs.compilationID,
+					vm->jfrState.metadataTypeIDs.codeCacheFullID);
+		}
+	}
+};
+
+#endif /* defined(J9VM_OPT_JFR) */
+
+#endif /* JFRMETADATAPARSER_HPP_ */
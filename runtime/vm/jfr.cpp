@@ -21,6 +21,8 @@
  *******************************************************************************/
 #include "JFRConstantPoolTypes.hpp"
 #include "j9protos.h"
+#include "mmhook.h"
+#include "mmomrhook.h"
 #include "omrlinkedlist.h"
 #include "pool_api.h"
 #include "thread_api.h"
@@ -45,6 +47,7 @@ typedef struct J9JFRTypeID {
 #define J9JFR_THREAD_BUFFER_SIZE (1024*1024)
 #define J9JFR_GLOBAL_BUFFER_SIZE (10 * J9JFR_THREAD_BUFFER_SIZE)
 #define J9JFR_SAMPLING_RATE 10
+#define J9JFR_ALLOCATION_SAMPLING_INTERVAL (512 * 1024)
 
 /* Value needs to be the same as jdk.jfr.internal.JVM.RESERVED_CLASS_ID_LIMIT. */
 #define RESERVED_CLASS_ID_LIMIT 500
@@ -117,6 +120,21 @@ jfrEventSize(J9JFREvent *jfrEvent)
 	case J9JFR_EVENT_TYPE_SYSTEM_GC:
 		size = sizeof(J9JFRSystemGC) + (((J9JFRSystemGC *)jfrEvent)->stackTraceSize * sizeof(UDATA));
 		break;
+	case J9JFR_EVENT_TYPE_CLASS_LOAD:
+		size = sizeof(J9JFRClassLoad) + (((J9JFRClassLoad *)jfrEvent)->stackTraceSize * sizeof(UDATA));
+		break;
+	case J9JFR_EVENT_TYPE_GARBAGE_COLLECTION:
+		size = sizeof(J9JFRGarbageCollection);
+		break;
+	case J9JFR_EVENT_TYPE_OBJECT_ALLOCATION_SAMPLE:
+		size = sizeof(J9JFRObjectAllocationSample) + (((J9JFRObjectAllocationSample *)jfrEvent)->stackTraceSize * sizeof(UDATA));
+		break;
+	case J9JFR_EVENT_TYPE_COMPILATION:
+		size = sizeof(J9JFRCompilation);
+		break;
+	case J9JFR_EVENT_TYPE_CODE_CACHE_FULL:
+		size = sizeof(J9JFRCodeCacheFull);
+		break;
 	default:
 		Assert_VM_unreachable();
 		break;
@@ -739,6 +757,186 @@ jfrSystemGC(J9HookInterface **hook, UDATA eventNum, void *eventData, void* userD
 	}
 }
 
+/**
+ * Hook for class load. Called with VM access, while the RAM class is being created
+ * or loaded from a snapshot.
+ *
+ * @param hook[in] the VM hook interface
+ * @param eventNum[in] the event number
+ * @param eventData[in] the event data
+ * @param userData[in] the registered user data
+ */
+static void
+jfrClassLoad(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	J9VMClassLoadEvent *event = (J9VMClassLoadEvent *)eventData;
+	J9VMThread *currentThread = event->currentThread;
+
+	if (0 != currentThread->javaVM->jfrState.metadataTypeIDs.classLoadID) {
+		J9Class *clazz = event->clazz;
+
+		Assert_VM_mustHaveVMAccess(currentThread);
+		J9JFRClassLoad *jfrEvent = (J9JFRClassLoad *)reserveBufferWithStackTrace(currentThread, currentThread, J9JFR_EVENT_TYPE_CLASS_LOAD, sizeof(*jfrEvent));
+		if (NULL != jfrEvent) {
+			/* The RAM class is complete by the time the hook runs; the time spent loading it is not tracked. */
+			jfrEvent->duration = 0;
+			jfrEvent->loadedClass = clazz;
+			jfrEvent->definingClassLoader = clazz->classLoader;
+			/* The initiating loader is not passed to the hook. */
+			jfrEvent->initiatingClassLoader = clazz->classLoader;
+		}
+	}
+}
+
+/**
+ * Hook for local and global GC start. Called by the main GC thread with exclusive VM access.
+ *
+ * @param hook[in] the OMR GC hook interface
+ * @param eventNum[in] the event number
+ * @param eventData[in] the event data
+ * @param userData[in] the registered user data
+ */
+static void
+jfrGCStart(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	J9JavaVM *vm = (J9JavaVM *)userData;
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	if (J9HOOK_MM_OMR_GLOBAL_GC_START == eventNum) {
+		vm->jfrState.globalGCStartTicks = j9time_nano_time();
+	} else {
+		vm->jfrState.localGCStartTicks = j9time_nano_time();
+	}
+}
+
+/**
+ * Hook for local and global GC end. Called by the main GC thread with exclusive VM access.
+ *
+ * @param hook[in] the OMR GC hook interface
+ * @param eventNum[in] the event number
+ * @param eventData[in] the event data
+ * @param userData[in] the registered user data
+ */
+static void
+jfrGCEnd(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	J9JavaVM *vm = (J9JavaVM *)userData;
+	JFRState *jfrState = &vm->jfrState;
+	PORT_ACCESS_FROM_JAVAVM(vm);
+	J9VMThread *currentThread = NULL;
+	I_64 startTicks = 0;
+	UDATA gcName = 0;
+
+	if (J9HOOK_MM_OMR_GLOBAL_GC_END == eventNum) {
+		currentThread = (J9VMThread *)((MM_GlobalGCEndEvent *)eventData)->currentThread->_language_vmthread;
+		startTicks = jfrState->globalGCStartTicks;
+		gcName = GlobalGC;
+	} else {
+		currentThread = (J9VMThread *)((MM_LocalGCEndEvent *)eventData)->currentThread->_language_vmthread;
+		startTicks = jfrState->localGCStartTicks;
+		gcName = LocalGC;
+	}
+
+	if ((NULL != currentThread)
+		&& (0 != startTicks)
+		&& ((0 != jfrState->metadataTypeIDs.garbageCollectionID) || (0 != jfrState->metadataTypeIDs.gcPhasePauseID))
+	) {
+		J9JFRGarbageCollection *jfrEvent = (J9JFRGarbageCollection *)reserveBuffer(currentThread, sizeof(J9JFRGarbageCollection));
+		if (NULL != jfrEvent) {
+			initializeEventFields(currentThread, (J9JFREvent *)jfrEvent, J9JFR_EVENT_TYPE_GARBAGE_COLLECTION);
+			jfrEvent->duration = jfrEvent->startTicks - startTicks;
+			jfrEvent->startTicks = startTicks;
+			jfrEvent->gcID = jfrState->gcCount;
+			jfrEvent->gcName = gcName;
+		}
+	}
+	/* GCs are serialized by exclusive access, so the count does not need to be updated atomically. */
+	jfrState->gcCount += 1;
+}
+
+/**
+ * Hook for object allocation sampling. Called with VM access.
+ *
+ * @param hook[in] the GC hook interface
+ * @param eventNum[in] the event number
+ * @param eventData[in] the event data
+ * @param userData[in] the registered user data
+ */
+static void
+jfrObjectAllocationSample(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	MM_ObjectAllocationSamplingEvent *event = (MM_ObjectAllocationSamplingEvent *)eventData;
+	J9VMThread *currentThread = event->currentThread;
+
+	J9JFRObjectAllocationSample *jfrEvent = (J9JFRObjectAllocationSample *)reserveBufferWithStackTrace(currentThread, currentThread, J9JFR_EVENT_TYPE_OBJECT_ALLOCATION_SAMPLE, sizeof(*jfrEvent));
+	if (NULL != jfrEvent) {
+		jfrEvent->objectClass = event->clazz;
+		/* Each sample stands for the bytes allocated since the previous one. */
+		jfrEvent->weight = J9JFR_ALLOCATION_SAMPLING_INTERVAL;
+	}
+}
+
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+/**
+ * Hook for the end of a JIT compilation. Called with VM access.
+ *
+ * @param hook[in] the VM hook interface
+ * @param eventNum[in] the event number
+ * @param eventData[in] the event data
+ * @param userData[in] the registered user data
+ */
+static void
+jfrCompilationEnd(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	J9VMJITCompilationEndEvent *event = (J9VMJITCompilationEndEvent *)eventData;
+	J9VMThread *currentThread = event->currentThread;
+	JFRState *jfrState = &currentThread->javaVM->jfrState;
+
+	if (0 != jfrState->metadataTypeIDs.compilationID) {
+		J9JFRCompilation *jfrEvent = (J9JFRCompilation *)reserveBuffer(currentThread, sizeof(J9JFRCompilation));
+		if (NULL != jfrEvent) {
+			initializeEventFields(currentThread, (J9JFREvent *)jfrEvent, J9JFR_EVENT_TYPE_COMPILATION);
+			jfrEvent->startTicks -= event->duration;
+			jfrEvent->duration = event->duration;
+			jfrEvent->method = event->method;
+			jfrEvent->compileID = VM_AtomicSupport::add(&jfrState->compilationCount, 1);
+			jfrEvent->compileLevel = event->compileLevel;
+			jfrEvent->succeeded = (0 != event->succeeded);
+			jfrEvent->isOSR = (0 != event->isOSR);
+			jfrEvent->codeSize = event->codeSize;
+			jfrEvent->inlinedBytes = event->inlinedBytes;
+		}
+	}
+}
+
+/**
+ * Hook for the JIT code cache becoming full. Called with or without VM access, possibly
+ * on a thread which is not attached to the VM. The data is recorded in the JFR state and
+ * the event is written by the sampler thread.
+ *
+ * @param hook[in] the VM hook interface
+ * @param eventNum[in] the event number
+ * @param eventData[in] the event data
+ * @param userData[in] the registered user data
+ */
+static void
+jfrCodeCacheFull(J9HookInterface **hook, UDATA eventNum, void *eventData, void *userData)
+{
+	J9VMJITCodeCacheFullEvent *event = (J9VMJITCodeCacheFullEvent *)eventData;
+	J9JavaVM *vm = (J9JavaVM *)userData;
+	JFRState *jfrState = &vm->jfrState;
+	PORT_ACCESS_FROM_JAVAVM(vm);
+
+	jfrState->codeCacheFullTicks = j9time_nano_time();
+	jfrState->codeCacheStartAddress = event->startAddress;
+	jfrState->codeCacheCommittedTopAddress = event->committedTopAddress;
+	jfrState->codeCacheReservedTopAddress = event->reservedTopAddress;
+	jfrState->codeCacheUnallocatedCapacity = event->unallocatedCapacity;
+	VM_AtomicSupport::writeBarrier();
+	VM_AtomicSupport::add(&jfrState->codeCacheFullCount, 1);
+}
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
+
 jint
 initializeJFR(J9JavaVM *vm, BOOLEAN lateInit)
 {
@@ -746,6 +944,8 @@ initializeJFR(J9JavaVM *vm, BOOLEAN lateInit)
 	OMRPORT_ACCESS_FROM_J9PORT(PORTLIB);
 	jint rc = JNI_ERR;
 	J9HookInterface **vmHooks = getVMHookInterface(vm);
+	J9HookInterface **gcHooks = vm->memoryManagerFunctions->j9gc_get_hook_interface(vm);
+	J9HookInterface **gcOmrHooks = vm->memoryManagerFunctions->j9gc_get_omr_hook_interface(vm->omrVM);
 	U_8 *buffer = NULL;
 	UDATA timeSuccess = 0;
 
@@ -855,6 +1055,40 @@ initializeJFR(J9JavaVM *vm, BOOLEAN lateInit)
 		goto fail;
 	}
 
+	/* The type IDs of these events are looked up by initializaJFRWriter(). */
+	if ((*vmHooks)->J9HookRegisterWithCallSite(vmHooks, J9HOOK_VM_CLASS_LOAD, jfrClassLoad, OMR_GET_CALLSITE(), NULL)) {
+		goto fail;
+	}
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+	if ((*vmHooks)->J9HookRegisterWithCallSite(vmHooks, J9HOOK_VM_JIT_COMPILATION_END, jfrCompilationEnd, OMR_GET_CALLSITE(), NULL)) {
+		goto fail;
+	}
+	if ((*vmHooks)->J9HookRegisterWithCallSite(vmHooks, J9HOOK_VM_JIT_CODE_CACHE_FULL, jfrCodeCacheFull, OMR_GET_CALLSITE(), vm)) {
+		goto fail;
+	}
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
+	if ((*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_GLOBAL_GC_START, jfrGCStart, OMR_GET_CALLSITE(), vm)) {
+		goto fail;
+	}
+	if ((*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_GLOBAL_GC_END, jfrGCEnd, OMR_GET_CALLSITE(), vm)) {
+		goto fail;
+	}
+	if ((*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_LOCAL_GC_START, jfrGCStart, OMR_GET_CALLSITE(), vm)) {
+		goto fail;
+	}
+	if ((*gcOmrHooks)->J9HookRegisterWithCallSite(gcOmrHooks, J9HOOK_MM_OMR_LOCAL_GC_END, jfrGCEnd, OMR_GET_CALLSITE(), vm)) {
+		goto fail;
+	}
+	/* Allocation sampling is disabled at bootstrap unless it has been hooked by then, and
+	 * hooking it disables OSR at safepoints, so it is only available when JFR starts with the VM.
+	 */
+	if (!lateInit && (0 != vm->jfrState.metadataTypeIDs.objectAllocationSampleID)) {
+		if (0 == (*gcHooks)->J9HookRegisterWithCallSite(gcHooks, J9HOOK_MM_OBJECT_ALLOCATION_SAMPLING, jfrObjectAllocationSample, OMR_GET_CALLSITE(), NULL)) {
+			vm->memoryManagerFunctions->j9gc_set_allocation_sampling_interval(vm, J9JFR_ALLOCATION_SAMPLING_INTERVAL);
+			vm->jfrState.allocationSamplingHooked = TRUE;
+		}
+	}
+
 	if (lateInit) {
 		/* Go through existing threads. */
 		J9VMThread *walkThread = J9_LINKED_LIST_START_DO(vm->mainThread);
@@ -893,6 +1127,8 @@ tearDownJFR(J9JavaVM *vm)
 	PORT_ACCESS_FROM_JAVAVM(vm);
 	J9VMThread *currentThread = currentVMThread(vm);
 	J9HookInterface **vmHooks = getVMHookInterface(vm);
+	J9HookInterface **gcHooks = vm->memoryManagerFunctions->j9gc_get_hook_interface(vm);
+	J9HookInterface **gcOmrHooks = vm->memoryManagerFunctions->j9gc_get_omr_hook_interface(vm->omrVM);
 
 	Assert_VM_mustHaveVMAccess(currentThread);
 
@@ -933,6 +1169,20 @@ tearDownJFR(J9JavaVM *vm)
 	(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_VM_MONITOR_CONTENDED_ENTERED, jfrVMMonitorEntered, NULL);
 	(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_VM_UNPARKED, jfrVMThreadParked, NULL);
 	(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_SYSTEM_GC_CALLED, jfrSystemGC, NULL);
+	(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_VM_CLASS_LOAD, jfrClassLoad, NULL);
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+	(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_VM_JIT_COMPILATION_END, jfrCompilationEnd, NULL);
+	(*vmHooks)->J9HookUnregister(vmHooks, J9HOOK_VM_JIT_CODE_CACHE_FULL, jfrCodeCacheFull, vm);
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
+	(*gcOmrHooks)->J9HookUnregister(gcOmrHooks, J9HOOK_MM_OMR_GLOBAL_GC_START, jfrGCStart, vm);
+	(*gcOmrHooks)->J9HookUnregister(gcOmrHooks, J9HOOK_MM_OMR_GLOBAL_GC_END, jfrGCEnd, vm);
+	(*gcOmrHooks)->J9HookUnregister(gcOmrHooks, J9HOOK_MM_OMR_LOCAL_GC_START, jfrGCStart, vm);
+	(*gcOmrHooks)->J9HookUnregister(gcOmrHooks, J9HOOK_MM_OMR_LOCAL_GC_END, jfrGCEnd, vm);
+	if (vm->jfrState.allocationSamplingHooked) {
+		/* The sampling interval is left alone as a JVMTI agent may also be sampling allocations. */
+		(*gcHooks)->J9HookUnregister(gcHooks, J9HOOK_MM_OBJECT_ALLOCATION_SAMPLING, jfrObjectAllocationSample, NULL);
+		vm->jfrState.allocationSamplingHooked = FALSE;
+	}
 
 	/* Free global data */
 	VM_JFRConstantPoolTypes::freeJFRConstantEvents(vm);
@@ -1155,6 +1405,35 @@ jfrThreadStatistics(J9VMThread *currentThread)
 
 }
 
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+/**
+ * Write a code cache full event if the code cache has become full since the last one.
+ *
+ * @param currentThread[in] the current J9VMThread
+ */
+static void
+jfrCodeCacheFullSample(J9VMThread *currentThread)
+{
+	JFRState *jfrState = &currentThread->javaVM->jfrState;
+	UDATA fullCount = jfrState->codeCacheFullCount;
+
+	if ((fullCount != jfrState->codeCacheFullReportedCount) && (0 != jfrState->metadataTypeIDs.codeCacheFullID)) {
+		VM_AtomicSupport::readBarrier();
+		J9JFRCodeCacheFull *jfrEvent = (J9JFRCodeCacheFull *)reserveBuffer(currentThread, sizeof(J9JFRCodeCacheFull));
+		if (NULL != jfrEvent) {
+			initializeEventFields(currentThread, (J9JFREvent *)jfrEvent, J9JFR_EVENT_TYPE_CODE_CACHE_FULL);
+			jfrEvent->startTicks = jfrState->codeCacheFullTicks;
+			jfrEvent->startAddress = jfrState->codeCacheStartAddress;
+			jfrEvent->committedTopAddress = jfrState->codeCacheCommittedTopAddress;
+			jfrEvent->reservedTopAddress = jfrState->codeCacheReservedTopAddress;
+			jfrEvent->unallocatedCapacity = jfrState->codeCacheUnallocatedCapacity;
+			jfrEvent->fullCount = fullCount;
+			jfrState->codeCacheFullReportedCount = fullCount;
+		}
+	}
+}
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
+
 static int J9THREAD_PROC
 jfrSamplingThreadProc(void *entryArg)
 {
@@ -1174,6 +1453,9 @@ jfrSamplingThreadProc(void *entryArg)
 				jfrCPULoad(currentThread);
 				jfrClassLoadingStatistics(currentThread);
 				jfrThreadStatistics(currentThread);
+#if defined(J9VM_INTERP_NATIVE_SUPPORT)
+				jfrCodeCacheFullSample(currentThread);
+#endif /* defined(J9VM_INTERP_NATIVE_SUPPORT) */
 				if (0 == (count % 1000)) { // 10 seconds
 					J9SignalAsyncEvent(vm, NULL, vm->jfrThreadCPULoadAsyncKey);
 					jfrThreadContextSwitchRate(currentThread);
@@ -0,0 +1,44 @@
+##############################################################################
+#  Copyright IBM Corp. and others 2026
+#
+#  This program and the accompanying materials are made available under
+#  the terms of the Eclipse Public License 2.0 which accompanies this
+#  distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+#  or the Apache License, Version 2.0 which accompanies this distribution and
+#  is available at https://www.apache.org/licenses/LICENSE-2.0.
+#
+#  This Source Code may also be made available under the following
+#  Secondary Licenses when the conditions for such availability set
+#  forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+#  General Public License, version 2 with the GNU Classpath
+#  Exception [1] and GNU General Public License, version 2 with the
+#  OpenJDK Assembly Exception [2].
+#
+#  [1] https://www.gnu.org/software/classpath/license.html
+#  [2] https://openjdk.org/legal/assembly-exception.html
+#
+#  SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+##############################################################################
+
+ADD_EXPORTS_DTFJ_PHD=
+# the PHD parser and writer packages are only exported to openj9.dtfjview,
+# which is not resolved by default as it has no unqualified exports
+# if JDK_VERSION is not 8
+ifneq ($(JDK_VERSION), 8)
+ ADD_EXPORTS_DTFJ_PHD=--add-modules openj9.dtfjview \
+	--add-exports openj9.dtfj/com.ibm.dtfj.phd=ALL-UNNAMED \
+	--add-exports openj9.dtfj/com.ibm.dtfj.phd.parser=ALL-UNNAMED \
+	--add-exports openj9.dtfj/com.ibm.dtfj.phd.util=ALL-UNNAMED \
+	--add-exports openj9.dtfjview/com.ibm.jvm.dtfjview.heapdump=ALL-UNNAMED \
+	--add-exports openj9.dtfjview/com.ibm.jvm.dtfjview.heapdump.portable=ALL-UNNAMED
+endif
+
+ADD_EXPORTS_DTFJ_JAVACORE=
+# the javacore parser and builder packages are not exported by openj9.dtfj
+# if JDK_VERSION is not 8
+ifneq ($(JDK_VERSION), 8)
+ ADD_EXPORTS_DTFJ_JAVACORE=--add-exports openj9.dtfj/com.ibm.dtfj.javacore.builder=ALL-UNNAMED \
+	--add-exports openj9.dtfj/com.ibm.dtfj.javacore.builder.javacore=ALL-UNNAMED \
+	--add-exports openj9.dtfj/com.ibm.dtfj.javacore.builder.stream=ALL-UNNAMED \
+	--add-exports openj9.dtfj/com.ibm.dtfj.javacore.parser.j9=ALL-UNNAMED
+endif
@@ -29,6 +29,8 @@ import j9vm.test.ddrext.junit.TestDDRExtensionGeneral;
 import j9vm.test.ddrext.junit.TestFindExt;
 import j9vm.test.ddrext.junit.TestJITExt;
 import j9vm.test.ddrext.junit.TestMonitors;
+import j9vm.test.ddrext.junit.TestParallelHeapWalk;
+import j9vm.test.ddrext.junit.TestQueryIndex;
 import j9vm.test.ddrext.junit.TestRTSpecificDDRExt;
 import j9vm.test.ddrext.junit.TestSharedClassesExt;
 import j9vm.test.ddrext.junit.TestStackMap;
@@ -467,6 +469,10 @@ public class AutoRun {
 					suite.addTestSuite(TestTypeResolution.class);
 				} else if (aTest.trim().equalsIgnoreCase("TestMonitors")) {
 					suite.addTestSuite(TestMonitors.class);
+				} else if (aTest.trim().equalsIgnoreCase("TestParallelHeapWalk")) {
+					suite.addTestSuite(TestParallelHeapWalk.class);
+				} else if (aTest.trim().equalsIgnoreCase("TestQueryIndex")) {
+					suite.addTestSuite(TestQueryIndex.class);
 				} else if (aTest.trim().equalsIgnoreCase("TestDeadlockCase1")) {
 					suite.addTestSuite(TestDeadlockCase1.class);
 				} else if (aTest.trim().equalsIgnoreCase("TestDeadlockCase2")) {
@@ -650,4 +650,23 @@ public class Constants {
 
 	public static final String ROMCLASS_FOR_NAME_CMD = "romclassforname";
 
+	/* Constants related to testing of the commands which walk the heap on several threads */
+	public static final String FINDINSTANCES_CMD = "findinstances";
+	public static final String FINDINSTANCES_SUCCESS_KEYS = "Found !j9class,Objects found: ,Corruptions encountered: ";
+	public static final String FINDINSTANCES_FAILURE_KEYS = "No class named,Problem running command,Exception";
+	public static final String OBJECTREFS_CMD = "objectrefs";
+	public static final String OBJECTREFS_SUCCESS_KEYS = "On Heap References";
+	public static final String OBJECTREFS_FAILURE_KEYS = "Problem running command,Exception";
+	public static final String DUMPSEGREGATEDSTATS_CMD = "dumpsegregatedstats";
+	public static final String DUMPSEGREGATEDSTATS_FAILURE_KEYS = "Problem running command,Exception";
+
+	/* Constants related to testing of the on-disk query index */
+	public static final String INDEX_DIR_PROPERTY = "com.ibm.j9ddr.index.dir";
+	public static final String QUERYINDEX_CMD = "queryindex";
+	public static final String QUERYINDEX_USING_INDEX = "Using the heap index";
+	public static final String QUERYINDEX_BUILD_SUCCESS_KEYS = "Indexed \\d+ objects in \\d+ regions";
+	public static final String QUERYINDEX_INDEXED_SUCCESS_KEYS = "Index directory: ,is indexed: ";
+	public static final String QUERYINDEX_NOT_INDEXED_SUCCESS_KEYS = "Index directory: ,is not indexed";
+	public static final String QUERYINDEX_FAILURE_KEYS = "No index is kept,Problem running command,Exception";
+
 }
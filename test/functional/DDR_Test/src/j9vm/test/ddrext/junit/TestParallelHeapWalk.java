@@ -0,0 +1,108 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.ddrext.junit;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.log4testng.Logger;
+
+import com.ibm.j9ddr.vm29.j9.gc.GCParallelHeapWalker;
+
+import j9vm.test.ddrext.Constants;
+import j9vm.test.ddrext.DDRExtTesterBase;
+
+/**
+ * Runs the commands which walk the heap regions on several threads, first on one
+ * thread and then on several, and checks that the output is the same.
+ */
+public class TestParallelHeapWalk extends DDRExtTesterBase {
+	private Logger log = Logger.getLogger(TestParallelHeapWalk.class);
+
+	private static final String PARALLEL_THREADS = "4";
+	private static final Pattern OBJECTS_FOUND = Pattern.compile("Objects found: (\\d+)");
+
+	/**
+	 * Runs a command with the heap walked on one thread and on several.
+	 * @return the output of the walk on one thread
+	 */
+	private String execSerialAndParallel(String command, String[] args) {
+		String saved = System.getProperty(GCParallelHeapWalker.THREADS_PROPERTY);
+		String serial;
+		String parallel;
+		try {
+			System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, "1");
+			serial = exec(command, args);
+			System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, PARALLEL_THREADS);
+			parallel = exec(command, args);
+		} finally {
+			if (saved == null) {
+				System.clearProperty(GCParallelHeapWalker.THREADS_PROPERTY);
+			} else {
+				System.setProperty(GCParallelHeapWalker.THREADS_PROPERTY, saved);
+			}
+		}
+		assertNotNull(command + " output is null", serial);
+		assertEquals(command + " output on " + PARALLEL_THREADS + " threads differs from the output on one thread", serial, parallel);
+		return serial;
+	}
+
+	private void checkFindInstances(String className) {
+		String output = execSerialAndParallel(Constants.FINDINSTANCES_CMD, new String[] { className });
+		assertTrue(validate(output, Constants.FINDINSTANCES_SUCCESS_KEYS, Constants.FINDINSTANCES_FAILURE_KEYS));
+		Matcher found = OBJECTS_FOUND.matcher(output);
+		assertTrue("no object count for " + className, found.find());
+		int count = Integer.parseInt(found.group(1));
+		log.debug("instances of " + className + ": " + count);
+		assertTrue("no instances of " + className, count > 0);
+	}
+
+	public void testFindInstancesOfString() {
+		checkFindInstances("java/lang/String");
+	}
+
+	public void testFindInstancesOfThread() {
+		/* Thread has subclasses in the core, so this also checks the class tests of each walking thread */
+		checkFindInstances("java/lang/Thread");
+	}
+
+	public void testObjectRefsHeapWalk() {
+		String instances = exec(Constants.FINDINSTANCES_CMD, new String[] { "java/lang/Thread" });
+		Matcher matcher = Pattern.compile("(0x[0-9a-fA-F]+)\\s+java/lang/Thread\\s").matcher(instances);
+		if (!matcher.find()) {
+			fail("Error parsing findinstances output for a java/lang/Thread object");
+			return;
+		}
+		String address = matcher.group(1);
+		/* the heap walk only lists references on a balanced heap, and prints nothing otherwise */
+		String output = execSerialAndParallel(Constants.OBJECTREFS_CMD, new String[] { address, "heapWalk" });
+		if (!output.isEmpty()) {
+			assertTrue(validate(output, Constants.OBJECTREFS_SUCCESS_KEYS, Constants.OBJECTREFS_FAILURE_KEYS));
+		}
+	}
+
+	public void testDumpSegregatedStats() {
+		/* prints the statistics of a segregated heap, or one line for other heaps */
+		String output = execSerialAndParallel(Constants.DUMPSEGREGATEDSTATS_CMD, new String[0]);
+		assertTrue(validate(output, null, Constants.DUMPSEGREGATEDSTATS_FAILURE_KEYS));
+	}
+}
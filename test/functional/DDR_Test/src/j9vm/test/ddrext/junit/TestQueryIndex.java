@@ -0,0 +1,149 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.ddrext.junit;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.log4testng.Logger;
+
+import j9vm.test.ddrext.Constants;
+import j9vm.test.ddrext.DDRExtTesterBase;
+
+/**
+ * Checks that the queries answered from the on-disk index of a core give the
+ * same results as the same queries answered by walking the heap.
+ */
+public class TestQueryIndex extends DDRExtTesterBase {
+	private Logger log = Logger.getLogger(TestQueryIndex.class);
+
+	private static final Pattern OBJECTS_FOUND = Pattern.compile("Objects found: (\\d+)");
+
+	/*
+	 * The index of a core is looked up once per session, so every test shares one
+	 * directory. It is kept in the working directory, with the other test output.
+	 */
+	private static final File INDEX_DIR = new File("ddrindex").getAbsoluteFile();
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		assertTrue("cannot create " + INDEX_DIR, INDEX_DIR.isDirectory() || INDEX_DIR.mkdirs());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		try {
+			if (System.getProperty(Constants.INDEX_DIR_PROPERTY) != null) {
+				exec(Constants.QUERYINDEX_CMD, new String[] { "clear", "all" });
+			}
+		} finally {
+			System.clearProperty(Constants.INDEX_DIR_PROPERTY);
+			super.tearDown();
+		}
+	}
+
+	private void enableIndex() {
+		System.setProperty(Constants.INDEX_DIR_PROPERTY, INDEX_DIR.getPath());
+	}
+
+	private void buildIndex() {
+		enableIndex();
+		String output = exec(Constants.QUERYINDEX_CMD, new String[] { "build" });
+		log.debug(output);
+		assertTrue(validate(output, Constants.QUERYINDEX_BUILD_SUCCESS_KEYS, Constants.QUERYINDEX_FAILURE_KEYS));
+	}
+
+	private static int objectsFound(String output) {
+		Matcher found = OBJECTS_FOUND.matcher(output);
+		assertTrue("no object count in " + output, found.find());
+		return Integer.parseInt(found.group(1));
+	}
+
+	private void checkFindInstances(String className) {
+		/* without the property, findinstances walks the heap */
+		System.clearProperty(Constants.INDEX_DIR_PROPERTY);
+		String walked = exec(Constants.FINDINSTANCES_CMD, new String[] { className });
+		assertTrue(validate(walked, Constants.FINDINSTANCES_SUCCESS_KEYS, Constants.FINDINSTANCES_FAILURE_KEYS));
+		assertFalse("findinstances used an index which is not enabled", walked.contains(Constants.QUERYINDEX_USING_INDEX));
+
+		buildIndex();
+		String indexed = exec(Constants.FINDINSTANCES_CMD, new String[] { className });
+		assertTrue("findinstances did not use the heap index", indexed.contains(Constants.QUERYINDEX_USING_INDEX));
+		String indexedResults = indexed.replaceFirst(Constants.QUERYINDEX_USING_INDEX + "\\r?\\n", "");
+		assertEquals("findinstances " + className + " differs when answered from the index", walked, indexedResults);
+		assertTrue("no instances of " + className, objectsFound(walked) > 0);
+	}
+
+	public void testFindInstancesOfString() {
+		checkFindInstances("java/lang/String");
+	}
+
+	public void testFindInstancesOfThread() {
+		/* Thread has subclasses in the core, so this also checks the class tests against the index */
+		checkFindInstances("java/lang/Thread");
+	}
+
+	public void testStatus() {
+		enableIndex();
+		exec(Constants.QUERYINDEX_CMD, new String[] { "clear" });
+		String output = exec(Constants.QUERYINDEX_CMD, new String[] { "status" });
+		assertTrue(validate(output, Constants.QUERYINDEX_NOT_INDEXED_SUCCESS_KEYS, Constants.QUERYINDEX_FAILURE_KEYS));
+
+		buildIndex();
+		output = exec(Constants.QUERYINDEX_CMD, new String[0]);
+		assertTrue(validate(output, Constants.QUERYINDEX_INDEXED_SUCCESS_KEYS, Constants.QUERYINDEX_FAILURE_KEYS));
+		assertTrue("no heap sections listed", output.contains("heap-"));
+	}
+
+	public void testHistogram() {
+		/* String is final, so its count in the histogram is the count of findinstances */
+		System.clearProperty(Constants.INDEX_DIR_PROPERTY);
+		int walkedStrings = objectsFound(exec(Constants.FINDINSTANCES_CMD, new String[] { "java/lang/String" }));
+
+		buildIndex();
+		String output = exec(Constants.QUERYINDEX_CMD, new String[] { "histogram", Integer.toString(Integer.MAX_VALUE) });
+		assertTrue(validate(output, "Instances", Constants.QUERYINDEX_FAILURE_KEYS));
+		Matcher matcher = Pattern.compile("^\\s*(\\d+)\\s+0x[0-9a-fA-F]+\\s+java/lang/String\\s*$", Pattern.MULTILINE).matcher(output);
+		assertTrue("no histogram entry for java/lang/String", matcher.find());
+		assertEquals("instances of java/lang/String in the histogram", walkedStrings, Integer.parseInt(matcher.group(1)));
+
+		output = exec(Constants.QUERYINDEX_CMD, new String[] { "histogram", "3" });
+		Matcher rows = Pattern.compile("^\\s*\\d+\\s+0x[0-9a-fA-F]+\\s", Pattern.MULTILINE).matcher(output);
+		int count = 0;
+		while (rows.find()) {
+			count += 1;
+		}
+		assertEquals("rows in a histogram of 3 classes", 3, count);
+	}
+
+	public void testClear() {
+		buildIndex();
+		String output = exec(Constants.QUERYINDEX_CMD, new String[] { "clear" });
+		assertTrue(validate(output, "Index cleared", Constants.QUERYINDEX_FAILURE_KEYS));
+		output = exec(Constants.FINDINSTANCES_CMD, new String[] { "java/lang/String" });
+		assertFalse("findinstances used a cleared index", output.contains(Constants.QUERYINDEX_USING_INDEX));
+		output = exec(Constants.QUERYINDEX_CMD, new String[] { "status" });
+		assertTrue(validate(output, Constants.QUERYINDEX_NOT_INDEXED_SUCCESS_KEYS, Constants.QUERYINDEX_FAILURE_KEYS));
+	}
+}
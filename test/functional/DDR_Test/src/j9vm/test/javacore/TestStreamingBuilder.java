@@ -0,0 +1,478 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.javacore;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.log4testng.Logger;
+
+import com.ibm.dtfj.image.DataUnavailable;
+import com.ibm.dtfj.image.Image;
+import com.ibm.dtfj.image.ImageAddressSpace;
+import com.ibm.dtfj.image.ImageProcess;
+import com.ibm.dtfj.image.ImageStackFrame;
+import com.ibm.dtfj.image.ImageThread;
+import com.ibm.dtfj.java.JavaLocation;
+import com.ibm.dtfj.java.JavaMonitor;
+import com.ibm.dtfj.java.JavaRuntime;
+import com.ibm.dtfj.java.JavaRuntimeMemoryCategory;
+import com.ibm.dtfj.java.JavaStackFrame;
+import com.ibm.dtfj.java.JavaThread;
+import com.ibm.dtfj.javacore.builder.IBuilderData;
+import com.ibm.dtfj.javacore.builder.javacore.ImageBuilderFactory;
+import com.ibm.dtfj.javacore.builder.stream.IJavaCoreVisitor;
+import com.ibm.dtfj.javacore.builder.stream.StreamingBuilderFactory;
+import com.ibm.dtfj.javacore.parser.j9.JavaCoreReader;
+import com.ibm.jvm.Dump;
+
+/**
+ * Checks that streaming a javacore to an IJavaCoreVisitor delivers the same threads, stack
+ * frames, monitors and memory categories as the DTFJ image built from the same javacore, and
+ * that javacores can be streamed on several threads at once. The javacore is written by this
+ * JVM while one thread owns a monitor, another is blocked entering it and a third waits on
+ * another monitor to be notified.
+ */
+@Test(groups = { "level.extended" })
+public class TestStreamingBuilder {
+
+	private static final Logger logger = Logger.getLogger(TestStreamingBuilder.class);
+
+	private static final int PARSER_THREADS = 8;
+	private static final int PARSES_PER_THREAD = 4;
+
+	private final Object enterLock = new Object();
+	private final Object notifyLock = new Object();
+	private final List<Thread> contenders = new ArrayList<>();
+	private volatile boolean finished;
+
+	private File javacore;
+	/** The contents of the javacore, as described by the DTFJ image */
+	private Contents imageContents;
+
+	/**
+	 * The contents of a javacore in a form which can be compared, whether read from
+	 * a DTFJ image or collected from the events of a streamed parse.
+	 */
+	static final class Contents {
+		String javaVersion;
+		String processID;
+		String commandLine;
+		/** thread ID to name and priority */
+		final Map<Long, String> threads = new TreeMap<>();
+		/** thread ID to its Java stack frames, innermost first */
+		final Map<Long, List<String>> javaFrames = new TreeMap<>();
+		/** native thread ID to its native stack frames, innermost first */
+		final Map<Long, List<String>> nativeFrames = new TreeMap<>();
+		/** monitor ID to its name, and the IDs of the threads waiting to enter it or to be notified */
+		final Map<Long, String> monitors = new TreeMap<>();
+		/** memory category path to its deep, and for parent categories shallow, counters */
+		final Map<String, String> memoryCategories = new TreeMap<>();
+
+		@Override
+		public String toString() {
+			return "version " + javaVersion + ", pid " + processID + ", " + threads.size() + " threads, "
+					+ monitors.size() + " monitors, " + memoryCategories.size() + " memory categories";
+		}
+	}
+
+	private static String frame(String className, String methodName, String fileName, int lineNumber) {
+		return className + "." + methodName + "(" + fileName + ":" + lineNumber + ")";
+	}
+
+	private static String thread(String name, int priority) {
+		return name + " priority " + priority;
+	}
+
+	private static String waiters(String name, List<Long> enterWaiters, List<Long> notifyWaiters) {
+		Collections.sort(enterWaiters);
+		Collections.sort(notifyWaiters);
+		return name + " entering " + enterWaiters + " notified " + notifyWaiters;
+	}
+
+	private static String deepCounters(long bytes, long allocations) {
+		return bytes + " bytes in " + allocations + " allocations";
+	}
+
+	private static String shallowCounters(long bytes, long allocations) {
+		return "; shallow " + bytes + " bytes in " + allocations + " allocations";
+	}
+
+	/**
+	 * Collects the events of a streamed parse. The frames and waiters which follow a thread
+	 * or a monitor are added to it.
+	 */
+	static final class ContentsVisitor implements IJavaCoreVisitor {
+		final Contents contents = new Contents();
+		private final Map<Long, List<Long>> enterWaiters = new TreeMap<>();
+		private final Map<Long, List<Long>> notifyWaiters = new TreeMap<>();
+		private final Map<Long, String> monitorNames = new TreeMap<>();
+		private final Map<String, String> categoryPaths = new TreeMap<>();
+
+		@Override
+		public void visitJavaVersion(String version) {
+			contents.javaVersion = version;
+		}
+
+		@Override
+		public void visitProcessID(String pid) {
+			contents.processID = pid;
+		}
+
+		@Override
+		public void visitCreationTime(long creationTime) {
+		}
+
+		@Override
+		public void visitCommandLine(String cmdLine) {
+			contents.commandLine = cmdLine;
+		}
+
+		@Override
+		public void visitThread(long tid, String name, String state, int priority, long nativeThreadID, long blockingObjectAddress, String blockingObjectClassName) {
+			contents.threads.put(Long.valueOf(tid), thread(name, priority));
+			contents.javaFrames.put(Long.valueOf(tid), new ArrayList<String>());
+		}
+
+		@Override
+		public void visitJavaStackFrame(long tid, String className, String methodName, String fileName, String compilationLevel, int lineNumber) {
+			contents.javaFrames.get(Long.valueOf(tid)).add(frame(className, methodName, fileName, lineNumber));
+		}
+
+		@Override
+		public void visitNativeStackFrame(long nativeThreadID, String name, long address) {
+			List<String> frames = contents.nativeFrames.get(Long.valueOf(nativeThreadID));
+			if (frames == null) {
+				frames = new ArrayList<>();
+				contents.nativeFrames.put(Long.valueOf(nativeThreadID), frames);
+			}
+			frames.add(name + " at 0x" + Long.toHexString(address));
+		}
+
+		@Override
+		public void visitMonitor(String name, long monitorID, long objectID, String className, long owningThread) {
+			Long id = Long.valueOf(monitorID);
+			monitorNames.put(id, name);
+			enterWaiters.put(id, new ArrayList<Long>());
+			notifyWaiters.put(id, new ArrayList<Long>());
+		}
+
+		@Override
+		public void visitMonitorWaiter(long monitorID, long threadID, boolean waitOnNotify) {
+			(waitOnNotify ? notifyWaiters : enterWaiters).get(Long.valueOf(monitorID)).add(Long.valueOf(threadID));
+		}
+
+		@Override
+		public void visitMemoryCategory(String name, String parentName, long deepBytes, long deepAllocations) {
+			String path = (parentName == null) ? name : categoryPaths.get(parentName) + "/" + name;
+			categoryPaths.put(name, path);
+			contents.memoryCategories.put(path, deepCounters(deepBytes, deepAllocations));
+		}
+
+		@Override
+		public void visitMemoryCategoryShallow(String name, long shallowBytes, long shallowAllocations) {
+			String path = categoryPaths.get(name);
+			contents.memoryCategories.put(path, contents.memoryCategories.get(path) + shallowCounters(shallowBytes, shallowAllocations));
+		}
+
+		@Override
+		public void visitMemorySection(String name, long base, long size) {
+		}
+
+		Contents getContents() {
+			for (Map.Entry<Long, String> monitor : monitorNames.entrySet()) {
+				Long id = monitor.getKey();
+				contents.monitors.put(id, waiters(monitor.getValue(), enterWaiters.get(id), notifyWaiters.get(id)));
+			}
+			return contents;
+		}
+	}
+
+	/**
+	 * Reads the contents of a javacore from the DTFJ image built from it.
+	 */
+	private static Contents readImage(File file) throws Exception {
+		Image image;
+		try (InputStream input = new FileInputStream(file)) {
+			image = new JavaCoreReader(new ImageBuilderFactory()).generateImage(input);
+		}
+		Contents contents = new Contents();
+		for (Iterator spaces = image.getAddressSpaces(); spaces.hasNext();) {
+			ImageAddressSpace space = (ImageAddressSpace) spaces.next();
+			for (Iterator processes = space.getProcesses(); processes.hasNext();) {
+				ImageProcess process = (ImageProcess) processes.next();
+				contents.processID = process.getID();
+				contents.commandLine = process.getCommandLine();
+				for (Iterator threads = process.getThreads(); threads.hasNext();) {
+					ImageThread imageThread = (ImageThread) threads.next();
+					Iterator stack;
+					try {
+						stack = imageThread.getStackFrames();
+					} catch (DataUnavailable e) {
+						/* the javacore has no native stack for the thread */
+						continue;
+					}
+					List<String> frames = new ArrayList<>();
+					while (stack.hasNext()) {
+						ImageStackFrame stackFrame = (ImageStackFrame) stack.next();
+						frames.add(stackFrame.getProcedureName() + " at 0x" + Long.toHexString(stackFrame.getProcedureAddress().getAddress()));
+					}
+					if (!frames.isEmpty()) {
+						contents.nativeFrames.put(Long.decode(imageThread.getID()), frames);
+					}
+				}
+				for (Iterator runtimes = process.getRuntimes(); runtimes.hasNext();) {
+					readRuntime((JavaRuntime) runtimes.next(), contents);
+				}
+			}
+		}
+		return contents;
+	}
+
+	private static void readRuntime(JavaRuntime runtime, Contents contents) throws Exception {
+		contents.javaVersion = runtime.getVersion();
+		for (Iterator threads = runtime.getThreads(); threads.hasNext();) {
+			JavaThread thread = (JavaThread) threads.next();
+			Long tid = Long.valueOf(thread.getJNIEnv().getAddress());
+			contents.threads.put(tid, thread(thread.getName(), thread.getPriority()));
+			List<String> frames = new ArrayList<>();
+			for (Iterator stack = thread.getStackFrames(); stack.hasNext();) {
+				JavaLocation location = ((JavaStackFrame) stack.next()).getLocation();
+				String fileName;
+				int lineNumber;
+				try {
+					fileName = location.getFilename();
+				} catch (DataUnavailable e) {
+					fileName = null;
+				}
+				try {
+					lineNumber = location.getLineNumber();
+				} catch (DataUnavailable e) {
+					lineNumber = IBuilderData.NOT_AVAILABLE;
+				}
+				frames.add(frame(location.getMethod().getDeclaringClass().getName(), location.getMethod().getName(), fileName, lineNumber));
+			}
+			contents.javaFrames.put(tid, frames);
+		}
+		for (Iterator monitors = runtime.getMonitors(); monitors.hasNext();) {
+			JavaMonitor monitor = (JavaMonitor) monitors.next();
+			List<Long> enterWaiters = new ArrayList<>();
+			List<Long> notifyWaiters = new ArrayList<>();
+			for (Iterator waiters = monitor.getEnterWaiters(); waiters.hasNext();) {
+				enterWaiters.add(Long.valueOf(((JavaThread) waiters.next()).getJNIEnv().getAddress()));
+			}
+			for (Iterator waiters = monitor.getNotifyWaiters(); waiters.hasNext();) {
+				notifyWaiters.add(Long.valueOf(((JavaThread) waiters.next()).getJNIEnv().getAddress()));
+			}
+			/* DTFJ makes up a name for an object monitor, which the visitor is not given */
+			String name = (monitor.getObject() == null) ? monitor.getName() : null;
+			contents.monitors.put(Long.valueOf(monitor.getID().getAddress()), waiters(name, enterWaiters, notifyWaiters));
+		}
+		for (Iterator categories = runtime.getMemoryCategories(); categories.hasNext();) {
+			readCategory((JavaRuntimeMemoryCategory) categories.next(), null, contents);
+		}
+	}
+
+	private static void readCategory(JavaRuntimeMemoryCategory category, String parentPath, Contents contents) throws Exception {
+		String path = (parentPath == null) ? category.getName() : parentPath + "/" + category.getName();
+		String counters = deepCounters(category.getDeepBytes(), category.getDeepAllocations());
+		Iterator children = category.getChildren();
+		if (children.hasNext()) {
+			counters += shallowCounters(category.getShallowBytes(), category.getShallowAllocations());
+		}
+		contents.memoryCategories.put(path, counters);
+		while (children.hasNext()) {
+			readCategory((JavaRuntimeMemoryCategory) children.next(), path, contents);
+		}
+	}
+
+	private static Contents stream(File file) throws Exception {
+		ContentsVisitor visitor = new ContentsVisitor();
+		Image image;
+		try (InputStream input = new FileInputStream(file)) {
+			image = new JavaCoreReader(new StreamingBuilderFactory(visitor)).generateImage(input);
+		}
+		Assert.assertNull(image, "a streamed parse built an image");
+		return visitor.getContents();
+	}
+
+	private static void assertSameContents(Contents actual, Contents expected) {
+		Assert.assertEquals(actual.javaVersion, expected.javaVersion, "Java version");
+		Assert.assertEquals(actual.processID, expected.processID, "process ID");
+		Assert.assertEquals(actual.commandLine, expected.commandLine, "command line");
+		Assert.assertEquals(actual.threads, expected.threads, "threads");
+		Assert.assertEquals(actual.javaFrames, expected.javaFrames, "Java stack frames");
+		Assert.assertEquals(actual.nativeFrames, expected.nativeFrames, "native stack frames");
+		Assert.assertEquals(actual.monitors, expected.monitors, "monitors");
+		Assert.assertEquals(actual.memoryCategories, expected.memoryCategories, "memory categories");
+	}
+
+	private void startContenders() throws InterruptedException {
+		final Thread owner = new Thread("StreamingBuilder owner") {
+			@Override
+			public void run() {
+				synchronized (enterLock) {
+					while (!finished) {
+						try {
+							Thread.sleep(10);
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				}
+			}
+		};
+		final Thread blocked = new Thread("StreamingBuilder blocked") {
+			@Override
+			public void run() {
+				synchronized (enterLock) {
+				}
+			}
+		};
+		final Thread waiting = new Thread("StreamingBuilder waiting") {
+			@Override
+			public void run() {
+				synchronized (notifyLock) {
+					while (!finished) {
+						try {
+							notifyLock.wait();
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				}
+			}
+		};
+		contenders.add(owner);
+		contenders.add(blocked);
+		contenders.add(waiting);
+		for (Thread thread : contenders) {
+			thread.setDaemon(true);
+		}
+		owner.start();
+		waiting.start();
+		/* the owner sleeps while it holds the monitor */
+		while (owner.getState() != Thread.State.TIMED_WAITING) {
+			Thread.sleep(10);
+		}
+		blocked.start();
+		while ((blocked.getState() != Thread.State.BLOCKED) || (waiting.getState() != Thread.State.WAITING)) {
+			Thread.sleep(10);
+		}
+	}
+
+	@BeforeClass
+	public void setUp() throws Exception {
+		File directory = new File("streamingBuilder").getAbsoluteFile();
+		Assert.assertTrue(directory.isDirectory() || directory.mkdirs(), "cannot create " + directory);
+		javacore = new File(directory, "javacore.txt");
+		if (javacore.exists()) {
+			Assert.assertTrue(javacore.delete(), "cannot delete " + javacore);
+		}
+
+		startContenders();
+		try {
+			String written = Dump.javaDumpToFile(javacore.getPath());
+			logger.debug("javacore written to " + written);
+			javacore = new File(written);
+		} finally {
+			finished = true;
+			synchronized (notifyLock) {
+				notifyLock.notifyAll();
+			}
+		}
+		for (Thread thread : contenders) {
+			thread.join(60000);
+		}
+
+		imageContents = readImage(javacore);
+		logger.debug("image: " + imageContents);
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void tearDown() {
+		if ((javacore != null) && javacore.exists()) {
+			javacore.delete();
+			javacore.getParentFile().delete();
+		}
+	}
+
+	@Test
+	public void testJavacoreContents() {
+		/* check that the javacore has the contents which the other tests compare */
+		Assert.assertNotNull(imageContents.javaVersion, "no Java version");
+		Assert.assertTrue(imageContents.threads.size() >= contenders.size(), "threads: " + imageContents.threads);
+		Assert.assertTrue(imageContents.threads.containsValue(thread("StreamingBuilder blocked", Thread.NORM_PRIORITY)), "no blocked thread in " + imageContents.threads);
+		boolean entering = false;
+		boolean notified = false;
+		for (String monitor : imageContents.monitors.values()) {
+			entering |= !monitor.contains("entering []");
+			notified |= !monitor.contains("notified []");
+		}
+		Assert.assertTrue(entering, "no thread waiting to enter a monitor: " + imageContents.monitors);
+		Assert.assertTrue(notified, "no thread waiting to be notified: " + imageContents.monitors);
+		Assert.assertFalse(imageContents.memoryCategories.isEmpty(), "no memory categories");
+	}
+
+	@Test
+	public void testStreamMatchesImage() throws Exception {
+		Contents streamed = stream(javacore);
+		logger.debug("streamed: " + streamed);
+		assertSameContents(streamed, imageContents);
+	}
+
+	@Test
+	public void testStreamOnSeveralThreads() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(PARSER_THREADS);
+		try {
+			List<Future<Contents>> results = new ArrayList<>();
+			for (int i = 0; i < (PARSER_THREADS * PARSES_PER_THREAD); i++) {
+				results.add(executor.submit(new Callable<Contents>() {
+					@Override
+					public Contents call() throws Exception {
+						return stream(javacore);
+					}
+				}));
+			}
+			for (Future<Contents> result : results) {
+				assertSameContents(result.get(), imageContents);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
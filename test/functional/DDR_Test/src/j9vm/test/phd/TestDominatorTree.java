@@ -0,0 +1,426 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.phd;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.log4testng.Logger;
+
+import com.ibm.jvm.dtfjview.heapdump.DominatorTree;
+import com.ibm.jvm.dtfjview.heapdump.LongListReferenceIterator;
+import com.ibm.jvm.dtfjview.heapdump.portable.PortableHeapDumpFormatter;
+
+/**
+ * Checks the dominators and retained sizes computed by DominatorTree for PHD files written with
+ * PortableHeapDumpFormatter. The expected results come from the definition: one node dominates
+ * another if the other cannot be reached from the roots once the node is removed.
+ */
+@Test(groups = { "level.extended" })
+public class TestDominatorTree {
+
+	private static final Logger logger = Logger.getLogger(TestDominatorTree.class);
+
+	private static final long CLASS_BASE = 0x10000L;
+	private static final long OBJECT_BASE = 0x100000000L;
+	/** The PHD type code of int */
+	private static final int INT_TYPE = 6;
+
+	private File directory;
+	/** For the temporary files of the trees */
+	private File work;
+
+	/**
+	 * A heap as a graph: objects are the nodes 0 to objects - 1 in the order they are written,
+	 * then the classes follow in address order, as in DominatorTree.
+	 */
+	private static final class Heap {
+		final int objects;
+		final int classes;
+		final long[] addresses;
+		/** The class of each object, or -1 for a primitive array */
+		final int[] classOf;
+		final int[] classSizes;
+		final int[][] references;
+
+		Heap(int objects, int classes) {
+			this.objects = objects;
+			this.classes = classes;
+			addresses = new long[objects + classes];
+			classOf = new int[objects];
+			classSizes = new int[classes];
+			references = new int[objects + classes][];
+			for (int i = 0; i < classes; ++i) {
+				addresses[objects + i] = CLASS_BASE + (i * 0x100L);
+			}
+		}
+
+		int nodes() {
+			return objects + classes;
+		}
+	}
+
+	@BeforeMethod
+	public void setUp() throws Exception {
+		directory = File.createTempFile("dominators", "");
+		Assert.assertTrue(directory.delete() && directory.mkdir(), "cannot create " + directory);
+		work = new File(directory, "work");
+		Assert.assertTrue(work.mkdir(), "cannot create " + work);
+	}
+
+	@AfterMethod
+	public void tearDown() {
+		delete(work);
+		delete(directory);
+	}
+
+	private static void delete(File directory) {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	/**
+	 * The example graph of Lengauer and Tarjan, "A Fast Algorithm for Finding Dominators in a Flowgraph",
+	 * with its start node R referenced from a class.
+	 */
+	@Test
+	public void testKnownGraph() throws Exception {
+		String names = "RABCDEFGHIJKL";
+		String[] edges = { "ABC", "D", "ADE", "FG", "L", "H", "I", "IJ", "EK", "K", "I", "IR", "H" };
+		String[] idoms = { "$", "R", "R", "R", "R", "R", "C", "C", "R", "R", "G", "R", "D" };
+
+		Heap heap = new Heap(names.length(), names.length() + 1);
+		for (int i = 0; i < names.length(); ++i) {
+			heap.addresses[i] = OBJECT_BASE + (i * 0x40L);
+			heap.classOf[i] = i;
+			heap.classSizes[i] = 16 * (i + 1);
+			heap.references[i] = new int[edges[i].length()];
+			for (int e = 0; e < edges[i].length(); ++e) {
+				heap.references[i][e] = names.indexOf(edges[i].charAt(e));
+			}
+		}
+		/* the last class holds the only reference to R from outside the graph */
+		int rootClass = heap.objects + names.length();
+		heap.references[rootClass] = new int[] { 0 };
+		File dump = write(heap);
+
+		DominatorTree tree = DominatorTree.build(dump, work, 2);
+		try {
+			Assert.assertEquals(tree.getNodeCount(), heap.nodes());
+			for (int i = 0; i < names.length(); ++i) {
+				int node = tree.findNode(heap.addresses[i]);
+				Assert.assertEquals(node, i);
+				int expected = "$".equals(idoms[i]) ? rootClass : names.indexOf(idoms[i]);
+				Assert.assertEquals(tree.getDominator(node), expected, "dominator of " + names.charAt(i));
+				Assert.assertEquals(tree.getShallowSize(node), heap.classSizes[i]);
+				Assert.assertEquals(tree.getTypeName(node), "test/Class" + i);
+			}
+			Assert.assertEquals(tree.getDominator(rootClass), -1);
+			Assert.assertEquals(tree.getTypeName(rootClass), "class test/Class" + names.length());
+
+			/* R retains the whole graph; C retains F, G and J; D retains L */
+			long total = 0;
+			for (int i = 0; i < names.length(); ++i) {
+				total += heap.classSizes[i];
+			}
+			Assert.assertEquals(tree.getTotalSize(), total);
+			Assert.assertEquals(tree.getRetainedSize(0), total);
+			Assert.assertEquals(tree.getRetainedSize(rootClass), total);
+			Assert.assertEquals(tree.getRetainedSize(names.indexOf('C')), size(heap, names, "CFGJ"));
+			Assert.assertEquals(tree.getRetainedSize(names.indexOf('D')), size(heap, names, "DL"));
+			Assert.assertEquals(tree.getRetainedSize(names.indexOf('G')), size(heap, names, "GJ"));
+			Assert.assertEquals(tree.getRetainedSize(names.indexOf('I')), size(heap, names, "I"));
+
+			Assert.assertEquals(tree.getDominated(names.indexOf('C'), 10), new int[] { names.indexOf('G'), names.indexOf('F') });
+			int[] largest = tree.getLargest(2);
+			Assert.assertEquals(largest.length, 2);
+			Assert.assertEquals(tree.getRetainedSize(largest[0]), total);
+			Assert.assertEquals(tree.getRetainedSize(largest[1]), total);
+		} finally {
+			tree.close();
+		}
+	}
+
+	/**
+	 * A random heap, with garbage cycles, references to objects not in the dump and objects in two
+	 * regions out of address order, against the dominators found by removing each node in turn.
+	 */
+	@Test
+	public void testRandomGraph() throws Exception {
+		Random random = new Random(15);
+		int classes = 12;
+		Heap heap = new Heap(2000, classes);
+		for (int c = 0; c < classes; ++c) {
+			heap.classSizes[c] = 8 * (2 + random.nextInt(10));
+		}
+		long address = OBJECT_BASE;
+		for (int i = 0; i < heap.objects; ++i) {
+			if (i == heap.objects / 2) {
+				/* the second half of the objects are below the first */
+				address = OBJECT_BASE / 2;
+			}
+			heap.addresses[i] = address;
+			address += 8 * (2 + random.nextInt(20));
+			heap.classOf[i] = random.nextInt(8) == 0 ? -1 : random.nextInt(classes);
+		}
+		for (int node = 0; node < heap.nodes(); ++node) {
+			boolean isClass = node >= heap.objects;
+			if (!isClass && heap.classOf[node] < 0) {
+				continue;
+			}
+			/* few references, so that there are long chains and objects with a single referrer */
+			int count = isClass ? random.nextInt(3) : (random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(random.nextInt(4) + 1));
+			heap.references[node] = new int[count];
+			for (int r = 0; r < count; ++r) {
+				/* mostly nearby objects */
+				int target = random.nextBoolean() ? node + 1 + random.nextInt(16) : random.nextInt(heap.objects);
+				heap.references[node][r] = target < heap.objects ? target : random.nextInt(heap.objects);
+			}
+		}
+		File dump = write(heap);
+
+		long[] shallow = new long[heap.nodes()];
+		int[] expectedDominators = new int[heap.nodes()];
+		long[] expectedRetained = new long[heap.nodes()];
+		DominatorTree tree = DominatorTree.build(dump, work, 4);
+		try {
+			Assert.assertEquals(tree.getNodeCount(), heap.nodes());
+			long total = 0;
+			for (int node = 0; node < heap.nodes(); ++node) {
+				Assert.assertEquals(tree.findNode(heap.addresses[node]), node);
+				Assert.assertEquals(tree.getAddress(node), heap.addresses[node]);
+				shallow[node] = tree.getShallowSize(node);
+				if (node >= heap.objects) {
+					Assert.assertEquals(tree.getTypeName(node), "class test/Class" + (node - heap.objects));
+				} else if (heap.classOf[node] >= 0) {
+					Assert.assertEquals(shallow[node], heap.classSizes[heap.classOf[node]]);
+					Assert.assertEquals(tree.getTypeName(node), "test/Class" + heap.classOf[node]);
+				} else {
+					Assert.assertEquals(tree.getTypeName(node), "int[]");
+				}
+				total += shallow[node];
+			}
+			Assert.assertEquals(tree.getTotalSize(), total);
+			Assert.assertEquals(tree.findNode(OBJECT_BASE + 4), -1);
+
+			dominators(heap, shallow, expectedDominators, expectedRetained);
+			for (int node = 0; node < heap.nodes(); ++node) {
+				Assert.assertEquals(tree.getDominator(node), expectedDominators[node], "dominator of node " + node);
+				Assert.assertEquals(tree.getRetainedSize(node), expectedRetained[node], "retained size of node " + node);
+			}
+
+			int[] largest = tree.getLargest(20);
+			Assert.assertEquals(largest.length, 20);
+			for (int i = 1; i < largest.length; ++i) {
+				Assert.assertTrue(tree.getRetainedSize(largest[i - 1]) >= tree.getRetainedSize(largest[i]));
+			}
+			long[] sorted = expectedRetained.clone();
+			Arrays.sort(sorted);
+			Assert.assertEquals(tree.getRetainedSize(largest[0]), sorted[sorted.length - 1]);
+			Assert.assertEquals(tree.getRetainedSize(largest[19]), sorted[sorted.length - 20]);
+
+			int[] top = tree.getDominated(-1, heap.nodes());
+			int roots = 0;
+			for (int node = 0; node < heap.nodes(); ++node) {
+				if (expectedDominators[node] == -1) {
+					++roots;
+				}
+			}
+			Assert.assertEquals(top.length, roots);
+			for (int node : top) {
+				Assert.assertEquals(tree.getDominator(node), -1);
+			}
+		} finally {
+			tree.close();
+		}
+
+		/* the result does not depend on the number of threads */
+		tree = DominatorTree.build(dump, work, 1);
+		try {
+			for (int node = 0; node < heap.nodes(); ++node) {
+				Assert.assertEquals(tree.getDominator(node), expectedDominators[node]);
+				Assert.assertEquals(tree.getRetainedSize(node), expectedRetained[node]);
+			}
+		} finally {
+			tree.close();
+		}
+		File[] left = work.listFiles();
+		Assert.assertEquals(left == null ? 0 : left.length, 0, "temporary files were not removed");
+	}
+
+	private static long size(Heap heap, String names, String nodes) {
+		long size = 0;
+		for (int i = 0; i < nodes.length(); ++i) {
+			size += heap.classSizes[names.indexOf(nodes.charAt(i))];
+		}
+		return size;
+	}
+
+	/**
+	 * Finds the dominators and retained sizes from their definition. The roots are chosen as
+	 * DominatorTree documents them: the classes, the objects which are not referenced, then the
+	 * first object in dump order of each group of objects not yet reached.
+	 */
+	private static void dominators(Heap heap, long[] shallow, int[] dominators, long[] retained) {
+		int n = heap.nodes();
+		boolean[] referenced = new boolean[n];
+		for (int[] refs : heap.references) {
+			if (refs != null) {
+				for (int target : refs) {
+					referenced[target] = true;
+				}
+			}
+		}
+		List<Integer> roots = new ArrayList<Integer>();
+		BitSet reached = new BitSet(n);
+		for (int node = heap.objects; node < n; ++node) {
+			addRoot(heap, node, roots, reached);
+		}
+		for (int node = 0; node < heap.objects; ++node) {
+			if (!referenced[node]) {
+				addRoot(heap, node, roots, reached);
+			}
+		}
+		for (int node = 0; node < heap.objects; ++node) {
+			addRoot(heap, node, roots, reached);
+		}
+
+		/* dominatedBy[x] holds the nodes which cannot be reached without x */
+		BitSet[] dominatedBy = new BitSet[n];
+		int[] dominatorCount = new int[n];
+		for (int x = 0; x < n; ++x) {
+			BitSet without = reach(heap, roots, x);
+			without.set(x);
+			without.flip(0, n);
+			dominatedBy[x] = without;
+			retained[x] = shallow[x];
+			for (int y = without.nextSetBit(0); y >= 0; y = without.nextSetBit(y + 1)) {
+				retained[x] += shallow[y];
+				dominatorCount[y]++;
+			}
+		}
+		/* the immediate dominator is the strict dominator with the most dominators of its own */
+		for (int y = 0; y < n; ++y) {
+			dominators[y] = -1;
+			int best = -1;
+			for (int x = 0; x < n; ++x) {
+				if (dominatedBy[x].get(y) && (dominatorCount[x] > best)) {
+					best = dominatorCount[x];
+					dominators[y] = x;
+				}
+			}
+		}
+	}
+
+	private static void addRoot(Heap heap, int node, List<Integer> roots, BitSet reached) {
+		if (!reached.get(node)) {
+			roots.add(Integer.valueOf(node));
+			reached.or(reach(heap, roots.subList(roots.size() - 1, roots.size()), -1));
+		}
+	}
+
+	/**
+	 * Returns the nodes reached from the roots without passing through a removed node.
+	 */
+	private static BitSet reach(Heap heap, List<Integer> roots, int removed) {
+		BitSet reached = new BitSet(heap.nodes());
+		Deque<Integer> work = new ArrayDeque<Integer>();
+		for (Integer root : roots) {
+			if (root.intValue() != removed && !reached.get(root.intValue())) {
+				reached.set(root.intValue());
+				work.push(root);
+			}
+		}
+		while (!work.isEmpty()) {
+			int[] refs = heap.references[work.pop().intValue()];
+			if (refs != null) {
+				for (int target : refs) {
+					if (target != removed && !reached.get(target)) {
+						reached.set(target);
+						work.push(Integer.valueOf(target));
+					}
+				}
+			}
+		}
+		return reached;
+	}
+
+	/**
+	 * Writes the heap as a PHD file, the classes first, then the objects, with an extra
+	 * reference to an address which is not in the dump from every tenth object.
+	 */
+	private File write(Heap heap) throws Exception {
+		File dump = new File(directory, "heap.phd");
+		PortableHeapDumpFormatter formatter = new PortableHeapDumpFormatter(
+				new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dump))), "JRE test", true, true);
+		try {
+			for (int c = 0; c < heap.classes; ++c) {
+				int node = heap.objects + c;
+				formatter.addClass(heap.addresses[node], "test/Class" + c, 0, 0, heap.classSizes.length > c ? heap.classSizes[c] : 0, 0,
+						new LongListReferenceIterator(targets(heap, node, false)));
+			}
+			for (int node = 0; node < heap.objects; ++node) {
+				if (heap.classOf[node] < 0) {
+					formatter.addPrimitiveArray(heap.addresses[node], 0, INT_TYPE, 16 + (4L * node % 100), 0, node % 100);
+				} else {
+					formatter.addObject(heap.addresses[node], heap.addresses[heap.objects + heap.classOf[node]], null, 0, 0,
+							new LongListReferenceIterator(targets(heap, node, (node % 10) == 9)));
+				}
+			}
+		} finally {
+			formatter.close();
+		}
+		logger.debug("wrote " + dump.length() + " bytes to " + dump);
+		return dump;
+	}
+
+	private static List<Long> targets(Heap heap, int node, boolean dangling) {
+		List<Long> targets = new ArrayList<Long>();
+		if (heap.references[node] != null) {
+			for (int target : heap.references[node]) {
+				targets.add(Long.valueOf(heap.addresses[target]));
+			}
+		}
+		if (dangling) {
+			targets.add(Long.valueOf(OBJECT_BASE * 3));
+		}
+		return targets;
+	}
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.phd;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.log4testng.Logger;
+
+import com.ibm.dtfj.image.ImageAddressSpace;
+import com.ibm.dtfj.image.ImageProcess;
+import com.ibm.dtfj.java.JavaObject;
+import com.ibm.dtfj.java.JavaRuntime;
+import com.ibm.dtfj.phd.PHDImage;
+import com.ibm.dtfj.phd.PHDImageFactory;
+import com.ibm.dtfj.phd.parser.HeapdumpIndex;
+import com.ibm.dtfj.phd.parser.HeapdumpReader;
+import com.ibm.dtfj.phd.parser.IndexedHeapdumpReader;
+import com.ibm.dtfj.phd.parser.PortableHeapDumpListener;
+import com.ibm.dtfj.phd.util.LongEnumeration;
+import com.ibm.jvm.dtfjview.heapdump.LongListReferenceIterator;
+import com.ibm.jvm.dtfjview.heapdump.portable.PortableHeapDumpFormatter;
+
+/**
+ * Checks that IndexedHeapdumpReader answers the same records as a sequential parse of the dump
+ * with HeapdumpReader. The dump is written with PortableHeapDumpFormatter; its objects are in
+ * several address ranges which are not in ascending order, so that segments start both at the
+ * record limit and where the addresses fall.
+ */
+@Test(groups = { "level.extended" })
+public class TestIndexedHeapdumpReader {
+
+	private static final Logger logger = Logger.getLogger(TestIndexedHeapdumpReader.class);
+
+	/** Small enough to give many segments, not a divisor of the region sizes */
+	private static final int INTERVAL = 97;
+	private static final int CLASSES = 9;
+	private static final int OBJECTS_PER_REGION = 1500;
+	/** Regions of the heap, written out of address order */
+	private static final long[] REGIONS = { 0x7f0000000L, 0x100000000L, 0x400000000L };
+	private static final long CLASS_BASE = 0x10000L;
+
+	private File directory;
+	private File dump;
+	/** The records of the dump from a sequential parse, in file order */
+	private List<String> records;
+	/** The object and array records of the dump, by address */
+	private Map<Long, String> objects;
+
+	@BeforeClass
+	public void setUp() throws Exception {
+		directory = File.createTempFile("phdindex", "");
+		Assert.assertTrue(directory.delete() && directory.mkdir(), "cannot create " + directory);
+		dump = new File(directory, "test.phd");
+		writeDump(dump, new Random(14));
+
+		records = new ArrayList<String>();
+		PHDImage image = (PHDImage)new PHDImageFactory().getImage(dump);
+		try {
+			HeapdumpReader reader = new HeapdumpReader(dump, image);
+			try {
+				reader.parse(new RecordListener(records));
+			} finally {
+				reader.close();
+			}
+		} finally {
+			image.close();
+		}
+		objects = new HashMap<Long, String>();
+		for (String record : records) {
+			if (!record.startsWith("class")) {
+				Assert.assertNull(objects.put(Long.valueOf(address(record)), record), "duplicate " + record);
+			}
+		}
+		Assert.assertEquals(objects.size(), OBJECTS_PER_REGION * REGIONS.length);
+		logger.debug("records: " + records.size());
+	}
+
+	@AfterClass
+	public void tearDown() {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testIndex() throws Exception {
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, INTERVAL, null);
+		try {
+			HeapdumpIndex index = reader.getIndex();
+			Assert.assertEquals(index.getObjectCount(), objects.size());
+			Assert.assertTrue(index.getSegmentCount() >= (records.size() / INTERVAL), "too few segments");
+			int recordCount = 0;
+			int objectCount = 0;
+			for (int segment = 0; segment < index.getSegmentCount(); ++segment) {
+				Assert.assertTrue(index.getRecordCount(segment) <= INTERVAL);
+				Assert.assertEquals(index.getFirstObject(segment), objectCount);
+				recordCount += index.getRecordCount(segment);
+				objectCount += index.getSegmentObjectCount(segment);
+			}
+			Assert.assertEquals(recordCount, records.size());
+			Assert.assertEquals(objectCount, objects.size());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testParseSegment() throws Exception {
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, INTERVAL, null);
+		try {
+			HeapdumpIndex index = reader.getIndex();
+			List<String> indexed = new ArrayList<String>();
+			/* parse the segments backwards, so each parse must start from the saved state */
+			for (int segment = index.getSegmentCount() - 1; segment >= 0; --segment) {
+				List<String> segmentRecords = new ArrayList<String>();
+				reader.parseSegment(segment, new RecordListener(segmentRecords));
+				Assert.assertEquals(segmentRecords.size(), index.getRecordCount(segment), "segment " + segment);
+				indexed.addAll(0, segmentRecords);
+			}
+			Assert.assertEquals(indexed, records);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testParseSegmentsInParallel() throws Exception {
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, INTERVAL, null);
+		try {
+			int segments = reader.getIndex().getSegmentCount();
+			final List<List<String>> results = new ArrayList<List<String>>(segments);
+			for (int segment = 0; segment < segments; ++segment) {
+				results.add(Collections.synchronizedList(new ArrayList<String>()));
+			}
+			reader.parseSegments(new IndexedHeapdumpReader.SegmentListenerFactory() {
+				public PortableHeapDumpListener listener(int segment) {
+					return new RecordListener(results.get(segment));
+				}
+			}, 4);
+			List<String> indexed = new ArrayList<String>();
+			for (List<String> result : results) {
+				indexed.addAll(result);
+			}
+			Assert.assertEquals(indexed, records);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testParseObjectAt() throws Exception {
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, INTERVAL, null);
+		try {
+			for (Map.Entry<Long, String> object : objects.entrySet()) {
+				long address = object.getKey().longValue();
+				List<String> found = new ArrayList<String>();
+				Assert.assertTrue(reader.parseObjectAt(address, new RecordListener(found)), "not found " + object.getValue());
+				Assert.assertEquals(found, Collections.singletonList(object.getValue()));
+
+				/* objects are 8 byte aligned, so there is never an object 4 bytes on */
+				found.clear();
+				Assert.assertFalse(reader.parseObjectAt(address + 4, new RecordListener(found)));
+				Assert.assertTrue(found.isEmpty(), found.toString());
+			}
+			for (int i = 0; i < CLASSES; ++i) {
+				/* class records are not found */
+				Assert.assertFalse(reader.parseObjectAt(classAddress(i), new RecordListener(new ArrayList<String>())));
+			}
+			Assert.assertFalse(reader.parseObjectAt(0, new RecordListener(new ArrayList<String>())));
+			Assert.assertFalse(reader.parseObjectAt(Long.MAX_VALUE, new RecordListener(new ArrayList<String>())));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testImageObjectLookup() throws Exception {
+		List<String> sample = new ArrayList<String>();
+		for (String record : records) {
+			if (record.startsWith("object ")) {
+				sample.add(record);
+			}
+		}
+		/* look up the objects from the end of the dump back, so that most are not in the cache */
+		Collections.reverse(sample);
+		PHDImage image = (PHDImage)new PHDImageFactory().getImage(dump);
+		try {
+			ImageAddressSpace space = (ImageAddressSpace)image.getAddressSpaces().next();
+			ImageProcess process = (ImageProcess)space.getProcesses().next();
+			JavaRuntime runtime = (JavaRuntime)process.getRuntimes().next();
+			for (int i = 0; i < sample.size(); i += 7) {
+				String record = sample.get(i);
+				String[] fields = record.split(" ");
+				long address = Long.parseLong(fields[1], 16);
+				JavaObject object = runtime.getObjectAtAddress(space.getPointer(address));
+				Assert.assertNotNull(object, record);
+				Assert.assertEquals(object.getID().getAddress(), address, record);
+				Assert.assertEquals(Long.toHexString(object.getJavaClass().getID().getAddress()), fields[2], record);
+			}
+		} finally {
+			image.close();
+		}
+	}
+
+	@Test
+	public void testHistogram() throws Exception {
+		Map<String, Long> expected = new HashMap<String, Long>();
+		for (String record : objects.values()) {
+			String[] fields = record.split(" ");
+			String key = fields[0] + " " + fields[2];
+			Long count = expected.get(key);
+			expected.put(key, Long.valueOf(count == null ? 1 : count.longValue() + 1));
+		}
+
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, INTERVAL, null);
+		try {
+			HeapdumpIndex index = reader.getIndex();
+			Map<String, Long> histogram = new HashMap<String, Long>();
+			long previous = Long.MAX_VALUE;
+			for (int entry = 0; entry < index.getHistogramLength(); ++entry) {
+				String kind;
+				switch (index.getHistogramKind(entry)) {
+				case HeapdumpIndex.OBJECT_ARRAY:
+					kind = "objectarray";
+					break;
+				case HeapdumpIndex.PRIMITIVE_ARRAY:
+					kind = "primitivearray";
+					break;
+				default:
+					kind = "object";
+					break;
+				}
+				long count = index.getHistogramCount(entry);
+				Assert.assertTrue(count <= previous, "histogram is not in descending order of count");
+				previous = count;
+				Assert.assertNull(histogram.put(kind + " " + Long.toHexString(index.getHistogramClass(entry)), Long.valueOf(count)));
+			}
+			Assert.assertEquals(histogram, expected);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testSavedIndex() throws Exception {
+		File sidecar = new File(dump.getPath() + HeapdumpIndex.SUFFIX);
+		IndexedHeapdumpReader reader = IndexedHeapdumpReader.open(dump, INTERVAL, null);
+		int segments;
+		try {
+			segments = reader.getIndex().getSegmentCount();
+		} finally {
+			reader.close();
+		}
+		Assert.assertTrue(sidecar.isFile(), "index was not saved");
+
+		/* a saved index is used whatever interval is asked for */
+		reader = IndexedHeapdumpReader.open(dump, INTERVAL * 10, null);
+		try {
+			Assert.assertEquals(reader.getIndex().getInterval(), INTERVAL);
+			Assert.assertEquals(reader.getIndex().getSegmentCount(), segments);
+		} finally {
+			reader.close();
+		}
+
+		/* an index which does not match the dump is rebuilt */
+		Assert.assertTrue(dump.setLastModified(dump.lastModified() - 10000));
+		reader = IndexedHeapdumpReader.open(dump, INTERVAL * 10, null);
+		try {
+			HeapdumpIndex index = reader.getIndex();
+			Assert.assertEquals(index.getInterval(), INTERVAL * 10);
+			Assert.assertTrue(index.getSegmentCount() < segments);
+			List<String> indexed = new ArrayList<String>();
+			for (int segment = 0; segment < index.getSegmentCount(); ++segment) {
+				reader.parseSegment(segment, new RecordListener(indexed));
+			}
+			Assert.assertEquals(indexed, records);
+		} finally {
+			reader.close();
+		}
+		sidecar.delete();
+	}
+
+	private static long classAddress(int i) {
+		return CLASS_BASE + (i * 0x100L);
+	}
+
+	private static long address(String record) {
+		return Long.parseLong(record.split(" ")[1], 16);
+	}
+
+	/**
+	 * Writes a dump with a class record for each class and, in each region, a mix of objects of
+	 * each class, object arrays and primitive arrays which refer to objects anywhere in the heap.
+	 * Some class records are written between the regions.
+	 */
+	private static void writeDump(File file, Random random) throws Exception {
+		long[][] addresses = new long[REGIONS.length][OBJECTS_PER_REGION];
+		for (int region = 0; region < REGIONS.length; ++region) {
+			long address = REGIONS[region];
+			for (int i = 0; i < OBJECTS_PER_REGION; ++i) {
+				addresses[region][i] = address;
+				/* mostly small gaps, with some large ones which need wider records */
+				address += 8 * (2 + random.nextInt(random.nextInt(10) == 0 ? 100000 : 8));
+			}
+		}
+		PortableHeapDumpFormatter formatter = new PortableHeapDumpFormatter(
+				new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))), "JRE test", true, true);
+		try {
+			for (int i = 0; i < CLASSES - 2; ++i) {
+				writeClass(formatter, i);
+			}
+			for (int region = 0; region < REGIONS.length; ++region) {
+				for (int i = 0; i < OBJECTS_PER_REGION; ++i) {
+					long address = addresses[region][i];
+					List<Long> refs = new ArrayList<Long>();
+					int refCount = random.nextInt(5);
+					for (int r = 0; r < refCount; ++r) {
+						long[] target = addresses[random.nextInt(addresses.length)];
+						refs.add(Long.valueOf(target[random.nextInt(target.length)]));
+					}
+					int hashCode = random.nextBoolean() ? 0 : random.nextInt();
+					switch (random.nextInt(6)) {
+					case 0:
+						formatter.addObjectArray(address, 0, null, classAddress(random.nextInt(CLASSES)), null,
+								16 + (8 * refs.size()), refs.size(), hashCode, new LongListReferenceIterator(refs));
+						break;
+					case 1:
+						int type = random.nextInt(8);
+						int length = random.nextInt(random.nextBoolean() ? 10 : 100000);
+						formatter.addPrimitiveArray(address, 0, type, 16 + (8L * length), hashCode, length);
+						break;
+					default:
+						/* favour a few classes, so that both short and medium object records are used */
+						int cls = random.nextInt(random.nextBoolean() ? 3 : CLASSES);
+						formatter.addObject(address, classAddress(cls), null, 0, hashCode, new LongListReferenceIterator(refs));
+						break;
+					}
+				}
+				if (region == 0) {
+					writeClass(formatter, CLASSES - 2);
+				}
+			}
+			writeClass(formatter, CLASSES - 1);
+		} finally {
+			formatter.close();
+		}
+	}
+
+	private static void writeClass(PortableHeapDumpFormatter formatter, int i) throws Exception {
+		List<Long> refs = new ArrayList<Long>();
+		refs.add(Long.valueOf(classAddress((i + 1) % CLASSES)));
+		formatter.addClass(classAddress(i), "test/Class" + i, i == 0 ? 0 : classAddress(0), 0, 16 + (8 * i), i,
+				new LongListReferenceIterator(refs));
+	}
+
+	/**
+	 * Records each record of a parse as a line of text.
+	 */
+	private static final class RecordListener implements PortableHeapDumpListener {
+		private final List<String> records;
+
+		RecordListener(List<String> records) {
+			this.records = records;
+		}
+
+		private static String refs(LongEnumeration refs) {
+			StringBuilder text = new StringBuilder("[");
+			while (refs.hasMoreElements()) {
+				text.append(Long.toHexString(refs.nextLong())).append(refs.hasMoreElements() ? "," : "");
+			}
+			return text.append(']').toString();
+		}
+
+		public void classDump(long address, long superAddress, String name, int size, int flags,
+				int hashCode, LongEnumeration refs) {
+			records.add("class " + Long.toHexString(address) + " " + Long.toHexString(superAddress) + " " + name
+					+ " " + size + " " + flags + " " + hashCode + " " + refs(refs));
+		}
+
+		public void objectArrayDump(long address, long classAddress, int flags, int hashCode,
+				LongEnumeration refs, int length, long instanceSize) {
+			records.add("objectarray " + Long.toHexString(address) + " " + Long.toHexString(classAddress) + " " + flags
+					+ " " + hashCode + " " + refs(refs) + " " + length + " " + instanceSize);
+		}
+
+		public void objectDump(long address, long classAddress, int flags, int hashCode,
+				LongEnumeration refs, long instanceSize) {
+			records.add("object " + Long.toHexString(address) + " " + Long.toHexString(classAddress) + " " + flags
+					+ " " + hashCode + " " + refs(refs) + " " + instanceSize);
+		}
+
+		public void primitiveArrayDump(long address, int type, int length, int flags, int hashCode,
+				long instanceSize) {
+			records.add("primitivearray " + Long.toHexString(address) + " " + Long.toHexString(type) + " " + flags
+					+ " " + hashCode + " " + length + " " + instanceSize);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.java.lang.management;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.log4testng.Logger;
+
+import com.ibm.lang.management.CodeCacheMXBean;
+
+/**
+ * @brief Test the CodeCacheMXBean: the code cache free space statistics are
+ * consistent with each other and the reclamation totals do not decrease.
+ */
+@Test(groups = { "level.sanity" })
+public class TestCodeCacheMXBean {
+
+	private static Logger logger = Logger.getLogger(TestCodeCacheMXBean.class);
+	private static final String OBJECT_NAME = "com.ibm.lang.management:type=CodeCache";
+
+	private CodeCacheMXBean ccb;
+	private MBeanServer mbs;
+	private ObjectName objName;
+
+	@BeforeClass
+	protected void setUp() throws Exception {
+		mbs = ManagementFactory.getPlatformMBeanServer();
+		objName = new ObjectName(OBJECT_NAME);
+		/* the bean is only registered when a JIT compiler is enabled */
+		if (mbs.isRegistered(objName)) {
+			ccb = ManagementFactory.getPlatformMXBean(CodeCacheMXBean.class);
+		}
+		logger.info("Starting CodeCacheMXBean tests ...");
+	}
+
+	private void checkBean() {
+		if (ccb == null) {
+			throw new SkipException("no JIT compiler, the CodeCacheMXBean is not registered");
+		}
+	}
+
+	@Test
+	public final void testObjectName() {
+		checkBean();
+		Assert.assertEquals(ccb.getObjectName(), objName);
+	}
+
+	@Test
+	public final void testAttributes() throws Exception {
+		checkBean();
+		String[] attributes = { "ContiguousFreeBytes", "FreeBlockBytes", "LargestFreeBlockBytes",
+				"FreeBlockCount", "ReclaimedBytes", "ReclaimedBlockCount" };
+		for (String attribute : attributes) {
+			Object value = mbs.getAttribute(objName, attribute);
+			Assert.assertTrue(value instanceof Long, attribute + " is " + value);
+			Assert.assertTrue(((Long)value).longValue() >= 0, attribute + " is " + value);
+		}
+	}
+
+	@Test
+	public final void testFreeBlocks() {
+		checkBean();
+		long freeBlockBytes = ccb.getFreeBlockBytes();
+		long largestFreeBlockBytes = ccb.getLargestFreeBlockBytes();
+		long freeBlockCount = ccb.getFreeBlockCount();
+		logger.debug("free blocks: " + freeBlockCount + " " + freeBlockBytes + "B, largest " + largestFreeBlockBytes + "B");
+		/* reclamation may run between the calls, so only check what holds at any time */
+		Assert.assertTrue(ccb.getContiguousFreeBytes() >= 0);
+		Assert.assertTrue(freeBlockBytes >= 0);
+		Assert.assertTrue(largestFreeBlockBytes >= 0);
+		Assert.assertTrue(freeBlockCount >= 0);
+	}
+
+	@Test
+	public final void testReclaimedMonotonic() {
+		checkBean();
+		long reclaimedBytes = ccb.getReclaimedBytes();
+		long reclaimedBlockCount = ccb.getReclaimedBlockCount();
+		System.gc();
+		Assert.assertTrue(ccb.getReclaimedBytes() >= reclaimedBytes, "reclaimed bytes decreased");
+		Assert.assertTrue(ccb.getReclaimedBlockCount() >= reclaimedBlockCount, "reclaimed block count decreased");
+		if (0 == reclaimedBlockCount) {
+			Assert.assertEquals(reclaimedBytes, 0L, "reclaimed bytes without reclaimed blocks");
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.java.lang.management;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.log4testng.Logger;
+
+import com.ibm.lang.management.CompilationQueueMXBean;
+
+/**
+ * @brief Test the CompilationQueueMXBean: the per priority class queue wait statistics
+ * are consistent with each other and do not decrease.
+ */
+@Test(groups = { "level.sanity" })
+public class TestCompilationQueueMXBean {
+
+	private static Logger logger = Logger.getLogger(TestCompilationQueueMXBean.class);
+	private static final String OBJECT_NAME = "com.ibm.lang.management:type=CompilationQueue";
+	private static final String[] PRIORITY_CLASSES = {
+			"sync", "asyncHigh", "asyncNormal", "asyncLow", "lowPriorityQueue", "jprofilingQueue" };
+
+	private CompilationQueueMXBean cqb;
+	private MBeanServer mbs;
+	private ObjectName objName;
+
+	@BeforeClass
+	protected void setUp() throws Exception {
+		mbs = ManagementFactory.getPlatformMBeanServer();
+		objName = new ObjectName(OBJECT_NAME);
+		/* the bean is only registered when a JIT compiler is enabled */
+		if (mbs.isRegistered(objName)) {
+			cqb = ManagementFactory.getPlatformMXBean(CompilationQueueMXBean.class);
+		}
+		logger.info("Starting CompilationQueueMXBean tests ...");
+	}
+
+	private void checkBean() {
+		if (cqb == null) {
+			throw new SkipException("no JIT compiler, the CompilationQueueMXBean is not registered");
+		}
+	}
+
+	private static long work() {
+		long sum = 0;
+		for (int i = 0; i < 100000; i++) {
+			sum += Integer.toString(i).hashCode();
+		}
+		return sum;
+	}
+
+	@Test
+	public final void testObjectName() {
+		checkBean();
+		Assert.assertEquals(cqb.getObjectName(), objName);
+	}
+
+	@Test
+	public final void testPriorityClasses() throws Exception {
+		checkBean();
+		Assert.assertEquals(cqb.getPriorityClasses(), PRIORITY_CLASSES);
+		Assert.assertEquals((String[])mbs.getAttribute(objName, "PriorityClasses"), PRIORITY_CLASSES);
+	}
+
+	@Test
+	public final void testStatistics() {
+		checkBean();
+		long[] waitTimes = cqb.getQueueWaitTimes();
+		long[] maxWaitTimes = cqb.getMaxQueueWaitTimes();
+		long[] counts = cqb.getDequeuedRequestCounts();
+		Assert.assertEquals(waitTimes.length, PRIORITY_CLASSES.length);
+		Assert.assertEquals(maxWaitTimes.length, PRIORITY_CLASSES.length);
+		Assert.assertEquals(counts.length, PRIORITY_CLASSES.length);
+		for (int i = 0; i < PRIORITY_CLASSES.length; i++) {
+			String name = PRIORITY_CLASSES[i];
+			Assert.assertTrue(waitTimes[i] >= 0, name + " wait time " + waitTimes[i]);
+			Assert.assertTrue(maxWaitTimes[i] >= 0, name + " max wait time " + maxWaitTimes[i]);
+			Assert.assertTrue(counts[i] >= 0, name + " count " + counts[i]);
+			Assert.assertTrue(maxWaitTimes[i] <= waitTimes[i], name + " max wait time exceeds the total");
+			if (0 == counts[i]) {
+				Assert.assertEquals(waitTimes[i], 0L, name + " wait time without requests");
+			}
+		}
+	}
+
+	@Test
+	public final void testMonotonic() {
+		checkBean();
+		long[] waitTimes = cqb.getQueueWaitTimes();
+		long[] maxWaitTimes = cqb.getMaxQueueWaitTimes();
+		long[] counts = cqb.getDequeuedRequestCounts();
+		logger.debug("work result: " + work());
+		long[] laterWaitTimes = cqb.getQueueWaitTimes();
+		long[] laterMaxWaitTimes = cqb.getMaxQueueWaitTimes();
+		long[] laterCounts = cqb.getDequeuedRequestCounts();
+		for (int i = 0; i < PRIORITY_CLASSES.length; i++) {
+			String name = PRIORITY_CLASSES[i];
+			Assert.assertTrue(laterWaitTimes[i] >= waitTimes[i], name + " wait time decreased");
+			Assert.assertTrue(laterMaxWaitTimes[i] >= maxWaitTimes[i], name + " max wait time decreased");
+			Assert.assertTrue(laterCounts[i] >= counts[i], name + " count decreased");
+		}
+	}
+}
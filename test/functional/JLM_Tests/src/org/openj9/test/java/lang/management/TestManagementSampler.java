@@ -0,0 +1,249 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+
+package org.openj9.test.java.lang.management;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.log4testng.Logger;
+
+import com.ibm.lang.management.ManagementSample;
+
+/**
+ * Tests the values of the ClassLoading, Thread and GarbageCollector MXBeans with the
+ * metrics sampler enabled (-Dcom.ibm.lang.management.sampler.interval=&lt;ms&gt;) and disabled.
+ * When the sampler is enabled, the beans answer the values of the most recent sample,
+ * so they must stay consistent with ManagementSample.getLatest() and must catch up with
+ * changes within a few sampling intervals.
+ */
+@Test(groups = { "level.sanity" })
+public class TestManagementSampler {
+
+	private static final Logger logger = Logger.getLogger(TestManagementSampler.class);
+	private static final String INTERVAL_PROPERTY = "com.ibm.lang.management.sampler.interval";
+	private static final int NEW_CLASSES = 20;
+	private static final int NEW_THREADS = 5;
+
+	private boolean samplerExpected;
+	private long timeoutMillis;
+	private ClassLoadingMXBean classLoadingBean;
+	private ThreadMXBean threadBean;
+	private List<GarbageCollectorMXBean> gcBeans;
+
+	@BeforeClass
+	public void setUp() {
+		long interval = 0;
+		String value = System.getProperty(INTERVAL_PROPERTY);
+		if (value != null) {
+			try {
+				interval = Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				interval = 0;
+			}
+		}
+		samplerExpected = interval > 0;
+		/* allow for many missed intervals on a loaded machine */
+		timeoutMillis = 10000 + (interval * 50);
+		classLoadingBean = ManagementFactory.getClassLoadingMXBean();
+		threadBean = ManagementFactory.getThreadMXBean();
+		gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+		logger.debug("sampler expected: " + samplerExpected + ", interval: " + interval);
+	}
+
+	@Test
+	public void testSamplingState() {
+		Assert.assertEquals(ManagementSample.isSamplingEnabled(), samplerExpected,
+				"sampler state does not match " + INTERVAL_PROPERTY);
+		if (samplerExpected) {
+			Assert.assertTrue(waitFor(() -> ManagementSample.getLatest() != null), "no sample was taken");
+		} else {
+			Assert.assertNull(ManagementSample.getLatest());
+			Assert.assertTrue(ManagementSample.getSamples(Long.MAX_VALUE).isEmpty());
+		}
+	}
+
+	@Test
+	public void testClassLoadingCounts() {
+		long before = classLoadingBean.getTotalLoadedClassCount();
+		Object[] proxies = new Object[NEW_CLASSES];
+		for (int i = 0; i < NEW_CLASSES; i++) {
+			/* each loader defines its own proxy class */
+			ClassLoader loader = new ClassLoader(TestManagementSampler.class.getClassLoader()) {};
+			proxies[i] = Proxy.newProxyInstance(loader, new Class<?>[] { Runnable.class }, (proxy, method, args) -> null);
+		}
+		Assert.assertTrue(waitFor(() -> classLoadingBean.getTotalLoadedClassCount() >= (before + NEW_CLASSES)),
+				"total loaded class count did not include the new classes");
+		Assert.assertEquals(proxies.length, NEW_CLASSES);
+
+		long total = classLoadingBean.getTotalLoadedClassCount();
+		long loaded = classLoadingBean.getLoadedClassCount();
+		long unloaded = classLoadingBean.getUnloadedClassCount();
+		Assert.assertTrue(loaded > 0);
+		Assert.assertTrue(loaded <= total, "loaded " + loaded + " > total " + total);
+		Assert.assertTrue(unloaded <= total, "unloaded " + unloaded + " > total " + total);
+
+		if (samplerExpected) {
+			ManagementSample first = latestSample();
+			long sampled = classLoadingBean.getTotalLoadedClassCount();
+			ManagementSample last = latestSample();
+			assertBetween("total loaded class count", sampled, first.getTotalLoadedClassCount(), last.getTotalLoadedClassCount());
+		}
+	}
+
+	@Test
+	public void testThreadCounts() throws InterruptedException {
+		long startedBefore = threadBean.getTotalStartedThreadCount();
+		CountDownLatch running = new CountDownLatch(NEW_THREADS);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread[] threads = new Thread[NEW_THREADS];
+		for (int i = 0; i < NEW_THREADS; i++) {
+			threads[i] = new Thread(() -> {
+				running.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, "TestManagementSampler-" + i);
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+		try {
+			running.await();
+			Assert.assertTrue(waitFor(() -> threadBean.getTotalStartedThreadCount() >= (startedBefore + NEW_THREADS)),
+					"total started thread count did not include the new threads");
+			Assert.assertTrue(waitFor(() -> threadBean.getThreadCount() > NEW_THREADS),
+					"thread count did not include the new threads");
+			Assert.assertTrue(waitFor(() -> threadBean.getDaemonThreadCount() >= NEW_THREADS),
+					"daemon thread count did not include the new threads");
+
+			int count = threadBean.getThreadCount();
+			Assert.assertTrue(threadBean.getDaemonThreadCount() <= count);
+			Assert.assertTrue(threadBean.getPeakThreadCount() >= count);
+
+			if (samplerExpected) {
+				ManagementSample first = latestSample();
+				long sampled = threadBean.getTotalStartedThreadCount();
+				ManagementSample last = latestSample();
+				assertBetween("total started thread count", sampled, first.getTotalStartedThreadCount(), last.getTotalStartedThreadCount());
+			}
+		} finally {
+			release.countDown();
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		}
+	}
+
+	@Test
+	public void testCollectionCounts() {
+		long before = totalCollectionCount();
+		System.gc();
+		Assert.assertTrue(waitFor(() -> totalCollectionCount() > before),
+				"collection count did not include System.gc()");
+
+		for (GarbageCollectorMXBean gcBean : gcBeans) {
+			Assert.assertTrue(gcBean.getCollectionCount() >= 0, gcBean.getName());
+			Assert.assertTrue(gcBean.getCollectionTime() >= 0, gcBean.getName());
+		}
+
+		if (samplerExpected) {
+			for (GarbageCollectorMXBean gcBean : gcBeans) {
+				String name = gcBean.getName();
+				ManagementSample first = latestSample();
+				long sampled = gcBean.getCollectionCount();
+				ManagementSample last = latestSample();
+				Map<String, Long> firstCounts = first.getCollectionCounts();
+				Map<String, Long> lastCounts = last.getCollectionCounts();
+				if (firstCounts.containsKey(name) && lastCounts.containsKey(name)) {
+					assertBetween("collection count of " + name, sampled,
+							firstCounts.get(name).longValue(), lastCounts.get(name).longValue());
+				} else {
+					logger.debug("collector " + name + " is not sampled");
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSamplesAreOrdered() {
+		if (!samplerExpected) {
+			return;
+		}
+		Assert.assertTrue(waitFor(() -> ManagementSample.getSamples(Long.MAX_VALUE).size() > 1),
+				"fewer than two samples were retained");
+		List<ManagementSample> samples = ManagementSample.getSamples(Long.MAX_VALUE);
+		for (int i = 1; i < samples.size(); i++) {
+			ManagementSample previous = samples.get(i - 1);
+			ManagementSample current = samples.get(i);
+			Assert.assertTrue(previous.getTimestamp() <= current.getTimestamp());
+			Assert.assertTrue(previous.getTotalLoadedClassCount() <= current.getTotalLoadedClassCount());
+			Assert.assertTrue(previous.getTotalStartedThreadCount() <= current.getTotalStartedThreadCount());
+		}
+	}
+
+	private long totalCollectionCount() {
+		long total = 0;
+		for (GarbageCollectorMXBean gcBean : gcBeans) {
+			total += Math.max(0, gcBean.getCollectionCount());
+		}
+		return total;
+	}
+
+	private ManagementSample latestSample() {
+		ManagementSample sample = ManagementSample.getLatest();
+		Assert.assertNotNull(sample, "no sample was taken");
+		return sample;
+	}
+
+	private static void assertBetween(String what, long value, long low, long high) {
+		Assert.assertTrue((low <= value) && (value <= high),
+				what + " " + value + " is not between the samples " + low + " and " + high);
+	}
+
+	private boolean waitFor(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+}
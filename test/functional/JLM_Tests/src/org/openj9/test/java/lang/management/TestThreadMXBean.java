@@ -1098,6 +1098,29 @@ public class TestThreadMXBean {
 		AssertJUnit.assertTrue(bytes5 >= bytes4);
 	}
 
+	@Test
+	public final void testThreadAllocationMetricsBulk() {
+		com.sun.management.ThreadMXBean sunTB = (com.sun.management.ThreadMXBean)tb;
+		long tid = Thread.currentThread().getId();
+
+		/* Unknown thread IDs report -1 and repeated IDs are filled in at every position. */
+		long[] threadStats = sunTB.getThreadAllocatedBytes(new long[] {tid, Long.MAX_VALUE, tid});
+		AssertJUnit.assertEquals(3, threadStats.length);
+		AssertJUnit.assertTrue(threadStats[0] > 0);
+		AssertJUnit.assertEquals(-1, threadStats[1]);
+		AssertJUnit.assertTrue(threadStats[2] >= threadStats[0]);
+
+		AssertJUnit.assertEquals(0, sunTB.getThreadAllocatedBytes(new long[0]).length);
+
+		sunTB.setThreadAllocatedMemoryEnabled(false);
+		try {
+			threadStats = sunTB.getThreadAllocatedBytes(new long[] {tid});
+			AssertJUnit.assertEquals(-1, threadStats[0]);
+		} finally {
+			sunTB.setThreadAllocatedMemoryEnabled(true);
+		}
+	}
+
 	private final void allocateAndWait(int allocCount, Object sync, AtomicInteger count) {
 		try {
 			ArrayList list = new ArrayList<>();
@@ -0,0 +1,250 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.dataaccess;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ibm.dataaccess.ByteArrayMarshaller;
+import com.ibm.dataaccess.ByteArrayUnmarshaller;
+import com.ibm.dataaccess.DecimalData;
+import com.ibm.dataaccess.ExternalDecimal;
+import com.ibm.dataaccess.PackedDecimal;
+
+/**
+ * Tests the MemorySegment overloads of the dataaccess API. Values are encoded through the
+ * segment overloads and decoded again, and the encoded bytes are compared with those of
+ * the byte[] methods. Heap and native segments, and slices of both, are used.
+ */
+@Test(groups = { "level.sanity" })
+public class TestDataAccessSegments {
+
+	private static final long SIZE = 64;
+	/* the field is placed away from the start of the segment */
+	private static final long OFFSET = 7;
+	private static final int ITERATIONS = 200;
+	private static final int[] EXTERNAL_DECIMAL_TYPES = {
+		DecimalData.EBCDIC_SIGN_EMBEDDED_TRAILING,
+		DecimalData.EBCDIC_SIGN_EMBEDDED_LEADING,
+		DecimalData.EBCDIC_SIGN_SEPARATE_TRAILING,
+		DecimalData.EBCDIC_SIGN_SEPARATE_LEADING,
+	};
+
+	private final Arena arena = Arena.ofShared();
+
+	@AfterClass
+	public void tearDown() {
+		arena.close();
+	}
+
+	@DataProvider(name = "segments")
+	public Object[][] segments() {
+		return new Object[][] {
+			{ "heap", MemorySegment.ofArray(new byte[(int) SIZE]) },
+			{ "native", arena.allocate(SIZE) },
+			{ "heap slice", MemorySegment.ofArray(new byte[(int) SIZE + 5]).asSlice(5) },
+			{ "native slice", arena.allocate(SIZE + 3).asSlice(3) },
+		};
+	}
+
+	static byte[] contents(MemorySegment segment, long offset, int length) {
+		return segment.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE);
+	}
+
+	@Test(dataProvider = "segments")
+	public void testMarshallerRoundTrip(String kind, MemorySegment segment) {
+		Random random = new Random(kind.hashCode());
+		for (int i = 0; i < ITERATIONS; i++) {
+			boolean bigEndian = random.nextBoolean();
+
+			short shortValue = (short) random.nextInt();
+			byte[] expected = new byte[2];
+			ByteArrayMarshaller.writeShort(shortValue, segment, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeShort(shortValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(segment, OFFSET, 2), expected, kind + " short bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readShort(segment, OFFSET, bigEndian), shortValue, kind + " short");
+			Assert.assertEquals(ByteArrayUnmarshaller.readShort(segment.asReadOnly(), OFFSET, bigEndian), shortValue, kind + " read-only short");
+
+			int intValue = random.nextInt();
+			expected = new byte[4];
+			ByteArrayMarshaller.writeInt(intValue, segment, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeInt(intValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(segment, OFFSET, 4), expected, kind + " int bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readInt(segment, OFFSET, bigEndian), intValue, kind + " int");
+
+			long longValue = random.nextLong();
+			expected = new byte[8];
+			ByteArrayMarshaller.writeLong(longValue, segment, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeLong(longValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(segment, OFFSET, 8), expected, kind + " long bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readLong(segment, OFFSET, bigEndian), longValue, kind + " long");
+
+			float floatValue = Float.intBitsToFloat(random.nextInt());
+			expected = new byte[4];
+			ByteArrayMarshaller.writeFloat(floatValue, segment, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeFloat(floatValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(segment, OFFSET, 4), expected, kind + " float bytes");
+			Assert.assertEquals(Float.floatToRawIntBits(ByteArrayUnmarshaller.readFloat(segment, OFFSET, bigEndian)),
+					Float.floatToRawIntBits(ByteArrayUnmarshaller.readFloat(expected, 0, bigEndian)), kind + " float");
+
+			double doubleValue = random.nextDouble() * random.nextInt();
+			expected = new byte[8];
+			ByteArrayMarshaller.writeDouble(doubleValue, segment, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeDouble(doubleValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(segment, OFFSET, 8), expected, kind + " double bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readDouble(segment, OFFSET, bigEndian), doubleValue, 0.0, kind + " double");
+		}
+	}
+
+	@Test(dataProvider = "segments")
+	public void testPackedDecimalRoundTrip(String kind, MemorySegment segment) {
+		Random random = new Random(kind.hashCode());
+		for (int i = 0; i < ITERATIONS; i++) {
+			int intPrecision = 1 + random.nextInt(10);
+			int intValue = randomValue(random, Math.min(intPrecision, 9)).intValue();
+			int bytes = (intPrecision / 2) + 1;
+			byte[] expected = new byte[bytes];
+			DecimalData.convertIntegerToPackedDecimal(intValue, segment, OFFSET, intPrecision, true);
+			DecimalData.convertIntegerToPackedDecimal(intValue, expected, 0, intPrecision, true);
+			Assert.assertEquals(contents(segment, OFFSET, bytes), expected, kind + " packed int " + intValue);
+			Assert.assertEquals(PackedDecimal.checkPackedDecimal(segment, OFFSET, intPrecision, false), 0, kind + " valid packed " + intValue);
+			Assert.assertEquals(DecimalData.convertPackedDecimalToInteger(segment, OFFSET, intPrecision, true), intValue, kind + " packed int");
+			Assert.assertEquals(DecimalData.convertPackedDecimalToInteger(segment.asReadOnly(), OFFSET, intPrecision, true),
+					intValue, kind + " read-only packed int");
+
+			int longPrecision = 1 + random.nextInt(19);
+			long longValue = randomValue(random, Math.min(longPrecision, 18)).longValue();
+			bytes = (longPrecision / 2) + 1;
+			expected = new byte[bytes];
+			DecimalData.convertLongToPackedDecimal(longValue, segment, OFFSET, longPrecision, true);
+			DecimalData.convertLongToPackedDecimal(longValue, expected, 0, longPrecision, true);
+			Assert.assertEquals(contents(segment, OFFSET, bytes), expected, kind + " packed long " + longValue);
+			Assert.assertEquals(DecimalData.convertPackedDecimalToLong(segment, OFFSET, longPrecision, true), longValue, kind + " packed long");
+
+			int bigPrecision = 1 + random.nextInt(40);
+			int scale = random.nextInt(bigPrecision + 1);
+			BigDecimal bigValue = new BigDecimal(randomValue(random, bigPrecision), scale);
+			bytes = (bigPrecision / 2) + 1;
+			expected = new byte[bytes];
+			DecimalData.convertBigDecimalToPackedDecimal(bigValue, segment, OFFSET, bigPrecision, true);
+			DecimalData.convertBigDecimalToPackedDecimal(bigValue, expected, 0, bigPrecision, true);
+			Assert.assertEquals(contents(segment, OFFSET, bytes), expected, kind + " packed BigDecimal " + bigValue);
+			Assert.assertEquals(DecimalData.convertPackedDecimalToBigDecimal(segment, OFFSET, bigPrecision, scale, true), bigValue,
+					kind + " packed BigDecimal");
+		}
+	}
+
+	@Test(dataProvider = "segments")
+	public void testExternalDecimalRoundTrip(String kind, MemorySegment segment) {
+		Random random = new Random(kind.hashCode());
+		for (int i = 0; i < ITERATIONS; i++) {
+			int decimalType = EXTERNAL_DECIMAL_TYPES[random.nextInt(EXTERNAL_DECIMAL_TYPES.length)];
+
+			int intPrecision = 1 + random.nextInt(10);
+			int intValue = randomValue(random, Math.min(intPrecision, 9)).intValue();
+			int bytes = externalByteCount(intPrecision, decimalType);
+			byte[] expected = new byte[bytes];
+			DecimalData.convertIntegerToExternalDecimal(intValue, segment, OFFSET, intPrecision, true, decimalType);
+			DecimalData.convertIntegerToExternalDecimal(intValue, expected, 0, intPrecision, true, decimalType);
+			Assert.assertEquals(contents(segment, OFFSET, bytes), expected, kind + " external int " + intValue + " type " + decimalType);
+			Assert.assertEquals(ExternalDecimal.checkExternalDecimal(segment, OFFSET, intPrecision, decimalType, 0), 0,
+					kind + " valid external " + intValue + " type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToInteger(segment, OFFSET, intPrecision, true, decimalType), intValue,
+					kind + " external int type " + decimalType);
+
+			int longPrecision = 1 + random.nextInt(19);
+			long longValue = randomValue(random, Math.min(longPrecision, 18)).longValue();
+			bytes = externalByteCount(longPrecision, decimalType);
+			expected = new byte[bytes];
+			DecimalData.convertLongToExternalDecimal(longValue, segment, OFFSET, longPrecision, true, decimalType);
+			DecimalData.convertLongToExternalDecimal(longValue, expected, 0, longPrecision, true, decimalType);
+			Assert.assertEquals(contents(segment, OFFSET, bytes), expected, kind + " external long " + longValue + " type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToLong(segment, OFFSET, longPrecision, true, decimalType), longValue,
+					kind + " external long type " + decimalType);
+
+			int bigPrecision = 1 + random.nextInt(40);
+			int scale = random.nextInt(bigPrecision + 1);
+			BigDecimal bigValue = new BigDecimal(randomValue(random, bigPrecision), scale);
+			bytes = externalByteCount(bigPrecision, decimalType);
+			expected = new byte[bytes];
+			DecimalData.convertBigDecimalToExternalDecimal(bigValue, segment, OFFSET, bigPrecision, true, decimalType);
+			DecimalData.convertBigDecimalToExternalDecimal(bigValue, expected, 0, bigPrecision, true, decimalType);
+			Assert.assertEquals(contents(segment, OFFSET, bytes), expected, kind + " external BigDecimal " + bigValue + " type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToBigDecimal(segment, OFFSET, bigPrecision, scale, true, decimalType),
+					bigValue, kind + " external BigDecimal type " + decimalType);
+		}
+	}
+
+	@Test(dataProvider = "segments")
+	public void testBounds(String kind, MemorySegment segment) {
+		long last = segment.byteSize() - 4;
+		DecimalData.convertIntegerToPackedDecimal(-1234567, segment, last, 7, true);
+		Assert.assertEquals(DecimalData.convertPackedDecimalToInteger(segment, last, 7, true), -1234567);
+		try {
+			DecimalData.convertIntegerToPackedDecimal(1, segment, last + 1, 7, true);
+			Assert.fail(kind + ": a packed decimal past the end of the segment was written");
+		} catch (IndexOutOfBoundsException e) {
+			/* expected */
+		}
+		try {
+			DecimalData.convertPackedDecimalToLong(segment, -1, 1, true);
+			Assert.fail(kind + ": a packed decimal at a negative offset was read");
+		} catch (IndexOutOfBoundsException e) {
+			/* expected */
+		}
+		try {
+			ByteArrayMarshaller.writeInt(1, segment.asReadOnly(), OFFSET, true);
+			Assert.fail(kind + ": a read-only segment was written");
+		} catch (UnsupportedOperationException e) {
+			/* expected */
+		}
+	}
+
+	static BigInteger randomValue(Random random, int precision) {
+		StringBuilder digits = new StringBuilder(precision);
+		int length = 1 + random.nextInt(precision);
+		for (int i = 0; i < length; i++) {
+			digits.append((char) ('0' + random.nextInt(10)));
+		}
+		BigInteger value = new BigInteger(digits.toString());
+		return random.nextBoolean() ? value.negate() : value;
+	}
+
+	static int externalByteCount(int precision, int decimalType) {
+		switch (decimalType) {
+		case DecimalData.EBCDIC_SIGN_SEPARATE_TRAILING:
+		case DecimalData.EBCDIC_SIGN_SEPARATE_LEADING:
+			return precision + 1;
+		default:
+			return precision;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.attachAPI;
+
+import static org.openj9.test.attachAPI.TestConstants.TARGET_VM_CLASS;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.ibm.tools.attach.attacher.OpenJ9VirtualMachine;
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+
+/**
+ * Measure the latency of attaching to a target, running Thread.print and detaching,
+ * over the attach socket and over the semaphore protocol, and check that the attach
+ * socket rejects connections without a valid key.
+ */
+@SuppressWarnings("nls")
+@Test(groups = { "level.extended" })
+public class TestAttachLatency extends AttachApiTest {
+
+	private static final String SOCKET_PROPERTY = "com.ibm.tools.attach.socket";
+	private static final String THREAD_PRINT = "Thread.print";
+	/* see openj9.internal.tools.attach.target.DiagnosticProperties.DIAGNOSTICS_STRING_RESULT */
+	private static final String DIAGNOSTICS_STRING_RESULT = "openj9_diagnostics.string_result";
+	private static final String WAIT_LOOP_THREAD_NAME = "Attach API wait loop";
+	/* see openj9.internal.tools.attach.target.AttachSocket.SOCKET_FILENAME */
+	private static final String SOCKET_FILENAME = "attachSocket";
+	/* see openj9.internal.tools.attach.target.Command.CONNECT and Response.CONNECTED */
+	private static final String CONNECT = "ATTACH_CONNECT";
+	private static final String CONNECTED = "ATTACH_CONNECTED";
+	private static final long REPLY_TIMEOUT_MILLIS = 10000;
+	private static final int WARMUP_ITERATIONS = 5;
+	private static final int ITERATIONS = 50;
+
+	private TargetManager tgtMgr;
+
+	@Test
+	public void testSocketLatency() throws AttachNotSupportedException, IOException {
+		measure(true);
+	}
+
+	@Test
+	public void testSemaphoreLatency() throws AttachNotSupportedException, IOException {
+		measure(false);
+	}
+
+	@Test
+	public void testSocketRejectsWrongKey() throws AttachNotSupportedException, IOException {
+		/* a well-formed key for which the attacher did not create a key file */
+		assertConnectionRejected(CONNECT + " 0123456789abcdef ");
+		/* the target must still accept attachers with a valid key */
+		measureOnce();
+	}
+
+	@Test
+	public void testSocketRejectsMissingKey() throws AttachNotSupportedException, IOException {
+		assertConnectionRejected(CONNECT + " ");
+		/* a command sent without connecting first */
+		assertConnectionRejected("ATTACH_DETACH");
+		measureOnce();
+	}
+
+	private void measureOnce() throws AttachNotSupportedException, IOException {
+		String oldValue = System.setProperty(SOCKET_PROPERTY, Boolean.toString(true));
+		try {
+			attachAndPrintThreads();
+		} finally {
+			restoreSocketProperty(oldValue);
+		}
+	}
+
+	private File getAttachSocket() {
+		String commonDir = System.getProperty("com.ibm.tools.attach.directory",
+				new File(System.getProperty("java.io.tmpdir"), ".com_ibm_tools_attach").getPath());
+		File socket = new File(new File(commonDir, tgtMgr.targetId), SOCKET_FILENAME);
+		assertTrue(socket.exists(), "attach socket " + socket.getPath() + " missing");
+		return socket;
+	}
+
+	/**
+	 * Connect to the attach socket of the target, send a connect request and check that the
+	 * target closes the connection without acknowledging it.
+	 *
+	 * @param request connect request, without the terminating null byte
+	 */
+	private void assertConnectionRejected(String request) throws IOException {
+		File socket = getAttachSocket();
+		try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket.toPath()))) {
+			byte[] requestBytes = request.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer requestBuffer = ByteBuffer.allocate(requestBytes.length + 1);
+			requestBuffer.put(requestBytes).put((byte) 0).flip();
+			while (requestBuffer.hasRemaining()) {
+				channel.write(requestBuffer);
+			}
+			channel.configureBlocking(false);
+			ByteArrayOutputStream reply = new ByteArrayOutputStream();
+			boolean closedByTarget = false;
+			long deadline = System.currentTimeMillis() + REPLY_TIMEOUT_MILLIS;
+			try (Selector selector = Selector.open()) {
+				channel.register(selector, SelectionKey.OP_READ);
+				ByteBuffer buffer = ByteBuffer.allocate(256);
+				long remaining;
+				while (!closedByTarget && ((remaining = deadline - System.currentTimeMillis()) > 0)) {
+					selector.select(remaining);
+					selector.selectedKeys().clear();
+					buffer.clear();
+					int count = channel.read(buffer);
+					if (count < 0) {
+						closedByTarget = true;
+					} else {
+						reply.write(buffer.array(), 0, count);
+					}
+				}
+			}
+			String replyString = new String(reply.toByteArray(), StandardCharsets.UTF_8);
+			log("reply to \"" + request + "\": \"" + replyString + "\"");
+			assertFalse(replyString.contains(CONNECTED), "target accepted \"" + request + "\"");
+			assertTrue(closedByTarget, "target did not close the connection after \"" + request + "\"");
+		}
+	}
+
+	private void measure(boolean useSocket) throws AttachNotSupportedException, IOException {
+		String oldValue = System.setProperty(SOCKET_PROPERTY, Boolean.toString(useSocket));
+		try {
+			if (useSocket) {
+				getAttachSocket();
+			}
+			for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+				attachAndPrintThreads();
+			}
+			long[] times = new long[ITERATIONS];
+			for (int i = 0; i < ITERATIONS; ++i) {
+				long start = System.nanoTime();
+				attachAndPrintThreads();
+				times[i] = System.nanoTime() - start;
+			}
+			Arrays.sort(times);
+			log(String.format("%s: attach + %s + detach over %d iterations: median %d us, 90th percentile %d us, max %d us",
+					useSocket ? "socket" : "semaphore", THREAD_PRINT, ITERATIONS,
+					TimeUnit.NANOSECONDS.toMicros(times[ITERATIONS / 2]),
+					TimeUnit.NANOSECONDS.toMicros(times[(ITERATIONS * 9) / 10]),
+					TimeUnit.NANOSECONDS.toMicros(times[ITERATIONS - 1])));
+		} finally {
+			restoreSocketProperty(oldValue);
+		}
+	}
+
+	private static void restoreSocketProperty(String oldValue) {
+		if (null == oldValue) {
+			System.clearProperty(SOCKET_PROPERTY);
+		} else {
+			System.setProperty(SOCKET_PROPERTY, oldValue);
+		}
+	}
+
+	private void attachAndPrintThreads() throws AttachNotSupportedException, IOException {
+		VirtualMachine vm = VirtualMachine.attach(tgtMgr.targetId);
+		try {
+			assertTrue(vm instanceof OpenJ9VirtualMachine, "Wrong attach API VirtualMachine");
+			Properties result = ((OpenJ9VirtualMachine) vm).executeDiagnosticCommand(THREAD_PRINT);
+			String threads = result.getProperty(DIAGNOSTICS_STRING_RESULT);
+			assertNotNull(threads, THREAD_PRINT + " result missing");
+			assertTrue(threads.contains(WAIT_LOOP_THREAD_NAME), THREAD_PRINT + " result corrupt: " + threads);
+		} finally {
+			vm.detach();
+		}
+	}
+
+	@BeforeMethod
+	protected void setUp() {
+		tgtMgr = new TargetManager(TARGET_VM_CLASS, null);
+		assertTrue(tgtMgr.syncWithTarget(), AttachApiTest.CHILD_PROCESS_DID_NOT_LAUNCH);
+	}
+
+	@AfterMethod
+	protected void tearDown() {
+		int terminationStatus = tgtMgr.terminateTarget();
+		log("Target terminated with status " + Integer.toString(terminationStatus));
+	}
+}
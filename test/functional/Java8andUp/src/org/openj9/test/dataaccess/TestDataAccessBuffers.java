@@ -0,0 +1,296 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.dataaccess;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ibm.dataaccess.ByteArrayMarshaller;
+import com.ibm.dataaccess.ByteArrayUnmarshaller;
+import com.ibm.dataaccess.DecimalData;
+import com.ibm.dataaccess.ExternalDecimal;
+import com.ibm.dataaccess.PackedDecimal;
+
+/**
+ * Tests the ByteBuffer overloads of the dataaccess API. Values are encoded through the
+ * buffer overloads and decoded again, and the encoded bytes are compared with those of
+ * the byte[] methods. Heap, direct, sliced and read-only buffers are used, since they
+ * take different paths.
+ */
+@Test(groups = { "level.sanity" })
+public class TestDataAccessBuffers {
+
+	private static final int CAPACITY = 64;
+	/* the field is placed away from the start of the buffer */
+	private static final int OFFSET = 7;
+	private static final int ITERATIONS = 200;
+	private static final int[] EXTERNAL_DECIMAL_TYPES = {
+		DecimalData.EBCDIC_SIGN_EMBEDDED_TRAILING,
+		DecimalData.EBCDIC_SIGN_EMBEDDED_LEADING,
+		DecimalData.EBCDIC_SIGN_SEPARATE_TRAILING,
+		DecimalData.EBCDIC_SIGN_SEPARATE_LEADING,
+	};
+
+	@DataProvider(name = "buffers")
+	public static Object[][] buffers() {
+		return new Object[][] {
+			{ "heap" },
+			{ "direct" },
+			{ "heap slice" },
+			{ "direct slice" },
+			{ "little endian direct" },
+		};
+	}
+
+	/**
+	 * Allocates an empty buffer of the given kind, with its position and limit moved away from 0 and the capacity.
+	 */
+	static ByteBuffer allocate(String kind) {
+		ByteBuffer buffer;
+		if ("heap".equals(kind)) {
+			buffer = ByteBuffer.allocate(CAPACITY);
+		} else if ("direct".equals(kind)) {
+			buffer = ByteBuffer.allocateDirect(CAPACITY);
+		} else if ("heap slice".equals(kind)) {
+			/* a non-zero array offset */
+			ByteBuffer whole = ByteBuffer.allocate(CAPACITY + 5);
+			whole.position(5);
+			buffer = whole.slice();
+		} else if ("direct slice".equals(kind)) {
+			ByteBuffer whole = ByteBuffer.allocateDirect(CAPACITY + 3);
+			whole.position(3);
+			buffer = whole.slice();
+		} else {
+			buffer = ByteBuffer.allocateDirect(CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		buffer.position(2);
+		buffer.limit(CAPACITY - 1);
+		return buffer;
+	}
+
+	static byte[] contents(ByteBuffer buffer, int offset, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return bytes;
+	}
+
+	static void assertUnmoved(ByteBuffer buffer) {
+		Assert.assertEquals(buffer.position(), 2, "position changed");
+		Assert.assertEquals(buffer.limit(), CAPACITY - 1, "limit changed");
+	}
+
+	@Test(dataProvider = "buffers")
+	public void testMarshallerRoundTrip(String kind) {
+		Random random = new Random(kind.hashCode());
+		ByteBuffer buffer = allocate(kind);
+		for (int i = 0; i < ITERATIONS; i++) {
+			boolean bigEndian = random.nextBoolean();
+			byte[] expected = new byte[8];
+
+			short shortValue = (short) random.nextInt();
+			ByteArrayMarshaller.writeShort(shortValue, buffer, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeShort(shortValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(buffer, OFFSET, 2), copyOf(expected, 2), kind + " short bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readShort(buffer, OFFSET, bigEndian), shortValue, kind + " short");
+			Assert.assertEquals(ByteArrayUnmarshaller.readShort(buffer.asReadOnlyBuffer(), OFFSET, bigEndian), shortValue, kind + " read-only short");
+
+			int intValue = random.nextInt();
+			ByteArrayMarshaller.writeInt(intValue, buffer, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeInt(intValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(buffer, OFFSET, 4), copyOf(expected, 4), kind + " int bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readInt(buffer, OFFSET, bigEndian), intValue, kind + " int");
+			Assert.assertEquals(ByteArrayUnmarshaller.readInt(buffer.asReadOnlyBuffer(), OFFSET, bigEndian), intValue, kind + " read-only int");
+
+			long longValue = random.nextLong();
+			ByteArrayMarshaller.writeLong(longValue, buffer, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeLong(longValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(buffer, OFFSET, 8), expected, kind + " long bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readLong(buffer, OFFSET, bigEndian), longValue, kind + " long");
+			Assert.assertEquals(ByteArrayUnmarshaller.readLong(buffer.asReadOnlyBuffer(), OFFSET, bigEndian), longValue, kind + " read-only long");
+
+			float floatValue = Float.intBitsToFloat(random.nextInt());
+			ByteArrayMarshaller.writeFloat(floatValue, buffer, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeFloat(floatValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(buffer, OFFSET, 4), copyOf(expected, 4), kind + " float bytes");
+			Assert.assertEquals(Float.floatToRawIntBits(ByteArrayUnmarshaller.readFloat(buffer, OFFSET, bigEndian)),
+					Float.floatToRawIntBits(ByteArrayUnmarshaller.readFloat(expected, 0, bigEndian)), kind + " float");
+
+			double doubleValue = random.nextDouble() * random.nextInt();
+			ByteArrayMarshaller.writeDouble(doubleValue, buffer, OFFSET, bigEndian);
+			ByteArrayMarshaller.writeDouble(doubleValue, expected, 0, bigEndian);
+			Assert.assertEquals(contents(buffer, OFFSET, 8), expected, kind + " double bytes");
+			Assert.assertEquals(ByteArrayUnmarshaller.readDouble(buffer, OFFSET, bigEndian), doubleValue, 0.0, kind + " double");
+		}
+		assertUnmoved(buffer);
+	}
+
+	@Test(dataProvider = "buffers")
+	public void testPackedDecimalRoundTrip(String kind) {
+		Random random = new Random(kind.hashCode());
+		ByteBuffer buffer = allocate(kind);
+		for (int i = 0; i < ITERATIONS; i++) {
+			int intPrecision = 1 + random.nextInt(10);
+			int intValue = randomValue(random, Math.min(intPrecision, 9)).intValue();
+			int bytes = (intPrecision / 2) + 1;
+			byte[] expected = new byte[bytes];
+			DecimalData.convertIntegerToPackedDecimal(intValue, buffer, OFFSET, intPrecision, true);
+			DecimalData.convertIntegerToPackedDecimal(intValue, expected, 0, intPrecision, true);
+			Assert.assertEquals(contents(buffer, OFFSET, bytes), expected, kind + " packed int " + intValue);
+			Assert.assertEquals(PackedDecimal.checkPackedDecimal(buffer, OFFSET, intPrecision), 0, kind + " valid packed " + intValue);
+			Assert.assertEquals(DecimalData.convertPackedDecimalToInteger(buffer, OFFSET, intPrecision, true), intValue, kind + " packed int");
+			Assert.assertEquals(DecimalData.convertPackedDecimalToInteger(buffer.asReadOnlyBuffer(), OFFSET, intPrecision, true),
+					intValue, kind + " read-only packed int");
+
+			int longPrecision = 1 + random.nextInt(19);
+			long longValue = randomValue(random, Math.min(longPrecision, 18)).longValue();
+			bytes = (longPrecision / 2) + 1;
+			expected = new byte[bytes];
+			DecimalData.convertLongToPackedDecimal(longValue, buffer, OFFSET, longPrecision, true);
+			DecimalData.convertLongToPackedDecimal(longValue, expected, 0, longPrecision, true);
+			Assert.assertEquals(contents(buffer, OFFSET, bytes), expected, kind + " packed long " + longValue);
+			Assert.assertEquals(DecimalData.convertPackedDecimalToLong(buffer, OFFSET, longPrecision, true), longValue, kind + " packed long");
+			Assert.assertEquals(DecimalData.convertPackedDecimalToLong(buffer.asReadOnlyBuffer(), OFFSET, longPrecision, true),
+					longValue, kind + " read-only packed long");
+
+			int bigPrecision = 1 + random.nextInt(40);
+			int scale = random.nextInt(bigPrecision + 1);
+			BigDecimal bigValue = new BigDecimal(randomValue(random, bigPrecision), scale);
+			bytes = (bigPrecision / 2) + 1;
+			expected = new byte[bytes];
+			DecimalData.convertBigDecimalToPackedDecimal(bigValue, buffer, OFFSET, bigPrecision, true);
+			DecimalData.convertBigDecimalToPackedDecimal(bigValue, expected, 0, bigPrecision, true);
+			Assert.assertEquals(contents(buffer, OFFSET, bytes), expected, kind + " packed BigDecimal " + bigValue);
+			Assert.assertEquals(DecimalData.convertPackedDecimalToBigDecimal(buffer, OFFSET, bigPrecision, scale, true), bigValue,
+					kind + " packed BigDecimal");
+		}
+		assertUnmoved(buffer);
+	}
+
+	@Test(dataProvider = "buffers")
+	public void testExternalDecimalRoundTrip(String kind) {
+		Random random = new Random(kind.hashCode());
+		ByteBuffer buffer = allocate(kind);
+		for (int i = 0; i < ITERATIONS; i++) {
+			int decimalType = EXTERNAL_DECIMAL_TYPES[random.nextInt(EXTERNAL_DECIMAL_TYPES.length)];
+
+			int intPrecision = 1 + random.nextInt(10);
+			int intValue = randomValue(random, Math.min(intPrecision, 9)).intValue();
+			int bytes = externalByteCount(intPrecision, decimalType);
+			byte[] expected = new byte[bytes];
+			DecimalData.convertIntegerToExternalDecimal(intValue, buffer, OFFSET, intPrecision, true, decimalType);
+			DecimalData.convertIntegerToExternalDecimal(intValue, expected, 0, intPrecision, true, decimalType);
+			Assert.assertEquals(contents(buffer, OFFSET, bytes), expected, kind + " external int " + intValue + " type " + decimalType);
+			Assert.assertEquals(ExternalDecimal.checkExternalDecimal(buffer, OFFSET, intPrecision, decimalType, 0), 0,
+					kind + " valid external " + intValue + " type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToInteger(buffer, OFFSET, intPrecision, true, decimalType), intValue,
+					kind + " external int type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToInteger(buffer.asReadOnlyBuffer(), OFFSET, intPrecision, true, decimalType),
+					intValue, kind + " read-only external int type " + decimalType);
+
+			int longPrecision = 1 + random.nextInt(19);
+			long longValue = randomValue(random, Math.min(longPrecision, 18)).longValue();
+			bytes = externalByteCount(longPrecision, decimalType);
+			expected = new byte[bytes];
+			DecimalData.convertLongToExternalDecimal(longValue, buffer, OFFSET, longPrecision, true, decimalType);
+			DecimalData.convertLongToExternalDecimal(longValue, expected, 0, longPrecision, true, decimalType);
+			Assert.assertEquals(contents(buffer, OFFSET, bytes), expected, kind + " external long " + longValue + " type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToLong(buffer, OFFSET, longPrecision, true, decimalType), longValue,
+					kind + " external long type " + decimalType);
+
+			int bigPrecision = 1 + random.nextInt(40);
+			int scale = random.nextInt(bigPrecision + 1);
+			BigDecimal bigValue = new BigDecimal(randomValue(random, bigPrecision), scale);
+			bytes = externalByteCount(bigPrecision, decimalType);
+			expected = new byte[bytes];
+			DecimalData.convertBigDecimalToExternalDecimal(bigValue, buffer, OFFSET, bigPrecision, true, decimalType);
+			DecimalData.convertBigDecimalToExternalDecimal(bigValue, expected, 0, bigPrecision, true, decimalType);
+			Assert.assertEquals(contents(buffer, OFFSET, bytes), expected, kind + " external BigDecimal " + bigValue + " type " + decimalType);
+			Assert.assertEquals(DecimalData.convertExternalDecimalToBigDecimal(buffer, OFFSET, bigPrecision, scale, true, decimalType),
+					bigValue, kind + " external BigDecimal type " + decimalType);
+		}
+		assertUnmoved(buffer);
+	}
+
+	@Test(dataProvider = "buffers")
+	public void testBounds(String kind) {
+		ByteBuffer buffer = allocate(kind);
+		/* the limit, not the capacity, bounds the field */
+		int last = buffer.limit() - 4;
+		DecimalData.convertIntegerToPackedDecimal(-1234567, buffer, last, 7, true);
+		Assert.assertEquals(DecimalData.convertPackedDecimalToInteger(buffer, last, 7, true), -1234567);
+		try {
+			DecimalData.convertIntegerToPackedDecimal(1, buffer, last + 1, 7, true);
+			Assert.fail(kind + ": a packed decimal past the limit was written");
+		} catch (IndexOutOfBoundsException e) {
+			/* expected */
+		}
+		try {
+			DecimalData.convertPackedDecimalToLong(buffer, -1, 1, true);
+			Assert.fail(kind + ": a packed decimal at a negative offset was read");
+		} catch (IndexOutOfBoundsException e) {
+			/* expected */
+		}
+		try {
+			DecimalData.convertLongToExternalDecimal(1, buffer.asReadOnlyBuffer(), OFFSET, 5, true, DecimalData.EBCDIC_SIGN_SEPARATE_LEADING);
+			Assert.fail(kind + ": a read-only buffer was written");
+		} catch (ReadOnlyBufferException e) {
+			/* expected */
+		}
+		assertUnmoved(buffer);
+	}
+
+	static BigInteger randomValue(Random random, int precision) {
+		StringBuilder digits = new StringBuilder(precision);
+		int length = 1 + random.nextInt(precision);
+		for (int i = 0; i < length; i++) {
+			digits.append((char) ('0' + random.nextInt(10)));
+		}
+		BigInteger value = new BigInteger(digits.toString());
+		return random.nextBoolean() ? value.negate() : value;
+	}
+
+	static int externalByteCount(int precision, int decimalType) {
+		switch (decimalType) {
+		case DecimalData.EBCDIC_SIGN_SEPARATE_TRAILING:
+		case DecimalData.EBCDIC_SIGN_SEPARATE_LEADING:
+			return precision + 1;
+		default:
+			return precision;
+		}
+	}
+
+	private static byte[] copyOf(byte[] bytes, int length) {
+		byte[] copy = new byte[length];
+		System.arraycopy(bytes, 0, copy, 0, length);
+		return copy;
+	}
+}
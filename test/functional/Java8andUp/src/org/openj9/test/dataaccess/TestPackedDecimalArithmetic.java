@@ -0,0 +1,254 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.dataaccess;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.ibm.dataaccess.PackedDecimal;
+
+/**
+ * Differential tests of PackedDecimal.addPackedDecimal and subtractPackedDecimal
+ * against BigDecimal, for the precisions that are added eight bytes at a time.
+ *
+ * The fixed cases are ones where the earlier byte-wise implementation missed an
+ * overflow, left the unused high nibble of an even precision result set, or
+ * raised an overflow for a result that fits.
+ */
+@Test(groups = { "level.sanity" })
+public class TestPackedDecimalArithmetic {
+
+	private static final int MAX_PRECISION = 31;
+	private static final int RANDOM_CASES = 20000;
+	private static final int GUARD_BYTES = 3;
+	private static final byte GUARD = (byte) 0xA5;
+
+	@Test
+	public void testMissedOverflow() {
+		/* -796 - 5 = -801 does not fit in two digits */
+		check(-796, 3, 5, 2, 2, true);
+		check(-945, 4, -6, 1, 2, true);
+		check(-9, 2, -403, 4, 2, true);
+		check(99, 2, 1, 1, 2, false);
+		check(new BigDecimal("9999999999999999"), 16, BigDecimal.ONE, 1, 16, false);
+		check(new BigDecimal("9999999999999999999999999999999"), 31, BigDecimal.ONE, 1, 31, false);
+	}
+
+	@Test
+	public void testPadNibbleCleared() {
+		/* an even precision result has an unused high nibble that must stay zero, also when the result is truncated */
+		check(-945, 4, -6, 1, 2, true);
+		check(-9, 2, -403, 4, 2, true);
+		check(50, 2, 50, 2, 2, false);
+		check(new BigDecimal("99999999"), 8, new BigDecimal("2"), 1, 8, false);
+		check(new BigDecimal("123456789012345678901234567890"), 30, new BigDecimal("987654321098765432109876543210"), 30, 30, false);
+	}
+
+	@Test
+	public void testNoFalseOverflow() {
+		/* results that fit must not raise an overflow, even when an operand is wider than the result */
+		check(8, 2, 11, 2, 1, true);
+		check(99, 5, 1055, 4, 3, true);
+		check(-48, 3, -39, 5, 1, true);
+		check(new BigDecimal("1000000000000000"), 16, new BigDecimal("999999999999999"), 15, 1, true);
+		check(new BigDecimal("9999999999999999999999999999999"), 31, new BigDecimal("9999999999999999999999999999990"), 31, 1, true);
+	}
+
+	@Test
+	public void testOverflowMessage() {
+		byte[] result = new byte[1];
+		try {
+			PackedDecimal.subtractPackedDecimal(result, 0, 1, encode(BigInteger.valueOf(9), 1), 0, 1,
+					encode(BigInteger.valueOf(-3), 1), 0, 1, true);
+			Assert.fail("9 - (-3) did not overflow one digit");
+		} catch (ArithmeticException e) {
+			Assert.assertTrue(e.getMessage().contains("subtractPackedDecimal"), e.getMessage());
+		}
+		try {
+			PackedDecimal.addPackedDecimal(result, 0, 1, encode(BigInteger.valueOf(-9), 1), 0, 1,
+					encode(BigInteger.valueOf(-3), 1), 0, 1, true);
+			Assert.fail("-9 + (-3) did not overflow one digit");
+		} catch (ArithmeticException e) {
+			Assert.assertTrue(e.getMessage().contains("addPackedDecimal"), e.getMessage());
+		}
+		try {
+			PackedDecimal.addPackedDecimal(result, 0, 1, encode(BigInteger.valueOf(9), 1), 0, 1,
+					encode(BigInteger.valueOf(3), 1), 0, 1, true);
+			Assert.fail("9 + 3 did not overflow one digit");
+		} catch (ArithmeticException e) {
+			Assert.assertTrue(e.getMessage().contains("addPackedDecimal"), e.getMessage());
+		}
+	}
+
+	@Test
+	public void testRandomOperands() {
+		Random random = new Random(0x5EED);
+		for (int i = 0; i < RANDOM_CASES; i++) {
+			int op1Precision = 1 + random.nextInt(MAX_PRECISION);
+			int op2Precision = 1 + random.nextInt(MAX_PRECISION);
+			int resultPrecision = 1 + random.nextInt(MAX_PRECISION);
+			BigInteger op1 = randomValue(random, op1Precision);
+			BigInteger op2 = randomValue(random, op2Precision);
+			check(op1, op1Precision, op2, op2Precision, resultPrecision, random.nextBoolean());
+		}
+	}
+
+	private static BigInteger randomValue(Random random, int precision) {
+		int digits = 1 + random.nextInt(precision);
+		StringBuilder builder = new StringBuilder(digits);
+		/* favour runs of nines, which carry all the way to the top */
+		boolean nines = random.nextInt(4) == 0;
+		for (int i = 0; i < digits; i++) {
+			builder.append(nines ? '9' : (char) ('0' + random.nextInt(10)));
+		}
+		BigInteger value = new BigInteger(builder.toString());
+		return random.nextBoolean() ? value.negate() : value;
+	}
+
+	private static void check(long op1, int op1Precision, long op2, int op2Precision, int resultPrecision, boolean subtract) {
+		check(BigInteger.valueOf(op1), op1Precision, BigInteger.valueOf(op2), op2Precision, resultPrecision, subtract);
+	}
+
+	private static void check(BigDecimal op1, int op1Precision, BigDecimal op2, int op2Precision, int resultPrecision, boolean subtract) {
+		check(op1.toBigIntegerExact(), op1Precision, op2.toBigIntegerExact(), op2Precision, resultPrecision, subtract);
+	}
+
+	private static void check(BigInteger op1, int op1Precision, BigInteger op2, int op2Precision, int resultPrecision, boolean subtract) {
+		BigDecimal expected = subtract
+				? new BigDecimal(op1).subtract(new BigDecimal(op2))
+				: new BigDecimal(op1).add(new BigDecimal(op2));
+		String operation = op1 + (subtract ? " - " : " + ") + op2 + " (precisions " + op1Precision + ", " + op2Precision
+				+ " -> " + resultPrecision + ")";
+		boolean overflows = expected.unscaledValue().abs().compareTo(BigInteger.TEN.pow(resultPrecision)) >= 0;
+
+		byte[] op1Decimal = encode(op1, op1Precision);
+		byte[] op2Decimal = encode(op2, op2Precision);
+		int resultBytes = (resultPrecision / 2) + 1;
+
+		/* checkOverflow == true */
+		byte[] result = guarded(resultBytes);
+		try {
+			compute(result, resultPrecision, op1Decimal, op1Precision, op2Decimal, op2Precision, subtract, true);
+			Assert.assertFalse(overflows, operation + " did not overflow");
+			Assert.assertEquals(decode(result, GUARD_BYTES, resultPrecision, operation), expected.unscaledValue(), operation);
+			Assert.assertEquals(result[GUARD_BYTES + resultBytes - 1] & 0x0F, (expected.signum() < 0) ? 0x0D : 0x0C,
+					operation + " sign");
+		} catch (ArithmeticException e) {
+			Assert.assertTrue(overflows, operation + " overflowed falsely: " + e.getMessage());
+			Assert.assertTrue(e.getMessage().contains(subtract ? "subtractPackedDecimal" : "addPackedDecimal"),
+					operation + ": " + e.getMessage());
+		}
+		checkGuards(result, resultBytes, operation);
+
+		/* checkOverflow == false keeps the low order digits and the sign of the exact result */
+		result = guarded(resultBytes);
+		compute(result, resultPrecision, op1Decimal, op1Precision, op2Decimal, op2Precision, subtract, false);
+		BigInteger truncated = expected.unscaledValue().abs().mod(BigInteger.TEN.pow(resultPrecision));
+		BigInteger actual = decode(result, GUARD_BYTES, resultPrecision, operation);
+		Assert.assertEquals(actual.abs(), truncated, operation + " without overflow checking");
+		if (truncated.signum() != 0) {
+			Assert.assertEquals(actual.signum(), expected.signum(), operation + " sign without overflow checking");
+		}
+		checkGuards(result, resultBytes, operation);
+
+		/* the operands are not changed */
+		Assert.assertEquals(op1Decimal, encode(op1, op1Precision), operation + " changed op1");
+		Assert.assertEquals(op2Decimal, encode(op2, op2Precision), operation + " changed op2");
+	}
+
+	private static void compute(byte[] result, int resultPrecision, byte[] op1Decimal, int op1Precision,
+			byte[] op2Decimal, int op2Precision, boolean subtract, boolean checkOverflow) {
+		if (subtract) {
+			PackedDecimal.subtractPackedDecimal(result, GUARD_BYTES, resultPrecision, op1Decimal, 0, op1Precision,
+					op2Decimal, 0, op2Precision, checkOverflow);
+		} else {
+			PackedDecimal.addPackedDecimal(result, GUARD_BYTES, resultPrecision, op1Decimal, 0, op1Precision,
+					op2Decimal, 0, op2Precision, checkOverflow);
+		}
+	}
+
+	private static byte[] guarded(int resultBytes) {
+		byte[] result = new byte[resultBytes + (2 * GUARD_BYTES)];
+		Arrays.fill(result, GUARD);
+		return result;
+	}
+
+	private static void checkGuards(byte[] result, int resultBytes, String operation) {
+		for (int i = 0; i < GUARD_BYTES; i++) {
+			Assert.assertEquals(result[i], GUARD, operation + " wrote before the result");
+			Assert.assertEquals(result[GUARD_BYTES + resultBytes + i], GUARD, operation + " wrote after the result");
+		}
+	}
+
+	/**
+	 * Encodes a value as a Packed Decimal with a preferred sign and, for an even precision, a zero pad nibble.
+	 */
+	static byte[] encode(BigInteger value, int precision) {
+		String digits = value.abs().toString();
+		Assert.assertTrue(digits.length() <= precision, value + " does not fit in " + precision + " digits");
+		int byteCount = (precision / 2) + 1;
+		/* all the nibbles: pad (for an even precision), digits, sign */
+		int[] nibbles = new int[byteCount * 2];
+		int nibble = nibbles.length - 2;
+		for (int i = digits.length() - 1; i >= 0; i--) {
+			nibbles[nibble--] = digits.charAt(i) - '0';
+		}
+		nibbles[nibbles.length - 1] = (value.signum() < 0) ? 0x0D : 0x0C;
+		byte[] decimal = new byte[byteCount];
+		for (int i = 0; i < byteCount; i++) {
+			decimal[i] = (byte) ((nibbles[2 * i] << 4) | nibbles[(2 * i) + 1]);
+		}
+		return decimal;
+	}
+
+	/**
+	 * Decodes a Packed Decimal, checking that every digit is valid and that the pad nibble of an even precision is zero.
+	 */
+	static BigInteger decode(byte[] decimal, int offset, int precision, String operation) {
+		int byteCount = (precision / 2) + 1;
+		if ((precision % 2) == 0) {
+			Assert.assertEquals((decimal[offset] >> 4) & 0x0F, 0, operation + " left the pad nibble set");
+		}
+		StringBuilder digits = new StringBuilder(precision);
+		for (int i = 0; i < byteCount; i++) {
+			int high = (decimal[offset + i] >> 4) & 0x0F;
+			int low = decimal[offset + i] & 0x0F;
+			if ((i > 0) || ((precision % 2) != 0)) {
+				Assert.assertTrue(high <= 9, operation + " stored an invalid digit");
+				digits.append((char) ('0' + high));
+			}
+			if (i < (byteCount - 1)) {
+				Assert.assertTrue(low <= 9, operation + " stored an invalid digit");
+				digits.append((char) ('0' + low));
+			}
+		}
+		int sign = decimal[offset + byteCount - 1] & 0x0F;
+		Assert.assertTrue(sign >= 0x0A, operation + " stored an invalid sign");
+		BigInteger value = new BigInteger(digits.toString());
+		return ((sign == 0x0B) || (sign == 0x0D)) ? value.negate() : value;
+	}
+}
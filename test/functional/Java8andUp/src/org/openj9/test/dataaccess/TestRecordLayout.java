@@ -0,0 +1,424 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.dataaccess;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.ibm.dataaccess.ByteArrayMarshaller;
+import com.ibm.dataaccess.DecimalData;
+import com.ibm.dataaccess.RecordLayout;
+
+/**
+ * Tests RecordLayout. Columns of random values are encoded and decoded again, and the
+ * encoded records are compared with records built field by field with the DecimalData
+ * and ByteArrayMarshaller methods. The parallel and ByteBuffer variants must give the
+ * same results as the serial byte[] methods.
+ */
+@Test(groups = { "level.sanity" })
+public class TestRecordLayout {
+
+	/* the last two bytes of a record are not part of any field */
+	private static final int RECORD_LENGTH = 100;
+	private static final byte FILLER = (byte) 0x5A;
+	private static final int RECORDS = 500;
+	/* enough records for the parallel variants to split the batch */
+	private static final int PARALLEL_RECORDS = 20000;
+	private static final Charset TEXT_CHARSET = StandardCharsets.ISO_8859_1;
+
+	private static final int PACKED = 0;
+	private static final int BINARY = -1;
+	private static final int TEXT = -2;
+
+	/**
+	 * The fields of the test layout: kind (PACKED, BINARY, TEXT or an External Decimal type), offset,
+	 * precision or size or length, scale, then for binary fields big endian and signed (1 or 0).
+	 */
+	private static final int[][] FIELDS = {
+		{ PACKED, 0, 7, 2 },
+		{ PACKED, 4, 15, 0 },
+		{ PACKED, 12, 25, 4 },
+		{ DecimalData.EBCDIC_SIGN_EMBEDDED_TRAILING, 25, 5, 0 },
+		{ DecimalData.EBCDIC_SIGN_SEPARATE_LEADING, 30, 12, 0 },
+		{ DecimalData.EBCDIC_SIGN_SEPARATE_TRAILING, 43, 20, 3 },
+		{ DecimalData.EBCDIC_SIGN_EMBEDDED_LEADING, 64, 3, 0 },
+		{ BINARY, 67, 1, 0, 1, 1 },
+		{ BINARY, 68, 2, 0, 0, 0 },
+		{ BINARY, 70, 4, 0, 1, 0 },
+		{ BINARY, 74, 8, 0, 0, 1 },
+		{ BINARY, 82, 4, 0, 0, 1 },
+		{ BINARY, 86, 2, 0, 1, 1 },
+		{ TEXT, 88, 10, 0 },
+	};
+
+	static RecordLayout layout() {
+		RecordLayout.Builder builder = new RecordLayout.Builder();
+		for (int[] field : FIELDS) {
+			switch (field[0]) {
+			case PACKED:
+				builder.packedDecimal(field[1], field[2], field[3]);
+				break;
+			case BINARY:
+				builder.binary(field[1], field[2], field[4] != 0, field[5] != 0);
+				break;
+			case TEXT:
+				builder.text(field[1], field[2], TEXT_CHARSET);
+				break;
+			default:
+				builder.externalDecimal(field[1], field[2], field[3], field[0]);
+				break;
+			}
+		}
+		return builder.recordLength(RECORD_LENGTH).build();
+	}
+
+	/**
+	 * Creates columns of random values which fit their fields.
+	 */
+	static Object[] randomColumns(RecordLayout layout, int records, Random random) {
+		Object[] columns = layout.newColumns(records);
+		for (int f = 0; f < FIELDS.length; f++) {
+			int[] field = FIELDS[f];
+			for (int i = 0; i < records; i++) {
+				if (field[0] == TEXT) {
+					char[] text = new char[random.nextInt(field[2] + 1)];
+					for (int j = 0; j < text.length; j++) {
+						text[j] = (char) ('A' + random.nextInt(26));
+					}
+					((String[]) columns[f])[i] = new String(text);
+				} else if (field[0] == BINARY) {
+					int bits = field[2] * 8;
+					long value = random.nextLong();
+					if (bits < 64) {
+						value = (field[5] != 0) ? (value >> (64 - bits)) : (value >>> (64 - bits));
+					}
+					if (columns[f] instanceof int[]) {
+						((int[]) columns[f])[i] = (int) value;
+					} else {
+						((long[]) columns[f])[i] = value;
+					}
+				} else {
+					BigDecimal value = new BigDecimal(TestDataAccessBuffers.randomValue(random, field[2]), field[3]);
+					if (columns[f] instanceof int[]) {
+						((int[]) columns[f])[i] = value.unscaledValue().intValue();
+					} else if (columns[f] instanceof long[]) {
+						((long[]) columns[f])[i] = value.unscaledValue().longValue();
+					} else {
+						((BigDecimal[]) columns[f])[i] = value;
+					}
+				}
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Builds the records field by field with the public conversion methods.
+	 */
+	static byte[] referenceRecords(Object[] columns, int records) {
+		byte[] data = new byte[records * RECORD_LENGTH];
+		Arrays.fill(data, FILLER);
+		for (int i = 0; i < records; i++) {
+			int record = i * RECORD_LENGTH;
+			for (int f = 0; f < FIELDS.length; f++) {
+				int[] field = FIELDS[f];
+				int position = record + field[1];
+				Object column = columns[f];
+				if (field[0] == TEXT) {
+					byte[] text = Arrays.copyOf(((String[]) column)[i].getBytes(TEXT_CHARSET), field[2]);
+					for (int j = ((String[]) column)[i].length(); j < field[2]; j++) {
+						text[j] = ' ';
+					}
+					System.arraycopy(text, 0, data, position, field[2]);
+				} else if (field[0] == BINARY) {
+					long value = (column instanceof int[]) ? ((int[]) column)[i] : ((long[]) column)[i];
+					boolean bigEndian = field[4] != 0;
+					switch (field[2]) {
+					case 1:
+						data[position] = (byte) value;
+						break;
+					case 2:
+						ByteArrayMarshaller.writeShort((short) value, data, position, bigEndian);
+						break;
+					case 4:
+						ByteArrayMarshaller.writeInt((int) value, data, position, bigEndian);
+						break;
+					default:
+						ByteArrayMarshaller.writeLong(value, data, position, bigEndian);
+						break;
+					}
+				} else if (field[0] == PACKED) {
+					if (column instanceof int[]) {
+						DecimalData.convertIntegerToPackedDecimal(((int[]) column)[i], data, position, field[2], true);
+					} else if (column instanceof long[]) {
+						DecimalData.convertLongToPackedDecimal(((long[]) column)[i], data, position, field[2], true);
+					} else {
+						DecimalData.convertBigDecimalToPackedDecimal(((BigDecimal[]) column)[i], data, position, field[2], true);
+					}
+				} else {
+					if (column instanceof int[]) {
+						DecimalData.convertIntegerToExternalDecimal(((int[]) column)[i], data, position, field[2], true, field[0]);
+					} else if (column instanceof long[]) {
+						DecimalData.convertLongToExternalDecimal(((long[]) column)[i], data, position, field[2], true, field[0]);
+					} else {
+						DecimalData.convertBigDecimalToExternalDecimal(((BigDecimal[]) column)[i], data, position, field[2], true, field[0]);
+					}
+				}
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Answers the columns as they are decoded: text values hold the spaces which pad them to the field length.
+	 */
+	static Object[] padText(Object[] columns) {
+		Object[] padded = columns.clone();
+		for (int f = 0; f < FIELDS.length; f++) {
+			if (FIELDS[f][0] == TEXT) {
+				String[] values = ((String[]) columns[f]).clone();
+				for (int i = 0; i < values.length; i++) {
+					values[i] += padding(values[i], FIELDS[f][2]);
+				}
+				padded[f] = values;
+			}
+		}
+		return padded;
+	}
+
+	static void assertColumnsEqual(Object[] actual, Object[] expected, String what) {
+		Assert.assertEquals(actual.length, expected.length, what);
+		for (int f = 0; f < expected.length; f++) {
+			Object a = actual[f];
+			Object e = expected[f];
+			boolean equal;
+			if (e instanceof int[]) {
+				equal = Arrays.equals((int[]) a, (int[]) e);
+			} else if (e instanceof long[]) {
+				equal = Arrays.equals((long[]) a, (long[]) e);
+			} else {
+				equal = Arrays.equals((Object[]) a, (Object[]) e);
+			}
+			Assert.assertTrue(equal, what + ": column " + f + " differs");
+		}
+	}
+
+	@Test
+	public void testLayout() {
+		RecordLayout layout = layout();
+		Assert.assertEquals(layout.getRecordLength(), RECORD_LENGTH);
+		Assert.assertEquals(layout.getFieldCount(), FIELDS.length);
+		Class<?>[] expected = {
+			int[].class, long[].class, BigDecimal[].class,
+			int[].class, long[].class, BigDecimal[].class, int[].class,
+			int[].class, int[].class, long[].class, long[].class, int[].class, int[].class,
+			String[].class,
+		};
+		for (int f = 0; f < FIELDS.length; f++) {
+			Assert.assertEquals(layout.getColumnType(f), expected[f], "column type of field " + f);
+		}
+		/* by default the records end with the last field */
+		Assert.assertEquals(new RecordLayout.Builder().packedDecimal(3, 5, 0).build().getRecordLength(), 6);
+	}
+
+	@Test
+	public void testRoundTrip() {
+		RecordLayout layout = layout();
+		Object[] columns = randomColumns(layout, RECORDS, new Random(13));
+		byte[] expected = referenceRecords(columns, RECORDS);
+
+		byte[] data = new byte[expected.length];
+		Arrays.fill(data, FILLER);
+		layout.encode(columns, 0, RECORDS, data, 0, true);
+		Assert.assertEquals(data, expected, "encoded records");
+
+		Object[] decoded = layout.newColumns(RECORDS);
+		layout.decode(data, 0, RECORDS, decoded, 0);
+		assertColumnsEqual(decoded, padText(columns), "decoded columns");
+	}
+
+	@Test
+	public void testOffsets() {
+		RecordLayout layout = layout();
+		Object[] columns = randomColumns(layout, RECORDS, new Random(17));
+		byte[] records = referenceRecords(columns, RECORDS);
+
+		/* records at an offset into the array, values at an offset into the columns */
+		int offset = 3;
+		int columnOffset = 10;
+		int count = RECORDS - columnOffset;
+		byte[] data = new byte[offset + records.length];
+		Arrays.fill(data, FILLER);
+		layout.encode(columns, columnOffset, count, data, offset, true);
+		Assert.assertEquals(Arrays.copyOfRange(data, offset, offset + (count * RECORD_LENGTH)),
+				Arrays.copyOfRange(records, columnOffset * RECORD_LENGTH, RECORDS * RECORD_LENGTH), "encoded records at an offset");
+
+		Object[] decoded = layout.newColumns(RECORDS + 1);
+		layout.decode(records, RECORD_LENGTH, RECORDS - 1, decoded, 2);
+		Assert.assertEquals(((int[]) decoded[0])[2], ((int[]) columns[0])[1]);
+		Assert.assertEquals(((String[]) decoded[13])[RECORDS], ((String[]) columns[13])[RECORDS - 1] + padding(((String[]) columns[13])[RECORDS - 1], 10));
+	}
+
+	@Test
+	public void testNullColumnSkipsField() {
+		RecordLayout layout = layout();
+		Object[] columns = randomColumns(layout, RECORDS, new Random(19));
+		byte[] data = referenceRecords(columns, RECORDS);
+		byte[] before = data.clone();
+
+		Object[] other = randomColumns(layout, RECORDS, new Random(23));
+		other[0] = null;
+		layout.encode(other, 0, RECORDS, data, 0, true);
+		for (int i = 0; i < RECORDS; i++) {
+			int position = i * RECORD_LENGTH;
+			Assert.assertEquals(Arrays.copyOfRange(data, position, position + 4), Arrays.copyOfRange(before, position, position + 4),
+					"skipped field was written");
+		}
+
+		Object[] decoded = layout.newColumns(RECORDS);
+		int[] untouched = (int[]) decoded[0];
+		decoded[0] = null;
+		layout.decode(data, 0, RECORDS, decoded, 0);
+		Assert.assertEquals(((int[]) decoded[7])[0], ((int[]) other[7])[0]);
+		Assert.assertEquals(untouched, new int[RECORDS]);
+	}
+
+	@Test
+	public void testParallel() {
+		RecordLayout layout = layout();
+		Object[] columns = randomColumns(layout, PARALLEL_RECORDS, new Random(29));
+
+		byte[] serial = new byte[PARALLEL_RECORDS * RECORD_LENGTH];
+		byte[] parallel = new byte[serial.length];
+		layout.encode(columns, 0, PARALLEL_RECORDS, serial, 0, true);
+		layout.encodeParallel(columns, 0, PARALLEL_RECORDS, parallel, 0, true);
+		Assert.assertEquals(parallel, serial, "parallel encoding");
+
+		Object[] serialColumns = layout.newColumns(PARALLEL_RECORDS);
+		Object[] parallelColumns = layout.newColumns(PARALLEL_RECORDS);
+		layout.decode(serial, 0, PARALLEL_RECORDS, serialColumns, 0);
+		layout.decodeParallel(serial, 0, PARALLEL_RECORDS, parallelColumns, 0);
+		assertColumnsEqual(parallelColumns, serialColumns, "parallel decoding");
+		assertColumnsEqual(parallelColumns, padText(columns), "parallel round trip");
+	}
+
+	@Test
+	public void testByteBuffer() {
+		RecordLayout layout = layout();
+		Object[] columns = randomColumns(layout, RECORDS, new Random(31));
+		byte[] expected = referenceRecords(columns, RECORDS);
+		int index = 5;
+
+		for (ByteBuffer buffer : new ByteBuffer[] {
+				ByteBuffer.allocate(index + expected.length),
+				ByteBuffer.allocateDirect(index + expected.length) }) {
+			String kind = buffer.isDirect() ? "direct" : "heap";
+			for (int i = 0; i < buffer.capacity(); i++) {
+				buffer.put(i, FILLER);
+			}
+			layout.encode(columns, 0, RECORDS, buffer, index, true);
+			Assert.assertEquals(TestDataAccessBuffers.contents(buffer, index, expected.length), expected, kind + " encoded records");
+			Assert.assertEquals(buffer.position(), 0, kind + " position changed");
+
+			Object[] decoded = layout.newColumns(RECORDS);
+			layout.decode(buffer, index, RECORDS, decoded, 0);
+			assertColumnsEqual(decoded, padText(columns), kind + " decoded columns");
+		}
+	}
+
+	@Test
+	public void testErrors() {
+		RecordLayout layout = layout();
+		Object[] columns = layout.newColumns(2);
+		byte[] data = new byte[2 * RECORD_LENGTH];
+
+		try {
+			layout.decode(data, 1, 2, columns, 0);
+			Assert.fail("records past the end of the array were decoded");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			/* expected */
+		}
+		try {
+			layout.decode(data, 0, 2, columns, 1);
+			Assert.fail("values past the end of the columns were decoded");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			/* expected */
+		}
+		Object[] wrong = layout.newColumns(2);
+		wrong[1] = new int[2];
+		try {
+			layout.decode(data, 0, 2, wrong, 0);
+			Assert.fail("a column of the wrong type was accepted");
+		} catch (IllegalArgumentException e) {
+			/* expected */
+		}
+		try {
+			layout.decode(data, 0, 2, Arrays.copyOf(columns, 3), 0);
+			Assert.fail("too few columns were accepted");
+		} catch (IllegalArgumentException e) {
+			/* expected */
+		}
+
+		Object[] values = randomColumns(layout, 2, new Random(37));
+		((int[]) values[0])[1] = 100_000_000;
+		try {
+			layout.encode(values, 0, 2, data, 0, true);
+			Assert.fail("a value too large for its field was encoded");
+		} catch (ArithmeticException e) {
+			/* expected */
+		}
+		values = randomColumns(layout, 2, new Random(37));
+		((int[]) values[7])[0] = 200;
+		try {
+			layout.encode(values, 0, 2, data, 0, true);
+			Assert.fail("a value too large for a one byte field was encoded");
+		} catch (ArithmeticException e) {
+			/* expected */
+		}
+
+		try {
+			new RecordLayout.Builder().packedDecimal(0, 5, 0).recordLength(2).build();
+			Assert.fail("a field past the end of the record was accepted");
+		} catch (IllegalArgumentException e) {
+			/* expected */
+		}
+		try {
+			new RecordLayout.Builder().binary(0, 3, true, true);
+			Assert.fail("a three byte binary field was accepted");
+		} catch (IllegalArgumentException e) {
+			/* expected */
+		}
+	}
+
+	private static String padding(String text, int length) {
+		char[] spaces = new char[length - text.length()];
+		Arrays.fill(spaces, ' ');
+		return new String(spaces);
+	}
+}
@@ -0,0 +1,171 @@
+package j9vm.test.benchmark.dataaccess;
+
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import com.ibm.dataaccess.DecimalData;
+import com.ibm.dataaccess.PackedDecimal;
+
+/**
+ * Measures the Packed Decimal operations of com.ibm.dataaccess for each precision from 1 to 31:
+ * add, subtract, compare, conversion to long and conversion to and from External Decimal,
+ * with the same additions done on BigDecimal as a baseline.
+ *
+ * Run with an optional number of operations per precision and operation, e.g.
+ * 	java j9vm.test.benchmark.dataaccess.PackedDecimalBenchmark 1000000
+ *
+ * Each line reports the average time of one operation in nanoseconds.
+ */
+public class PackedDecimalBenchmark {
+
+	private static final int MAX_PRECISION = 31;
+	private static final int OPERANDS = 256;
+	private static final int WARMUP_PASSES = 3;
+
+	private final int operations;
+	private final Random random = new Random(31);
+
+	/* consumes the results so that the work cannot be optimized away */
+	private long sink;
+
+	public static void main(String[] args) {
+		int operations = 1_000_000;
+		if (args.length > 0) {
+			operations = Integer.parseInt(args[0]);
+		}
+		new PackedDecimalBenchmark(operations).run();
+	}
+
+	PackedDecimalBenchmark(int operations) {
+		this.operations = operations;
+	}
+
+	void run() {
+		System.out.println("precision     add     sub     cmp  toLong  toZone  toPack  BigDec (ns/op)");
+		for (int pass = 0; pass <= WARMUP_PASSES; pass++) {
+			for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+				String line = measure(precision);
+				if (pass == WARMUP_PASSES) {
+					System.out.println(line);
+				}
+			}
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	String measure(int precision) {
+		int packedSize = (precision / 2) + 1;
+		byte[][] operands = new byte[OPERANDS][];
+		BigDecimal[] bigOperands = new BigDecimal[OPERANDS];
+		for (int i = 0; i < OPERANDS; i++) {
+			/* halve the values so that the sums do not overflow */
+			BigDecimal value = randomValue(precision - 1);
+			operands[i] = new byte[packedSize];
+			DecimalData.convertBigDecimalToPackedDecimal(value, operands[i], 0, precision, true);
+			bigOperands[i] = value;
+		}
+		byte[] result = new byte[packedSize];
+		byte[] external = new byte[precision];
+		int mask = OPERANDS - 1;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			PackedDecimal.addPackedDecimal(result, 0, precision, operands[i & mask], 0, precision,
+					operands[(i + 1) & mask], 0, precision, true);
+		}
+		long add = System.nanoTime() - start;
+		sink += result[packedSize - 1];
+
+		start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			PackedDecimal.subtractPackedDecimal(result, 0, precision, operands[i & mask], 0, precision,
+					operands[(i + 1) & mask], 0, precision, true);
+		}
+		long subtract = System.nanoTime() - start;
+		sink += result[packedSize - 1];
+
+		start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			if (PackedDecimal.greaterThanPackedDecimal(operands[i & mask], 0, precision,
+					operands[(i + 1) & mask], 0, precision)) {
+				sink += 1;
+			}
+		}
+		long compare = System.nanoTime() - start;
+
+		long toLong = -1;
+		if (precision <= 18) {
+			start = System.nanoTime();
+			for (int i = 0; i < operations; i++) {
+				sink += DecimalData.convertPackedDecimalToLong(operands[i & mask], 0, precision, true);
+			}
+			toLong = System.nanoTime() - start;
+		}
+
+		start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			DecimalData.convertPackedDecimalToExternalDecimal(operands[i & mask], 0, external, 0,
+					precision, DecimalData.EBCDIC_SIGN_EMBEDDED_TRAILING);
+		}
+		long toExternal = System.nanoTime() - start;
+		sink += external[precision - 1];
+
+		start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			DecimalData.convertExternalDecimalToPackedDecimal(external, 0, result, 0,
+					precision, DecimalData.EBCDIC_SIGN_EMBEDDED_TRAILING);
+		}
+		long toPacked = System.nanoTime() - start;
+		sink += result[packedSize - 1];
+
+		BigDecimal bigResult = null;
+		start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			bigResult = bigOperands[i & mask].add(bigOperands[(i + 1) & mask]);
+		}
+		long bigAdd = System.nanoTime() - start;
+		sink += bigResult.signum();
+
+		return String.format("%9d %7.1f %7.1f %7.1f %7s %7.1f %7.1f %7.1f", precision,
+				perOperation(add), perOperation(subtract), perOperation(compare),
+				(toLong < 0) ? "-" : String.format("%.1f", perOperation(toLong)),
+				perOperation(toExternal), perOperation(toPacked), perOperation(bigAdd));
+	}
+
+	double perOperation(long nanoseconds) {
+		return (double) nanoseconds / operations;
+	}
+
+	BigDecimal randomValue(int digits) {
+		StringBuilder value = new StringBuilder("0");
+		for (int i = 0; i < digits; i++) {
+			value.append((char) ('0' + random.nextInt(10)));
+		}
+		if (random.nextBoolean()) {
+			value.insert(0, '-');
+		}
+		return new BigDecimal(value.toString());
+	}
+}
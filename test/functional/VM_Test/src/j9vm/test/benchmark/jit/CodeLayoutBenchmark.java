@@ -0,0 +1,276 @@
+package j9vm.test.benchmark.jit;
+
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the effect of -Xjit:enableHotCodeCache, which places the bodies of hot methods
+ * next to each other in a dedicated code cache.
+ *
+ * The workload is a chain of hot methods that are compiled while many copies of a filler
+ * class, each loaded by its own class loader, are compiled too, so that without the hot
+ * code cache the hot bodies end up between the filler bodies.
+ *
+ * Run without arguments to start one JVM without and one JVM with the hot code cache, e.g.
+ * 	java j9vm.test.benchmark.jit.CodeLayoutBenchmark
+ * On Linux, when the perf tool is installed, the JVMs are run under perf stat and the iTLB
+ * and instruction cache misses of both runs are reported. Otherwise only the time of one
+ * pass through the hot chain is reported.
+ *
+ * Run with the argument "measure" to run the workload in the current JVM only.
+ */
+public class CodeLayoutBenchmark {
+
+	private static final int FILLER_COPIES = 400;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int MEASURED_PASSES = 20_000_000;
+	private static final String PERF_EVENTS = "iTLB-load-misses,L1-icache-load-misses";
+	private static final String[][] CONFIGURATIONS = {
+		{ "default layout" },
+		{ "hot code cache", "-Xjit:enableHotCodeCache" },
+	};
+
+	/* consumes the results so that the work cannot be optimized away */
+	static long sink;
+
+	/**
+	 * Implemented by the filler class, so that the copies loaded by the other loaders can be called.
+	 */
+	public interface Workload {
+		long run(int seed);
+	}
+
+	public static void main(String[] args) throws Exception {
+		if ((args.length > 0) && "measure".equals(args[0])) {
+			new CodeLayoutBenchmark().measure();
+		} else {
+			compareLayouts();
+		}
+	}
+
+	static void compareLayouts() throws Exception {
+		boolean usePerf = isPerfAvailable();
+		if (!usePerf) {
+			System.out.println("perf is not available, only the times are reported");
+		}
+		List<Map<String, Long>> counters = new ArrayList<>();
+		for (String[] configuration : CONFIGURATIONS) {
+			List<String> command = new ArrayList<>();
+			if (usePerf) {
+				command.addAll(Arrays.asList("perf", "stat", "-x,", "-e", PERF_EVENTS));
+			}
+			command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+			command.addAll(Arrays.asList(configuration).subList(1, configuration.length));
+			command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), CodeLayoutBenchmark.class.getName(), "measure"));
+
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			Map<String, Long> events = new LinkedHashMap<>();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					/* perf stat -x, prints: value,unit,event,... */
+					String[] fields = line.split(",");
+					if (usePerf && (fields.length > 2) && PERF_EVENTS.contains(fields[2])) {
+						try {
+							events.put(fields[2], Long.valueOf(fields[0]));
+						} catch (NumberFormatException e) {
+							/* the event is not supported on this processor */
+						}
+					} else {
+						System.out.println(configuration[0] + ": " + line);
+					}
+				}
+			}
+			process.waitFor();
+			for (Map.Entry<String, Long> event : events.entrySet()) {
+				System.out.println(configuration[0] + ": " + event.getKey() + " = " + event.getValue());
+			}
+			counters.add(events);
+		}
+
+		Map<String, Long> baseline = counters.get(0);
+		for (int i = 1; i < counters.size(); i++) {
+			for (Map.Entry<String, Long> event : counters.get(i).entrySet()) {
+				Long before = baseline.get(event.getKey());
+				if ((before != null) && (before.longValue() > 0)) {
+					double reduction = (before.longValue() - event.getValue().longValue()) * 100.0 / before.longValue();
+					System.out.println(CONFIGURATIONS[i][0] + ": " + event.getKey() + String.format(" reduced by %.1f%%", reduction));
+				}
+			}
+		}
+	}
+
+	static boolean isPerfAvailable() {
+		try {
+			Process process = new ProcessBuilder("perf", "--version").redirectErrorStream(true).start();
+			try (InputStream in = process.getInputStream()) {
+				while (in.read() != -1) {
+					/* discard the version */
+				}
+			}
+			return process.waitFor() == 0;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	void measure() throws Exception {
+		Workload[] fillers = loadFillers();
+
+		/* compile the hot chain while the filler copies are being compiled */
+		for (int round = 0; round < WARMUP_ROUNDS; round++) {
+			for (Workload filler : fillers) {
+				sink += filler.run(round);
+				sink += stage0(round);
+			}
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_PASSES; i++) {
+			sink += stage0(i);
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println(String.format("hot chain: %.2f ns/pass (checksum %d)", (double) elapsed / MEASURED_PASSES, sink));
+	}
+
+	Workload[] loadFillers() throws Exception {
+		String fillerName = Filler.class.getName();
+		byte[] fillerBytes;
+		try (InputStream in = CodeLayoutBenchmark.class.getResourceAsStream("/" + fillerName.replace('.', '/') + ".class")) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			fillerBytes = out.toByteArray();
+		}
+
+		Workload[] fillers = new Workload[FILLER_COPIES];
+		for (int i = 0; i < FILLER_COPIES; i++) {
+			Class<?> fillerClass = new FillerLoader(fillerName, fillerBytes).loadClass(fillerName);
+			fillers[i] = (Workload) fillerClass.getDeclaredConstructor().newInstance();
+		}
+		return fillers;
+	}
+
+	/* the hot chain; each stage is small enough to be compiled on its own but not always inlined */
+
+	static long stage0(int x) {
+		return stage1(x * 31 + 7) ^ stage4(x);
+	}
+
+	static long stage1(int x) {
+		return stage2(x ^ (x >>> 3)) + (x & 0xff);
+	}
+
+	static long stage2(int x) {
+		return ((x & 1) == 0) ? stage3(x >> 1) : stage3(x * 3 + 1);
+	}
+
+	static long stage3(int x) {
+		long value = x;
+		for (int i = 0; i < 4; i++) {
+			value = (value * 0x9E3779B97F4A7C15L) ^ (value >>> 29);
+		}
+		return value;
+	}
+
+	static long stage4(int x) {
+		return stage5(x + 11) - stage3(x - 11);
+	}
+
+	static long stage5(int x) {
+		return (x % 7 == 0) ? stage2(x) : stage3(x);
+	}
+
+	/**
+	 * Loads its own copy of the filler class, so that every copy has its own compiled bodies.
+	 */
+	static class FillerLoader extends ClassLoader {
+		private final String fillerName;
+		private final byte[] fillerBytes;
+
+		FillerLoader(String fillerName, byte[] fillerBytes) {
+			super(CodeLayoutBenchmark.class.getClassLoader());
+			this.fillerName = fillerName;
+			this.fillerBytes = fillerBytes;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (fillerName.equals(name)) {
+				synchronized (getClassLoadingLock(name)) {
+					Class<?> clazz = findLoadedClass(name);
+					if (clazz == null) {
+						clazz = defineClass(name, fillerBytes, 0, fillerBytes.length);
+					}
+					return clazz;
+				}
+			}
+			return super.loadClass(name, resolve);
+		}
+	}
+
+	/**
+	 * Warm code that is compiled between the hot methods.
+	 */
+	public static class Filler implements Workload {
+		@Override
+		public long run(int seed) {
+			return step1(seed) + step2(seed) + step3(seed);
+		}
+
+		long step1(int seed) {
+			long value = seed;
+			for (int i = 0; i < 3; i++) {
+				value += (value << 5) ^ i;
+			}
+			return value;
+		}
+
+		long step2(int seed) {
+			StringBuilder builder = new StringBuilder();
+			builder.append(seed).append(':').append(seed >>> 4);
+			return builder.length();
+		}
+
+		long step3(int seed) {
+			int[] values = new int[8];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = seed * i;
+			}
+			return values[seed & 7];
+		}
+	}
+}
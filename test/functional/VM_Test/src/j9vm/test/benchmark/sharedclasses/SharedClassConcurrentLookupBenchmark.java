@@ -0,0 +1,108 @@
+package j9vm.test.benchmark.sharedclasses;
+
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.oti.shared.Shared;
+import com.ibm.oti.shared.SharedClassURLClasspathHelper;
+
+/**
+ * Stress test for concurrent lookups through a single SharedClassURLClasspathHelper, as done by a
+ * parallel capable class loader. Reports lookups per second for 1, 2, 4, ... threads up to the
+ * number of available processors (or the optional second argument).
+ *
+ * Run with -Xshareclasses and a jar containing the classes to look up, e.g.
+ * 	java -Xshareclasses:name=lookupBench j9vm.test.benchmark.sharedclasses.SharedClassConcurrentLookupBenchmark a.jar [maxThreads]
+ */
+public class SharedClassConcurrentLookupBenchmark {
+
+	private static final long RUN_MILLIS = 2000;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.out.println("ERROR: Missing required arguments !");
+			System.out.println("	First argument is jar containing test entries");
+			System.out.println("	Second optional argument is the maximum number of threads");
+			return;
+		}
+		if (Shared.getSharedClassHelperFactory() == null) {
+			System.out.println("ERROR: -Xshareclasses is required");
+			return;
+		}
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		if (args.length > 1) {
+			maxThreads = Integer.parseInt(args[1]);
+		}
+
+		SharedClassLookupBenchmark lookup = new SharedClassLookupBenchmark(new String[] { args[0] });
+		String[] names = lookup.populateCache();
+		SharedClassURLClasspathHelper helper = lookup.newHelper();
+
+		/* warm up */
+		runLookups(helper, names, 1);
+
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			long lookups = runLookups(helper, names, threads);
+			System.out.println(threads + " threads: " + ((lookups * 1000) / RUN_MILLIS) + " lookups per second");
+		}
+	}
+
+	static long runLookups(final SharedClassURLClasspathHelper helper, final String[] names, int threadCount) throws Exception {
+		final AtomicLong total = new AtomicLong();
+		final CountDownLatch start = new CountDownLatch(1);
+		final long endTime = System.currentTimeMillis() + RUN_MILLIS;
+		Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			final int offset = (names.length / threadCount) * t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					long count = 0;
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					/* each thread starts at a different class so they do not run in lockstep */
+					int index = offset;
+					while (System.currentTimeMillis() < endTime) {
+						for (int i = 0; i < 100; i++) {
+							helper.findSharedClass(null, names[index], null);
+							index = (index + 1) % names.length;
+						}
+						count += 100;
+					}
+					total.addAndGet(count);
+				}
+			};
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		return total.get();
+	}
+}
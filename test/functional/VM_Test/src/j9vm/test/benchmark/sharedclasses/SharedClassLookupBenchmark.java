@@ -0,0 +1,193 @@
+package j9vm.test.benchmark.sharedclasses;
+
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.ibm.oti.shared.Shared;
+import com.ibm.oti.shared.SharedClassHelperFactory;
+import com.ibm.oti.shared.SharedClassURLClasspathHelper;
+
+/**
+ * Compares SharedClassURLClasspathHelper.findSharedClass() called once per class with
+ * SharedClassURLClasspathHelper.findSharedClasses() called once for the whole classpath.
+ *
+ * Run with -Xshareclasses and one or more jars as arguments, e.g.
+ * 	java -Xshareclasses:name=lookupBench j9vm.test.benchmark.sharedclasses.SharedClassLookupBenchmark a.jar b.jar ...
+ *
+ * The first pass populates the cache through a storing class loader. Each timed pass then uses a
+ * fresh class loader with the same classpath so that only the cache lookup is measured.
+ */
+public class SharedClassLookupBenchmark {
+
+	private static final int ITERATIONS = 5;
+
+	private final ZipFile[] jars;
+	private final URL[] classpath;
+	private final Map<String, Integer> classIndex = new HashMap<>();
+	private final List<String> classNames = new ArrayList<>();
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.out.println("ERROR: Missing required arguments !");
+			System.out.println("	Arguments are the jars making up the classpath");
+			return;
+		}
+		if (Shared.getSharedClassHelperFactory() == null) {
+			System.out.println("ERROR: -Xshareclasses is required");
+			return;
+		}
+		new SharedClassLookupBenchmark(args).run();
+	}
+
+	SharedClassLookupBenchmark(String[] jarNames) throws Exception {
+		jars = new ZipFile[jarNames.length];
+		classpath = new URL[jarNames.length];
+		for (int i = 0; i < jarNames.length; i++) {
+			File file = new File(jarNames[i]);
+			jars[i] = new ZipFile(file);
+			classpath[i] = file.toURI().toURL();
+			Enumeration<? extends ZipEntry> entries = jars[i].entries();
+			while (entries.hasMoreElements()) {
+				String entryName = entries.nextElement().getName();
+				if (entryName.endsWith(".class") && !entryName.endsWith("module-info.class")) {
+					String className = entryName.substring(0, entryName.length() - 6).replace('/', '.');
+					/* the left-most entry hides the others, as it would for the real class loader */
+					if (!classIndex.containsKey(className)) {
+						classIndex.put(className, Integer.valueOf(i));
+						classNames.add(className);
+					}
+				}
+			}
+		}
+	}
+
+	void run() throws Exception {
+		String[] names = populateCache();
+		for (int i = 0; i < ITERATIONS; i++) {
+			SharedClassURLClasspathHelper helper = newHelper();
+			long startTime = System.nanoTime();
+			int found = 0;
+			for (String name : names) {
+				if (helper.findSharedClass(null, name, null) != null) {
+					found += 1;
+				}
+			}
+			long singleTime = System.nanoTime() - startTime;
+
+			helper = newHelper();
+			int[] indexes = new int[names.length];
+			startTime = System.nanoTime();
+			byte[][] cookies = helper.findSharedClasses(null, names, indexes);
+			long batchTime = System.nanoTime() - startTime;
+			int batchFound = 0;
+			for (byte[] cookie : cookies) {
+				if (cookie != null) {
+					batchFound += 1;
+				}
+			}
+
+			System.out.println("Iteration " + i + ": findSharedClass found " + found + " classes in " + singleTime
+					+ " nanoseconds, findSharedClasses found " + batchFound + " classes in " + batchTime + " nanoseconds");
+		}
+	}
+
+	/**
+	 * Stores every class on the classpath that can be defined into the cache.
+	 *
+	 * @return the names of all the classes on the classpath
+	 */
+	String[] populateCache() throws Exception {
+		System.out.println("Classpath has " + classpath.length + " entries and " + classNames.size() + " classes");
+
+		StoringLoader storingLoader = new StoringLoader();
+		int stored = 0;
+		for (String className : classNames) {
+			try {
+				Class.forName(className, false, storingLoader);
+				stored += 1;
+			} catch (Throwable t) {
+				/* classes with unresolvable dependencies are simply not stored */
+			}
+		}
+		System.out.println("Defined " + stored + " classes through the storing loader");
+		return classNames.toArray(new String[classNames.size()]);
+	}
+
+	SharedClassURLClasspathHelper newHelper() throws Exception {
+		SharedClassHelperFactory factory = Shared.getSharedClassHelperFactory();
+		SharedClassURLClasspathHelper helper = factory.getURLClasspathHelper(new ClassLoader(null) {}, classpath);
+		helper.confirmAllEntries();
+		return helper;
+	}
+
+	byte[] readClass(ZipFile jar, String className) throws Exception {
+		ZipEntry entry = jar.getEntry(className.replace('.', '/') + ".class");
+		try (InputStream in = jar.getInputStream(entry)) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	class StoringLoader extends ClassLoader {
+		private final SharedClassURLClasspathHelper helper;
+
+		StoringLoader() throws Exception {
+			super(SharedClassLookupBenchmark.class.getClassLoader());
+			helper = Shared.getSharedClassHelperFactory().getURLClasspathHelper(this, classpath);
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			Integer index = classIndex.get(name);
+			if (index == null) {
+				throw new ClassNotFoundException(name);
+			}
+			int foundAtIndex = index.intValue();
+			byte[] classBytes;
+			try {
+				classBytes = readClass(jars[foundAtIndex], name);
+			} catch (Exception e) {
+				throw new ClassNotFoundException(name, e);
+			}
+			Class<?> clazz = defineClass(name, classBytes, 0, classBytes.length);
+			helper.storeSharedClass(null, clazz, foundAtIndex);
+			return clazz;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.invalidclasspath;
+
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.ibm.oti.shared.SharedClassURLClasspathHelper;
+
+/**
+ * This class is used by ConcurrentSetClasspathTestRunner to check that lookups through a
+ * com.ibm.oti.shared.SharedClassURLClasspathHelper keep working while other threads change its classpath.
+ *
+ * It works as follows:
+ * 	- Store TestA1 and TestB1, found at classpath indexes 0 and 1, using a SetClasspathTest.CustomClassLoader.
+ * 	- Start reader threads which repeatedly find both classes through the helper of the loader.
+ * 	- At the same time, repeatedly extend the classpath with a third jar, using setClasspath() and
+ * 	  addClasspathEntry(), and shrink it back. The first two entries never change, so every lookup must succeed.
+ * 	- Fail if a lookup returns null or throws, or if a thread does not finish, e.g. because a classpath
+ * 	  change waits forever for the readers.
+ */
+public class ConcurrentSetClasspathTest {
+	private static final String MSG_PREFIX = ConcurrentSetClasspathTest.class.getSimpleName() + "> ";
+	private static final int READER_THREADS = 4;
+	private static final int CLASSPATH_CHANGES = 2000;
+	private static final long JOIN_TIMEOUT_MILLIS = 120000;
+	private static final String[] CLASS_NAMES = { "TestA1", "TestB1" };
+
+	public static void main(String args[]) throws Exception {
+		ClassLoader testLoader = ConcurrentSetClasspathTest.class.getClassLoader();
+		final URL jar1 = testLoader.getResource("InvalidClasspathResource1.jar");
+		final URL jar2 = testLoader.getResource("InvalidClasspathResource2.jar");
+		final URL jar3 = testLoader.getResource("InvalidClasspathResource3.jar");
+
+		SetClasspathTest.CustomClassLoader loader = new SetClasspathTest.CustomClassLoader(new URL[] { jar1, jar2 });
+		final SharedClassURLClasspathHelper helper = loader.helper;
+		if (helper == null) {
+			fail("no SharedClassURLClasspathHelper, -Xshareclasses is required");
+		}
+		for (String className : CLASS_NAMES) {
+			Class.forName(className, true, loader);
+			if (helper.findSharedClass(className, null) == null) {
+				fail(className + " was not stored in the shared cache");
+			}
+		}
+
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final AtomicLong lookups = new AtomicLong();
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread writer = new Thread("classpath writer") {
+			@Override
+			public void run() {
+				try {
+					start.await();
+					for (int i = 0; (i < CLASSPATH_CHANGES) && (failure.get() == null); i++) {
+						if ((i & 1) == 0) {
+							helper.setClasspath(new URL[] { jar1, jar2, jar3 });
+						} else {
+							helper.addClasspathEntry(jar3);
+						}
+						helper.setClasspath(new URL[] { jar1, jar2 });
+					}
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}
+		};
+		Thread[] readers = new Thread[READER_THREADS];
+		for (int t = 0; t < readers.length; t++) {
+			readers[t] = new Thread("classpath reader " + t) {
+				@Override
+				public void run() {
+					long count = 0;
+					try {
+						start.await();
+						while (writer.isAlive() && (failure.get() == null)) {
+							for (String className : CLASS_NAMES) {
+								if (helper.findSharedClass(className, null) == null) {
+									throw new AssertionError(className + " not found after " + count + " lookups");
+								}
+								count += 1;
+							}
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					}
+					lookups.addAndGet(count);
+				}
+			};
+		}
+
+		writer.start();
+		for (Thread reader : readers) {
+			reader.start();
+		}
+		start.countDown();
+		writer.join(JOIN_TIMEOUT_MILLIS);
+		for (Thread reader : readers) {
+			reader.join(JOIN_TIMEOUT_MILLIS);
+		}
+
+		if (writer.isAlive()) {
+			fail("classpath changes did not complete within " + JOIN_TIMEOUT_MILLIS + " ms");
+		}
+		for (Thread reader : readers) {
+			if (reader.isAlive()) {
+				fail(reader.getName() + " did not complete within " + JOIN_TIMEOUT_MILLIS + " ms");
+			}
+		}
+		Throwable t = failure.get();
+		if (t != null) {
+			System.err.println(MSG_PREFIX + "Error: " + t);
+			t.printStackTrace();
+			System.exit(1);
+		}
+		System.err.println(MSG_PREFIX + CLASSPATH_CHANGES + " classpath changes and " + lookups.get() + " lookups completed");
+	}
+
+	private static void fail(String message) {
+		System.err.println(MSG_PREFIX + "Error: " + message);
+		System.exit(1);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.invalidclasspath;
+
+import java.net.URL;
+import java.util.Arrays;
+
+import com.ibm.oti.shared.SharedClassURLClasspathHelper;
+
+/**
+ * This class is used by FindSharedClassesTestRunner to check
+ * com.ibm.oti.shared.SharedClassURLClasspathHelper.findSharedClasses() against findSharedClass().
+ *
+ * It works as follows:
+ * 	- Store TestA1 and TestA2 (classpath index 0) and TestB1 (classpath index 1) using a SetClasspathTest.CustomClassLoader.
+ * 	- Find a batch of class names which mixes these classes with a class which is on the classpath but was never
+ * 	  stored, a class which does not exist and a null name.
+ * 	- Check the index reported for every name, and that every result is the same as a findSharedClass() of that name.
+ */
+public class FindSharedClassesTest {
+	private static final String MSG_PREFIX = FindSharedClassesTest.class.getSimpleName() + "> ";
+	private static final String[] STORED_CLASSES = { "TestA1", "TestA2", "TestB1" };
+	private static final String[] CLASS_NAMES = { "TestB1", "TestB2", "TestA1", null, "DoesNotExist", "TestA2" };
+	private static final int[] EXPECTED_INDEXES = { 1, -1, 0, -1, -1, 0 };
+
+	private static boolean passed = true;
+
+	public static void main(String args[]) throws Exception {
+		ClassLoader testLoader = FindSharedClassesTest.class.getClassLoader();
+		URL urls[] = new URL[] {
+				testLoader.getResource("InvalidClasspathResource1.jar"),
+				testLoader.getResource("InvalidClasspathResource2.jar")
+		};
+		SetClasspathTest.CustomClassLoader loader = new SetClasspathTest.CustomClassLoader(urls);
+		SharedClassURLClasspathHelper helper = loader.helper;
+		if (helper == null) {
+			System.err.println(MSG_PREFIX + "Error: no SharedClassURLClasspathHelper, -Xshareclasses is required");
+			System.exit(1);
+		}
+		for (String className : STORED_CLASSES) {
+			Class.forName(className, true, loader);
+		}
+
+		int[] indexes = new int[CLASS_NAMES.length + 1];
+		Arrays.fill(indexes, 42);
+		byte[][] results = helper.findSharedClasses(null, CLASS_NAMES, indexes);
+		if (results == null) {
+			System.err.println(MSG_PREFIX + "Error: findSharedClasses() returned null");
+			System.exit(1);
+		}
+		check(results.length == CLASS_NAMES.length, "expected " + CLASS_NAMES.length + " results, got " + results.length);
+		check(indexes[CLASS_NAMES.length] == 42, "findSharedClasses() wrote past the end of classNames");
+
+		for (int i = 0; i < CLASS_NAMES.length; i++) {
+			String name = CLASS_NAMES[i];
+			check(indexes[i] == EXPECTED_INDEXES[i], name + " found at index " + indexes[i] + ", expected " + EXPECTED_INDEXES[i]);
+			check((results[i] != null) == (EXPECTED_INDEXES[i] >= 0), name + " result is " + (results[i] == null ? "null" : "not null"));
+			if (name != null) {
+				final int[] singleIndex = { -1 };
+				byte[] single = helper.findSharedClass(name, new SharedClassURLClasspathHelper.IndexHolder() {
+					@Override
+					public void setIndex(int index) {
+						singleIndex[0] = index;
+					}
+				});
+				check(Arrays.equals(results[i], single), name + " result differs from findSharedClass()");
+				if (single != null) {
+					check(singleIndex[0] == indexes[i], name + " found at index " + singleIndex[0] + " by findSharedClass()");
+				}
+			}
+		}
+
+		/* the indexes are optional; a null array of names or a short indexes array answers null */
+		byte[][] noIndexes = helper.findSharedClasses(null, CLASS_NAMES, null);
+		if (noIndexes == null) {
+			check(false, "findSharedClasses() without indexes returned null");
+		} else {
+			for (int i = 0; i < CLASS_NAMES.length; i++) {
+				check(Arrays.equals(results[i], noIndexes[i]), CLASS_NAMES[i] + " result differs without indexes");
+			}
+		}
+		check(helper.findSharedClasses(null, null, null) == null, "findSharedClasses(null) did not return null");
+		check(helper.findSharedClasses(null, CLASS_NAMES, new int[1]) == null, "findSharedClasses() accepted a short indexes array");
+
+		if (!passed) {
+			System.exit(1);
+		}
+		System.err.println(MSG_PREFIX + "findSharedClasses() matched findSharedClass() for " + CLASS_NAMES.length + " names");
+	}
+
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			System.err.println(MSG_PREFIX + "Error: " + message);
+			passed = false;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package j9vm.test.invalidclasspath;
+
+import j9vm.runner.Runner;
+
+import java.io.IOException;
+
+/**
+ * Runs FindSharedClassesTest with a new shared cache, then destroys the cache.
+ */
+public class FindSharedClassesTestRunner extends Runner {
+	private static final int NUM_COMMANDS = 2;
+	private static int commandIndex = 0;
+
+	public FindSharedClassesTestRunner(String className, String exeName,
+			String bootClassPath, String userClassPath, String javaVersion) throws IOException {
+		super(className, exeName, bootClassPath, userClassPath, javaVersion);
+	}
+
+	/* Overrides method in j9vm.runner.Runner. */
+	public String getCustomCommandLineOptions() {
+		String customOptions = super.getCustomCommandLineOptions();
+		switch (commandIndex) {
+		case 0:
+			/* create a cold cache */
+			customOptions += "-Xshareclasses:name=findsharedclassestest,reset ";
+			break;
+		case 1:
+			/* cleanup - destroy the cache */
+			customOptions += "-Xshareclasses:name=findsharedclassestest,destroy ";
+			break;
+		}
+		return customOptions;
+	}
+
+	/* Overrides method in j9vm.runner.Runner. */
+	public boolean run() {
+		commandIndex = 0;
+		boolean success = super.run();
+		commandIndex = 1;
+		/* -Xshareclasses:destroy returns a non-zero exit code */
+		super.run();
+		return success;
+	}
+}
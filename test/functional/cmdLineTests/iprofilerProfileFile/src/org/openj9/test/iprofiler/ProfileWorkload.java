@@ -0,0 +1,166 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.iprofiler;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Generates IProfiler data for the profile file tests.
+ *
+ * Usage:
+ * <ul>
+ * <li>no arguments: run the workload</li>
+ * <li>truncate &lt;in&gt; &lt;out&gt;: copy the first half of a profile file</li>
+ * <li>jcmd &lt;jcmd&gt; &lt;file&gt;: run the workload, then store the profile of this JVM with jcmd</li>
+ * </ul>
+ */
+public class ProfileWorkload {
+	interface Shape {
+		double area();
+	}
+
+	static final class Square implements Shape {
+		private final double side;
+
+		Square(double side) {
+			this.side = side;
+		}
+
+		@Override
+		public double area() {
+			return side * side;
+		}
+	}
+
+	static final class Circle implements Shape {
+		private final double radius;
+
+		Circle(double radius) {
+			this.radius = radius;
+		}
+
+		@Override
+		public double area() {
+			return Math.PI * radius * radius;
+		}
+	}
+
+	static final class Triangle implements Shape {
+		private final double base;
+		private final double height;
+
+		Triangle(double base, double height) {
+			this.base = base;
+			this.height = height;
+		}
+
+		@Override
+		public double area() {
+			return base * height / 2;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		if ((args.length == 3) && "truncate".equals(args[0])) {
+			truncate(args[1], args[2]);
+		} else if ((args.length == 3) && "jcmd".equals(args[0])) {
+			runWorkload();
+			storeWithJcmd(args[1], args[2]);
+		} else {
+			runWorkload();
+		}
+	}
+
+	private static void runWorkload() {
+		Shape[] shapes = new Shape[300];
+		for (int i = 0; i < shapes.length; i++) {
+			switch (i % 3) {
+			case 0:
+				shapes[i] = new Square(i);
+				break;
+			case 1:
+				shapes[i] = new Circle(i);
+				break;
+			default:
+				shapes[i] = new Triangle(i, i + 1);
+				break;
+			}
+		}
+		double total = 0;
+		for (int iteration = 0; iteration < 20000; iteration++) {
+			total += sumAreas(shapes, iteration);
+		}
+		System.out.println("Workload complete: " + (total > 0));
+	}
+
+	private static double sumAreas(Shape[] shapes, int iteration) {
+		double sum = 0;
+		for (int i = 0; i < shapes.length; i++) {
+			Shape shape = shapes[i];
+			if (((i + iteration) & 1) == 0) {
+				sum += shape.area();
+			} else {
+				sum -= shape.area() / 2;
+			}
+		}
+		return sum;
+	}
+
+	private static void truncate(String inName, String outName) throws IOException {
+		try (RandomAccessFile in = new RandomAccessFile(inName, "r");
+				RandomAccessFile out = new RandomAccessFile(outName, "rw")) {
+			byte[] contents = new byte[(int) (in.length() / 2)];
+			in.readFully(contents);
+			out.setLength(0);
+			out.write(contents);
+		}
+		System.out.println("Truncated " + inName + " into " + outName);
+	}
+
+	private static void storeWithJcmd(String jcmd, String fileName) throws Exception {
+		File file = new File(fileName);
+		file.delete();
+		String vmName = ManagementFactory.getRuntimeMXBean().getName();
+		String pid = vmName.substring(0, vmName.indexOf('@'));
+		ProcessBuilder builder = new ProcessBuilder(jcmd, pid, "Compiler.profile_store", fileName);
+		builder.redirectErrorStream(true);
+		Process process = builder.start();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				System.out.println("jcmd: " + line);
+			}
+		}
+		int exitValue = process.waitFor();
+		if (exitValue != 0) {
+			throw new IllegalStateException("jcmd exited with " + exitValue);
+		}
+		if (file.length() > 0) {
+			System.out.println("Profile file " + fileName + " exists");
+		}
+	}
+}
@@ -0,0 +1,144 @@
+#!/bin/sh
+
+#
+# Copyright IBM Corp. and others 2026
+#
+# This program and the accompanying materials are made available under
+# the terms of the Eclipse Public License 2.0 which accompanies this
+# distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+# or the Apache License, Version 2.0 which accompanies this distribution and
+# is available at https://www.apache.org/licenses/LICENSE-2.0.
+#
+# This Source Code may also be made available under the following
+# Secondary Licenses when the conditions for such availability set
+# forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+# General Public License, version 2 with the GNU Classpath
+# Exception [1] and GNU General Public License, version 2 with the
+# OpenJDK Assembly Exception [2].
+#
+# [1] https://www.gnu.org/software/classpath/license.html
+# [2] https://openjdk.org/legal/assembly-exception.html
+#
+# SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+#
+
+echo "start running script";
+# Exercises the segmented JITServer AOT cache snapshot:
+# - a full save followed by appended segments, and compaction after 16 segments
+# - rewriting a snapshot that was replaced since this server loaded it
+# - loading a snapshot whose last segment is truncated
+# the expected arguments are:
+# $1 is the TEST_ROOT
+# $2 is the TEST_JDK_BIN
+
+TEST_ROOT=$1
+TEST_JDK_BIN=$2
+
+source $TEST_ROOT/jitserverconfig.sh
+
+WORK_DIR=$(mktemp -d "${TMPDIR:-/tmp}/jitserverAOTCache.XXXXXX")
+CACHE_NAME=segmentTest
+# save after every new method, as often as possible, so that many segments are appended
+SERVER_OPTS="-XX:+JITServerUseAOTCache -XX:+JITServerAOTCachePersistence -XX:JITServerAOTCacheDir=$WORK_DIR -Xjit:verbose={JITServer},aotCachePersistenceMinDeltaMethods=1,aotCachePersistenceMinPeriodMs=0"
+CLIENT_OPTS="-XX:+UseJITServer -XX:+JITServerUseAOTCache -XX:JITServerAOTCacheName=$CACHE_NAME -XX:-JITServerLocalSyncCompiles -Xshareclasses:name=$CACHE_NAME,cacheDir=$WORK_DIR -Xjit:count=0"
+# each workload runs launcher code that the others do not, so it adds new methods to the cache
+WORKLOADS="-XshowSettings:properties -XshowSettings:locale -XshowSettings:vm --list-modules -XshowSettings:security"
+
+check () {
+    if grep -q -- "$2" $3; then
+        echo "CHECK $1: OK"
+    else
+        echo "CHECK $1: FAILED"
+    fi
+}
+
+last_save () {
+    grep -E "Saved cache '$CACHE_NAME'|Appended new records of cache '$CACHE_NAME'|will be rewritten|will be compacted" $1 | tail -n 1
+}
+
+start_server () {
+    SERVER_LOG=$WORK_DIR/server$1.log
+    JITSERVER_PORT=$(random_port)
+    HEALTH_PORT=$(random_port)
+    $TEST_JDK_BIN/jitserver -XX:JITServerPort=$JITSERVER_PORT -XX:JITServerHealthProbePort=$HEALTH_PORT $SERVER_OPTS > $SERVER_LOG 2>&1 &
+    JITSERVER_PID=$!
+    sleep 2
+}
+
+run_client () {
+    $TEST_JDK_BIN/java -XX:JITServerPort=$JITSERVER_PORT $CLIENT_OPTS "$@" -version > /dev/null 2>&1
+    # let the background save of the new methods complete
+    sleep 2
+}
+
+stop_server () {
+    kill -9 $JITSERVER_PID
+    wait $JITSERVER_PID 2> /dev/null
+    echo "---- server $1 log ----"
+    cat $SERVER_LOG
+    echo "---- end of server $1 log ----"
+}
+
+# Run workloads until the last save operation of the server appended a segment
+append_segment () {
+    for WORKLOAD in $WORKLOADS; do
+        if last_save $SERVER_LOG | grep -q "Appended new records"; then
+            return
+        fi
+        run_client $WORKLOAD
+    done
+}
+
+# 1. Full save, appends and compaction
+start_server 1
+run_client
+append_segment
+stop_server 1
+check "full save" "Saved cache '$CACHE_NAME'" $SERVER_LOG
+check "append" "Appended new records of cache '$CACHE_NAME'" $SERVER_LOG
+check "compaction" "segments and will be compacted" $SERVER_LOG
+
+CACHE_FILE=$(ls $WORK_DIR/JITServerAOTCache.$CACHE_NAME.J* 2> /dev/null | head -n 1)
+if [ -z "$CACHE_FILE" ]; then
+    echo "CHECK cache file: FAILED"
+else
+    echo "CHECK cache file: OK"
+
+    # 2. Load the whole snapshot, then replace the file so that the next save cannot append to it
+    start_server 2
+    run_client
+    cp $CACHE_FILE $CACHE_FILE.copy
+    mv -f $CACHE_FILE.copy $CACHE_FILE
+    run_client -XshowSettings:properties
+    append_segment
+    stop_server 2
+    check "load" "Loaded cache '$CACHE_NAME' from file" $SERVER_LOG
+    check "replaced file" "was modified by another server and will be rewritten" $SERVER_LOG
+    if last_save $SERVER_LOG | grep -q "Appended new records"; then
+        echo "CHECK last segment appended: OK"
+    else
+        echo "CHECK last segment appended: FAILED"
+    fi
+
+    # 3. Truncate the last segment; the earlier segments must still be loaded
+    truncate -s -8 $CACHE_FILE
+    start_server 3
+    run_client
+    stop_server 3
+    check "truncated segment ignored" "Ignoring incomplete segment" $SERVER_LOG
+    if grep -E "Loaded cache '$CACHE_NAME' from file .*: [1-9][0-9]* segments, [1-9][0-9]* methods" $SERVER_LOG > /dev/null; then
+        echo "CHECK earlier segments loaded: OK"
+    else
+        echo "CHECK earlier segments loaded: FAILED"
+    fi
+    if grep -q "Cache file is truncated" $SERVER_LOG; then
+        echo "CHECK first segment intact: FAILED"
+    else
+        echo "CHECK first segment intact: OK"
+    fi
+fi
+
+$TEST_JDK_BIN/java -Xshareclasses:name=$CACHE_NAME,cacheDir=$WORK_DIR,destroy > /dev/null 2>&1
+rm -rf $WORK_DIR
+
+echo "finished script";
@@ -0,0 +1,88 @@
+#!/bin/sh
+
+#
+# Copyright IBM Corp. and others 2026
+#
+# This program and the accompanying materials are made available under
+# the terms of the Eclipse Public License 2.0 which accompanies this
+# distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+# or the Apache License, Version 2.0 which accompanies this distribution and
+# is available at https://www.apache.org/licenses/LICENSE-2.0.
+#
+# This Source Code may also be made available under the following
+# Secondary Licenses when the conditions for such availability set
+# forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+# General Public License, version 2 with the GNU Classpath
+# Exception [1] and GNU General Public License, version 2 with the
+# OpenJDK Assembly Exception [2].
+#
+# [1] https://www.gnu.org/software/classpath/license.html
+# [2] https://openjdk.org/legal/assembly-exception.html
+#
+# SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+#
+
+echo "start running script";
+# Scrapes the MetricsServer of an ordinary JVM that is not a JITServer or a JITServer client
+# the expected arguments are:
+# $1 is the TEST_ROOT
+# $2 is the TEST_JDK_BIN
+
+TEST_ROOT=$1
+TEST_JDK_BIN=$2
+
+source $TEST_ROOT/jitserverconfig.sh
+
+WORK_DIR=$(mktemp -d "${TMPDIR:-/tmp}/jvmMetrics.XXXXXX")
+STOP_FILE=$WORK_DIR/stop
+
+# The workload allocates and collects garbage until the stop file is created, or for at most 60 seconds
+cat > $WORK_DIR/MetricsWorkload.java <<'JAVA'
+public class MetricsWorkload {
+	public static void main(String[] args) throws Exception {
+		java.io.File stopFile = new java.io.File(args[0]);
+		long deadline = System.currentTimeMillis() + 60000;
+		Object[] live = new Object[1024];
+		for (int i = 0; !stopFile.exists() && (System.currentTimeMillis() < deadline); i++) {
+			live[i % live.length] = new byte[4096];
+			if (0 == (i % 100000)) {
+				System.gc();
+				Thread.sleep(100);
+			}
+		}
+	}
+}
+JAVA
+$TEST_JDK_BIN/javac -d $WORK_DIR $WORK_DIR/MetricsWorkload.java
+
+METRICS_PORT=$(random_port)
+METRICS_OPTS="-XX:+MetricsServer -XX:JITServerMetricsPort=$METRICS_PORT"
+
+echo "Starting $TEST_JDK_BIN/java $METRICS_OPTS"
+$TEST_JDK_BIN/java $METRICS_OPTS -cp $WORK_DIR MetricsWorkload $STOP_FILE &
+JVM_PID=$!
+
+# Retry until the MetricsServer listens and at least one GC pause was recorded
+SCRAPED=false
+for i in 1 2 3 4 5 6 7 8 9 10; do
+    sleep 2
+    if curl -s http://localhost:$METRICS_PORT/metrics > $WORK_DIR/metrics.txt && grep -q "^jvm_gc_pause_seconds_count{collector=\"global\"} [1-9]" $WORK_DIR/metrics.txt; then
+        SCRAPED=true
+        break
+    fi
+done
+
+if [ "$SCRAPED" == true ]; then
+    echo "METRICS SCRAPED"
+else
+    echo "METRICS NOT SCRAPED"
+fi
+cat $WORK_DIR/metrics.txt
+
+touch $STOP_FILE
+wait $JVM_PID
+echo "JVM exit code $?"
+
+rm -rf $WORK_DIR
+
+echo "finished script";
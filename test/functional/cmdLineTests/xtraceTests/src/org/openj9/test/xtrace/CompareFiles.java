@@ -0,0 +1,55 @@
+/*
+ * Copyright IBM Corp. and others 2026
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which accompanies this
+ * distribution and is available at https://www.eclipse.org/legal/epl-2.0/
+ * or the Apache License, Version 2.0 which accompanies this distribution and
+ * is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * This Source Code may also be made available under the following
+ * Secondary Licenses when the conditions for such availability set
+ * forth in the Eclipse Public License, v. 2.0 are satisfied: GNU
+ * General Public License, version 2 with the GNU Classpath
+ * Exception [1] and GNU General Public License, version 2 with the
+ * OpenJDK Assembly Exception [2].
+ *
+ * [1] https://www.gnu.org/software/classpath/license.html
+ * [2] https://openjdk.org/legal/assembly-exception.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0 OR GPL-2.0-only WITH Classpath-exception-2.0 OR GPL-2.0-only WITH OpenJDK-assembly-exception-1.0
+ */
+package org.openj9.test.xtrace;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Compares two files byte for byte, reporting the offset of the first difference.
+ */
+public class CompareFiles {
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("Usage: CompareFiles <file> <file>");
+			return;
+		}
+		try (InputStream first = new BufferedInputStream(new FileInputStream(args[0]));
+			InputStream second = new BufferedInputStream(new FileInputStream(args[1]))
+		) {
+			for (long offset = 0;; offset++) {
+				int left = first.read();
+				int right = second.read();
+				if (left != right) {
+					System.out.println("Files " + args[0] + " and " + args[1] + " differ at offset " + offset);
+					return;
+				}
+				if (left < 0) {
+					System.out.println("Files " + args[0] + " and " + args[1] + " are identical, " + offset + " bytes");
+					return;
+				}
+			}
+		}
+	}
+}